@@ -27,6 +27,7 @@ import info.nightscout.androidaps.interfaces.PluginBase;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.interfaces.PumpInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.aps.loop.LoopPlugin;
 import info.nightscout.androidaps.plugins.aps.openAPSAMA.OpenAPSAMAPlugin;
 import info.nightscout.androidaps.plugins.aps.openAPSMA.OpenAPSMAPlugin;
@@ -410,7 +411,7 @@ public class MainApp extends Application {
 
     @Override
     public void onTerminate() {
-        if (L.isEnabled(L.CORE))
+        if (L.isEnabled(LTag.CORE))
             log.debug("onTerminate");
         super.onTerminate();
         if (sDatabaseHelper != null) {
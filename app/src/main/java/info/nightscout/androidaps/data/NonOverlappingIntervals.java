@@ -29,6 +29,24 @@ public class NonOverlappingIntervals<T extends Interval> extends Intervals<T> {
         }
     }
 
+    /**
+     * Ends of non overlapping intervals are ordered the same way as starts
+     *
+     * @return index of the first interval ending after time or size() if there is none
+     */
+    public synchronized int indexOfFirstEndingAfter(long time) {
+        int lo = 0;
+        int hi = rawData.size();
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (rawData.valueAt(mid).end() > time)
+                hi = mid;
+            else
+                lo = mid + 1;
+        }
+        return lo;
+    }
+
     @Nullable
     public synchronized T getValueByInterval(long time) {
         int index = binarySearch(time);
@@ -44,6 +44,13 @@ public class Profile {
     private JSONArray targetHigh;
     private LongSparseArray<Double> targetHigh_v; // oldest at index 0
 
+    // lookup tables built from arrays above, lazily created
+    private volatile ProfileSchedule isf_s;
+    private volatile ProfileSchedule ic_s;
+    private volatile ProfileSchedule basal_s;
+    private volatile ProfileSchedule targetLow_s;
+    private volatile ProfileSchedule targetHigh_s;
+
     private int percentage;
     private int timeshift;
 
@@ -88,6 +95,11 @@ public class Profile {
         basal_v = null;
         targetLow_v = null;
         targetHigh_v = null;
+        isf_s = null;
+        ic_s = null;
+        basal_s = null;
+        targetLow_s = null;
+        targetHigh_s = null;
 
         isValid = true;
         isValidated = false;
@@ -257,6 +269,8 @@ public class Profile {
                 basal_v = null;
                 isValidated = false;
             }
+            // basal values may have been changed
+            basal_s = null;
 
         }
         return isValid;
@@ -343,21 +357,6 @@ public class Profile {
         return multiplier;
     }
 
-    private double getValueToTime(LongSparseArray<Double> array, Integer timeAsSeconds) {
-        Double lastValue = null;
-
-        for (Integer index = 0; index < array.size(); index++) {
-            long tas = array.keyAt(index);
-            double value = array.valueAt(index);
-            if (lastValue == null) lastValue = value;
-            if (timeAsSeconds < tas) {
-                break;
-            }
-            lastValue = value;
-        }
-        return lastValue;
-    }
-
     protected String format_HH_MM(Integer timeAsSeconds) {
         String time;
         int hour = timeAsSeconds / 60 / 60;
@@ -394,9 +393,13 @@ public class Profile {
     }
 
     double getIsfTimeFromMidnight(int timeAsSeconds) {
-        if (isf_v == null)
-            isf_v = convertToSparseArray(isf);
-        return getValueToTime(isf_v, timeAsSeconds);
+        ProfileSchedule schedule = isf_s;
+        if (schedule == null) {
+            if (isf_v == null)
+                isf_v = convertToSparseArray(isf);
+            schedule = isf_s = new ProfileSchedule(isf_v);
+        }
+        return schedule.valueAt(timeAsSeconds);
     }
 
     public String getIsfList() {
@@ -407,7 +410,7 @@ public class Profile {
 
     public ProfileValue[] getIsfs() {
         if (isf_v == null)
-            isf_v = convertToSparseArray(ic);
+            isf_v = convertToSparseArray(isf);
         ProfileValue[] ret = new ProfileValue[isf_v.size()];
 
         for (Integer index = 0; index < isf_v.size(); index++) {
@@ -427,9 +430,13 @@ public class Profile {
     }
 
     public double getIcTimeFromMidnight(int timeAsSeconds) {
-        if (ic_v == null)
-            ic_v = convertToSparseArray(ic);
-        return getValueToTime(ic_v, timeAsSeconds);
+        ProfileSchedule schedule = ic_s;
+        if (schedule == null) {
+            if (ic_v == null)
+                ic_v = convertToSparseArray(ic);
+            schedule = ic_s = new ProfileSchedule(ic_v);
+        }
+        return schedule.valueAt(timeAsSeconds);
     }
 
     public String getIcList() {
@@ -459,11 +466,20 @@ public class Profile {
         return getBasalTimeFromMidnight(secondsFromMidnight(time));
     }
 
-    public synchronized double getBasalTimeFromMidnight(int timeAsSeconds) {
-        if (basal_v == null) {
+    public double getBasalTimeFromMidnight(int timeAsSeconds) {
+        ProfileSchedule schedule = basal_s;
+        if (schedule == null)
+            schedule = createBasalSchedule();
+        return schedule.valueAt(timeAsSeconds);
+    }
+
+    // basal_v is modified in isValid()
+    private synchronized ProfileSchedule createBasalSchedule() {
+        if (basal_v == null)
             basal_v = convertToSparseArray(basal);
-        }
-        return getValueToTime(basal_v, timeAsSeconds);
+        ProfileSchedule schedule = new ProfileSchedule(basal_v);
+        basal_s = schedule;
+        return schedule;
     }
 
     public String getBasalList() {
@@ -512,9 +528,13 @@ public class Profile {
     }
 
     public double getTargetLowTimeFromMidnight(int timeAsSeconds) {
-        if (targetLow_v == null)
-            targetLow_v = convertToSparseArray(targetLow);
-        return getValueToTime(targetLow_v, timeAsSeconds);
+        ProfileSchedule schedule = targetLow_s;
+        if (schedule == null) {
+            if (targetLow_v == null)
+                targetLow_v = convertToSparseArray(targetLow);
+            schedule = targetLow_s = new ProfileSchedule(targetLow_v);
+        }
+        return schedule.valueAt(timeAsSeconds);
     }
 
     public double getTargetHigh() {
@@ -526,9 +546,13 @@ public class Profile {
     }
 
     public double getTargetHighTimeFromMidnight(int timeAsSeconds) {
-        if (targetHigh_v == null)
-            targetHigh_v = convertToSparseArray(targetHigh);
-        return getValueToTime(targetHigh_v, timeAsSeconds);
+        ProfileSchedule schedule = targetHigh_s;
+        if (schedule == null) {
+            if (targetHigh_v == null)
+                targetHigh_v = convertToSparseArray(targetHigh);
+            schedule = targetHigh_s = new ProfileSchedule(targetHigh_v);
+        }
+        return schedule.valueAt(timeAsSeconds);
     }
 
     public class TargetValue {
@@ -0,0 +1,47 @@
+package info.nightscout.androidaps.data;
+
+import androidx.collection.LongSparseArray;
+
+/**
+ * Immutable daily schedule of one profile value (basal, ISF, IC, target)
+ * with percentage and timeshift already applied
+ * <p>
+ * Slot of every minute of the day is precomputed, lookup is O(1) and doesn't need locking
+ */
+
+final class ProfileSchedule {
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final int[] starts; // seconds from midnight, ascending
+    private final double[] values;
+    private final short[] slotOfMinute = new short[MINUTES_PER_DAY];
+
+    ProfileSchedule(LongSparseArray<Double> array) {
+        int size = array.size();
+        starts = new int[size];
+        values = new double[size];
+        for (int i = 0; i < size; i++) {
+            starts[i] = (int) array.keyAt(i);
+            values[i] = array.valueAt(i);
+        }
+        int slot = 0;
+        for (int minute = 0; minute < MINUTES_PER_DAY; minute++) {
+            while (slot + 1 < size && starts[slot + 1] <= minute * 60)
+                slot++;
+            slotOfMinute[minute] = (short) slot;
+        }
+    }
+
+    /**
+     * Value of last segment starting at or before timeAsSeconds, first value if there is none
+     * (same as previous linear search)
+     */
+    double valueAt(int timeAsSeconds) {
+        int minute = Math.max(0, Math.min(timeAsSeconds / 60, MINUTES_PER_DAY - 1));
+        int slot = slotOfMinute[minute];
+        // segments not aligned to whole minutes and days longer than 24h (DST)
+        while (slot + 1 < starts.length && starts[slot + 1] <= timeAsSeconds)
+            slot++;
+        return values[slot];
+    }
+}
@@ -25,6 +25,7 @@ import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.data.Profile;
 import info.nightscout.androidaps.interfaces.Interval;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.configBuilder.ProfileFunctions;
 import info.nightscout.androidaps.plugins.general.nsclient.data.NSMbg;
 import info.nightscout.androidaps.plugins.general.overview.OverviewFragment;
@@ -148,7 +149,7 @@ public class CareportalEvent implements DataPointWithLabelInterface, Interval {
         for (int i = 0; i < list.size(); i++) {
             CareportalEvent event = list.get(i);
             if (event.date <= time && event.date > (time - T.mins(5).msecs())) {
-                if (L.isEnabled(L.DATABASE))
+                if (L.isEnabled(LTag.DATABASE))
                     log.debug("Found event for time: " + DateUtil.dateAndTimeFullString(time) + " " + event.toString());
                 return true;
             }
@@ -22,8 +22,12 @@ import org.slf4j.LoggerFactory;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.GregorianCalendar;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -47,6 +51,7 @@ import info.nightscout.androidaps.events.EventTempBasalChange;
 import info.nightscout.androidaps.events.EventTempTargetChange;
 import info.nightscout.androidaps.interfaces.ProfileInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
 import info.nightscout.androidaps.plugins.general.nsclient.NSUpload;
 import info.nightscout.androidaps.plugins.iob.iobCobCalculator.IobCobCalculatorPlugin;
@@ -59,6 +64,7 @@ import info.nightscout.androidaps.plugins.pump.insight.database.InsightPumpID;
 import info.nightscout.androidaps.plugins.pump.virtual.VirtualPumpPlugin;
 import info.nightscout.androidaps.utils.JsonHelper;
 import info.nightscout.androidaps.utils.PercentageSplitter;
+import info.nightscout.androidaps.utils.Profiler;
 import info.nightscout.androidaps.utils.ToastUtils;
 
 /**
@@ -92,6 +98,15 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
 
     private static final ScheduledExecutorService bgWorker = Executors.newSingleThreadScheduledExecutor();
     private static ScheduledFuture<?> scheduledBgPost = null;
+    private static long earliestBgHistoryChange = 0;
+
+    // recent rows of hot tables, range queries within last days are served without SQL
+    private final RecentHistoryCache.BgReadings bgCache = new RecentHistoryCache.BgReadings(
+            from -> getDaoBgReadings().queryBuilder().where().ge("date", from).query());
+    private final RecentHistoryCache.TemporaryBasals tempBasalCache = new RecentHistoryCache.TemporaryBasals(
+            from -> getDaoTemporaryBasal().queryBuilder().where().ge("date", from).query());
+    private final RecentHistoryCache.CareportalEvents careportalEventCache = new RecentHistoryCache.CareportalEvents(
+            from -> getDaoCareportalEvents().queryBuilder().where().ge("date", from).query());
 
     private static final ScheduledExecutorService tempBasalsWorker = Executors.newSingleThreadScheduledExecutor();
     private static ScheduledFuture<?> scheduledTemBasalsPost = null;
@@ -120,7 +135,7 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
     @Override
     public void onCreate(SQLiteDatabase database, ConnectionSource connectionSource) {
         try {
-            if (L.isEnabled(L.DATABASE))
+            if (L.isEnabled(LTag.DATABASE))
                 log.info("onCreate");
             TableUtils.createTableIfNotExists(connectionSource, TempTarget.class);
             TableUtils.createTableIfNotExists(connectionSource, BgReading.class);
@@ -232,6 +247,9 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
         } catch (SQLException e) {
             log.error("Unhandled exception", e);
         }
+        bgCache.invalidate();
+        tempBasalCache.invalidate();
+        careportalEventCache.invalidate();
         VirtualPumpPlugin.getPlugin().setFakingStatus(true);
         scheduleBgChange(null); // trigger refresh
         scheduleTemporaryBasalChange();
@@ -268,6 +286,7 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
         } catch (SQLException e) {
             log.error("Unhandled exception", e);
         }
+        tempBasalCache.invalidate();
         VirtualPumpPlugin.getPlugin().setFakingStatus(false);
         scheduleTemporaryBasalChange();
     }
@@ -290,6 +309,7 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
         } catch (SQLException e) {
             log.error("Unhandled exception", e);
         }
+        careportalEventCache.invalidate();
         scheduleCareportalEventChange();
     }
 
@@ -365,57 +385,147 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
     public static long roundDateToSec(long date) {
         long rounded = date - date % 1000;
         if (rounded != date)
-            if (L.isEnabled(L.DATABASE))
+            if (L.isEnabled(LTag.DATABASE))
                 log.debug("Rounding " + date + " to " + rounded);
         return rounded;
     }
     // -------------------  BgReading handling -----------------------
 
     public boolean createIfNotExists(BgReading bgReading, String from) {
-        try {
+        List<BgReading> created = new ArrayList<>();
+        createIfNotExists(Collections.singletonList(bgReading), from, created);
+        return !created.isEmpty();
+    }
+
+    /**
+     * Stores readings in one transaction and fires one EventNewBG for the whole batch
+     *
+     * @param created if not null, readings not found in database are added here
+     * @return earliest time of new or changed value, 0 if no value changed
+     */
+    public long createIfNotExists(List<BgReading> bgReadings, String from, @Nullable List<BgReading> created) {
+        if (bgReadings.isEmpty())
+            return 0;
+        long start = Profiler.start();
+        try {
+            Dao<BgReading, Long> dao = getDaoBgReadings();
+            BgBatchResult result = dao.callBatchTasks(() -> storeBgReadings(dao, bgReadings, from, created));
+            // transaction is committed
+            for (BgReading bgReading : result.stored)
+                bgCache.put(bgReading);
+            if (result.newCount > 0) {
+                Profiler.trace(Profiler.Stage.BG_STORE, start);
+                Profiler.startCycle(start);
+            }
+            if (result.latest != null) {
+                // change before last stored BG invalidates calculated history
+                long historyChange = result.earliestChange != 0 && result.earliestChange < result.newestBefore ? result.earliestChange : 0;
+                scheduleBgChange(result.latest, historyChange);
+            }
+            if (L.isEnabled(LTag.DATABASE))
+                log.debug("BG: Stored {} records from: {} new: {} updated: {}", bgReadings.size(), from, result.newCount, result.updatedCount);
+            return result.earliestChange;
+        } catch (Exception e) {
+            log.error("Unhandled exception", e);
+        }
+        return 0;
+    }
+
+    private static class BgBatchResult {
+        int newCount;
+        int updatedCount;
+        long earliestChange;
+        long newestBefore;
+        @Nullable
+        BgReading latest;
+        List<BgReading> stored = new ArrayList<>();
+    }
+
+    private BgBatchResult storeBgReadings(Dao<BgReading, Long> dao, List<BgReading> bgReadings, String from, @Nullable List<BgReading> created) throws SQLException {
+        BgBatchResult result = new BgBatchResult();
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (BgReading bgReading : bgReadings) {
             bgReading.date = roundDateToSec(bgReading.date);
-            BgReading old = getDaoBgReadings().queryForId(bgReading.date);
+            min = Math.min(min, bgReading.date);
+            max = Math.max(max, bgReading.date);
+        }
+        BgReading newest = dao.queryBuilder().orderBy("date", false).limit(1L).queryForFirst();
+        result.newestBefore = newest != null ? newest.date : 0;
+        // one range query instead of queryForId() per reading
+        Map<Long, BgReading> existing = new HashMap<>();
+        for (BgReading old : dao.queryBuilder().where().between("date", min, max).query())
+            existing.put(old.date, old);
+
+        for (BgReading bgReading : bgReadings) {
+            BgReading old = existing.get(bgReading.date);
             if (old == null) {
-                getDaoBgReadings().create(bgReading);
-                if (L.isEnabled(L.DATABASE))
-                    log.debug("BG: New record from: " + from + " " + bgReading.toString());
-                scheduleBgChange(bgReading);
-                return true;
-            }
-            if (!old.isEqual(bgReading)) {
-                if (L.isEnabled(L.DATABASE))
-                    log.debug("BG: Similiar found: " + old.toString());
+                dao.create(bgReading);
+                existing.put(bgReading.date, bgReading);
+                result.stored.add(bgReading);
+                result.newCount++;
+                if (created != null)
+                    created.add(bgReading);
+                if (L.isEnabled(LTag.DATABASE))
+                    log.debug("BG: New record from: {} {}", from, bgReading);
+            } else if (!old.isEqual(bgReading)) {
+                if (L.isEnabled(LTag.DATABASE))
+                    log.debug("BG: Similiar found: {}", old);
+                boolean dataChanging = old.isDataChanging(bgReading);
                 old.copyFrom(bgReading);
-                getDaoBgReadings().update(old);
-                if (L.isEnabled(L.DATABASE))
-                    log.debug("BG: Updating record from: " + from + " New data: " + old.toString());
-                scheduleBgChange(bgReading);
-                return false;
+                dao.update(old);
+                result.stored.add(old);
+                result.updatedCount++;
+                if (L.isEnabled(LTag.DATABASE))
+                    log.debug("BG: Updating record from: {} New data: {}", from, old);
+                if (!dataChanging)
+                    continue;
+            } else {
+                continue;
             }
-        } catch (SQLException e) {
-            log.error("Unhandled exception", e);
+            if (result.earliestChange == 0 || bgReading.date < result.earliestChange)
+                result.earliestChange = bgReading.date;
+            if (result.latest == null || bgReading.date > result.latest.date)
+                result.latest = bgReading;
         }
-        return false;
+        // update of NS _id only still refreshes listeners
+        if (result.latest == null && result.updatedCount > 0)
+            result.latest = bgReadings.get(bgReadings.size() - 1);
+        return result;
     }
 
     public void update(BgReading bgReading) {
         bgReading.date = roundDateToSec(bgReading.date);
         try {
             getDaoBgReadings().update(bgReading);
+            bgCache.put(bgReading);
         } catch (SQLException e) {
             log.error("Unhandled exception", e);
         }
     }
 
     private static void scheduleBgChange(@Nullable final BgReading bgReading) {
+        scheduleBgChange(bgReading, 0);
+    }
+
+    private static synchronized void scheduleBgChange(@Nullable final BgReading bgReading, long historyChange) {
+        final long scheduled = Profiler.start();
         class PostRunnable implements Runnable {
             public void run() {
-                if (L.isEnabled(L.DATABASE))
+                long change;
+                synchronized (DatabaseHelper.class) {
+                    change = earliestBgHistoryChange;
+                    earliestBgHistoryChange = 0;
+                    scheduledBgPost = null;
+                }
+                if (L.isEnabled(LTag.DATABASE))
                     log.debug("Firing EventNewBg");
-                RxBus.INSTANCE.send(new EventNewBG(bgReading));
-                scheduledBgPost = null;
+                Profiler.trace(Profiler.Stage.NEW_BG_EVENT, scheduled);
+                RxBus.INSTANCE.send(new EventNewBG(bgReading, change));
             }
         }
+        if (historyChange != 0 && (earliestBgHistoryChange == 0 || historyChange < earliestBgHistoryChange))
+            earliestBgHistoryChange = historyChange;
         // prepare task for execution in 1 sec
         // cancel waiting task to prevent sending multiple posts
         if (scheduledBgPost != null)
@@ -462,6 +572,9 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
 
     public List<BgReading> getBgreadingsDataFromTime(long mills, boolean ascending) {
         try {
+            List<BgReading> cached = bgCache.query(mills, Long.MAX_VALUE, ascending, bgCache.valid, System.currentTimeMillis());
+            if (cached != null)
+                return cached;
             Dao<BgReading, Long> daoBgreadings = getDaoBgReadings();
             List<BgReading> bgReadings;
             QueryBuilder<BgReading, Long> queryBuilder = daoBgreadings.queryBuilder();
@@ -479,6 +592,9 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
 
     public List<BgReading> getBgreadingsDataFromTime(long start, long end, boolean ascending) {
         try {
+            List<BgReading> cached = bgCache.query(start, end, ascending, bgCache.valid, System.currentTimeMillis());
+            if (cached != null)
+                return cached;
             Dao<BgReading, Long> daoBgreadings = getDaoBgReadings();
             List<BgReading> bgReadings;
             QueryBuilder<BgReading, Long> queryBuilder = daoBgreadings.queryBuilder();
@@ -494,8 +610,31 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
         return new ArrayList<>();
     }
 
+    /**
+     * Page of valid readings ordered by date, date is primary key so last date is cursor for next page
+     *
+     * @param after exclusive
+     * @param end   inclusive
+     */
+    public List<BgReading> getBgreadingsDataPage(long after, long end, long limit) {
+        try {
+            QueryBuilder<BgReading, Long> queryBuilder = getDaoBgReadings().queryBuilder();
+            queryBuilder.orderBy("date", true);
+            queryBuilder.limit(limit);
+            Where where = queryBuilder.where();
+            where.gt("date", after).and().le("date", end).and().ge("value", 39).and().eq("isValid", true);
+            return queryBuilder.query();
+        } catch (SQLException e) {
+            log.error("Unhandled exception", e);
+        }
+        return new ArrayList<>();
+    }
+
     public List<BgReading> getAllBgreadingsDataFromTime(long mills, boolean ascending) {
         try {
+            List<BgReading> cached = bgCache.query(mills, Long.MAX_VALUE, ascending, null, System.currentTimeMillis());
+            if (cached != null)
+                return cached;
             Dao<BgReading, Long> daoBgreadings = getDaoBgReadings();
             List<BgReading> bgReadings;
             QueryBuilder<BgReading, Long> queryBuilder = daoBgreadings.queryBuilder();
@@ -584,6 +723,15 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
         return 0;
     }
 
+    // acked requests of upload pipeline, one statement
+    public void deleteDbRequests(List<String> nsClientIds) {
+        try {
+            getDaoDbRequest().deleteIds(nsClientIds);
+        } catch (SQLException e) {
+            log.error("Unhandled exception", e);
+        }
+    }
+
     public void deleteDbRequestbyMongoId(String action, String id) {
         try {
             QueryBuilder<DbRequest, String> queryBuilder = getDaoDbRequest().queryBuilder();
@@ -608,6 +756,28 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
         }
     }
 
+    /**
+     * @return oldest requests not contained in skip
+     */
+    public List<DbRequest> getDbRequests(int limit, Set<String> skip) {
+        List<DbRequest> requests = new ArrayList<>();
+        try {
+            CloseableIterator<DbRequest> iterator = getDaoDbRequest().closeableIterator();
+            try {
+                while (iterator.hasNext() && requests.size() < limit) {
+                    DbRequest dbr = iterator.next();
+                    if (!skip.contains(dbr.nsClientID))
+                        requests.add(dbr);
+                }
+            } finally {
+                iterator.close();
+            }
+        } catch (SQLException e) {
+            log.error("Unhandled exception", e);
+        }
+        return requests;
+    }
+
     public CloseableIterator getDbRequestInterator() {
         try {
             return getDaoDbRequest().closeableIterator();
@@ -677,7 +847,7 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
                         getDaoTempTargets().delete(old); // need to delete/create because date may change too
                         old.copyFrom(tempTarget);
                         getDaoTempTargets().create(old);
-                        if (L.isEnabled(L.DATABASE))
+                        if (L.isEnabled(LTag.DATABASE))
                             log.debug("TEMPTARGET: Updating record by date from: " + Source.getString(tempTarget.source) + " " + old.toString());
                         scheduleTemporaryTargetChange();
                         return true;
@@ -697,7 +867,7 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
                             getDaoTempTargets().delete(old); // need to delete/create because date may change too
                             old.copyFrom(tempTarget);
                             getDaoTempTargets().create(old);
-                            if (L.isEnabled(L.DATABASE))
+                            if (L.isEnabled(LTag.DATABASE))
                                 log.debug("TEMPTARGET: Updating record by _id from: " + Source.getString(tempTarget.source) + " " + old.toString());
                             scheduleTemporaryTargetChange();
                             return true;
@@ -705,14 +875,14 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
                     }
                 }
                 getDaoTempTargets().create(tempTarget);
-                if (L.isEnabled(L.DATABASE))
+                if (L.isEnabled(LTag.DATABASE))
                     log.debug("TEMPTARGET: New record from: " + Source.getString(tempTarget.source) + " " + tempTarget.toString());
                 scheduleTemporaryTargetChange();
                 return true;
             }
             if (tempTarget.source == Source.USER) {
                 getDaoTempTargets().create(tempTarget);
-                if (L.isEnabled(L.DATABASE))
+                if (L.isEnabled(LTag.DATABASE))
                     log.debug("TEMPTARGET: New record from: " + Source.getString(tempTarget.source) + " " + tempTarget.toString());
                 scheduleTemporaryTargetChange();
                 return true;
@@ -735,7 +905,7 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
     private static void scheduleTemporaryTargetChange() {
         class PostRunnable implements Runnable {
             public void run() {
-                if (L.isEnabled(L.DATABASE))
+                if (L.isEnabled(LTag.DATABASE))
                     log.debug("Firing EventTempTargetChange");
                 RxBus.INSTANCE.send(new EventTempTargetChange());
                 scheduledTemTargetPost = null;
@@ -856,7 +1026,7 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
             } else if (list.size() == 1) {
                 DanaRHistoryRecord record = list.get(0);
                 if (record._id == null || !record._id.equals(trJson.getString("_id"))) {
-                    if (L.isEnabled(L.DATABASE))
+                    if (L.isEnabled(LTag.DATABASE))
                         log.debug("Updating _id in DanaR history database: " + trJson.getString("_id"));
                     record._id = trJson.getString("_id");
                     getDaoDanaRHistory().update(record);
@@ -886,7 +1056,7 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
                 List<TemporaryBasal> trList = getDaoTemporaryBasal().query(preparedQuery);
                 if (trList.size() > 0) {
                     // do nothing, pump history record cannot be changed
-                    if (L.isEnabled(L.DATABASE))
+                    if (L.isEnabled(LTag.DATABASE))
                         log.debug("TEMPBASAL: Already exists from: " + Source.getString(tempBasal.source) + " " + tempBasal.toString());
                     return false;
                 }
@@ -904,10 +1074,11 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
                     old.copyFromPump(tempBasal);
                     old.source = Source.PUMP;
 
-                    if (L.isEnabled(L.DATABASE))
+                    if (L.isEnabled(LTag.DATABASE))
                         log.debug("TEMPBASAL: Updated record with Pump Data : " + Source.getString(tempBasal.source) + " " + tempBasal.toString());
 
                     getDaoTemporaryBasal().update(old);
+                    tempBasalCache.put(old);
 
                     updateEarliestDataChange(tempBasal.date);
                     scheduleTemporaryBasalChange();
@@ -916,7 +1087,8 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
                 }
 
                 getDaoTemporaryBasal().create(tempBasal);
-                if (L.isEnabled(L.DATABASE))
+                tempBasalCache.put(tempBasal);
+                if (L.isEnabled(LTag.DATABASE))
                     log.debug("TEMPBASAL: New record from: " + Source.getString(tempBasal.source) + " " + tempBasal.toString());
                 updateEarliestDataChange(tempBasal.date);
                 scheduleTemporaryBasalChange();
@@ -932,9 +1104,11 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
                     if (!old.isEqual(tempBasal)) {
                         long oldDate = old.date;
                         getDaoTemporaryBasal().delete(old); // need to delete/create because date may change too
+                        tempBasalCache.remove(oldDate);
                         old.copyFrom(tempBasal);
                         getDaoTemporaryBasal().create(old);
-                        if (L.isEnabled(L.DATABASE))
+                        tempBasalCache.put(old);
+                        if (L.isEnabled(LTag.DATABASE))
                             log.debug("TEMPBASAL: Updating record by date from: " + Source.getString(tempBasal.source) + " " + old.toString());
                         updateEarliestDataChange(oldDate);
                         updateEarliestDataChange(old.date);
@@ -955,9 +1129,11 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
                         if (!old.isEqual(tempBasal)) {
                             long oldDate = old.date;
                             getDaoTemporaryBasal().delete(old); // need to delete/create because date may change too
+                            tempBasalCache.remove(oldDate);
                             old.copyFrom(tempBasal);
                             getDaoTemporaryBasal().create(old);
-                            if (L.isEnabled(L.DATABASE))
+                            tempBasalCache.put(old);
+                            if (L.isEnabled(LTag.DATABASE))
                                 log.debug("TEMPBASAL: Updating record by _id from: " + Source.getString(tempBasal.source) + " " + old.toString());
                             updateEarliestDataChange(oldDate);
                             updateEarliestDataChange(old.date);
@@ -967,7 +1143,8 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
                     }
                 }
                 getDaoTemporaryBasal().create(tempBasal);
-                if (L.isEnabled(L.DATABASE))
+                tempBasalCache.put(tempBasal);
+                if (L.isEnabled(LTag.DATABASE))
                     log.debug("TEMPBASAL: New record from: " + Source.getString(tempBasal.source) + " " + tempBasal.toString());
                 updateEarliestDataChange(tempBasal.date);
                 scheduleTemporaryBasalChange();
@@ -975,7 +1152,8 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
             }
             if (tempBasal.source == Source.USER) {
                 getDaoTemporaryBasal().create(tempBasal);
-                if (L.isEnabled(L.DATABASE))
+                tempBasalCache.put(tempBasal);
+                if (L.isEnabled(LTag.DATABASE))
                     log.debug("TEMPBASAL: New record from: " + Source.getString(tempBasal.source) + " " + tempBasal.toString());
                 updateEarliestDataChange(tempBasal.date);
                 scheduleTemporaryBasalChange();
@@ -990,6 +1168,7 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
     public void delete(TemporaryBasal tempBasal) {
         try {
             getDaoTemporaryBasal().delete(tempBasal);
+            tempBasalCache.remove(tempBasal.date);
             updateEarliestDataChange(tempBasal.date);
         } catch (SQLException e) {
             log.error("Unhandled exception", e);
@@ -999,6 +1178,9 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
 
     public List<TemporaryBasal> getTemporaryBasalsDataFromTime(long mills, boolean ascending) {
         try {
+            List<TemporaryBasal> cached = tempBasalCache.query(mills, Long.MAX_VALUE, ascending, null, System.currentTimeMillis());
+            if (cached != null)
+                return cached;
             List<TemporaryBasal> tempbasals;
             QueryBuilder<TemporaryBasal, Long> queryBuilder = getDaoTemporaryBasal().queryBuilder();
             queryBuilder.orderBy("date", ascending);
@@ -1015,6 +1197,9 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
 
     public List<TemporaryBasal> getTemporaryBasalsDataFromTime(long from, long to, boolean ascending) {
         try {
+            List<TemporaryBasal> cached = tempBasalCache.query(from, to, ascending, null, System.currentTimeMillis());
+            if (cached != null)
+                return cached;
             List<TemporaryBasal> tempbasals;
             QueryBuilder<TemporaryBasal, Long> queryBuilder = getDaoTemporaryBasal().queryBuilder();
             queryBuilder.orderBy("date", ascending);
@@ -1032,7 +1217,7 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
     private static void scheduleTemporaryBasalChange() {
         class PostRunnable implements Runnable {
             public void run() {
-                if (L.isEnabled(L.DATABASE))
+                if (L.isEnabled(LTag.DATABASE))
                     log.debug("Firing EventTempBasalChange");
                 RxBus.INSTANCE.send(new EventReloadTempBasalData());
                 RxBus.INSTANCE.send(new EventTempBasalChange());
@@ -1127,7 +1312,7 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
     public void deleteTempBasalById(String _id) {
         TemporaryBasal stored = findTempBasalById(_id);
         if (stored != null) {
-            if (L.isEnabled(L.DATABASE))
+            if (L.isEnabled(LTag.DATABASE))
                 log.debug("TEMPBASAL: Removing TempBasal record from database: " + stored.toString());
             delete(stored);
             updateEarliestDataChange(stored.date);
@@ -1182,7 +1367,7 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
 
     public boolean createOrUpdate(ExtendedBolus extendedBolus) {
         try {
-            if (L.isEnabled(L.DATABASE))
+            if (L.isEnabled(LTag.DATABASE))
                 log.debug("EXTENDEDBOLUS: createOrUpdate: " + Source.getString(extendedBolus.source) + " " + extendedBolus.log());
 
             ExtendedBolus old;
@@ -1207,7 +1392,7 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
                     }
                     getDaoExtendedBolus().createOrUpdate(extendedBolus);
                 }
-                if (L.isEnabled(L.DATABASE))
+                if (L.isEnabled(LTag.DATABASE))
                     log.debug("EXTENDEDBOLUS: New record from: " + Source.getString(extendedBolus.source) + " " + extendedBolus.log());
                 updateEarliestDataChange(extendedBolus.date);
                 scheduleExtendedBolusChange();
@@ -1221,7 +1406,7 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
                         getDaoExtendedBolus().delete(old); // need to delete/create because date may change too
                         old.copyFrom(extendedBolus);
                         getDaoExtendedBolus().create(old);
-                        if (L.isEnabled(L.DATABASE))
+                        if (L.isEnabled(LTag.DATABASE))
                             log.debug("EXTENDEDBOLUS: Updating record by date from: " + Source.getString(extendedBolus.source) + " " + old.log());
                         updateEarliestDataChange(oldDate);
                         updateEarliestDataChange(old.date);
@@ -1244,7 +1429,7 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
                             getDaoExtendedBolus().delete(old); // need to delete/create because date may change too
                             old.copyFrom(extendedBolus);
                             getDaoExtendedBolus().create(old);
-                            if (L.isEnabled(L.DATABASE))
+                            if (L.isEnabled(LTag.DATABASE))
                                 log.debug("EXTENDEDBOLUS: Updating record by _id from: " + Source.getString(extendedBolus.source) + " " + old.log());
                             updateEarliestDataChange(oldDate);
                             updateEarliestDataChange(old.date);
@@ -1254,7 +1439,7 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
                     }
                 }
                 getDaoExtendedBolus().create(extendedBolus);
-                if (L.isEnabled(L.DATABASE))
+                if (L.isEnabled(LTag.DATABASE))
                     log.debug("EXTENDEDBOLUS: New record from: " + Source.getString(extendedBolus.source) + " " + extendedBolus.log());
                 updateEarliestDataChange(extendedBolus.date);
                 scheduleExtendedBolusChange();
@@ -1262,7 +1447,7 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
             }
             if (extendedBolus.source == Source.USER) {
                 getDaoExtendedBolus().create(extendedBolus);
-                if (L.isEnabled(L.DATABASE))
+                if (L.isEnabled(LTag.DATABASE))
                     log.debug("EXTENDEDBOLUS: New record from: " + Source.getString(extendedBolus.source) + " " + extendedBolus.log());
                 updateEarliestDataChange(extendedBolus.date);
                 scheduleExtendedBolusChange();
@@ -1314,7 +1499,7 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
     public void deleteExtendedBolusById(String _id) {
         ExtendedBolus stored = findExtendedBolusById(_id);
         if (stored != null) {
-            if (L.isEnabled(L.DATABASE))
+            if (L.isEnabled(LTag.DATABASE))
                 log.debug("EXTENDEDBOLUS: Removing ExtendedBolus record from database: " + stored.toString());
             delete(stored);
             updateEarliestDataChange(stored.date);
@@ -1368,7 +1553,7 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
     private static void scheduleExtendedBolusChange() {
         class PostRunnable implements Runnable {
             public void run() {
-                if (L.isEnabled(L.DATABASE))
+                if (L.isEnabled(LTag.DATABASE))
                     log.debug("Firing EventExtendedBolusChange");
                 RxBus.INSTANCE.send(new EventReloadTreatmentData(new EventExtendedBolusChange()));
                 if (earliestDataChange != null)
@@ -1394,6 +1579,7 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
         careportalEvent.date = careportalEvent.date - careportalEvent.date % 1000;
         try {
             getDaoCareportalEvents().createOrUpdate(careportalEvent);
+            careportalEventCache.put(careportalEvent);
         } catch (SQLException e) {
             log.error("Unhandled exception", e);
         }
@@ -1403,6 +1589,7 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
     public void delete(CareportalEvent careportalEvent) {
         try {
             getDaoCareportalEvents().delete(careportalEvent);
+            careportalEventCache.remove(careportalEvent.date);
         } catch (SQLException e) {
             log.error("Unhandled exception", e);
         }
@@ -1441,7 +1628,11 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
 
     public List<CareportalEvent> getCareportalEventsFromTime(long mills, boolean ascending) {
         try {
-            List<CareportalEvent> careportalEvents;
+            List<CareportalEvent> careportalEvents = careportalEventCache.query(mills, Long.MAX_VALUE, ascending, null, System.currentTimeMillis());
+            if (careportalEvents != null) {
+                preprocessOpenAPSOfflineEvents(careportalEvents);
+                return careportalEvents;
+            }
             QueryBuilder<CareportalEvent, Long> queryBuilder = getDaoCareportalEvents().queryBuilder();
             queryBuilder.orderBy("date", ascending);
             Where where = queryBuilder.where();
@@ -1458,7 +1649,11 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
 
     public List<CareportalEvent> getCareportalEvents(long start, long end, boolean ascending) {
         try {
-            List<CareportalEvent> careportalEvents;
+            List<CareportalEvent> careportalEvents = careportalEventCache.query(start, end, ascending, null, System.currentTimeMillis());
+            if (careportalEvents != null) {
+                preprocessOpenAPSOfflineEvents(careportalEvents);
+                return careportalEvents;
+            }
             QueryBuilder<CareportalEvent, Long> queryBuilder = getDaoCareportalEvents().queryBuilder();
             queryBuilder.orderBy("date", ascending);
             Where where = queryBuilder.where();
@@ -1485,7 +1680,11 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
 
     public List<CareportalEvent> getCareportalEventsFromTime(long mills, String type, boolean ascending) {
         try {
-            List<CareportalEvent> careportalEvents;
+            List<CareportalEvent> careportalEvents = careportalEventCache.query(mills, Long.MAX_VALUE, ascending, careportalEventCache.ofType(type), System.currentTimeMillis());
+            if (careportalEvents != null) {
+                preprocessOpenAPSOfflineEvents(careportalEvents);
+                return careportalEvents;
+            }
             QueryBuilder<CareportalEvent, Long> queryBuilder = getDaoCareportalEvents().queryBuilder();
             queryBuilder.orderBy("date", ascending);
             Where where = queryBuilder.where();
@@ -1526,11 +1725,11 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
 
             if (list.size() == 1) {
                 CareportalEvent record = list.get(0);
-                if (L.isEnabled(L.DATABASE))
+                if (L.isEnabled(LTag.DATABASE))
                     log.debug("Removing CareportalEvent record from database: " + record.toString());
                 delete(record);
             } else {
-                if (L.isEnabled(L.DATABASE))
+                if (L.isEnabled(LTag.DATABASE))
                     log.debug("CareportalEvent not found database: " + _id);
             }
         } catch (SQLException e) {
@@ -1550,12 +1749,12 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
             if (list.size() == 0) {
                 careportalEvent = new CareportalEvent();
                 careportalEvent.source = Source.NIGHTSCOUT;
-                if (L.isEnabled(L.DATABASE))
+                if (L.isEnabled(LTag.DATABASE))
                     log.debug("Adding CareportalEvent record to database: " + trJson.toString());
                 // Record does not exists. add
             } else if (list.size() == 1) {
                 careportalEvent = list.get(0);
-                if (L.isEnabled(L.DATABASE))
+                if (L.isEnabled(LTag.DATABASE))
                     log.debug("Updating CareportalEvent record in database: " + trJson.toString());
             } else {
                 log.error("Something went wrong");
@@ -1574,7 +1773,7 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
     private static void scheduleCareportalEventChange() {
         class PostRunnable implements Runnable {
             public void run() {
-                if (L.isEnabled(L.DATABASE))
+                if (L.isEnabled(LTag.DATABASE))
                     log.debug("Firing scheduleCareportalEventChange");
                 RxBus.INSTANCE.send(new EventCareportalEventChange());
                 scheduledCareportalEventPost = null;
@@ -1657,7 +1856,7 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
                         profileSwitch.profileName = old.profileName; // preserver profileName to prevent multiple CPP extension
                         getDaoProfileSwitch().delete(old); // need to delete/create because date may change too
                         getDaoProfileSwitch().create(profileSwitch);
-                        if (L.isEnabled(L.DATABASE))
+                        if (L.isEnabled(LTag.DATABASE))
                             log.debug("PROFILESWITCH: Updating record by date from: " + Source.getString(profileSwitch.source) + " " + old.toString());
                         scheduleProfileSwitchChange();
                         return true;
@@ -1677,7 +1876,7 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
                             getDaoProfileSwitch().delete(old); // need to delete/create because date may change too
                             old.copyFrom(profileSwitch);
                             getDaoProfileSwitch().create(old);
-                            if (L.isEnabled(L.DATABASE))
+                            if (L.isEnabled(LTag.DATABASE))
                                 log.debug("PROFILESWITCH: Updating record by _id from: " + Source.getString(profileSwitch.source) + " " + old.toString());
                             scheduleProfileSwitchChange();
                             return true;
@@ -1687,14 +1886,14 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
                 // look for already added percentage from NS
                 profileSwitch.profileName = PercentageSplitter.pureName(profileSwitch.profileName);
                 getDaoProfileSwitch().create(profileSwitch);
-                if (L.isEnabled(L.DATABASE))
+                if (L.isEnabled(LTag.DATABASE))
                     log.debug("PROFILESWITCH: New record from: " + Source.getString(profileSwitch.source) + " " + profileSwitch.toString());
                 scheduleProfileSwitchChange();
                 return true;
             }
             if (profileSwitch.source == Source.USER) {
                 getDaoProfileSwitch().create(profileSwitch);
-                if (L.isEnabled(L.DATABASE))
+                if (L.isEnabled(LTag.DATABASE))
                     log.debug("PROFILESWITCH: New record from: " + Source.getString(profileSwitch.source) + " " + profileSwitch.toString());
                 scheduleProfileSwitchChange();
                 return true;
@@ -1717,7 +1916,7 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
     private static void scheduleProfileSwitchChange() {
         class PostRunnable implements Runnable {
             public void run() {
-                if (L.isEnabled(L.DATABASE))
+                if (L.isEnabled(LTag.DATABASE))
                     log.debug("Firing EventProfileNeedsUpdate");
                 RxBus.INSTANCE.send(new EventReloadProfileSwitchData());
                 RxBus.INSTANCE.send(new EventProfileNeedsUpdate());
@@ -1770,22 +1969,22 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
                         Profile profile = store.getSpecificProfile(profileSwitch.profileName);
                         if (profile != null) {
                             profileSwitch.profileJson = profile.getData().toString();
-                            if (L.isEnabled(L.DATABASE))
+                            if (L.isEnabled(LTag.DATABASE))
                                 log.debug("Profile switch prefilled with JSON from local store");
                             // Update data in NS
                             NSUpload.updateProfileSwitch(profileSwitch);
                         } else {
-                            if (L.isEnabled(L.DATABASE))
+                            if (L.isEnabled(LTag.DATABASE))
                                 log.debug("JSON for profile switch doesn't exist. Ignoring: " + trJson.toString());
                             return;
                         }
                     } else {
-                        if (L.isEnabled(L.DATABASE))
+                        if (L.isEnabled(LTag.DATABASE))
                             log.debug("Store for profile switch doesn't exist. Ignoring: " + trJson.toString());
                         return;
                     }
                 } else {
-                    if (L.isEnabled(L.DATABASE))
+                    if (L.isEnabled(LTag.DATABASE))
                         log.debug("No active profile interface. Ignoring: " + trJson.toString());
                     return;
                 }
@@ -1801,7 +2000,7 @@ public class DatabaseHelper extends OrmLiteSqliteOpenHelper {
     public void deleteProfileSwitchById(String _id) {
         ProfileSwitch stored = findProfileSwitchById(_id);
         if (stored != null) {
-            if (L.isEnabled(L.DATABASE))
+            if (L.isEnabled(LTag.DATABASE))
                 log.debug("PROFILESWITCH: Removing ProfileSwitch record from database: " + stored.toString());
             delete(stored);
             scheduleTemporaryTargetChange();
@@ -20,6 +20,7 @@ import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.data.Profile;
 import info.nightscout.androidaps.interfaces.Interval;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.general.overview.events.EventNewNotification;
 import info.nightscout.androidaps.plugins.general.overview.graphExtensions.DataPointWithLabelInterface;
@@ -235,12 +236,12 @@ public class ProfileSwitch implements Interval, DataPointWithLabelInterface {
             if (event.date <= time && event.date > (time - T.mins(5).msecs())) {
                 if (zeroDurationOnly) {
                     if (event.durationInMinutes == 0) {
-                        if (L.isEnabled(L.DATABASE))
+                        if (L.isEnabled(LTag.DATABASE))
                             log.debug("Found ProfileSwitch event for time: " + DateUtil.dateAndTimeFullString(time) + " " + event.toString());
                         return true;
                     }
                 } else {
-                    if (L.isEnabled(L.DATABASE))
+                    if (L.isEnabled(LTag.DATABASE))
                         log.debug("Found ProfileSwitch event for time: " + DateUtil.dateAndTimeFullString(time) + " " + event.toString());
                     return true;
                 }
@@ -0,0 +1,383 @@
+package info.nightscout.androidaps.db;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Write-through copy of recent rows of one table, sorted by date (primary key)
+ * <p>
+ * Columns are held in primitive arrays and new objects are created on every query,
+ * so callers can modify returned records the same way as records loaded by ORMLite.
+ * Range queries starting before the window return null and must go to SQL.
+ * DatabaseHelper calls put()/remove() after every successful write.
+ */
+
+abstract class RecentHistoryCache<E> {
+    static final long WINDOW = 3 * 24 * 60 * 60 * 1000L; // 3 days
+
+    interface Loader<E> {
+        // rows with date >= from, any order
+        List<E> load(long from) throws SQLException;
+    }
+
+    interface Filter {
+        boolean accept(int index);
+    }
+
+    private final Loader<E> loader;
+    private boolean loaded = false;
+    private long windowStart;
+    long[] dates = new long[0];
+    int size = 0;
+
+    RecentHistoryCache(Loader<E> loader) {
+        this.loader = loader;
+    }
+
+    abstract long dateOf(E item);
+
+    // grow column arrays to capacity keeping content
+    abstract void resize(int capacity);
+
+    // System.arraycopy of all columns other than dates
+    abstract void move(int from, int to, int length);
+
+    abstract void store(int index, E item);
+
+    abstract E materialize(int index);
+
+    /**
+     * @return records in [from, to] passing filter, null if from is outside of cached window
+     */
+    synchronized List<E> query(long from, long to, boolean ascending, Filter filter, long now) throws SQLException {
+        ensureLoaded(now);
+        if (from < windowStart)
+            return null;
+        // empty range, same as SQL
+        if (to < from)
+            return new ArrayList<>();
+        int start = lowerBound(from);
+        int end = lowerBound(to == Long.MAX_VALUE ? to : to + 1);
+        List<E> result = new ArrayList<>(end - start);
+        if (ascending) {
+            for (int i = start; i < end; i++)
+                if (filter == null || filter.accept(i))
+                    result.add(materialize(i));
+        } else {
+            for (int i = end - 1; i >= start; i--)
+                if (filter == null || filter.accept(i))
+                    result.add(materialize(i));
+        }
+        return result;
+    }
+
+    synchronized void put(E item) {
+        if (!loaded)
+            return;
+        long date = dateOf(item);
+        if (date < windowStart)
+            return;
+        int index = lowerBound(date);
+        if (index >= size || dates[index] != date) {
+            if (size == dates.length)
+                grow();
+            int length = size - index;
+            System.arraycopy(dates, index, dates, index + 1, length);
+            move(index, index + 1, length);
+            dates[index] = date;
+            size++;
+        }
+        store(index, item);
+        trim();
+    }
+
+    synchronized void remove(long date) {
+        if (!loaded)
+            return;
+        int index = lowerBound(date);
+        if (index >= size || dates[index] != date)
+            return;
+        int length = size - index - 1;
+        System.arraycopy(dates, index + 1, dates, index, length);
+        move(index + 1, index, length);
+        size--;
+        // release references of last slot
+        store(size, null);
+    }
+
+    // next query loads again from database
+    synchronized void invalidate() {
+        loaded = false;
+        size = 0;
+        dates = new long[0];
+        resize(0);
+    }
+
+    private void ensureLoaded(long now) throws SQLException {
+        if (loaded)
+            return;
+        windowStart = now - WINDOW;
+        List<E> rows = loader.load(windowStart);
+        long[] sorted = new long[rows.size()];
+        Integer[] order = new Integer[rows.size()];
+        for (int i = 0; i < rows.size(); i++) {
+            sorted[i] = dateOf(rows.get(i));
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(sorted[a], sorted[b]));
+        dates = new long[Math.max(16, rows.size() * 2)];
+        resize(dates.length);
+        for (int i = 0; i < rows.size(); i++) {
+            dates[i] = sorted[order[i]];
+            store(i, rows.get(order[i]));
+        }
+        size = rows.size();
+        loaded = true;
+    }
+
+    private void grow() {
+        int capacity = Math.max(16, dates.length * 2);
+        dates = Arrays.copyOf(dates, capacity);
+        resize(capacity);
+    }
+
+    // records are only added at the end in normal run, keep memory bounded when app runs for weeks
+    private void trim() {
+        if (size == 0 || dates[size - 1] - windowStart < 2 * WINDOW)
+            return;
+        long newStart = dates[size - 1] - WINDOW;
+        int count = lowerBound(newStart);
+        System.arraycopy(dates, count, dates, 0, size - count);
+        move(count, 0, size - count);
+        for (int i = size - count; i < size; i++)
+            store(i, null);
+        size -= count;
+        windowStart = newStart;
+    }
+
+    // first index with date >= time
+    int lowerBound(long time) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (dates[middle] < time)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+    static class BgReadings extends RecentHistoryCache<BgReading> {
+        private boolean[] isValid = new boolean[0];
+        private double[] value = new double[0];
+        private String[] direction = new String[0];
+        private double[] raw = new double[0];
+        private int[] source = new int[0];
+        private String[] id = new String[0];
+
+        // same as SQL condition of getBgreadingsDataFromTime()
+        final Filter valid = index -> value[index] >= 39 && isValid[index];
+
+        BgReadings(Loader<BgReading> loader) {
+            super(loader);
+        }
+
+        @Override
+        long dateOf(BgReading item) {
+            return item.date;
+        }
+
+        @Override
+        void resize(int capacity) {
+            isValid = Arrays.copyOf(isValid, capacity);
+            value = Arrays.copyOf(value, capacity);
+            direction = Arrays.copyOf(direction, capacity);
+            raw = Arrays.copyOf(raw, capacity);
+            source = Arrays.copyOf(source, capacity);
+            id = Arrays.copyOf(id, capacity);
+        }
+
+        @Override
+        void move(int from, int to, int length) {
+            System.arraycopy(isValid, from, isValid, to, length);
+            System.arraycopy(value, from, value, to, length);
+            System.arraycopy(direction, from, direction, to, length);
+            System.arraycopy(raw, from, raw, to, length);
+            System.arraycopy(source, from, source, to, length);
+            System.arraycopy(id, from, id, to, length);
+        }
+
+        @Override
+        void store(int index, BgReading item) {
+            if (item == null) {
+                direction[index] = null;
+                id[index] = null;
+                return;
+            }
+            isValid[index] = item.isValid;
+            value[index] = item.value;
+            direction[index] = item.direction;
+            raw[index] = item.raw;
+            source[index] = item.source;
+            id[index] = item._id;
+        }
+
+        @Override
+        BgReading materialize(int index) {
+            BgReading bgReading = new BgReading();
+            bgReading.date = dates[index];
+            bgReading.isValid = isValid[index];
+            bgReading.value = value[index];
+            bgReading.direction = direction[index];
+            bgReading.raw = raw[index];
+            bgReading.source = source[index];
+            bgReading._id = id[index];
+            return bgReading;
+        }
+    }
+
+    static class TemporaryBasals extends RecentHistoryCache<TemporaryBasal> {
+        private boolean[] isValid = new boolean[0];
+        private long[] pumpId = new long[0];
+        private int[] source = new int[0];
+        private String[] id = new String[0];
+        private int[] durationInMinutes = new int[0];
+        private boolean[] isAbsolute = new boolean[0];
+        private int[] percentRate = new int[0];
+        private double[] absoluteRate = new double[0];
+
+        TemporaryBasals(Loader<TemporaryBasal> loader) {
+            super(loader);
+        }
+
+        @Override
+        long dateOf(TemporaryBasal item) {
+            return item.date;
+        }
+
+        @Override
+        void resize(int capacity) {
+            isValid = Arrays.copyOf(isValid, capacity);
+            pumpId = Arrays.copyOf(pumpId, capacity);
+            source = Arrays.copyOf(source, capacity);
+            id = Arrays.copyOf(id, capacity);
+            durationInMinutes = Arrays.copyOf(durationInMinutes, capacity);
+            isAbsolute = Arrays.copyOf(isAbsolute, capacity);
+            percentRate = Arrays.copyOf(percentRate, capacity);
+            absoluteRate = Arrays.copyOf(absoluteRate, capacity);
+        }
+
+        @Override
+        void move(int from, int to, int length) {
+            System.arraycopy(isValid, from, isValid, to, length);
+            System.arraycopy(pumpId, from, pumpId, to, length);
+            System.arraycopy(source, from, source, to, length);
+            System.arraycopy(id, from, id, to, length);
+            System.arraycopy(durationInMinutes, from, durationInMinutes, to, length);
+            System.arraycopy(isAbsolute, from, isAbsolute, to, length);
+            System.arraycopy(percentRate, from, percentRate, to, length);
+            System.arraycopy(absoluteRate, from, absoluteRate, to, length);
+        }
+
+        @Override
+        void store(int index, TemporaryBasal item) {
+            if (item == null) {
+                id[index] = null;
+                return;
+            }
+            isValid[index] = item.isValid;
+            pumpId[index] = item.pumpId;
+            source[index] = item.source;
+            id[index] = item._id;
+            durationInMinutes[index] = item.durationInMinutes;
+            isAbsolute[index] = item.isAbsolute;
+            percentRate[index] = item.percentRate;
+            absoluteRate[index] = item.absoluteRate;
+        }
+
+        @Override
+        TemporaryBasal materialize(int index) {
+            TemporaryBasal tempBasal = new TemporaryBasal();
+            tempBasal.date = dates[index];
+            tempBasal.isValid = isValid[index];
+            tempBasal.pumpId = pumpId[index];
+            tempBasal.source = source[index];
+            tempBasal._id = id[index];
+            tempBasal.durationInMinutes = durationInMinutes[index];
+            tempBasal.isAbsolute = isAbsolute[index];
+            tempBasal.percentRate = percentRate[index];
+            tempBasal.absoluteRate = absoluteRate[index];
+            return tempBasal;
+        }
+    }
+
+    static class CareportalEvents extends RecentHistoryCache<CareportalEvent> {
+        private boolean[] isValid = new boolean[0];
+        private int[] source = new int[0];
+        private String[] id = new String[0];
+        private String[] eventType = new String[0];
+        private String[] json = new String[0];
+
+        CareportalEvents(Loader<CareportalEvent> loader) {
+            super(loader);
+        }
+
+        Filter ofType(String type) {
+            return index -> type.equals(eventType[index]);
+        }
+
+        @Override
+        long dateOf(CareportalEvent item) {
+            return item.date;
+        }
+
+        @Override
+        void resize(int capacity) {
+            isValid = Arrays.copyOf(isValid, capacity);
+            source = Arrays.copyOf(source, capacity);
+            id = Arrays.copyOf(id, capacity);
+            eventType = Arrays.copyOf(eventType, capacity);
+            json = Arrays.copyOf(json, capacity);
+        }
+
+        @Override
+        void move(int from, int to, int length) {
+            System.arraycopy(isValid, from, isValid, to, length);
+            System.arraycopy(source, from, source, to, length);
+            System.arraycopy(id, from, id, to, length);
+            System.arraycopy(eventType, from, eventType, to, length);
+            System.arraycopy(json, from, json, to, length);
+        }
+
+        @Override
+        void store(int index, CareportalEvent item) {
+            if (item == null) {
+                id[index] = null;
+                eventType[index] = null;
+                json[index] = null;
+                return;
+            }
+            isValid[index] = item.isValid;
+            source[index] = item.source;
+            id[index] = item._id;
+            eventType[index] = item.eventType;
+            json[index] = item.json;
+        }
+
+        @Override
+        CareportalEvent materialize(int index) {
+            CareportalEvent careportalEvent = new CareportalEvent();
+            careportalEvent.date = dates[index];
+            careportalEvent.isValid = isValid[index];
+            careportalEvent.source = source[index];
+            careportalEvent._id = id[index];
+            careportalEvent.eventType = eventType[index];
+            careportalEvent.json = json[index];
+            return careportalEvent;
+        }
+    }
+}
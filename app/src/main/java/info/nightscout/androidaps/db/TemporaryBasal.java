@@ -1,5 +1,7 @@
 package info.nightscout.androidaps.db;
 
+import androidx.annotation.Nullable;
+
 import com.j256.ormlite.field.DatabaseField;
 import com.j256.ormlite.table.DatabaseTable;
 
@@ -350,6 +352,113 @@ public class TemporaryBasal implements Interval, DbObjectBase {
         return result;
     }
 
+    /**
+     * iobCalc() for all times at once, results are added to totals at the same index.
+     * Times after the end of temp basal share the same 5 min parts and the insulin
+     * is evaluated in one call for each part. Other times are calculated separately.
+     * Without lastAutosensResult it's the same as iobCalc(time, profile)
+     */
+    public void iobCalc(long[] times, IobTotal[] totals, Profile profile, @Nullable AutosensResult lastAutosensResult, boolean exercise_mode, int half_basal_exercise_target, boolean isTempTarget) {
+
+        if (isFakeExtended) {
+            log.error("iobCalc should only be called on Extended boluses separately");
+            return;
+        }
+
+        long endTime = end();
+        boolean afterEnd = false;
+        for (int i = 0; i < times.length; i++) {
+            if (times[i] < date)
+                continue;
+            if (times[i] >= endTime)
+                afterEnd = true;
+            else if (lastAutosensResult == null)
+                totals[i].plus(iobCalc(times[i], profile));
+            else
+                totals[i].plus(iobCalc(times[i], profile, lastAutosensResult, exercise_mode, half_basal_exercise_target, isTempTarget));
+        }
+
+        int realDuration = getDurationToTime(endTime);
+        if (!afterEnd || realDuration <= 0)
+            return;
+
+        InsulinInterface insulinInterface = ConfigBuilderPlugin.getPlugin().getActiveInsulin();
+
+        double sensitivityRatio = 1d;
+        if (lastAutosensResult != null) {
+            sensitivityRatio = lastAutosensResult.ratio;
+            double normalTarget = 100;
+            if (exercise_mode && isTempTarget && profile.getTarget() >= normalTarget + 5) {
+                double c = half_basal_exercise_target - normalTarget;
+                sensitivityRatio = c / (c + profile.getTarget() - normalTarget);
+            }
+        }
+
+        double dia = profile.getDia();
+        int aboutFiveMinIntervals = (int) Math.ceil(realDuration / 5d);
+        // keep the same rounding as iobCalc() variants
+        double tempBolusSpacing = lastAutosensResult == null ? realDuration / aboutFiveMinIntervals : (double) realDuration / aboutFiveMinIntervals;
+
+        double[] basalIob = new double[times.length];
+        double[] activity = new double[times.length];
+        double[] netBasalInsulin = new double[times.length];
+        double[] highTempInsulin = new double[times.length];
+        double[] iobContrib = new double[times.length];
+        double[] activityContrib = new double[times.length];
+        Treatment tempBolusPart = new Treatment();
+
+        for (long j = 0L; j < aboutFiveMinIntervals; j++) {
+            // find middle of the interval
+            long calcdate = (long) (date + j * tempBolusSpacing * 60 * 1000 + 0.5d * tempBolusSpacing * 60 * 1000);
+
+            double netBasalRate;
+            double basalRate = profile.getBasal(calcdate);
+            if (lastAutosensResult == null) {
+                if (isAbsolute) {
+                    netBasalRate = absoluteRate - basalRate;
+                } else {
+                    netBasalRate = (percentRate - 100) / 100d * basalRate;
+                }
+            } else {
+                basalRate *= sensitivityRatio;
+                if (isAbsolute) {
+                    netBasalRate = absoluteRate - basalRate;
+                } else {
+                    double abs = percentRate / 100d * profile.getBasal(calcdate);
+                    netBasalRate = abs - basalRate;
+                }
+            }
+
+            tempBolusPart.insulin = netBasalRate * tempBolusSpacing / 60d;
+            tempBolusPart.date = calcdate;
+            insulinInterface.iobCalcForTreatment(tempBolusPart, times, dia, iobContrib, activityContrib);
+
+            for (int i = 0; i < times.length; i++) {
+                if (times[i] < endTime)
+                    continue;
+                double dia_ago = times[i] - dia * 60 * 60 * 1000;
+                if (calcdate > dia_ago && calcdate <= times[i]) {
+                    basalIob[i] += iobContrib[i];
+                    activity[i] += activityContrib[i];
+                    netBasalInsulin[i] += tempBolusPart.insulin;
+                    if (tempBolusPart.insulin > 0) {
+                        highTempInsulin[i] += tempBolusPart.insulin;
+                    }
+                }
+            }
+        }
+
+        for (int i = 0; i < times.length; i++) {
+            if (times[i] < endTime)
+                continue;
+            totals[i].activity += activity[i];
+            totals[i].basaliob += basalIob[i];
+            totals[i].netbasalinsulin += netBasalInsulin[i];
+            totals[i].hightempinsulin += highTempInsulin[i];
+            totals[i].netInsulin += netBasalInsulin[i];
+        }
+    }
+
     public int getRealDuration() {
         return getDurationToTime(System.currentTimeMillis());
     }
@@ -2,4 +2,7 @@ package info.nightscout.androidaps.events
 
 import info.nightscout.androidaps.db.BgReading
 
-class EventNewBG(val bgReading: BgReading?) : EventLoop()
\ No newline at end of file
+/**
+ * @param historyChange earliest time of backfilled or changed BG older than last stored one, 0 if none
+ */
+class EventNewBG @JvmOverloads constructor(val bgReading: BgReading?, val historyChange: Long = 0) : EventLoop()
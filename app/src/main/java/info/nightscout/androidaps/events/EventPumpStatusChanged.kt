@@ -2,7 +2,9 @@ package info.nightscout.androidaps.events
 
 import info.nightscout.androidaps.MainApp
 import info.nightscout.androidaps.R
+import info.nightscout.androidaps.plugins.bus.Conflated
 
+@Conflated
 class EventPumpStatusChanged : EventStatus {
 
     enum class Status {
@@ -1,3 +1,6 @@
 package info.nightscout.androidaps.events
 
+import info.nightscout.androidaps.plugins.bus.Conflated
+
+@Conflated
 class EventRefreshOverview(var from: String) : Event()
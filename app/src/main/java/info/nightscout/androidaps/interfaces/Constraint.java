@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 
 /**
  * Created by mike on 19.03.2018.
@@ -37,13 +38,13 @@ public class Constraint<T extends Comparable> {
     public Constraint<T> set(T value) {
         this.value = value;
         this.originalValue = value;
-        if (L.isEnabled(L.CONSTRAINTS))
+        if (L.isEnabled(LTag.CONSTRAINTS))
             log.debug("Setting value " + value);
         return this;
     }
 
     public Constraint<T> set(T value, String reason, Object from) {
-        if (L.isEnabled(L.CONSTRAINTS))
+        if (L.isEnabled(LTag.CONSTRAINTS))
             log.debug("Setting value " + this.value + " -> " + value + " (" + reason + ")[" + translateFrom(from) + "]");
         this.value = value;
         addReason(reason, from);
@@ -53,7 +54,7 @@ public class Constraint<T extends Comparable> {
 
     public Constraint<T> setIfDifferent(T value, String reason, Object from) {
         if (!this.value.equals(value)) {
-            if (L.isEnabled(L.CONSTRAINTS))
+            if (L.isEnabled(LTag.CONSTRAINTS))
                 log.debug("Setting because of different value " + this.value + " -> " + value + " (" + reason + ")[" + translateFrom(from) + "]");
             this.value = value;
             addReason(reason, from);
@@ -64,7 +65,7 @@ public class Constraint<T extends Comparable> {
 
     public Constraint<T> setIfSmaller(T value, String reason, Object from) {
         if (value.compareTo(this.value) < 0) {
-            if (L.isEnabled(L.CONSTRAINTS))
+            if (L.isEnabled(LTag.CONSTRAINTS))
                 log.debug("Setting because of smaller value " + this.value + " -> " + value + " (" + reason + ")[" + translateFrom(from) + "]");
             this.value = value;
             mostLimiting.clear();
@@ -78,7 +79,7 @@ public class Constraint<T extends Comparable> {
 
     public Constraint<T> setIfGreater(T value, String reason, Object from) {
         if (value.compareTo(this.value) > 0) {
-            if (L.isEnabled(L.CONSTRAINTS))
+            if (L.isEnabled(LTag.CONSTRAINTS))
                 log.debug("Setting because of greater value " + this.value + " -> " + value + " (" + reason + ")[" + translateFrom(from) + "]");
             this.value = value;
             mostLimiting.clear();
@@ -111,7 +112,7 @@ public class Constraint<T extends Comparable> {
             if (count++ != 0) sb.append("\n");
             sb.append(r);
         }
-        if (L.isEnabled(L.CONSTRAINTS))
+        if (L.isEnabled(LTag.CONSTRAINTS))
             log.debug("Limiting origial value: " + originalValue + " to " + value + ". Reason: " + sb.toString());
         return sb.toString();
     }
@@ -127,7 +128,7 @@ public class Constraint<T extends Comparable> {
             if (count++ != 0) sb.append("\n");
             sb.append(r);
         }
-        if (L.isEnabled(L.CONSTRAINTS))
+        if (L.isEnabled(LTag.CONSTRAINTS))
             log.debug("Limiting origial value: " + originalValue + " to " + value + ". Reason: " + sb.toString());
         return sb.toString();
     }
@@ -20,4 +20,10 @@ public interface InsulinInterface {
     String getComment();
     double getDia();
     Iob iobCalcForTreatment(Treatment treatment, long time, double dia);
+
+    /**
+     * Evaluates treatment at all times in one call, contributions are written to iobContrib and activityContrib
+     * at the same index. Times before the treatment get zero
+     */
+    void iobCalcForTreatment(Treatment treatment, long[] times, double dia, double[] iobContrib, double[] activityContrib);
 }
@@ -13,6 +13,7 @@ import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.events.EventConfigBuilderChange;
 import info.nightscout.androidaps.events.EventRebuildTabs;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
 import info.nightscout.androidaps.plugins.configBuilder.EventConfigBuilderUpdateGui;
@@ -60,12 +61,12 @@ public abstract class PluginBase {
                         .setPositiveButton(R.string.yes, (dialog, id) -> {
                             performPluginSwitch(newState, type);
                             SP.putBoolean("allow_hardware_pump", true);
-                            if (L.isEnabled(L.PUMP))
+                            if (L.isEnabled(LTag.PUMP))
                                 log.debug("First time HW pump allowed!");
                         })
                         .setNegativeButton(R.string.cancel, (dialog, id) -> {
                             RxBus.INSTANCE.send(new EventConfigBuilderUpdateGui());
-                            if (L.isEnabled(L.PUMP))
+                            if (L.isEnabled(LTag.PUMP))
                                 log.debug("User does not allow switching to HW pump!");
                         });
                 builder.create().show();
@@ -149,7 +150,7 @@ public abstract class PluginBase {
                 if (state != State.ENABLED) {
                     onStateChange(type, state, State.ENABLED);
                     state = State.ENABLED;
-                    if (L.isEnabled(L.CORE))
+                    if (L.isEnabled(LTag.CORE))
                         log.debug("Starting: " + getName());
                     onStart();
                 }
@@ -158,7 +159,7 @@ public abstract class PluginBase {
                     onStateChange(type, state, State.DISABLED);
                     state = State.DISABLED;
                     onStop();
-                    if (L.isEnabled(L.CORE))
+                    if (L.isEnabled(LTag.CORE))
                         log.debug("Stopping: " + getName());
                 }
             }
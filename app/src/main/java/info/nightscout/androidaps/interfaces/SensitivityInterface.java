@@ -1,5 +1,8 @@
 package info.nightscout.androidaps.interfaces;
 
+import androidx.collection.LongSparseArray;
+
+import info.nightscout.androidaps.plugins.iob.iobCobCalculator.AutosensData;
 import info.nightscout.androidaps.plugins.iob.iobCobCalculator.AutosensResult;
 import info.nightscout.androidaps.plugins.iob.iobCobCalculator.IobCobCalculatorPlugin;
 
@@ -12,6 +15,9 @@ public interface SensitivityInterface {
     double MIN_HOURS = 1;
     double MIN_HOURS_FULL_AUTOSENS = 4;
 
-    AutosensResult detectSensitivity(IobCobCalculatorPlugin plugin, long fromTime, long toTime);
+    /**
+     * Called from calculation thread holding dataLock, autosensDataTable is its working table
+     */
+    AutosensResult detectSensitivity(IobCobCalculatorPlugin plugin, LongSparseArray<AutosensData> autosensDataTable, long fromTime, long toTime);
 
 }
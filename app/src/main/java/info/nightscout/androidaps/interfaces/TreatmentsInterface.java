@@ -27,6 +27,9 @@ public interface TreatmentsInterface {
     IobTotal getCalculationToTimeTreatments(long time);
     IobTotal getLastCalculationTempBasals();
     IobTotal getCalculationToTimeTempBasals(long time);
+    // the same for many times in one pass over history
+    IobTotal[] getCalculationToTimesTreatments(long[] times);
+    IobTotal[] getCalculationToTimesTempBasals(long[] times);
 
     MealData getMealData();
 
@@ -9,27 +9,18 @@ public class L {
 
     public static class LogElement {
         public String name;
+        final LTag tag;
         boolean defaultValue;
         public boolean enabled;
-        boolean requiresRestart = false;
+        boolean requiresRestart;
 
-        LogElement(String name, boolean defaultValue) {
-            this.name = name;
-            this.defaultValue = defaultValue;
+        LogElement(LTag tag) {
+            this.tag = tag;
+            this.name = tag.name();
+            this.defaultValue = tag.defaultValue;
+            this.requiresRestart = tag.requiresRestart;
             enabled = SP.getBoolean(getSPName(), defaultValue);
-        }
-
-        LogElement(String name, boolean defaultValue, boolean requiresRestart) {
-            this.name = name;
-            this.defaultValue = defaultValue;
-            this.requiresRestart = requiresRestart;
-            enabled = SP.getBoolean(getSPName(), defaultValue);
-        }
-
-        LogElement(boolean defaultValue) {
-            this.name = "NONEXISTING";
-            this.defaultValue = defaultValue;
-            enabled = defaultValue;
+            flags[tag.ordinal()] = enabled;
         }
 
         private String getSPName() {
@@ -38,6 +29,7 @@ public class L {
 
         public void setEnabled(boolean enabled) {
             this.enabled = enabled;
+            flags[tag.ordinal()] = enabled;
             SP.putBoolean(getSPName(), enabled);
         }
 
@@ -48,20 +40,15 @@ public class L {
 
     private static List<LogElement> logElements;
 
+    // hot path: isEnabled() is called per bucket and per record, no lookup by name there
+    private static final boolean[] flags = new boolean[LTag.values().length];
+
     static {
         initialize();
     }
 
-    private static LogElement findByName(String name) {
-        for (LogElement element : logElements) {
-            if (element.name.equals(name))
-                return element;
-        }
-        return new LogElement(false);
-    }
-
-    public static boolean isEnabled(String name) {
-        return findByName(name).enabled;
+    public static boolean isEnabled(LTag tag) {
+        return flags[tag.ordinal()];
     }
 
     public static List<LogElement> getLogElements() {
@@ -75,6 +62,7 @@ public class L {
     }
 
 
+    // logger names, same as LTag names
     public static final String CORE = "CORE";
     public static final String AUTOSENS = "AUTOSENS";
     public static final String AUTOMATION = "AUTOMATION";
@@ -103,31 +91,8 @@ public class L {
 
     private static void initialize() {
         logElements = new ArrayList<>();
-        logElements.add(new LogElement(APS, true));
-        logElements.add(new LogElement(AUTOMATION, true));
-        logElements.add(new LogElement(AUTOSENS, false));
-        logElements.add(new LogElement(BGSOURCE, true));
-        logElements.add(new LogElement(GLUCOSE, false));
-        logElements.add(new LogElement(CONFIGBUILDER, false));
-        logElements.add(new LogElement(CONSTRAINTS, true));
-        logElements.add(new LogElement(CORE, true));
-        logElements.add(new LogElement(DATABASE, true));
-        logElements.add(new LogElement(DATAFOOD, false));
-        logElements.add(new LogElement(DATASERVICE, true));
-        logElements.add(new LogElement(DATATREATMENTS, true));
-        logElements.add(new LogElement(EVENTS, false, true));
-        logElements.add(new LogElement(LOCATION, true));
-        logElements.add(new LogElement(NOTIFICATION, true));
-        logElements.add(new LogElement(NSCLIENT, true));
-        logElements.add(new LogElement(TIDEPOOL, true));
-        logElements.add(new LogElement(OVERVIEW, true));
-        logElements.add(new LogElement(PROFILE, true));
-        logElements.add(new LogElement(PUMP, true));
-        logElements.add(new LogElement(PUMPBTCOMM, false));
-        logElements.add(new LogElement(PUMPCOMM, true));
-        logElements.add(new LogElement(PUMPQUEUE, true));
-        logElements.add(new LogElement(SMS, true));
-        logElements.add(new LogElement(UI, true));
+        for (LTag tag : LTag.values())
+            logElements.add(new LogElement(tag));
     }
 
 }
@@ -0,0 +1,46 @@
+package info.nightscout.androidaps.logging;
+
+/**
+ * Log categories for L.isEnabled(), ordinal is index of enabled flag
+ * <p>
+ * Every tag needs logger name constant of the same name in L
+ */
+public enum LTag {
+    APS(true),
+    AUTOMATION(true),
+    AUTOSENS(false),
+    BGSOURCE(true),
+    GLUCOSE(false),
+    CONFIGBUILDER(false),
+    CONSTRAINTS(true),
+    CORE(true),
+    DATABASE(true),
+    DATAFOOD(false),
+    DATASERVICE(true),
+    DATATREATMENTS(true),
+    EVENTS(false, true),
+    LOCATION(true),
+    NOTIFICATION(true),
+    NSCLIENT(true),
+    TIDEPOOL(true),
+    OVERVIEW(true),
+    PROFILE(true),
+    PUMP(true),
+    PUMPBTCOMM(false),
+    PUMPCOMM(true),
+    PUMPQUEUE(true),
+    SMS(true),
+    UI(true);
+
+    final boolean defaultValue;
+    final boolean requiresRestart;
+
+    LTag(boolean defaultValue) {
+        this(defaultValue, false);
+    }
+
+    LTag(boolean defaultValue, boolean requiresRestart) {
+        this.defaultValue = defaultValue;
+        this.requiresRestart = requiresRestart;
+    }
+}
@@ -0,0 +1,212 @@
+package info.nightscout.androidaps.logging;
+
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+
+/**
+ * Asynchronous appender: logging thread only puts event to bounded lock free ring buffer,
+ * file and logcat output is done by single worker thread.
+ * <p>
+ * When buffer is full DEBUG and INFO events are dropped (and counted), WARN and ERROR
+ * are written synchronously after flushing older events so they are never lost or reordered.
+ * <p>
+ * Idle worker is parked until next event, it doesn't poll.
+ * <p>
+ * Configured in logback.xml, attached appenders are referenced by appender-ref
+ */
+
+public class RingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent> implements AppenderAttachable<ILoggingEvent> {
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+
+    private int capacity = 4096;
+    private boolean includeCallerData = true;
+
+    private AtomicReferenceArray<ILoggingEvent> buffer;
+    private int mask;
+    // next slot to be claimed by producers
+    private final AtomicLong tail = new AtomicLong();
+    // next slot to be consumed by worker, written only by worker
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    // worker is about to park or parked, producers must unpark it
+    private final AtomicBoolean sleeping = new AtomicBoolean();
+    // single consumer: worker, or producer flushing full buffer
+    private final Object consumeLock = new Object();
+
+    private volatile Thread worker;
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // file pattern uses %class, %M and %line, these must be taken on calling thread
+    public void setIncludeCallerData(boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+
+    public boolean isIncludeCallerData() {
+        return includeCallerData;
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    @Override
+    public void start() {
+        if (isStarted())
+            return;
+        if (capacity < 2) {
+            addError("Invalid capacity " + capacity);
+            return;
+        }
+        // round up to power of 2
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        buffer = new AtomicReferenceArray<>(size);
+        mask = size - 1;
+        tail.set(0);
+        head.set(0);
+        super.start();
+        worker = new Thread(this::drain, "RingBufferAppender");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted())
+            return;
+        super.stop();
+        Thread thread = worker;
+        worker = null;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // whatever was put after worker exited
+        consumeAvailable();
+        if (dropped.get() > 0)
+            addWarn("Dropped " + dropped.get() + " events");
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        event.prepareForDeferredProcessing();
+        if (includeCallerData)
+            event.getCallerData();
+
+        long slot;
+        do {
+            slot = tail.get();
+            if (slot - head.get() >= buffer.length()) {
+                if (event.getLevel().isGreaterOrEqual(Level.WARN)) {
+                    synchronized (consumeLock) {
+                        // older events go first
+                        consumeUnlocked();
+                        appenders.appendLoopOnAppenders(event);
+                    }
+                } else
+                    dropped.incrementAndGet();
+                return;
+            }
+        } while (!tail.compareAndSet(slot, slot + 1));
+        // volatile write, must be visible before sleeping is read
+        buffer.set((int) (slot & mask), event);
+        if (sleeping.get() && sleeping.compareAndSet(true, false))
+            LockSupport.unpark(worker);
+    }
+
+    private void drain() {
+        while (worker != null) {
+            if (consumeAvailable())
+                continue;
+            sleeping.set(true);
+            // event put before sleeping was set doesn't unpark, check again
+            if (!consumeAvailable() && worker != null)
+                LockSupport.park(this);
+            sleeping.set(false);
+        }
+    }
+
+    // single consumer: worker thread, producer with full buffer, or stop() after worker is finished
+    private boolean consumeAvailable() {
+        synchronized (consumeLock) {
+            return consumeUnlocked();
+        }
+    }
+
+    private boolean consumeUnlocked() {
+        boolean consumed = false;
+        long current = head.get();
+        while (current < tail.get()) {
+            int index = (int) (current & mask);
+            ILoggingEvent event = buffer.get(index);
+            // slot claimed but not yet written by producer
+            if (event == null)
+                break;
+            buffer.lazySet(index, null);
+            head.lazySet(++current);
+            try {
+                appenders.appendLoopOnAppenders(event);
+            } catch (Exception e) {
+                addError("Appending failed", e);
+            }
+            consumed = true;
+        }
+        return consumed;
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> newAppender) {
+        appenders.addAppender(newAppender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
@@ -22,6 +22,7 @@ import info.nightscout.androidaps.interfaces.Constraint;
 import info.nightscout.androidaps.interfaces.PumpDescription;
 import info.nightscout.androidaps.interfaces.PumpInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
 import info.nightscout.androidaps.plugins.configBuilder.ProfileFunctions;
 import info.nightscout.androidaps.plugins.treatments.TreatmentsPlugin;
@@ -290,14 +291,14 @@ public class APSResult {
         Constraint<Boolean> closedLoopEnabled = MainApp.getConstraintChecker().isClosedLoopAllowed();
         // closed loop mode: handle change at driver level
         if (closedLoopEnabled.value()) {
-            if (L.isEnabled(L.APS))
+            if (L.isEnabled(LTag.APS))
                 log.debug("DEFAULT: Closed mode");
             return tempBasalRequested || bolusRequested;
         }
 
         // open loop mode: try to limit request
         if (!tempBasalRequested && !bolusRequested) {
-            if (L.isEnabled(L.APS))
+            if (L.isEnabled(LTag.APS))
                 log.debug("FALSE: No request");
             return false;
         }
@@ -314,18 +315,18 @@ public class APSResult {
 
         if (usePercent) {
             if (activeTemp == null && percent == 100) {
-                if (L.isEnabled(L.APS))
+                if (L.isEnabled(LTag.APS))
                     log.debug("FALSE: No temp running, asking cancel temp");
                 return false;
             }
             if (activeTemp != null && Math.abs(percent - activeTemp.tempBasalConvertedToPercent(now, profile)) < pump.getPumpDescription().basalStep) {
-                if (L.isEnabled(L.APS))
+                if (L.isEnabled(LTag.APS))
                     log.debug("FALSE: Temp equal");
                 return false;
             }
             // always report zerotemp
             if (percent == 0) {
-                if (L.isEnabled(L.APS))
+                if (L.isEnabled(LTag.APS))
                     log.debug("TRUE: Zero temp");
                 return true;
             }
@@ -333,7 +334,7 @@ public class APSResult {
             if (pump != null && pump.getPumpDescription().tempBasalStyle == PumpDescription.PERCENT) {
                 double pumpLimit = pump.getPumpDescription().pumpType.getTbrSettings().getMaxDose();
                 if (percent == pumpLimit) {
-                    if (L.isEnabled(L.APS))
+                    if (L.isEnabled(LTag.APS))
                         log.debug("TRUE: Pump limit");
                     return true;
                 }
@@ -348,28 +349,28 @@ public class APSResult {
                 change = percent / (double) activeTemp.tempBasalConvertedToPercent(now, profile);
 
             if (change < lowThreshold || change > highThreshold) {
-                if (L.isEnabled(L.APS))
+                if (L.isEnabled(LTag.APS))
                     log.debug("TRUE: Outside allowed range " + (change * 100d) + "%");
                 return true;
             } else {
-                if (L.isEnabled(L.APS))
+                if (L.isEnabled(LTag.APS))
                     log.debug("TRUE: Inside allowed range " + (change * 100d) + "%");
                 return false;
             }
         } else {
             if (activeTemp == null && rate == pump.getBaseBasalRate()) {
-                if (L.isEnabled(L.APS))
+                if (L.isEnabled(LTag.APS))
                     log.debug("FALSE: No temp running, asking cancel temp");
                 return false;
             }
             if (activeTemp != null && Math.abs(rate - activeTemp.tempBasalConvertedToAbsolute(now, profile)) < pump.getPumpDescription().basalStep) {
-                if (L.isEnabled(L.APS))
+                if (L.isEnabled(LTag.APS))
                     log.debug("FALSE: Temp equal");
                 return false;
             }
             // always report zerotemp
             if (rate == 0) {
-                if (L.isEnabled(L.APS))
+                if (L.isEnabled(LTag.APS))
                     log.debug("TRUE: Zero temp");
                 return true;
             }
@@ -377,7 +378,7 @@ public class APSResult {
             if (pump != null && pump.getPumpDescription().tempBasalStyle == PumpDescription.ABSOLUTE) {
                 double pumpLimit = pump.getPumpDescription().pumpType.getTbrSettings().getMaxDose();
                 if (rate == pumpLimit) {
-                    if (L.isEnabled(L.APS))
+                    if (L.isEnabled(LTag.APS))
                         log.debug("TRUE: Pump limit");
                     return true;
                 }
@@ -392,11 +393,11 @@ public class APSResult {
                 change = rate / activeTemp.tempBasalConvertedToAbsolute(now, profile);
 
             if (change < lowThreshold || change > highThreshold) {
-                if (L.isEnabled(L.APS))
+                if (L.isEnabled(LTag.APS))
                     log.debug("TRUE: Outside allowed range " + (change * 100d) + "%");
                 return true;
             } else {
-                if (L.isEnabled(L.APS))
+                if (L.isEnabled(LTag.APS))
                     log.debug("TRUE: Inside allowed range " + (change * 100d) + "%");
                 return false;
             }
@@ -20,6 +20,7 @@ import kotlinx.android.synthetic.main.loop_fragment.*
 class LoopFragment : Fragment() {
 
     private var disposable: CompositeDisposable = CompositeDisposable()
+    private val guiRefresh = GuiRefresh.bindOnly("Loop") { updateGUI() }
 
     override fun onCreateView(inflater: LayoutInflater, container: ViewGroup?,
                               savedInstanceState: Bundle?): View? {
@@ -42,7 +43,7 @@ class LoopFragment : Fragment() {
                 .toObservable(EventLoopUpdateGui::class.java)
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe({
-                    updateGUI()
+                    guiRefresh.request("EventLoopUpdateGui")
                 }, {
                     FabricPrivacy.logException(it)
                 })
@@ -57,7 +58,7 @@ class LoopFragment : Fragment() {
                     FabricPrivacy.logException(it)
                 })
 
-        updateGUI()
+        guiRefresh.resume()
         SP.putBoolean(R.string.key_objectiveuseloop, true)
     }
 
@@ -65,6 +66,7 @@ class LoopFragment : Fragment() {
     override fun onPause() {
         super.onPause()
         disposable.clear()
+        guiRefresh.pause()
     }
 
     @Synchronized
@@ -43,6 +43,7 @@ import info.nightscout.androidaps.interfaces.PumpDescription;
 import info.nightscout.androidaps.interfaces.PumpInterface;
 import info.nightscout.androidaps.interfaces.TreatmentsInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.aps.loop.events.EventLoopSetLastRunGui;
 import info.nightscout.androidaps.plugins.aps.loop.events.EventLoopUpdateGui;
 import info.nightscout.androidaps.plugins.aps.loop.events.EventNewOpenLoopNotification;
@@ -58,6 +59,7 @@ import info.nightscout.androidaps.plugins.treatments.TreatmentsPlugin;
 import info.nightscout.androidaps.queue.Callback;
 import info.nightscout.androidaps.queue.commands.Command;
 import info.nightscout.androidaps.utils.FabricPrivacy;
+import info.nightscout.androidaps.utils.Profiler;
 import info.nightscout.androidaps.utils.SP;
 import info.nightscout.androidaps.utils.T;
 import info.nightscout.androidaps.utils.ToastUtils;
@@ -269,14 +271,15 @@ public class LoopPlugin extends PluginBase {
     }
 
     public synchronized void invoke(String initiator, boolean allowNotification, boolean tempBasalFallback) {
+        long start = Profiler.start();
         try {
-            if (L.isEnabled(L.APS))
+            if (L.isEnabled(LTag.APS))
                 log.debug("invoke from " + initiator);
             Constraint<Boolean> loopEnabled = MainApp.getConstraintChecker().isLoopInvokationAllowed();
 
             if (!loopEnabled.value()) {
                 String message = MainApp.gs(R.string.loopdisabled) + "\n" + loopEnabled.getReasons();
-                if (L.isEnabled(L.APS))
+                if (L.isEnabled(LTag.APS))
                     log.debug(message);
                 RxBus.INSTANCE.send(new EventLoopSetLastRunGui(message));
                 return;
@@ -290,7 +293,7 @@ public class LoopPlugin extends PluginBase {
             Profile profile = ProfileFunctions.getInstance().getProfile();
 
             if (profile == null || !ProfileFunctions.getInstance().isProfileValid("Loop")) {
-                if (L.isEnabled(L.APS))
+                if (L.isEnabled(LTag.APS))
                     log.debug(MainApp.gs(R.string.noprofileselected));
                 RxBus.INSTANCE.send(new EventLoopSetLastRunGui(MainApp.gs(R.string.noprofileselected)));
                 return;
@@ -318,6 +321,7 @@ public class LoopPlugin extends PluginBase {
             result.percent = (int) (result.rate / profile.getBasal() * 100);
 
             // check rate for constrais
+            long startConstraints = Profiler.start();
             final APSResult resultAfterConstraints = result.clone();
             resultAfterConstraints.rateConstraint = new Constraint<>(resultAfterConstraints.rate);
             resultAfterConstraints.rate = MainApp.getConstraintChecker().applyBasalConstraints(resultAfterConstraints.rateConstraint, profile).value();
@@ -327,11 +331,12 @@ public class LoopPlugin extends PluginBase {
 
             resultAfterConstraints.smbConstraint = new Constraint<>(resultAfterConstraints.smb);
             resultAfterConstraints.smb = MainApp.getConstraintChecker().applyBolusConstraints(resultAfterConstraints.smbConstraint).value();
+            Profiler.trace(Profiler.Stage.LOOP_CONSTRAINTS, startConstraints);
 
             // safety check for multiple SMBs
             long lastBolusTime = TreatmentsPlugin.getPlugin().getLastBolusTime();
             if (lastBolusTime != 0 && lastBolusTime + T.mins(3).msecs() > System.currentTimeMillis()) {
-                if (L.isEnabled(L.APS))
+                if (L.isEnabled(LTag.APS))
                     log.debug("SMB requsted but still in 3 min interval");
                 resultAfterConstraints.smb = 0;
             }
@@ -343,18 +348,19 @@ public class LoopPlugin extends PluginBase {
             lastRun.source = ((PluginBase) usedAPS).getName();
             lastRun.tbrSetByPump = null;
             lastRun.smbSetByPump = null;
+            Profiler.endCycle();
 
             NSUpload.uploadDeviceStatus();
 
             if (isSuspended()) {
-                if (L.isEnabled(L.APS))
+                if (L.isEnabled(LTag.APS))
                     log.debug(MainApp.gs(R.string.loopsuspended));
                 RxBus.INSTANCE.send(new EventLoopSetLastRunGui(MainApp.gs(R.string.loopsuspended)));
                 return;
             }
 
             if (pump.isSuspended()) {
-                if (L.isEnabled(L.APS))
+                if (L.isEnabled(LTag.APS))
                     log.debug(MainApp.gs(R.string.pumpsuspended));
                 RxBus.INSTANCE.send(new EventLoopSetLastRunGui(MainApp.gs(R.string.pumpsuspended)));
                 return;
@@ -453,7 +459,8 @@ public class LoopPlugin extends PluginBase {
 
             RxBus.INSTANCE.send(new EventLoopUpdateGui());
         } finally {
-            if (L.isEnabled(L.APS))
+            Profiler.trace(Profiler.Stage.LOOP, start);
+            if (L.isEnabled(LTag.APS))
                 log.debug("invoke end");
         }
     }
@@ -496,7 +503,7 @@ public class LoopPlugin extends PluginBase {
         TreatmentsInterface activeTreatments = TreatmentsPlugin.getPlugin();
 
         if (!pump.isInitialized()) {
-            if (L.isEnabled(L.APS))
+            if (L.isEnabled(LTag.APS))
                 log.debug("applyAPSRequest: " + MainApp.gs(R.string.pumpNotInitialized));
             if (callback != null) {
                 callback.result(new PumpEnactResult().comment(MainApp.gs(R.string.pumpNotInitialized)).enacted(false).success(false)).run();
@@ -505,7 +512,7 @@ public class LoopPlugin extends PluginBase {
         }
 
         if (pump.isSuspended()) {
-            if (L.isEnabled(L.APS))
+            if (L.isEnabled(LTag.APS))
                 log.debug("applyAPSRequest: " + MainApp.gs(R.string.pumpsuspended));
             if (callback != null) {
                 callback.result(new PumpEnactResult().comment(MainApp.gs(R.string.pumpsuspended)).enacted(false).success(false)).run();
@@ -513,7 +520,7 @@ public class LoopPlugin extends PluginBase {
             return;
         }
 
-        if (L.isEnabled(L.APS))
+        if (L.isEnabled(LTag.APS))
             log.debug("applyAPSRequest: " + request.toString());
 
         long now = System.currentTimeMillis();
@@ -521,11 +528,11 @@ public class LoopPlugin extends PluginBase {
         if (request.usePercent && allowPercentage) {
             if (request.percent == 100 && request.duration == 0) {
                 if (activeTemp != null) {
-                    if (L.isEnabled(L.APS))
+                    if (L.isEnabled(LTag.APS))
                         log.debug("applyAPSRequest: cancelTempBasal()");
                     ConfigBuilderPlugin.getPlugin().getCommandQueue().cancelTempBasal(false, callback);
                 } else {
-                    if (L.isEnabled(L.APS))
+                    if (L.isEnabled(LTag.APS))
                         log.debug("applyAPSRequest: Basal set correctly");
                     if (callback != null) {
                         callback.result(new PumpEnactResult().percent(request.percent).duration(0)
@@ -536,7 +543,7 @@ public class LoopPlugin extends PluginBase {
                     && activeTemp.getPlannedRemainingMinutes() > 5
                     && request.duration - activeTemp.getPlannedRemainingMinutes() < 30
                     && request.percent == activeTemp.percentRate) {
-                if (L.isEnabled(L.APS))
+                if (L.isEnabled(LTag.APS))
                     log.debug("applyAPSRequest: Temp basal set correctly");
                 if (callback != null) {
                     callback.result(new PumpEnactResult().percent(request.percent)
@@ -544,18 +551,18 @@ public class LoopPlugin extends PluginBase {
                             .comment(MainApp.gs(R.string.let_temp_basal_run))).run();
                 }
             } else {
-                if (L.isEnabled(L.APS))
+                if (L.isEnabled(LTag.APS))
                     log.debug("applyAPSRequest: tempBasalPercent()");
                 ConfigBuilderPlugin.getPlugin().getCommandQueue().tempBasalPercent(request.percent, request.duration, false, profile, callback);
             }
         } else {
             if ((request.rate == 0 && request.duration == 0) || Math.abs(request.rate - pump.getBaseBasalRate()) < pump.getPumpDescription().basalStep) {
                 if (activeTemp != null) {
-                    if (L.isEnabled(L.APS))
+                    if (L.isEnabled(LTag.APS))
                         log.debug("applyAPSRequest: cancelTempBasal()");
                     ConfigBuilderPlugin.getPlugin().getCommandQueue().cancelTempBasal(false, callback);
                 } else {
-                    if (L.isEnabled(L.APS))
+                    if (L.isEnabled(LTag.APS))
                         log.debug("applyAPSRequest: Basal set correctly");
                     if (callback != null) {
                         callback.result(new PumpEnactResult().absolute(request.rate).duration(0)
@@ -566,7 +573,7 @@ public class LoopPlugin extends PluginBase {
                     && activeTemp.getPlannedRemainingMinutes() > 5
                     && request.duration - activeTemp.getPlannedRemainingMinutes() < 30
                     && Math.abs(request.rate - activeTemp.tempBasalConvertedToAbsolute(now, profile)) < pump.getPumpDescription().basalStep) {
-                if (L.isEnabled(L.APS))
+                if (L.isEnabled(LTag.APS))
                     log.debug("applyAPSRequest: Temp basal set correctly");
                 if (callback != null) {
                     callback.result(new PumpEnactResult().absolute(activeTemp.tempBasalConvertedToAbsolute(now, profile))
@@ -574,7 +581,7 @@ public class LoopPlugin extends PluginBase {
                             .comment(MainApp.gs(R.string.let_temp_basal_run))).run();
                 }
             } else {
-                if (L.isEnabled(L.APS))
+                if (L.isEnabled(LTag.APS))
                     log.debug("applyAPSRequest: setTempBasalAbsolute()");
                 ConfigBuilderPlugin.getPlugin().getCommandQueue().tempBasalAbsolute(request.rate, request.duration, false, profile, callback);
             }
@@ -591,7 +598,7 @@ public class LoopPlugin extends PluginBase {
 
         long lastBolusTime = activeTreatments.getLastBolusTime();
         if (lastBolusTime != 0 && lastBolusTime + 3 * 60 * 1000 > System.currentTimeMillis()) {
-            if (L.isEnabled(L.APS))
+            if (L.isEnabled(LTag.APS))
                 log.debug("SMB requested but still in 3 min interval");
             if (callback != null) {
                 callback.result(new PumpEnactResult()
@@ -602,7 +609,7 @@ public class LoopPlugin extends PluginBase {
         }
 
         if (!pump.isInitialized()) {
-            if (L.isEnabled(L.APS))
+            if (L.isEnabled(LTag.APS))
                 log.debug("applySMBRequest: " + MainApp.gs(R.string.pumpNotInitialized));
             if (callback != null) {
                 callback.result(new PumpEnactResult().comment(MainApp.gs(R.string.pumpNotInitialized)).enacted(false).success(false)).run();
@@ -611,7 +618,7 @@ public class LoopPlugin extends PluginBase {
         }
 
         if (pump.isSuspended()) {
-            if (L.isEnabled(L.APS))
+            if (L.isEnabled(LTag.APS))
                 log.debug("applySMBRequest: " + MainApp.gs(R.string.pumpsuspended));
             if (callback != null) {
                 callback.result(new PumpEnactResult().comment(MainApp.gs(R.string.pumpsuspended)).enacted(false).success(false)).run();
@@ -619,7 +626,7 @@ public class LoopPlugin extends PluginBase {
             return;
         }
 
-        if (L.isEnabled(L.APS))
+        if (L.isEnabled(LTag.APS))
             log.debug("applySMBRequest: " + request.toString());
 
         // deliver SMB
@@ -630,7 +637,7 @@ public class LoopPlugin extends PluginBase {
         detailedBolusInfo.isSMB = true;
         detailedBolusInfo.source = Source.USER;
         detailedBolusInfo.deliverAt = request.deliverAt;
-        if (L.isEnabled(L.APS))
+        if (L.isEnabled(LTag.APS))
             log.debug("applyAPSRequest: bolus()");
         ConfigBuilderPlugin.getPlugin().getCommandQueue().bolus(detailedBolusInfo, callback);
     }
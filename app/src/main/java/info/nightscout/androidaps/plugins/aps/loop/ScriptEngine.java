@@ -0,0 +1,110 @@
+package info.nightscout.androidaps.plugins.aps.loop;
+
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Script;
+import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.ScriptableObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
+
+/**
+ * Keeps APS scripts compiled and standard JS objects in sealed scope shared
+ * by all invocations. Every invocation gets a new child scope and only top level
+ * of compiled scripts is executed in it. Source is read and parsed only once.
+ * <p>
+ * Must be used from entered Context with optimization level -1
+ */
+
+public class ScriptEngine {
+    private static Logger log = LoggerFactory.getLogger(L.APS);
+
+    private static class Source {
+        String fileName;
+        String code;
+        String sourceName;
+
+        Source(String fileName, String code, String sourceName) {
+            this.fileName = fileName;
+            this.code = code;
+            this.sourceName = sourceName;
+        }
+    }
+
+    private final List<Source> sources = new ArrayList<>();
+    private final List<Class<? extends ScriptableObject>> classes = new ArrayList<>();
+
+    private ScriptableObject sharedScope = null;
+    private List<Script> scripts = null;
+
+    public ScriptEngine addFile(String fileName, String sourceName) {
+        sources.add(new Source(fileName, null, sourceName));
+        return this;
+    }
+
+    public ScriptEngine addCode(String code, String sourceName) {
+        sources.add(new Source(null, code, sourceName));
+        return this;
+    }
+
+    public ScriptEngine defineClass(Class<? extends ScriptableObject> clazz) {
+        classes.add(clazz);
+        return this;
+    }
+
+    public synchronized boolean isCompiled() {
+        return scripts != null;
+    }
+
+    /**
+     * Creates new scope for one invocation with all scripts executed
+     * Scripts are compiled on first call
+     */
+    public Scriptable newScope(Context rhino, ScriptReader scriptReader) throws IOException, IllegalAccessException, InstantiationException, InvocationTargetException {
+        compile(rhino, scriptReader);
+        Scriptable scope = rhino.newObject(sharedScope);
+        scope.setPrototype(sharedScope);
+        scope.setParentScope(null);
+        for (Script script : scripts)
+            script.exec(rhino, scope);
+        return scope;
+    }
+
+    private synchronized void compile(Context rhino, ScriptReader scriptReader) throws IOException, IllegalAccessException, InstantiationException, InvocationTargetException {
+        if (scripts != null)
+            return;
+        long start = System.currentTimeMillis();
+        ScriptableObject scope = rhino.initStandardObjects(null, true);
+        for (Class<? extends ScriptableObject> clazz : classes)
+            ScriptableObject.defineClass(scope, clazz, true, false);
+        scope.sealObject();
+
+        List<Script> compiled = new ArrayList<>();
+        for (Source source : sources) {
+            String code = source.fileName != null ? readFile(scriptReader, source.fileName) : source.code;
+            compiled.add(rhino.compileString(code, source.sourceName, 0, null));
+        }
+        sharedScope = scope;
+        scripts = compiled;
+        if (L.isEnabled(LTag.APS))
+            log.debug("Compiled " + compiled.size() + " scripts in " + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    private static String readFile(ScriptReader scriptReader, String filename) throws IOException {
+        byte[] bytes = scriptReader.readFile(filename);
+        String string = new String(bytes, StandardCharsets.UTF_8);
+        if (string.startsWith("#!/usr/bin/env node")) {
+            string = string.substring(20);
+        }
+        return string;
+    }
+
+}
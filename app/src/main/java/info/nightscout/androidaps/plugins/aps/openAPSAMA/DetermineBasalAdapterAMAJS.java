@@ -9,14 +9,12 @@ import org.mozilla.javascript.NativeJSON;
 import org.mozilla.javascript.NativeObject;
 import org.mozilla.javascript.RhinoException;
 import org.mozilla.javascript.Scriptable;
-import org.mozilla.javascript.ScriptableObject;
 import org.mozilla.javascript.Undefined;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
-import java.nio.charset.StandardCharsets;
 
 import javax.annotation.Nullable;
 
@@ -29,7 +27,9 @@ import info.nightscout.androidaps.data.MealData;
 import info.nightscout.androidaps.data.Profile;
 import info.nightscout.androidaps.db.TemporaryBasal;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.iob.iobCobCalculator.IobCobCalculatorPlugin;
+import info.nightscout.androidaps.plugins.aps.loop.ScriptEngine;
 import info.nightscout.androidaps.plugins.aps.loop.ScriptReader;
 import info.nightscout.androidaps.plugins.aps.openAPSMA.LoggerCallback;
 import info.nightscout.androidaps.plugins.aps.openAPSSMB.SMBDefaults;
@@ -39,6 +39,17 @@ import info.nightscout.androidaps.utils.SP;
 public class DetermineBasalAdapterAMAJS {
     private static Logger log = LoggerFactory.getLogger(L.APS);
 
+    private static final ScriptEngine scriptEngine = new ScriptEngine()
+            .defineClass(LoggerCallback.class)
+            .addFile("OpenAPSAMA/loggerhelper.js", "JavaScript")
+            //set module parent
+            .addCode("var module = {\"parent\":Boolean(1)};", "JavaScript")
+            .addCode("var round_basal = function round_basal(basal, profile) { return basal; };", "JavaScript")
+            .addCode("require = function() {return round_basal;};", "JavaScript")
+            //generate functions "determine_basal" and "setTempBasal"
+            .addFile("OpenAPSAMA/determine-basal.js", "JavaScript")
+            .addFile("OpenAPSAMA/basal-set-temp.js", "setTempBasal.js");
+
 
     private ScriptReader mScriptReader = null;
 
@@ -65,7 +76,7 @@ public class DetermineBasalAdapterAMAJS {
     @Nullable
     public DetermineBasalResultAMA invoke() {
 
-        if (L.isEnabled(L.APS)) {
+        if (L.isEnabled(LTag.APS)) {
             log.debug(">>> Invoking detemine_basal <<<");
             log.debug("Glucose status: " + (storedGlucoseStatus = mGlucoseStatus.toString()));
             log.debug("IOB data:       " + (storedIobData = mIobData.toString()));
@@ -81,26 +92,19 @@ public class DetermineBasalAdapterAMAJS {
         DetermineBasalResultAMA determineBasalResultAMA = null;
 
         Context rhino = Context.enter();
-        Scriptable scope = rhino.initStandardObjects();
         // Turn off optimization to make Rhino Android compatible
         rhino.setOptimizationLevel(-1);
 
         try {
+            long start = System.currentTimeMillis();
+            // scripts are compiled on first run only
+            Scriptable scope = scriptEngine.newScope(rhino, mScriptReader);
 
             //register logger callback for console.log and console.error
-            ScriptableObject.defineClass(scope, LoggerCallback.class);
             Scriptable myLogger = rhino.newObject(scope, "LoggerCallback", null);
             scope.put("console2", scope, myLogger);
-            rhino.evaluateString(scope, readFile("OpenAPSAMA/loggerhelper.js"), "JavaScript", 0, null);
-
-            //set module parent
-            rhino.evaluateString(scope, "var module = {\"parent\":Boolean(1)};", "JavaScript", 0, null);
-            rhino.evaluateString(scope, "var round_basal = function round_basal(basal, profile) { return basal; };", "JavaScript", 0, null);
-            rhino.evaluateString(scope, "require = function() {return round_basal;};", "JavaScript", 0, null);
+            long parseTime = System.currentTimeMillis() - start;
 
-            //generate functions "determine_basal" and "setTempBasal"
-            rhino.evaluateString(scope, readFile("OpenAPSAMA/determine-basal.js"), "JavaScript", 0, null);
-            rhino.evaluateString(scope, readFile("OpenAPSAMA/basal-set-temp.js"), "setTempBasal.js", 0, null);
             Object determineBasalObj = scope.get("determine_basal", scope);
             Object setTempBasalFunctionsObj = scope.get("tempBasalFunctions", scope);
 
@@ -109,6 +113,7 @@ public class DetermineBasalAdapterAMAJS {
                 Function determineBasalJS = (Function) determineBasalObj;
 
                 //prepare parameters
+                start = System.currentTimeMillis();
                 Object[] params = new Object[]{
                         makeParam(mGlucoseStatus, rhino, scope),
                         makeParam(mCurrentTemp, rhino, scope),
@@ -117,14 +122,21 @@ public class DetermineBasalAdapterAMAJS {
                         makeParam(mAutosensData, rhino, scope),
                         makeParam(mMealData, rhino, scope),
                         setTempBasalFunctionsObj};
+                long marshalTime = System.currentTimeMillis() - start;
 
+                start = System.currentTimeMillis();
                 NativeObject jsResult = (NativeObject) determineBasalJS.call(rhino, scope, scope, params);
                 scriptDebug = LoggerCallback.getScriptDebug();
+                long executeTime = System.currentTimeMillis() - start;
 
                 // Parse the jsResult object to a JSON-String
+                start = System.currentTimeMillis();
                 String result = NativeJSON.stringify(rhino, scope, jsResult, null, null).toString();
-                if (L.isEnabled(L.APS))
+                long stringifyTime = System.currentTimeMillis() - start;
+                if (L.isEnabled(LTag.APS)) {
                     log.debug("Result: " + result);
+                    log.debug("Timing: parse " + parseTime + " ms, marshal " + marshalTime + " ms, execute " + executeTime + " ms, stringify " + stringifyTime + " ms");
+                }
                 try {
                     determineBasalResultAMA = new DetermineBasalResultAMA(jsResult, new JSONObject(result));
                 } catch (JSONException e) {
@@ -279,13 +291,5 @@ public class DetermineBasalAdapterAMAJS {
         return param;
     }
 
-    private String readFile(String filename) throws IOException {
-        byte[] bytes = mScriptReader.readFile(filename);
-        String string = new String(bytes, StandardCharsets.UTF_8);
-        if (string.startsWith("#!/usr/bin/env node")) {
-            string = string.substring(20);
-        }
-        return string;
-    }
 
 }
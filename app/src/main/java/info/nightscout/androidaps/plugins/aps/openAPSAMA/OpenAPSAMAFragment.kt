@@ -14,6 +14,7 @@ import info.nightscout.androidaps.plugins.aps.openAPSMA.events.EventOpenAPSUpdat
 import info.nightscout.androidaps.plugins.bus.RxBus
 import info.nightscout.androidaps.utils.DateUtil
 import info.nightscout.androidaps.utils.FabricPrivacy
+import info.nightscout.androidaps.utils.GuiRefresh
 import info.nightscout.androidaps.utils.JSONFormatter
 import info.nightscout.androidaps.utils.plusAssign
 import io.reactivex.android.schedulers.AndroidSchedulers
@@ -26,6 +27,7 @@ import org.slf4j.LoggerFactory
 class OpenAPSAMAFragment : Fragment() {
     private val log = LoggerFactory.getLogger(L.APS)
     private var disposable: CompositeDisposable = CompositeDisposable()
+    private val guiRefresh = GuiRefresh.bindOnly("OpenAPSAMA") { updateGUI() }
 
     override fun onCreateView(inflater: LayoutInflater, container: ViewGroup?,
                               savedInstanceState: Bundle?): View? {
@@ -48,7 +50,7 @@ class OpenAPSAMAFragment : Fragment() {
                 .toObservable(EventOpenAPSUpdateGui::class.java)
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe({
-                    updateGUI()
+                    guiRefresh.request("EventOpenAPSUpdateGui")
                 }, {
                     FabricPrivacy.logException(it)
                 })
@@ -61,13 +63,14 @@ class OpenAPSAMAFragment : Fragment() {
                     FabricPrivacy.logException(it)
                 })
 
-        updateGUI()
+        guiRefresh.resume()
     }
 
     @Synchronized
     override fun onPause() {
         super.onPause()
         disposable.clear()
+        guiRefresh.pause()
     }
 
     @Synchronized
@@ -16,6 +16,7 @@ import info.nightscout.androidaps.interfaces.PluginDescription;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.interfaces.PumpInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.aps.loop.APSResult;
 import info.nightscout.androidaps.plugins.aps.loop.ScriptReader;
 import info.nightscout.androidaps.plugins.aps.openAPSMA.events.EventOpenAPSUpdateGui;
@@ -90,7 +91,7 @@ public class OpenAPSAMAPlugin extends PluginBase implements APSInterface {
 
     @Override
     public void invoke(String initiator, boolean tempBasalFallback) {
-        if (L.isEnabled(L.APS))
+        if (L.isEnabled(LTag.APS))
             log.debug("invoke from " + initiator + " tempBasalFallback: " + tempBasalFallback);
         lastAPSResult = null;
         DetermineBasalAdapterAMAJS determineBasalAdapterAMAJS;
@@ -102,21 +103,21 @@ public class OpenAPSAMAPlugin extends PluginBase implements APSInterface {
 
         if (profile == null) {
             RxBus.INSTANCE.send(new EventOpenAPSUpdateResultGui(MainApp.gs(R.string.noprofileselected)));
-            if (L.isEnabled(L.APS))
+            if (L.isEnabled(LTag.APS))
                 log.debug(MainApp.gs(R.string.noprofileselected));
             return;
         }
 
         if (!isEnabled(PluginType.APS)) {
             RxBus.INSTANCE.send(new EventOpenAPSUpdateResultGui(MainApp.gs(R.string.openapsma_disabled)));
-            if (L.isEnabled(L.APS))
+            if (L.isEnabled(LTag.APS))
                 log.debug(MainApp.gs(R.string.openapsma_disabled));
             return;
         }
 
         if (glucoseStatus == null) {
             RxBus.INSTANCE.send(new EventOpenAPSUpdateResultGui(MainApp.gs(R.string.openapsma_noglucosedata)));
-            if (L.isEnabled(L.APS))
+            if (L.isEnabled(LTag.APS))
                 log.debug(MainApp.gs(R.string.openapsma_noglucosedata));
             return;
         }
@@ -131,16 +132,14 @@ public class OpenAPSAMAPlugin extends PluginBase implements APSInterface {
         minBg = Round.roundTo(minBg, 0.1d);
         maxBg = Round.roundTo(maxBg, 0.1d);
 
-        long start = System.currentTimeMillis();
-        long startPart = System.currentTimeMillis();
+        long start = Profiler.start();
+        long startPart = Profiler.start();
         IobTotal[] iobArray = IobCobCalculatorPlugin.getPlugin().calculateIobArrayInDia(profile);
-        if (L.isEnabled(L.APS))
-            Profiler.log(log, "calculateIobArrayInDia()", startPart);
+        Profiler.trace(Profiler.Stage.IOB_ARRAY, startPart, log, LTag.APS);
 
-        startPart = System.currentTimeMillis();
+        startPart = Profiler.start();
         MealData mealData = TreatmentsPlugin.getPlugin().getMealData();
-        if (L.isEnabled(L.APS))
-            Profiler.log(log, "getMealData()", startPart);
+        Profiler.trace(Profiler.Stage.MEAL_DATA, startPart, log, LTag.APS);
 
         double maxIob = MainApp.getConstraintChecker().getMaxIOBAllowed().value();
 
@@ -169,7 +168,7 @@ public class OpenAPSAMAPlugin extends PluginBase implements APSInterface {
         if (!HardLimits.checkOnlyHardLimits(pump.getBaseBasalRate(), "current_basal", 0.01, HardLimits.maxBasal()))
             return;
 
-        startPart = System.currentTimeMillis();
+        startPart = Profiler.start();
         if (MainApp.getConstraintChecker().isAutosensModeEnabled().value()) {
             AutosensData autosensData = IobCobCalculatorPlugin.getPlugin().getLastAutosensDataSynchronized("OpenAPSPlugin");
             if (autosensData == null) {
@@ -181,12 +180,10 @@ public class OpenAPSAMAPlugin extends PluginBase implements APSInterface {
             lastAutosensResult = new AutosensResult();
             lastAutosensResult.sensResult = "autosens disabled";
         }
-        if (L.isEnabled(L.APS))
-            Profiler.log(log, "detectSensitivityandCarbAbsorption()", startPart);
-        if (L.isEnabled(L.APS))
-            Profiler.log(log, "AMA data gathering", start);
+        Profiler.trace(Profiler.Stage.AUTOSENS_WAIT, startPart, log, LTag.APS);
+        Profiler.trace(Profiler.Stage.APS_DATA, start, log, LTag.APS);
 
-        start = System.currentTimeMillis();
+        start = Profiler.start();
 
         try {
             determineBasalAdapterAMAJS.setData(profile, maxIob, maxBasal, minBg, maxBg, targetBg, ConfigBuilderPlugin.getPlugin().getActivePump().getBaseBasalRate(), iobArray, glucoseStatus, mealData,
@@ -200,11 +197,10 @@ public class OpenAPSAMAPlugin extends PluginBase implements APSInterface {
 
 
         DetermineBasalResultAMA determineBasalResultAMA = determineBasalAdapterAMAJS.invoke();
-        if (L.isEnabled(L.APS))
-            Profiler.log(log, "AMA calculation", start);
+        Profiler.trace(Profiler.Stage.DETERMINE_BASAL, start, log, LTag.APS);
         // Fix bug determine basal
         if (determineBasalResultAMA == null) {
-            if (L.isEnabled(L.APS))
+            if (L.isEnabled(LTag.APS))
                 log.error("SMB calculation returned null");
             lastDetermineBasalAdapterAMAJS = null;
             lastAPSResult = null;
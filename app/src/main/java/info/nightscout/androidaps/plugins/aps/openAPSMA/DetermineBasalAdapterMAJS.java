@@ -8,13 +8,11 @@ import org.mozilla.javascript.NativeJSON;
 import org.mozilla.javascript.NativeObject;
 import org.mozilla.javascript.RhinoException;
 import org.mozilla.javascript.Scriptable;
-import org.mozilla.javascript.ScriptableObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
-import java.nio.charset.StandardCharsets;
 
 import javax.annotation.Nullable;
 
@@ -26,6 +24,8 @@ import info.nightscout.androidaps.data.MealData;
 import info.nightscout.androidaps.data.Profile;
 import info.nightscout.androidaps.db.TemporaryBasal;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
+import info.nightscout.androidaps.plugins.aps.loop.ScriptEngine;
 import info.nightscout.androidaps.plugins.aps.loop.ScriptReader;
 import info.nightscout.androidaps.plugins.treatments.TreatmentsPlugin;
 import info.nightscout.androidaps.utils.SP;
@@ -33,6 +33,18 @@ import info.nightscout.androidaps.utils.SP;
 public class DetermineBasalAdapterMAJS {
     private static Logger log = LoggerFactory.getLogger(L.APS);
 
+    private static final ScriptEngine scriptEngine = new ScriptEngine()
+            .defineClass(LoggerCallback.class)
+            //set module parent
+            .addCode("var module = {\"parent\":Boolean(1)};", "JavaScript")
+            //generate functions "determine_basal" and "setTempBasal"
+            .addFile("OpenAPSMA/determine-basal.js", "JavaScript")
+            .addCode("var setTempBasal = function (rate, duration, profile, rT, offline) {" +
+                    "rT.duration = duration;\n" +
+                    "    rT.rate = rate;" +
+                    "return rT;" +
+                    "};", "setTempBasal.js");
+
     private ScriptReader mScriptReader;
     private JSONObject mProfile;
     private JSONObject mGlucoseStatus;
@@ -55,29 +67,19 @@ public class DetermineBasalAdapterMAJS {
         DetermineBasalResultMA determineBasalResultMA = null;
 
         Context rhino = Context.enter();
-        Scriptable scope = rhino.initStandardObjects();
         // Turn off optimization to make Rhino Android compatible
         rhino.setOptimizationLevel(-1);
 
         try {
+            long start = System.currentTimeMillis();
+            // scripts are compiled on first run only
+            Scriptable scope = scriptEngine.newScope(rhino, mScriptReader);
 
             //register logger callback for console.log and console.error
-            ScriptableObject.defineClass(scope, LoggerCallback.class);
             Scriptable myLogger = rhino.newObject(scope, "LoggerCallback", null);
             scope.put("console", scope, myLogger);
+            long parseTime = System.currentTimeMillis() - start;
 
-            //set module parent
-            rhino.evaluateString(scope, "var module = {\"parent\":Boolean(1)};", "JavaScript", 0, null);
-
-            //generate functions "determine_basal" and "setTempBasal"
-            rhino.evaluateString(scope, readFile("OpenAPSMA/determine-basal.js"), "JavaScript", 0, null);
-
-            String setTempBasalCode = "var setTempBasal = function (rate, duration, profile, rT, offline) {" +
-                    "rT.duration = duration;\n" +
-                    "    rT.rate = rate;" +
-                    "return rT;" +
-                    "};";
-            rhino.evaluateString(scope, setTempBasalCode, "setTempBasal.js", 0, null);
             Object determineBasalObj = scope.get("determine_basal", scope);
             Object setTempBasalObj = scope.get("setTempBasal", scope);
 
@@ -87,6 +89,7 @@ public class DetermineBasalAdapterMAJS {
                 Function setTempBasalJS = (Function) setTempBasalObj;
 
                 //prepare parameters
+                start = System.currentTimeMillis();
                 Object[] params = new Object[]{
                         makeParam(mGlucoseStatus, rhino, scope),
                         makeParam(mCurrentTemp, rhino, scope),
@@ -95,13 +98,20 @@ public class DetermineBasalAdapterMAJS {
                         "undefined",
                         makeParam(mMealData, rhino, scope),
                         setTempBasalJS};
+                long marshalTime = System.currentTimeMillis() - start;
 
+                start = System.currentTimeMillis();
                 NativeObject jsResult = (NativeObject) determineBasalJS.call(rhino, scope, scope, params);
+                long executeTime = System.currentTimeMillis() - start;
 
                 // Parse the jsResult object to a JSON-String
+                start = System.currentTimeMillis();
                 String result = NativeJSON.stringify(rhino, scope, jsResult, null, null).toString();
-                if (L.isEnabled(L.APS))
+                long stringifyTime = System.currentTimeMillis() - start;
+                if (L.isEnabled(LTag.APS)) {
                     log.debug("Result: " + result);
+                    log.debug("Timing: parse " + parseTime + " ms, marshal " + marshalTime + " ms, execute " + executeTime + " ms, stringify " + stringifyTime + " ms");
+                }
                 try {
                     determineBasalResultMA = new DetermineBasalResultMA(jsResult, new JSONObject(result));
                 } catch (JSONException e) {
@@ -209,14 +219,6 @@ public class DetermineBasalAdapterMAJS {
         mMealData.put("boluses", mealData.boluses);
     }
 
-    private String readFile(String filename) throws IOException {
-        byte[] bytes = mScriptReader.readFile(filename);
-        String string = new String(bytes, StandardCharsets.UTF_8);
-        if (string.startsWith("#!/usr/bin/env node")) {
-            string = string.substring(20);
-        }
-        return string;
-    }
 
     private Object makeParam(JSONObject jsonObject, Context rhino, Scriptable scope) {
         Object param = NativeJSON.parse(rhino, scope, jsonObject.toString(), (context, scriptable, scriptable1, objects) -> objects[1]);
@@ -5,6 +5,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 
 /**
  * Created by adrian on 15/10/17.
@@ -35,13 +36,13 @@ public class LoggerCallback extends ScriptableObject {
     }
 
     public void jsFunction_log(Object obj1) {
-        if (L.isEnabled(L.APS))
+        if (L.isEnabled(LTag.APS))
             log.debug(obj1.toString().trim());
         logBuffer.append(obj1.toString());
     }
 
     public void jsFunction_error(Object obj1) {
-        if (L.isEnabled(L.APS))
+        if (L.isEnabled(LTag.APS))
             log.error(obj1.toString().trim());
         errorBuffer.append(obj1.toString());
     }
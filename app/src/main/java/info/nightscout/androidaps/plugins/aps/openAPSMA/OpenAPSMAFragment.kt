@@ -12,6 +12,7 @@ import info.nightscout.androidaps.plugins.aps.openAPSMA.events.EventOpenAPSUpdat
 import info.nightscout.androidaps.plugins.bus.RxBus
 import info.nightscout.androidaps.utils.DateUtil
 import info.nightscout.androidaps.utils.FabricPrivacy
+import info.nightscout.androidaps.utils.GuiRefresh
 import info.nightscout.androidaps.utils.JSONFormatter
 import info.nightscout.androidaps.utils.plusAssign
 import io.reactivex.android.schedulers.AndroidSchedulers
@@ -22,6 +23,7 @@ import org.slf4j.LoggerFactory
 class OpenAPSMAFragment : Fragment() {
     private val log = LoggerFactory.getLogger(L.APS)
     private var disposable: CompositeDisposable = CompositeDisposable()
+    private val guiRefresh = GuiRefresh.bindOnly("OpenAPSMA") { updateGUI() }
 
     override fun onCreateView(inflater: LayoutInflater, container: ViewGroup?,
                               savedInstanceState: Bundle?): View? {
@@ -45,7 +47,7 @@ class OpenAPSMAFragment : Fragment() {
                 .toObservable(EventOpenAPSUpdateGui::class.java)
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe({
-                    updateGUI()
+                    guiRefresh.request("EventOpenAPSUpdateGui")
                 }, {
                     FabricPrivacy.logException(it)
                 })
@@ -57,13 +59,14 @@ class OpenAPSMAFragment : Fragment() {
                 }, {
                     FabricPrivacy.logException(it)
                 })
-        updateGUI()
+        guiRefresh.resume()
     }
 
     @Synchronized
     override fun onPause() {
         super.onPause()
         disposable.clear()
+        guiRefresh.pause()
     }
 
     @Synchronized
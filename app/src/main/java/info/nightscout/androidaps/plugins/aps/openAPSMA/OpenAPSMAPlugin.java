@@ -16,6 +16,7 @@ import info.nightscout.androidaps.interfaces.PluginDescription;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.interfaces.PumpInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.aps.loop.APSResult;
 import info.nightscout.androidaps.plugins.aps.loop.ScriptReader;
 import info.nightscout.androidaps.plugins.aps.openAPSMA.events.EventOpenAPSUpdateGui;
@@ -89,7 +90,7 @@ public class OpenAPSMAPlugin extends PluginBase implements APSInterface {
 
     @Override
     public void invoke(String initiator, boolean tempBasalFallback) {
-        if (L.isEnabled(L.APS))
+        if (L.isEnabled(LTag.APS))
             log.debug("invoke from " + initiator + " tempBasalFallback: " + tempBasalFallback);
         lastAPSResult = null;
         DetermineBasalAdapterMAJS determineBasalAdapterMAJS;
@@ -101,21 +102,21 @@ public class OpenAPSMAPlugin extends PluginBase implements APSInterface {
 
         if (profile == null) {
             RxBus.INSTANCE.send(new EventOpenAPSUpdateResultGui(MainApp.gs(R.string.noprofileselected)));
-            if (L.isEnabled(L.APS))
+            if (L.isEnabled(LTag.APS))
                 log.debug(MainApp.gs(R.string.noprofileselected));
             return;
         }
 
         if (!isEnabled(PluginType.APS)) {
             RxBus.INSTANCE.send(new EventOpenAPSUpdateResultGui(MainApp.gs(R.string.openapsma_disabled)));
-            if (L.isEnabled(L.APS))
+            if (L.isEnabled(LTag.APS))
                 log.debug(MainApp.gs(R.string.openapsma_disabled));
             return;
         }
 
         if (glucoseStatus == null) {
             RxBus.INSTANCE.send(new EventOpenAPSUpdateResultGui(MainApp.gs(R.string.openapsma_noglucosedata)));
-            if (L.isEnabled(L.APS))
+            if (L.isEnabled(LTag.APS))
                 log.debug(MainApp.gs(R.string.openapsma_noglucosedata));
             return;
         }
@@ -131,7 +132,7 @@ public class OpenAPSMAPlugin extends PluginBase implements APSInterface {
         minBg = Round.roundTo(minBg, 0.1d);
         maxBg = Round.roundTo(maxBg, 0.1d);
 
-        long start = System.currentTimeMillis();
+        long start = Profiler.start();
         TreatmentsPlugin.getPlugin().updateTotalIOBTreatments();
         TreatmentsPlugin.getPlugin().updateTotalIOBTempBasals();
         IobTotal bolusIob = TreatmentsPlugin.getPlugin().getLastCalculationTreatments();
@@ -142,8 +143,7 @@ public class OpenAPSMAPlugin extends PluginBase implements APSInterface {
         MealData mealData = TreatmentsPlugin.getPlugin().getMealData();
 
         double maxIob = MainApp.getConstraintChecker().getMaxIOBAllowed().value();
-        if (L.isEnabled(L.APS))
-            Profiler.log(log, "MA data gathering", start);
+        Profiler.trace(Profiler.Stage.APS_DATA, start, log, LTag.APS);
 
         minBg = verifyHardLimits(minBg, "minBg", HardLimits.VERY_HARD_LIMIT_MIN_BG[0], HardLimits.VERY_HARD_LIMIT_MIN_BG[1]);
         maxBg = verifyHardLimits(maxBg, "maxBg", HardLimits.VERY_HARD_LIMIT_MAX_BG[0], HardLimits.VERY_HARD_LIMIT_MAX_BG[1]);
@@ -167,22 +167,20 @@ public class OpenAPSMAPlugin extends PluginBase implements APSInterface {
         if (!checkOnlyHardLimits(pump.getBaseBasalRate(), "current_basal", 0.01, HardLimits.maxBasal()))
             return;
 
-        start = System.currentTimeMillis();
+        start = Profiler.start();
         try {
             determineBasalAdapterMAJS.setData(profile, maxIob, maxBasal, minBg, maxBg, targetBg, ConfigBuilderPlugin.getPlugin().getActivePump().getBaseBasalRate(), iobTotal, glucoseStatus, mealData);
         } catch (JSONException e) {
             FabricPrivacy.logException(e);
             return;
         }
-        if (L.isEnabled(L.APS))
-            Profiler.log(log, "MA calculation", start);
-
 
         long now = System.currentTimeMillis();
 
         DetermineBasalResultMA determineBasalResultMA = determineBasalAdapterMAJS.invoke();
+        Profiler.trace(Profiler.Stage.DETERMINE_BASAL, start, log, LTag.APS);
         if (determineBasalResultMA == null) {
-            if (L.isEnabled(L.APS))
+            if (L.isEnabled(LTag.APS))
                 log.error("MA calculation returned null");
             lastDetermineBasalAdapterMAJS = null;
             lastAPSResult = null;
@@ -9,14 +9,12 @@ import org.mozilla.javascript.NativeJSON;
 import org.mozilla.javascript.NativeObject;
 import org.mozilla.javascript.RhinoException;
 import org.mozilla.javascript.Scriptable;
-import org.mozilla.javascript.ScriptableObject;
 import org.mozilla.javascript.Undefined;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
-import java.nio.charset.StandardCharsets;
 
 import javax.annotation.Nullable;
 
@@ -29,7 +27,9 @@ import info.nightscout.androidaps.data.MealData;
 import info.nightscout.androidaps.data.Profile;
 import info.nightscout.androidaps.db.TemporaryBasal;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.iob.iobCobCalculator.IobCobCalculatorPlugin;
+import info.nightscout.androidaps.plugins.aps.loop.ScriptEngine;
 import info.nightscout.androidaps.plugins.aps.loop.ScriptReader;
 import info.nightscout.androidaps.plugins.aps.openAPSMA.LoggerCallback;
 import info.nightscout.androidaps.plugins.treatments.TreatmentsPlugin;
@@ -39,6 +39,17 @@ import info.nightscout.androidaps.utils.SafeParse;
 public class DetermineBasalAdapterSMBJS {
     private static Logger log = LoggerFactory.getLogger(L.APS);
 
+    static final ScriptEngine scriptEngine = new ScriptEngine()
+            .defineClass(LoggerCallback.class)
+            .addFile("OpenAPSAMA/loggerhelper.js", "JavaScript")
+            //set module parent
+            .addCode("var module = {\"parent\":Boolean(1)};", "JavaScript")
+            .addCode("var round_basal = function round_basal(basal, profile) { return basal; };", "JavaScript")
+            .addCode("require = function() {return round_basal;};", "JavaScript")
+            //generate functions "determine_basal" and "setTempBasal"
+            .addFile("OpenAPSSMB/determine-basal.js", "JavaScript")
+            .addFile("OpenAPSSMB/basal-set-temp.js", "setTempBasal.js");
+
 
     private ScriptReader mScriptReader;
     private JSONObject mProfile;
@@ -50,6 +61,13 @@ public class DetermineBasalAdapterSMBJS {
     private boolean mMicrobolusAllowed;
     private boolean mSMBAlwaysAllowed;
 
+    // the same data for DetermineBasalSMB
+    private GlucoseStatus mGlucoseStatusData;
+    private DetermineBasalSMB.CurrentTemp mCurrentTempData;
+    private IobTotal[] mIobArray;
+    private MealData mMeal;
+    private double mAutosensRatio;
+
     private String storedCurrentTemp = null;
     private String storedIobData = null;
 
@@ -75,7 +93,7 @@ public class DetermineBasalAdapterSMBJS {
     public DetermineBasalResultSMB invoke() {
 
 
-        if (L.isEnabled(L.APS)) {
+        if (L.isEnabled(LTag.APS)) {
             log.debug(">>> Invoking detemine_basal <<<");
             log.debug("Glucose status: " + (storedGlucoseStatus = mGlucoseStatus.toString()));
             log.debug("IOB data:       " + (storedIobData = mIobData.toString()));
@@ -91,29 +109,40 @@ public class DetermineBasalAdapterSMBJS {
             log.debug("SMBAlwaysAllowed:  " + (storedSMBAlwaysAllowed = "" + mSMBAlwaysAllowed));
         }
 
+        DetermineBasalResultSMB determineBasalResultSMB;
+        if (SP.getBoolean(R.string.key_openapssmb_native_engine, false))
+            determineBasalResultSMB = invokeNative();
+        else
+            determineBasalResultSMB = invokeJS();
+
+        storedGlucoseStatus = mGlucoseStatus.toString();
+        storedIobData = mIobData.toString();
+        storedCurrentTemp = mCurrentTemp.toString();
+        storedProfile = mProfile.toString();
+        storedMeal_data = mMealData.toString();
+
+        return determineBasalResultSMB;
+
+    }
+
+    @Nullable
+    private DetermineBasalResultSMB invokeJS() {
         DetermineBasalResultSMB determineBasalResultSMB = null;
 
         Context rhino = Context.enter();
-        Scriptable scope = rhino.initStandardObjects();
         // Turn off optimization to make Rhino Android compatible
         rhino.setOptimizationLevel(-1);
 
         try {
+            long start = System.currentTimeMillis();
+            // scripts are compiled on first run only
+            Scriptable scope = scriptEngine.newScope(rhino, mScriptReader);
 
             //register logger callback for console.log and console.error
-            ScriptableObject.defineClass(scope, LoggerCallback.class);
             Scriptable myLogger = rhino.newObject(scope, "LoggerCallback", null);
             scope.put("console2", scope, myLogger);
-            rhino.evaluateString(scope, readFile("OpenAPSAMA/loggerhelper.js"), "JavaScript", 0, null);
+            long parseTime = System.currentTimeMillis() - start;
 
-            //set module parent
-            rhino.evaluateString(scope, "var module = {\"parent\":Boolean(1)};", "JavaScript", 0, null);
-            rhino.evaluateString(scope, "var round_basal = function round_basal(basal, profile) { return basal; };", "JavaScript", 0, null);
-            rhino.evaluateString(scope, "require = function() {return round_basal;};", "JavaScript", 0, null);
-
-            //generate functions "determine_basal" and "setTempBasal"
-            rhino.evaluateString(scope, readFile("OpenAPSSMB/determine-basal.js"), "JavaScript", 0, null);
-            rhino.evaluateString(scope, readFile("OpenAPSSMB/basal-set-temp.js"), "setTempBasal.js", 0, null);
             Object determineBasalObj = scope.get("determine_basal", scope);
             Object setTempBasalFunctionsObj = scope.get("tempBasalFunctions", scope);
 
@@ -122,6 +151,7 @@ public class DetermineBasalAdapterSMBJS {
                 Function determineBasalJS = (Function) determineBasalObj;
 
                 //prepare parameters
+                start = System.currentTimeMillis();
                 Object[] params = new Object[]{
                         makeParam(mGlucoseStatus, rhino, scope),
                         makeParam(mCurrentTemp, rhino, scope),
@@ -133,15 +163,21 @@ public class DetermineBasalAdapterSMBJS {
                         new Boolean(mMicrobolusAllowed),
                         makeParam(null, rhino, scope) // reservoir data as undefined
                 };
+                long marshalTime = System.currentTimeMillis() - start;
 
-
+                start = System.currentTimeMillis();
                 NativeObject jsResult = (NativeObject) determineBasalJS.call(rhino, scope, scope, params);
                 scriptDebug = LoggerCallback.getScriptDebug();
+                long executeTime = System.currentTimeMillis() - start;
 
                 // Parse the jsResult object to a JSON-String
+                start = System.currentTimeMillis();
                 String result = NativeJSON.stringify(rhino, scope, jsResult, null, null).toString();
-                if (L.isEnabled(L.APS))
+                long stringifyTime = System.currentTimeMillis() - start;
+                if (L.isEnabled(LTag.APS)) {
                     log.debug("Result: " + result);
+                    log.debug("Timing: parse " + parseTime + " ms, marshal " + marshalTime + " ms, execute " + executeTime + " ms, stringify " + stringifyTime + " ms");
+                }
                 try {
                     determineBasalResultSMB = new DetermineBasalResultSMB(new JSONObject(result));
                 } catch (JSONException e) {
@@ -159,15 +195,25 @@ public class DetermineBasalAdapterSMBJS {
         } finally {
             Context.exit();
         }
-
-        storedGlucoseStatus = mGlucoseStatus.toString();
-        storedIobData = mIobData.toString();
-        storedCurrentTemp = mCurrentTemp.toString();
-        storedProfile = mProfile.toString();
-        storedMeal_data = mMealData.toString();
-
         return determineBasalResultSMB;
+    }
 
+    @Nullable
+    private DetermineBasalResultSMB invokeNative() {
+        long start = System.currentTimeMillis();
+        DetermineBasalSMB determineBasalSMB = new DetermineBasalSMB(System.currentTimeMillis());
+        try {
+            JSONObject result = determineBasalSMB.determineBasal(mGlucoseStatusData, mCurrentTempData, mIobArray, mProfile, mAutosensRatio, mMeal, mMicrobolusAllowed);
+            scriptDebug = determineBasalSMB.getScriptDebug();
+            if (L.isEnabled(LTag.APS)) {
+                log.debug("Result: " + result.toString());
+                log.debug("Timing: native execute " + (System.currentTimeMillis() - start) + " ms");
+            }
+            return new DetermineBasalResultSMB(result);
+        } catch (JSONException e) {
+            log.error("Unhandled exception", e);
+        }
+        return null;
     }
 
     String getGlucoseStatusParam() {
@@ -281,27 +327,29 @@ public class DetermineBasalAdapterSMBJS {
         long now = System.currentTimeMillis();
         TemporaryBasal tb = TreatmentsPlugin.getPlugin().getTempBasalFromHistory(now);
 
+        int tempDuration = tb != null ? tb.getPlannedRemainingMinutes() : 0;
+        double tempRate = tb != null ? tb.tempBasalConvertedToAbsolute(now, profile) : 0d;
+
         mCurrentTemp = new JSONObject();
         mCurrentTemp.put("temp", "absolute");
-        mCurrentTemp.put("duration", tb != null ? tb.getPlannedRemainingMinutes() : 0);
-        mCurrentTemp.put("rate", tb != null ? tb.tempBasalConvertedToAbsolute(now, profile) : 0d);
+        mCurrentTemp.put("duration", tempDuration);
+        mCurrentTemp.put("rate", tempRate);
 
         // as we have non default temps longer than 30 mintues
         TemporaryBasal tempBasal = TreatmentsPlugin.getPlugin().getTempBasalFromHistory(System.currentTimeMillis());
         if (tempBasal != null) {
             mCurrentTemp.put("minutesrunning", tempBasal.getRealDuration());
         }
+        mCurrentTempData = new DetermineBasalSMB.CurrentTemp(tempDuration, tempRate, tempBasal != null ? tempBasal.getRealDuration() : null);
 
         mIobData = IobCobCalculatorPlugin.convertToJSONArray(iobArray);
+        mIobArray = iobArray;
+
+        double delta = SP.getBoolean(R.string.key_always_use_shortavg, false) ? glucoseStatus.short_avgdelta : glucoseStatus.delta;
 
         mGlucoseStatus = new JSONObject();
         mGlucoseStatus.put("glucose", glucoseStatus.glucose);
-
-        if (SP.getBoolean(R.string.key_always_use_shortavg, false)) {
-            mGlucoseStatus.put("delta", glucoseStatus.short_avgdelta);
-        } else {
-            mGlucoseStatus.put("delta", glucoseStatus.delta);
-        }
+        mGlucoseStatus.put("delta", delta);
         mGlucoseStatus.put("short_avgdelta", glucoseStatus.short_avgdelta);
         mGlucoseStatus.put("long_avgdelta", glucoseStatus.long_avgdelta);
         mGlucoseStatus.put("date", glucoseStatus.date);
@@ -314,14 +362,24 @@ public class DetermineBasalAdapterSMBJS {
         mMealData.put("slopeFromMinDeviation", mealData.slopeFromMinDeviation);
         mMealData.put("lastBolusTime", mealData.lastBolusTime);
         mMealData.put("lastCarbTime", mealData.lastCarbTime);
+        mMeal = mealData;
+
+        mGlucoseStatusData = new GlucoseStatus();
+        mGlucoseStatusData.glucose = glucoseStatus.glucose;
+        mGlucoseStatusData.delta = delta;
+        mGlucoseStatusData.short_avgdelta = glucoseStatus.short_avgdelta;
+        mGlucoseStatusData.long_avgdelta = glucoseStatus.long_avgdelta;
+        mGlucoseStatusData.date = glucoseStatus.date;
 
 
         if (MainApp.getConstraintChecker().isAutosensModeEnabled().value()) {
             mAutosensData = new JSONObject();
             mAutosensData.put("ratio", autosensDataRatio);
+            mAutosensRatio = autosensDataRatio;
         } else {
             mAutosensData = new JSONObject();
             mAutosensData.put("ratio", 1.0);
+            mAutosensRatio = 1.0;
         }
         mMicrobolusAllowed = microBolusAllowed;
         mSMBAlwaysAllowed = advancedFiltering;
@@ -342,13 +400,5 @@ public class DetermineBasalAdapterSMBJS {
         return param;
     }
 
-    private String readFile(String filename) throws IOException {
-        byte[] bytes = mScriptReader.readFile(filename);
-        String string = new String(bytes, StandardCharsets.UTF_8);
-        if (string.startsWith("#!/usr/bin/env node")) {
-            string = string.substring(20);
-        }
-        return string;
-    }
 
 }
@@ -0,0 +1,1096 @@
+package info.nightscout.androidaps.plugins.aps.openAPSSMB;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+import info.nightscout.androidaps.data.IobTotal;
+import info.nightscout.androidaps.data.MealData;
+import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
+import info.nightscout.androidaps.plugins.iob.iobCobCalculator.GlucoseStatus;
+import info.nightscout.androidaps.utils.DateUtil;
+
+/**
+ * Java port of OpenAPSSMB/determine-basal.js and OpenAPSSMB/basal-set-temp.js
+ * <p>
+ * Takes the same values as the JS but directly, without marshalling them through Rhino.
+ * Result JSON, reason and script debug are kept identical to the JS output
+ * (see DetermineBasalSMBTest). Every change of the JS must be ported here too.
+ * <p>
+ * Parts of the JS which are never reached with AAPS data are left out:
+ * lastTemp checks (not provided by IobTotal), Bolus Wizard carbs (bwCarbs, bwFound)
+ * and unused aCOB predictions. round_basal is identity as in DetermineBasalAdapterSMBJS.
+ */
+
+public class DetermineBasalSMB {
+    private static Logger log = LoggerFactory.getLogger(L.APS);
+
+    private static final int MAX_PREDICTIONS = 48;
+
+    public static class CurrentTemp {
+        final int duration;
+        final double rate;
+        final Integer minutesRunning;
+
+        public CurrentTemp(int duration, double rate, Integer minutesRunning) {
+            this.duration = duration;
+            this.rate = rate;
+            this.minutesRunning = minutesRunning;
+        }
+
+        String toJSString() {
+            return "{\"temp\":\"absolute\",\"duration\":" + duration + ",\"rate\":" + jsNumber(rate)
+                    + (minutesRunning != null ? ",\"minutesrunning\":" + minutesRunning : "") + "}";
+        }
+    }
+
+    // predicted BGs in 5 min steps, truncated at 4 hours
+    private static class Predictions {
+        double[] values = new double[MAX_PREDICTIONS];
+        int size = 0;
+
+        void push(double value) {
+            if (size < MAX_PREDICTIONS) values[size++] = value;
+        }
+
+        double last() {
+            return values[size - 1];
+        }
+
+        void clampAndRound() {
+            for (int i = 0; i < size; i++)
+                values[i] = round(Math.min(401, Math.max(39, values[i])));
+        }
+
+        // remove flat tail
+        void trim() {
+            for (int i = size - 1; i > 12; i--) {
+                if (values[i - 1] != values[i]) break;
+                else size--;
+            }
+        }
+
+        JSONArray toJSON() throws JSONException {
+            JSONArray array = new JSONArray();
+            for (int i = 0; i < size; i++)
+                array.put(values[i]);
+            return array;
+        }
+    }
+
+    private final long now;
+
+    private JSONObject profile;
+    private CurrentTemp currentTemp;
+    private JSONObject rT;
+    private String reason;
+    private StringBuilder scriptDebug = new StringBuilder();
+
+    public DetermineBasalSMB(long now) {
+        this.now = now;
+    }
+
+    public String getScriptDebug() {
+        return scriptDebug.length() > 0 ? "d:\n" + scriptDebug.toString() : "";
+    }
+
+    public JSONObject determineBasal(GlucoseStatus glucoseStatus, CurrentTemp currenttemp, IobTotal[] iobArray, JSONObject profile, double autosensRatio, MealData mealData, boolean microBolusAllowed) throws JSONException {
+        this.profile = profile;
+        this.currentTemp = currenttemp;
+        rT = new JSONObject();
+        reason = null;
+
+        String deliverAt = DateUtil.toISOString(now);
+
+        if (profile == null || !profile.has("current_basal")) {
+            rT.put("error", "Error: could not get current basal rate");
+            return rT;
+        }
+        double profileCurrentBasal = num("current_basal");
+        double currentBasal = profileCurrentBasal;
+        double basal = profileCurrentBasal;
+
+        double minAgo = round((now - glucoseStatus.date) / 60d / 1000, 1);
+
+        double bg = glucoseStatus.glucose;
+        if (bg < 39) {  //Dexcom is in ??? mode or calibrating
+            reason = "CGM is calibrating or in ??? state";
+        }
+        if (minAgo > 12 || minAgo < -5) { // Dexcom data is too old, or way in the future
+            reason = "If current system time " + jsDate(now) + " is correct, then BG data is too old. The last BG data was read " + jsNumber(minAgo) + "m ago at " + jsDate(glucoseStatus.date);
+        }
+        if (bg < 39 || minAgo > 12 || minAgo < -5) {
+            if (currenttemp.rate >= basal) { // high temp is running
+                reason += ". Canceling high temp basal of " + jsNumber(currenttemp.rate);
+                rT.put("deliverAt", deliverAt);
+                rT.put("temp", "absolute");
+                rT.put("duration", 0);
+                rT.put("rate", 0);
+                return result();
+            } else if (currenttemp.rate == 0 && currenttemp.duration > 30) { //shorten long zero temps to 30m
+                reason += ". Shortening " + currenttemp.duration + "m long zero temp to 30m. ";
+                rT.put("deliverAt", deliverAt);
+                rT.put("temp", "absolute");
+                rT.put("duration", 30);
+                rT.put("rate", 0);
+                return result();
+            } else { //do nothing.
+                reason += ". Temp " + jsNumber(currenttemp.rate) + " <= current basal " + jsNumber(basal) + "U/hr; doing nothing. ";
+                return result();
+            }
+        }
+
+        double maxIob = num("max_iob"); // maximum amount of non-bolus IOB OpenAPS will ever deliver
+
+        // if min and max are set, then set target to their average
+        if (!profile.has("min_bg") || !profile.has("max_bg")) {
+            rT.put("error", "Error: could not determine target_bg. ");
+            return rT;
+        }
+        double minBg = num("min_bg");
+        double maxBg = num("max_bg");
+        double targetBg = (minBg + maxBg) / 2;
+
+        double sensitivityRatio;
+        boolean highTemptargetRaisesSensitivity = truthy("exercise_mode") || truthy("high_temptarget_raises_sensitivity");
+        double normalTarget = 100; // evaluate high/low temptarget against 100, not scheduled basal (which might change)
+        double halfBasalTarget = truthy("half_basal_exercise_target") ? num("half_basal_exercise_target") : 160;
+        boolean temptargetSet = truthy("temptargetSet");
+        if (highTemptargetRaisesSensitivity && temptargetSet && targetBg > normalTarget + 10
+                || truthy("low_temptarget_lowers_sensitivity") && temptargetSet && targetBg < normalTarget) {
+            // w/ target 100, temp target 110 = .89, 120 = 0.8, 140 = 0.67, 160 = .57, and 200 = .44
+            double c = halfBasalTarget - normalTarget;
+            sensitivityRatio = c / (c + targetBg - normalTarget);
+            // limit sensitivityRatio to profile.autosens_max (1.2x by default)
+            sensitivityRatio = Math.min(sensitivityRatio, num("autosens_max"));
+            sensitivityRatio = round(sensitivityRatio, 2);
+            console("Sensitivity ratio set to " + jsNumber(sensitivityRatio) + " based on temp target of " + jsNumber(targetBg) + "; ");
+        } else {
+            sensitivityRatio = autosensRatio;
+            console("Autosens ratio: " + jsNumber(sensitivityRatio) + "; ");
+        }
+        if (truthy(sensitivityRatio)) {
+            basal = currentBasal * sensitivityRatio;
+            if (basal != profileCurrentBasal) {
+                console("Adjusting basal from " + jsNumber(profileCurrentBasal) + " to " + jsNumber(basal) + "; ");
+            } else {
+                console("Basal unchanged: " + jsNumber(basal) + "; ");
+            }
+        }
+
+        // adjust min, max, and target BG for sensitivity, such that 50% increase in ISF raises target from 100 to 120
+        if (!temptargetSet) {
+            if (truthy("sensitivity_raises_target") && autosensRatio < 1 || truthy("resistance_lowers_target") && autosensRatio > 1) {
+                // with a target of 100, default 0.7-1.2 autosens min/max range would allow a 93-117 target range
+                minBg = round((minBg - 60) / autosensRatio) + 60;
+                maxBg = round((maxBg - 60) / autosensRatio) + 60;
+                double newTargetBg = round((targetBg - 60) / autosensRatio) + 60;
+                // don't allow target_bg below 80
+                newTargetBg = Math.max(80, newTargetBg);
+                if (targetBg == newTargetBg) {
+                    console("target_bg unchanged: " + jsNumber(newTargetBg) + "; ");
+                } else {
+                    console("target_bg from " + jsNumber(targetBg) + " to " + jsNumber(newTargetBg) + "; ");
+                }
+                targetBg = newTargetBg;
+            }
+        }
+
+        if (iobArray == null) {
+            rT.put("error", "Error: iob_data undefined. ");
+            return rT;
+        }
+        // single item array is not unwrapped by the JS
+        if (iobArray.length <= 1) {
+            rT.put("error", "Error: iob_data missing some property. ");
+            return rT;
+        }
+        IobTotal iobData = iobArray[0];
+
+        Object tick;
+        if (glucoseStatus.delta > -0.5) {
+            tick = "+" + jsNumber(round(glucoseStatus.delta, 0));
+        } else {
+            tick = round(glucoseStatus.delta, 0);
+        }
+        double minDelta = Math.min(glucoseStatus.delta, glucoseStatus.short_avgdelta);
+        double minAvgDelta = Math.min(glucoseStatus.short_avgdelta, glucoseStatus.long_avgdelta);
+        double maxDelta = Math.max(glucoseStatus.delta, Math.max(glucoseStatus.short_avgdelta, glucoseStatus.long_avgdelta));
+
+        double profileSens = round(num("sens"), 1);
+        double sens = num("sens") / sensitivityRatio;
+        sens = round(sens, 1);
+        if (sens != profileSens) {
+            console("ISF from " + jsNumber(profileSens) + " to " + jsNumber(sens));
+        } else {
+            console("ISF unchanged: " + jsNumber(sens));
+        }
+        double carbRatio = num("carb_ratio");
+        console("; CR:", carbRatio);
+
+        // lastTemp is not part of IobTotal
+        double lastTempAge = 0;
+        double tempModulus = (lastTempAge + currenttemp.duration) % 30;
+        console("currenttemp:", currenttemp.toJSString(), "lastTempAge:", lastTempAge, "m", "tempModulus:", tempModulus, "m");
+
+        //calculate BG impact: the amount BG "should" be rising or falling based on insulin activity alone
+        double bgi = round((-iobData.activity * sens * 5), 2);
+        // project deviations for 30 minutes
+        double deviation = round(30d / 5 * (minDelta - bgi));
+        // don't overreact to a big negative delta: use minAvgDelta if deviation is negative
+        if (deviation < 0) {
+            deviation = round((30d / 5) * (minAvgDelta - bgi));
+            // and if deviation is still negative, use long_avgdelta
+            if (deviation < 0) {
+                deviation = round((30d / 5) * (glucoseStatus.long_avgdelta - bgi));
+            }
+        }
+
+        // calculate the naive (bolus calculator math) eventual BG based on net IOB and sensitivity
+        double naiveEventualBG;
+        if (iobData.iob > 0) {
+            naiveEventualBG = round(bg - (iobData.iob * sens));
+        } else { // if IOB is negative, be more conservative and use the lower of sens, profile.sens
+            naiveEventualBG = round(bg - (iobData.iob * Math.min(sens, num("sens"))));
+        }
+        // and adjust it for the deviation above
+        double eventualBG = naiveEventualBG + deviation;
+
+        // adjust target BG range if needed to safely bring down high BG faster without causing lows
+        if (bg > maxBg && truthy("adv_target_adjustments") && !temptargetSet) {
+            // with target=100, as BG rises from 100 to 160, adjustedTarget drops from 100 to 80
+            double adjustedMinBG = round(Math.max(80, minBg - (bg - minBg) / 3), 0);
+            double adjustedTargetBG = round(Math.max(80, targetBg - (bg - targetBg) / 3), 0);
+            double adjustedMaxBG = round(Math.max(80, maxBg - (bg - maxBg) / 3), 0);
+            // if eventualBG, naive_eventualBG, and target_bg aren't all above adjustedMinBG, don't use it
+            if (eventualBG > adjustedMinBG && naiveEventualBG > adjustedMinBG && minBg > adjustedMinBG) {
+                console("Adjusting targets for high BG: min_bg from " + jsNumber(minBg) + " to " + jsNumber(adjustedMinBG) + "; ");
+                minBg = adjustedMinBG;
+            } else {
+                console("min_bg unchanged: " + jsNumber(minBg) + "; ");
+            }
+            // if eventualBG, naive_eventualBG, and target_bg aren't all above adjustedTargetBG, don't use it
+            if (eventualBG > adjustedTargetBG && naiveEventualBG > adjustedTargetBG && targetBg > adjustedTargetBG) {
+                console("target_bg from " + jsNumber(targetBg) + " to " + jsNumber(adjustedTargetBG) + "; ");
+                targetBg = adjustedTargetBG;
+            } else {
+                console("target_bg unchanged: " + jsNumber(targetBg) + "; ");
+            }
+            // if eventualBG, naive_eventualBG, and max_bg aren't all above adjustedMaxBG, don't use it
+            if (eventualBG > adjustedMaxBG && naiveEventualBG > adjustedMaxBG && maxBg > adjustedMaxBG) {
+                console("max_bg from " + jsNumber(maxBg) + " to " + jsNumber(adjustedMaxBG));
+                maxBg = adjustedMaxBG;
+            } else {
+                console("max_bg unchanged: " + jsNumber(maxBg));
+            }
+        }
+
+        double expectedDelta = calculateExpectedDelta(targetBg, eventualBG, bgi);
+        if (Double.isNaN(eventualBG)) {
+            rT.put("error", "Error: could not calculate eventualBG. ");
+            return rT;
+        }
+
+        // min_bg of 90 -> threshold of 65, 100 -> 70 110 -> 75, and 130 -> 85
+        double threshold = minBg - 0.5 * (minBg - 40);
+
+        rT = new JSONObject();
+        rT.put("temp", "absolute");
+        rT.put("bg", bg);
+        rT.put("tick", tick);
+        rT.put("eventualBG", eventualBG);
+        rT.put("insulinReq", 0);
+        rT.put("deliverAt", deliverAt);
+        putNumber(rT, "sensitivityRatio", sensitivityRatio);
+
+        // generate predicted future BGs based on IOB, COB, and current absorption rate
+        Predictions COBpredBGs = new Predictions();
+        Predictions IOBpredBGs = new Predictions();
+        Predictions UAMpredBGs = new Predictions();
+        Predictions ZTpredBGs = new Predictions();
+        COBpredBGs.push(bg);
+        IOBpredBGs.push(bg);
+        ZTpredBGs.push(bg);
+        UAMpredBGs.push(bg);
+
+        // enable SMB whenever we have COB or UAM is enabled
+        // SMB is disabled by default, unless explicitly enabled in preferences.json
+        boolean enableSMB = false;
+        // disable SMB when a high temptarget is set
+        if (!microBolusAllowed) {
+            console("SMB disabled (!microBolusAllowed)");
+        } else if (!truthy("allowSMB_with_high_temptarget") && temptargetSet && targetBg > 100) {
+            console("SMB disabled due to high temptarget of", targetBg);
+            enableSMB = false;
+            // enable SMB/UAM (if enabled in preferences) while we have COB
+        } else if (isTrue("enableSMB_with_COB") && truthy(mealData.mealCOB)) {
+            console("SMB enabled for COB of", mealData.mealCOB);
+            enableSMB = true;
+            // enable SMB/UAM (if enabled in preferences) for a full 6 hours after any carb entry
+        } else if (isTrue("enableSMB_after_carbs") && truthy(mealData.carbs)) {
+            console("SMB enabled for 6h after carb entry");
+            enableSMB = true;
+            // enable SMB/UAM (if enabled in preferences) if a low temptarget is set
+        } else if (isTrue("enableSMB_with_temptarget") && (temptargetSet && targetBg < 100)) {
+            console("SMB enabled for temptarget of", convertBg(targetBg));
+            enableSMB = true;
+            // enable SMB/UAM if always-on (unless previously disabled for high temptarget)
+        } else if (isTrue("enableSMB_always")) {
+            console("SMB enabled due to enableSMB_always");
+            enableSMB = true;
+        } else {
+            console("SMB disabled (no enableSMB preferences active)");
+        }
+        // enable UAM (if enabled in preferences)
+        boolean enableUAM = truthy("enableUAM");
+
+        // calculate current carb absorption rate, and how long to absorb all carbs
+        // CI = current carb impact on BG in mg/dL/5m
+        double ci = round((minDelta - bgi), 1);
+        double uci = round((minDelta - bgi), 1);
+        // ISF (mg/dL/U) / CR (g/U) = CSF (mg/dL/g)
+        double csf;
+        if (temptargetSet) {
+            // if temptargetSet, use unadjusted profile.sens to allow activity mode sensitivityRatio to adjust CR
+            csf = num("sens") / carbRatio;
+        } else {
+            // otherwise, use autosens-adjusted sens to counteract autosens meal insulin dosing adjustments
+            // so that autotuned CR is still in effect even when basals and ISF are being adjusted by autosens
+            csf = sens / carbRatio;
+        }
+        double maxCarbAbsorptionRate = 30; // g/h; maximum rate to assume carbs will absorb if no CI observed
+        // limit Carb Impact to maxCarbAbsorptionRate * csf in mg/dL per 5m
+        double maxCI = round(maxCarbAbsorptionRate * csf * 5 / 60, 1);
+        if (ci > maxCI) {
+            console("Limiting carb impact from", ci, "to", maxCI, "mg/dL/5m (", maxCarbAbsorptionRate, "g/h )");
+            ci = maxCI;
+        }
+        double remainingCATimeMin = 3; // h; before carb absorption starts
+        // adjust remainingCATime (instead of CR) for autosens
+        remainingCATimeMin = remainingCATimeMin / sensitivityRatio;
+        // 20 g/h means that anything <= 60g will get a remainingCATimeMin, 80g will get 4h, and 120g 6h
+        // when actual absorption ramps up it will take over from remainingCATime
+        double assumedCarbAbsorptionRate = 20; // g/h; maximum rate to assume carbs will absorb if no CI observed
+        double remainingCATime = remainingCATimeMin;
+        if (truthy(mealData.carbs)) {
+            // if carbs * assumedCarbAbsorptionRate > remainingCATimeMin, raise it
+            // so <= 90g is assumed to take 3h, and 120g=4h
+            remainingCATimeMin = Math.max(remainingCATimeMin, mealData.mealCOB / assumedCarbAbsorptionRate);
+            double lastCarbAge = round((now - mealData.lastCarbTime) / 60000d);
+
+            double fractionCOBAbsorbed = (mealData.carbs - mealData.mealCOB) / mealData.carbs;
+            remainingCATime = remainingCATimeMin + 1.5 * lastCarbAge / 60;
+            remainingCATime = round(remainingCATime, 1);
+            console("Last carbs", lastCarbAge, "minutes ago; remainingCATime:", remainingCATime, "hours;", jsNumber(round(fractionCOBAbsorbed * 100)) + "% carbs absorbed");
+        }
+
+        // calculate the number of carbs absorbed over remainingCATime hours at current CI
+        // CI (mg/dL/5m) * (5m)/5 (m) * 60 (min/hr) * 4 (h) / 2 (linear decay factor) = total carb impact (mg/dL)
+        double totalCI = Math.max(0, ci / 5 * 60 * remainingCATime / 2);
+        // totalCI (mg/dL) / CSF (mg/dL/g) = total carbs absorbed (g)
+        double totalCA = totalCI / csf;
+        double remainingCarbsCap = 90; // default to 90
+        double remainingCarbsFraction = 1;
+        if (truthy("remainingCarbsCap")) remainingCarbsCap = Math.min(90, num("remainingCarbsCap"));
+        if (truthy("remainingCarbsFraction")) remainingCarbsFraction = Math.min(1, num("remainingCarbsFraction"));
+        double remainingCarbsIgnore = 1 - remainingCarbsFraction;
+        double remainingCarbs = Math.max(0, mealData.mealCOB - totalCA - mealData.carbs * remainingCarbsIgnore);
+        remainingCarbs = Math.min(remainingCarbsCap, remainingCarbs);
+        // assume remainingCarbs will absorb in a /\ shaped bilinear curve
+        // peaking at remainingCATime / 2 and ending at remainingCATime hours
+        // area of the /\ triangle is the same as a remainingCIpeak-height rectangle out to remainingCATime/2
+        // remainingCIpeak (mg/dL/5m) = remainingCarbs (g) * CSF (mg/dL/g) * 5 (m/5m) * 1h/60m / (remainingCATime/2) (h)
+        double remainingCIpeak = remainingCarbs * csf * 5 / 60 / (remainingCATime / 2);
+
+        // calculate peak deviation in last hour, and slope from that to current deviation
+        double slopeFromMaxDeviation = round(mealData.slopeFromMaxDeviation, 2);
+        // calculate lowest deviation in last hour, and slope from that to current deviation
+        double slopeFromMinDeviation = round(mealData.slopeFromMinDeviation, 2);
+        // assume deviations will drop back down at least at 1/3 the rate they ramped up
+        double slopeFromDeviations = Math.min(slopeFromMaxDeviation, -slopeFromMinDeviation / 3);
+
+        // duration (in 5m data points) = COB (g) * CSF (mg/dL/g) / ci (mg/dL/5m)
+        // limit cid to remainingCATime hours: the reset goes to remainingCI
+        double cid;
+        if (ci == 0) {
+            // avoid divide by zero
+            cid = 0;
+        } else {
+            cid = Math.min(remainingCATime * 60 / 5 / 2, Math.max(0, mealData.mealCOB * csf / ci));
+        }
+        // duration (hours) = duration (5m) * 5 / 60 * 2 (to account for linear decay)
+        console("Carb Impact:", ci, "mg/dL per 5m; CI Duration:", round(cid * 5 / 60 * 2, 1), "hours; remaining CI (~2h peak):", round(remainingCIpeak, 1), "mg/dL per 5m");
+        boolean carbsAbsorbing = truthy(cid) || remainingCIpeak > 0;
+        double minIOBPredBG = 999;
+        double minCOBPredBG = 999;
+        double minUAMPredBG = 999;
+        double minGuardBG;
+        double minCOBGuardBG = 999;
+        double minUAMGuardBG = 999;
+        double minIOBGuardBG = 999;
+        double minZTGuardBG = 999;
+        double minPredBG;
+        double avgPredBG;
+        double IOBpredBG = eventualBG;
+        double COBpredBG = Double.NaN;
+        double UAMpredBG = Double.NaN;
+        double maxIOBPredBG = bg;
+        double maxCOBPredBG = bg;
+        double lastIOBpredBG;
+        double lastCOBpredBG = 0;
+        double lastUAMpredBG = 0;
+        double UAMduration = 0;
+        StringBuilder remainingCIs = new StringBuilder();
+        StringBuilder predCIs = new StringBuilder();
+        for (IobTotal iobTick : iobArray) {
+            double predBGI = round((-iobTick.activity * sens * 5), 2);
+            if (iobTick.iobWithZeroTemp == null) {
+                console("Problem with iobArray.  Optional feature Advanced Meal Assist disabled:", "TypeError: Cannot read property \"activity\" from undefined");
+                break;
+            }
+            double predZTBGI = round((-iobTick.iobWithZeroTemp.activity * sens * 5), 2);
+            // for IOBpredBGs, predicted deviation impact drops linearly from current deviation down to zero
+            // over 60 minutes (data points every 5m)
+            double predDev = ci * (1 - Math.min(1, IOBpredBGs.size / (60d / 5)));
+            IOBpredBG = IOBpredBGs.last() + predBGI + predDev;
+            // calculate predBGs with long zero temp without deviations
+            double ZTpredBG = ZTpredBGs.last() + predZTBGI;
+            // for COBpredBGs, predicted carb impact drops linearly from current carb impact down to zero
+            // eventually accounting for all carbs (if they can be absorbed over DIA)
+            double predCI = Math.max(0, Math.max(0, ci) * (1 - COBpredBGs.size / Math.max(cid * 2, 1)));
+            // if any carbs aren't absorbed after remainingCATime hours, assume they'll absorb in a /\ shaped
+            // bilinear curve peaking at remainingCIpeak at remainingCATime/2 hours (remainingCATime/2*12 * 5m)
+            // and ending at remainingCATime h (remainingCATime*12 * 5m intervals)
+            double intervals = Math.min(COBpredBGs.size, (remainingCATime * 12) - COBpredBGs.size);
+            double remainingCI = Math.max(0, intervals / (remainingCATime / 2 * 12) * remainingCIpeak);
+            if (remainingCIs.length() > 0) remainingCIs.append(' ');
+            remainingCIs.append(jsNumber(round(remainingCI, 0)));
+            if (predCIs.length() > 0) predCIs.append(' ');
+            predCIs.append(jsNumber(round(predCI, 0)));
+            COBpredBG = COBpredBGs.last() + predBGI + Math.min(0, predDev) + predCI + remainingCI;
+            // for UAMpredBGs, predicted carb impact drops at slopeFromDeviations
+            // calculate predicted CI from UAM based on slopeFromDeviations
+            double predUCIslope = Math.max(0, uci + (UAMpredBGs.size * slopeFromDeviations));
+            // if slopeFromDeviations is too flat, predicted deviation impact drops linearly from
+            // current deviation down to zero over 3h (data points every 5m)
+            double predUCImax = Math.max(0, uci * (1 - UAMpredBGs.size / Math.max(3d * 60 / 5, 1)));
+            // predicted CI from UAM is the lesser of CI based on deviationSlope or DIA
+            double predUCI = Math.min(predUCIslope, predUCImax);
+            if (predUCI > 0) {
+                UAMduration = round((UAMpredBGs.size + 1) * 5d / 60, 1);
+            }
+            UAMpredBG = UAMpredBGs.last() + predBGI + Math.min(0, predDev) + predUCI;
+            // truncate all BG predictions at 4 hours
+            IOBpredBGs.push(IOBpredBG);
+            COBpredBGs.push(COBpredBG);
+            UAMpredBGs.push(UAMpredBG);
+            ZTpredBGs.push(ZTpredBG);
+            // calculate minGuardBGs without a wait from COB, UAM, IOB predBGs
+            if (COBpredBG < minCOBGuardBG) minCOBGuardBG = round(COBpredBG);
+            if (UAMpredBG < minUAMGuardBG) minUAMGuardBG = round(UAMpredBG);
+            if (IOBpredBG < minIOBGuardBG) minIOBGuardBG = round(IOBpredBG);
+            if (ZTpredBG < minZTGuardBG) minZTGuardBG = round(ZTpredBG);
+
+            // set minPredBGs starting when currently-dosed insulin activity will peak
+            // look ahead 60m (regardless of insulin type) so as to be less aggressive on slower insulins
+            // add 30m to allow for insluin delivery (SMBs or temps)
+            double insulinPeakTime = 90;
+            double insulinPeak5m = (insulinPeakTime / 60) * 12;
+
+            // wait 90m before setting minIOBPredBG
+            if (IOBpredBGs.size > insulinPeak5m && (IOBpredBG < minIOBPredBG)) minIOBPredBG = round(IOBpredBG);
+            if (IOBpredBG > maxIOBPredBG) maxIOBPredBG = IOBpredBG;
+            // wait 85-105m before setting COB and 60m for UAM minPredBGs
+            if (carbsAbsorbing && COBpredBGs.size > insulinPeak5m && (COBpredBG < minCOBPredBG)) minCOBPredBG = round(COBpredBG);
+            if (carbsAbsorbing && COBpredBG > maxIOBPredBG) maxCOBPredBG = COBpredBG;
+            if (enableUAM && UAMpredBGs.size > 12 && (UAMpredBG < minUAMPredBG)) minUAMPredBG = round(UAMpredBG);
+        }
+        if (truthy(mealData.mealCOB)) {
+            console("predCIs (mg/dL/5m):", predCIs.toString());
+            console("remainingCIs:      ", remainingCIs.toString());
+        }
+        JSONObject predBGs = new JSONObject();
+        rT.put("predBGs", predBGs);
+        IOBpredBGs.clampAndRound();
+        IOBpredBGs.trim();
+        predBGs.put("IOB", IOBpredBGs.toJSON());
+        lastIOBpredBG = round(IOBpredBGs.last());
+        ZTpredBGs.clampAndRound();
+        for (int i = ZTpredBGs.size - 1; i > 6; i--) {
+            // stop displaying ZTpredBGs once they're rising and above target
+            if (ZTpredBGs.values[i - 1] >= ZTpredBGs.values[i] || ZTpredBGs.values[i] < targetBg) break;
+            else ZTpredBGs.size--;
+        }
+        predBGs.put("ZT", ZTpredBGs.toJSON());
+        if (mealData.mealCOB > 0 && (ci > 0 || remainingCIpeak > 0)) {
+            COBpredBGs.clampAndRound();
+            COBpredBGs.trim();
+            predBGs.put("COB", COBpredBGs.toJSON());
+            lastCOBpredBG = round(COBpredBGs.last());
+            eventualBG = Math.max(eventualBG, round(COBpredBGs.last()));
+        }
+        if (ci > 0 || remainingCIpeak > 0) {
+            if (enableUAM) {
+                UAMpredBGs.clampAndRound();
+                UAMpredBGs.trim();
+                predBGs.put("UAM", UAMpredBGs.toJSON());
+                lastUAMpredBG = round(UAMpredBGs.last());
+                if (truthy(UAMpredBGs.last())) {
+                    eventualBG = Math.max(eventualBG, round(UAMpredBGs.last()));
+                }
+            }
+
+            // set eventualBG and snoozeBG based on COB or UAM predBGs
+            rT.put("eventualBG", eventualBG);
+        }
+
+        console("UAM Impact:", uci, "mg/dL per 5m; UAM Duration:", UAMduration, "hours");
+
+        minIOBPredBG = Math.max(39, minIOBPredBG);
+        minCOBPredBG = Math.max(39, minCOBPredBG);
+        minUAMPredBG = Math.max(39, minUAMPredBG);
+        minPredBG = round(minIOBPredBG);
+
+        double fractionCarbsLeft = mealData.mealCOB / mealData.carbs;
+        // if we have COB and UAM is enabled, average both
+        if (minUAMPredBG < 999 && minCOBPredBG < 999) {
+            // weight COBpredBG vs. UAMpredBG based on how many carbs remain as COB
+            avgPredBG = round((1 - fractionCarbsLeft) * UAMpredBG + fractionCarbsLeft * COBpredBG);
+            // if UAM is disabled, average IOB and COB
+        } else if (minCOBPredBG < 999) {
+            avgPredBG = round((IOBpredBG + COBpredBG) / 2);
+            // if we have UAM but no COB, average IOB and UAM
+        } else if (minUAMPredBG < 999) {
+            avgPredBG = round((IOBpredBG + UAMpredBG) / 2);
+        } else {
+            avgPredBG = round(IOBpredBG);
+        }
+        // if avgPredBG is below minZTGuardBG, bring it up to that level
+        if (minZTGuardBG > avgPredBG) {
+            avgPredBG = minZTGuardBG;
+        }
+
+        // if we have both minCOBGuardBG and minUAMGuardBG, blend according to fractionCarbsLeft
+        if (carbsAbsorbing) {
+            if (enableUAM) {
+                minGuardBG = fractionCarbsLeft * minCOBGuardBG + (1 - fractionCarbsLeft) * minUAMGuardBG;
+            } else {
+                minGuardBG = minCOBGuardBG;
+            }
+        } else if (enableUAM) {
+            minGuardBG = minUAMGuardBG;
+        } else {
+            minGuardBG = minIOBGuardBG;
+        }
+        minGuardBG = round(minGuardBG);
+
+        double minZTUAMPredBG = minUAMPredBG;
+        // if minZTGuardBG is below threshold, bring down any super-high minUAMPredBG by averaging
+        // this helps prevent UAM from giving too much insulin in case absorption falls off suddenly
+        if (minZTGuardBG < threshold) {
+            minZTUAMPredBG = (minUAMPredBG + minZTGuardBG) / 2;
+            // if minZTGuardBG is between threshold and target, blend in the averaging
+        } else if (minZTGuardBG < targetBg) {
+            // target 100, threshold 70, minZTGuardBG 85 gives 50%: (85-70) / (100-70)
+            double blendPct = (minZTGuardBG - threshold) / (targetBg - threshold);
+            double blendedMinZTGuardBG = minUAMPredBG * blendPct + minZTGuardBG * (1 - blendPct);
+            minZTUAMPredBG = (minUAMPredBG + blendedMinZTGuardBG) / 2;
+            // if minUAMPredBG is below minZTGuardBG, bring minUAMPredBG up by averaging
+            // this allows more insulin if lastUAMPredBG is below target, but minZTGuardBG is still high
+        } else if (minZTGuardBG > minUAMPredBG) {
+            minZTUAMPredBG = (minUAMPredBG + minZTGuardBG) / 2;
+        }
+        minZTUAMPredBG = round(minZTUAMPredBG);
+        // if any carbs have been entered recently
+        if (truthy(mealData.carbs)) {
+            // if UAM is disabled, use max of minIOBPredBG, minCOBPredBG
+            if (!enableUAM && minCOBPredBG < 999) {
+                minPredBG = round(Math.max(minIOBPredBG, minCOBPredBG));
+                // if we have COB, use minCOBPredBG, or blendedMinPredBG if it's higher
+            } else if (minCOBPredBG < 999) {
+                // calculate blendedMinPredBG based on how many carbs remain as COB
+                double blendedMinPredBG = fractionCarbsLeft * minCOBPredBG + (1 - fractionCarbsLeft) * minZTUAMPredBG;
+                // if blendedMinPredBG > minCOBPredBG, use that instead
+                minPredBG = round(Math.max(minIOBPredBG, Math.max(minCOBPredBG, blendedMinPredBG)));
+                // if carbs have been entered, but have expired, use minUAMPredBG
+            } else {
+                minPredBG = minZTUAMPredBG;
+            }
+            // in pure UAM mode, use the higher of minIOBPredBG,minUAMPredBG
+        } else if (enableUAM) {
+            minPredBG = round(Math.max(minIOBPredBG, minZTUAMPredBG));
+        }
+
+        // make sure minPredBG isn't higher than avgPredBG
+        minPredBG = Math.min(minPredBG, avgPredBG);
+
+        console("minPredBG: " + jsNumber(minPredBG) + " minIOBPredBG: " + jsNumber(minIOBPredBG) + " minZTGuardBG: " + jsNumber(minZTGuardBG));
+        if (minCOBPredBG < 999) {
+            console(" minCOBPredBG: " + jsNumber(minCOBPredBG));
+        }
+        if (minUAMPredBG < 999) {
+            console(" minUAMPredBG: " + jsNumber(minUAMPredBG));
+        }
+        console(" avgPredBG:", avgPredBG, "COB:", mealData.mealCOB, "/", mealData.carbs);
+        // But if the COB line falls off a cliff, don't trust UAM too much:
+        // use maxCOBPredBG if it's been set and lower than minPredBG
+        if (maxCOBPredBG > bg) {
+            minPredBG = Math.min(minPredBG, maxCOBPredBG);
+        }
+
+        rT.put("COB", mealData.mealCOB);
+        rT.put("IOB", iobData.iob);
+        reason = "COB: " + jsNumber(mealData.mealCOB) + ", Dev: " + convertBg(deviation) + ", BGI: " + convertBg(bgi) + ", ISF: " + convertBg(sens) + ", CR: " + jsNumber(round(carbRatio, 2)) + ", Target: " + convertBg(targetBg) + ", minPredBG " + convertBg(minPredBG) + ", minGuardBG " + convertBg(minGuardBG) + ", IOBpredBG " + convertBg(lastIOBpredBG);
+        if (lastCOBpredBG > 0) {
+            reason += ", COBpredBG " + convertBg(lastCOBpredBG);
+        }
+        if (lastUAMpredBG > 0) {
+            reason += ", UAMpredBG " + convertBg(lastUAMpredBG);
+        }
+        reason += "; ";
+        // use naive_eventualBG if above 40, but switch to minGuardBG if both eventualBGs hit floor of 39
+        double carbsReqBG = naiveEventualBG;
+        if (carbsReqBG < 40) {
+            carbsReqBG = Math.min(minGuardBG, carbsReqBG);
+        }
+        double bgUndershoot = threshold - carbsReqBG;
+        // calculate how long until COB (or IOB) predBGs drop below min_bg
+        int minutesAboveMinBG = 240;
+        int minutesAboveThreshold = 240;
+        Predictions predictions = mealData.mealCOB > 0 && (ci > 0 || remainingCIpeak > 0) ? COBpredBGs : IOBpredBGs;
+        for (int i = 0; i < predictions.size; i++) {
+            if (predictions.values[i] < minBg) {
+                minutesAboveMinBG = 5 * i;
+                break;
+            }
+        }
+        for (int i = 0; i < predictions.size; i++) {
+            if (predictions.values[i] < threshold) {
+                minutesAboveThreshold = 5 * i;
+                break;
+            }
+        }
+
+        if (enableSMB && minGuardBG < threshold) {
+            console("minGuardBG", convertBg(minGuardBG), "projected below", convertBg(threshold), "- disabling SMB");
+            enableSMB = false;
+        }
+        if (maxDelta > 0.20 * bg) {
+            console("maxDelta", convertBg(maxDelta), "> 20% of BG", convertBg(bg), "- disabling SMB");
+            reason += "maxDelta " + convertBg(maxDelta) + " > 20% of BG " + convertBg(bg) + ": SMB disabled; ";
+            enableSMB = false;
+        }
+
+        console("BG projected to remain above", convertBg(minBg), "for", minutesAboveMinBG, "minutes");
+        if (minutesAboveThreshold < 240 || minutesAboveMinBG < 60) {
+            console("BG projected to remain above", convertBg(threshold), "for", minutesAboveThreshold, "minutes");
+        }
+        // include at least minutesAboveMinBG worth of zero temps in calculating carbsReq
+        // always include at least 30m worth of zero temp (carbs to 80, low temp up to target)
+        double zeroTempDuration = minutesAboveThreshold;
+        // BG undershoot, minus effect of zero temps until hitting min_bg, converted to grams, minus COB
+        double zeroTempEffect = currentBasal * sens * zeroTempDuration / 60;
+        // don't count the last 25% of COB against carbsReq
+        double COBforCarbsReq = Math.max(0, mealData.mealCOB - 0.25 * mealData.carbs);
+        double carbsReq = (bgUndershoot - zeroTempEffect) / csf - COBforCarbsReq;
+        zeroTempEffect = round(zeroTempEffect);
+        carbsReq = round(carbsReq);
+        console("naive_eventualBG:", naiveEventualBG, "bgUndershoot:", bgUndershoot, "zeroTempDuration:", zeroTempDuration, "zeroTempEffect:", zeroTempEffect, "carbsReq:", carbsReq);
+        if (carbsReq >= num("carbsReqThreshold") && minutesAboveThreshold <= 45) {
+            putNumber(rT, "carbsReq", carbsReq);
+            reason += jsNumber(carbsReq) + " add'l carbs req w/in " + minutesAboveThreshold + "m; ";
+        }
+        // don't low glucose suspend if IOB is already super negative and BG is rising faster than predicted
+        if (bg < threshold && iobData.iob < -currentBasal * 20 / 60 && minDelta > 0 && minDelta > expectedDelta) {
+            reason += "IOB " + jsNumber(iobData.iob) + " < " + jsNumber(round(-currentBasal * 20 / 60, 2));
+            reason += " and minDelta " + convertBg(minDelta) + " > " + "expectedDelta " + convertBg(expectedDelta) + "; ";
+            // predictive low glucose suspend mode: BG is / is projected to be < threshold
+        } else if (bg < threshold || minGuardBG < threshold) {
+            reason += "minGuardBG " + convertBg(minGuardBG) + "<" + convertBg(threshold);
+            bgUndershoot = targetBg - minGuardBG;
+            double worstCaseInsulinReq = bgUndershoot / sens;
+            double durationReq = round(60 * worstCaseInsulinReq / currentBasal);
+            durationReq = round(durationReq / 30) * 30;
+            // always set a 30-120m zero temp (oref0-pump-loop will let any longer SMB zero temp run)
+            durationReq = Math.min(120, Math.max(30, durationReq));
+            return setTempBasal(0, durationReq);
+        }
+
+        if (eventualBG < minBg) { // if eventual BG is below target:
+            reason += "Eventual BG " + convertBg(eventualBG) + " < " + convertBg(minBg);
+            // if 5m or 30m avg BG is rising faster than expected delta
+            if (minDelta > expectedDelta && minDelta > 0 && !truthy(carbsReq)) {
+                // if naive_eventualBG < 40, set a 30m zero temp (oref0-pump-loop will let any longer SMB zero temp run)
+                if (naiveEventualBG < 40) {
+                    reason += ", naive_eventualBG < 40. ";
+                    return setTempBasal(0, 30);
+                }
+                if (glucoseStatus.delta > minDelta) {
+                    reason += ", but Delta " + convertBg(round(glucoseStatus.delta, 0)) + " > expectedDelta " + convertBg(expectedDelta);
+                } else {
+                    reason += ", but Min. Delta " + toFixed(minDelta, 2) + " > Exp. Delta " + convertBg(expectedDelta);
+                }
+                return keepOrSetBasal(basal);
+            }
+
+            // calculate 30m low-temp required to get projected BG up to target
+            // multiply by 2 to low-temp faster for increased hypo safety
+            double insulinReq = 2 * Math.min(0, (eventualBG - targetBg) / sens);
+            insulinReq = round(insulinReq, 2);
+            // calculate naiveInsulinReq based on naive_eventualBG
+            double naiveInsulinReq = Math.min(0, (naiveEventualBG - targetBg) / sens);
+            naiveInsulinReq = round(naiveInsulinReq, 2);
+            if (minDelta < 0 && minDelta > expectedDelta) {
+                // if we're barely falling, newinsulinReq should be barely negative
+                insulinReq = round((insulinReq * (minDelta / expectedDelta)), 2);
+            }
+            // rate required to deliver insulinReq less insulin over 30m:
+            double rate = basal + (2 * insulinReq);
+            // if required temp < existing temp basal
+            double insulinScheduled = currenttemp.duration * (currenttemp.rate - basal) / 60;
+            // if current temp would deliver a lot (30% of basal) less than the required insulin,
+            // by both normal and naive calculations, then raise the rate
+            double minInsulinReq = Math.min(insulinReq, naiveInsulinReq);
+            if (insulinScheduled < minInsulinReq - basal * 0.3) {
+                reason += ", " + currenttemp.duration + "m@" + toFixed(currenttemp.rate, 2) + " is a lot less than needed. ";
+                return setTempBasal(rate, 30);
+            }
+            if (currenttemp.duration > 5 && rate >= currenttemp.rate * 0.8) {
+                reason += ", temp " + jsNumber(currenttemp.rate) + " ~< req " + jsNumber(rate) + "U/hr. ";
+                return result();
+            } else {
+                // calculate a long enough zero temp to eventually correct back up to target
+                if (rate <= 0) {
+                    bgUndershoot = targetBg - naiveEventualBG;
+                    double worstCaseInsulinReq = bgUndershoot / sens;
+                    double durationReq = round(60 * worstCaseInsulinReq / currentBasal);
+                    if (durationReq < 0) {
+                        durationReq = 0;
+                        // don't set an SMB zero temp longer than 60 minutess
+                    } else {
+                        durationReq = round(durationReq / 30) * 30;
+                        durationReq = Math.min(60, Math.max(0, durationReq));
+                    }
+                    if (durationReq > 0) {
+                        reason += ", setting " + jsNumber(durationReq) + "m zero temp. ";
+                        return setTempBasal(rate, durationReq);
+                    }
+                } else {
+                    reason += ", setting " + jsNumber(rate) + "U/hr. ";
+                }
+                return setTempBasal(rate, 30);
+            }
+        }
+
+        // if eventual BG is above min but BG is falling faster than expected Delta
+        if (minDelta < expectedDelta) {
+            // if in SMB mode, don't cancel SMB zero temp
+            if (!(microBolusAllowed && enableSMB)) {
+                if (glucoseStatus.delta < minDelta) {
+                    reason += "Eventual BG " + convertBg(eventualBG) + " > " + convertBg(minBg) + " but Delta " + convertBg(round(glucoseStatus.delta, 0)) + " < Exp. Delta " + convertBg(expectedDelta);
+                } else {
+                    reason += "Eventual BG " + convertBg(eventualBG) + " > " + convertBg(minBg) + " but Min. Delta " + toFixed(minDelta, 2) + " < Exp. Delta " + convertBg(expectedDelta);
+                }
+                return keepOrSetBasal(basal);
+            }
+        }
+        // eventualBG or minPredBG is below max_bg
+        if (Math.min(eventualBG, minPredBG) < maxBg) {
+            // if in SMB mode, don't cancel SMB zero temp
+            if (!(microBolusAllowed && enableSMB)) {
+                reason += convertBg(eventualBG) + "-" + convertBg(minPredBG) + " in range: no temp required";
+                return keepOrSetBasal(basal);
+            }
+        }
+
+        // eventual BG is at/above target
+        // if iob is over max, just cancel any temps
+        // if we're not here because of SMB, eventual BG is at/above target
+        if (!(microBolusAllowed && truthy(mealData.mealCOB))) {
+            reason += "Eventual BG " + convertBg(eventualBG) + " >= " + convertBg(maxBg) + ", ";
+        }
+        if (iobData.iob > maxIob) {
+            reason += "IOB " + jsNumber(round(iobData.iob, 2)) + " > max_iob " + jsNumber(maxIob);
+            return keepOrSetBasal(basal);
+        } else { // otherwise, calculate 30m high-temp required to get projected BG down to target
+
+            // insulinReq is the additional insulin required to get minPredBG down to target_bg
+            double insulinReq = round((Math.min(minPredBG, eventualBG) - targetBg) / sens, 2);
+            // if that would put us over max_iob, then reduce accordingly
+            if (insulinReq > maxIob - iobData.iob) {
+                reason += "max_iob " + jsNumber(maxIob) + ", ";
+                insulinReq = maxIob - iobData.iob;
+            }
+
+            // rate required to deliver insulinReq more insulin over 30m:
+            double rate = basal + (2 * insulinReq);
+            insulinReq = round(insulinReq, 3);
+            rT.put("insulinReq", insulinReq);
+            // minutes since last bolus
+            double lastBolusAge = round((now - iobData.lastBolusTime) / 60000d, 1);
+            // only allow microboluses with COB or low temp targets, or within DIA hours of a bolus
+            if (microBolusAllowed && enableSMB && bg > threshold) {
+                // never bolus more than maxSMBBasalMinutes worth of basal
+                double mealInsulinReq = round(mealData.mealCOB / carbRatio, 3);
+                double maxBolus;
+                if (!profile.has("maxSMBBasalMinutes")) {
+                    maxBolus = round(currentBasal * 30 / 60, 1);
+                    console("profile.maxSMBBasalMinutes undefined: defaulting to 30m");
+                    // if IOB covers more than COB, limit maxBolus to 30m of basal
+                } else if (iobData.iob > mealInsulinReq && iobData.iob > 0) {
+                    console("IOB", iobData.iob, "> COB", jsNumber(mealData.mealCOB) + "; mealInsulinReq =", mealInsulinReq);
+                    maxBolus = round(currentBasal * 30 / 60, 1);
+                } else {
+                    console("profile.maxSMBBasalMinutes:", num("maxSMBBasalMinutes"), "profile.current_basal:", currentBasal);
+                    maxBolus = round(currentBasal * num("maxSMBBasalMinutes") / 60, 1);
+                }
+                // bolus 1/2 the insulinReq, up to maxBolus, rounding down to nearest 0.1U
+                double microBolus = Math.floor(Math.min(insulinReq / 2, maxBolus) * 10) / 10;
+                // calculate a long enough zero temp to eventually correct back up to target
+                double smbTarget = targetBg;
+                double worstCaseInsulinReq = (smbTarget - (naiveEventualBG + minIOBPredBG) / 2) / sens;
+                double durationReq = round(60 * worstCaseInsulinReq / currentBasal);
+
+                // if insulinReq > 0 but not enough for a microBolus, don't set an SMB zero temp
+                if (insulinReq > 0 && microBolus < 0.1) {
+                    durationReq = 0;
+                }
+
+                double smbLowTempReq = 0;
+                if (durationReq <= 0) {
+                    durationReq = 0;
+                    // don't set a temp longer than 120 minutes
+                } else if (durationReq >= 30) {
+                    durationReq = round(durationReq / 30) * 30;
+                    durationReq = Math.min(120, Math.max(0, durationReq));
+                } else {
+                    // if SMB durationReq is less than 30m, set a nonzero low temp
+                    smbLowTempReq = round(basal * durationReq / 30, 2);
+                    durationReq = 30;
+                }
+                reason += " insulinReq " + jsNumber(insulinReq);
+                if (microBolus >= maxBolus) {
+                    reason += "; maxBolus " + jsNumber(maxBolus);
+                }
+                if (durationReq > 0) {
+                    reason += "; setting " + jsNumber(durationReq) + "m low temp of " + jsNumber(smbLowTempReq) + "U/h";
+                }
+                reason += ". ";
+
+                //allow SMBs every 3 minutes
+                double nextBolusMins = round(3 - lastBolusAge, 1);
+                console("naive_eventualBG", jsNumber(naiveEventualBG) + ",", jsNumber(durationReq) + "m " + jsNumber(smbLowTempReq) + "U/h temp needed; last bolus", jsNumber(lastBolusAge) + "m ago; maxBolus: " + jsNumber(maxBolus));
+                if (lastBolusAge > 3) {
+                    if (microBolus > 0) {
+                        rT.put("units", microBolus);
+                        reason += "Microbolusing " + jsNumber(microBolus) + "U. ";
+                    }
+                } else {
+                    reason += "Waiting " + jsNumber(nextBolusMins) + "m to microbolus again. ";
+                }
+
+                // if no zero temp is required, don't return yet; allow later code to set a high temp
+                if (durationReq > 0) {
+                    rT.put("rate", smbLowTempReq);
+                    rT.put("duration", durationReq);
+                    return result();
+                }
+            }
+
+            double maxSafeBasal = getMaxSafeBasal();
+
+            if (rate > maxSafeBasal) {
+                reason += "adj. req. rate: " + jsNumber(rate) + " to maxSafeBasal: " + jsNumber(maxSafeBasal) + ", ";
+                rate = maxSafeBasal;
+            }
+
+            double insulinScheduled = currenttemp.duration * (currenttemp.rate - basal) / 60;
+            if (insulinScheduled >= insulinReq * 2) { // if current temp would deliver >2x more than the required insulin, lower the rate
+                reason += currenttemp.duration + "m@" + toFixed(currenttemp.rate, 2) + " > 2 * insulinReq. Setting temp basal of " + jsNumber(rate) + "U/hr. ";
+                return setTempBasal(rate, 30);
+            }
+
+            if (currenttemp.duration == 0) { // no temp is set
+                reason += "no temp, setting " + jsNumber(rate) + "U/hr. ";
+                return setTempBasal(rate, 30);
+            }
+
+            if (currenttemp.duration > 5 && rate <= currenttemp.rate) { // if required temp <~ existing temp basal
+                reason += "temp " + jsNumber(currenttemp.rate) + " >~ req " + jsNumber(rate) + "U/hr. ";
+                return result();
+            }
+
+            // required temp > existing temp basal
+            reason += "temp " + jsNumber(currenttemp.rate) + "<" + jsNumber(rate) + "U/hr. ";
+            return setTempBasal(rate, 30);
+        }
+    }
+
+    // keep running temp close to basal or set basal as temp
+    private JSONObject keepOrSetBasal(double basal) throws JSONException {
+        if (currentTemp.duration > 15 && basal == currentTemp.rate) {
+            reason += ", temp " + jsNumber(currentTemp.rate) + " ~ req " + jsNumber(basal) + "U/hr. ";
+            return result();
+        } else {
+            reason += "; setting current basal of " + jsNumber(basal) + " as temp. ";
+            return setTempBasal(basal, 30);
+        }
+    }
+
+    // basal-set-temp.js
+
+    private double getMaxSafeBasal() {
+        double maxDailySafetyMultiplier = Double.isNaN(num("max_daily_safety_multiplier")) ? 3 : num("max_daily_safety_multiplier");
+        double currentBasalSafetyMultiplier = Double.isNaN(num("current_basal_safety_multiplier")) ? 4 : num("current_basal_safety_multiplier");
+
+        return Math.min(num("max_basal"), Math.min(maxDailySafetyMultiplier * num("max_daily_basal"), currentBasalSafetyMultiplier * num("current_basal")));
+    }
+
+    private JSONObject setTempBasal(double rate, double duration) throws JSONException {
+        double maxSafeBasal = getMaxSafeBasal();
+
+        if (rate < 0) {
+            rate = 0;
+        } else if (rate > maxSafeBasal) {
+            rate = maxSafeBasal;
+        }
+
+        double suggestedRate = rate;
+        if (currentTemp.duration > (duration - 10) && currentTemp.duration <= 120 && suggestedRate <= currentTemp.rate * 1.2 && suggestedRate >= currentTemp.rate * 0.8 && duration > 0) {
+            reason += " " + currentTemp.duration + "m left and " + jsNumber(currentTemp.rate) + " ~ req " + jsNumber(suggestedRate) + "U/hr: no temp required";
+            return result();
+        }
+
+        if (suggestedRate == num("current_basal")) {
+            if (isTrue("skip_neutral_temps")) {
+                if (currentTemp.duration > 0) {
+                    addReason("Suggested rate is same as profile rate, a temp basal is active, canceling current temp");
+                    rT.put("duration", 0);
+                    rT.put("rate", 0);
+                    return result();
+                } else {
+                    addReason("Suggested rate is same as profile rate, no temp basal is active, doing nothing");
+                    return result();
+                }
+            } else {
+                addReason("Setting neutral temp basal of " + jsNumber(num("current_basal")) + "U/hr");
+                rT.put("duration", duration);
+                rT.put("rate", suggestedRate);
+                return result();
+            }
+        } else {
+            rT.put("duration", duration);
+            rT.put("rate", suggestedRate);
+            return result();
+        }
+    }
+
+    private void addReason(String msg) {
+        reason = (reason != null && !reason.isEmpty() ? reason + ". " : "") + msg;
+        console(msg);
+    }
+
+    private JSONObject result() throws JSONException {
+        rT.put("reason", reason);
+        return rT;
+    }
+
+    // profile access with JS semantics
+
+    private double num(String key) {
+        return profile.optDouble(key, Double.NaN);
+    }
+
+    private boolean truthy(String key) {
+        Object value = profile.opt(key);
+        if (value instanceof Boolean) return (Boolean) value;
+        if (value instanceof Number) return truthy(((Number) value).doubleValue());
+        if (value instanceof String) return !((String) value).isEmpty();
+        return value != null && value != JSONObject.NULL;
+    }
+
+    private boolean isTrue(String key) {
+        return Boolean.TRUE.equals(profile.opt(key));
+    }
+
+    private static boolean truthy(double value) {
+        return value != 0 && !Double.isNaN(value);
+    }
+
+    private String convertBg(double value) {
+        if ("mmol/L".equals(profile.optString("out_units"))) {
+            return toFixed(round(value / 18, 1), 1);
+        } else {
+            return jsNumber(round(value));
+        }
+    }
+
+    private static double calculateExpectedDelta(double targetBg, double eventualBg, double bgi) {
+        // (hours * mins_per_hour) / 5 = how many 5 minute periods in 2h = 24
+        double fiveMinBlocks = (2 * 60) / 5d;
+        double targetDelta = targetBg - eventualBg;
+        return round(bgi + (targetDelta / fiveMinBlocks), 1);
+    }
+
+    private void console(Object... args) {
+        StringBuilder s = new StringBuilder();
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) s.append(' ');
+            Object arg = args[i];
+            if (arg instanceof Double) s.append(jsNumber((Double) arg));
+            else s.append(arg);
+        }
+        if (L.isEnabled(LTag.APS))
+            log.debug(s.toString());
+        scriptDebug.append(s).append('\n');
+    }
+
+    private static void putNumber(JSONObject json, String key, double value) throws JSONException {
+        // JSON.stringify writes NaN as null
+        json.put(key, Double.isNaN(value) || Double.isInfinite(value) ? JSONObject.NULL : value);
+    }
+
+    // JS arithmetic helpers
+
+    // Math.round() of JS, NaN stays NaN
+    static double round(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) return value;
+        return Math.round(value);
+    }
+
+    // round() of determine-basal.js
+    static double round(double value, int digits) {
+        double scale = Math.pow(10, digits);
+        return round(value * scale) / scale;
+    }
+
+    // Number.toString() of JS
+    static String jsNumber(double value) {
+        if (Double.isNaN(value)) return "NaN";
+        if (Double.isInfinite(value)) return value > 0 ? "Infinity" : "-Infinity";
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) return Long.toString((long) value);
+        String s = Double.toString(value);
+        if (s.indexOf('E') >= 0) s = new BigDecimal(s).toPlainString();
+        return s;
+    }
+
+    // Number.toFixed() of JS
+    static String toFixed(double value, int digits) {
+        if (Double.isNaN(value)) return "NaN";
+        String s = new BigDecimal(Math.abs(value)).setScale(digits, RoundingMode.HALF_UP).toPlainString();
+        return value < 0 ? "-" + s : s;
+    }
+
+    private static String jsDate(long time) {
+        return new SimpleDateFormat("EEE MMM dd yyyy HH:mm:ss 'GMT'Z (z)", Locale.US).format(new Date(time));
+    }
+}
@@ -18,6 +18,7 @@ import info.nightscout.androidaps.interfaces.PluginDescription;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.interfaces.PumpInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.aps.loop.APSResult;
 import info.nightscout.androidaps.plugins.aps.loop.ScriptReader;
 import info.nightscout.androidaps.plugins.aps.openAPSMA.events.EventOpenAPSUpdateGui;
@@ -94,7 +95,7 @@ public class OpenAPSSMBPlugin extends PluginBase implements APSInterface, Constr
 
     @Override
     public void invoke(String initiator, boolean tempBasalFallback) {
-        if (L.isEnabled(L.APS))
+        if (L.isEnabled(LTag.APS))
             log.debug("invoke from " + initiator + " tempBasalFallback: " + tempBasalFallback);
         lastAPSResult = null;
         DetermineBasalAdapterSMBJS determineBasalAdapterSMBJS;
@@ -106,21 +107,21 @@ public class OpenAPSSMBPlugin extends PluginBase implements APSInterface, Constr
 
         if (profile == null) {
             RxBus.INSTANCE.send(new EventOpenAPSUpdateResultGui(MainApp.gs(R.string.noprofileselected)));
-            if (L.isEnabled(L.APS))
+            if (L.isEnabled(LTag.APS))
                 log.debug(MainApp.gs(R.string.noprofileselected));
             return;
         }
 
         if (!isEnabled(PluginType.APS)) {
             RxBus.INSTANCE.send(new EventOpenAPSUpdateResultGui(MainApp.gs(R.string.openapsma_disabled)));
-            if (L.isEnabled(L.APS))
+            if (L.isEnabled(LTag.APS))
                 log.debug(MainApp.gs(R.string.openapsma_disabled));
             return;
         }
 
         if (glucoseStatus == null) {
             RxBus.INSTANCE.send(new EventOpenAPSUpdateResultGui(MainApp.gs(R.string.openapsma_noglucosedata)));
-            if (L.isEnabled(L.APS))
+            if (L.isEnabled(LTag.APS))
                 log.debug(MainApp.gs(R.string.openapsma_noglucosedata));
             return;
         }
@@ -139,12 +140,11 @@ public class OpenAPSSMBPlugin extends PluginBase implements APSInterface, Constr
         minBg = Round.roundTo(minBg, 0.1d);
         maxBg = Round.roundTo(maxBg, 0.1d);
 
-        long start = System.currentTimeMillis();
-        long startPart = System.currentTimeMillis();
+        long start = Profiler.start();
+        long startPart = Profiler.start();
 
         MealData mealData = TreatmentsPlugin.getPlugin().getMealData();
-        if (L.isEnabled(L.APS))
-            Profiler.log(log, "getMealData()", startPart);
+        Profiler.trace(Profiler.Stage.MEAL_DATA, startPart, log, LTag.APS);
 
         Constraint<Double> maxIOBAllowedConstraint = MainApp.getConstraintChecker().getMaxIOBAllowed();
         inputConstraints.copyReasons(maxIOBAllowedConstraint);
@@ -175,7 +175,7 @@ public class OpenAPSSMBPlugin extends PluginBase implements APSInterface, Constr
         if (!checkOnlyHardLimits(pump.getBaseBasalRate(), "current_basal", 0.01, HardLimits.maxBasal()))
             return;
 
-        startPart = System.currentTimeMillis();
+        startPart = Profiler.start();
         if (MainApp.getConstraintChecker().isAutosensModeEnabled().value()) {
             AutosensData autosensData = IobCobCalculatorPlugin.getPlugin().getLastAutosensDataSynchronized("OpenAPSPlugin");
             if (autosensData == null) {
@@ -187,12 +187,14 @@ public class OpenAPSSMBPlugin extends PluginBase implements APSInterface, Constr
             lastAutosensResult = new AutosensResult();
             lastAutosensResult.sensResult = "autosens disabled";
         }
+        Profiler.trace(Profiler.Stage.AUTOSENS_WAIT, startPart, log, LTag.APS);
+
+        startPart = Profiler.start();
 
         IobTotal[] iobArray = IobCobCalculatorPlugin.getPlugin().calculateIobArrayForSMB(lastAutosensResult, SMBDefaults.exercise_mode, SMBDefaults.half_basal_exercise_target, isTempTarget);
-        if (L.isEnabled(L.APS))
-            Profiler.log(log, "calculateIobArrayInDia()", startPart);
+        Profiler.trace(Profiler.Stage.IOB_ARRAY, startPart, log, LTag.APS);
 
-        startPart = System.currentTimeMillis();
+        startPart = Profiler.start();
         Constraint<Boolean> smbAllowed = new Constraint<>(!tempBasalFallback);
         MainApp.getConstraintChecker().isSMBModeEnabled(smbAllowed);
         inputConstraints.copyReasons(smbAllowed);
@@ -205,12 +207,10 @@ public class OpenAPSSMBPlugin extends PluginBase implements APSInterface, Constr
         MainApp.getConstraintChecker().isUAMEnabled(uam);
         inputConstraints.copyReasons(uam);
 
-        if (L.isEnabled(L.APS))
-            Profiler.log(log, "detectSensitivityandCarbAbsorption()", startPart);
-        if (L.isEnabled(L.APS))
-            Profiler.log(log, "SMB data gathering", start);
+        Profiler.trace(Profiler.Stage.APS_CONSTRAINTS, startPart, log, LTag.APS);
+        Profiler.trace(Profiler.Stage.APS_DATA, start, log, LTag.APS);
 
-        start = System.currentTimeMillis();
+        start = Profiler.start();
         try {
             determineBasalAdapterSMBJS.setData(profile, maxIob, maxBasal, minBg, maxBg, targetBg, ConfigBuilderPlugin.getPlugin().getActivePump().getBaseBasalRate(), iobArray, glucoseStatus, mealData,
                     lastAutosensResult.ratio, //autosensDataRatio
@@ -227,10 +227,9 @@ public class OpenAPSSMBPlugin extends PluginBase implements APSInterface, Constr
         long now = System.currentTimeMillis();
 
         DetermineBasalResultSMB determineBasalResultSMB = determineBasalAdapterSMBJS.invoke();
-        if (L.isEnabled(L.APS))
-            Profiler.log(log, "SMB calculation", start);
+        Profiler.trace(Profiler.Stage.DETERMINE_BASAL, start, log, LTag.APS);
         if (determineBasalResultSMB == null) {
-            if (L.isEnabled(L.APS))
+            if (L.isEnabled(LTag.APS))
                 log.error("SMB calculation returned null");
             lastDetermineBasalAdapterSMBJS = null;
             lastAPSResult = null;
@@ -0,0 +1,10 @@
+package info.nightscout.androidaps.plugins.bus
+
+/**
+ * Events of annotated class are delivered latest-only: first one immediately,
+ * then at most one per interval (default one UI frame), always ending with the last sent.
+ * Use for progress and refresh events where only current state matters.
+ */
+@Target(AnnotationTarget.CLASS)
+@Retention(AnnotationRetention.RUNTIME)
+annotation class Conflated(val intervalMs: Long = 16)
@@ -4,20 +4,74 @@ import info.nightscout.androidaps.events.Event
 import io.reactivex.Observable
 import io.reactivex.schedulers.Schedulers
 import io.reactivex.subjects.PublishSubject
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicLong
 
 // Use object so we have a singleton instance
 object RxBus {
 
-    private val publisher = PublishSubject.create<Event>()
+    // one subject per subscribed type, send() touches only subscribers of that type
+    private class Channel(eventType: Class<*>) {
+        val subject: PublishSubject<Event> = PublishSubject.create<Event>()
+        val delivered = AtomicLong()
+        val observable: Observable<Event>
+
+        init {
+            val conflated = eventType.getAnnotation(Conflated::class.java)
+            observable =
+                    if (conflated != null)
+                        subject
+                                .throttleLatest(conflated.intervalMs, TimeUnit.MILLISECONDS, Schedulers.computation(), true)
+                                .share()
+                    else subject
+        }
+    }
+
+    private val channels = ConcurrentHashMap<Class<*>, Channel>()
+    // event class -> itself and all supertypes, ofType() matched subclasses too
+    private val hierarchies = ConcurrentHashMap<Class<*>, List<Class<*>>>()
+    private val published = ConcurrentHashMap<Class<*>, AtomicLong>()
 
     fun send(event: Event) {
-        publisher.onNext(event)
+        val eventType = event.javaClass
+        published.getOrPut(eventType) { AtomicLong() }.incrementAndGet()
+        for (type in hierarchies.getOrPut(eventType) { hierarchyOf(eventType) })
+            channels[type]?.subject?.onNext(event)
     }
 
     // Listen should return an Observable and not the publisher
-    // Using ofType we filter only events that match that class type
-    fun <T> toObservable(eventType: Class<T>): Observable<T> =
-            publisher
-                    .subscribeOn(Schedulers.io())
-                    .ofType(eventType)
+    fun <T> toObservable(eventType: Class<T>): Observable<T> {
+        val channel = channels.getOrPut(eventType) { Channel(eventType) }
+        return channel.observable
+                .subscribeOn(Schedulers.io())
+                .doOnNext { channel.delivered.incrementAndGet() }
+                .cast(eventType)
+    }
+
+    /**
+     * Sent and delivered (to all subscribers, after conflation) events per type
+     */
+    fun statistics(): String {
+        val sb = StringBuilder()
+        val types = published.keys + channels.keys
+        for (type in types.sortedBy { it.simpleName })
+            sb.append(type.simpleName)
+                    .append(": sent=").append(published[type]?.get() ?: 0)
+                    .append(" delivered=").append(channels[type]?.delivered?.get() ?: 0)
+                    .append(if (type.isAnnotationPresent(Conflated::class.java)) " conflated" else "")
+                    .append("\n")
+        return sb.toString()
+    }
+
+    private fun hierarchyOf(eventType: Class<*>): List<Class<*>> {
+        val hierarchy = ArrayList<Class<*>>()
+        var type: Class<*>? = eventType
+        while (type != null) {
+            hierarchy.add(type)
+            hierarchy.addAll(type.interfaces)
+            type = type.superclass
+        }
+        return hierarchy
+    }
 }
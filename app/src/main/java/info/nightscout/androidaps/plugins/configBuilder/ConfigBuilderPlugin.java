@@ -20,6 +20,7 @@ import info.nightscout.androidaps.interfaces.ProfileInterface;
 import info.nightscout.androidaps.interfaces.PumpInterface;
 import info.nightscout.androidaps.interfaces.SensitivityInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.insulin.InsulinOrefRapidActingPlugin;
 import info.nightscout.androidaps.plugins.profile.ns.NSProfilePlugin;
@@ -95,7 +96,7 @@ public class ConfigBuilderPlugin extends PluginBase {
 
     public void storeSettings(String from) {
         if (pluginList != null) {
-            if (L.isEnabled(L.CONFIGBUILDER))
+            if (L.isEnabled(LTag.CONFIGBUILDER))
                 log.debug("Storing settings from: " + from);
 
             verifySelectionInCategories();
@@ -119,18 +120,18 @@ public class ConfigBuilderPlugin extends PluginBase {
     private void savePref(PluginBase p, PluginType type, boolean storeVisible) {
         String settingEnabled = "ConfigBuilder_" + type.name() + "_" + p.getClass().getSimpleName() + "_Enabled";
         SP.putBoolean(settingEnabled, p.isEnabled(type));
-        if (L.isEnabled(L.CONFIGBUILDER))
+        if (L.isEnabled(LTag.CONFIGBUILDER))
             log.debug("Storing: " + settingEnabled + ":" + p.isEnabled(type));
         if (storeVisible) {
             String settingVisible = "ConfigBuilder_" + type.name() + "_" + p.getClass().getSimpleName() + "_Visible";
             SP.putBoolean(settingVisible, p.isFragmentVisible());
-            if (L.isEnabled(L.CONFIGBUILDER))
+            if (L.isEnabled(LTag.CONFIGBUILDER))
                 log.debug("Storing: " + settingVisible + ":" + p.isFragmentVisible());
         }
     }
 
     private void loadSettings() {
-        if (L.isEnabled(L.CONFIGBUILDER))
+        if (L.isEnabled(LTag.CONFIGBUILDER))
             log.debug("Loading stored settings");
         for (PluginBase p : pluginList) {
             PluginType type = p.getType();
@@ -151,7 +152,7 @@ public class ConfigBuilderPlugin extends PluginBase {
         else if (p.getType() == type && (p.pluginDescription.enableByDefault || p.pluginDescription.alwaysEnabled)) {
             p.setPluginEnabled(type, true);
         }
-        if (L.isEnabled(L.CONFIGBUILDER))
+        if (L.isEnabled(LTag.CONFIGBUILDER))
             log.debug("Loaded: " + settingEnabled + ":" + p.isEnabled(type));
         if (loadVisible) {
             String settingVisible = "ConfigBuilder_" + type.name() + "_" + p.getClass().getSimpleName() + "_Visible";
@@ -160,7 +161,7 @@ public class ConfigBuilderPlugin extends PluginBase {
             else if (p.getType() == type && p.pluginDescription.visibleByDefault) {
                 p.setFragmentVisible(type, true);
             }
-            if (L.isEnabled(L.CONFIGBUILDER))
+            if (L.isEnabled(LTag.CONFIGBUILDER))
                 log.debug("Loaded: " + settingVisible + ":" + p.isFragmentVisible());
         }
     }
@@ -169,10 +170,10 @@ public class ConfigBuilderPlugin extends PluginBase {
     private void upgradeSettings() {
         if (!SP.contains("ConfigBuilder_1_NSProfilePlugin_Enabled"))
             return;
-        if (L.isEnabled(L.CONFIGBUILDER))
+        if (L.isEnabled(LTag.CONFIGBUILDER))
             log.debug("Upgrading stored settings");
         for (PluginBase p : pluginList) {
-            if (L.isEnabled(L.CONFIGBUILDER))
+            if (L.isEnabled(LTag.CONFIGBUILDER))
                 log.debug("Processing " + p.getName());
             for (int type = 1; type < 11; type++) {
                 PluginType newType;
@@ -263,7 +264,7 @@ public class ConfigBuilderPlugin extends PluginBase {
     }
 
     public void logPluginStatus() {
-        if (L.isEnabled(L.CONFIGBUILDER))
+        if (L.isEnabled(LTag.CONFIGBUILDER))
             for (PluginBase p : pluginList) {
                 log.debug(p.getName() + ":" +
                         (p.isEnabled(PluginType.GENERAL) ? " GENERAL" : "") +
@@ -292,7 +293,7 @@ public class ConfigBuilderPlugin extends PluginBase {
         if (activeInsulin == null) {
             activeInsulin = InsulinOrefRapidActingPlugin.getPlugin();
             InsulinOrefRapidActingPlugin.getPlugin().setPluginEnabled(PluginType.INSULIN, true);
-            if (L.isEnabled(L.CONFIGBUILDER))
+            if (L.isEnabled(LTag.CONFIGBUILDER))
                 log.debug("Defaulting InsulinOrefRapidActingPlugin");
         }
         this.setFragmentVisiblities(((PluginBase) activeInsulin).getName(), pluginsInCategory, PluginType.INSULIN);
@@ -303,7 +304,7 @@ public class ConfigBuilderPlugin extends PluginBase {
         if (activeSensitivity == null) {
             activeSensitivity = SensitivityOref0Plugin.getPlugin();
             SensitivityOref0Plugin.getPlugin().setPluginEnabled(PluginType.SENSITIVITY, true);
-            if (L.isEnabled(L.CONFIGBUILDER))
+            if (L.isEnabled(LTag.CONFIGBUILDER))
                 log.debug("Defaulting SensitivityOref0Plugin");
         }
         this.setFragmentVisiblities(((PluginBase) activeSensitivity).getName(), pluginsInCategory, PluginType.SENSITIVITY);
@@ -320,7 +321,7 @@ public class ConfigBuilderPlugin extends PluginBase {
         if (activePump == null) {
             activePump = VirtualPumpPlugin.getPlugin();
             VirtualPumpPlugin.getPlugin().setPluginEnabled(PluginType.PUMP, true);
-            if (L.isEnabled(L.CONFIGBUILDER))
+            if (L.isEnabled(LTag.CONFIGBUILDER))
                 log.debug("Defaulting VirtualPumpPlugin");
         }
         this.setFragmentVisiblities(((PluginBase) activePump).getName(), pluginsInCategory, PluginType.PUMP);
@@ -379,7 +380,7 @@ public class ConfigBuilderPlugin extends PluginBase {
 
     private void setFragmentVisiblities(String activePluginName, ArrayList<PluginBase> pluginsInCategory,
                                         PluginType pluginType) {
-        if (L.isEnabled(L.CONFIGBUILDER))
+        if (L.isEnabled(LTag.CONFIGBUILDER))
             log.debug("Selected interface: " + activePluginName);
         for (PluginBase p : pluginsInCategory) {
             if (!p.getName().equals(activePluginName)) {
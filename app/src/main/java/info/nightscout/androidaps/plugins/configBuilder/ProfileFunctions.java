@@ -10,6 +10,8 @@ import com.google.firebase.analytics.FirebaseAnalytics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import info.nightscout.androidaps.BuildConfig;
 import info.nightscout.androidaps.Constants;
 import info.nightscout.androidaps.MainApp;
@@ -18,11 +20,14 @@ import info.nightscout.androidaps.data.Profile;
 import info.nightscout.androidaps.data.ProfileStore;
 import info.nightscout.androidaps.db.ProfileSwitch;
 import info.nightscout.androidaps.db.Source;
+import info.nightscout.androidaps.events.EventConfigBuilderChange;
 import info.nightscout.androidaps.events.EventNewBasalProfile;
 import info.nightscout.androidaps.events.EventProfileNeedsUpdate;
+import info.nightscout.androidaps.events.EventProfileStoreChanged;
 import info.nightscout.androidaps.interfaces.ProfileInterface;
 import info.nightscout.androidaps.interfaces.TreatmentsInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.general.overview.dialogs.ErrorHelperActivity;
 import info.nightscout.androidaps.plugins.treatments.TreatmentsPlugin;
@@ -38,6 +43,10 @@ public class ProfileFunctions {
 
     private static ProfileFunctions profileFunctions = null;
 
+    // profile resolved for all profile switches, rebuilt on first use after invalidation
+    private final AtomicInteger timelineVersion = new AtomicInteger();
+    private volatile ProfileTimeline timeline = null;
+
     public static ProfileFunctions getInstance() {
         if (profileFunctions == null)
             profileFunctions = new ProfileFunctions();
@@ -49,11 +58,24 @@ public class ProfileFunctions {
     }
 
     private ProfileFunctions() {
+        // invalidate on sender thread to never serve old profile after event
+        disposable.add(RxBus.INSTANCE
+                .toObservable(EventProfileStoreChanged.class)
+                .subscribe(event -> invalidateProfileCache("EventProfileStoreChanged"), FabricPrivacy::logException)
+        );
+        disposable.add(RxBus.INSTANCE
+                .toObservable(EventNewBasalProfile.class)
+                .subscribe(event -> invalidateProfileCache("EventNewBasalProfile"), FabricPrivacy::logException)
+        );
+        disposable.add(RxBus.INSTANCE
+                .toObservable(EventConfigBuilderChange.class)
+                .subscribe(event -> invalidateProfileCache("EventConfigBuilderChange"), FabricPrivacy::logException)
+        );
         disposable.add(RxBus.INSTANCE
                 .toObservable(EventProfileNeedsUpdate.class)
                 .observeOn(Schedulers.io())
                 .subscribe(event -> {
-                    if (L.isEnabled(L.PROFILE))
+                    if (L.isEnabled(LTag.PROFILE))
                         log.debug("onProfileSwitch");
                     ConfigBuilderPlugin.getPlugin().getCommandQueue().setProfile(getProfile(), new Callback() {
                         @Override
@@ -121,8 +143,55 @@ public class ProfileFunctions {
         return profile != null ? profile.getUnits() : Constants.MGDL;
     }
 
+    /**
+     * Called when profile switches or profile store is changed
+     */
+    public void invalidateProfileCache(String from) {
+        timelineVersion.incrementAndGet();
+        timeline = null;
+        if (L.isEnabled(LTag.PROFILE))
+            log.debug("Profile cache invalidated: " + from);
+    }
+
+    @Nullable
+    private ProfileTimeline getTimeline() {
+        ProfileTimeline current = timeline;
+        int version = timelineVersion.get();
+        if (current != null && current.version == version)
+            return current;
+        ConfigBuilderPlugin configBuilder = ConfigBuilderPlugin.getPlugin();
+        if (configBuilder == null || configBuilder.getActiveProfileInterface() == null)
+            return null;
+        ProfileTimeline built = new ProfileTimeline(version, TreatmentsPlugin.getPlugin().getProfileSwitchesFromHistory(), configBuilder.getActiveProfileInterface().getProfile());
+        // don't publish if invalidated while building
+        if (timelineVersion.get() == version)
+            timeline = built;
+        return built;
+    }
+
+    /**
+     * Returns first time after time where profile can be different.
+     * Loops over time can reuse profile returned by getProfile(time) until this time
+     */
+    public long getProfileEnd(long time) {
+        ProfileTimeline current = getTimeline();
+        return current != null ? current.getEnd(time) : time + 1;
+    }
+
     @Nullable
     public Profile getProfile(long time) {
+        ProfileTimeline current = getTimeline();
+        if (current != null) {
+            Profile profile = current.getProfile(time);
+            if (profile != null)
+                return profile;
+        }
+        // not resolved, go the long way and report it
+        return getProfileFromHistory(time);
+    }
+
+    @Nullable
+    private Profile getProfileFromHistory(long time) {
         TreatmentsInterface activeTreatments = TreatmentsPlugin.getPlugin();
         ProfileInterface activeProfile = ConfigBuilderPlugin.getPlugin().getActiveProfileInterface();
 
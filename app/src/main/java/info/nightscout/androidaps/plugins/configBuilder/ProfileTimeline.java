@@ -0,0 +1,92 @@
+package info.nightscout.androidaps.plugins.configBuilder;
+
+import androidx.annotation.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+
+import info.nightscout.androidaps.data.Profile;
+import info.nightscout.androidaps.data.ProfileIntervals;
+import info.nightscout.androidaps.data.ProfileStore;
+import info.nightscout.androidaps.db.ProfileSwitch;
+
+/**
+ * Profile resolved for whole history of profile switches
+ * <p>
+ * Result of ProfileIntervals.getValueToTime() can change only at start or after end
+ * of some switch, so it's evaluated once for every such segment.
+ * Instances are immutable, lookup is binary search without locking
+ */
+
+class ProfileTimeline {
+    final int version;
+
+    // segment i covers [starts[i], starts[i + 1]), first segment starts at Long.MIN_VALUE
+    private final long[] starts;
+    private final Profile[] profiles;
+    private final int size;
+
+    ProfileTimeline(int version, ProfileIntervals<ProfileSwitch> switches, @Nullable ProfileStore store) {
+        this.version = version;
+        List<ProfileSwitch> list = switches.getList();
+        long[] breakpoints = new long[list.size() * 2 + 1];
+        int count = 0;
+        breakpoints[count++] = Long.MIN_VALUE;
+        for (ProfileSwitch ps : list) {
+            breakpoints[count++] = ps.start();
+            // end is inclusive
+            breakpoints[count++] = ps.end() + 1;
+        }
+        Arrays.sort(breakpoints, 0, count);
+        starts = new long[count];
+        profiles = new Profile[count];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && breakpoints[i] == breakpoints[i - 1]) continue;
+            Profile profile = resolve((ProfileSwitch) switches.getValueToTime(breakpoints[i]), store);
+            // join neighbours with the same profile
+            if (size > 0 && profiles[size - 1] == profile) continue;
+            starts[size] = breakpoints[i];
+            profiles[size] = profile;
+            size++;
+        }
+        this.size = size;
+    }
+
+    @Nullable
+    static Profile resolve(@Nullable ProfileSwitch profileSwitch, @Nullable ProfileStore store) {
+        if (profileSwitch == null)
+            return null;
+        if (profileSwitch.profileJson != null)
+            return profileSwitch.getProfileObject();
+        if (store != null)
+            return store.getSpecificProfile(profileSwitch.profileName);
+        return null;
+    }
+
+    private int indexOf(long time) {
+        int low = 0;
+        int high = size - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (starts[mid] <= time)
+                low = mid;
+            else
+                high = mid - 1;
+        }
+        return low;
+    }
+
+    @Nullable
+    Profile getProfile(long time) {
+        return profiles[indexOf(time)];
+    }
+
+    /**
+     * @return first time after time where profile may be different, Long.MAX_VALUE if never
+     */
+    long getEnd(long time) {
+        int index = indexOf(time);
+        return index + 1 < size ? starts[index + 1] : Long.MAX_VALUE;
+    }
+}
@@ -17,6 +17,7 @@ import info.nightscout.androidaps.interfaces.PluginBase;
 import info.nightscout.androidaps.interfaces.PluginDescription;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.general.overview.events.EventDismissNotification;
 import info.nightscout.androidaps.plugins.general.overview.events.EventNewNotification;
@@ -52,7 +53,7 @@ public class StorageConstraintPlugin extends PluginBase implements ConstraintsIn
     @Override
     public Constraint<Boolean> isClosedLoopAllowed(Constraint<Boolean> value) {
         long diskfree = getAvailableInternalMemorySize();
-        if (L.isEnabled(L.CONSTRAINTS))
+        if (L.isEnabled(LTag.CONSTRAINTS))
             log.debug("Internal storage free (Mb):" + diskfree);
         if (diskfree < Constants.MINIMUM_FREE_SPACE) {
             value.set(false, MainApp.gs(R.string.diskfull, Constants.MINIMUM_FREE_SPACE), this);
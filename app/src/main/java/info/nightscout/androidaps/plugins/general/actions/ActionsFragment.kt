@@ -34,6 +34,7 @@ import java.util.*
 class ActionsFragment : Fragment() {
 
     private var disposable: CompositeDisposable = CompositeDisposable()
+    private val guiRefresh = GuiRefresh.bindOnly("Actions") { updateGui() }
 
     private val pumpCustomActions = HashMap<String, CustomAction>()
     private val pumpCustomButtons = ArrayList<SingleClickButton>()
@@ -98,7 +99,7 @@ class ActionsFragment : Fragment() {
                 .toObservable(EventInitializationChanged::class.java)
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe({
-                    updateGui()
+                    guiRefresh.request("EventInitializationChanged")
                 }, {
                     FabricPrivacy.logException(it)
                 })
@@ -106,7 +107,7 @@ class ActionsFragment : Fragment() {
                 .toObservable(EventRefreshOverview::class.java)
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe({
-                    updateGui()
+                    guiRefresh.request("EventRefreshOverview")
                 }, {
                     FabricPrivacy.logException(it)
                 })
@@ -114,7 +115,7 @@ class ActionsFragment : Fragment() {
                 .toObservable(EventExtendedBolusChange::class.java)
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe({
-                    updateGui()
+                    guiRefresh.request("EventExtendedBolusChange")
                 }, {
                     FabricPrivacy.logException(it)
                 })
@@ -122,7 +123,7 @@ class ActionsFragment : Fragment() {
                 .toObservable(EventTempBasalChange::class.java)
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe({
-                    updateGui()
+                    guiRefresh.request("EventTempBasalChange")
                 }, {
                     FabricPrivacy.logException(it)
                 })
@@ -130,17 +131,18 @@ class ActionsFragment : Fragment() {
                 .toObservable(EventCustomActionsChanged::class.java)
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe({
-                    updateGui()
+                    guiRefresh.request("EventCustomActionsChanged")
                 }, {
                     FabricPrivacy.logException(it)
                 })
-        updateGui()
+        guiRefresh.resume()
     }
 
     @Synchronized
     override fun onPause() {
         super.onPause()
         disposable.clear()
+        guiRefresh.pause()
     }
 
     @Synchronized
@@ -13,6 +13,7 @@ import info.nightscout.androidaps.interfaces.PluginBase
 import info.nightscout.androidaps.interfaces.PluginDescription
 import info.nightscout.androidaps.interfaces.PluginType
 import info.nightscout.androidaps.logging.L
+import info.nightscout.androidaps.logging.LTag
 import info.nightscout.androidaps.plugins.aps.loop.LoopPlugin
 import info.nightscout.androidaps.plugins.bus.RxBus
 import info.nightscout.androidaps.plugins.general.automation.actions.*
@@ -162,12 +163,12 @@ object AutomationPlugin : PluginBase(PluginDescription()
         if (!isEnabled(PluginType.GENERAL))
             return
         if (LoopPlugin.getPlugin().isSuspended) {
-            if (L.isEnabled(L.AUTOMATION))
+            if (L.isEnabled(LTag.AUTOMATION))
                 log.debug("Loop deactivated")
             return
         }
 
-        if (L.isEnabled(L.AUTOMATION))
+        if (L.isEnabled(LTag.AUTOMATION))
             log.debug("processActions")
         for (event in automationEvents) {
             if (event.isEnabled && event.trigger.shouldRun() && event.preconditions.shouldRun()) {
@@ -186,7 +187,7 @@ object AutomationPlugin : PluginBase(PluginDescription()
                             sb.append(": ")
                             sb.append(result.comment)
                             executionLog.add(sb.toString())
-                            if (L.isEnabled(L.AUTOMATION))
+                            if (L.isEnabled(LTag.AUTOMATION))
                                 log.debug("Executed: $sb")
                             RxBus.send(EventAutomationUpdateGui())
                         }
@@ -15,6 +15,7 @@ import info.nightscout.androidaps.data.ProfileStore;
 import info.nightscout.androidaps.data.PumpEnactResult;
 import info.nightscout.androidaps.interfaces.ProfileInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
 import info.nightscout.androidaps.plugins.configBuilder.ProfileFunctions;
 import info.nightscout.androidaps.plugins.general.automation.elements.InputProfileName;
@@ -61,7 +62,7 @@ public class ActionProfileSwitch extends Action {
         ProfileStore profileStore = activeProfile.getProfile();
         if (profileStore == null) return;
         if(profileStore.getSpecificProfile(profileName) == null) {
-            if (L.isEnabled(L.AUTOMATION))
+            if (L.isEnabled(LTag.AUTOMATION))
                 log.error("Selected profile does not exist! - "+ profileName);
             return;
         }
@@ -17,6 +17,7 @@ import java.text.DecimalFormat;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.general.automation.elements.Comparator;
 import info.nightscout.androidaps.plugins.general.automation.elements.InputDouble;
 import info.nightscout.androidaps.plugins.general.automation.elements.LabelWithElement;
@@ -71,7 +72,7 @@ public class TriggerAutosensValue extends Trigger {
 
         boolean doRun = comparator.getValue().check((autosensData.autosensResult.ratio), getValue() / 100d);
         if (doRun) {
-            if (L.isEnabled(L.AUTOMATION))
+            if (L.isEnabled(LTag.AUTOMATION))
                 log.debug("Ready for execution: " + friendlyDescription());
             return true;
         }
@@ -16,6 +16,7 @@ import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.data.Profile;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.general.automation.elements.Comparator;
 import info.nightscout.androidaps.plugins.general.automation.elements.InputBg;
 import info.nightscout.androidaps.plugins.general.automation.elements.LabelWithElement;
@@ -64,30 +65,30 @@ public class TriggerBg extends Trigger {
         GlucoseStatus glucoseStatus = GlucoseStatus.getGlucoseStatusData();
 
         if (lastRun > DateUtil.now() - T.mins(5).msecs()) {
-            if (L.isEnabled(L.AUTOMATION))
+            if (L.isEnabled(LTag.AUTOMATION))
                 log.debug("NOT ready for execution: " + friendlyDescription());
             return false;
         }
 
         if (glucoseStatus == null && comparator.getValue().equals(Comparator.Compare.IS_NOT_AVAILABLE)) {
-            if (L.isEnabled(L.AUTOMATION))
+            if (L.isEnabled(LTag.AUTOMATION))
                 log.debug("Ready for execution: " + friendlyDescription());
             return true;
         }
         if (glucoseStatus == null) {
-            if (L.isEnabled(L.AUTOMATION))
+            if (L.isEnabled(LTag.AUTOMATION))
                 log.debug("NOT ready for execution: " + friendlyDescription());
             return false;
         }
 
         boolean doRun = comparator.getValue().check(glucoseStatus.glucose, Profile.toMgdl(bg.getValue(), bg.getUnits()));
         if (doRun) {
-            if (L.isEnabled(L.AUTOMATION))
+            if (L.isEnabled(LTag.AUTOMATION))
                 log.debug("Ready for execution: " + friendlyDescription());
             return true;
         }
 
-        if (L.isEnabled(L.AUTOMATION))
+        if (L.isEnabled(LTag.AUTOMATION))
             log.debug("NOT ready for execution: " + friendlyDescription());
         return false;
     }
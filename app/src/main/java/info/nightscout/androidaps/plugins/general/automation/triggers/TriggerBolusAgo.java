@@ -14,6 +14,7 @@ import org.slf4j.LoggerFactory;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.general.automation.elements.Comparator;
 import info.nightscout.androidaps.plugins.general.automation.elements.InputDuration;
 import info.nightscout.androidaps.plugins.general.automation.elements.LabelWithElement;
@@ -63,12 +64,12 @@ public class TriggerBolusAgo extends Trigger {
                 return false;
 
         double minutesAgo = (double) (DateUtil.now() - lastBolusTime) / (60 * 1000);
-        if (L.isEnabled(L.AUTOMATION))
+        if (L.isEnabled(LTag.AUTOMATION))
             log.debug("LastBolus min ago: " + minutesAgo);
 
         boolean doRun = comparator.getValue().check((minutesAgo), getValue());
         if (doRun) {
-            if (L.isEnabled(L.AUTOMATION))
+            if (L.isEnabled(LTag.AUTOMATION))
                 log.debug("Ready for execution: " + friendlyDescription());
             return true;
         }
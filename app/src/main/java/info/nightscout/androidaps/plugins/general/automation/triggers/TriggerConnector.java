@@ -22,6 +22,7 @@ import java.util.List;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.general.automation.dialogs.TriggerListAdapter;
 import info.nightscout.androidaps.utils.JsonHelper;
 
@@ -142,7 +143,7 @@ public class TriggerConnector extends Trigger {
             result = connectorType.apply(result, list.get(i).shouldRun());
         }
         if (result)
-            if (L.isEnabled(L.AUTOMATION))
+            if (L.isEnabled(LTag.AUTOMATION))
                 log.debug("Ready for execution: " + friendlyDescription().replace("\n", " "));
 
         return result;
@@ -17,6 +17,7 @@ import java.text.DecimalFormat;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.general.automation.elements.InputButton;
 import info.nightscout.androidaps.plugins.general.automation.elements.InputDouble;
 import info.nightscout.androidaps.plugins.general.automation.elements.InputString;
@@ -73,7 +74,7 @@ public class TriggerLocation extends Trigger {
         double calculatedDistance = location.distanceTo(a);
 
         if (calculatedDistance < distance.getValue()) {
-            if (L.isEnabled(L.AUTOMATION))
+            if (L.isEnabled(LTag.AUTOMATION))
                 log.debug("Ready for execution: " + friendlyDescription());
             return true;
         }
@@ -14,6 +14,7 @@ import org.slf4j.LoggerFactory;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
 import info.nightscout.androidaps.plugins.general.automation.elements.Comparator;
 import info.nightscout.androidaps.plugins.general.automation.elements.InputDuration;
@@ -59,12 +60,12 @@ public class TriggerPumpLastConnection extends Trigger {
             return true;
 
         double minutesAgo = (double) (DateUtil.now() - lastConnection) / (60 * 1000);
-        if (L.isEnabled(L.AUTOMATION))
+        if (L.isEnabled(LTag.AUTOMATION))
             log.debug("Last connection min ago: " + minutesAgo);
 
         boolean doRun = comparator.getValue().check((minutesAgo), getValue());
         if (doRun) {
-            if (L.isEnabled(L.AUTOMATION))
+            if (L.isEnabled(LTag.AUTOMATION))
                 log.debug("Ready for execution: " + friendlyDescription());
             return true;
         }
@@ -29,6 +29,7 @@ import java.util.Objects;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.utils.DateUtil;
 import info.nightscout.androidaps.utils.JsonHelper;
 import info.nightscout.androidaps.utils.T;
@@ -139,7 +140,7 @@ public class TriggerRecurringTime extends Trigger {
         if (isSet(Objects.requireNonNull(DayOfWeek.fromCalendarInt(scheduledDayOfWeek)))) {
             if (DateUtil.now() >= scheduled && DateUtil.now() - scheduled < T.mins(5).msecs()) {
                 if (lastRun < scheduled) {
-                    if (L.isEnabled(L.AUTOMATION))
+                    if (L.isEnabled(LTag.AUTOMATION))
                         log.debug("Ready for execution: " + friendlyDescription());
                     return true;
                 }
@@ -24,6 +24,7 @@ import java.util.GregorianCalendar;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.utils.DateUtil;
 import info.nightscout.androidaps.utils.JsonHelper;
 import info.nightscout.androidaps.utils.T;
@@ -48,7 +49,7 @@ public class TriggerTime extends Trigger {
         long now = DateUtil.now();
         if (now >= runAt && now - runAt < T.mins(5).msecs())
             if (lastRun < runAt) {
-                if (L.isEnabled(L.AUTOMATION))
+                if (L.isEnabled(LTag.AUTOMATION))
                     log.debug("Ready for execution: " + friendlyDescription());
                 return true;
             }
@@ -28,12 +28,14 @@ import info.nightscout.androidaps.plugins.general.careportal.Dialogs.NewNSTreatm
 import info.nightscout.androidaps.plugins.general.nsclient.data.NSSettingsStatus;
 import info.nightscout.androidaps.plugins.general.overview.OverviewFragment;
 import info.nightscout.androidaps.utils.FabricPrivacy;
+import info.nightscout.androidaps.utils.GuiRefresh;
 import io.reactivex.android.schedulers.AndroidSchedulers;
 import io.reactivex.disposables.CompositeDisposable;
 
 public class CareportalFragment extends Fragment implements View.OnClickListener {
     private static Logger log = LoggerFactory.getLogger(CareportalFragment.class);
     private CompositeDisposable disposable = new CompositeDisposable();
+    private final GuiRefresh<Void> guiRefresh = GuiRefresh.bindOnly("Careportal", this::updateGUI);
 
     TextView iage;
     TextView cage;
@@ -124,15 +126,16 @@ public class CareportalFragment extends Fragment implements View.OnClickListener
         disposable.add(RxBus.INSTANCE
                 .toObservable(EventCareportalEventChange.class)
                 .observeOn(AndroidSchedulers.mainThread())
-                .subscribe(event -> updateGUI(), FabricPrivacy::logException)
+                .subscribe(event -> guiRefresh.request("EventCareportalEventChange"), FabricPrivacy::logException)
         );
-        updateGUI();
+        guiRefresh.resume();
     }
 
     @Override
     public synchronized void onPause() {
         super.onPause();
         disposable.clear();
+        guiRefresh.pause();
     }
 
     @Override
@@ -34,6 +34,7 @@ import info.nightscout.androidaps.events.Event;
 import info.nightscout.androidaps.events.EventFoodDatabaseChanged;
 import info.nightscout.androidaps.events.EventNsFood;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.utils.FabricPrivacy;
 import io.reactivex.disposables.CompositeDisposable;
@@ -115,7 +116,7 @@ public class FoodService extends OrmLiteBaseService<DatabaseHelper> {
     public void onCreate() {
         super.onCreate();
         try {
-            if (L.isEnabled(L.DATAFOOD))
+            if (L.isEnabled(LTag.DATAFOOD))
                 log.info("onCreate");
             TableUtils.createTableIfNotExists(this.getConnectionSource(), Food.class);
         } catch (SQLException e) {
@@ -125,7 +126,7 @@ public class FoodService extends OrmLiteBaseService<DatabaseHelper> {
     }
 
     public void onUpgrade(ConnectionSource connectionSource, int oldVersion, int newVersion) {
-        if (L.isEnabled(L.DATAFOOD))
+        if (L.isEnabled(LTag.DATAFOOD))
             log.info("onUpgrade");
 //            this.resetFood();
     }
@@ -164,7 +165,7 @@ public class FoodService extends OrmLiteBaseService<DatabaseHelper> {
 
         class PostRunnable implements Runnable {
             public void run() {
-                if (L.isEnabled(L.DATAFOOD))
+                if (L.isEnabled(LTag.DATAFOOD))
                     log.debug("Firing EventFoodChange");
                 RxBus.INSTANCE.send(event);
                 callback.setPost(null);
@@ -275,7 +276,7 @@ public class FoodService extends OrmLiteBaseService<DatabaseHelper> {
     public void deleteByNSId(String _id) throws SQLException {
         Food stored = this.findByNSId(_id);
         if (stored != null) {
-            if (L.isEnabled(L.DATAFOOD))
+            if (L.isEnabled(LTag.DATAFOOD))
                 log.debug("Removing Food record from database: " + stored.toString());
             this.delete(stored);
         }
@@ -329,7 +330,7 @@ public class FoodService extends OrmLiteBaseService<DatabaseHelper> {
     public void createOrUpdate(Food food) {
         try {
             this.getDao().createOrUpdate(food);
-            if (L.isEnabled(L.DATAFOOD))
+            if (L.isEnabled(LTag.DATAFOOD))
                 log.debug("Created or Updated: " + food.toString());
         } catch (SQLException e) {
             log.error("Unable to createOrUpdate Food", e);
@@ -340,7 +341,7 @@ public class FoodService extends OrmLiteBaseService<DatabaseHelper> {
     public void create(Food food) {
         try {
             this.getDao().create(food);
-            if (L.isEnabled(L.DATAFOOD))
+            if (L.isEnabled(LTag.DATAFOOD))
                 log.debug("New record: " + food.toString());
         } catch (SQLException e) {
             log.error("Unable to create Food", e);
@@ -3,6 +3,7 @@ package info.nightscout.androidaps.plugins.general.maintenance;
 import android.content.Context;
 import android.content.Intent;
 import android.net.Uri;
+import android.os.Build;
 import androidx.core.content.FileProvider;
 
 import org.slf4j.Logger;
@@ -13,7 +14,9 @@ import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.FileWriter;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
@@ -28,7 +31,10 @@ import info.nightscout.androidaps.interfaces.PluginBase;
 import info.nightscout.androidaps.interfaces.PluginDescription;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.general.nsclient.data.NSSettingsStatus;
+import info.nightscout.androidaps.utils.GuiRefresh;
+import info.nightscout.androidaps.utils.Profiler;
 import info.nightscout.androidaps.utils.SP;
 
 public class MaintenancePlugin extends PluginBase {
@@ -77,13 +83,20 @@ public class MaintenancePlugin extends PluginBase {
         int amount = SP.getInt(R.string.key_maintenance_logs_amount, 2);
 
         String logDirectory = LoggerUtils.getLogDirectory();
-        List<File> logs = this.getLogfiles(logDirectory, amount);
+        List<File> logs = new ArrayList<>(this.getLogfiles(logDirectory, amount));
 
         File zipDir = this.ctx.getExternalFilesDir("exports");
         File zipFile = new File(zipDir, this.constructName());
 
+        // trace is only needed inside of zip
+        File traceFile = this.exportTrace(new File(this.ctx.getCacheDir(), "AndroidAPS_TRACE_" + new Date().getTime() + ".txt"));
+        if (traceFile != null)
+            logs.add(traceFile);
+
         LOG.debug("zipFile: {}", zipFile.getAbsolutePath());
         File zip = this.zipLogs(zipFile, logs);
+        if (traceFile != null)
+            traceFile.delete();
 
         Uri attachementUri = FileProvider.getUriForFile(this.ctx, BuildConfig.APPLICATION_ID + ".fileprovider", zip);
         Intent emailIntent = this.sendMail(attachementUri, recipient, "Log Export");
@@ -157,6 +170,29 @@ public class MaintenancePlugin extends PluginBase {
         return result.subList(0, toIndex);
     }
 
+    /**
+     * writes loop cycle stage latencies and recent spans collected by Profiler,
+     * event and GUI refresh statistics
+     *
+     * @param file
+     * @return file or null if it cannot be written
+     */
+    public File exportTrace(File file) {
+        LOG.debug("exporting trace {}", file.getAbsolutePath());
+        try (FileWriter writer = new FileWriter(file)) {
+            writer.write("Device: " + Build.MANUFACTURER + " " + Build.MODEL + " Android " + Build.VERSION.RELEASE + System.lineSeparator());
+            writer.write(Profiler.export());
+            writer.write(System.lineSeparator() + "Events:" + System.lineSeparator());
+            writer.write(RxBus.INSTANCE.statistics());
+            writer.write(System.lineSeparator() + "GUI refresh:" + System.lineSeparator());
+            writer.write(GuiRefresh.export());
+            return file;
+        } catch (IOException e) {
+            LOG.error("Cannot export trace", e);
+            return null;
+        }
+    }
+
     public File zipLogs(File zipFile, List<File> files) {
         LOG.debug("creating zip {}", zipFile.getAbsolutePath());
 
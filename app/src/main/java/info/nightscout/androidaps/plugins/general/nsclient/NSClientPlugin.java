@@ -28,6 +28,7 @@ import info.nightscout.androidaps.interfaces.PluginBase;
 import info.nightscout.androidaps.interfaces.PluginDescription;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.general.nsclient.events.EventNSClientNewLog;
 import info.nightscout.androidaps.plugins.general.nsclient.events.EventNSClientStatus;
@@ -138,7 +139,7 @@ public class NSClientPlugin extends PluginBase {
                 .observeOn(Schedulers.io())
                 .subscribe(event -> {
                     addToLog(event);
-                    if (L.isEnabled(L.NSCLIENT))
+                    if (L.isEnabled(LTag.NSCLIENT))
                         log.debug(event.getAction() + " " + event.getLogText());
                 }, FabricPrivacy::logException)
         );
@@ -160,13 +161,13 @@ public class NSClientPlugin extends PluginBase {
     private ServiceConnection mConnection = new ServiceConnection() {
 
         public void onServiceDisconnected(ComponentName name) {
-            if (L.isEnabled(L.NSCLIENT))
+            if (L.isEnabled(LTag.NSCLIENT))
                 log.debug("Service is disconnected");
             nsClientService = null;
         }
 
         public void onServiceConnected(ComponentName name, IBinder service) {
-            if (L.isEnabled(L.NSCLIENT))
+            if (L.isEnabled(LTag.NSCLIENT))
                 log.debug("Service is connected");
             NSClientService.LocalBinder mLocalBinder = (NSClientService.LocalBinder) service;
             if (mLocalBinder != null) // is null when running in roboelectric
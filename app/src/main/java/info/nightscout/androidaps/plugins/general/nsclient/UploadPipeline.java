@@ -0,0 +1,266 @@
+package info.nightscout.androidaps.plugins.general.nsclient;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import info.nightscout.androidaps.db.DbRequest;
+import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
+
+/**
+ * Sends DbRequests from upload queue to NS with up to window requests waiting for ack
+ * <p>
+ * Every ack frees a slot and next request is sent immediately. Pending dbUpdate requests
+ * of the same _id are merged to one message (dbRemove replaces them). Only one request
+ * per _id is in flight to keep order. Acked requests are deleted from database in batches.
+ */
+public class UploadPipeline {
+    private static Logger log = LoggerFactory.getLogger(L.NSCLIENT);
+
+    static final int PAGE = 200;
+    static final int DELETE_BATCH = 50;
+
+    public interface Sender {
+        // emit message with ack, false if not connected
+        boolean send(DbRequest dbr);
+    }
+
+    public interface Store {
+        // oldest first, requests with nsClientID in skip are not returned
+        List<DbRequest> load(int limit, Set<String> skip);
+
+        void delete(List<String> nsClientIds);
+
+        long size();
+    }
+
+    private static class Entry {
+        DbRequest request;
+        final List<String> ids = new ArrayList<>();
+        long sent;
+
+        Entry(DbRequest request) {
+            this.request = request;
+            ids.add(request.nsClientID);
+        }
+
+        String key() {
+            return UploadPipeline.key(request.action, request.action.equals("dbAdd") ? request.nsClientID : request._id);
+        }
+    }
+
+    private final Sender sender;
+    private final Store store;
+    private int window;
+    private final long timeout;
+
+    private final LinkedList<Entry> pending = new LinkedList<>();
+    // collection + _id -> last pending update which can be merged
+    private final Map<String, Entry> mergeable = new HashMap<>();
+    private final LinkedHashMap<String, Entry> inFlight = new LinkedHashMap<>();
+    private final Set<String> inFlightIds = new HashSet<>();
+    private final List<String> acked = new ArrayList<>();
+    // all nsClientIDs known to pipeline, not loaded again
+    private final Set<String> known = new HashSet<>();
+
+    private long started = 0;
+    private long sentCount = 0;
+    private long ackedCount = 0;
+    private long coalescedCount = 0;
+    private long timeoutCount = 0;
+
+    public UploadPipeline(Sender sender, Store store, int window, long timeout) {
+        this.sender = sender;
+        this.store = store;
+        this.window = Math.max(1, window);
+        this.timeout = timeout;
+    }
+
+    public synchronized void setWindow(int window) {
+        this.window = Math.max(1, window);
+    }
+
+    static String key(String action, String id) {
+        return action + ":" + id;
+    }
+
+    /**
+     * Fill window from pending requests, load next page from store if needed
+     *
+     * @return number of messages sent
+     */
+    public synchronized int pump(long now) {
+        if (started == 0) started = now;
+        expire(now);
+        if (pending.isEmpty() && inFlight.size() < window)
+            load();
+        int count = 0;
+        Set<String> blocked = new HashSet<>();
+        Iterator<Entry> iterator = pending.iterator();
+        while (inFlight.size() < window && iterator.hasNext()) {
+            Entry entry = iterator.next();
+            String id = entry.request._id;
+            boolean hasId = id != null && !id.isEmpty();
+            // keep order of requests changing same document
+            if (hasId && (inFlightIds.contains(id) || blocked.contains(id))) {
+                blocked.add(id);
+                continue;
+            }
+            if (!sender.send(entry.request))
+                break;
+            iterator.remove();
+            if (mergeable.get(mergeKey(entry.request)) == entry)
+                mergeable.remove(mergeKey(entry.request));
+            entry.sent = now;
+            inFlight.put(entry.key(), entry);
+            if (hasId)
+                inFlightIds.add(id);
+            sentCount++;
+            count++;
+            if (pending.isEmpty() && inFlight.size() < window) {
+                load();
+                iterator = pending.iterator();
+                blocked.clear();
+            }
+        }
+        if (acked.size() >= DELETE_BATCH || inFlight.isEmpty())
+            flush();
+        return count;
+    }
+
+    /**
+     * @return false if request was not sent by pipeline
+     */
+    public synchronized boolean acked(String action, String id) {
+        Entry entry = inFlight.remove(key(action, id));
+        if (entry == null)
+            return false;
+        String _id = entry.request._id;
+        if (_id != null && !_id.isEmpty())
+            inFlightIds.remove(_id);
+        acked.addAll(entry.ids);
+        ackedCount++;
+        return true;
+    }
+
+    // request deleted outside of pipeline (echo of added record received from NS)
+    public synchronized void removed(String nsClientId) {
+        Iterator<Entry> iterator = pending.iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.request.action.equals("dbAdd") && entry.ids.contains(nsClientId)) {
+                iterator.remove();
+                known.remove(nsClientId);
+                return;
+            }
+        }
+    }
+
+    // after disconnect nothing is in flight, unacked requests will be loaded again
+    public synchronized void reset() {
+        flush();
+        pending.clear();
+        mergeable.clear();
+        inFlight.clear();
+        inFlightIds.clear();
+        known.clear();
+    }
+
+    public synchronized void flush() {
+        if (acked.isEmpty())
+            return;
+        store.delete(new ArrayList<>(acked));
+        known.removeAll(acked);
+        acked.clear();
+    }
+
+    public synchronized int inFlight() {
+        return inFlight.size();
+    }
+
+    public synchronized String statistics(long now) {
+        double minutes = started > 0 ? Math.max(1, now - started) / 60000d : 0;
+        return String.format(Locale.ENGLISH, "inflight=%d/%d pending=%d backlog=%d sent=%d acked=%d coalesced=%d timeouts=%d rate=%.1f/min",
+                inFlight.size(), window, pending.size(), store.size(), sentCount, ackedCount, coalescedCount, timeoutCount,
+                minutes > 0 ? ackedCount / minutes : 0d);
+    }
+
+    private void expire(long now) {
+        Iterator<Entry> iterator = inFlight.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.sent < now - timeout) {
+                iterator.remove();
+                String _id = entry.request._id;
+                if (_id != null && !_id.isEmpty())
+                    inFlightIds.remove(_id);
+                // load again from store
+                known.removeAll(entry.ids);
+                timeoutCount++;
+                if (L.isEnabled(LTag.NSCLIENT))
+                    log.debug("Upload timeout " + entry.key());
+            }
+        }
+    }
+
+    private void load() {
+        List<DbRequest> requests = store.load(PAGE, known);
+        for (DbRequest dbr : requests) {
+            known.add(dbr.nsClientID);
+            add(dbr);
+        }
+    }
+
+    private static String mergeKey(DbRequest dbr) {
+        return dbr.collection + ":" + dbr._id;
+    }
+
+    private void add(DbRequest dbr) {
+        boolean hasId = dbr._id != null && !dbr._id.isEmpty();
+        String mergeKey = mergeKey(dbr);
+        Entry previous = hasId ? mergeable.get(mergeKey) : null;
+        if (previous != null && dbr.action.equals("dbUpdate")) {
+            // NS applies dbUpdate as $set, later values win
+            try {
+                JSONObject merged = new JSONObject(previous.request.data);
+                JSONObject data = new JSONObject(dbr.data);
+                Iterator<String> keys = data.keys();
+                while (keys.hasNext()) {
+                    String key = keys.next();
+                    merged.put(key, data.get(key));
+                }
+                previous.request = new DbRequest(previous.request.action, previous.request.collection, previous.request.nsClientID, previous.request._id, merged);
+                previous.ids.add(dbr.nsClientID);
+                coalescedCount++;
+                return;
+            } catch (JSONException e) {
+                log.error("Unhandled exception", e);
+            }
+        } else if (previous != null && dbr.action.equals("dbRemove")) {
+            previous.request = dbr;
+            previous.ids.add(dbr.nsClientID);
+            mergeable.remove(mergeKey);
+            coalescedCount++;
+            return;
+        }
+        Entry entry = new Entry(dbr);
+        pending.add(entry);
+        if (hasId && dbr.action.equals("dbUpdate"))
+            mergeable.put(mergeKey, entry);
+        else if (hasId)
+            mergeable.remove(mergeKey);
+    }
+}
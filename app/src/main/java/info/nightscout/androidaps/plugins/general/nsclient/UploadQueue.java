@@ -6,7 +6,6 @@ import android.os.SystemClock;
 
 import com.j256.ormlite.dao.CloseableIterator;
 
-import org.json.JSONException;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,7 +16,9 @@ import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.db.DatabaseHelper;
 import info.nightscout.androidaps.db.DbRequest;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.general.nsclient.services.NSClientService;
+import info.nightscout.androidaps.utils.JsonHelper;
 
 /**
  * Created by mike on 21.02.2016.
@@ -45,7 +46,7 @@ public class UploadQueue {
         startService();
         if (NSClientService.handler != null) {
             NSClientService.handler.post(() -> {
-                if (L.isEnabled(L.NSCLIENT))
+                if (L.isEnabled(LTag.NSCLIENT))
                     log.debug("Adding to queue: " + dbr.data);
                 MainApp.getDbHelper().create(dbr);
                 NSClientPlugin plugin = NSClientPlugin.getPlugin();
@@ -60,10 +61,10 @@ public class UploadQueue {
         startService();
         if (NSClientService.handler != null) {
             NSClientService.handler.post(() -> {
-                if (L.isEnabled(L.NSCLIENT))
+                if (L.isEnabled(LTag.NSCLIENT))
                     log.debug("ClearQueue");
                 MainApp.getDbHelper().deleteAllDbRequests();
-                if (L.isEnabled(L.NSCLIENT))
+                if (L.isEnabled(LTag.NSCLIENT))
                     log.debug(status());
             });
         }
@@ -71,21 +72,16 @@ public class UploadQueue {
 
     public static void removeID(final JSONObject record) {
         startService();
-        if (NSClientService.handler != null) {
+        // take id now, posted runnable must not hold whole record during large sync
+        final String id = JsonHelper.safeGetString(record, "NSCLIENT_ID");
+        if (id != null && NSClientService.handler != null) {
             NSClientService.handler.post(() -> {
-                try {
-                    String id;
-                    if (record.has("NSCLIENT_ID")) {
-                        id = record.getString("NSCLIENT_ID");
-                    } else {
-                        return;
-                    }
-                    if (MainApp.getDbHelper().deleteDbRequest(id) == 1) {
-                        if (L.isEnabled(L.NSCLIENT))
-                            log.debug("Removed item from UploadQueue. " + UploadQueue.status());
-                    }
-                } catch (JSONException e) {
-                    log.error("Unhandled exception", e);
+                NSClientService service = NSClientPlugin.getPlugin().nsClientService;
+                if (service != null)
+                    service.uploadPipeline.removed(id);
+                if (MainApp.getDbHelper().deleteDbRequest(id) == 1) {
+                    if (L.isEnabled(LTag.NSCLIENT))
+                        log.debug("Removed item from UploadQueue. " + UploadQueue.status());
                 }
             });
         }
@@ -98,7 +94,7 @@ public class UploadQueue {
         if (NSClientService.handler != null) {
             NSClientService.handler.post(() -> {
                 MainApp.getDbHelper().deleteDbRequestbyMongoId(action, _id);
-                if (L.isEnabled(L.NSCLIENT))
+                if (L.isEnabled(LTag.NSCLIENT))
                     log.debug("Removing " + _id + " from UploadQueue. " + UploadQueue.status());
             });
         }
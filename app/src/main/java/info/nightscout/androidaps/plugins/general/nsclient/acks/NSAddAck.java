@@ -7,6 +7,7 @@ import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.events.Event;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.general.nsclient.events.EventNSClientRestart;
 import io.socket.client.Ack;
@@ -47,7 +48,7 @@ public class NSAddAck extends Event implements Ack {
                     RxBus.INSTANCE.send(new EventNSClientRestart());
                     return;
                 }
-                if (L.isEnabled(L.NSCLIENT))
+                if (L.isEnabled(LTag.NSCLIENT))
                     log.debug("DBACCESS " + response.getString("result"));
             }
             return;
@@ -11,11 +11,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.plugins.general.nsclient.data.NSTreatment;
 import info.nightscout.androidaps.services.Intents;
 import info.nightscout.androidaps.utils.SP;
 
@@ -47,83 +49,38 @@ public class BroadcastTreatment {
         }
     }
 
-    public static void handleNewTreatment(JSONArray treatments, boolean isDelta) {
+    // AndroidAPS itself gets treatments directly from NSClientService, only external broadcast is sent
+    public static void handleNewTreatment(List<NSTreatment> treatments, boolean isDelta) {
+        sendTreatments(Intents.ACTION_NEW_TREATMENT, treatments, isDelta, true);
+    }
 
-        List<JSONArray> splitted = splitArray(treatments);
-        for (JSONArray part : splitted) {
-            Bundle bundle = new Bundle();
-            bundle.putString("treatments", part.toString());
-            bundle.putBoolean("delta", isDelta);
-            Intent intent = new Intent(Intents.ACTION_NEW_TREATMENT);
-            intent.putExtras(bundle);
-            intent.addFlags(Intent.FLAG_INCLUDE_STOPPED_PACKAGES);
-            LocalBroadcastManager.getInstance(MainApp.instance()).sendBroadcast(intent);
-        }
+    public static void handleChangedTreatment(List<NSTreatment> treatments, boolean isDelta) {
+        sendTreatments(Intents.ACTION_CHANGED_TREATMENT, treatments, isDelta, true);
+    }
 
-        if (SP.getBoolean(R.string.key_nsclient_localbroadcasts, false)) {
-            splitted = splitArray(treatments);
-            for (JSONArray part : splitted) {
-                Bundle bundle = new Bundle();
-                bundle.putString("treatments", part.toString());
-                bundle.putBoolean("delta", isDelta);
-                Intent intent = new Intent(Intents.ACTION_NEW_TREATMENT);
-                intent.putExtras(bundle);
-                intent.addFlags(Intent.FLAG_INCLUDE_STOPPED_PACKAGES);
-                MainApp.instance().getApplicationContext().sendBroadcast(intent);
-            }
-        }
+    public static void handleRemovedTreatment(List<NSTreatment> treatments, boolean isDelta) {
+        sendTreatments(Intents.ACTION_REMOVED_TREATMENT, treatments, isDelta, false);
     }
 
-    public static void handleChangedTreatment(JSONArray treatments, boolean isDelta) {
+    private static void sendTreatments(String action, List<NSTreatment> treatments, boolean isDelta, boolean split) {
+        if (!SP.getBoolean(R.string.key_nsclient_localbroadcasts, false))
+            return;
 
-        List<JSONArray> splitted = splitArray(treatments);
+        JSONArray array = new JSONArray();
+        for (NSTreatment treatment : treatments)
+            array.put(treatment.getData());
+        List<JSONArray> splitted = split ? splitArray(array) : Collections.singletonList(array);
         for (JSONArray part : splitted) {
             Bundle bundle = new Bundle();
             bundle.putString("treatments", part.toString());
             bundle.putBoolean("delta", isDelta);
-            Intent intent = new Intent(Intents.ACTION_CHANGED_TREATMENT);
-            intent.putExtras(bundle);
-            intent.addFlags(Intent.FLAG_INCLUDE_STOPPED_PACKAGES);
-            LocalBroadcastManager.getInstance(MainApp.instance()).sendBroadcast(intent);
-        }
-
-        if (SP.getBoolean(R.string.key_nsclient_localbroadcasts, false)) {
-            splitted = splitArray(treatments);
-            for (JSONArray part : splitted) {
-                Bundle bundle = new Bundle();
-                bundle.putString("treatments", part.toString());
-                bundle.putBoolean("delta", isDelta);
-                Intent intent = new Intent(Intents.ACTION_CHANGED_TREATMENT);
-                intent.putExtras(bundle);
-                intent.addFlags(Intent.FLAG_INCLUDE_STOPPED_PACKAGES);
-                MainApp.instance().getApplicationContext().sendBroadcast(intent);
-            }
-        }
-    }
-
-    public static void handleRemovedTreatment(JSONArray treatments, boolean isDelta) {
-
-        Bundle bundle = new Bundle();
-        bundle.putString("treatments", treatments.toString());
-        bundle.putBoolean("delta", isDelta);
-        Intent intent = new Intent(Intents.ACTION_REMOVED_TREATMENT);
-        intent.putExtras(bundle);
-        intent.addFlags(Intent.FLAG_INCLUDE_STOPPED_PACKAGES);
-        LocalBroadcastManager.getInstance(MainApp.instance()).sendBroadcast(intent);
-
-
-        if (SP.getBoolean(R.string.key_nsclient_localbroadcasts, false)) {
-            bundle = new Bundle();
-            bundle.putString("treatments", treatments.toString());
-            bundle.putBoolean("delta", isDelta);
-            intent = new Intent(Intents.ACTION_REMOVED_TREATMENT);
+            Intent intent = new Intent(action);
             intent.putExtras(bundle);
             intent.addFlags(Intent.FLAG_INCLUDE_STOPPED_PACKAGES);
             MainApp.instance().getApplicationContext().sendBroadcast(intent);
         }
     }
 
-
     public static List<JSONArray> splitArray(JSONArray array) {
         List<JSONArray> ret = new ArrayList<>();
         try {
@@ -11,6 +11,7 @@ import java.util.List;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.utils.ToastUtils;
 
 /**
@@ -24,8 +25,8 @@ public class DbLogger {
         if (q.size() < 1) {
             ToastUtils.showToastInUiThread(MainApp.instance().getApplicationContext(), MainApp.gs(R.string.nsclientnotinstalled));
             log.error("DBADD No receivers");
-        } else if (L.isEnabled(L.NSCLIENT)) {
-            if (L.isEnabled(L.NSCLIENT))
+        } else if (L.isEnabled(LTag.NSCLIENT)) {
+            if (L.isEnabled(LTag.NSCLIENT))
                 log.debug("DBADD dbAdd " + q.size() + " receivers " + data);
         }
     }
@@ -35,8 +36,8 @@ public class DbLogger {
         if (q.size() < 1) {
             ToastUtils.showToastInUiThread(MainApp.instance().getApplicationContext(), MainApp.gs(R.string.nsclientnotinstalled));
             log.error("DBREMOVE No receivers");
-        } else if (L.isEnabled(L.NSCLIENT)) {
-            if (L.isEnabled(L.NSCLIENT))
+        } else if (L.isEnabled(LTag.NSCLIENT)) {
+            if (L.isEnabled(LTag.NSCLIENT))
                 log.debug("DBREMOVE dbRemove " + q.size() + " receivers " + data);
         }
     }
@@ -0,0 +1,87 @@
+package info.nightscout.androidaps.plugins.general.nsclient.data;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Walks NS dataUpdate payload section by section
+ * <p>
+ * Record arrays (treatments, devicestatus, food, mbgs, cals, sgvs) are passed to Sink
+ * in batches of at most BATCH records. Payload is parsed by socket.io client before
+ * it is delivered, so whole parsed payload is in memory anyway, batching doesn't lower
+ * peak memory. It only bounds work done per Sink call.
+ */
+public class NSDataUpdateReader {
+    public static final int BATCH = 100;
+
+    public interface Sink {
+        void onDelta();
+
+        void onStatus(JSONObject status) throws JSONException;
+
+        // only last received profile is used
+        void onProfile(JSONObject profile) throws JSONException;
+
+        void onTreatments(List<JSONObject> batch) throws JSONException;
+
+        void onDeviceStatuses(List<JSONObject> batch) throws JSONException;
+
+        void onFoods(List<JSONObject> batch) throws JSONException;
+
+        void onMbgs(List<JSONObject> batch) throws JSONException;
+
+        void onCals(List<JSONObject> batch) throws JSONException;
+
+        void onSgvs(List<JSONObject> batch) throws JSONException;
+    }
+
+    private interface BatchHandler {
+        void handle(List<JSONObject> batch) throws JSONException;
+    }
+
+    /**
+     * Walked arrays are removed from data so they can be garbage collected while
+     * following sections are processed
+     */
+    public static void read(JSONObject data, Sink sink) throws JSONException {
+        if (data.has("delta"))
+            sink.onDelta();
+        if (data.has("status"))
+            sink.onStatus(data.getJSONObject("status"));
+        if (data.has("profiles")) {
+            JSONArray profiles = data.getJSONArray("profiles");
+            if (profiles.length() > 0)
+                sink.onProfile(profiles.getJSONObject(profiles.length() - 1));
+        }
+        walkBatches(data, "treatments", sink::onTreatments);
+        walkBatches(data, "devicestatus", sink::onDeviceStatuses);
+        walkBatches(data, "food", sink::onFoods);
+        walkBatches(data, "mbgs", sink::onMbgs);
+        walkBatches(data, "cals", sink::onCals);
+        walkBatches(data, "sgvs", sink::onSgvs);
+    }
+
+    private static void walkBatches(JSONObject data, String key, BatchHandler handler) throws JSONException {
+        if (!data.has(key))
+            return;
+        JSONArray array = data.getJSONArray(key);
+        data.remove(key);
+        List<JSONObject> batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < array.length(); i++) {
+            JSONObject record = array.optJSONObject(i);
+            if (record == null)
+                continue;
+            batch.add(record);
+            if (batch.size() == BATCH) {
+                handler.handle(batch);
+                batch = new ArrayList<>(BATCH);
+            }
+        }
+        if (batch.size() > 0)
+            handler.handle(batch);
+    }
+}
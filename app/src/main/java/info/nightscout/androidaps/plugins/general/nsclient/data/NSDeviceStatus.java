@@ -19,6 +19,7 @@ import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.logging.BundleLogger;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.aps.loop.APSResult;
 import info.nightscout.androidaps.utils.DateUtil;
 import info.nightscout.androidaps.utils.Round;
@@ -98,28 +99,20 @@ public class NSDeviceStatus {
         Bundle bundle = intent.getExtras();
         if (bundle == null) return;
 
-        if (L.isEnabled(L.NSCLIENT))
+        if (L.isEnabled(LTag.NSCLIENT))
             log.debug("Got NS devicestatus: " + BundleLogger.log(bundle));
 
         try {
             if (bundle.containsKey("devicestatus")) {
                 JSONObject devicestatusJson = new JSONObject(bundle.getString("devicestatus"));
-                setData(devicestatusJson);
-                if (devicestatusJson.has("pump")) {
-                    // Objectives 0
-                    SP.putBoolean(R.string.key_ObjectivespumpStatusIsAvailableInNS, true);
-                }
+                handleNewDeviceStatus(devicestatusJson);
             }
             if (bundle.containsKey("devicestatuses")) {
                 String devicestatusesstring = bundle.getString("devicestatuses");
                 JSONArray jsonArray = new JSONArray(devicestatusesstring);
                 for (int i = 0; i < jsonArray.length(); i++) {
                     JSONObject devicestatusJson = jsonArray.getJSONObject(i);
-                    setData(devicestatusJson);
-                    if (devicestatusJson.has("pump")) {
-                        // Objectives 0
-                        SP.putBoolean(R.string.key_ObjectivespumpStatusIsAvailableInNS, true);
-                    }
+                    handleNewDeviceStatus(devicestatusJson);
                 }
             }
         } catch (Exception e) {
@@ -127,6 +120,15 @@ public class NSDeviceStatus {
         }
     }
 
+    // called directly by NSClientService or from handleNewData()
+    public void handleNewDeviceStatus(JSONObject devicestatusJson) {
+        setData(devicestatusJson);
+        if (devicestatusJson.has("pump")) {
+            // Objectives 0
+            SP.putBoolean(R.string.key_ObjectivespumpStatusIsAvailableInNS, true);
+        }
+    }
+
     public NSDeviceStatus setData(JSONObject obj) {
         this.data = obj;
         updatePumpData(obj);
@@ -19,6 +19,7 @@ import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.logging.BundleLogger;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.general.overview.OverviewPlugin;
 import info.nightscout.androidaps.plugins.general.overview.events.EventDismissNotification;
@@ -142,7 +143,7 @@ public class NSSettingsStatus {
         Bundle bundle = intent.getExtras();
         if (bundle == null) return;
 
-        if (L.isEnabled(L.NSCLIENT))
+        if (L.isEnabled(LTag.NSCLIENT))
             log.debug("Got NS status: " + BundleLogger.log(bundle));
 
         if (bundle.containsKey("nsclientversioncode")) {
@@ -151,7 +152,7 @@ public class NSSettingsStatus {
             nightscoutVersionName = bundle.getString("nightscoutversionname");
             Integer nsClientVersionCode = bundle.getInt("nsclientversioncode");
             String nsClientVersionName = bundle.getString("nsclientversionname");
-            if (L.isEnabled(L.NSCLIENT))
+            if (L.isEnabled(LTag.NSCLIENT))
                 log.debug("Got versions: NSClient: " + nsClientVersionName + " Nightscout: " + nightscoutVersionName);
             try {
                 if (nsClientVersionCode < MainApp.instance().getPackageManager().getPackageInfo(MainApp.instance().getPackageName(), 0).versionCode) {
@@ -177,7 +178,7 @@ public class NSSettingsStatus {
             try {
                 JSONObject statusJson = new JSONObject(bundle.getString("status"));
                 setData(statusJson);
-                if (L.isEnabled(L.NSCLIENT))
+                if (L.isEnabled(LTag.NSCLIENT))
                     log.debug("Received status: " + statusJson.toString());
                 Double targetHigh = getThreshold("bgTargetTop");
                 Double targetlow = getThreshold("bgTargetBottom");
@@ -13,6 +13,7 @@ import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.general.nsclient.NSClientPlugin;
 import info.nightscout.androidaps.plugins.general.nsclient.data.AlarmAck;
 import info.nightscout.androidaps.plugins.general.nsclient.services.NSClientService;
@@ -32,7 +33,7 @@ public class AckAlarmReceiver extends BroadcastReceiver {
             return;
         }
         if (SP.getBoolean(R.string.key_ns_noupload, false)) {
-            if (L.isEnabled(L.NSCLIENT))
+            if (L.isEnabled(LTag.NSCLIENT))
                 log.debug("Upload disabled. Message dropped");
             return;
         }
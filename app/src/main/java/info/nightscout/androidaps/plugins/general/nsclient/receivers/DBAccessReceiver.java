@@ -17,6 +17,7 @@ import info.nightscout.androidaps.db.DbRequest;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.logging.BundleLogger;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.general.nsclient.NSClientPlugin;
 import info.nightscout.androidaps.plugins.general.nsclient.UploadQueue;
 import info.nightscout.androidaps.plugins.general.nsclient.broadcasts.BroadcastTreatment;
@@ -38,7 +39,7 @@ public class DBAccessReceiver extends BroadcastReceiver {
             if (bundles == null) return;
             if (!bundles.containsKey("action")) return;
 
-            if (L.isEnabled(L.NSCLIENT))
+            if (L.isEnabled(LTag.NSCLIENT))
                 log.debug(BundleLogger.log(bundles));
 
             String collection = null;
@@ -12,7 +12,6 @@ import android.os.SystemClock;
 
 import com.google.common.base.Charsets;
 import com.google.common.hash.Hashing;
-import com.j256.ormlite.dao.CloseableIterator;
 
 import org.json.JSONArray;
 import org.json.JSONException;
@@ -21,8 +20,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.URISyntaxException;
-import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
 
 import info.nightscout.androidaps.Config;
 import info.nightscout.androidaps.MainApp;
@@ -31,11 +31,15 @@ import info.nightscout.androidaps.data.ProfileStore;
 import info.nightscout.androidaps.db.DbRequest;
 import info.nightscout.androidaps.events.EventAppExit;
 import info.nightscout.androidaps.events.EventConfigBuilderChange;
+import info.nightscout.androidaps.events.EventNsTreatment;
 import info.nightscout.androidaps.events.EventPreferenceChange;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.general.nsclient.NSClientPlugin;
+import info.nightscout.androidaps.plugins.general.nsclient.NSTreatmentHandler;
+import info.nightscout.androidaps.plugins.general.nsclient.UploadPipeline;
 import info.nightscout.androidaps.plugins.general.nsclient.UploadQueue;
 import info.nightscout.androidaps.plugins.general.nsclient.acks.NSAddAck;
 import info.nightscout.androidaps.plugins.general.nsclient.acks.NSAuthAck;
@@ -53,6 +57,8 @@ import info.nightscout.androidaps.plugins.general.nsclient.broadcasts.BroadcastS
 import info.nightscout.androidaps.plugins.general.nsclient.broadcasts.BroadcastTreatment;
 import info.nightscout.androidaps.plugins.general.nsclient.broadcasts.BroadcastUrgentAlarm;
 import info.nightscout.androidaps.plugins.general.nsclient.data.AlarmAck;
+import info.nightscout.androidaps.plugins.general.nsclient.data.NSDataUpdateReader;
+import info.nightscout.androidaps.plugins.general.nsclient.data.NSDeviceStatus;
 import info.nightscout.androidaps.plugins.general.nsclient.data.NSSettingsStatus;
 import info.nightscout.androidaps.plugins.general.nsclient.data.NSSgv;
 import info.nightscout.androidaps.plugins.general.nsclient.data.NSTreatment;
@@ -63,6 +69,7 @@ import info.nightscout.androidaps.plugins.general.nsclient.events.EventNSClientU
 import info.nightscout.androidaps.plugins.general.overview.events.EventDismissNotification;
 import info.nightscout.androidaps.plugins.general.overview.events.EventNewNotification;
 import info.nightscout.androidaps.plugins.general.overview.notifications.Notification;
+import info.nightscout.androidaps.plugins.source.SourceNSClientPlugin;
 import info.nightscout.androidaps.utils.DateUtil;
 import info.nightscout.androidaps.utils.FabricPrivacy;
 import info.nightscout.androidaps.utils.JsonHelper;
@@ -109,6 +116,23 @@ public class NSClientService extends Service {
 
     public static UploadQueue uploadQueue = new UploadQueue();
 
+    public final UploadPipeline uploadPipeline = new UploadPipeline(this::send, new UploadPipeline.Store() {
+        @Override
+        public List<DbRequest> load(int limit, Set<String> skip) {
+            return MainApp.getDbHelper().getDbRequests(limit, skip);
+        }
+
+        @Override
+        public void delete(List<String> nsClientIds) {
+            MainApp.getDbHelper().deleteDbRequests(nsClientIds);
+        }
+
+        @Override
+        public long size() {
+            return UploadQueue.size();
+        }
+    }, 20, T.mins(1).msecs());
+
     private ArrayList<Long> reconnections = new ArrayList<>();
     private int WATCHDOG_INTERVAL_MINUTES = 2;
     private int WATCHDOG_RECONNECT_IN = 15;
@@ -152,6 +176,8 @@ public class NSClientService extends Service {
                         latestDateInReceivedData = 0;
                         destroy();
                         initialize();
+                    } else if (event.isChanged(R.string.key_nsclient_upload_window)) {
+                        uploadPipeline.setWindow(SP.getInt(R.string.key_nsclient_upload_window, 20));
                     }
                 }, FabricPrivacy::logException)
         );
@@ -159,7 +185,7 @@ public class NSClientService extends Service {
                 .toObservable(EventAppExit.class)
                 .observeOn(Schedulers.io())
                 .subscribe(event -> {
-                    if (L.isEnabled(L.NSCLIENT))
+                    if (L.isEnabled(LTag.NSCLIENT))
                         log.debug("EventAppExit received");
                     destroy();
                     stopSelf();
@@ -199,8 +225,11 @@ public class NSClientService extends Service {
 
     public void processAddAck(NSAddAck ack) {
         if (ack.nsClientID != null) {
-            uploadQueue.removeID(ack.json);
+            if (!uploadPipeline.acked("dbAdd", ack.nsClientID))
+                uploadQueue.removeID(ack.json);
             RxBus.INSTANCE.send(new EventNSClientNewLog("DBADD", "Acked " + ack.nsClientID));
+            // next request can be sent
+            resend("Ack received");
         } else {
             RxBus.INSTANCE.send(new EventNSClientNewLog("ERROR", "DBADD Unknown response"));
         }
@@ -208,8 +237,10 @@ public class NSClientService extends Service {
 
     public void processUpdateAck(NSUpdateAck ack) {
         if (ack.result) {
-            uploadQueue.removeID(ack.action, ack._id);
+            if (!uploadPipeline.acked(ack.action, ack._id))
+                uploadQueue.removeID(ack.action, ack._id);
             RxBus.INSTANCE.send(new EventNSClientNewLog("DBUPDATE/DBREMOVE", "Acked " + ack._id));
+            resend("Ack received");
         } else {
             RxBus.INSTANCE.send(new EventNSClientNewLog("ERROR", "DBUPDATE/DBREMOVE Unknown response"));
         }
@@ -342,9 +373,11 @@ public class NSClientService extends Service {
     private Emitter.Listener onDisconnect = new Emitter.Listener() {
         @Override
         public void call(Object... args) {
-            if (L.isEnabled(L.NSCLIENT))
+            if (L.isEnabled(LTag.NSCLIENT))
                 log.debug("disconnect reason: {}", args);
             RxBus.INSTANCE.send(new EventNSClientNewLog("NSCLIENT", "disconnect event"));
+            // unacked requests are sent again after reconnect
+            uploadPipeline.reset();
         }
     };
 
@@ -390,6 +423,7 @@ public class NSClientService extends Service {
         nsURL = SP.getString(R.string.key_nsclientinternal_url, "");
         nsAPISecret = SP.getString(R.string.key_nsclientinternal_api_secret, "");
         nsDevice = SP.getString("careportal_enteredby", "");
+        uploadPipeline.setWindow(SP.getInt(R.string.key_nsclient_upload_window, 20));
     }
 
     private Emitter.Listener onPing = new Emitter.Listener() {
@@ -430,7 +464,7 @@ public class NSClientService extends Service {
                 log.error("Unhandled exception", e);
             }
             BroadcastAnnouncement.handleAnnouncement(data, getApplicationContext());
-            if (L.isEnabled(L.NSCLIENT))
+            if (L.isEnabled(LTag.NSCLIENT))
                 log.debug(data.toString());
         }
     };
@@ -461,7 +495,7 @@ public class NSClientService extends Service {
                 return;
             }
             BroadcastAlarm.handleAlarm(data, getApplicationContext());
-            if (L.isEnabled(L.NSCLIENT))
+            if (L.isEnabled(LTag.NSCLIENT))
                 log.debug(data.toString());
         }
     };
@@ -492,7 +526,7 @@ public class NSClientService extends Service {
             }
             RxBus.INSTANCE.send(new EventNSClientNewLog("URGENTALARM", "received"));
             BroadcastUrgentAlarm.handleUrgentAlarm(data, getApplicationContext());
-            if (L.isEnabled(L.NSCLIENT))
+            if (L.isEnabled(LTag.NSCLIENT))
                 log.debug(data.toString());
         }
     };
@@ -518,7 +552,7 @@ public class NSClientService extends Service {
             }
             RxBus.INSTANCE.send(new EventNSClientNewLog("CLEARALARM", "received"));
             BroadcastClearAlarm.handleClearAlarm(data, getApplicationContext());
-            if (L.isEnabled(L.NSCLIENT))
+            if (L.isEnabled(LTag.NSCLIENT))
                 log.debug(data.toString());
         }
     };
@@ -534,198 +568,15 @@ public class NSClientService extends Service {
                             "AndroidAPS:NSClientService_onDataUpdate");
                     wakeLock.acquire();
                     try {
-
                         JSONObject data = (JSONObject) args[0];
-                        boolean broadcastProfile = false;
+                        DataUpdateSink sink = new DataUpdateSink(data.has("delta"));
                         try {
-                            // delta means only increment/changes are comming
-                            boolean isDelta = data.has("delta");
-                            boolean isFull = !isDelta;
-                            RxBus.INSTANCE.send(new EventNSClientNewLog("DATA", "Data packet #" + dataCounter++ + (isDelta ? " delta" : " full")));
-
-                            if (data.has("profiles")) {
-                                JSONArray profiles = data.getJSONArray("profiles");
-                                if (profiles.length() > 0) {
-                                    JSONObject profile = (JSONObject) profiles.get(profiles.length() - 1);
-                                    profileStore = new ProfileStore(profile);
-                                    broadcastProfile = true;
-                                    RxBus.INSTANCE.send(new EventNSClientNewLog("PROFILE", "profile received"));
-                                }
-                            }
-
-                            if (data.has("status")) {
-                                JSONObject status = data.getJSONObject("status");
-                                NSSettingsStatus nsSettingsStatus = NSSettingsStatus.getInstance().setData(status);
-
-                                if (!status.has("versionNum")) {
-                                    if (status.getInt("versionNum") < Config.SUPPORTEDNSVERSION) {
-                                        RxBus.INSTANCE.send(new EventNSClientNewLog("ERROR", "Unsupported Nightscout version !!!!"));
-                                    }
-                                } else {
-                                    nightscoutVersionName = nsSettingsStatus.getVersion();
-                                    nightscoutVersionCode = nsSettingsStatus.getVersionNum();
-                                }
-                                BroadcastStatus.handleNewStatus(nsSettingsStatus, MainApp.instance().getApplicationContext(), isDelta);
-
-                    /*  Other received data to 2016/02/10
-                        {
-                          status: 'ok'
-                          , name: env.name
-                          , version: env.version
-                          , versionNum: versionNum (for ver 1.2.3 contains 10203)
-                          , serverTime: new Date().toISOString()
-                          , apiEnabled: apiEnabled
-                          , careportalEnabled: apiEnabled && env.settings.enable.indexOf('careportal') > -1
-                          , boluscalcEnabled: apiEnabled && env.settings.enable.indexOf('boluscalc') > -1
-                          , head: env.head
-                          , settings: env.settings
-                          , extendedSettings: ctx.plugins && ctx.plugins.extendedClientSettings ? ctx.plugins.extendedClientSettings(env.extendedSettings) : {}
-                          , activeProfile ..... calculated from treatments or missing
-                        }
-                     */
-                            } else if (!isDelta) {
-                                RxBus.INSTANCE.send(new EventNSClientNewLog("ERROR", "Unsupported Nightscout version !!!!"));
-                            }
-
-                            // If new profile received or change detected broadcast it
-                            if (broadcastProfile && profileStore != null) {
-                                BroadcastProfile.handleNewTreatment(profileStore, MainApp.instance().getApplicationContext(), isDelta);
-                                RxBus.INSTANCE.send(new EventNSClientNewLog("PROFILE", "broadcasting"));
-                            }
-
-                            if (data.has("treatments")) {
-                                JSONArray treatments = data.getJSONArray("treatments");
-                                JSONArray removedTreatments = new JSONArray();
-                                JSONArray updatedTreatments = new JSONArray();
-                                JSONArray addedTreatments = new JSONArray();
-                                if (treatments.length() > 0)
-                                    RxBus.INSTANCE.send(new EventNSClientNewLog("DATA", "received " + treatments.length() + " treatments"));
-                                for (Integer index = 0; index < treatments.length(); index++) {
-                                    JSONObject jsonTreatment = treatments.getJSONObject(index);
-                                    NSTreatment treatment = new NSTreatment(jsonTreatment);
-
-                                    // remove from upload queue if Ack is failing
-                                    UploadQueue.removeID(jsonTreatment);
-                                    //Find latest date in treatment
-                                    if (treatment.getMills() != null && treatment.getMills() < System.currentTimeMillis())
-                                        if (treatment.getMills() > latestDateInReceivedData)
-                                            latestDateInReceivedData = treatment.getMills();
-
-                                    if (treatment.getAction() == null) {
-                                        addedTreatments.put(jsonTreatment);
-                                    } else if (treatment.getAction().equals("update")) {
-                                        updatedTreatments.put(jsonTreatment);
-                                    } else if (treatment.getAction().equals("remove")) {
-                                        if (treatment.getMills() != null && treatment.getMills() > System.currentTimeMillis() - 24 * 60 * 60 * 1000L) // handle 1 day old deletions only
-                                            removedTreatments.put(jsonTreatment);
-                                    }
-                                }
-                                if (removedTreatments.length() > 0) {
-                                    BroadcastTreatment.handleRemovedTreatment(removedTreatments, isDelta);
-                                }
-                                if (updatedTreatments.length() > 0) {
-                                    BroadcastTreatment.handleChangedTreatment(updatedTreatments, isDelta);
-                                }
-                                if (addedTreatments.length() > 0) {
-                                    BroadcastTreatment.handleNewTreatment(addedTreatments, isDelta);
-                                }
-                            }
-                            if (data.has("devicestatus")) {
-                                JSONArray devicestatuses = data.getJSONArray("devicestatus");
-                                if (devicestatuses.length() > 0) {
-                                    RxBus.INSTANCE.send(new EventNSClientNewLog("DATA", "received " + devicestatuses.length() + " devicestatuses"));
-                                    for (Integer index = 0; index < devicestatuses.length(); index++) {
-                                        JSONObject jsonStatus = devicestatuses.getJSONObject(index);
-                                        // remove from upload queue if Ack is failing
-                                        UploadQueue.removeID(jsonStatus);
-                                    }
-                                    BroadcastDeviceStatus.handleNewDeviceStatus(devicestatuses, MainApp.instance().getApplicationContext(), isDelta);
-                                }
-                            }
-                            if (data.has("food")) {
-                                JSONArray foods = data.getJSONArray("food");
-                                JSONArray removedFoods = new JSONArray();
-                                JSONArray updatedFoods = new JSONArray();
-                                JSONArray addedFoods = new JSONArray();
-                                if (foods.length() > 0)
-                                    RxBus.INSTANCE.send(new EventNSClientNewLog("DATA", "received " + foods.length() + " foods"));
-                                for (Integer index = 0; index < foods.length(); index++) {
-                                    JSONObject jsonFood = foods.getJSONObject(index);
-
-                                    // remove from upload queue if Ack is failing
-                                    UploadQueue.removeID(jsonFood);
-
-                                    String action = JsonHelper.safeGetString(jsonFood, "action");
-
-                                    if (action == null) {
-                                        addedFoods.put(jsonFood);
-                                    } else if (action.equals("update")) {
-                                        updatedFoods.put(jsonFood);
-                                    } else if (action.equals("remove")) {
-                                        removedFoods.put(jsonFood);
-                                    }
-                                }
-                                if (removedFoods.length() > 0) {
-                                    BroadcastFood.handleRemovedFood(removedFoods, MainApp.instance().getApplicationContext(), isDelta);
-                                }
-                                if (updatedFoods.length() > 0) {
-                                    BroadcastFood.handleChangedFood(updatedFoods, MainApp.instance().getApplicationContext(), isDelta);
-                                }
-                                if (addedFoods.length() > 0) {
-                                    BroadcastFood.handleNewFood(addedFoods, MainApp.instance().getApplicationContext(), isDelta);
-                                }
-                            }
-                            if (data.has("mbgs")) {
-                                JSONArray mbgs = data.getJSONArray("mbgs");
-                                if (mbgs.length() > 0)
-                                    RxBus.INSTANCE.send(new EventNSClientNewLog("DATA", "received " + mbgs.length() + " mbgs"));
-                                for (Integer index = 0; index < mbgs.length(); index++) {
-                                    JSONObject jsonMbg = mbgs.getJSONObject(index);
-                                    // remove from upload queue if Ack is failing
-                                    UploadQueue.removeID(jsonMbg);
-                                }
-                                BroadcastMbgs.handleNewMbg(mbgs, MainApp.instance().getApplicationContext(), isDelta);
-                            }
-                            if (data.has("cals")) {
-                                JSONArray cals = data.getJSONArray("cals");
-                                if (cals.length() > 0)
-                                    RxBus.INSTANCE.send(new EventNSClientNewLog("DATA", "received " + cals.length() + " cals"));
-                                // Retreive actual calibration
-                                for (Integer index = 0; index < cals.length(); index++) {
-                                    // remove from upload queue if Ack is failing
-                                    UploadQueue.removeID(cals.optJSONObject(index));
-                                }
-                                BroadcastCals.handleNewCal(cals, MainApp.instance().getApplicationContext(), isDelta);
-                            }
-                            if (data.has("sgvs")) {
-                                JSONArray sgvs = data.getJSONArray("sgvs");
-                                if (sgvs.length() > 0)
-                                    RxBus.INSTANCE.send(new EventNSClientNewLog("DATA", "received " + sgvs.length() + " sgvs"));
-                                for (Integer index = 0; index < sgvs.length(); index++) {
-                                    JSONObject jsonSgv = sgvs.getJSONObject(index);
-                                    // RxBus.INSTANCE.send(new EventNSClientNewLog("DATA", "svg " + sgvs.getJSONObject(index).toString());
-                                    NSSgv sgv = new NSSgv(jsonSgv);
-                                    // Handle new sgv here
-                                    // remove from upload queue if Ack is failing
-                                    UploadQueue.removeID(jsonSgv);
-                                    //Find latest date in sgv
-                                    if (sgv.getMills() != null && sgv.getMills() < System.currentTimeMillis())
-                                        if (sgv.getMills() > latestDateInReceivedData)
-                                            latestDateInReceivedData = sgv.getMills();
-                                }
-                                // Was that sgv more less 15 mins ago ?
-                                boolean lessThan15MinAgo = false;
-                                if ((System.currentTimeMillis() - latestDateInReceivedData) / (60 * 1000L) < 15L)
-                                    lessThan15MinAgo = true;
-                                if (Notification.isAlarmForStaleData() && lessThan15MinAgo) {
-                                    RxBus.INSTANCE.send(new EventDismissNotification(Notification.NSALARM));
-                                }
-                                BroadcastSgvs.handleNewSgv(sgvs, MainApp.instance().getApplicationContext(), isDelta);
-                            }
-                            RxBus.INSTANCE.send(new EventNSClientNewLog("LAST", DateUtil.dateAndTimeString(latestDateInReceivedData)));
+                            // records are processed in batches, walked arrays are released from data
+                            NSDataUpdateReader.read(data, sink);
                         } catch (JSONException e) {
                             log.error("Unhandled exception", e);
                         }
+                        sink.finish();
                         //RxBus.INSTANCE.send(new EventNSClientNewLog("NSCLIENT", "onDataUpdate end");
                     } finally {
                         if (wakeLock.isHeld()) wakeLock.release();
@@ -736,6 +587,211 @@ public class NSClientService extends Service {
         }
     };
 
+    /**
+     * Processing of dataUpdate records, called from NSDataUpdateReader in batches
+     */
+    private class DataUpdateSink implements NSDataUpdateReader.Sink {
+        // delta means only increment/changes are comming
+        private boolean isDelta;
+        private boolean statusReceived = false;
+        private boolean sgvsReceived = false;
+
+        DataUpdateSink(boolean isDelta) {
+            this.isDelta = isDelta;
+            RxBus.INSTANCE.send(new EventNSClientNewLog("DATA", "Data packet #" + dataCounter++ + (isDelta ? " delta" : " full")));
+        }
+
+        @Override
+        public void onDelta() {
+            isDelta = true;
+        }
+
+        @Override
+        public void onStatus(JSONObject status) throws JSONException {
+            statusReceived = true;
+            NSSettingsStatus nsSettingsStatus = NSSettingsStatus.getInstance().setData(status);
+
+            if (!status.has("versionNum")) {
+                if (status.getInt("versionNum") < Config.SUPPORTEDNSVERSION) {
+                    RxBus.INSTANCE.send(new EventNSClientNewLog("ERROR", "Unsupported Nightscout version !!!!"));
+                }
+            } else {
+                nightscoutVersionName = nsSettingsStatus.getVersion();
+                nightscoutVersionCode = nsSettingsStatus.getVersionNum();
+            }
+            BroadcastStatus.handleNewStatus(nsSettingsStatus, MainApp.instance().getApplicationContext(), isDelta);
+
+            /*  Other received data to 2016/02/10
+                {
+                  status: 'ok'
+                  , name: env.name
+                  , version: env.version
+                  , versionNum: versionNum (for ver 1.2.3 contains 10203)
+                  , serverTime: new Date().toISOString()
+                  , apiEnabled: apiEnabled
+                  , careportalEnabled: apiEnabled && env.settings.enable.indexOf('careportal') > -1
+                  , boluscalcEnabled: apiEnabled && env.settings.enable.indexOf('boluscalc') > -1
+                  , head: env.head
+                  , settings: env.settings
+                  , extendedSettings: ctx.plugins && ctx.plugins.extendedClientSettings ? ctx.plugins.extendedClientSettings(env.extendedSettings) : {}
+                  , activeProfile ..... calculated from treatments or missing
+                }
+             */
+        }
+
+        @Override
+        public void onProfile(JSONObject profile) {
+            profileStore = new ProfileStore(profile);
+            RxBus.INSTANCE.send(new EventNSClientNewLog("PROFILE", "profile received"));
+            // If new profile received or change detected broadcast it
+            BroadcastProfile.handleNewTreatment(profileStore, MainApp.instance().getApplicationContext(), isDelta);
+            RxBus.INSTANCE.send(new EventNSClientNewLog("PROFILE", "broadcasting"));
+        }
+
+        @Override
+        public void onTreatments(List<JSONObject> batch) {
+            List<NSTreatment> removedTreatments = new ArrayList<>();
+            List<NSTreatment> updatedTreatments = new ArrayList<>();
+            List<NSTreatment> addedTreatments = new ArrayList<>();
+            RxBus.INSTANCE.send(new EventNSClientNewLog("DATA", "received " + batch.size() + " treatments"));
+            for (JSONObject jsonTreatment : batch) {
+                NSTreatment treatment = new NSTreatment(jsonTreatment);
+
+                // remove from upload queue if Ack is failing
+                UploadQueue.removeID(jsonTreatment);
+                //Find latest date in treatment
+                if (treatment.getMills() != null && treatment.getMills() < System.currentTimeMillis())
+                    if (treatment.getMills() > latestDateInReceivedData)
+                        latestDateInReceivedData = treatment.getMills();
+
+                if (treatment.getAction() == null) {
+                    addedTreatments.add(treatment);
+                } else if (treatment.getAction().equals("update")) {
+                    updatedTreatments.add(treatment);
+                } else if (treatment.getAction().equals("remove")) {
+                    if (treatment.getMills() != null && treatment.getMills() > System.currentTimeMillis() - 24 * 60 * 60 * 1000L) // handle 1 day old deletions only
+                        removedTreatments.add(treatment);
+                }
+            }
+            // store directly, parsed treatments are not passed through broadcasts
+            boolean acceptNSData = NSTreatmentHandler.acceptNSData(false);
+            if (removedTreatments.size() > 0) {
+                if (acceptNSData)
+                    NSTreatmentHandler.handleRemovedTreatments(removedTreatments);
+                BroadcastTreatment.handleRemovedTreatment(removedTreatments, isDelta);
+            }
+            if (updatedTreatments.size() > 0) {
+                if (acceptNSData)
+                    NSTreatmentHandler.handleTreatments(updatedTreatments, EventNsTreatment.Companion.getUPDATE());
+                BroadcastTreatment.handleChangedTreatment(updatedTreatments, isDelta);
+            }
+            if (addedTreatments.size() > 0) {
+                if (acceptNSData)
+                    NSTreatmentHandler.handleTreatments(addedTreatments, EventNsTreatment.Companion.getADD());
+                BroadcastTreatment.handleNewTreatment(addedTreatments, isDelta);
+            }
+        }
+
+        @Override
+        public void onDeviceStatuses(List<JSONObject> batch) {
+            RxBus.INSTANCE.send(new EventNSClientNewLog("DATA", "received " + batch.size() + " devicestatuses"));
+            for (JSONObject jsonStatus : batch) {
+                // remove from upload queue if Ack is failing
+                UploadQueue.removeID(jsonStatus);
+                NSDeviceStatus.getInstance().handleNewDeviceStatus(jsonStatus);
+            }
+            BroadcastDeviceStatus.handleNewDeviceStatus(new JSONArray(batch), MainApp.instance().getApplicationContext(), isDelta);
+        }
+
+        @Override
+        public void onFoods(List<JSONObject> batch) {
+            JSONArray removedFoods = new JSONArray();
+            JSONArray updatedFoods = new JSONArray();
+            JSONArray addedFoods = new JSONArray();
+            RxBus.INSTANCE.send(new EventNSClientNewLog("DATA", "received " + batch.size() + " foods"));
+            for (JSONObject jsonFood : batch) {
+                // remove from upload queue if Ack is failing
+                UploadQueue.removeID(jsonFood);
+
+                String action = JsonHelper.safeGetString(jsonFood, "action");
+
+                if (action == null) {
+                    addedFoods.put(jsonFood);
+                } else if (action.equals("update")) {
+                    updatedFoods.put(jsonFood);
+                } else if (action.equals("remove")) {
+                    removedFoods.put(jsonFood);
+                }
+            }
+            if (removedFoods.length() > 0) {
+                BroadcastFood.handleRemovedFood(removedFoods, MainApp.instance().getApplicationContext(), isDelta);
+            }
+            if (updatedFoods.length() > 0) {
+                BroadcastFood.handleChangedFood(updatedFoods, MainApp.instance().getApplicationContext(), isDelta);
+            }
+            if (addedFoods.length() > 0) {
+                BroadcastFood.handleNewFood(addedFoods, MainApp.instance().getApplicationContext(), isDelta);
+            }
+        }
+
+        @Override
+        public void onMbgs(List<JSONObject> batch) {
+            RxBus.INSTANCE.send(new EventNSClientNewLog("DATA", "received " + batch.size() + " mbgs"));
+            for (JSONObject jsonMbg : batch) {
+                // remove from upload queue if Ack is failing
+                UploadQueue.removeID(jsonMbg);
+            }
+            BroadcastMbgs.handleNewMbg(new JSONArray(batch), MainApp.instance().getApplicationContext(), isDelta);
+        }
+
+        @Override
+        public void onCals(List<JSONObject> batch) {
+            RxBus.INSTANCE.send(new EventNSClientNewLog("DATA", "received " + batch.size() + " cals"));
+            // Retreive actual calibration
+            for (JSONObject jsonCal : batch) {
+                // remove from upload queue if Ack is failing
+                UploadQueue.removeID(jsonCal);
+            }
+            BroadcastCals.handleNewCal(new JSONArray(batch), MainApp.instance().getApplicationContext(), isDelta);
+        }
+
+        @Override
+        public void onSgvs(List<JSONObject> batch) {
+            sgvsReceived = true;
+            List<NSSgv> nsSgvs = new ArrayList<>(batch.size());
+            RxBus.INSTANCE.send(new EventNSClientNewLog("DATA", "received " + batch.size() + " sgvs"));
+            for (JSONObject jsonSgv : batch) {
+                NSSgv sgv = new NSSgv(jsonSgv);
+                nsSgvs.add(sgv);
+                // remove from upload queue if Ack is failing
+                UploadQueue.removeID(jsonSgv);
+                //Find latest date in sgv
+                if (sgv.getMills() != null && sgv.getMills() < System.currentTimeMillis())
+                    if (sgv.getMills() > latestDateInReceivedData)
+                        latestDateInReceivedData = sgv.getMills();
+            }
+            // one transaction per batch
+            SourceNSClientPlugin.getPlugin().handleNewSgvs(nsSgvs);
+            BroadcastSgvs.handleNewSgv(new JSONArray(batch), MainApp.instance().getApplicationContext(), isDelta);
+        }
+
+        void finish() {
+            if (!statusReceived && !isDelta) {
+                RxBus.INSTANCE.send(new EventNSClientNewLog("ERROR", "Unsupported Nightscout version !!!!"));
+            }
+            if (sgvsReceived) {
+                // Was that sgv more less 15 mins ago ?
+                boolean lessThan15MinAgo = false;
+                if ((System.currentTimeMillis() - latestDateInReceivedData) / (60 * 1000L) < 15L)
+                    lessThan15MinAgo = true;
+                if (Notification.isAlarmForStaleData() && lessThan15MinAgo) {
+                    RxBus.INSTANCE.send(new EventDismissNotification(Notification.NSALARM));
+                }
+            }
+            RxBus.INSTANCE.send(new EventNSClientNewLog("LAST", DateUtil.dateAndTimeString(latestDateInReceivedData)));
+        }
+    }
+
     public void dbUpdate(DbRequest dbr, NSUpdateAck ack) {
         try {
             if (!isConnected || !hasWriteAuth) return;
@@ -796,6 +852,24 @@ public class NSClientService extends Service {
         RxBus.INSTANCE.send(new EventNSClientNewLog("ALARMACK ", alarmAck.level + " " + alarmAck.group + " " + alarmAck.silenceTime));
     }
 
+    private boolean send(DbRequest dbr) {
+        if (mSocket == null || !mSocket.connected() || !isConnected || !hasWriteAuth) return false;
+        if (dbr.action.equals("dbAdd")) {
+            NSAddAck addAck = new NSAddAck();
+            dbAdd(dbr, addAck);
+        } else if (dbr.action.equals("dbRemove")) {
+            NSUpdateAck removeAck = new NSUpdateAck(dbr.action, dbr._id);
+            dbRemove(dbr, removeAck);
+        } else if (dbr.action.equals("dbUpdate")) {
+            NSUpdateAck updateAck = new NSUpdateAck(dbr.action, dbr._id);
+            dbUpdate(dbr, updateAck);
+        } else if (dbr.action.equals("dbUpdateUnset")) {
+            NSUpdateAck updateUnsetAck = new NSUpdateAck(dbr.action, dbr._id);
+            dbUpdateUnset(dbr, updateUnsetAck);
+        }
+        return true;
+    }
+
     public void resend(final String reason) {
         if (UploadQueue.size() == 0)
             return;
@@ -807,45 +881,12 @@ public class NSClientService extends Service {
             public void run() {
                 if (mSocket == null || !mSocket.connected()) return;
 
-                if (lastResendTime > System.currentTimeMillis() - 10 * 1000L) {
-                    if (L.isEnabled(L.NSCLIENT))
-                        log.debug("Skipping resend by lastResendTime: " + ((System.currentTimeMillis() - lastResendTime) / 1000L) + " sec");
-                    return;
+                // window of unacked requests is filled, every ack sends next one
+                int sent = uploadPipeline.pump(System.currentTimeMillis());
+                if (sent > 0) {
+                    lastResendTime = System.currentTimeMillis();
+                    RxBus.INSTANCE.send(new EventNSClientNewLog("QUEUE", "Sent " + sent + " (" + reason + ") " + uploadPipeline.statistics(lastResendTime)));
                 }
-                lastResendTime = System.currentTimeMillis();
-
-                RxBus.INSTANCE.send(new EventNSClientNewLog("QUEUE", "Resend started: " + reason));
-
-                CloseableIterator<DbRequest> iterator = null;
-                int maxcount = 30;
-                try {
-                    iterator = MainApp.getDbHelper().getDbRequestInterator();
-                    try {
-                        while (iterator.hasNext() && maxcount > 0) {
-                            DbRequest dbr = iterator.next();
-                            if (dbr.action.equals("dbAdd")) {
-                                NSAddAck addAck = new NSAddAck();
-                                dbAdd(dbr, addAck);
-                            } else if (dbr.action.equals("dbRemove")) {
-                                NSUpdateAck removeAck = new NSUpdateAck(dbr.action, dbr._id);
-                                dbRemove(dbr, removeAck);
-                            } else if (dbr.action.equals("dbUpdate")) {
-                                NSUpdateAck updateAck = new NSUpdateAck(dbr.action, dbr._id);
-                                dbUpdate(dbr, updateAck);
-                            } else if (dbr.action.equals("dbUpdateUnset")) {
-                                NSUpdateAck updateUnsetAck = new NSUpdateAck(dbr.action, dbr._id);
-                                dbUpdateUnset(dbr, updateUnsetAck);
-                            }
-                            maxcount--;
-                        }
-                    } finally {
-                        iterator.close();
-                    }
-                } catch (SQLException e) {
-                    log.error("Unhandled exception", e);
-                }
-
-                RxBus.INSTANCE.send(new EventNSClientNewLog("QUEUE", "Resend ended: " + reason));
             }
         });
     }
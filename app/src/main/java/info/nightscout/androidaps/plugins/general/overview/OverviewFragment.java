@@ -29,7 +29,6 @@ import androidx.appcompat.app.AlertDialog;
 import androidx.appcompat.widget.PopupMenu;
 import androidx.core.content.res.ResourcesCompat;
 import androidx.fragment.app.Fragment;
-import androidx.fragment.app.FragmentActivity;
 import androidx.fragment.app.FragmentManager;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
@@ -42,10 +41,6 @@ import org.slf4j.LoggerFactory;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.TimeUnit;
 
 import info.nightscout.androidaps.Config;
 import info.nightscout.androidaps.Constants;
@@ -77,6 +72,7 @@ import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.interfaces.PumpDescription;
 import info.nightscout.androidaps.interfaces.PumpInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.aps.loop.APSResult;
 import info.nightscout.androidaps.plugins.aps.loop.LoopPlugin;
 import info.nightscout.androidaps.plugins.aps.loop.events.EventNewOpenLoopNotification;
@@ -112,6 +108,7 @@ import info.nightscout.androidaps.utils.DateUtil;
 import info.nightscout.androidaps.utils.DecimalFormatter;
 import info.nightscout.androidaps.utils.DefaultValueHelper;
 import info.nightscout.androidaps.utils.FabricPrivacy;
+import info.nightscout.androidaps.utils.GuiRefresh;
 import info.nightscout.androidaps.utils.OKDialog;
 import info.nightscout.androidaps.utils.Profiler;
 import info.nightscout.androidaps.utils.SP;
@@ -195,8 +192,10 @@ public class OverviewFragment extends Fragment implements View.OnClickListener,
 
     public enum CHARTTYPE {PRE, BAS, IOB, COB, DEV, SEN, ACTPRIM, ACTSEC, DEVSLOPE}
 
-    private static final ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor();
-    private static ScheduledFuture<?> scheduledUpdate = null;
+    // texts are bound once per frame at most, they don't wait for graphs
+    private final GuiRefresh<Void> textRefresh = new GuiRefresh<>("Overview", GuiRefresh.FRAME, null, (data, from) -> updateGUI(from));
+    // graphs are expensive, requests within 500 ms are merged
+    private final GuiRefresh<GraphData[]> graphRefresh = GuiRefresh.longPreparation("OverviewGraphs", 500, this::prepareGraphs, this::bindGraphs);
 
     public OverviewFragment() {
         super();
@@ -333,7 +332,7 @@ public class OverviewFragment extends Fragment implements View.OnClickListener,
             rangeToDisplay += 6;
             rangeToDisplay = rangeToDisplay > 24 ? 6 : rangeToDisplay;
             SP.putInt(R.string.key_rangetodisplay, rangeToDisplay);
-            updateGUI("rangeChange");
+            scheduleUpdateGUI("rangeChange");
             SP.putBoolean(R.string.key_objectiveusescale, true);
             return false;
         });
@@ -347,6 +346,8 @@ public class OverviewFragment extends Fragment implements View.OnClickListener,
     public void onPause() {
         super.onPause();
         disposable.clear();
+        textRefresh.pause();
+        graphRefresh.pause();
         sLoopHandler.removeCallbacksAndMessages(null);
         unregisterForContextMenu(apsModeView);
         unregisterForContextMenu(activeProfileView);
@@ -451,7 +452,8 @@ public class OverviewFragment extends Fragment implements View.OnClickListener,
         registerForContextMenu(apsModeView);
         registerForContextMenu(activeProfileView);
         registerForContextMenu(tempTargetView);
-        updateGUI("onResume");
+        textRefresh.resume();
+        graphRefresh.resume();
     }
 
     private void setupChartMenu(View view) {
@@ -673,7 +675,7 @@ public class OverviewFragment extends Fragment implements View.OnClickListener,
             loopPlugin.setPluginEnabled(PluginType.LOOP, false);
             loopPlugin.setFragmentVisible(PluginType.LOOP, false);
             ConfigBuilderPlugin.getPlugin().storeSettings("DisablingLoop");
-            updateGUI("suspendmenu");
+            scheduleUpdateGUI("suspendmenu");
             ConfigBuilderPlugin.getPlugin().getCommandQueue().cancelTempBasal(true, new Callback() {
                 @Override
                 public void run() {
@@ -688,13 +690,13 @@ public class OverviewFragment extends Fragment implements View.OnClickListener,
             loopPlugin.setPluginEnabled(PluginType.LOOP, true);
             loopPlugin.setFragmentVisible(PluginType.LOOP, true);
             ConfigBuilderPlugin.getPlugin().storeSettings("EnablingLoop");
-            updateGUI("suspendmenu");
+            scheduleUpdateGUI("suspendmenu");
             NSUpload.uploadOpenAPSOffline(0);
             return true;
         } else if (item.getTitle().equals(MainApp.gs(R.string.resume)) ||
                 item.getTitle().equals(MainApp.gs(R.string.reconnect))) {
             loopPlugin.suspendTo(0L);
-            updateGUI("suspendmenu");
+            scheduleUpdateGUI("suspendmenu");
             ConfigBuilderPlugin.getPlugin().getCommandQueue().cancelTempBasal(true, new Callback() {
                 @Override
                 public void run() {
@@ -708,40 +710,40 @@ public class OverviewFragment extends Fragment implements View.OnClickListener,
             return true;
         } else if (item.getTitle().equals(MainApp.gs(R.string.suspendloopfor1h))) {
             LoopPlugin.getPlugin().suspendLoop(60);
-            updateGUI("suspendmenu");
+            scheduleUpdateGUI("suspendmenu");
             return true;
         } else if (item.getTitle().equals(MainApp.gs(R.string.suspendloopfor2h))) {
             LoopPlugin.getPlugin().suspendLoop(120);
-            updateGUI("suspendmenu");
+            scheduleUpdateGUI("suspendmenu");
             return true;
         } else if (item.getTitle().equals(MainApp.gs(R.string.suspendloopfor3h))) {
             LoopPlugin.getPlugin().suspendLoop(180);
-            updateGUI("suspendmenu");
+            scheduleUpdateGUI("suspendmenu");
             return true;
         } else if (item.getTitle().equals(MainApp.gs(R.string.suspendloopfor10h))) {
             LoopPlugin.getPlugin().suspendLoop(600);
-            updateGUI("suspendmenu");
+            scheduleUpdateGUI("suspendmenu");
             return true;
         } else if (item.getTitle().equals(MainApp.gs(R.string.disconnectpumpfor15m))) {
             LoopPlugin.getPlugin().disconnectPump(15, profile);
-            updateGUI("suspendmenu");
+            scheduleUpdateGUI("suspendmenu");
             return true;
         } else if (item.getTitle().equals(MainApp.gs(R.string.disconnectpumpfor30m))) {
             LoopPlugin.getPlugin().disconnectPump(30, profile);
-            updateGUI("suspendmenu");
+            scheduleUpdateGUI("suspendmenu");
             return true;
         } else if (item.getTitle().equals(MainApp.gs(R.string.disconnectpumpfor1h))) {
             LoopPlugin.getPlugin().disconnectPump(60, profile);
             SP.putBoolean(R.string.key_objectiveusedisconnect, true);
-            updateGUI("suspendmenu");
+            scheduleUpdateGUI("suspendmenu");
             return true;
         } else if (item.getTitle().equals(MainApp.gs(R.string.disconnectpumpfor2h))) {
             LoopPlugin.getPlugin().disconnectPump(120, profile);
-            updateGUI("suspendmenu");
+            scheduleUpdateGUI("suspendmenu");
             return true;
         } else if (item.getTitle().equals(MainApp.gs(R.string.disconnectpumpfor3h))) {
             LoopPlugin.getPlugin().disconnectPump(180, profile);
-            updateGUI("suspendmenu");
+            scheduleUpdateGUI("suspendmenu");
             return true;
         } else if (item.getTitle().equals(MainApp.gs(R.string.careportal_profileswitch))) {
             NewNSTreatmentDialog newDialog = new NewNSTreatmentDialog();
@@ -988,28 +990,182 @@ public class OverviewFragment extends Fragment implements View.OnClickListener,
     }
 
     public void scheduleUpdateGUI(final String from) {
-        class UpdateRunnable implements Runnable {
-            public void run() {
-                Activity activity = getActivity();
-                if (activity != null)
-                    activity.runOnUiThread(() -> {
-                        updateGUI(from);
-                        scheduledUpdate = null;
-                    });
-            }
+        textRefresh.request(from);
+        graphRefresh.request(from);
+    }
+
+    // worker thread
+    private GraphData[] prepareGraphs(final String from) {
+        final long updateGUIStart = System.currentTimeMillis();
+
+        if (!ProfileFunctions.getInstance().isProfileValid("Overview"))
+            return null;
+
+        final PumpInterface pump = ConfigBuilderPlugin.getPlugin().getActivePump();
+        final Profile profile = ProfileFunctions.getInstance().getProfile();
+        final String units = profile.getUnits();
+        final double lowLine = OverviewPlugin.INSTANCE.determineLowLine(units);
+        final double highLine = OverviewPlugin.INSTANCE.determineHighLine(units);
+
+        final LoopPlugin.LastRun finalLastRun = LoopPlugin.lastRun;
+        boolean predictionsAvailable;
+        if (Config.APS)
+            predictionsAvailable = finalLastRun != null && finalLastRun.request.hasPredictions;
+        else if (Config.NSCLIENT)
+            predictionsAvailable = true;
+        else
+            predictionsAvailable = false;
+        final boolean finalPredictionsAvailable = predictionsAvailable;
+
+        // allign to hours
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(System.currentTimeMillis());
+        calendar.set(Calendar.MILLISECOND, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.add(Calendar.HOUR, 1);
+
+        int hoursToFetch;
+        final long toTime;
+        final long fromTime;
+        final long endTime;
+
+        APSResult apsResult = null;
+
+        if (finalPredictionsAvailable && SP.getBoolean("showprediction", false)) {
+            if (Config.APS)
+                apsResult = finalLastRun.constraintsProcessed;
+            else
+                apsResult = NSDeviceStatus.getAPSResult();
+            int predHours = (int) (Math.ceil(apsResult.getLatestPredictionsTime() - System.currentTimeMillis()) / (60 * 60 * 1000));
+            predHours = Math.min(2, predHours);
+            predHours = Math.max(0, predHours);
+            hoursToFetch = rangeToDisplay - predHours;
+            toTime = calendar.getTimeInMillis() + 100000; // little bit more to avoid wrong rounding - Graphview specific
+            fromTime = toTime - T.hours(hoursToFetch).msecs();
+            endTime = toTime + T.hours(predHours).msecs();
+        } else {
+            hoursToFetch = rangeToDisplay;
+            toTime = calendar.getTimeInMillis() + 100000; // little bit more to avoid wrong rounding - Graphview specific
+            fromTime = toTime - T.hours(hoursToFetch).msecs();
+            endTime = toTime;
+        }
+
+
+        final long now = System.currentTimeMillis();
+
+        //  ------------------ 1st graph
+        if (L.isEnabled(LTag.OVERVIEW))
+            Profiler.log(log, from + " - 1st graph - START", updateGUIStart);
+
+        final GraphData graphData = new GraphData(bgGraph, IobCobCalculatorPlugin.getPlugin());
+
+        // **** In range Area ****
+        graphData.addInRangeArea(fromTime, endTime, lowLine, highLine);
+
+        // **** BG ****
+        if (finalPredictionsAvailable && SP.getBoolean("showprediction", false))
+            graphData.addBgReadings(fromTime, toTime, lowLine, highLine,
+                    apsResult.getPredictions());
+        else
+            graphData.addBgReadings(fromTime, toTime, lowLine, highLine, null);
+
+        // set manual x bounds to have nice steps
+        graphData.formatAxis(fromTime, endTime);
+
+        // Treatments
+        graphData.addTreatments(fromTime, endTime);
+
+        if (SP.getBoolean("showactivityprimary", true)) {
+            graphData.addActivity(fromTime, endTime, false, 0.8d);
+        }
+
+        // add basal data
+        if (pump.getPumpDescription().isTempBasalCapable && SP.getBoolean("showbasals", true)) {
+            graphData.addBasals(fromTime, now, lowLine / graphData.maxY / 1.2d);
+        }
+
+        // add target line
+        graphData.addTargetLine(fromTime, toTime, profile);
+
+        // **** NOW line ****
+        graphData.addNowLine(now);
+
+        // ------------------ 2nd graph
+        if (L.isEnabled(LTag.OVERVIEW))
+            Profiler.log(log, from + " - 2nd graph - START", updateGUIStart);
+
+        final GraphData secondGraphData = new GraphData(iobGraph, IobCobCalculatorPlugin.getPlugin());
+
+        boolean useIobForScale = false;
+        boolean useCobForScale = false;
+        boolean useDevForScale = false;
+        boolean useRatioForScale = false;
+        boolean useDSForScale = false;
+        boolean useIAForScale = false;
+
+        if (SP.getBoolean("showiob", true)) {
+            useIobForScale = true;
+        } else if (SP.getBoolean("showcob", true)) {
+            useCobForScale = true;
+        } else if (SP.getBoolean("showdeviations", false)) {
+            useDevForScale = true;
+        } else if (SP.getBoolean("showratios", false)) {
+            useRatioForScale = true;
+        } else if (SP.getBoolean("showactivitysecondary", false)) {
+            useIAForScale = true;
+        } else if (SP.getBoolean("showdevslope", false)) {
+            useDSForScale = true;
+        }
+
+        if (SP.getBoolean("showiob", true))
+            secondGraphData.addIob(fromTime, now, useIobForScale, 1d, SP.getBoolean("showprediction", false));
+        if (SP.getBoolean("showcob", true))
+            secondGraphData.addCob(fromTime, now, useCobForScale, useCobForScale ? 1d : 0.5d);
+        if (SP.getBoolean("showdeviations", false))
+            secondGraphData.addDeviations(fromTime, now, useDevForScale, 1d);
+        if (SP.getBoolean("showratios", false))
+            secondGraphData.addRatio(fromTime, now, useRatioForScale, 1d);
+        if (SP.getBoolean("showactivitysecondary", true))
+            secondGraphData.addActivity(fromTime, endTime, useIAForScale, 0.8d);
+        if (SP.getBoolean("showdevslope", false) && MainApp.devBranch)
+            secondGraphData.addDeviationSlope(fromTime, now, useDSForScale, 1d);
+
+        // **** NOW line ****
+        // set manual x bounds to have nice steps
+        secondGraphData.formatAxis(fromTime, endTime);
+        secondGraphData.addNowLine(now);
+
+        if (L.isEnabled(LTag.OVERVIEW))
+            Profiler.log(log, from + " - graphs prepared", updateGUIStart);
+        return new GraphData[]{graphData, secondGraphData};
+    }
+
+    // main thread
+    private void bindGraphs(GraphData[] graphs, String from) {
+        if (graphs == null || getActivity() == null)
+            return;
+        final long bindStart = System.currentTimeMillis();
+        if (SP.getBoolean("showiob", true)
+                || SP.getBoolean("showcob", true)
+                || SP.getBoolean("showdeviations", false)
+                || SP.getBoolean("showratios", false)
+                || SP.getBoolean("showactivitysecondary", false)
+                || SP.getBoolean("showdevslope", false)) {
+            iobGraph.setVisibility(View.VISIBLE);
+        } else {
+            iobGraph.setVisibility(View.GONE);
         }
-        // prepare task for execution in 400 msec
-        // cancel waiting task to prevent multiple updates
-        if (scheduledUpdate != null)
-            scheduledUpdate.cancel(false);
-        Runnable task = new UpdateRunnable();
-        final int msec = 500;
-        scheduledUpdate = worker.schedule(task, msec, TimeUnit.MILLISECONDS);
+        // finally enforce drawing of graphs
+        graphs[0].performUpdate();
+        graphs[1].performUpdate();
+        if (L.isEnabled(LTag.OVERVIEW))
+            Profiler.log(log, from + " - onDataChanged", bindStart);
     }
 
     @SuppressLint("SetTextI18n")
     public void updateGUI(final String from) {
-        if (L.isEnabled(L.OVERVIEW))
+        if (L.isEnabled(LTag.OVERVIEW))
             log.debug("updateGUI entered from: " + from);
         final long updateGUIStart = System.currentTimeMillis();
 
@@ -1349,15 +1505,6 @@ public class OverviewFragment extends Fragment implements View.OnClickListener,
                 statuslightsLayout.setVisibility(View.GONE);
             }
 
-        boolean predictionsAvailable;
-        if (Config.APS)
-            predictionsAvailable = finalLastRun != null && finalLastRun.request.hasPredictions;
-        else if (Config.NSCLIENT)
-            predictionsAvailable = true;
-        else
-            predictionsAvailable = false;
-        final boolean finalPredictionsAvailable = predictionsAvailable;
-
         // pump status from ns
         if (pumpDeviceStatusView != null) {
             pumpDeviceStatusView.setText(NSDeviceStatus.getInstance().getPumpStatus());
@@ -1385,152 +1532,8 @@ public class OverviewFragment extends Fragment implements View.OnClickListener,
                 sensitivityView.setText("");
         }
 
-        // ****** GRAPH *******
-
-        new Thread(() -> {
-            // allign to hours
-            Calendar calendar = Calendar.getInstance();
-            calendar.setTimeInMillis(System.currentTimeMillis());
-            calendar.set(Calendar.MILLISECOND, 0);
-            calendar.set(Calendar.SECOND, 0);
-            calendar.set(Calendar.MINUTE, 0);
-            calendar.add(Calendar.HOUR, 1);
-
-            int hoursToFetch;
-            final long toTime;
-            final long fromTime;
-            final long endTime;
-
-            APSResult apsResult = null;
-
-            if (finalPredictionsAvailable && SP.getBoolean("showprediction", false)) {
-                if (Config.APS)
-                    apsResult = finalLastRun.constraintsProcessed;
-                else
-                    apsResult = NSDeviceStatus.getAPSResult();
-                int predHours = (int) (Math.ceil(apsResult.getLatestPredictionsTime() - System.currentTimeMillis()) / (60 * 60 * 1000));
-                predHours = Math.min(2, predHours);
-                predHours = Math.max(0, predHours);
-                hoursToFetch = rangeToDisplay - predHours;
-                toTime = calendar.getTimeInMillis() + 100000; // little bit more to avoid wrong rounding - Graphview specific
-                fromTime = toTime - T.hours(hoursToFetch).msecs();
-                endTime = toTime + T.hours(predHours).msecs();
-            } else {
-                hoursToFetch = rangeToDisplay;
-                toTime = calendar.getTimeInMillis() + 100000; // little bit more to avoid wrong rounding - Graphview specific
-                fromTime = toTime - T.hours(hoursToFetch).msecs();
-                endTime = toTime;
-            }
-
-
-            final long now = System.currentTimeMillis();
-
-            //  ------------------ 1st graph
-            if (L.isEnabled(L.OVERVIEW))
-                Profiler.log(log, from + " - 1st graph - START", updateGUIStart);
-
-            final GraphData graphData = new GraphData(bgGraph, IobCobCalculatorPlugin.getPlugin());
-
-            // **** In range Area ****
-            graphData.addInRangeArea(fromTime, endTime, lowLine, highLine);
-
-            // **** BG ****
-            if (finalPredictionsAvailable && SP.getBoolean("showprediction", false))
-                graphData.addBgReadings(fromTime, toTime, lowLine, highLine,
-                        apsResult.getPredictions());
-            else
-                graphData.addBgReadings(fromTime, toTime, lowLine, highLine, null);
-
-            // set manual x bounds to have nice steps
-            graphData.formatAxis(fromTime, endTime);
-
-            // Treatments
-            graphData.addTreatments(fromTime, endTime);
-
-            if (SP.getBoolean("showactivityprimary", true)) {
-                graphData.addActivity(fromTime, endTime, false, 0.8d);
-            }
-
-            // add basal data
-            if (pump.getPumpDescription().isTempBasalCapable && SP.getBoolean("showbasals", true)) {
-                graphData.addBasals(fromTime, now, lowLine / graphData.maxY / 1.2d);
-            }
-
-            // add target line
-            graphData.addTargetLine(fromTime, toTime, profile);
-
-            // **** NOW line ****
-            graphData.addNowLine(now);
-
-            // ------------------ 2nd graph
-            if (L.isEnabled(L.OVERVIEW))
-                Profiler.log(log, from + " - 2nd graph - START", updateGUIStart);
-
-            final GraphData secondGraphData = new GraphData(iobGraph, IobCobCalculatorPlugin.getPlugin());
-
-            boolean useIobForScale = false;
-            boolean useCobForScale = false;
-            boolean useDevForScale = false;
-            boolean useRatioForScale = false;
-            boolean useDSForScale = false;
-            boolean useIAForScale = false;
-
-            if (SP.getBoolean("showiob", true)) {
-                useIobForScale = true;
-            } else if (SP.getBoolean("showcob", true)) {
-                useCobForScale = true;
-            } else if (SP.getBoolean("showdeviations", false)) {
-                useDevForScale = true;
-            } else if (SP.getBoolean("showratios", false)) {
-                useRatioForScale = true;
-            } else if (SP.getBoolean("showactivitysecondary", false)) {
-                useIAForScale = true;
-            } else if (SP.getBoolean("showdevslope", false)) {
-                useDSForScale = true;
-            }
-
-            if (SP.getBoolean("showiob", true))
-                secondGraphData.addIob(fromTime, now, useIobForScale, 1d, SP.getBoolean("showprediction", false));
-            if (SP.getBoolean("showcob", true))
-                secondGraphData.addCob(fromTime, now, useCobForScale, useCobForScale ? 1d : 0.5d);
-            if (SP.getBoolean("showdeviations", false))
-                secondGraphData.addDeviations(fromTime, now, useDevForScale, 1d);
-            if (SP.getBoolean("showratios", false))
-                secondGraphData.addRatio(fromTime, now, useRatioForScale, 1d);
-            if (SP.getBoolean("showactivitysecondary", true))
-                secondGraphData.addActivity(fromTime, endTime, useIAForScale, 0.8d);
-            if (SP.getBoolean("showdevslope", false) && MainApp.devBranch)
-                secondGraphData.addDeviationSlope(fromTime, now, useDSForScale, 1d);
-
-            // **** NOW line ****
-            // set manual x bounds to have nice steps
-            secondGraphData.formatAxis(fromTime, endTime);
-            secondGraphData.addNowLine(now);
-
-            // do GUI update
-            FragmentActivity activity = getActivity();
-            if (activity != null) {
-                activity.runOnUiThread(() -> {
-                    if (SP.getBoolean("showiob", true)
-                            || SP.getBoolean("showcob", true)
-                            || SP.getBoolean("showdeviations", false)
-                            || SP.getBoolean("showratios", false)
-                            || SP.getBoolean("showactivitysecondary", false)
-                            || SP.getBoolean("showdevslope", false)) {
-                        iobGraph.setVisibility(View.VISIBLE);
-                    } else {
-                        iobGraph.setVisibility(View.GONE);
-                    }
-                    // finally enforce drawing of graphs
-                    graphData.performUpdate();
-                    secondGraphData.performUpdate();
-                    if (L.isEnabled(L.OVERVIEW))
-                        Profiler.log(log, from + " - onDataChanged", updateGUIStart);
-                });
-            }
-        }).start();
 
-        if (L.isEnabled(L.OVERVIEW))
+        if (L.isEnabled(LTag.OVERVIEW))
             Profiler.log(log, from, updateGUIStart);
     }
 
@@ -21,6 +21,7 @@ import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.events.EventPumpStatusChanged;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
 import info.nightscout.androidaps.plugins.general.overview.events.EventDismissBolusProgressIfRunning;
@@ -81,7 +82,7 @@ public class BolusProgressDialog extends DialogFragment implements View.OnClickL
     @Override
     public void onResume() {
         super.onResume();
-        if (L.isEnabled(L.UI))
+        if (L.isEnabled(LTag.UI))
             log.debug("onResume");
         if (!ConfigBuilderPlugin.getPlugin().getCommandQueue().bolusInQueue()) {
             bolusEnded = true;
@@ -92,7 +93,7 @@ public class BolusProgressDialog extends DialogFragment implements View.OnClickL
             if (getDialog() != null)
                 getDialog().getWindow().setLayout(ViewGroup.LayoutParams.MATCH_PARENT, ViewGroup.LayoutParams.WRAP_CONTENT);
             running = true;
-            if (L.isEnabled(L.UI))
+            if (L.isEnabled(LTag.UI))
                 log.debug("onResume running");
         }
         disposable.add(RxBus.INSTANCE
@@ -104,7 +105,7 @@ public class BolusProgressDialog extends DialogFragment implements View.OnClickL
                 .toObservable(EventDismissBolusProgressIfRunning.class)
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe(event -> {
-                    if (L.isEnabled(L.UI)) log.debug("EventDismissBolusProgressIfRunning");
+                    if (L.isEnabled(LTag.UI)) log.debug("EventDismissBolusProgressIfRunning");
                     if (BolusProgressDialog.running) dismiss();
                 }, FabricPrivacy::logException)
         );
@@ -112,7 +113,7 @@ public class BolusProgressDialog extends DialogFragment implements View.OnClickL
                 .toObservable(EventOverviewBolusProgress.class)
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe(event -> {
-                    if (L.isEnabled(L.UI))
+                    if (L.isEnabled(LTag.UI))
                         log.debug("Status: " + event.getStatus() + " Percent: " + event.getPercent());
                     statusView.setText(event.getStatus());
                     progressBar.setProgress(event.getPercent());
@@ -127,7 +128,7 @@ public class BolusProgressDialog extends DialogFragment implements View.OnClickL
 
     @Override
     public void dismiss() {
-        if (L.isEnabled(L.UI))
+        if (L.isEnabled(LTag.UI))
             log.debug("dismiss");
         try {
             super.dismiss();
@@ -144,7 +145,7 @@ public class BolusProgressDialog extends DialogFragment implements View.OnClickL
 
     @Override
     public void onPause() {
-        if (L.isEnabled(L.UI))
+        if (L.isEnabled(LTag.UI))
             log.debug("onPause");
         running = false;
         super.onPause();
@@ -162,7 +163,7 @@ public class BolusProgressDialog extends DialogFragment implements View.OnClickL
     public void onClick(View view) {
         switch (view.getId()) {
             case R.id.overview_bolusprogress_stop:
-                if (L.isEnabled(L.UI))
+                if (L.isEnabled(LTag.UI))
                     log.debug("Stop bolus delivery button pressed");
                 stopPressed = true;
                 stopPressedView.setVisibility(View.VISIBLE);
@@ -173,7 +174,7 @@ public class BolusProgressDialog extends DialogFragment implements View.OnClickL
     }
 
     private void scheduleDismiss() {
-        if (L.isEnabled(L.UI))
+        if (L.isEnabled(LTag.UI))
             log.debug("scheduleDismiss");
         Thread t = new Thread(() -> {
             SystemClock.sleep(5000);
@@ -183,7 +184,7 @@ public class BolusProgressDialog extends DialogFragment implements View.OnClickL
                 activity.runOnUiThread(() -> {
                     try {
                         if (running) {
-                            if (L.isEnabled(L.UI))
+                            if (L.isEnabled(LTag.UI))
                                 log.debug("executing");
                             dismiss();
                         }
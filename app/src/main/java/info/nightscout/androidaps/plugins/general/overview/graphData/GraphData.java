@@ -29,6 +29,7 @@ import info.nightscout.androidaps.db.ExtendedBolus;
 import info.nightscout.androidaps.db.ProfileSwitch;
 import info.nightscout.androidaps.db.TempTarget;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.aps.loop.APSResult;
 import info.nightscout.androidaps.plugins.aps.loop.LoopPlugin;
 import info.nightscout.androidaps.plugins.aps.openAPSSMB.SMBDefaults;
@@ -81,7 +82,7 @@ public class GraphData {
         List<DataPointWithLabelInterface> bgListArray = new ArrayList<>();
 
         if (bgReadingsArray == null || bgReadingsArray.size() == 0) {
-            if (L.isEnabled(L.OVERVIEW))
+            if (L.isEnabled(LTag.OVERVIEW))
                 log.debug("No BG data.");
             maxY = 10;
             minY = 0;
@@ -151,50 +152,55 @@ public class GraphData {
         double lastAbsoluteLineBasal = -1;
         double lastBaseBasal = 0;
         double lastTempBasal = 0;
-        for (long time = fromTime; time < toTime; time += 60 * 1000L) {
-            Profile profile = ProfileFunctions.getInstance().getProfile(time);
-            if (profile == null) continue;
-            BasalData basalData = iobCobCalculatorPlugin.getBasalData(profile, time);
-            double baseBasalValue = basalData.basal;
-            double absoluteLineValue = baseBasalValue;
-            double tempBasalValue = 0;
-            double basal = 0d;
-            if (basalData.isTempBasalRunning) {
-                absoluteLineValue = tempBasalValue = basalData.tempBasalAbsolute;
-                if (tempBasalValue != lastTempBasal) {
-                    tempBasalArray.add(new ScaledDataPoint(time, lastTempBasal, basalScale));
-                    tempBasalArray.add(new ScaledDataPoint(time, basal = tempBasalValue, basalScale));
+        SeriesBuffer basals = iobCobCalculatorPlugin.getGraphDataCache().basals;
+        synchronized (basals) {
+            basals.update(fromTime, toTime, cacheUntil(System.currentTimeMillis()), this::sampleBasal);
+            int stride = basals.stride(graph.getWidth());
+            for (int i = 0; i < basals.size(); i += stride) {
+                if (!basals.isAvailable(i)) continue;
+                long time = basals.time(i);
+                double baseBasalValue = basals.get(i, 0);
+                double tempBasalAbsolute = basals.get(i, 1);
+                double absoluteLineValue = baseBasalValue;
+                double tempBasalValue = 0;
+                double basal = 0d;
+                if (!Double.isNaN(tempBasalAbsolute)) {
+                    absoluteLineValue = tempBasalValue = tempBasalAbsolute;
+                    if (tempBasalValue != lastTempBasal) {
+                        tempBasalArray.add(new ScaledDataPoint(time, lastTempBasal, basalScale));
+                        tempBasalArray.add(new ScaledDataPoint(time, basal = tempBasalValue, basalScale));
+                    }
+                    if (lastBaseBasal != 0d) {
+                        baseBasalArray.add(new ScaledDataPoint(time, lastBaseBasal, basalScale));
+                        baseBasalArray.add(new ScaledDataPoint(time, 0d, basalScale));
+                        lastBaseBasal = 0d;
+                    }
+                } else {
+                    if (baseBasalValue != lastBaseBasal) {
+                        baseBasalArray.add(new ScaledDataPoint(time, lastBaseBasal, basalScale));
+                        baseBasalArray.add(new ScaledDataPoint(time, basal = baseBasalValue, basalScale));
+                        lastBaseBasal = baseBasalValue;
+                    }
+                    if (lastTempBasal != 0) {
+                        tempBasalArray.add(new ScaledDataPoint(time, lastTempBasal, basalScale));
+                        tempBasalArray.add(new ScaledDataPoint(time, 0d, basalScale));
+                    }
                 }
-                if (lastBaseBasal != 0d) {
-                    baseBasalArray.add(new ScaledDataPoint(time, lastBaseBasal, basalScale));
-                    baseBasalArray.add(new ScaledDataPoint(time, 0d, basalScale));
-                    lastBaseBasal = 0d;
-                }
-            } else {
-                if (baseBasalValue != lastBaseBasal) {
-                    baseBasalArray.add(new ScaledDataPoint(time, lastBaseBasal, basalScale));
-                    baseBasalArray.add(new ScaledDataPoint(time, basal = baseBasalValue, basalScale));
-                    lastBaseBasal = baseBasalValue;
+
+                if (baseBasalValue != lastLineBasal) {
+                    basalLineArray.add(new ScaledDataPoint(time, lastLineBasal, basalScale));
+                    basalLineArray.add(new ScaledDataPoint(time, baseBasalValue, basalScale));
                 }
-                if (lastTempBasal != 0) {
-                    tempBasalArray.add(new ScaledDataPoint(time, lastTempBasal, basalScale));
-                    tempBasalArray.add(new ScaledDataPoint(time, 0d, basalScale));
+                if (absoluteLineValue != lastAbsoluteLineBasal) {
+                    absoluteBasalLineArray.add(new ScaledDataPoint(time, lastAbsoluteLineBasal, basalScale));
+                    absoluteBasalLineArray.add(new ScaledDataPoint(time, basal, basalScale));
                 }
-            }
 
-            if (baseBasalValue != lastLineBasal) {
-                basalLineArray.add(new ScaledDataPoint(time, lastLineBasal, basalScale));
-                basalLineArray.add(new ScaledDataPoint(time, baseBasalValue, basalScale));
+                lastAbsoluteLineBasal = absoluteLineValue;
+                lastLineBasal = baseBasalValue;
+                lastTempBasal = tempBasalValue;
+                maxBasalValueFound = Math.max(maxBasalValueFound, Math.max(tempBasalValue, baseBasalValue));
             }
-            if (absoluteLineValue != lastAbsoluteLineBasal) {
-                absoluteBasalLineArray.add(new ScaledDataPoint(time, lastAbsoluteLineBasal, basalScale));
-                absoluteBasalLineArray.add(new ScaledDataPoint(time, basal, basalScale));
-            }
-
-            lastAbsoluteLineBasal = absoluteLineValue;
-            lastLineBasal = baseBasalValue;
-            lastTempBasal = tempBasalValue;
-            maxBasalValueFound = Math.max(maxBasalValueFound, Math.max(tempBasalValue, baseBasalValue));
         }
 
         basalLineArray.add(new ScaledDataPoint(toTime, lastLineBasal, basalScale));
@@ -243,6 +249,29 @@ public class GraphData {
         addSeries(absoluteBasalsLineSeries);
     }
 
+    private boolean sampleBasal(long time, double[] values) {
+        Profile profile = ProfileFunctions.getInstance().getProfile(time);
+        if (profile == null) return false;
+        BasalData basalData = iobCobCalculatorPlugin.getBasalData(profile, time);
+        values[0] = basalData.basal;
+        values[1] = basalData.isTempBasalRunning ? basalData.tempBasalAbsolute : Double.NaN;
+        return true;
+    }
+
+    private boolean sampleIob(long time, double[] values) {
+        Profile profile = ProfileFunctions.getInstance().getProfile(time);
+        if (profile == null) return false;
+        IobTotal total = iobCobCalculatorPlugin.calculateFromTreatmentsAndTempsSynchronized(time, profile);
+        values[0] = total.iob;
+        values[1] = total.activity;
+        return true;
+    }
+
+    // calculator rounds time up to whole minute and caches only values before now
+    private static long cacheUntil(long now) {
+        return now - 60 * 1000L;
+    }
+
     public void addTargetLine(long fromTime, long toTime, Profile profile) {
         LineGraphSeries<DataPoint> targetsSeries;
 
@@ -260,20 +289,28 @@ public class GraphData {
             }
         }
 
-        for (long time = fromTime; time < toTime; time += 5 * 60 * 1000L) {
-            TempTarget tt = TreatmentsPlugin.getPlugin().getTempTargetFromHistory(time);
-            double value;
-            if (tt == null) {
-                value = (profile.getTargetLow(time) + profile.getTargetHigh(time)) / 2;
-            } else {
-                value = Profile.fromMgdlToUnits(tt.target(), profile.getUnits());
-            }
-            if (lastTarget != value) {
-                if (lastTarget != -1)
-                    targetsSeriesArray.add(new DataPoint(time, lastTarget));
-                targetsSeriesArray.add(new DataPoint(time, value));
+        SeriesBuffer targets = iobCobCalculatorPlugin.getGraphDataCache().targets;
+        synchronized (targets) {
+            // stored in mg/dl, units may differ across profile switches
+            targets.update(fromTime, toTime, cacheUntil(System.currentTimeMillis()), (time, values) -> {
+                TempTarget tt = TreatmentsPlugin.getPlugin().getTempTargetFromHistory(time);
+                if (tt == null) {
+                    values[0] = Profile.toMgdl((profile.getTargetLow(time) + profile.getTargetHigh(time)) / 2, profile.getUnits());
+                } else {
+                    values[0] = tt.target();
+                }
+                return true;
+            });
+            for (int i = 0; i < targets.size(); i++) {
+                long time = targets.time(i);
+                double value = Profile.fromMgdlToUnits(targets.get(i, 0), profile.getUnits());
+                if (lastTarget != value) {
+                    if (lastTarget != -1)
+                        targetsSeriesArray.add(new DataPoint(time, lastTarget));
+                    targetsSeriesArray.add(new DataPoint(time, value));
+                }
+                lastTarget = value;
             }
-            lastTarget = value;
         }
         targetsSeriesArray.add(new DataPoint(toTime, lastTarget));
 
@@ -357,21 +394,23 @@ public class GraphData {
 
         double now = System.currentTimeMillis();
         Scale actScale = new Scale();
-        IobTotal total;
         double maxIAValue = 0;
 
-        for (long time = fromTime; time <= toTime; time += 5 * 60 * 1000L) {
-            Profile profile = ProfileFunctions.getInstance().getProfile(time);
-            double act = 0d;
-            if (profile == null) continue;
-            total = iobCobCalculatorPlugin.calculateFromTreatmentsAndTempsSynchronized(time, profile);
-            act = total.activity;
-
-            if (time <= now)
-                actArrayHist.add(new ScaledDataPoint(time, act, actScale));
-            else
-                actArrayPred.add(new ScaledDataPoint(time, act, actScale));
-            if (act > maxIAValue) maxIAValue = act;
+        SeriesBuffer iobBuffer = iobCobCalculatorPlugin.getGraphDataCache().iob;
+        synchronized (iobBuffer) {
+            iobBuffer.update(fromTime, toTime + 1, cacheUntil((long) now), this::sampleIob);
+            int stride = iobBuffer.stride(graph.getWidth());
+            for (int i = 0; i < iobBuffer.size(); i += stride) {
+                if (!iobBuffer.isAvailable(i)) continue;
+                long time = iobBuffer.time(i);
+                double act = iobBuffer.get(i, 1);
+
+                if (time <= now)
+                    actArrayHist.add(new ScaledDataPoint(time, act, actScale));
+                else
+                    actArrayPred.add(new ScaledDataPoint(time, act, actScale));
+                if (act > maxIAValue) maxIAValue = act;
+            }
         }
 
         ScaledDataPoint[] actData = new ScaledDataPoint[actArrayHist.size()];
@@ -411,17 +450,20 @@ public class GraphData {
         double lastIob = 0;
         Scale iobScale = new Scale();
 
-        for (long time = fromTime; time <= toTime; time += 5 * 60 * 1000L) {
-            Profile profile = ProfileFunctions.getInstance().getProfile(time);
-            double iob = 0d;
-            if (profile != null)
-                iob = iobCobCalculatorPlugin.calculateFromTreatmentsAndTempsSynchronized(time, profile).iob;
-            if (Math.abs(lastIob - iob) > 0.02) {
-                if (Math.abs(lastIob - iob) > 0.2)
-                    iobArray.add(new ScaledDataPoint(time, lastIob, iobScale));
-                iobArray.add(new ScaledDataPoint(time, iob, iobScale));
-                maxIobValueFound = Math.max(maxIobValueFound, Math.abs(iob));
-                lastIob = iob;
+        SeriesBuffer iobBuffer = iobCobCalculatorPlugin.getGraphDataCache().iob;
+        synchronized (iobBuffer) {
+            iobBuffer.update(fromTime, toTime + 1, cacheUntil(System.currentTimeMillis()), this::sampleIob);
+            int stride = iobBuffer.stride(graph.getWidth());
+            for (int i = 0; i < iobBuffer.size(); i += stride) {
+                long time = iobBuffer.time(i);
+                double iob = iobBuffer.isAvailable(i) ? iobBuffer.get(i, 0) : 0d;
+                if (Math.abs(lastIob - iob) > 0.02) {
+                    if (Math.abs(lastIob - iob) > 0.2)
+                        iobArray.add(new ScaledDataPoint(time, lastIob, iobScale));
+                    iobArray.add(new ScaledDataPoint(time, iob, iobScale));
+                    maxIobValueFound = Math.max(maxIobValueFound, Math.abs(iob));
+                    lastIob = iob;
+                }
             }
         }
 
@@ -463,7 +505,7 @@ public class GraphData {
             iobp2 = iobPred2.toArray(iobp2);
             addSeries(new PointsWithLabelGraphSeries<>(iobp2));
 
-            if (L.isEnabled(L.AUTOSENS)) {
+            if (L.isEnabled(LTag.AUTOSENS)) {
                 log.debug("IOB pred for AS=" + DecimalFormatter.to2Decimal(lastAutosensResult.ratio) + ": " + IobCobCalculatorPlugin.getPlugin().iobArrayToString(iobPredArray));
                 log.debug("IOB pred for AS=" + DecimalFormatter.to2Decimal(1) + ": " + IobCobCalculatorPlugin.getPlugin().iobArrayToString(iobPredArray2));
             }
@@ -0,0 +1,33 @@
+package info.nightscout.androidaps.plugins.general.overview.graphData;
+
+import info.nightscout.androidaps.utils.T;
+
+/**
+ * Sampled graph series of one IobCobCalculatorPlugin instance
+ * <p>
+ * Invalidated together with calculator's own cached data.
+ */
+public class GraphDataCache {
+    // basal, absolute temp basal or NaN if not running
+    final SeriesBuffer basals = new SeriesBuffer(T.mins(1).msecs(), 2);
+    // target
+    final SeriesBuffer targets = new SeriesBuffer(T.mins(5).msecs(), 1);
+    // iob, activity
+    final SeriesBuffer iob = new SeriesBuffer(T.mins(5).msecs(), 2);
+
+    public void invalidate(long time) {
+        basals.invalidate(time);
+        targets.invalidate(time);
+        iob.invalidate(time);
+    }
+
+    public void clear() {
+        basals.clear();
+        targets.clear();
+        iob.clear();
+    }
+
+    public void clearTargets() {
+        targets.clear();
+    }
+}
@@ -0,0 +1,110 @@
+package info.nightscout.androidaps.plugins.general.overview.graphData;
+
+/**
+ * Graph values sampled in fixed steps, kept between overview refreshes
+ * <p>
+ * Samples older than cacheUntil are reused by next update, only new ones are appended.
+ * Newer samples (running now, predictions) are recalculated on every update.
+ * History change drops samples from changed time, moving start of graph drops old ones.
+ * Access from update() to last get() must be synchronized on buffer.
+ */
+public class SeriesBuffer {
+
+    public interface Sampler {
+        // return false if there is no value for time (ie. no profile)
+        boolean sample(long time, double[] values);
+    }
+
+    private final long step;
+    private final int channels;
+
+    private long start = 0;
+    // samples of last update
+    private int size = 0;
+    // samples reusable by next update
+    private int cached = 0;
+    private boolean[] available = new boolean[0];
+    // interleaved channels
+    private double[] values = new double[0];
+
+    public SeriesBuffer(long step, int channels) {
+        this.step = step;
+        this.channels = channels;
+    }
+
+    /**
+     * Make samples from (inclusive) to (exclusive) available
+     */
+    public synchronized void update(long from, long to, long cacheUntil, Sampler sampler) {
+        if (from < start || (from - start) % step != 0) {
+            cached = 0;
+        } else if (from > start) {
+            int drop = (int) Math.min((from - start) / step, cached);
+            System.arraycopy(available, drop, available, 0, cached - drop);
+            System.arraycopy(values, drop * channels, values, 0, (cached - drop) * channels);
+            cached -= drop;
+        }
+        start = from;
+
+        int needed = (int) Math.max(0, (to - start + step - 1) / step);
+        size = Math.min(cached, needed);
+        ensureCapacity(needed);
+        double[] sample = new double[channels];
+        for (long time = time(size); time < to; time += step) {
+            available[size] = sampler.sample(time, sample);
+            System.arraycopy(sample, 0, values, size * channels, channels);
+            size++;
+            if (time < cacheUntil && cached == size - 1)
+                cached = size;
+        }
+    }
+
+    private void ensureCapacity(int count) {
+        if (count <= available.length)
+            return;
+        int capacity = Math.max(count, available.length * 2);
+        boolean[] newAvailable = new boolean[capacity];
+        System.arraycopy(available, 0, newAvailable, 0, cached);
+        available = newAvailable;
+        double[] newValues = new double[capacity * channels];
+        System.arraycopy(values, 0, newValues, 0, cached * channels);
+        values = newValues;
+    }
+
+    // history changed, samples from time must be recalculated
+    public synchronized void invalidate(long time) {
+        if (time <= start)
+            cached = 0;
+        else
+            cached = (int) Math.min(cached, (time - start) / step);
+    }
+
+    public synchronized void clear() {
+        cached = 0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized long time(int index) {
+        return start + index * step;
+    }
+
+    public synchronized boolean isAvailable(int index) {
+        return available[index];
+    }
+
+    public synchronized double get(int index, int channel) {
+        return values[index * channels + channel];
+    }
+
+    /**
+     * Number of samples drawn as one point to have at most one point per pixel
+     */
+    public synchronized int stride(int pixels) {
+        if (pixels <= 0)
+            return 1;
+        return Math.max(1, size / pixels);
+    }
+}
@@ -20,6 +20,7 @@ import java.util.Objects;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.general.nsclient.broadcasts.BroadcastAckAlarm;
 import info.nightscout.androidaps.plugins.general.overview.OverviewPlugin;
@@ -96,12 +97,12 @@ public class NotificationRecyclerViewAdapter extends RecyclerView.Adapter<Notifi
                 BroadcastAckAlarm.handleClearAlarm(notification.nsAlarm, MainApp.instance().getApplicationContext(), 60 * 60 * 1000L);
             }
             // Adding current time to snooze if we got staleData
-            if (L.isEnabled(L.NOTIFICATION))
+            if (L.isEnabled(LTag.NOTIFICATION))
                 log.debug("Notification text is: " + notification.text);
             if (notification.text.equals(MainApp.gs(R.string.nsalarm_staledata))) {
                 NotificationStore nstore = OverviewPlugin.INSTANCE.getNotificationStore();
                 long msToSnooze = SP.getInt("nsalarm_staledatavalue", 15) * 60 * 1000L;
-                if (L.isEnabled(L.NOTIFICATION))
+                if (L.isEnabled(LTag.NOTIFICATION))
                     log.debug("snooze nsalarm_staledatavalue in minutes is " + SP.getInt("nsalarm_staledatavalue", 15) + "\n in ms is: " + msToSnooze + " currentTimeMillis is: " + System.currentTimeMillis());
                 nstore.snoozeTo(System.currentTimeMillis() + (SP.getInt("nsalarm_staledatavalue", 15) * 60 * 1000L));
             }
@@ -27,6 +27,7 @@ import java.util.List;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.services.AlarmSoundService;
 import info.nightscout.androidaps.utils.SP;
 
@@ -54,7 +55,7 @@ public class NotificationStore {
     }
 
     public synchronized boolean add(Notification n) {
-        if (L.isEnabled(L.NOTIFICATION))
+        if (L.isEnabled(LTag.NOTIFICATION))
             log.debug("Notification received: " + n.text);
         for (Notification storeNotification : store) {
             if (storeNotification.id == n.id) {
@@ -116,7 +117,7 @@ public class NotificationStore {
     }
 
     void snoozeTo(long timeToSnooze) {
-        if (L.isEnabled(L.NOTIFICATION))
+        if (L.isEnabled(LTag.NOTIFICATION))
             log.debug("Snoozing alarm until: " + timeToSnooze);
         SP.putLong("snoozedTo", timeToSnooze);
     }
@@ -126,7 +127,7 @@ public class NotificationStore {
             Notification notification = new Notification(Notification.NSALARM, MainApp.gs(R.string.nsalarm_staledata), Notification.URGENT);
             SP.putLong("snoozedTo", System.currentTimeMillis());
             add(notification);
-            if (L.isEnabled(L.NOTIFICATION))
+            if (L.isEnabled(LTag.NOTIFICATION))
                 log.debug("Snoozed to current time and added back notification!");
         }
     }
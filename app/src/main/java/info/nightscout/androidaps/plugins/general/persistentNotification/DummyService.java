@@ -11,6 +11,7 @@ import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.events.EventAppExit;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.utils.FabricPrivacy;
 import io.reactivex.disposables.CompositeDisposable;
@@ -39,7 +40,7 @@ public class DummyService extends Service {
                 .toObservable(EventAppExit.class)
                 .observeOn(Schedulers.io())
                 .subscribe(event -> {
-                    if (L.isEnabled(L.PUMP)) log.debug("EventAppExit received");
+                    if (L.isEnabled(LTag.PUMP)) log.debug("EventAppExit received");
                     stopSelf();
                 }, FabricPrivacy::logException)
         );
@@ -47,7 +48,7 @@ public class DummyService extends Service {
 
     @Override
     public void onDestroy() {
-        if (L.isEnabled(L.CORE)) log.debug("onDestroy");
+        if (L.isEnabled(LTag.CORE)) log.debug("onDestroy");
         disposable.clear();
         super.onDestroy();
         stopForeground(true);
@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import info.nightscout.androidaps.Constants;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.utils.DateUtil;
 
 class AuthRequest {
@@ -33,26 +34,26 @@ class AuthRequest {
 
     void action(String codeReceived) {
         if (processed) {
-            if (L.isEnabled(L.SMS))
+            if (L.isEnabled(LTag.SMS))
                 log.debug("Already processed");
             return;
         }
         if (!confirmCode.equals(codeReceived)) {
             processed = true;
-            if (L.isEnabled(L.SMS))
+            if (L.isEnabled(LTag.SMS))
                 log.debug("Wrong code");
             plugin.sendSMS(new Sms(requester.phoneNumber, R.string.sms_wrongcode));
             return;
         }
         if (DateUtil.now() - date < Constants.SMS_CONFIRM_TIMEOUT) {
             processed = true;
-            if (L.isEnabled(L.SMS))
+            if (L.isEnabled(LTag.SMS))
                 log.debug("Processing confirmed SMS: " + requester.text);
             if (action != null)
                 action.run();
             return;
         }
-        if (L.isEnabled(L.SMS))
+        if (L.isEnabled(LTag.SMS))
             log.debug("Timed out SMS: " + requester.text);
     }
 
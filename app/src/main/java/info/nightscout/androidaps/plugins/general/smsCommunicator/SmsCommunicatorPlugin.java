@@ -32,6 +32,7 @@ import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.interfaces.ProfileInterface;
 import info.nightscout.androidaps.interfaces.PumpInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.aps.loop.LoopPlugin;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
@@ -763,7 +764,7 @@ public class SmsCommunicatorPlugin extends PluginBase {
         sms.text = stripAccents(sms.text);
 
         try {
-            if (L.isEnabled(L.SMS))
+            if (L.isEnabled(LTag.SMS))
                 log.debug("Sending SMS to " + sms.phoneNumber + ": " + sms.text);
             if (sms.text.getBytes().length <= 140)
                 smsManager.sendTextMessage(sms.phoneNumber, null, sms.text, null, null);
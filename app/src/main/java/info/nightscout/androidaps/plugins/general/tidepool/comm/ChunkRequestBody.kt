@@ -0,0 +1,78 @@
+package info.nightscout.androidaps.plugins.general.tidepool.comm
+
+import info.nightscout.androidaps.plugins.general.tidepool.elements.BaseElement
+import info.nightscout.androidaps.plugins.general.tidepool.utils.GsonInstance
+import okhttp3.MediaType
+import okhttp3.RequestBody
+import okio.BufferedSink
+import java.io.BufferedWriter
+import java.io.FilterOutputStream
+import java.io.OutputStream
+import java.io.OutputStreamWriter
+import java.util.zip.GZIPOutputStream
+
+/**
+ * Upload body written element by element to gzip stream while OkHttp sends it
+ *
+ * Elements are produced lazily by source so memory use doesn't depend on chunk size.
+ * Source is called again when OkHttp needs to resend body.
+ * Request must have "Content-Encoding: gzip" header.
+ */
+class ChunkRequestBody(private val source: () -> Sequence<BaseElement>) : RequestBody() {
+
+    var records = 0
+        private set
+    var bytes = 0L
+        private set
+    var compressedBytes = 0L
+        private set
+    val types = LinkedHashMap<String, Int>()
+
+    // stops at first element
+    val empty: Boolean by lazy { source().none() }
+
+    override fun contentType(): MediaType? = MediaType.parse("application/json")
+
+    // unknown, sent chunked
+    override fun contentLength(): Long = -1
+
+    override fun writeTo(sink: BufferedSink) {
+        records = 0
+        types.clear()
+        val compressed = CountingOutputStream(sink.outputStream())
+        val gzip = GZIPOutputStream(compressed, BUFFER_SIZE)
+        val raw = CountingOutputStream(gzip)
+        val gson = GsonInstance.defaultGsonInstance()
+        val writer = gson.newJsonWriter(BufferedWriter(OutputStreamWriter(raw, Charsets.UTF_8), BUFFER_SIZE))
+        writer.beginArray()
+        for (element in source()) {
+            gson.toJson(element, element.javaClass, writer)
+            records++
+            element.type?.let { types[it] = (types[it] ?: 0) + 1 }
+        }
+        writer.endArray()
+        writer.flush()
+        gzip.finish()
+        compressed.flush()
+        bytes = raw.count
+        compressedBytes = compressed.count
+    }
+
+    private class CountingOutputStream(out: OutputStream) : FilterOutputStream(out) {
+        var count = 0L
+
+        override fun write(b: Int) {
+            out.write(b)
+            count++
+        }
+
+        override fun write(b: ByteArray, off: Int, len: Int) {
+            out.write(b, off, len)
+            count += len
+        }
+    }
+
+    companion object {
+        private const val BUFFER_SIZE = 8192
+    }
+}
@@ -1,6 +1,7 @@
 package info.nightscout.androidaps.plugins.general.tidepool.comm
 
 import info.nightscout.androidaps.logging.L
+import info.nightscout.androidaps.logging.LTag
 import okhttp3.Interceptor
 import okhttp3.Response
 import okio.Buffer
@@ -20,7 +21,7 @@ class InfoInterceptor(tag: String) : Interceptor {
     override fun intercept(chain: Interceptor.Chain): Response {
         val request = chain.request()
         request?.body()?.let {
-            if (L.isEnabled(L.TIDEPOOL)) {
+            if (L.isEnabled(LTag.TIDEPOOL)) {
                 log.debug("Interceptor Body size: " + it.contentLength())
                 val requestBuffer = Buffer()
                 it.writeTo(requestBuffer)
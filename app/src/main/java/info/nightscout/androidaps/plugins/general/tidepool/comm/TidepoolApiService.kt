@@ -39,6 +39,8 @@ interface TidepoolApiService {
     @POST("/v1/users/{userId}/data_sets")
     fun openDataSet(@Header(SESSION_TOKEN_HEADER) token: String, @Path("userId") id: String, @Body body: RequestBody): Call<DatasetReplyMessage>
 
+    // body is streamed gzip, see ChunkRequestBody
+    @Headers("Content-Encoding: gzip")
     @POST("/v1/datasets/{sessionId}/data")
     fun doUpload(@Header(SESSION_TOKEN_HEADER) token: String, @Path("sessionId") id: String, @Body body: RequestBody): Call<UploadReplyMessage>
 
@@ -2,6 +2,7 @@ package info.nightscout.androidaps.plugins.general.tidepool.comm
 
 import info.nightscout.androidaps.plugins.bus.RxBus
 import info.nightscout.androidaps.logging.L
+import info.nightscout.androidaps.logging.LTag
 import info.nightscout.androidaps.plugins.general.tidepool.events.EventTidepoolStatus
 import org.slf4j.LoggerFactory
 import retrofit2.Call
@@ -13,13 +14,13 @@ internal class TidepoolCallback<T>(private val session: Session, val name: Strin
 
     override fun onResponse(call: Call<T>, response: Response<T>) {
         if (response.isSuccessful && response.body() != null) {
-            if (L.isEnabled(L.TIDEPOOL)) log.debug("$name success")
+            if (L.isEnabled(LTag.TIDEPOOL)) log.debug("$name success")
             session.populateBody(response.body())
             session.populateHeaders(response.headers())
             onSuccess()
         } else {
             val msg = name + " was not successful: " + response.code() + " " + response.message()
-            if (L.isEnabled(L.TIDEPOOL)) log.debug(msg)
+            if (L.isEnabled(LTag.TIDEPOOL)) log.debug(msg)
             RxBus.send(EventTidepoolStatus(msg))
             onFail()
         }
@@ -27,7 +28,7 @@ internal class TidepoolCallback<T>(private val session: Session, val name: Strin
 
     override fun onFailure(call: Call<T>, t: Throwable) {
         val msg = "$name Failed: $t"
-        if (L.isEnabled(L.TIDEPOOL)) log.debug(msg)
+        if (L.isEnabled(LTag.TIDEPOOL)) log.debug(msg)
         RxBus.send(EventTidepoolStatus(msg))
         onFail()
     }
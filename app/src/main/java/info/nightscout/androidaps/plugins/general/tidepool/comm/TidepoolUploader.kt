@@ -7,6 +7,7 @@ import info.nightscout.androidaps.BuildConfig
 import info.nightscout.androidaps.MainApp
 import info.nightscout.androidaps.R
 import info.nightscout.androidaps.logging.L
+import info.nightscout.androidaps.logging.LTag
 import info.nightscout.androidaps.plugins.bus.RxBus
 import info.nightscout.androidaps.plugins.general.tidepool.events.EventTidepoolStatus
 import info.nightscout.androidaps.plugins.general.tidepool.messages.*
@@ -14,13 +15,12 @@ import info.nightscout.androidaps.utils.DateUtil
 import info.nightscout.androidaps.utils.OKDialog
 import info.nightscout.androidaps.utils.SP
 import info.nightscout.androidaps.utils.T
-import okhttp3.MediaType
 import okhttp3.OkHttpClient
-import okhttp3.RequestBody
 import okhttp3.logging.HttpLoggingInterceptor
 import org.slf4j.LoggerFactory
 import retrofit2.Retrofit
 import retrofit2.converter.gson.GsonConverterFactory
+import java.util.*
 
 object TidepoolUploader {
 
@@ -73,7 +73,7 @@ object TidepoolUploader {
     // TODO: call on preference change
     fun resetInstance() {
         retrofit = null
-        if (L.isEnabled(L.TIDEPOOL))
+        if (L.isEnabled(LTag.TIDEPOOL))
             log.debug("Instance reset")
         connectionStatus = TidepoolUploader.ConnectionStatus.DISCONNECTED
     }
@@ -81,7 +81,7 @@ object TidepoolUploader {
     @Synchronized
     fun doLogin(doUpload: Boolean = false) {
         if (connectionStatus == TidepoolUploader.ConnectionStatus.CONNECTED || connectionStatus == TidepoolUploader.ConnectionStatus.CONNECTING) {
-            if (L.isEnabled(L.TIDEPOOL))
+            if (L.isEnabled(LTag.TIDEPOOL))
                 log.debug("Already connected")
             return
         }
@@ -102,7 +102,7 @@ object TidepoolUploader {
             }))
             return
         } else {
-            if (L.isEnabled(L.TIDEPOOL)) log.debug("Cannot do login as user credentials have not been set correctly")
+            if (L.isEnabled(LTag.TIDEPOOL)) log.debug("Cannot do login as user credentials have not been set correctly")
             connectionStatus = TidepoolUploader.ConnectionStatus.FAILED
             RxBus.send(EventTidepoolStatus(("Invalid credentials")))
             releaseWakeLock()
@@ -149,7 +149,7 @@ object TidepoolUploader {
                         releaseWakeLock()
                     }))
                 } else {
-                    if (L.isEnabled(L.TIDEPOOL))
+                    if (L.isEnabled(LTag.TIDEPOOL))
                         log.debug("Existing Dataset: " + session.datasetReply!!.getUploadId())
                     // TODO: Wouldn't need to do this if we could block on the above `call.enqueue`.
                     // ie, do the openDataSet conditionally, and then do `doUpload` either way.
@@ -189,22 +189,22 @@ object TidepoolUploader {
                     releaseWakeLock()
                 }
 
-                chunk.length == 2 -> {
-                    if (L.isEnabled(L.TIDEPOOL)) log.debug("Empty dataset - marking as succeeded")
+                chunk.empty -> {
+                    if (L.isEnabled(LTag.TIDEPOOL)) log.debug("Empty dataset - marking as succeeded")
                     RxBus.send(EventTidepoolStatus(("No data to upload")))
                     releaseWakeLock()
                     unploadNext()
                 }
 
                 else -> {
-                    val body = RequestBody.create(MediaType.parse("application/json"), chunk)
-
                     RxBus.send(EventTidepoolStatus(("Uploading")))
                     if (session.service != null && session.token != null && session.datasetReply != null) {
-                        val call = session.service.doUpload(session.token!!, session.datasetReply!!.getUploadId()!!, body)
+                        val started = DateUtil.now()
+                        val call = session.service.doUpload(session.token!!, session.datasetReply!!.getUploadId()!!, chunk)
                         call.enqueue(TidepoolCallback<UploadReplyMessage>(session, "Data Upload", {
                             setLastEnd(session.end)
                             RxBus.send(EventTidepoolStatus(("Upload completed OK")))
+                            RxBus.send(EventTidepoolStatus(statistics(chunk, DateUtil.now() - started)))
                             releaseWakeLock()
                             unploadNext()
                         }, {
@@ -217,10 +217,17 @@ object TidepoolUploader {
         }
     }
 
+    internal fun statistics(chunk: ChunkRequestBody, duration: Long): String {
+        val seconds = Math.max(duration, 1L) / 1000.0
+        return String.format(Locale.ENGLISH, "%d records %s, %d kB (%d kB gzip) in %.1f s, %.0f records/s, %.1f kB/s",
+                chunk.records, chunk.types.toString(), chunk.bytes / 1024, chunk.compressedBytes / 1024, seconds,
+                chunk.records / seconds, chunk.compressedBytes / 1024 / seconds)
+    }
+
     private fun unploadNext() {
         if (getLastEnd() < DateUtil.now() - T.mins(1).msecs()) {
             SystemClock.sleep(3000)
-            if (L.isEnabled(L.TIDEPOOL))
+            if (L.isEnabled(LTag.TIDEPOOL))
                 log.debug("Restarting doUpload. Last: " + DateUtil.dateAndTimeString(getLastEnd()))
             doUpload()
         }
@@ -278,9 +285,9 @@ object TidepoolUploader {
             SP.putLong(R.string.key_tidepool_last_end, time)
             val friendlyEnd = DateUtil.dateAndTimeString(time)
             RxBus.send(EventTidepoolStatus(("Marking uploaded data up to $friendlyEnd")))
-            if (L.isEnabled(L.TIDEPOOL)) log.debug("Updating last end to: " + DateUtil.dateAndTimeString(time))
+            if (L.isEnabled(LTag.TIDEPOOL)) log.debug("Updating last end to: " + DateUtil.dateAndTimeString(time))
         } else {
-            if (L.isEnabled(L.TIDEPOOL)) log.debug("Cannot set last end to: " + DateUtil.dateAndTimeString(time) + " vs " + DateUtil.dateAndTimeString(getLastEnd()))
+            if (L.isEnabled(LTag.TIDEPOOL)) log.debug("Cannot set last end to: " + DateUtil.dateAndTimeString(time) + " vs " + DateUtil.dateAndTimeString(getLastEnd()))
         }
     }
 
@@ -3,10 +3,8 @@ package info.nightscout.androidaps.plugins.general.tidepool.comm
 import info.nightscout.androidaps.MainApp
 import info.nightscout.androidaps.R
 import info.nightscout.androidaps.logging.L
-import info.nightscout.androidaps.plugins.bus.RxBus
+import info.nightscout.androidaps.logging.LTag
 import info.nightscout.androidaps.plugins.general.tidepool.elements.*
-import info.nightscout.androidaps.plugins.general.tidepool.events.EventTidepoolStatus
-import info.nightscout.androidaps.plugins.general.tidepool.utils.GsonInstance
 import info.nightscout.androidaps.plugins.treatments.TreatmentsPlugin
 import info.nightscout.androidaps.utils.DateUtil
 import info.nightscout.androidaps.utils.SP
@@ -20,7 +18,9 @@ object UploadChunk {
 
     private val log = LoggerFactory.getLogger(L.TIDEPOOL)
 
-    fun getNext(session: Session?): String? {
+    private const val PAGE = 500L
+
+    fun getNext(session: Session?): ChunkRequestBody? {
         if (session == null)
             return null
 
@@ -28,39 +28,41 @@ object UploadChunk {
         session.end = Math.min(session.start + MAX_UPLOAD_SIZE, DateUtil.now())
 
         val result = get(session.start, session.end)
-        if (result.length < 3) {
-            if (L.isEnabled(L.TIDEPOOL)) log.debug("No records in this time period, setting start to best end time")
+        if (result.empty) {
+            if (L.isEnabled(LTag.TIDEPOOL)) log.debug("No records in this time period, setting start to best end time")
             TidepoolUploader.setLastEnd(Math.max(session.end, getOldestRecordTimeStamp()))
         }
         return result
     }
 
-    operator fun get(start: Long, end: Long): String {
+    operator fun get(start: Long, end: Long): ChunkRequestBody {
 
-        if (L.isEnabled(L.TIDEPOOL)) log.debug("Syncing data between: " + DateUtil.dateAndTimeString(start) + " -> " + DateUtil.dateAndTimeString(end))
+        if (L.isEnabled(LTag.TIDEPOOL)) log.debug("Syncing data between: " + DateUtil.dateAndTimeString(start) + " -> " + DateUtil.dateAndTimeString(end))
         if (end <= start) {
-            if (L.isEnabled(L.TIDEPOOL)) log.debug("End is <= start: " + DateUtil.dateAndTimeString(start) + " " + DateUtil.dateAndTimeString(end))
-            return ""
+            if (L.isEnabled(LTag.TIDEPOOL)) log.debug("End is <= start: " + DateUtil.dateAndTimeString(start) + " " + DateUtil.dateAndTimeString(end))
+            return ChunkRequestBody { emptySequence() }
         }
         if (end - start > MAX_UPLOAD_SIZE) {
-            if (L.isEnabled(L.TIDEPOOL)) log.debug("More than max range - rejecting")
-            return ""
+            if (L.isEnabled(LTag.TIDEPOOL)) log.debug("More than max range - rejecting")
+            return ChunkRequestBody { emptySequence() }
         }
 
-        val records = LinkedList<BaseElement>()
-
-        if (SP.getBoolean(R.string.key_tidepool_upload_bolus, true))
-            records.addAll(getTreatments(start, end))
-        if (SP.getBoolean(R.string.key_tidepool_upload_bg, true))
-            records.addAll(getBloodTests(start, end))
-        if (SP.getBoolean(R.string.key_tidepool_upload_tbr, true))
-            records.addAll(getBasals(start, end))
-        if (SP.getBoolean(R.string.key_tidepool_upload_cgm, true))
-            records.addAll(getBgReadings(start, end))
-        if (SP.getBoolean(R.string.key_tidepool_upload_profile, true))
-            records.addAll(getProfiles(start, end))
-
-        return GsonInstance.defaultGsonInstance().toJson(records)
+        val bolus = SP.getBoolean(R.string.key_tidepool_upload_bolus, true)
+        val bg = SP.getBoolean(R.string.key_tidepool_upload_bg, true)
+        val tbr = SP.getBoolean(R.string.key_tidepool_upload_tbr, true)
+        val cgm = SP.getBoolean(R.string.key_tidepool_upload_cgm, true)
+        val profile = SP.getBoolean(R.string.key_tidepool_upload_profile, true)
+
+        // evaluated while body is written, nothing is held in memory
+        return ChunkRequestBody {
+            sequence<BaseElement> {
+                if (bolus) yieldAll(getTreatments(start, end))
+                if (bg) yieldAll(getBloodTests(start, end))
+                if (tbr) yieldAll(getBasals(start, end))
+                if (cgm) yieldAll(getBgReadings(start, end))
+                if (profile) yieldAll(getProfiles(start, end))
+            }
+        }
     }
 
     // numeric limits must match max time windows
@@ -68,52 +70,45 @@ object UploadChunk {
     private fun getOldestRecordTimeStamp(): Long {
         // TODO we could make sure we include records older than the first bg record for completeness
 
-        val start: Long = 0
-        val end = DateUtil.now()
-
-        val bgReadingList = MainApp.getDbHelper().getBgreadingsDataFromTime(start, end, true)
+        val bgReadingList = MainApp.getDbHelper().getBgreadingsDataPage(-1, DateUtil.now(), 1)
         return if (bgReadingList.size > 0)
             bgReadingList[0].date
         else -1
     }
 
-    private fun getTreatments(start: Long, end: Long): List<BaseElement> {
-        val result = LinkedList<BaseElement>()
-        val treatments = TreatmentsPlugin.getPlugin().service.getTreatmentDataFromTime(start, end, true)
-        for (treatment in treatments) {
-            if (treatment.carbs > 0) {
-                result.add(WizardElement(treatment))
-            } else if (treatment.insulin > 0) {
-                result.add(BolusElement(treatment))
-            }
-        }
-        return result
+    // pages by date of last returned record
+    private fun <T> paged(start: Long, query: (after: Long) -> List<T>, date: (T) -> Long): Sequence<T> = sequence {
+        var after = start - 1
+        do {
+            val page = query(after)
+            yieldAll(page)
+            if (page.isNotEmpty()) after = date(page[page.size - 1])
+        } while (page.size.toLong() == PAGE)
     }
 
+    private fun getTreatments(start: Long, end: Long): Sequence<BaseElement> =
+            paged(start, { TreatmentsPlugin.getPlugin().service.getTreatmentDataPage(it, end, PAGE) }, { it.date })
+                    .mapNotNull { treatment ->
+                        when {
+                            treatment.carbs > 0 -> WizardElement(treatment)
+                            treatment.insulin > 0 -> BolusElement(treatment)
+                            else -> null
+                        }
+                    }
+
     private fun getBloodTests(start: Long, end: Long): List<BloodGlucoseElement> {
         val readings = MainApp.getDbHelper().getCareportalEvents(start, end, true)
-        val selection = BloodGlucoseElement.fromCareportalEvents(readings)
-        if (selection.isNotEmpty())
-            RxBus.send(EventTidepoolStatus("${selection.size} BGs selected for upload"))
-        return selection
-
+        return BloodGlucoseElement.fromCareportalEvents(readings)
     }
 
-    internal fun getBgReadings(start: Long, end: Long): List<SensorGlucoseElement> {
-        val readings = MainApp.getDbHelper().getBgreadingsDataFromTime(start, end, true)
-        val selection = SensorGlucoseElement.fromBgReadings(readings)
-        if (selection.isNotEmpty())
-            RxBus.send(EventTidepoolStatus("${selection.size} CGMs selected for upload"))
-        return selection
-    }
+    internal fun getBgReadings(start: Long, end: Long): Sequence<SensorGlucoseElement> =
+            paged(start, { MainApp.getDbHelper().getBgreadingsDataPage(it, end, PAGE) }, { it.date })
+                    .map { SensorGlucoseElement(it) }
 
     private fun getBasals(start: Long, end: Long): List<BasalElement> {
         val tbrs = TreatmentsPlugin.getPlugin().temporaryBasalsFromHistory
         tbrs.merge()
-        val selection = BasalElement.fromTemporaryBasals(tbrs, start, end) // TODO do not upload running TBR
-        if (selection.isNotEmpty())
-            RxBus.send(EventTidepoolStatus("${selection.size} TBRs selected for upload"))
-        return selection
+        return BasalElement.fromTemporaryBasals(tbrs, start, end) // TODO do not upload running TBR
     }
 
     private fun getProfiles(start: Long, end: Long): List<ProfileElement> {
@@ -122,8 +117,6 @@ object UploadChunk {
         for (ps in pss) {
             ProfileElement.newInstanceOrNull(ps)?.let { selection.add(it) }
         }
-        if (selection.size > 0)
-            RxBus.send(EventTidepoolStatus("${selection.size} ProfileSwitches selected for upload"))
         return selection
     }
 
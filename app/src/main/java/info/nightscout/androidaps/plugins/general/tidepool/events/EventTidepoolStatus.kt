@@ -2,6 +2,7 @@ package info.nightscout.androidaps.plugins.general.tidepool.events
 
 import info.nightscout.androidaps.events.Event
 import info.nightscout.androidaps.logging.L
+import info.nightscout.androidaps.logging.LTag
 import info.nightscout.androidaps.utils.DateUtil
 import info.nightscout.androidaps.utils.LocaleHelper
 import org.slf4j.LoggerFactory
@@ -13,7 +14,7 @@ class EventTidepoolStatus(val status: String) : Event() {
     var date: Long = DateUtil.now()
 
     init {
-        if (L.isEnabled(L.TIDEPOOL))
+        if (L.isEnabled(LTag.TIDEPOOL))
             log.debug("New status: $status")
     }
 
@@ -1,6 +1,7 @@
 package info.nightscout.androidaps.plugins.general.tidepool.utils
 
 import info.nightscout.androidaps.logging.L
+import info.nightscout.androidaps.logging.LTag
 import info.nightscout.androidaps.utils.DateUtil
 import info.nightscout.androidaps.utils.T
 import org.slf4j.LoggerFactory
@@ -18,7 +19,7 @@ object RateLimit {
         // check if over limit
         rateLimits[name]?.let {
             if (DateUtil.now() - it < T.secs(seconds.toLong()).msecs()) {
-                if (L.isEnabled(L.TIDEPOOL))
+                if (L.isEnabled(LTag.TIDEPOOL))
                     log.debug("$name rate limited: $seconds seconds")
                 return false
             }
@@ -2,6 +2,7 @@ package info.nightscout.androidaps.plugins.general.wear.wearintegration;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 
 import org.slf4j.Logger;
@@ -105,6 +106,11 @@ public class WatchUpdaterService extends WearableListenerService implements Goog
     private String localnode = null;
     private String logPrefix = ""; // "WR: "
 
+    // bg history sync, see BgPacket
+    private final long historySession = new Random().nextLong();
+    private int historySequence = 0;
+    private long historyLastTimestamp = 0;
+
 
     @Override
     public void onCreate() {
@@ -295,6 +301,7 @@ public class WatchUpdaterService extends WearableListenerService implements Goog
                     ToastUtils.showToastInUiThread(this, MainApp.gs(R.string.noprofile));
                     return;
                 }
+                dataMap.putByteArray("bgHistory", historyPacket(false, dataMap.getDouble("high"), dataMap.getDouble("low")));
 
                 executeTask(new SendToDataLayerThread(WEARABLE_DATA_PATH, googleApiClient), dataMap);
             }
@@ -398,35 +405,46 @@ public class WatchUpdaterService extends WearableListenerService implements Goog
         if (googleApiClient != null && !googleApiClient.isConnected() && !googleApiClient.isConnecting()) {
             googleApiConnect();
         }
-        long startTime = System.currentTimeMillis() - (long) (60000 * 60 * 5.5);
         BgReading last_bg = DatabaseHelper.lastBg();
 
         if (last_bg == null) return;
 
-        List<BgReading> graph_bgs = MainApp.getDbHelper().getBgreadingsDataFromTime(startTime, true);
         GlucoseStatus glucoseStatus = GlucoseStatus.getGlucoseStatusData(true);
 
-        if (!graph_bgs.isEmpty()) {
-            DataMap entries = dataMapSingleBG(last_bg, glucoseStatus);
-            if (entries == null) {
-                ToastUtils.showToastInUiThread(this, MainApp.gs(R.string.noprofile));
-                return;
-            }
-            final ArrayList<DataMap> dataMaps = new ArrayList<>(graph_bgs.size());
-            for (BgReading bg : graph_bgs) {
-                DataMap dataMap = dataMapSingleBG(bg, glucoseStatus);
-                if (dataMap != null) {
-                    dataMaps.add(dataMap);
-                }
-            }
-            entries.putDataMapArrayList("entries", dataMaps);
-            executeTask(new SendToDataLayerThread(WEARABLE_DATA_PATH, googleApiClient), entries);
+        DataMap entries = dataMapSingleBG(last_bg, glucoseStatus);
+        if (entries == null) {
+            ToastUtils.showToastInUiThread(this, MainApp.gs(R.string.noprofile));
+            return;
         }
+        entries.putByteArray("bgHistory", historyPacket(true, entries.getDouble("high"), entries.getDouble("low")));
+        executeTask(new SendToDataLayerThread(WEARABLE_DATA_PATH, googleApiClient), entries);
         sendPreferences();
         sendBasals();
         sendStatus();
     }
 
+    /**
+     * Full packet contains last 5.5h, delta only readings newer than previous packet
+     */
+    private synchronized byte[] historyPacket(boolean full, double high, double low) {
+        long startTime = System.currentTimeMillis() - (long) (60000 * 60 * 5.5);
+        full = full || historySequence == 0;
+        long from = full ? startTime : Math.max(startTime, historyLastTimestamp + 1);
+        List<BgReading> bgs = MainApp.getDbHelper().getBgreadingsDataFromTime(from, true);
+        BgPacket packet = new BgPacket(bgs.size(), false);
+        for (int i = 0; i < bgs.size(); i++)
+            packet.set(i, bgs.get(i).date, bgs.get(i).value);
+        packet.session = historySession;
+        packet.full = full;
+        packet.baseSequence = historySequence;
+        packet.sequence = ++historySequence;
+        packet.high = BgPacket.toShort(high);
+        packet.low = BgPacket.toShort(low);
+        if (bgs.size() > 0)
+            historyLastTimestamp = bgs.get(bgs.size() - 1).date;
+        return packet.encode();
+    }
+
     private void sendBasals() {
         if (googleApiClient != null && !googleApiClient.isConnected() && !googleApiClient.isConnecting()) {
             googleApiConnect();
@@ -439,7 +457,7 @@ public class WatchUpdaterService extends WearableListenerService implements Goog
         ArrayList<DataMap> basals = new ArrayList<>();
         ArrayList<DataMap> temps = new ArrayList<>();
         ArrayList<DataMap> boluses = new ArrayList<>();
-        ArrayList<DataMap> predictions = new ArrayList<>();
+        ArrayList<BgReading> predictions = new ArrayList<>();
 
 
         Profile profile = ProfileFunctions.getInstance().getProfile();
@@ -556,20 +574,23 @@ public class WatchUpdaterService extends WearableListenerService implements Goog
         if (SP.getBoolean("wear_predictions", true) && finalLastRun != null && finalLastRun.request.hasPredictions && finalLastRun.constraintsProcessed != null) {
             List<BgReading> predArray = finalLastRun.constraintsProcessed.getPredictions();
 
-            if (!predArray.isEmpty()) {
-                for (BgReading bg : predArray) {
-                    if (bg.value < 40) continue;
-                    predictions.add(predictionMap(bg.date, bg.value, bg.getPredectionColor()));
-                }
+            for (BgReading bg : predArray) {
+                if (bg.value < 40) continue;
+                predictions.add(bg);
             }
         }
-
+        // packed, predictions are the largest part and change every loop run
+        BgPacket packedPredictions = new BgPacket(predictions.size(), true);
+        for (int i = 0; i < predictions.size(); i++) {
+            packedPredictions.set(i, predictions.get(i).date, predictions.get(i).value);
+            packedPredictions.colors[i] = predictions.get(i).getPredectionColor();
+        }
 
         DataMap dm = new DataMap();
         dm.putDataMapArrayList("basals", basals);
         dm.putDataMapArrayList("temps", temps);
         dm.putDataMapArrayList("boluses", boluses);
-        dm.putDataMapArrayList("predictions", predictions);
+        dm.putByteArray("predictionsPacked", packedPredictions.encode());
 
         executeTask(new SendToDataLayerThread(BASAL_DATA_PATH, googleApiClient), dm);
     }
@@ -602,15 +623,6 @@ public class WatchUpdaterService extends WearableListenerService implements Goog
         return dm;
     }
 
-    private DataMap predictionMap(long timestamp, double sgv, int color) {
-        DataMap dm = new DataMap();
-        dm.putLong("timestamp", timestamp);
-        dm.putDouble("sgv", sgv);
-        dm.putInt("color", color);
-        return dm;
-    }
-
-
     private void sendNotification() {
         if (googleApiClient.isConnected()) {
             PutDataMapRequest dataMapRequest = PutDataMapRequest.create(OPEN_SETTINGS_PATH);
@@ -70,28 +70,49 @@ public abstract class InsulinOrefBasePlugin extends PluginBase implements Insuli
     public Iob iobCalcForTreatment(Treatment treatment, long time, double dia) {
         Iob result = new Iob();
 
-        int peak = getPeak();
-
         if (treatment.insulin != 0d) {
 
             long bolusTime = treatment.date;
             double t = (time - bolusTime) / 1000d / 60d;
 
-            double td = getDia() * 60; //getDIA() always >= MIN_DIA
-            double tp = peak;
+            InsulinOrefKernel kernel = getKernel(getPeak(), getDia()); //getDIA() always >= MIN_DIA
 
             // force the IOB to 0 if over DIA hours have passed
-            if (t < td) {
-                double tau = tp * (1 - tp / td) / (1 - 2 * tp / td);
-                double a = 2 * tau / td;
-                double S = 1 / (1 - a + (1 + a) * Math.exp(-td / tau));
-                result.activityContrib = treatment.insulin * (S / Math.pow(tau, 2)) * t * (1 - t / td) * Math.exp(-t / tau);
-                result.iobContrib = treatment.insulin * (1 - S * (1 - a) * ((Math.pow(t, 2) / (tau * td * (1 - a)) - t / tau - 1) * Math.exp(-t / tau) + 1));
+            if (t < kernel.td) {
+                result.activityContrib = treatment.insulin * kernel.activity(t);
+                result.iobContrib = treatment.insulin * kernel.iob(t);
             }
         }
         return result;
     }
 
+    @Override
+    public void iobCalcForTreatment(Treatment treatment, long[] times, double dia, double[] iobContrib, double[] activityContrib) {
+        InsulinOrefKernel kernel = getKernel(getPeak(), getDia());
+        for (int i = 0; i < times.length; i++) {
+            double t = (times[i] - treatment.date) / 1000d / 60d;
+            if (treatment.insulin != 0d && t >= 0 && t < kernel.td) {
+                activityContrib[i] = treatment.insulin * kernel.activity(t);
+                iobContrib[i] = treatment.insulin * kernel.iob(t);
+            } else {
+                activityContrib[i] = 0d;
+                iobContrib[i] = 0d;
+            }
+        }
+    }
+
+    // shared by all oref insulins, rebuilt when peak or dia changes
+    private static volatile InsulinOrefKernel kernel = null;
+
+    static InsulinOrefKernel getKernel(int peak, double dia) {
+        InsulinOrefKernel current = kernel;
+        if (current == null || !current.isFor(peak, dia)) {
+            current = new InsulinOrefKernel(peak, dia);
+            kernel = current;
+        }
+        return current;
+    }
+
     @Override
     public String getComment() {
         String comment = commentStandardText();
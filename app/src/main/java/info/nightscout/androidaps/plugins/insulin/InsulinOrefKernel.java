@@ -0,0 +1,91 @@
+package info.nightscout.androidaps.plugins.insulin;
+
+/**
+ * Oref exponential insulin curve of 1U tabulated in minute steps for one peak and DIA
+ * <p>
+ * IOB and activity are interpolated by cubic Hermite spline from tabulated values
+ * and derivatives. Values outside of the table are calculated by the formula.
+ * Instances are immutable and can be shared between threads
+ */
+
+class InsulinOrefKernel {
+
+    final int peak;
+    final double dia;
+    final double td; // DIA in minutes
+
+    private final double tau;
+    private final double a;
+    private final double S;
+
+    private final double[] iob;
+    private final double[] activity;
+    private final double[] activitySlope;
+
+    InsulinOrefKernel(int peak, double dia) {
+        this.peak = peak;
+        this.dia = dia;
+        td = dia * 60;
+        double tp = peak;
+        tau = tp * (1 - tp / td) / (1 - 2 * tp / td);
+        a = 2 * tau / td;
+        S = 1 / (1 - a + (1 + a) * Math.exp(-td / tau));
+
+        int size = (int) Math.ceil(td) + 1;
+        iob = new double[size];
+        activity = new double[size];
+        activitySlope = new double[size];
+        for (int i = 0; i < size; i++) {
+            iob[i] = iobAnalytic(i);
+            activity[i] = activityAnalytic(i);
+            activitySlope[i] = (S / Math.pow(tau, 2)) * ((1 - 2 * i / td) - i * (1 - i / td) / tau) * Math.exp(-i / tau);
+        }
+    }
+
+    boolean isFor(int peak, double dia) {
+        return this.peak == peak && this.dia == dia;
+    }
+
+    /**
+     * @param t minutes from bolus
+     * @return remaining part of 1U
+     */
+    double iob(double t) {
+        int i = (int) t;
+        if (t < 0 || i + 1 >= iob.length)
+            return iobAnalytic(t);
+        double s = t - i;
+        if (s == 0)
+            return iob[i];
+        double s2 = s * s;
+        double s3 = s2 * s;
+        // d(iob)/dt = -activity
+        return (2 * s3 - 3 * s2 + 1) * iob[i] - (s3 - 2 * s2 + s) * activity[i]
+                + (-2 * s3 + 3 * s2) * iob[i + 1] - (s3 - s2) * activity[i + 1];
+    }
+
+    /**
+     * @param t minutes from bolus
+     * @return activity of 1U (U/min)
+     */
+    double activity(double t) {
+        int i = (int) t;
+        if (t < 0 || i + 1 >= activity.length)
+            return activityAnalytic(t);
+        double s = t - i;
+        if (s == 0)
+            return activity[i];
+        double s2 = s * s;
+        double s3 = s2 * s;
+        return (2 * s3 - 3 * s2 + 1) * activity[i] + (s3 - 2 * s2 + s) * activitySlope[i]
+                + (-2 * s3 + 3 * s2) * activity[i + 1] + (s3 - s2) * activitySlope[i + 1];
+    }
+
+    double iobAnalytic(double t) {
+        return 1 - S * (1 - a) * ((Math.pow(t, 2) / (tau * td * (1 - a)) - t / tau - 1) * Math.exp(-t / tau) + 1);
+    }
+
+    double activityAnalytic(double t) {
+        return (S / Math.pow(tau, 2)) * t * (1 - t / td) * Math.exp(-t / tau);
+    }
+}
@@ -0,0 +1,95 @@
+package info.nightscout.androidaps.plugins.iob.iobCobCalculator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import info.nightscout.androidaps.db.BgReading;
+import info.nightscout.androidaps.utils.DateUtil;
+
+/**
+ * BG values in 5 min buckets, newest at index 0
+ * <p>
+ * Dates and values are held in primitive arrays instead of BgReading per bucket.
+ * Series is filled by IobCobCalculatorPlugin and not modified after it's published
+ */
+
+public class BucketedBgSeries {
+    private long[] dates;
+    private double[] values;
+    private int size = 0;
+
+    BucketedBgSeries(int capacity) {
+        dates = new long[Math.max(capacity, 16)];
+        values = new double[dates.length];
+    }
+
+    void add(long date, double value) {
+        if (size == dates.length) {
+            dates = Arrays.copyOf(dates, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        dates[size] = date;
+        values[size] = value;
+        size++;
+    }
+
+    void setDate(int index, long date) {
+        dates[index] = date;
+    }
+
+    void setValue(int index, double value) {
+        values[index] = value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getDate(int index) {
+        if (index >= size) throw new IndexOutOfBoundsException("Index: " + index + " size: " + size);
+        return dates[index];
+    }
+
+    public double getValue(int index) {
+        if (index >= size) throw new IndexOutOfBoundsException("Index: " + index + " size: " + size);
+        return values[index];
+    }
+
+    /**
+     * @return index of newest bucket not newer than time, -1 if there is none
+     */
+    public int indexOfAtOrBefore(long time) {
+        // dates are descending
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (dates[mid] > time)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low < size ? low : -1;
+    }
+
+    // for logging and tests only, allocates BgReading for every bucket
+    public List<BgReading> toList() {
+        List<BgReading> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            BgReading reading = new BgReading();
+            reading.date = dates[i];
+            reading.value = values[i];
+            list.add(reading);
+        }
+        return list;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("BucketedBgSeries{size=").append(size);
+        for (int i = 0; i < size; i++)
+            sb.append(", ").append(DateUtil.toISOString(dates[i])).append("=").append(values[i]);
+        return sb.append("}").toString();
+    }
+}
@@ -10,7 +10,6 @@ import org.json.JSONArray;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import info.nightscout.androidaps.Constants;
@@ -19,6 +18,7 @@ import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.data.IobTotal;
 import info.nightscout.androidaps.data.Profile;
 import info.nightscout.androidaps.db.BgReading;
+import info.nightscout.androidaps.db.ProfileSwitch;
 import info.nightscout.androidaps.db.TemporaryBasal;
 import info.nightscout.androidaps.events.Event;
 import info.nightscout.androidaps.events.EventAppInitialized;
@@ -30,10 +30,12 @@ import info.nightscout.androidaps.interfaces.PluginBase;
 import info.nightscout.androidaps.interfaces.PluginDescription;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.aps.openAPSSMB.OpenAPSSMBPlugin;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
 import info.nightscout.androidaps.plugins.configBuilder.ProfileFunctions;
+import info.nightscout.androidaps.plugins.general.overview.graphData.GraphDataCache;
 import info.nightscout.androidaps.plugins.iob.iobCobCalculator.events.EventNewHistoryData;
 import info.nightscout.androidaps.plugins.sensitivity.SensitivityOref1Plugin;
 import info.nightscout.androidaps.plugins.treatments.Treatment;
@@ -41,6 +43,7 @@ import info.nightscout.androidaps.plugins.treatments.TreatmentsPlugin;
 import info.nightscout.androidaps.utils.DateUtil;
 import info.nightscout.androidaps.utils.DecimalFormatter;
 import info.nightscout.androidaps.utils.FabricPrivacy;
+import info.nightscout.androidaps.utils.Profiler;
 import info.nightscout.androidaps.utils.T;
 import io.reactivex.disposables.CompositeDisposable;
 import io.reactivex.schedulers.Schedulers;
@@ -63,15 +66,28 @@ public class IobCobCalculatorPlugin extends PluginBase {
         return plugin;
     }
 
-    private LongSparseArray<IobTotal> iobTable = new LongSparseArray<>(); // oldest at index 0
-    private LongSparseArray<AutosensData> autosensDataTable = new LongSparseArray<>(); // oldest at index 0
-    private LongSparseArray<BasalData> basalDataTable = new LongSparseArray<>(); // oldest at index 0
+    // caches guarded by own monitor, they don't need calculation to be finished
+    private final LongSparseArray<IobTotal> iobTable = new LongSparseArray<>(); // oldest at index 0
+    private final LongSparseArray<BasalData> basalDataTable = new LongSparseArray<>(); // oldest at index 0
+    // sampled overview graph series, invalidated together with tables above
+    private final GraphDataCache graphDataCache = new GraphDataCache();
+
+    // working copy modified by calculation thread holding dataLock, passed to it explicitly
+    private final LongSparseArray<AutosensData> autosensDataTable = new LongSparseArray<>(); // oldest at index 0
+    // last finished calculation, never modified after publishing so it can be read without locking
+    private volatile LongSparseArray<AutosensData> autosensDataSnapshot = new LongSparseArray<>(); // oldest at index 0
 
     private volatile List<BgReading> bgReadings = null; // newest at index 0
-    private volatile List<BgReading> bucketed_data = null;
+    private volatile BucketedBgSeries bucketedSeries = null;
 
+    // held by calculation thread for whole calculation
     private final Object dataLock = new Object();
 
+    // every started calculation gets new version, snapshot is consistent as of published version
+    private final Object versionLock = new Object();
+    private long requestedVersion = 0;
+    private long publishedVersion = 0;
+
     boolean stopCalculationTrigger = false;
     private Thread thread = null;
 
@@ -94,17 +110,18 @@ public class IobCobCalculatorPlugin extends PluginBase {
                 .observeOn(Schedulers.io())
                 .subscribe(event -> {
                     if (this != getPlugin()) {
-                        if (L.isEnabled(L.AUTOSENS))
+                        if (L.isEnabled(LTag.AUTOSENS))
                             log.debug("Ignoring event for non default instance");
                         return;
                     }
                     stopCalculation("onEventConfigBuilderChange");
                     synchronized (dataLock) {
-                        if (L.isEnabled(L.AUTOSENS))
+                        if (L.isEnabled(LTag.AUTOSENS))
                             log.debug("Invalidating cached data because of configuration change. IOB: " + iobTable.size() + " Autosens: " + autosensDataTable.size() + " records");
-                        iobTable = new LongSparseArray<>();
-                        autosensDataTable = new LongSparseArray<>();
+                        autosensDataTable.clear();
                     }
+                    clearTable(iobTable);
+                    graphDataCache.clear();
                     runCalculation("onEventConfigBuilderChange", System.currentTimeMillis(), false, true, event);
                 }, FabricPrivacy::logException)
         );
@@ -114,7 +131,7 @@ public class IobCobCalculatorPlugin extends PluginBase {
                 .observeOn(Schedulers.io())
                 .subscribe(event -> {
                     if (this != getPlugin()) {
-                        if (L.isEnabled(L.AUTOSENS))
+                        if (L.isEnabled(LTag.AUTOSENS))
                             log.debug("Ignoring event for non default instance");
                         return;
                     }
@@ -124,12 +141,19 @@ public class IobCobCalculatorPlugin extends PluginBase {
                         return;
                     }
                     stopCalculation("onNewProfile");
-                    synchronized (dataLock) {
-                        if (L.isEnabled(L.AUTOSENS))
-                            log.debug("Invalidating cached data because of new profile. IOB: " + iobTable.size() + " Autosens: " + autosensDataTable.size() + " records");
-                        iobTable = new LongSparseArray<>();
-                        autosensDataTable = new LongSparseArray<>();
-                        basalDataTable = new LongSparseArray<>();
+                    long profileChange = earliestProfileChange();
+                    if (profileChange != 0) {
+                        // only data calculated with the new profile is affected
+                        invalidateCachedData(profileChange);
+                    } else {
+                        synchronized (dataLock) {
+                            if (L.isEnabled(LTag.AUTOSENS))
+                                log.debug("Invalidating cached data because of new profile. IOB: " + iobTable.size() + " Autosens: " + autosensDataTable.size() + " records");
+                            autosensDataTable.clear();
+                        }
+                        clearTable(iobTable);
+                        clearTable(basalDataTable);
+                        graphDataCache.clear();
                     }
                     runCalculation("onNewProfile", System.currentTimeMillis(), false, true, event);
                 }, FabricPrivacy::logException)
@@ -140,11 +164,14 @@ public class IobCobCalculatorPlugin extends PluginBase {
                 .observeOn(Schedulers.io())
                 .subscribe(event -> {
                     if (this != getPlugin()) {
-                        if (L.isEnabled(L.AUTOSENS))
+                        if (L.isEnabled(LTag.AUTOSENS))
                             log.debug("Ignoring event for non default instance");
                         return;
                     }
                     stopCalculation("onEventNewBG");
+                    // backfilled data, calculation must continue from there
+                    if (event.getHistoryChange() != 0)
+                        invalidateCachedData(event.getHistoryChange());
                     runCalculation("onEventNewBG", System.currentTimeMillis(), true, true, event);
                 }, FabricPrivacy::logException)
         );
@@ -154,26 +181,35 @@ public class IobCobCalculatorPlugin extends PluginBase {
                 .observeOn(Schedulers.io())
                 .subscribe(event -> {
                     if (this != getPlugin()) {
-                        if (L.isEnabled(L.AUTOSENS))
+                        if (L.isEnabled(LTag.AUTOSENS))
                             log.debug("Ignoring event for non default instance");
                         return;
                     }
-                    if (event.isChanged(R.string.key_openapsama_autosens_period) ||
+                    if (event.isChanged(R.string.key_insulin_oref_peak)) {
+                        stopCalculation("onEventPreferenceChange");
+                        synchronized (dataLock) {
+                            if (L.isEnabled(LTag.AUTOSENS))
+                                log.debug("Invalidating cached data because of preference change. IOB: " + iobTable.size() + " Autosens: " + autosensDataTable.size() + " records" + " BasalData: " + basalDataTable.size() + " records");
+                            autosensDataTable.clear();
+                        }
+                        clearTable(iobTable);
+                        clearTable(basalDataTable);
+                        graphDataCache.clear();
+                        runCalculation("onEventPreferenceChange", System.currentTimeMillis(), false, true, event);
+                    } else if (event.isChanged(R.string.key_openapsama_autosens_period) ||
                             event.isChanged(R.string.key_age) ||
                             event.isChanged(R.string.key_absorption_maxtime) ||
                             event.isChanged(R.string.key_openapsama_min_5m_carbimpact) ||
                             event.isChanged(R.string.key_absorption_cutoff) ||
                             event.isChanged(R.string.key_openapsama_autosens_max) ||
-                            event.isChanged(R.string.key_openapsama_autosens_min) ||
-                            event.isChanged(R.string.key_insulin_oref_peak)
+                            event.isChanged(R.string.key_openapsama_autosens_min)
                     ) {
+                        // insulin curve is not affected, IOB and basal data can be reused
                         stopCalculation("onEventPreferenceChange");
                         synchronized (dataLock) {
-                            if (L.isEnabled(L.AUTOSENS))
-                                log.debug("Invalidating cached data because of preference change. IOB: " + iobTable.size() + " Autosens: " + autosensDataTable.size() + " records" + " BasalData: " + basalDataTable.size() + " records");
-                            iobTable = new LongSparseArray<>();
-                            autosensDataTable = new LongSparseArray<>();
-                            basalDataTable = new LongSparseArray<>();
+                            if (L.isEnabled(LTag.AUTOSENS))
+                                log.debug("Invalidating cached autosens data because of preference change. Autosens: " + autosensDataTable.size() + " records");
+                            autosensDataTable.clear();
                         }
                         runCalculation("onEventPreferenceChange", System.currentTimeMillis(), false, true, event);
                     }
@@ -185,7 +221,7 @@ public class IobCobCalculatorPlugin extends PluginBase {
                 .observeOn(Schedulers.io())
                 .subscribe(event -> {
                     if (this != getPlugin()) {
-                        if (L.isEnabled(L.AUTOSENS))
+                        if (L.isEnabled(LTag.AUTOSENS))
                             log.debug("Ignoring event for non default instance");
                         return;
                     }
@@ -206,8 +242,12 @@ public class IobCobCalculatorPlugin extends PluginBase {
         super.onStop();
     }
 
+    /**
+     * Last published calculation. Calculation thread works on its own table,
+     * it's passed to sensitivity plugins as parameter
+     */
     public LongSparseArray<AutosensData> getAutosensDataTable() {
-        return autosensDataTable;
+        return autosensDataSnapshot;
     }
 
     public List<BgReading> getBgReadings() {
@@ -218,8 +258,16 @@ public class IobCobCalculatorPlugin extends PluginBase {
         this.bgReadings = bgReadings;
     }
 
+    @Nullable
+    public BucketedBgSeries getBucketedSeries() {
+        return bucketedSeries;
+    }
+
+    // copy of bucketed data as list of BgReading
+    @Nullable
     public List<BgReading> getBucketedData() {
-        return bucketed_data;
+        BucketedBgSeries series = bucketedSeries;
+        return series != null ? series.toList() : null;
     }
 
     public Object getDataLock() {
@@ -243,85 +291,88 @@ public class IobCobCalculatorPlugin extends PluginBase {
             // if close to now expect there can be some readings with time in close future (caused by wrong time setting)
             // so read all records
             bgReadings = MainApp.getDbHelper().getBgreadingsDataFromTime(start, false);
-            if (L.isEnabled(L.AUTOSENS))
+            if (L.isEnabled(LTag.AUTOSENS))
                 log.debug("BG data loaded. Size: " + bgReadings.size() + " Start date: " + DateUtil.dateAndTimeString(start));
         } else {
             bgReadings = MainApp.getDbHelper().getBgreadingsDataFromTime(start, to, false);
-            if (L.isEnabled(L.AUTOSENS))
+            if (L.isEnabled(LTag.AUTOSENS))
                 log.debug("BG data loaded. Size: " + bgReadings.size() + " Start date: " + DateUtil.dateAndTimeString(start) + " End date: " + DateUtil.dateAndTimeString(to));
         }
     }
 
     public boolean isAbout5minData() {
-        synchronized (dataLock) {
-            if (bgReadings == null || bgReadings.size() < 3) {
-                return true;
-            }
-            long totalDiff = 0;
-            for (int i = 1; i < bgReadings.size(); ++i) {
-                long bgTime = bgReadings.get(i).date;
-                long lastbgTime = bgReadings.get(i - 1).date;
-                long diff = lastbgTime - bgTime;
-                diff %= T.mins(5).msecs();
-                if (diff > T.mins(2).plus(T.secs(30)).msecs())
-                    diff = diff - T.mins(5).msecs();
-                totalDiff += diff;
-                diff = Math.abs(diff);
-                if (diff > T.secs(30).msecs()) {
-                    if (L.isEnabled(L.AUTOSENS))
-                        log.debug("Interval detection: values: " + bgReadings.size() + " diff: " + (diff / 1000) + "[s] is5minData: " + false);
-                    return false;
-                }
+        List<BgReading> bgReadings = this.bgReadings;
+        if (bgReadings == null || bgReadings.size() < 3) {
+            return true;
+        }
+        long totalDiff = 0;
+        for (int i = 1; i < bgReadings.size(); ++i) {
+            long bgTime = bgReadings.get(i).date;
+            long lastbgTime = bgReadings.get(i - 1).date;
+            long diff = lastbgTime - bgTime;
+            diff %= T.mins(5).msecs();
+            if (diff > T.mins(2).plus(T.secs(30)).msecs())
+                diff = diff - T.mins(5).msecs();
+            totalDiff += diff;
+            diff = Math.abs(diff);
+            if (diff > T.secs(30).msecs()) {
+                if (L.isEnabled(LTag.AUTOSENS))
+                    log.debug("Interval detection: values: " + bgReadings.size() + " diff: " + (diff / 1000) + "[s] is5minData: " + false);
+                return false;
             }
-            long averageDiff = totalDiff / bgReadings.size() / 1000;
-            boolean is5mindata = averageDiff < 1;
-            if (L.isEnabled(L.AUTOSENS))
-                log.debug("Interval detection: values: " + bgReadings.size() + " averageDiff: " + averageDiff + "[s] is5minData: " + is5mindata);
-            return is5mindata;
         }
+        long averageDiff = totalDiff / bgReadings.size() / 1000;
+        boolean is5mindata = averageDiff < 1;
+        if (L.isEnabled(LTag.AUTOSENS))
+            log.debug("Interval detection: values: " + bgReadings.size() + " averageDiff: " + averageDiff + "[s] is5minData: " + is5mindata);
+        return is5mindata;
     }
 
+    // list is built aside and published when complete
     public void createBucketedData() {
         if (isAbout5minData())
-            createBucketedData5min();
+            bucketedSeries = createBucketedData5min();
         else
-            createBucketedDataRecalculated();
+            bucketedSeries = createBucketedDataRecalculated();
     }
 
     @Nullable
     public BgReading findNewer(long time) {
-        BgReading lastFound = bgReadings.get(0);
-        if (lastFound.date < time) return null;
-        for (int i = 1; i < bgReadings.size(); ++i) {
-            if (bgReadings.get(i).date == time) return bgReadings.get(i);
-            if (bgReadings.get(i).date > time) continue;
-            lastFound = bgReadings.get(i - 1);
-            if (bgReadings.get(i).date < time) break;
-        }
-        return lastFound;
+        int index = indexOfFirstNotNewer(bgReadings, time);
+        if (index < bgReadings.size() && bgReadings.get(index).date == time)
+            return bgReadings.get(index);
+        return index > 0 ? bgReadings.get(index - 1) : null;
     }
 
     @Nullable
     public BgReading findOlder(long time) {
-        BgReading lastFound = bgReadings.get(bgReadings.size() - 1);
-        if (lastFound.date > time) return null;
-        for (int i = bgReadings.size() - 2; i >= 0; --i) {
-            if (bgReadings.get(i).date == time) return bgReadings.get(i);
-            if (bgReadings.get(i).date < time) continue;
-            lastFound = bgReadings.get(i + 1);
-            if (bgReadings.get(i).date > time) break;
+        int index = indexOfFirstNotNewer(bgReadings, time);
+        return index < bgReadings.size() ? bgReadings.get(index) : null;
+    }
+
+    // readings are sorted newest first, returns size if all readings are newer
+    private static int indexOfFirstNotNewer(List<BgReading> readings, long time) {
+        int low = 0;
+        int high = readings.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (readings.get(mid).date > time)
+                low = mid + 1;
+            else
+                high = mid;
         }
-        return lastFound;
+        return low;
     }
 
-    private void createBucketedDataRecalculated() {
+    @Nullable
+    private BucketedBgSeries createBucketedDataRecalculated() {
         if (bgReadings == null || bgReadings.size() < 3) {
-            bucketed_data = null;
-            return;
+            return null;
         }
 
-        bucketed_data = new ArrayList<>();
         long currentTime = bgReadings.get(0).date - bgReadings.get(0).date % T.mins(5).msecs();
+        long oldest = bgReadings.get(bgReadings.size() - 1).date;
+        BucketedBgSeries bucketed_data = new BucketedBgSeries((int) ((currentTime - oldest) / T.mins(5).msecs()) + 1);
         //log.debug("First reading: " + new Date(currentTime).toLocaleString());
 
         while (true) {
@@ -332,34 +383,32 @@ public class IobCobCalculatorPlugin extends PluginBase {
                 break;
 
             if (older.date == newer.date) { // direct hit
-                bucketed_data.add(newer);
+                bucketed_data.add(newer.date, newer.value);
             } else {
                 double bgDelta = newer.value - older.value;
                 long timeDiffToNew = newer.date - currentTime;
 
                 double currentBg = newer.value - (double) timeDiffToNew / (newer.date - older.date) * bgDelta;
-                BgReading newBgreading = new BgReading();
-                newBgreading.date = currentTime;
-                newBgreading.value = Math.round(currentBg);
-                bucketed_data.add(newBgreading);
-                //log.debug("BG: " + newBgreading.value + " (" + new Date(newBgreading.date).toLocaleString() + ") Prev: " + older.value + " (" + new Date(older.date).toLocaleString() + ") Newer: " + newer.value + " (" + new Date(newer.date).toLocaleString() + ")");
+                bucketed_data.add(currentTime, Math.round(currentBg));
+                //log.debug("BG: " + Math.round(currentBg) + " (" + new Date(currentTime).toLocaleString() + ") Prev: " + older.value + " (" + new Date(older.date).toLocaleString() + ") Newer: " + newer.value + " (" + new Date(newer.date).toLocaleString() + ")");
             }
             currentTime -= T.mins(5).msecs();
 
         }
+        return bucketed_data;
     }
 
 
-    private void createBucketedData5min() {
+    @Nullable
+    private BucketedBgSeries createBucketedData5min() {
         if (bgReadings == null || bgReadings.size() < 3) {
-            bucketed_data = null;
-            return;
+            return null;
         }
 
-        bucketed_data = new ArrayList<>();
-        bucketed_data.add(bgReadings.get(0));
-        if (L.isEnabled(L.AUTOSENS))
-            log.debug("Adding. bgTime: " + DateUtil.toISOString(bgReadings.get(0).date) + " lastbgTime: " + "none-first-value" + " " + bgReadings.get(0).toString());
+        BucketedBgSeries bucketed_data = new BucketedBgSeries(bgReadings.size() + 12);
+        bucketed_data.add(bgReadings.get(0).date, bgReadings.get(0).value);
+        if (L.isEnabled(LTag.AUTOSENS))
+            log.debug("Adding. bgTime: {} lastbgTime: none-first-value {}", DateUtil.toISOString(bgReadings.get(0).date), bgReadings.get(0));
         int j = 0;
         for (int i = 1; i < bgReadings.size(); ++i) {
             long bgTime = bgReadings.get(i).date;
@@ -379,62 +428,53 @@ public class IobCobCalculatorPlugin extends PluginBase {
                 while (elapsed_minutes > 5) {
                     nextbgTime = lastbgTime - 5 * 60 * 1000;
                     j++;
-                    BgReading newBgreading = new BgReading();
-                    newBgreading.date = nextbgTime;
                     double gapDelta = bgReadings.get(i).value - lastbg;
                     //console.error(gapDelta, lastbg, elapsed_minutes);
                     double nextbg = lastbg + (5d / elapsed_minutes * gapDelta);
-                    newBgreading.value = Math.round(nextbg);
                     //console.error("Interpolated", bucketed_data[j]);
-                    bucketed_data.add(newBgreading);
-                    if (L.isEnabled(L.AUTOSENS))
-                        log.debug("Adding. bgTime: " + DateUtil.toISOString(bgTime) + " lastbgTime: " + DateUtil.toISOString(lastbgTime) + " " + newBgreading.toString());
+                    bucketed_data.add(nextbgTime, Math.round(nextbg));
+                    if (L.isEnabled(LTag.AUTOSENS))
+                        log.debug("Adding. bgTime: {} lastbgTime: {} interpolated: {} {}", DateUtil.toISOString(bgTime), DateUtil.toISOString(lastbgTime), DateUtil.toISOString(nextbgTime), Math.round(nextbg));
 
                     elapsed_minutes = elapsed_minutes - 5;
                     lastbg = nextbg;
                     lastbgTime = nextbgTime;
                 }
                 j++;
-                BgReading newBgreading = new BgReading();
-                newBgreading.value = bgReadings.get(i).value;
-                newBgreading.date = bgTime;
-                bucketed_data.add(newBgreading);
-                if (L.isEnabled(L.AUTOSENS))
-                    log.debug("Adding. bgTime: " + DateUtil.toISOString(bgTime) + " lastbgTime: " + DateUtil.toISOString(lastbgTime) + " " + newBgreading.toString());
+                bucketed_data.add(bgTime, bgReadings.get(i).value);
+                if (L.isEnabled(LTag.AUTOSENS))
+                    log.debug("Adding. bgTime: {} lastbgTime: {} {}", DateUtil.toISOString(bgTime), DateUtil.toISOString(lastbgTime), bgReadings.get(i).value);
             } else if (Math.abs(elapsed_minutes) > 2) {
                 j++;
-                BgReading newBgreading = new BgReading();
-                newBgreading.value = bgReadings.get(i).value;
-                newBgreading.date = bgTime;
-                bucketed_data.add(newBgreading);
-                if (L.isEnabled(L.AUTOSENS))
-                    log.debug("Adding. bgTime: " + DateUtil.toISOString(bgTime) + " lastbgTime: " + DateUtil.toISOString(lastbgTime) + " " + newBgreading.toString());
+                bucketed_data.add(bgTime, bgReadings.get(i).value);
+                if (L.isEnabled(LTag.AUTOSENS))
+                    log.debug("Adding. bgTime: {} lastbgTime: {} {}", DateUtil.toISOString(bgTime), DateUtil.toISOString(lastbgTime), bgReadings.get(i).value);
             } else {
-                bucketed_data.get(j).value = (bucketed_data.get(j).value + bgReadings.get(i).value) / 2;
+                bucketed_data.setValue(j, (bucketed_data.getValue(j) + bgReadings.get(i).value) / 2);
                 //log.error("***** Average");
             }
         }
 
         // Normalize bucketed data
         for (int i = bucketed_data.size() - 2; i >= 0; i--) {
-            BgReading current = bucketed_data.get(i);
-            BgReading previous = bucketed_data.get(i + 1);
-            long msecDiff = current.date - previous.date;
+            long current = bucketed_data.getDate(i);
+            long previous = bucketed_data.getDate(i + 1);
+            long msecDiff = current - previous;
             long adjusted = (msecDiff - T.mins(5).msecs()) / 1000;
-            if (L.isEnabled(L.AUTOSENS))
-                log.debug("Adjusting bucketed data time. Current: " + DateUtil.toISOString(current.date) + " to: " + DateUtil.toISOString(previous.date + T.mins(5).msecs()) + " by " + adjusted + " sec");
+            if (L.isEnabled(LTag.AUTOSENS))
+                log.debug("Adjusting bucketed data time. Current: {} to: {} by {} sec", DateUtil.toISOString(current), DateUtil.toISOString(previous + T.mins(5).msecs()), adjusted);
             if (Math.abs(adjusted) > 90) {
                 // too big adjustment, fallback to non 5 min data
-                if (L.isEnabled(L.AUTOSENS))
+                if (L.isEnabled(LTag.AUTOSENS))
                     log.debug("Fallback to non 5 min data");
-                createBucketedDataRecalculated();
-                return;
+                return createBucketedDataRecalculated();
             }
-            current.date = previous.date + T.mins(5).msecs();
+            bucketed_data.setDate(i, previous + T.mins(5).msecs());
         }
 
-        if (L.isEnabled(L.AUTOSENS))
-            log.debug("Bucketed data created. Size: " + bucketed_data.size());
+        if (L.isEnabled(LTag.AUTOSENS))
+            log.debug("Bucketed data created. Size: {}", bucketed_data.size());
+        return bucketed_data;
     }
 
     public long calculateDetectionStart(long from, boolean limitDataToOldestAvailable) {
@@ -447,36 +487,48 @@ public class IobCobCalculatorPlugin extends PluginBase {
         if (limitDataToOldestAvailable) {
             getBGDataFrom = Math.max(oldestDataAvailable, (long) (from - T.hours(1).msecs() * (24 + dia)));
             if (getBGDataFrom == oldestDataAvailable)
-                if (L.isEnabled(L.AUTOSENS))
+                if (L.isEnabled(LTag.AUTOSENS))
                     log.debug("Limiting data to oldest available temps: " + DateUtil.dateAndTimeFullString(oldestDataAvailable));
         } else
             getBGDataFrom = (long) (from - T.hours(1).msecs() * (24 + dia));
         return getBGDataFrom;
     }
 
+    // IOB doesn't depend on running calculation anymore, treatments are synchronized by TreatmentsPlugin
     public IobTotal calculateFromTreatmentsAndTempsSynchronized(long time, Profile profile) {
-        synchronized (dataLock) {
-            return calculateFromTreatmentsAndTemps(time, profile);
-        }
+        return calculateFromTreatmentsAndTemps(time, profile);
     }
 
     public IobTotal calculateFromTreatmentsAndTempsSynchronized(long time, AutosensResult lastAutosensResult, boolean exercise_mode, int half_basal_exercise_target, boolean isTempTarget) {
-        synchronized (dataLock) {
-            return calculateFromTreatmentsAndTemps(time, lastAutosensResult, exercise_mode, half_basal_exercise_target, isTempTarget);
-        }
+        return calculateFromTreatmentsAndTemps(time, lastAutosensResult, exercise_mode, half_basal_exercise_target, isTempTarget);
     }
 
     public IobTotal calculateFromTreatmentsAndTemps(long time, Profile profile) {
         long now = System.currentTimeMillis();
         time = roundUpTime(time);
-        if (time < now && iobTable.get(time) != null) {
-            //og.debug(">>> calculateFromTreatmentsAndTemps Cache hit " + new Date(time).toLocaleString());
-            return iobTable.get(time);
-        } else {
-            //log.debug(">>> calculateFromTreatmentsAndTemps Cache miss " + new Date(time).toLocaleString());
+        if (time < now) {
+            IobTotal cached;
+            synchronized (iobTable) {
+                cached = iobTable.get(time);
+            }
+            if (cached != null) {
+                //og.debug(">>> calculateFromTreatmentsAndTemps Cache hit " + new Date(time).toLocaleString());
+                return cached;
+            }
         }
+        //log.debug(">>> calculateFromTreatmentsAndTemps Cache miss " + new Date(time).toLocaleString());
         IobTotal bolusIob = TreatmentsPlugin.getPlugin().getCalculationToTimeTreatments(time).round();
         IobTotal basalIob = TreatmentsPlugin.getPlugin().getCalculationToTimeTempBasals(time, true, now).round();
+        IobTotal iobTotal = combineWithZeroTemp(time, now, bolusIob, basalIob, profile);
+        if (time < System.currentTimeMillis()) {
+            synchronized (iobTable) {
+                iobTable.put(time, iobTotal);
+            }
+        }
+        return iobTotal;
+    }
+
+    private IobTotal combineWithZeroTemp(long time, long now, IobTotal bolusIob, IobTotal basalIob, Profile profile) {
         if (OpenAPSSMBPlugin.getPlugin().isEnabled(PluginType.APS)) {
             // Add expected zero temp basal for next 240 mins
             IobTotal basalIobWithZeroTemp = basalIob.copy();
@@ -492,11 +544,7 @@ public class IobCobCalculatorPlugin extends PluginBase {
             basalIob.iobWithZeroTemp = IobTotal.combine(bolusIob, basalIobWithZeroTemp).round();
         }
 
-        IobTotal iobTotal = IobTotal.combine(bolusIob, basalIob).round();
-        if (time < System.currentTimeMillis()) {
-            iobTable.put(time, iobTotal);
-        }
-        return iobTotal;
+        return IobTotal.combine(bolusIob, basalIob).round();
     }
 
     public IobTotal calculateFromTreatmentsAndTemps(long time, AutosensResult lastAutosensResult, boolean exercise_mode, int half_basal_exercise_target, boolean isTempTarget) {
@@ -504,6 +552,10 @@ public class IobCobCalculatorPlugin extends PluginBase {
 
         IobTotal bolusIob = TreatmentsPlugin.getPlugin().getCalculationToTimeTreatments(time).round();
         IobTotal basalIob = TreatmentsPlugin.getPlugin().getCalculationToTimeTempBasals(time, now, lastAutosensResult, exercise_mode, half_basal_exercise_target, isTempTarget).round();
+        return combineWithZeroTemp(time, now, bolusIob, basalIob, lastAutosensResult, exercise_mode, half_basal_exercise_target, isTempTarget);
+    }
+
+    private IobTotal combineWithZeroTemp(long time, long now, IobTotal bolusIob, IobTotal basalIob, AutosensResult lastAutosensResult, boolean exercise_mode, int half_basal_exercise_target, boolean isTempTarget) {
         if (OpenAPSSMBPlugin.getPlugin().isEnabled(PluginType.APS)) {
             // Add expected zero temp basal for next 240 mins
             IobTotal basalIobWithZeroTemp = basalIob.copy();
@@ -527,17 +579,15 @@ public class IobCobCalculatorPlugin extends PluginBase {
 
     @Nullable
     public Long findPreviousTimeFromBucketedData(long time) {
+        BucketedBgSeries bucketed_data = bucketedSeries;
         if (bucketed_data == null)
             return null;
-        for (int index = 0; index < bucketed_data.size(); index++) {
-            if (bucketed_data.get(index).date <= time)
-                return bucketed_data.get(index).date;
-        }
-        return null;
+        int index = bucketed_data.indexOfAtOrBefore(time);
+        return index >= 0 ? bucketed_data.getDate(index) : null;
     }
 
     public BasalData getBasalData(Profile profile, long time) {
-        synchronized (dataLock) {
+        synchronized (basalDataTable) {
             long now = System.currentTimeMillis();
             time = roundUpTime(time);
             BasalData retval = basalDataTable.get(time);
@@ -565,41 +615,68 @@ public class IobCobCalculatorPlugin extends PluginBase {
 
     @Nullable
     public AutosensData getAutosensData(long time) {
-        synchronized (dataLock) {
-            long now = System.currentTimeMillis();
-            if (time > now) {
-                return null;
-            }
-            Long previous = findPreviousTimeFromBucketedData(time);
-            if (previous == null) {
-                return null;
-            }
-            time = roundUpTime(previous);
-            AutosensData data = autosensDataTable.get(time);
-            if (data != null) {
-                //log.debug(">>> AUTOSENSDATA Cache hit " + data.toString());
-                return data;
-            } else {
-                //log.debug(">>> AUTOSENSDATA Cache miss " + new Date(time).toLocaleString());
-                return null;
-            }
+        return getAutosensData(autosensDataSnapshot, time);
+    }
+
+    @Nullable
+    public AutosensData getAutosensData(LongSparseArray<AutosensData> autosensDataTable, long time) {
+        long now = System.currentTimeMillis();
+        if (time > now) {
+            return null;
+        }
+        Long previous = findPreviousTimeFromBucketedData(time);
+        if (previous == null) {
+            return null;
+        }
+        time = roundUpTime(previous);
+        AutosensData data = autosensDataTable.get(time);
+        if (data != null) {
+            //log.debug(">>> AUTOSENSDATA Cache hit " + data.toString());
+            return data;
+        } else {
+            //log.debug(">>> AUTOSENSDATA Cache miss " + new Date(time).toLocaleString());
+            return null;
         }
     }
 
+    /**
+     * Returns last autosens data of calculation requested before this call.
+     * Waits max 5 sec for calculation to be published, never blocks calculation itself
+     */
     @Nullable
     public AutosensData getLastAutosensDataSynchronized(String reason) {
-        if (thread != null && thread.isAlive()) {
-            if (L.isEnabled(L.AUTOSENS))
-                log.debug("AUTOSENSDATA is waiting for calculation thread: " + reason);
-            try {
-                thread.join(5000);
-            } catch (InterruptedException ignored) {
+        synchronized (versionLock) {
+            long version = requestedVersion;
+            if (publishedVersion < version) {
+                if (L.isEnabled(LTag.AUTOSENS))
+                    log.debug("AUTOSENSDATA is waiting for calculation version " + version + ": " + reason);
+                long deadline = SystemClock.elapsedRealtime() + 5000;
+                long remaining;
+                while (publishedVersion < version && (remaining = deadline - SystemClock.elapsedRealtime()) > 0) {
+                    try {
+                        versionLock.wait(remaining);
+                    } catch (InterruptedException ignored) {
+                        break;
+                    }
+                }
+                if (L.isEnabled(LTag.AUTOSENS))
+                    log.debug("AUTOSENSDATA finished waiting for calculation version " + version + " published: " + publishedVersion + " " + reason);
             }
-            if (L.isEnabled(L.AUTOSENS))
-                log.debug("AUTOSENSDATA finished waiting for calculation thread: " + reason);
         }
+        return getLastAutosensData(reason);
+    }
+
+    // Called by calculation thread when finished or aborted
+    void publishAutosensData() {
         synchronized (dataLock) {
-            return getLastAutosensData(reason);
+            LongSparseArray<AutosensData> snapshot = autosensDataTable.clone();
+            // removed entries are compacted lazily on first access, do it before readers share it
+            snapshot.size();
+            autosensDataSnapshot = snapshot;
+        }
+        synchronized (versionLock) {
+            publishedVersion = requestedVersion;
+            versionLock.notifyAll();
         }
     }
 
@@ -635,50 +712,45 @@ public class IobCobCalculatorPlugin extends PluginBase {
         double sum = 0;
         int count = 0;
         int valuesToProcess = timeInMinutes / 5;
-        synchronized (dataLock) {
-            for (int i = autosensDataTable.size() - 1; i >= 0 && count < valuesToProcess; i--) {
-                if (autosensDataTable.valueAt(i).failoverToMinAbsorbtionRate)
-                    sum++;
-                count++;
-            }
+        LongSparseArray<AutosensData> autosensDataTable = getAutosensDataTable();
+        for (int i = autosensDataTable.size() - 1; i >= 0 && count < valuesToProcess; i--) {
+            if (autosensDataTable.valueAt(i).failoverToMinAbsorbtionRate)
+                sum++;
+            count++;
         }
         return sum / count;
     }
 
     @Nullable
     public AutosensData getLastAutosensData(String reason) {
+        LongSparseArray<AutosensData> autosensDataTable = getAutosensDataTable();
         if (autosensDataTable.size() < 1) {
-            if (L.isEnabled(L.AUTOSENS))
+            if (L.isEnabled(LTag.AUTOSENS))
                 log.debug("AUTOSENSDATA null: autosensDataTable empty (" + reason + ")");
             return null;
         }
-        AutosensData data;
-        try {
-            data = autosensDataTable.valueAt(autosensDataTable.size() - 1);
-        } catch (Exception e) {
-            // data can be processed on the background
-            // in this rare case better return null and do not block UI
-            // APS plugin should use getLastAutosensDataSynchronized where the blocking is not an issue
-            log.debug("AUTOSENSDATA null: Exception catched (" + reason + ")");
-            return null;
-        }
+        AutosensData data = autosensDataTable.valueAt(autosensDataTable.size() - 1);
         if (data == null) {
             log.debug("AUTOSENSDATA null: data==null");
             return null;
         }
         if (data.time < System.currentTimeMillis() - 11 * 60 * 1000) {
-            if (L.isEnabled(L.AUTOSENS))
+            if (L.isEnabled(LTag.AUTOSENS))
                 log.debug("AUTOSENSDATA null: data is old (" + reason + ") size()=" + autosensDataTable.size() + " lastdata=" + DateUtil.dateAndTimeString(data.time));
             return null;
         } else {
-            if (L.isEnabled(L.AUTOSENS))
+            if (L.isEnabled(LTag.AUTOSENS))
                 log.debug("AUTOSENSDATA (" + reason + ") " + data.toString());
             return data;
         }
     }
 
     public String lastDataTime() {
-        if (autosensDataTable.size() > 0)
+        return lastDataTime(autosensDataSnapshot);
+    }
+
+    public static String lastDataTime(LongSparseArray<AutosensData> autosensDataTable) {
+        if (autosensDataTable != null && autosensDataTable.size() > 0)
             return DateUtil.dateAndTimeString(autosensDataTable.valueAt(autosensDataTable.size() - 1).time);
         else
             return "autosensDataTable empty";
@@ -686,16 +758,22 @@ public class IobCobCalculatorPlugin extends PluginBase {
 
     public IobTotal[] calculateIobArrayInDia(Profile profile) {
         // predict IOB out to DIA plus 30m
-        long time = System.currentTimeMillis();
-        time = roundUpTime(time);
+        long now = System.currentTimeMillis();
+        long time = roundUpTime(now);
         int len = (int) ((profile.getDia() * 60 + 30) / 5);
+        long[] times = new long[len];
+        for (int i = 0; i < len; i++)
+            times[i] = time + i * 5 * 60000;
         IobTotal[] array = new IobTotal[len];
-        int pos = 0;
-        for (int i = 0; i < len; i++) {
-            long t = time + i * 5 * 60000;
-            IobTotal iob = calculateFromTreatmentsAndTempsSynchronized(t, profile);
-            array[pos] = iob;
-            pos++;
+        // all times are evaluated in one pass over treatments and temps
+        IobTotal[] bolusIob = TreatmentsPlugin.getPlugin().getCalculationToTimesTreatments(times);
+        IobTotal[] basalIob = TreatmentsPlugin.getPlugin().getCalculationToTimesTempBasals(times, true, now);
+        synchronized (iobTable) {
+            for (int i = 0; i < len; i++) {
+                array[i] = combineWithZeroTemp(times[i], now, bolusIob[i].round(), basalIob[i].round(), profile);
+                if (times[i] < System.currentTimeMillis())
+                    iobTable.put(times[i], array[i]);
+            }
         }
         return array;
     }
@@ -704,14 +782,15 @@ public class IobCobCalculatorPlugin extends PluginBase {
         // predict IOB out to DIA plus 30m
         long now = DateUtil.now();
         int len = (4 * 60) / 5;
+        long[] times = new long[len];
+        for (int i = 0; i < len; i++)
+            times[i] = now + i * 5 * 60000;
         IobTotal[] array = new IobTotal[len];
-        int pos = 0;
-        for (int i = 0; i < len; i++) {
-            long t = now + i * 5 * 60000;
-            IobTotal iob = calculateFromTreatmentsAndTempsSynchronized(t, lastAutosensResult, exercise_mode, half_basal_exercise_target, isTempTarget);
-            array[pos] = iob;
-            pos++;
-        }
+        // all times are evaluated in one pass over treatments and temps
+        IobTotal[] bolusIob = TreatmentsPlugin.getPlugin().getCalculationToTimesTreatments(times);
+        IobTotal[] basalIob = TreatmentsPlugin.getPlugin().getCalculationToTimesTempBasals(times, now, lastAutosensResult, exercise_mode, half_basal_exercise_target, isTempTarget);
+        for (int i = 0; i < len; i++)
+            array[i] = combineWithZeroTemp(times[i], now, bolusIob[i].round(), basalIob[i].round(), lastAutosensResult, exercise_mode, half_basal_exercise_target, isTempTarget);
         return array;
     }
 
@@ -726,10 +805,12 @@ public class IobCobCalculatorPlugin extends PluginBase {
         return sb.toString();
     }
 
-    public AutosensResult detectSensitivityWithLock(long fromTime, long toTime) {
-        synchronized (dataLock) {
-            return ConfigBuilderPlugin.getPlugin().getActiveSensitivity().detectSensitivity(this, fromTime, toTime);
-        }
+    // Called by calculation thread holding dataLock with its working table
+    AutosensResult detectSensitivity(LongSparseArray<AutosensData> autosensDataTable, long fromTime, long toTime) {
+        long start = Profiler.start();
+        AutosensResult result = ConfigBuilderPlugin.getPlugin().getActiveSensitivity().detectSensitivity(this, autosensDataTable, fromTime, toTime);
+        Profiler.trace(Profiler.Stage.SENSITIVITY, start);
+        return result;
     }
 
     public static JSONArray convertToJSONArray(IobTotal[] iobArray) {
@@ -743,63 +824,103 @@ public class IobCobCalculatorPlugin extends PluginBase {
     public void stopCalculation(String from) {
         if (thread != null && thread.getState() != Thread.State.TERMINATED) {
             stopCalculationTrigger = true;
-            if (L.isEnabled(L.AUTOSENS))
+            if (L.isEnabled(LTag.AUTOSENS))
                 log.debug("Stopping calculation thread: " + from);
             while (thread.getState() != Thread.State.TERMINATED) {
                 SystemClock.sleep(100);
             }
-            if (L.isEnabled(L.AUTOSENS))
+            if (L.isEnabled(LTag.AUTOSENS))
                 log.debug("Calculation thread stopped: " + from);
         }
     }
 
     public void runCalculation(String from, long end, boolean bgDataReload, boolean limitDataToOldestAvailable, Event cause) {
-        if (L.isEnabled(L.AUTOSENS))
+        if (L.isEnabled(LTag.AUTOSENS))
             log.debug("Starting calculation thread: " + from + " to " + DateUtil.dateAndTimeString(end));
-        if (thread == null || thread.getState() == Thread.State.TERMINATED) {
-            if (SensitivityOref1Plugin.getPlugin().isEnabled(PluginType.SENSITIVITY))
-                thread = new IobCobOref1Thread(this, from, end, bgDataReload, limitDataToOldestAvailable, cause);
-            else
-                thread = new IobCobThread(this, from, end, bgDataReload, limitDataToOldestAvailable, cause);
-            thread.start();
+        synchronized (versionLock) {
+            if (thread == null || thread.getState() == Thread.State.TERMINATED) {
+                thread = createCalculationThread(from, end, bgDataReload, limitDataToOldestAvailable, cause);
+                requestedVersion++;
+                thread.start();
+            }
         }
     }
 
+    // Calculation thread gets working table, it must be accessed holding dataLock only
+    Thread createCalculationThread(String from, long end, boolean bgDataReload, boolean limitDataToOldestAvailable, Event cause) {
+        if (SensitivityOref1Plugin.getPlugin().isEnabled(PluginType.SENSITIVITY))
+            return new IobCobOref1Thread(this, autosensDataTable, from, end, bgDataReload, limitDataToOldestAvailable, cause);
+        else
+            return new IobCobThread(this, autosensDataTable, from, end, bgDataReload, limitDataToOldestAvailable, cause);
+    }
+
     // When historical data is changed (comming from NS etc) finished calculations after this date must be invalidated
     public void newHistoryData(EventNewHistoryData ev) {
         if (this != getPlugin()) {
-            if (L.isEnabled(L.AUTOSENS))
+            if (L.isEnabled(LTag.AUTOSENS))
                 log.debug("Ignoring event for non default instance");
             return;
         }
         //log.debug("Locking onNewHistoryData");
         stopCalculation("onEventNewHistoryData");
-        synchronized (dataLock) {
-            // clear up 5 min back for proper COB calculation
-            long time = ev.getTime() - 5 * 60 * 1000L;
-            if (L.isEnabled(L.AUTOSENS))
-                log.debug("Invalidating cached data to: " + DateUtil.dateAndTimeFullString(time));
+        invalidateCachedData(ev.getTime());
+        runCalculation("onEventNewHistoryData", System.currentTimeMillis(), false, true, ev);
+        //log.debug("Releasing onNewHistoryData");
+    }
+
+    /**
+     * Returns time of the running profile switch if only data from this time
+     * is affected by the new profile, 0 if whole cache must be invalidated
+     */
+    private long earliestProfileChange() {
+        ProfileSwitch profileSwitch = TreatmentsPlugin.getPlugin().getProfileSwitchFromHistory(now());
+        if (profileSwitch == null)
+            return 0;
+        ProfileSwitch previousSwitch = TreatmentsPlugin.getPlugin().getProfileSwitchFromHistory(profileSwitch.date - 1);
+        if (previousSwitch == null)
+            return 0;
+        Profile profile = ProfileFunctions.getInstance().getProfile(profileSwitch.date);
+        Profile previous = ProfileFunctions.getInstance().getProfile(profileSwitch.date - 1);
+        if (profile == null || previous == null)
+            return 0;
+        // bolus IOB is calculated with DIA of current profile for the whole history
+        if (profile.getDia() != previous.getDia())
+            return 0;
+        return profileSwitch.date;
+    }
+
+    // Remove calculated data newer than time, older records stay valid and calculation continues from there
+    void invalidateCachedData(long from) {
+        // clear up 5 min back for proper COB calculation
+        long time = from - 5 * 60 * 1000L;
+        if (L.isEnabled(LTag.AUTOSENS))
+            log.debug("Invalidating cached data to: " + DateUtil.dateAndTimeFullString(time));
+        synchronized (iobTable) {
             for (int index = iobTable.size() - 1; index >= 0; index--) {
                 if (iobTable.keyAt(index) > time) {
-                    if (L.isEnabled(L.AUTOSENS))
+                    if (L.isEnabled(LTag.AUTOSENS))
                         log.debug("Removing from iobTable: " + DateUtil.dateAndTimeFullString(iobTable.keyAt(index)));
                     iobTable.removeAt(index);
                 } else {
                     break;
                 }
             }
+        }
+        synchronized (dataLock) {
             for (int index = autosensDataTable.size() - 1; index >= 0; index--) {
                 if (autosensDataTable.keyAt(index) > time) {
-                    if (L.isEnabled(L.AUTOSENS))
+                    if (L.isEnabled(LTag.AUTOSENS))
                         log.debug("Removing from autosensDataTable: " + DateUtil.dateAndTimeFullString(autosensDataTable.keyAt(index)));
                     autosensDataTable.removeAt(index);
                 } else {
                     break;
                 }
             }
+        }
+        synchronized (basalDataTable) {
             for (int index = basalDataTable.size() - 1; index >= 0; index--) {
                 if (basalDataTable.keyAt(index) > time) {
-                    if (L.isEnabled(L.AUTOSENS))
+                    if (L.isEnabled(LTag.AUTOSENS))
                         log.debug("Removing from basalDataTable: " + DateUtil.dateAndTimeFullString(basalDataTable.keyAt(index)));
                     basalDataTable.removeAt(index);
                 } else {
@@ -807,17 +928,61 @@ public class IobCobCalculatorPlugin extends PluginBase {
                 }
             }
         }
-        runCalculation("onEventNewHistoryData", System.currentTimeMillis(), false, true, ev);
-        //log.debug("Releasing onNewHistoryData");
+        graphDataCache.invalidate(time);
+    }
+
+    // Remove calculated data older than time. It's outside of calculation window and would never be reused
+    void pruneCachedData(long time) {
+        synchronized (iobTable) {
+            pruneOlder(iobTable, time);
+        }
+        synchronized (dataLock) {
+            pruneOlder(autosensDataTable, time);
+        }
+        synchronized (basalDataTable) {
+            pruneOlder(basalDataTable, time);
+        }
+    }
+
+    /**
+     * Returns index of newest bucket without calculated data (-1 if nothing is missing).
+     * Table is invalidated from the newest end only, so everything older is calculated already.
+     * Oldest 3 buckets are never calculated, they are needed for avgDelta
+     */
+    static int tailStartIndex(BucketedBgSeries bucketed_data, LongSparseArray<AutosensData> autosensDataTable) {
+        for (int i = 0; i < bucketed_data.size() - 3; i++)
+            if (autosensDataTable.get(roundUpTime(bucketed_data.getDate(i))) != null)
+                return i - 1;
+        return bucketed_data.size() - 4;
+    }
+
+    private static void pruneOlder(LongSparseArray<?> table, long time) {
+        int count = 0;
+        while (count < table.size() && table.keyAt(count) < time)
+            count++;
+        // removeAt() only marks entries, compaction is done once on next access
+        for (int index = count - 1; index >= 0; index--)
+            table.removeAt(index);
     }
 
     public void clearCache() {
+        if (L.isEnabled(LTag.AUTOSENS))
+            log.debug("Clearing cached data.");
         synchronized (dataLock) {
-            if (L.isEnabled(L.AUTOSENS))
-                log.debug("Clearing cached data.");
-            iobTable = new LongSparseArray<>();
-            autosensDataTable = new LongSparseArray<>();
-            basalDataTable = new LongSparseArray<>();
+            autosensDataTable.clear();
+        }
+        clearTable(iobTable);
+        clearTable(basalDataTable);
+        graphDataCache.clear();
+    }
+
+    public GraphDataCache getGraphDataCache() {
+        return graphDataCache;
+    }
+
+    private static void clearTable(LongSparseArray<?> table) {
+        synchronized (table) {
+            table.clear();
         }
     }
 
@@ -20,10 +20,10 @@ import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.data.IobTotal;
 import info.nightscout.androidaps.data.Profile;
-import info.nightscout.androidaps.db.BgReading;
 import info.nightscout.androidaps.db.TempTarget;
 import info.nightscout.androidaps.events.Event;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.aps.openAPSSMB.SMBDefaults;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
@@ -54,6 +54,7 @@ public class IobCobOref1Thread extends Thread {
     private final Event cause;
 
     private IobCobCalculatorPlugin iobCobCalculatorPlugin;
+    private final LongSparseArray<AutosensData> autosensDataTable; // working table, guarded by dataLock
     private boolean bgDataReload;
     private boolean limitDataToOldestAvailable;
     private String from;
@@ -61,10 +62,11 @@ public class IobCobOref1Thread extends Thread {
 
     private PowerManager.WakeLock mWakeLock;
 
-    IobCobOref1Thread(IobCobCalculatorPlugin plugin, String from, long end, boolean bgDataReload, boolean limitDataToOldestAvailable, Event cause) {
+    IobCobOref1Thread(IobCobCalculatorPlugin plugin, LongSparseArray<AutosensData> autosensDataTable, String from, long end, boolean bgDataReload, boolean limitDataToOldestAvailable, Event cause) {
         super();
 
         this.iobCobCalculatorPlugin = plugin;
+        this.autosensDataTable = autosensDataTable;
         this.bgDataReload = bgDataReload;
         this.limitDataToOldestAvailable = limitDataToOldestAvailable;
         this.from = from;
@@ -78,19 +80,19 @@ public class IobCobOref1Thread extends Thread {
 
     @Override
     public final void run() {
-        long start = DateUtil.now();
+        long start = Profiler.start();
         if (mWakeLock != null)
             mWakeLock.acquire(T.mins(10).msecs());
         try {
-            if (L.isEnabled(L.AUTOSENS))
+            if (L.isEnabled(LTag.AUTOSENS))
                 log.debug("AUTOSENSDATA thread started: " + from);
             if (ConfigBuilderPlugin.getPlugin() == null) {
-                if (L.isEnabled(L.AUTOSENS))
+                if (L.isEnabled(LTag.AUTOSENS))
                     log.debug("Aborting calculation thread (ConfigBuilder not ready): " + from);
                 return; // app still initializing
             }
             if (!ProfileFunctions.getInstance().isProfileValid("IobCobThread")) {
-                if (L.isEnabled(L.AUTOSENS))
+                if (L.isEnabled(LTag.AUTOSENS))
                     log.debug("Aborting calculation thread (No profile): " + from);
                 return; // app still initializing
             }
@@ -103,32 +105,40 @@ public class IobCobOref1Thread extends Thread {
                     iobCobCalculatorPlugin.loadBgData(end);
                     iobCobCalculatorPlugin.createBucketedData();
                 }
-                List<BgReading> bucketed_data = iobCobCalculatorPlugin.getBucketedData();
-                LongSparseArray<AutosensData> autosensDataTable = iobCobCalculatorPlugin.getAutosensDataTable();
+                BucketedBgSeries bucketed_data = iobCobCalculatorPlugin.getBucketedSeries();
 
                 if (bucketed_data == null || bucketed_data.size() < 3) {
-                    if (L.isEnabled(L.AUTOSENS))
+                    if (L.isEnabled(LTag.AUTOSENS))
                         log.debug("Aborting calculation thread (No bucketed data available): " + from);
                     return;
                 }
 
-                long prevDataTime = IobCobCalculatorPlugin.roundUpTime(bucketed_data.get(bucketed_data.size() - 3).date);
-                if (L.isEnabled(L.AUTOSENS))
+                // data older than bucketed data is out of calculation window
+                iobCobCalculatorPlugin.pruneCachedData(IobCobCalculatorPlugin.roundUpTime(bucketed_data.getDate(bucketed_data.size() - 1)));
+                // continue after newest already calculated record, only the missing tail is processed
+                int startIndex = IobCobCalculatorPlugin.tailStartIndex(bucketed_data, autosensDataTable);
+                long prevDataTime = IobCobCalculatorPlugin.roundUpTime(bucketed_data.getDate(startIndex + 1));
+                if (L.isEnabled(LTag.AUTOSENS))
                     log.debug("Prev data time: " + new Date(prevDataTime).toLocaleString());
                 AutosensData previous = autosensDataTable.get(prevDataTime);
+                if (L.isEnabled(LTag.AUTOSENS))
+                    log.debug("Calculating " + (startIndex + 1) + " of " + (bucketed_data.size() - 3) + " records: " + from);
+                // profile is looked up again only when it may change, bgTime is ascending
+                Profile profile = null;
+                long profileEnd = 0;
                 // start from oldest to be able sub cob
-                for (int i = bucketed_data.size() - 4; i >= 0; i--) {
+                for (int i = startIndex; i >= 0; i--) {
                     String progress = i + (MainApp.isDev() ? " (" + from + ")" : "");
                     RxBus.INSTANCE.send(new EventIobCalculationProgress(progress));
 
                     if (iobCobCalculatorPlugin.stopCalculationTrigger) {
                         iobCobCalculatorPlugin.stopCalculationTrigger = false;
-                        if (L.isEnabled(L.AUTOSENS))
+                        if (L.isEnabled(LTag.AUTOSENS))
                             log.debug("Aborting calculation thread (trigger): " + from);
                         return;
                     }
                     // check if data already exists
-                    long bgTime = bucketed_data.get(i).date;
+                    long bgTime = bucketed_data.getDate(i);
                     bgTime = IobCobCalculatorPlugin.roundUpTime(bgTime);
                     if (bgTime > IobCobCalculatorPlugin.roundUpTime(now()))
                         continue;
@@ -139,15 +149,18 @@ public class IobCobOref1Thread extends Thread {
                         continue;
                     }
 
-                    Profile profile = ProfileFunctions.getInstance().getProfile(bgTime);
+                    if (profile == null || bgTime >= profileEnd) {
+                        profile = ProfileFunctions.getInstance().getProfile(bgTime);
+                        profileEnd = ProfileFunctions.getInstance().getProfileEnd(bgTime);
+                    }
                     if (profile == null) {
-                        if (L.isEnabled(L.AUTOSENS))
+                        if (L.isEnabled(LTag.AUTOSENS))
                             log.debug("Aborting calculation thread (no profile): " + from);
                         return; // profile not set yet
                     }
 
-                    if (L.isEnabled(L.AUTOSENS))
-                        log.debug("Processing calculation thread: " + from + " (" + i + "/" + bucketed_data.size() + ")");
+                    if (L.isEnabled(LTag.AUTOSENS))
+                        log.debug("Processing calculation thread: {} ({}/{})", from, i, bucketed_data.size());
 
                     double sens = Profile.toMgdl(profile.getIsf(bgTime), profile.getUnits());
 
@@ -162,14 +175,14 @@ public class IobCobOref1Thread extends Thread {
                     double bg;
                     double avgDelta;
                     double delta;
-                    bg = bucketed_data.get(i).value;
-                    if (bg < 39 || bucketed_data.get(i + 3).value < 39) {
+                    bg = bucketed_data.getValue(i);
+                    if (bg < 39 || bucketed_data.getValue(i + 3) < 39) {
                         log.error("! value < 39");
                         continue;
                     }
                     autosensData.bg = bg;
-                    delta = (bg - bucketed_data.get(i + 1).value);
-                    avgDelta = (bg - bucketed_data.get(i + 3).value) / 3;
+                    delta = (bg - bucketed_data.getValue(i + 1));
+                    avgDelta = (bg - bucketed_data.getValue(i + 3)) / 3;
 
                     IobTotal iob = iobCobCalculatorPlugin.calculateFromTreatmentsAndTemps(bgTime, profile);
 
@@ -185,17 +198,17 @@ public class IobCobOref1Thread extends Thread {
                     // https://github.com/openaps/oref0/blob/master/lib/determine-basal/cob-autosens.js#L169
                     if (i < bucketed_data.size() - 16) { // we need 1h of data to calculate minDeviationSlope
                         long hourago = bgTime + 10 * 1000 - 60 * 60 * 1000L;
-                        AutosensData hourAgoData = iobCobCalculatorPlugin.getAutosensData(hourago);
+                        AutosensData hourAgoData = iobCobCalculatorPlugin.getAutosensData(autosensDataTable, hourago);
                         if (hourAgoData != null) {
                             int initialIndex = autosensDataTable.indexOfKey(hourAgoData.time);
-                            if (L.isEnabled(L.AUTOSENS))
-                                log.debug(">>>>> bucketed_data.size()=" + bucketed_data.size() + " i=" + i + " hourAgoData=" + hourAgoData.toString());
+                            if (L.isEnabled(LTag.AUTOSENS))
+                                log.debug(">>>>> bucketed_data.size()={} i={} hourAgoData={}", bucketed_data.size(), i, hourAgoData);
                             int past = 1;
                             try {
                                 for (; past < 12; past++) {
                                     AutosensData ad = autosensDataTable.valueAt(initialIndex + past);
-                                    if (L.isEnabled(L.AUTOSENS)) {
-                                        log.debug(">>>>> past=" + past + " ad=" + (ad != null ? ad.toString() : null));
+                                    if (L.isEnabled(LTag.AUTOSENS)) {
+                                        log.debug(">>>>> past={} ad={}", past, ad);
                                         if (ad == null) {
                                             log.debug(autosensDataTable.toString());
                                             log.debug(bucketed_data.toString());
@@ -232,8 +245,8 @@ public class IobCobOref1Thread extends Thread {
                                 break;
                             }
                         } else {
-                            if (L.isEnabled(L.AUTOSENS))
-                                log.debug(">>>>> bucketed_data.size()=" + bucketed_data.size() + " i=" + i + " hourAgoData=" + "null");
+                            if (L.isEnabled(LTag.AUTOSENS))
+                                log.debug(">>>>> bucketed_data.size()={} i={} hourAgoData=null", bucketed_data.size(), i);
                         }
                     }
 
@@ -375,13 +388,13 @@ public class IobCobOref1Thread extends Thread {
                     previous = autosensData;
                     if (bgTime < now())
                         autosensDataTable.put(bgTime, autosensData);
-                    if (L.isEnabled(L.AUTOSENS))
-                        log.debug("Running detectSensitivity from: " + DateUtil.dateAndTimeString(oldestTimeWithData) + " to: " + DateUtil.dateAndTimeString(bgTime) + " lastDataTime:" + iobCobCalculatorPlugin.lastDataTime());
-                    AutosensResult sensitivity = iobCobCalculatorPlugin.detectSensitivityWithLock(oldestTimeWithData, bgTime);
-                    if (L.isEnabled(L.AUTOSENS))
-                        log.debug("Sensitivity result: " + sensitivity.toString());
+                    if (L.isEnabled(LTag.AUTOSENS))
+                        log.debug("Running detectSensitivity from: {} to: {} lastDataTime:{}", DateUtil.dateAndTimeString(oldestTimeWithData), DateUtil.dateAndTimeString(bgTime), IobCobCalculatorPlugin.lastDataTime(autosensDataTable));
+                    AutosensResult sensitivity = iobCobCalculatorPlugin.detectSensitivity(autosensDataTable, oldestTimeWithData, bgTime);
+                    if (L.isEnabled(LTag.AUTOSENS))
+                        log.debug("Sensitivity result: {}", sensitivity);
                     autosensData.autosensResult = sensitivity;
-                    if (L.isEnabled(L.AUTOSENS))
+                    if (L.isEnabled(LTag.AUTOSENS))
                         log.debug(autosensData.toString());
                 }
             }
@@ -390,14 +403,16 @@ public class IobCobOref1Thread extends Thread {
                 RxBus.INSTANCE.send(new EventAutosensCalculationFinished(cause));
             }).start();
         } finally {
+            // readers see result of this calculation from now
+            iobCobCalculatorPlugin.publishAutosensData();
             if (mWakeLock != null)
                 mWakeLock.release();
             RxBus.INSTANCE.send(new EventIobCalculationProgress(""));
-            if (L.isEnabled(L.AUTOSENS)) {
+            if (L.isEnabled(LTag.AUTOSENS)) {
                 log.debug("AUTOSENSDATA thread ended: " + from);
                 log.debug("Midnights: " + MidnightTime.log());
             }
-            Profiler.log(log, "IobCobOref1Thread", start);
+            Profiler.trace(Profiler.Stage.AUTOSENS_THREAD, start, log, LTag.AUTOSENS);
         }
     }
 
@@ -18,10 +18,10 @@ import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.data.IobTotal;
 import info.nightscout.androidaps.data.Profile;
-import info.nightscout.androidaps.db.BgReading;
 import info.nightscout.androidaps.events.Event;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.aps.openAPSSMB.SMBDefaults;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
@@ -53,6 +53,7 @@ public class IobCobThread extends Thread {
     private final Event cause;
 
     private IobCobCalculatorPlugin iobCobCalculatorPlugin;
+    private final LongSparseArray<AutosensData> autosensDataTable; // working table, guarded by dataLock
     private boolean bgDataReload;
     private boolean limitDataToOldestAvailable;
     private String from;
@@ -60,10 +61,11 @@ public class IobCobThread extends Thread {
 
     private PowerManager.WakeLock mWakeLock;
 
-    IobCobThread(IobCobCalculatorPlugin plugin, String from, long end, boolean bgDataReload, boolean limitDataToOldestAvailable, Event cause) {
+    IobCobThread(IobCobCalculatorPlugin plugin, LongSparseArray<AutosensData> autosensDataTable, String from, long end, boolean bgDataReload, boolean limitDataToOldestAvailable, Event cause) {
         super();
 
         this.iobCobCalculatorPlugin = plugin;
+        this.autosensDataTable = autosensDataTable;
         this.bgDataReload = bgDataReload;
         this.limitDataToOldestAvailable = limitDataToOldestAvailable;
         this.from = from;
@@ -77,19 +79,19 @@ public class IobCobThread extends Thread {
 
     @Override
     public final void run() {
-        long start = DateUtil.now();
+        long start = Profiler.start();
         if (mWakeLock != null)
             mWakeLock.acquire(T.mins(10).msecs());
         try {
-            if (L.isEnabled(L.AUTOSENS))
+            if (L.isEnabled(LTag.AUTOSENS))
                 log.debug("AUTOSENSDATA thread started: " + from);
             if (ConfigBuilderPlugin.getPlugin() == null) {
-                if (L.isEnabled(L.AUTOSENS))
+                if (L.isEnabled(LTag.AUTOSENS))
                     log.debug("Aborting calculation thread (ConfigBuilder not ready): " + from);
                 return; // app still initializing
             }
             if (!ProfileFunctions.getInstance().isProfileValid("IobCobThread")) {
-                if (L.isEnabled(L.AUTOSENS))
+                if (L.isEnabled(LTag.AUTOSENS))
                     log.debug("Aborting calculation thread (No profile): " + from);
                 return; // app still initializing
             }
@@ -102,32 +104,40 @@ public class IobCobThread extends Thread {
                     iobCobCalculatorPlugin.loadBgData(end);
                     iobCobCalculatorPlugin.createBucketedData();
                 }
-                List<BgReading> bucketed_data = iobCobCalculatorPlugin.getBucketedData();
-                LongSparseArray<AutosensData> autosensDataTable = iobCobCalculatorPlugin.getAutosensDataTable();
+                BucketedBgSeries bucketed_data = iobCobCalculatorPlugin.getBucketedSeries();
 
                 if (bucketed_data == null || bucketed_data.size() < 3) {
-                    if (L.isEnabled(L.AUTOSENS))
+                    if (L.isEnabled(LTag.AUTOSENS))
                         log.debug("Aborting calculation thread (No bucketed data available): " + from);
                     return;
                 }
 
-                long prevDataTime = IobCobCalculatorPlugin.roundUpTime(bucketed_data.get(bucketed_data.size() - 3).date);
-                if (L.isEnabled(L.AUTOSENS))
+                // data older than bucketed data is out of calculation window
+                iobCobCalculatorPlugin.pruneCachedData(IobCobCalculatorPlugin.roundUpTime(bucketed_data.getDate(bucketed_data.size() - 1)));
+                // continue after newest already calculated record, only the missing tail is processed
+                int startIndex = IobCobCalculatorPlugin.tailStartIndex(bucketed_data, autosensDataTable);
+                long prevDataTime = IobCobCalculatorPlugin.roundUpTime(bucketed_data.getDate(startIndex + 1));
+                if (L.isEnabled(LTag.AUTOSENS))
                     log.debug("Prev data time: " + new Date(prevDataTime).toLocaleString());
                 AutosensData previous = autosensDataTable.get(prevDataTime);
+                if (L.isEnabled(LTag.AUTOSENS))
+                    log.debug("Calculating " + (startIndex + 1) + " of " + (bucketed_data.size() - 3) + " records: " + from);
+                // profile is looked up again only when it may change, bgTime is ascending
+                Profile profile = null;
+                long profileEnd = 0;
                 // start from oldest to be able sub cob
-                for (int i = bucketed_data.size() - 4; i >= 0; i--) {
+                for (int i = startIndex; i >= 0; i--) {
                     String progress = i + (MainApp.isDev() ? " (" + from + ")" : "");
                     RxBus.INSTANCE.send(new EventIobCalculationProgress(progress));
 
                     if (iobCobCalculatorPlugin.stopCalculationTrigger) {
                         iobCobCalculatorPlugin.stopCalculationTrigger = false;
-                        if (L.isEnabled(L.AUTOSENS))
+                        if (L.isEnabled(LTag.AUTOSENS))
                             log.debug("Aborting calculation thread (trigger): " + from);
                         return;
                     }
                     // check if data already exists
-                    long bgTime = bucketed_data.get(i).date;
+                    long bgTime = bucketed_data.getDate(i);
                     bgTime = IobCobCalculatorPlugin.roundUpTime(bgTime);
                     if (bgTime > IobCobCalculatorPlugin.roundUpTime(now()))
                         continue;
@@ -138,14 +148,17 @@ public class IobCobThread extends Thread {
                         continue;
                     }
 
-                    Profile profile = ProfileFunctions.getInstance().getProfile(bgTime);
+                    if (profile == null || bgTime >= profileEnd) {
+                        profile = ProfileFunctions.getInstance().getProfile(bgTime);
+                        profileEnd = ProfileFunctions.getInstance().getProfileEnd(bgTime);
+                    }
                     if (profile == null) {
-                        if (L.isEnabled(L.AUTOSENS))
+                        if (L.isEnabled(LTag.AUTOSENS))
                             log.debug("Aborting calculation thread (no profile): " + from);
                         return; // profile not set yet
                     }
 
-                    if (L.isEnabled(L.AUTOSENS))
+                    if (L.isEnabled(LTag.AUTOSENS))
                         log.debug("Processing calculation thread: " + from + " (" + i + "/" + bucketed_data.size() + ")");
 
                     double sens = Profile.toMgdl(profile.getIsf(bgTime), profile.getUnits());
@@ -161,14 +174,14 @@ public class IobCobThread extends Thread {
                     double bg;
                     double avgDelta;
                     double delta;
-                    bg = bucketed_data.get(i).value;
-                    if (bg < 39 || bucketed_data.get(i + 3).value < 39) {
+                    bg = bucketed_data.getValue(i);
+                    if (bg < 39 || bucketed_data.getValue(i + 3) < 39) {
                         log.error("! value < 39");
                         continue;
                     }
                     autosensData.bg = bg;
-                    delta = (bg - bucketed_data.get(i + 1).value);
-                    avgDelta = (bg - bucketed_data.get(i + 3).value) / 3;
+                    delta = (bg - bucketed_data.getValue(i + 1));
+                    avgDelta = (bg - bucketed_data.getValue(i + 3)) / 3;
 
                     IobTotal iob = iobCobCalculatorPlugin.calculateFromTreatmentsAndTemps(bgTime, profile);
 
@@ -184,16 +197,16 @@ public class IobCobThread extends Thread {
                     // https://github.com/openaps/oref0/blob/master/lib/determine-basal/cob-autosens.js#L169
                     if (i < bucketed_data.size() - 16) { // we need 1h of data to calculate minDeviationSlope
                         long hourago = bgTime + 10 * 1000 - 60 * 60 * 1000L;
-                        AutosensData hourAgoData = iobCobCalculatorPlugin.getAutosensData(hourago);
+                        AutosensData hourAgoData = iobCobCalculatorPlugin.getAutosensData(autosensDataTable, hourago);
                         if (hourAgoData != null) {
                             int initialIndex = autosensDataTable.indexOfKey(hourAgoData.time);
-                            if (L.isEnabled(L.AUTOSENS))
+                            if (L.isEnabled(LTag.AUTOSENS))
                                 log.debug(">>>>> bucketed_data.size()=" + bucketed_data.size() + " i=" + i + " hourAgoData=" + hourAgoData.toString());
                             int past = 1;
                             try {
                                 for (; past < 12; past++) {
                                     AutosensData ad = autosensDataTable.valueAt(initialIndex + past);
-                                    if (L.isEnabled(L.AUTOSENS)) {
+                                    if (L.isEnabled(LTag.AUTOSENS)) {
                                         log.debug(">>>>> past=" + past + " ad=" + (ad != null ? ad.toString() : null));
                                         if (ad == null) {
                                             log.debug(autosensDataTable.toString());
@@ -231,7 +244,7 @@ public class IobCobThread extends Thread {
                                 break;
                             }
                         } else {
-                            if (L.isEnabled(L.AUTOSENS))
+                            if (L.isEnabled(LTag.AUTOSENS))
                                 log.debug(">>>>> bucketed_data.size()=" + bucketed_data.size() + " i=" + i + " hourAgoData=" + "null");
                         }
                     }
@@ -301,13 +314,13 @@ public class IobCobThread extends Thread {
                     previous = autosensData;
                     if (bgTime < now())
                         autosensDataTable.put(bgTime, autosensData);
-                    if (L.isEnabled(L.AUTOSENS))
-                        log.debug("Running detectSensitivity from: " + DateUtil.dateAndTimeString(oldestTimeWithData) + " to: " + DateUtil.dateAndTimeString(bgTime) + " lastDataTime:" + iobCobCalculatorPlugin.lastDataTime());
-                    AutosensResult sensitivity = iobCobCalculatorPlugin.detectSensitivityWithLock(oldestTimeWithData, bgTime);
-                    if (L.isEnabled(L.AUTOSENS))
+                    if (L.isEnabled(LTag.AUTOSENS))
+                        log.debug("Running detectSensitivity from: " + DateUtil.dateAndTimeString(oldestTimeWithData) + " to: " + DateUtil.dateAndTimeString(bgTime) + " lastDataTime:" + IobCobCalculatorPlugin.lastDataTime(autosensDataTable));
+                    AutosensResult sensitivity = iobCobCalculatorPlugin.detectSensitivity(autosensDataTable, oldestTimeWithData, bgTime);
+                    if (L.isEnabled(LTag.AUTOSENS))
                         log.debug("Sensitivity result: " + sensitivity.toString());
                     autosensData.autosensResult = sensitivity;
-                    if (L.isEnabled(L.AUTOSENS))
+                    if (L.isEnabled(LTag.AUTOSENS))
                         log.debug(autosensData.toString());
                 }
             }
@@ -316,14 +329,16 @@ public class IobCobThread extends Thread {
                 RxBus.INSTANCE.send(new EventAutosensCalculationFinished(cause));
             }).start();
         } finally {
+            // readers see result of this calculation from now
+            iobCobCalculatorPlugin.publishAutosensData();
             if (mWakeLock != null)
                 mWakeLock.release();
             RxBus.INSTANCE.send(new EventIobCalculationProgress(""));
-            if (L.isEnabled(L.AUTOSENS)) {
+            if (L.isEnabled(LTag.AUTOSENS)) {
                 log.debug("AUTOSENSDATA thread ended: " + from);
                 log.debug("Midnights: " + MidnightTime.log());
             }
-            Profiler.log(log, "IobCobThread", start);
+            Profiler.trace(Profiler.Stage.AUTOSENS_THREAD, start, log, LTag.AUTOSENS);
         }
     }
 
@@ -1,5 +1,7 @@
 package info.nightscout.androidaps.plugins.iob.iobCobCalculator.events
 
 import info.nightscout.androidaps.events.Event
+import info.nightscout.androidaps.plugins.bus.Conflated
 
+@Conflated
 class EventIobCalculationProgress(var progress: String) : Event()
\ No newline at end of file
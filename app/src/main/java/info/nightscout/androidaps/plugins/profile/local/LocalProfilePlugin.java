@@ -18,6 +18,7 @@ import info.nightscout.androidaps.interfaces.PluginDescription;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.interfaces.ProfileInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.utils.DecimalFormatter;
 import info.nightscout.androidaps.utils.SP;
@@ -82,13 +83,13 @@ public class LocalProfilePlugin extends PluginBase implements ProfileInterface {
 
         createAndStoreConvertedProfile();
         edited = false;
-        if (L.isEnabled(L.PROFILE))
+        if (L.isEnabled(LTag.PROFILE))
             log.debug("Storing settings: " + getRawProfile().getData().toString());
         RxBus.INSTANCE.send(new EventProfileStoreChanged());
     }
 
     public synchronized void loadSettings() {
-        if (L.isEnabled(L.PROFILE))
+        if (L.isEnabled(LTag.PROFILE))
             log.debug("Loading stored settings");
 
         mgdl = SP.getBoolean(LOCAL_PROFILE + "mgdl", false);
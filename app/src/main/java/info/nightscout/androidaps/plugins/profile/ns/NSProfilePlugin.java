@@ -20,6 +20,7 @@ import info.nightscout.androidaps.interfaces.PluginDescription;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.interfaces.ProfileInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.general.nsclient.events.EventNSClientRestart;
 import info.nightscout.androidaps.plugins.profile.ns.events.EventNSProfileUpdateGUI;
@@ -78,7 +79,7 @@ public class NSProfilePlugin extends PluginBase implements ProfileInterface {
                 RxBus.INSTANCE.send(new EventProfileStoreChanged());
                 RxBus.INSTANCE.send(new EventNSProfileUpdateGUI());
             }
-            if (L.isEnabled(L.PROFILE))
+            if (L.isEnabled(LTag.PROFILE))
                 log.debug("Received profileStore: " + activeProfile + " " + profile);
         } catch (JSONException e) {
             log.error("Unhandled exception", e);
@@ -87,16 +88,16 @@ public class NSProfilePlugin extends PluginBase implements ProfileInterface {
 
     private void storeNSProfile() {
         SP.putString("profile", profile.getData().toString());
-        if (L.isEnabled(L.PROFILE))
+        if (L.isEnabled(LTag.PROFILE))
             log.debug("Storing profile");
     }
 
     private void loadNSProfile() {
-        if (L.isEnabled(L.PROFILE))
+        if (L.isEnabled(LTag.PROFILE))
             log.debug("Loading stored profile");
         String profileString = SP.getString("profile", null);
         if (profileString != null) {
-            if (L.isEnabled(L.PROFILE))
+            if (L.isEnabled(LTag.PROFILE))
                 log.debug("Loaded profile: " + profileString);
             try {
                 profile = new ProfileStore(new JSONObject(profileString));
@@ -105,7 +106,7 @@ public class NSProfilePlugin extends PluginBase implements ProfileInterface {
                 profile = null;
             }
         } else {
-            if (L.isEnabled(L.PROFILE))
+            if (L.isEnabled(LTag.PROFILE))
                 log.debug("Stored profile not found");
             // force restart of nsclient to fetch profile
             RxBus.INSTANCE.send(new EventNSClientRestart());
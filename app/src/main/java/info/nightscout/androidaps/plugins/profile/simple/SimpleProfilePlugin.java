@@ -19,6 +19,7 @@ import info.nightscout.androidaps.interfaces.PluginDescription;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.interfaces.ProfileInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.utils.SP;
 
@@ -59,7 +60,7 @@ public class SimpleProfilePlugin extends PluginBase implements ProfileInterface
     }
 
     public void storeSettings() {
-        if (L.isEnabled(L.PROFILE))
+        if (L.isEnabled(LTag.PROFILE))
             log.debug("Storing settings");
         SharedPreferences settings = PreferenceManager.getDefaultSharedPreferences(MainApp.instance().getApplicationContext());
         SharedPreferences.Editor editor = settings.edit();
@@ -74,13 +75,13 @@ public class SimpleProfilePlugin extends PluginBase implements ProfileInterface
 
         editor.apply();
         createConvertedProfile();
-        if (L.isEnabled(L.PROFILE))
+        if (L.isEnabled(LTag.PROFILE))
             log.debug("Storing settings: " + getRawProfile().getData().toString());
         RxBus.INSTANCE.send(new EventProfileStoreChanged());
     }
 
     private void loadSettings() {
-        if (L.isEnabled(L.PROFILE))
+        if (L.isEnabled(LTag.PROFILE))
             log.debug("Loading stored settings");
 
         mgdl = SP.getBoolean("SimpleProfile" + "mgdl", true);
@@ -38,6 +38,7 @@ import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.interfaces.PumpDescription;
 import info.nightscout.androidaps.interfaces.PumpInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.common.ManufacturerType;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
@@ -216,7 +217,7 @@ public class ComboPlugin extends PluginBase implements PumpInterface, Constraint
 
     @Override
     public void disconnect(String reason) {
-        if (L.isEnabled(L.PUMP))
+        if (L.isEnabled(LTag.PUMP))
             log.debug("Disconnect called with reason: " + reason);
         ruffyScripter.disconnect();
     }
@@ -315,7 +316,7 @@ public class ComboPlugin extends PluginBase implements PumpInterface, Constraint
      */
     @Override
     public synchronized void getPumpStatus() {
-        if (L.isEnabled(L.PUMP))
+        if (L.isEnabled(LTag.PUMP))
             log.debug("getPumpStatus called");
         if (!pump.initialized) {
             initializePump();
@@ -328,11 +329,11 @@ public class ComboPlugin extends PluginBase implements PumpInterface, Constraint
     private synchronized void initializePump() {
         long maxWait = System.currentTimeMillis() + 15 * 1000;
         while (!ruffyScripter.isPumpAvailable()) {
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("Waiting for ruffy service to come up ...");
             SystemClock.sleep(100);
             if (System.currentTimeMillis() > maxWait) {
-                if (L.isEnabled(L.PUMP))
+                if (L.isEnabled(LTag.PUMP))
                     log.debug("ruffy service unavailable, wtf");
                 return;
             }
@@ -352,7 +353,7 @@ public class ComboPlugin extends PluginBase implements PumpInterface, Constraint
         // note that since the history is checked upon every connect, the above already updated
         // the DB with any changed history records
         if (pumpHistoryChanged) {
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("Pump history has changed and was imported");
             pumpHistoryChanged = false;
         }
@@ -519,7 +520,7 @@ public class ComboPlugin extends PluginBase implements PumpInterface, Constraint
             // within the last 1-2 minutes
             if (Math.abs(previousBolus.amount - detailedBolusInfo.insulin) < 0.01
                     && previousBolus.timestamp + 60 * 1000 > System.currentTimeMillis()) {
-                if (L.isEnabled(L.PUMP))
+                if (L.isEnabled(LTag.PUMP))
                     log.debug("Bolus request rejected, same bolus was successfully delivered very recently");
                 return new PumpEnactResult().success(false).enacted(false)
                         .comment(MainApp.gs(R.string.bolus_frequency_exceeded));
@@ -540,7 +541,7 @@ public class ComboPlugin extends PluginBase implements PumpInterface, Constraint
                     return new PumpEnactResult().success(false).enacted(false)
                             .comment(MainApp.gs(R.string.combo_error_no_connection_no_bolus_delivered));
                 }
-                if (L.isEnabled(L.PUMP))
+                if (L.isEnabled(LTag.PUMP))
                     log.debug("Waiting for pump clock to advance for the next unused bolus record timestamp");
                 SystemClock.sleep(2000);
                 timeCheckResult = runCommand(null, 0, ruffyScripter::readPumpState);
@@ -548,7 +549,7 @@ public class ComboPlugin extends PluginBase implements PumpInterface, Constraint
             }
             if (waitLoops > 0) {
                 long waitDuration = (System.currentTimeMillis() - waitStartTime) / 1000;
-                if (L.isEnabled(L.PUMP))
+                if (L.isEnabled(LTag.PUMP))
                     log.debug("Waited " + waitDuration + "s for pump to switch to a fresh minute before bolusing");
             }
 
@@ -691,12 +692,12 @@ public class ComboPlugin extends PluginBase implements PumpInterface, Constraint
      */
     @Override
     public PumpEnactResult setTempBasalAbsolute(Double absoluteRate, Integer durationInMinutes, Profile profile, boolean force) {
-        if (L.isEnabled(L.PUMP))
+        if (L.isEnabled(LTag.PUMP))
             log.debug("setTempBasalAbsolute called with a rate of " + absoluteRate + " for " + durationInMinutes + " min.");
         int unroundedPercentage = Double.valueOf(absoluteRate / getBaseBasalRate() * 100).intValue();
         int roundedPercentage = (int) (Math.round(absoluteRate / getBaseBasalRate() * 10) * 10);
         if (unroundedPercentage != roundedPercentage) {
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("Rounded requested rate " + unroundedPercentage + "% -> " + roundedPercentage + "%");
         }
 
@@ -715,7 +716,7 @@ public class ComboPlugin extends PluginBase implements PumpInterface, Constraint
     }
 
     private PumpEnactResult setTempBasalPercent(Integer percent, final Integer durationInMinutes) {
-        if (L.isEnabled(L.PUMP))
+        if (L.isEnabled(LTag.PUMP))
             log.debug("setTempBasalPercent called with " + percent + "% for " + durationInMinutes + "min");
 
         if (pumpHistoryChanged && percent > 110) {
@@ -726,14 +727,14 @@ public class ComboPlugin extends PluginBase implements PumpInterface, Constraint
         int adjustedPercent = percent;
 
         if (adjustedPercent > pumpDescription.maxTempPercent) {
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("Reducing requested TBR to the maximum support by the pump: " + percent + " -> " + pumpDescription.maxTempPercent);
             adjustedPercent = pumpDescription.maxTempPercent;
         }
 
         if (adjustedPercent % 10 != 0) {
             Long rounded = Math.round(adjustedPercent / 10d) * 10;
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("Rounded requested percentage:" + adjustedPercent + " -> " + rounded);
             adjustedPercent = rounded.intValue();
         }
@@ -783,7 +784,7 @@ public class ComboPlugin extends PluginBase implements PumpInterface, Constraint
      */
     @Override
     public PumpEnactResult cancelTempBasal(boolean enforceNew) {
-        if (L.isEnabled(L.PUMP))
+        if (L.isEnabled(LTag.PUMP))
             log.debug("cancelTempBasal called");
         final TemporaryBasal activeTemp = TreatmentsPlugin.getPlugin().getTempBasalFromHistory(System.currentTimeMillis());
         if (enforceNew) {
@@ -794,7 +795,7 @@ public class ComboPlugin extends PluginBase implements PumpInterface, Constraint
             if (!stateResult.state.tbrActive) {
                 return new PumpEnactResult().success(true).enacted(false);
             }
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("cancelTempBasal: hard-cancelling TBR since force requested");
             CommandResult cancelResult = runCommand(MainApp.gs(R.string.combo_pump_action_cancelling_tbr), 2, ruffyScripter::cancelTbr);
             if (!cancelResult.success) {
@@ -816,7 +817,7 @@ public class ComboPlugin extends PluginBase implements PumpInterface, Constraint
             // Let fake neutral temp keep run (see below)
             // Note that since this runs on the queue a connection is opened regardless, but this
             // case doesn't occur all that often, so it's not worth optimizing (1.3k SetTBR vs 4 cancelTBR).
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("cancelTempBasal: skipping changing tbr since it already is at " + activeTemp.percentRate + "% and running for another " + activeTemp.getPlannedRemainingMinutes() + " mins.");
             return new PumpEnactResult().success(true).enacted(true)
                     .comment("cancelTempBasal skipping changing tbr since it already is at "
@@ -826,7 +827,7 @@ public class ComboPlugin extends PluginBase implements PumpInterface, Constraint
             // Set a fake neutral temp to avoid TBR cancel alert. Decide 90% vs 110% based on
             // on whether the TBR we're cancelling is above or below 100%.
             final int percentage = (activeTemp.percentRate > 100) ? 110 : 90;
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("cancelTempBasal: changing TBR to " + percentage + "% for 15 mins.");
             return setTempBasalPercent(percentage, 15);
         }
@@ -866,7 +867,7 @@ public class ComboPlugin extends PluginBase implements PumpInterface, Constraint
 
             if (!commandResult.success && retries > 0) {
                 for (int retryAttempts = 1; !commandResult.success && retryAttempts <= retries; retryAttempts++) {
-                    if (L.isEnabled(L.PUMP))
+                    if (L.isEnabled(LTag.PUMP))
                         log.debug("Command was not successful, retries requested, doing retry #" + retryAttempts);
                     commandResult = commandExecution.execute();
                 }
@@ -948,7 +949,7 @@ public class ComboPlugin extends PluginBase implements PumpInterface, Constraint
             long now = System.currentTimeMillis();
             TemporaryBasal aapsTbr = TreatmentsPlugin.getPlugin().getTempBasalFromHistory(now);
             if (aapsTbr == null || aapsTbr.percentRate != 0) {
-                if (L.isEnabled(L.PUMP))
+                if (L.isEnabled(LTag.PUMP))
                     log.debug("Creating 15m zero temp since pump is suspended");
                 TemporaryBasal newTempBasal = new TemporaryBasal()
                         .date(now)
@@ -1009,12 +1010,12 @@ public class ComboPlugin extends PluginBase implements PumpInterface, Constraint
         if (state.pumpTime == 0) {
             // time couldn't be read (e.g. a warning is displayed on the menu , hiding the time field)
         } else if (Math.abs(state.pumpTime - System.currentTimeMillis()) >= 10 * 60 * 1000) {
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("Pump clock needs update, pump time: " + state.pumpTime + " (" + new Date(state.pumpTime) + ")");
             Notification notification = new Notification(Notification.COMBO_PUMP_ALARM, MainApp.gs(R.string.combo_notification_check_time_date), Notification.URGENT);
             RxBus.INSTANCE.send(new EventNewNotification(notification));
         } else if (Math.abs(state.pumpTime - System.currentTimeMillis()) >= 3 * 60 * 1000) {
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("Pump clock needs update, pump time: " + state.pumpTime + " (" + new Date(state.pumpTime) + ")");
             Notification notification = new Notification(Notification.COMBO_PUMP_ALARM, MainApp.gs(R.string.combo_notification_check_time_date), Notification.NORMAL);
             RxBus.INSTANCE.send(new EventNewNotification(notification));
@@ -1077,7 +1078,7 @@ public class ComboPlugin extends PluginBase implements PumpInterface, Constraint
         long now = System.currentTimeMillis();
         TemporaryBasal aapsTbr = TreatmentsPlugin.getPlugin().getTempBasalFromHistory(now);
         if (aapsTbr == null && state.tbrActive && state.tbrRemainingDuration > 2) {
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("Creating temp basal from pump TBR");
             TemporaryBasal newTempBasal = new TemporaryBasal()
                     .date(now)
@@ -1086,7 +1087,7 @@ public class ComboPlugin extends PluginBase implements PumpInterface, Constraint
                     .source(Source.USER);
             TreatmentsPlugin.getPlugin().addToHistoryTempBasal(newTempBasal);
         } else if (aapsTbr != null && aapsTbr.getPlannedRemainingMinutes() > 2 && !state.tbrActive) {
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("Ending AAPS-TBR since pump has no TBR active");
             TemporaryBasal tempStop = new TemporaryBasal()
                     .date(now)
@@ -1096,7 +1097,7 @@ public class ComboPlugin extends PluginBase implements PumpInterface, Constraint
         } else if (aapsTbr != null && state.tbrActive
                 && (aapsTbr.percentRate != state.tbrPercent ||
                 Math.abs(aapsTbr.getPlannedRemainingMinutes() - state.tbrRemainingDuration) > 2)) {
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("AAPSs and pump-TBR differ; ending AAPS-TBR and creating new TBR based on pump TBR");
             TemporaryBasal tempStop = new TemporaryBasal()
                     .date(now - 1000)
@@ -1180,7 +1181,7 @@ public class ComboPlugin extends PluginBase implements PumpInterface, Constraint
 
         // no history, nothing to check or complain about
         if (quickInfoResult.history == null || quickInfoResult.history.bolusHistory.isEmpty()) {
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("Setting 'pumpHistoryChanged' false");
             pumpHistoryChanged = false;
             return null;
@@ -1190,14 +1191,14 @@ public class ComboPlugin extends PluginBase implements PumpInterface, Constraint
         List<Bolus> initialPumpBolusHistory = quickInfoResult.history.bolusHistory;
         if (recentBoluses.size() == 1 && initialPumpBolusHistory.size() >= 1
                 && recentBoluses.get(0).equals(quickInfoResult.history.bolusHistory.get(0))) {
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("Setting 'pumpHistoryChanged' false");
             pumpHistoryChanged = false;
             return null;
         } else if (recentBoluses.size() == 2 && initialPumpBolusHistory.size() >= 2
                 && recentBoluses.get(0).equals(quickInfoResult.history.bolusHistory.get(0))
                 && recentBoluses.get(1).equals(quickInfoResult.history.bolusHistory.get(1))) {
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("Setting 'pumpHistoryChanged' false");
             pumpHistoryChanged = false;
             return null;
@@ -1218,7 +1219,7 @@ public class ComboPlugin extends PluginBase implements PumpInterface, Constraint
         // for.
         HashSet<Bolus> bolusSet = new HashSet<>(historyResult.history.bolusHistory);
         if (bolusSet.size() != historyResult.history.bolusHistory.size()) {
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("Bolus with same amount within the same minute imported. Only one will make it to the DB.");
             Notification notification = new Notification(Notification.COMBO_PUMP_ALARM, MainApp.gs(R.string.
                     combo_error_multiple_boluses_with_identical_timestamp), Notification.URGENT);
@@ -1226,7 +1227,7 @@ public class ComboPlugin extends PluginBase implements PumpInterface, Constraint
         }
 
         pumpHistoryChanged = updateDbFromPumpHistory(historyResult.history);
-        if (L.isEnabled(L.PUMP) && pumpHistoryChanged) {
+        if (L.isEnabled(LTag.PUMP) && pumpHistoryChanged) {
             log.debug("Setting 'pumpHistoryChanged' true");
         }
 
@@ -29,6 +29,7 @@ import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.interfaces.PumpDescription;
 import info.nightscout.androidaps.interfaces.PumpInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.general.overview.events.EventOverviewBolusProgress;
 import info.nightscout.androidaps.plugins.pump.common.data.PumpStatus;
@@ -442,7 +443,7 @@ public abstract class PumpPluginAbstract extends PluginBase implements PumpInter
 
 
     public boolean isLoggingEnabled() {
-        return L.isEnabled(L.PUMP);
+        return L.isEnabled(LTag.PUMP);
     }
 
 
@@ -2,6 +2,7 @@ package info.nightscout.androidaps.plugins.pump.common.bolusInfo
 
 import info.nightscout.androidaps.data.DetailedBolusInfo
 import info.nightscout.androidaps.logging.L
+import info.nightscout.androidaps.logging.LTag
 import info.nightscout.androidaps.plugins.pump.medtronic.data.MedtronicHistoryData
 import info.nightscout.androidaps.utils.T
 import org.slf4j.LoggerFactory
@@ -27,10 +28,10 @@ object DetailedBolusInfoStorage {
         // Look for info with bolus
         for (i in store.indices) {
             val d = store[i]
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("Existing bolus info: " + store[i])
             if (bolusTime > d.date - T.mins(1).msecs() && bolusTime < d.date + T.mins(1).msecs() && abs(store[i].insulin - bolus) < 0.01) {
-                if (L.isEnabled(L.PUMP))
+                if (L.isEnabled(LTag.PUMP))
                     log.debug("Using & removing bolus info: " + store[i])
                 store.removeAt(i)
                 if (MedtronicHistoryData.doubleBolusDebug)
@@ -43,7 +44,7 @@ object DetailedBolusInfoStorage {
         for (i in store.indices) {
             val d = store[i]
             if (bolusTime > d.date - T.mins(1).msecs() && bolusTime < d.date + T.mins(1).msecs() && bolus <= store[i].insulin + 0.01) {
-                if (L.isEnabled(L.PUMP))
+                if (L.isEnabled(LTag.PUMP))
                     log.debug("Using & removing bolus info: " + store[i])
                 store.removeAt(i)
                 if (MedtronicHistoryData.doubleBolusDebug)
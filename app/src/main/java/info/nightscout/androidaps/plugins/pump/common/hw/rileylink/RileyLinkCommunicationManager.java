@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import android.content.Context;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.common.data.PumpStatus;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.ble.RFSpy;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.ble.RileyLinkCommunicationException;
@@ -433,7 +434,7 @@ public abstract class RileyLinkCommunicationManager {
     }
 
     private boolean isLogEnabled() {
-        return L.isEnabled(L.PUMPCOMM);
+        return L.isEnabled(LTag.PUMPCOMM);
     }
 
 }
@@ -16,10 +16,11 @@ import java.util.List;
 import java.util.UUID;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.ble.RileyLinkBLE;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.ble.data.encoding.Encoding4b6b;
-import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.ble.data.encoding.Encoding4b6bGeoff;
+import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.ble.data.encoding.Encoding4b6bTable;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.ble.defs.RileyLinkEncodingType;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.ble.defs.RileyLinkFirmwareVersion;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.ble.defs.RileyLinkTargetFrequency;
@@ -74,7 +75,7 @@ public class RileyLinkUtil {
         RileyLinkUtil.encoding = encoding;
 
         if (encoding == RileyLinkEncodingType.FourByteSixByteLocal) {
-            RileyLinkUtil.encoding4b6b = new Encoding4b6bGeoff();
+            RileyLinkUtil.encoding4b6b = new Encoding4b6bTable();
         }
     }
 
@@ -118,7 +119,7 @@ public class RileyLinkUtil {
             RileyLinkUtil.rileyLinkServiceData.serviceState = newState;
             RileyLinkUtil.rileyLinkServiceData.errorCode = errorCode;
 
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 LOG.info("RileyLink State Changed: {} {}", newState, errorCode == null ? "" : " - Error State: "
                         + errorCode.name());
 
@@ -10,6 +10,7 @@ import java.util.UUID;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.RileyLinkUtil;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.ble.command.Reset;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.ble.command.RileyLinkCommand;
@@ -433,6 +434,6 @@ public class RFSpy {
 
 
     private boolean isLogEnabled() {
-        return L.isEnabled(L.PUMPBTCOMM);
+        return L.isEnabled(LTag.PUMPBTCOMM);
     }
 }
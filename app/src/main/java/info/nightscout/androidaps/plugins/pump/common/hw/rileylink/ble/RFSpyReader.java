@@ -12,6 +12,7 @@ import android.os.AsyncTask;
 import android.os.SystemClock;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.RileyLinkUtil;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.ble.data.GattAttributes;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.ble.defs.RileyLinkEncodingType;
@@ -144,7 +145,7 @@ public class RFSpyReader {
     }
 
     private boolean isLogEnabled() {
-        return L.isEnabled(L.PUMPBTCOMM);
+        return L.isEnabled(LTag.PUMPBTCOMM);
     }
 
 }
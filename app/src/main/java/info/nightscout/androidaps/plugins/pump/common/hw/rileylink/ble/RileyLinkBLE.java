@@ -20,6 +20,7 @@ import java.util.UUID;
 import java.util.concurrent.Semaphore;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.RileyLinkConst;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.RileyLinkUtil;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.ble.data.GattAttributes;
@@ -583,7 +584,7 @@ public class RileyLinkBLE {
     }
 
     private boolean isLogEnabled() {
-        return L.isEnabled(L.PUMPBTCOMM);
+        return L.isEnabled(LTag.PUMPBTCOMM);
     }
 
 }
@@ -0,0 +1,126 @@
+package info.nightscout.androidaps.plugins.pump.common.hw.rileylink.ble.data.encoding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.ble.RileyLinkCommunicationException;
+import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.ble.defs.RileyLinkBLEError;
+import info.nightscout.androidaps.plugins.pump.common.utils.ByteUtil;
+
+/**
+ * Table driven 4b6b codec, same output and errors as Encoding4b6bGeoff
+ * <p>
+ * Every byte is encoded with one lookup of its 12 bit code, every 6 bit code is decoded
+ * with one lookup of its nibble. Works on byte[] directly, no boxing and no growing of arrays.
+ */
+public class Encoding4b6bTable extends Encoding4b6bAbstract {
+
+    public static final Logger LOG = LoggerFactory.getLogger(Encoding4b6bTable.class);
+
+    // byte -> two 6 bit codes
+    private static final short[] encodeTable = new short[256];
+    // 6 bit code -> nibble, -1 for invalid code
+    private static final byte[] decodeTable = new byte[64];
+
+    static {
+        for (int i = 0; i < 256; i++)
+            encodeTable[i] = (short) (encode4b6bList[i >> 4] << 6 | encode4b6bList[i & 0x0f]);
+        for (int i = 0; i < 64; i++)
+            decodeTable[i] = (byte) encode4b6bListIndex((byte) i);
+    }
+
+
+    public static int encodedLength(int length) {
+        return 3 * (length / 2) + 2 * (length % 2);
+    }
+
+
+    public byte[] encode4b6b(byte[] data) {
+        byte[] encoded = new byte[encodedLength(data.length)];
+        encode4b6b(data, 0, data.length, encoded, 0);
+        return encoded;
+    }
+
+
+    /**
+     * @return number of bytes written to output
+     */
+    public int encode4b6b(byte[] input, int inputOffset, int length, byte[] output, int outputOffset) {
+        int position = outputOffset;
+        int i = inputOffset;
+        int end = inputOffset + length;
+        // 2 bytes -> 24 bits -> 3 bytes
+        for (; i + 1 < end; i += 2) {
+            int bits = encodeTable[input[i] & 0xff] << 12 | encodeTable[input[i + 1] & 0xff];
+            output[position++] = (byte) (bits >> 16);
+            output[position++] = (byte) (bits >> 8);
+            output[position++] = (byte) bits;
+        }
+        if (i < end) {
+            // 0x14 marks uneven packet boundary, only its upper 4 bits fit
+            int bits = encodeTable[input[i] & 0xff] << 4 | 0x05;
+            output[position++] = (byte) (bits >> 8);
+            output[position++] = (byte) bits;
+        }
+        return position - outputOffset;
+    }
+
+
+    public byte[] decode4b6b(byte[] raw) throws RileyLinkCommunicationException {
+        // every 12 bits give one byte
+        byte[] decoded = new byte[raw.length * 2 / 3];
+        int length = 0;
+        StringBuilder errorMessageBuilder = null;
+        int codingErrors = 0;
+        int x = 0;
+        int availableBits = 0;
+
+        for (int i = 0; i < raw.length; i++) {
+            x = (x << 8) | (raw[i] & 0xff);
+            availableBits += 8;
+            if (availableBits >= 12) {
+                int highcode = (x >> (availableBits - 6)) & 0x3F;
+                int lowcode = (x >> (availableBits - 12)) & 0x3F;
+                int highIndex = decodeTable[highcode];
+                int lowIndex = decodeTable[lowcode];
+                if ((highIndex | lowIndex) >= 0) {
+                    decoded[length++] = (byte) (highIndex << 4 | lowIndex);
+                } else {
+                    if (errorMessageBuilder == null) errorMessageBuilder = errorMessageBuilder(raw);
+                    errorMessageBuilder.append(String.format(
+                            "decode4b6b: i=%d,x=%08X, coding error: highcode=0x%02X, lowcode=0x%02X, %d bits remaining.\n",
+                            i, x, highcode, lowcode, availableBits));
+                    codingErrors++;
+                }
+                availableBits -= 12;
+                x = x & (0x0000ffff >> (16 - availableBits));
+            }
+        }
+
+        // nothing left or 0x05 end marker
+        if (availableBits != 0 && (availableBits != 4 || x != 0x05)) {
+            if (errorMessageBuilder == null) errorMessageBuilder = errorMessageBuilder(raw);
+            errorMessageBuilder.append("decode4b6b: failed clean decode -- extra bits available (not marker)("
+                    + availableBits + ")\n");
+            codingErrors++;
+        }
+
+        if (codingErrors > 0) {
+            errorMessageBuilder.append("decode4b6b: " + codingErrors + " coding errors encountered.");
+            writeError(LOG, raw, errorMessageBuilder.toString());
+            throw new RileyLinkCommunicationException(RileyLinkBLEError.CodingErrors, errorMessageBuilder.toString());
+        }
+        return decoded;
+    }
+
+
+    private static StringBuilder errorMessageBuilder(byte[] raw) {
+        StringBuilder errorMessageBuilder = new StringBuilder();
+        errorMessageBuilder.append("Input data: " + ByteUtil.shortHexString(raw) + "\n");
+        if ((raw.length % 2) != 0) {
+            errorMessageBuilder.append("Warn: odd number of bytes.\n");
+        }
+        return errorMessageBuilder;
+    }
+
+}
@@ -11,6 +11,7 @@ import android.bluetooth.BluetoothGattCharacteristic;
 import android.os.SystemClock;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.ble.RileyLinkBLE;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.ble.data.GattAttributes;
 
@@ -65,7 +66,7 @@ public class CharacteristicReadOperation extends BLECommOperation {
     }
 
     private boolean isLogEnabled() {
-        return L.isEnabled(L.PUMPBTCOMM);
+        return L.isEnabled(LTag.PUMPBTCOMM);
     }
 
 }
@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.RileyLinkConst;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.RileyLinkUtil;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.ble.defs.RileyLinkFirmwareVersion;
@@ -251,7 +252,7 @@ public class RileyLinkBroadcastReceiver extends BroadcastReceiver {
 
 
     public boolean isLoggingEnabled() {
-        return (L.isEnabled(L.PUMPCOMM));
+        return (L.isEnabled(LTag.PUMPCOMM));
     }
 
     public void unregisterBroadcasts() {
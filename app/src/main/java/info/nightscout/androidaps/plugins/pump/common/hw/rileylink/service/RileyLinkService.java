@@ -12,6 +12,7 @@ import android.content.Intent;
 import android.content.IntentFilter;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.RileyLinkCommunicationManager;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.RileyLinkConst;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.RileyLinkUtil;
@@ -277,7 +278,7 @@ public abstract class RileyLinkService extends Service {
 
 
     private boolean isLogEnabled() {
-        return L.isEnabled(L.PUMPCOMM);
+        return L.isEnabled(LTag.PUMPCOMM);
     }
 
 
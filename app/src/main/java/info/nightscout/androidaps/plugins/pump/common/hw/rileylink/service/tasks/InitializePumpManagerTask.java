@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.RileyLinkConst;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.RileyLinkUtil;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.defs.RileyLinkError;
@@ -61,7 +62,7 @@ public class InitializePumpManagerTask extends ServiceTask {
 
             RileyLinkUtil.setServiceState(RileyLinkServiceState.RileyLinkReady);
 
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 LOG.info("Setting radio frequency to {} MHz", lastGoodFrequency);
 
             RileyLinkUtil.getRileyLinkCommunicationManager().setRadioFrequencyForPump(lastGoodFrequency);
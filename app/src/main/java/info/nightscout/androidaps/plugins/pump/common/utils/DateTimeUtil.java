@@ -13,6 +13,7 @@ import java.util.Calendar;
 import java.util.GregorianCalendar;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 
 /**
  * This is simple version of ATechDate, limited only to one format (yyyymmddHHMIss)
@@ -48,7 +49,7 @@ public class DateTimeUtil {
         try {
             return new LocalDateTime(year, month, dayOfMonth, hourOfDay, minute, second);
         } catch (Exception ex) {
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 LOG.error("Error creating LocalDateTime from values [atechDateTime={}, year={}, month={}, day={}, hour={}, minute={}, second={}]. Exception: {}", atechDateTime, year, month, dayOfMonth, hourOfDay, minute, second, ex.getMessage());
             //return null;
             throw ex;
@@ -83,7 +84,7 @@ public class DateTimeUtil {
         try {
             return new GregorianCalendar(year, month - 1, dayOfMonth, hourOfDay, minute, second);
         } catch (Exception ex) {
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 LOG.error("DateTimeUtil", String.format("Error creating GregorianCalendar from values [atechDateTime=%d, year=%d, month=%d, day=%d, hour=%d, minute=%d, second=%d]", atechDateTime, year, month, dayOfMonth, hourOfDay, minute, second));
             //return null;
             throw ex;
@@ -29,6 +29,7 @@ import info.nightscout.androidaps.interfaces.ProfileInterface;
 import info.nightscout.androidaps.interfaces.PumpDescription;
 import info.nightscout.androidaps.interfaces.PumpInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.common.ManufacturerType;
 import info.nightscout.androidaps.plugins.general.actions.defs.CustomAction;
@@ -145,7 +146,7 @@ public abstract class AbstractDanaRPlugin extends PluginBase implements PumpInte
             Double profileValue = profile.getBasalTimeFromMidnight(h * basalIncrement);
             if (profileValue == null) return true;
             if (Math.abs(pumpValue - profileValue) > getPumpDescription().basalStep) {
-                if (L.isEnabled(L.PUMP))
+                if (L.isEnabled(LTag.PUMP))
                     log.debug("Diff found. Hour: " + h + " Pump: " + pumpValue + " Profile: " + profileValue);
                 return false;
             }
@@ -203,7 +204,7 @@ public abstract class AbstractDanaRPlugin extends PluginBase implements PumpInte
             result.duration = pump.tempBasalRemainingMin;
             result.percent = pump.tempBasalPercent;
             result.isPercent = true;
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("setTempBasalPercent: Correct value already set");
             return result;
         }
@@ -217,7 +218,7 @@ public abstract class AbstractDanaRPlugin extends PluginBase implements PumpInte
             result.duration = pump.tempBasalRemainingMin;
             result.percent = pump.tempBasalPercent;
             result.isPercent = true;
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("setTempBasalPercent: OK");
             return result;
         }
@@ -246,7 +247,7 @@ public abstract class AbstractDanaRPlugin extends PluginBase implements PumpInte
             result.absolute = pump.extendedBolusAbsoluteRate;
             result.isPercent = false;
             result.isTempCancel = false;
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("setExtendedBolus: Correct extended bolus already set. Current: " + pump.extendedBolusAmount + " Asked: " + insulin);
             return result;
         }
@@ -261,7 +262,7 @@ public abstract class AbstractDanaRPlugin extends PluginBase implements PumpInte
             if (!SP.getBoolean("danar_useextended", false))
                 result.bolusDelivered = pump.extendedBolusAmount;
             result.isPercent = false;
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("setExtendedBolus: OK");
             return result;
         }
@@ -284,7 +285,7 @@ public abstract class AbstractDanaRPlugin extends PluginBase implements PumpInte
         if (!DanaRPump.getInstance().isExtendedInProgress) {
             result.success = true;
             result.comment = MainApp.gs(R.string.virtualpump_resultok);
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("cancelExtendedBolus: OK");
             return result;
         } else {
@@ -17,6 +17,7 @@ import info.nightscout.androidaps.events.EventTempBasalChange
 import info.nightscout.androidaps.interfaces.PluginType
 import info.nightscout.androidaps.interfaces.PumpInterface
 import info.nightscout.androidaps.logging.L
+import info.nightscout.androidaps.logging.LTag
 import info.nightscout.androidaps.plugins.bus.RxBus
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin
 import info.nightscout.androidaps.plugins.pump.danaR.activities.DanaRHistoryActivity
@@ -70,7 +71,7 @@ class DanaRFragment : Fragment() {
         danar_stats.setOnClickListener { startActivity(Intent(context, TDDStatsActivity::class.java)) }
         danar_user_options.setOnClickListener { startActivity(Intent(context, DanaRUserOptionsActivity::class.java)) }
         danar_btconnection.setOnClickListener {
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("Clicked connect to pump")
             DanaRPump.getInstance().lastConnection = 0
             ConfigBuilderPlugin.getPlugin().commandQueue.readStatus("Clicked connect to pump", null)
@@ -18,6 +18,7 @@ import info.nightscout.androidaps.events.EventPreferenceChange;
 import info.nightscout.androidaps.interfaces.Constraint;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.pump.common.defs.PumpType;
 import info.nightscout.androidaps.plugins.pump.danaR.comm.MsgBolusStartWithSpeed;
@@ -91,13 +92,13 @@ public class DanaRPlugin extends AbstractDanaRPlugin {
     private ServiceConnection mConnection = new ServiceConnection() {
 
         public void onServiceDisconnected(ComponentName name) {
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("Service is disconnected");
             sExecutionService = null;
         }
 
         public void onServiceConnected(ComponentName name, IBinder service) {
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("Service is connected");
             DanaRExecutionService.LocalBinder mLocalBinder = (DanaRExecutionService.LocalBinder) service;
             sExecutionService = mLocalBinder.getServiceInstance();
@@ -154,7 +155,7 @@ public class DanaRPlugin extends AbstractDanaRPlugin {
                 result.comment = String.format(MainApp.gs(R.string.boluserrorcode), detailedBolusInfo.insulin, t.insulin, MsgBolusStartWithSpeed.errorCode);
             else
                 result.comment = MainApp.gs(R.string.virtualpump_resultok);
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("deliverTreatment: OK. Asked: " + detailedBolusInfo.insulin + " Delivered: " + result.bolusDelivered);
             detailedBolusInfo.insulin = t.insulin;
             detailedBolusInfo.date = System.currentTimeMillis();
@@ -197,13 +198,13 @@ public class DanaRPlugin extends AbstractDanaRPlugin {
         if (doTempOff) {
             // If extended in progress
             if (activeExtended != null && useExtendedBoluses) {
-                if (L.isEnabled(L.PUMP))
+                if (L.isEnabled(LTag.PUMP))
                     log.debug("setTempBasalAbsolute: Stopping extended bolus (doTempOff)");
                 return cancelExtendedBolus();
             }
             // If temp in progress
             if (activeTemp != null) {
-                if (L.isEnabled(L.PUMP))
+                if (L.isEnabled(LTag.PUMP))
                     log.debug("setTempBasalAbsolute: Stopping temp basal (doTempOff)");
                 return cancelRealTempBasal();
             }
@@ -212,7 +213,7 @@ public class DanaRPlugin extends AbstractDanaRPlugin {
             result.percent = 100;
             result.isPercent = true;
             result.isTempCancel = true;
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("setTempBasalAbsolute: doTempOff OK");
             return result;
         }
@@ -224,12 +225,12 @@ public class DanaRPlugin extends AbstractDanaRPlugin {
             if (percentRate > getPumpDescription().maxTempPercent) {
                 percentRate = getPumpDescription().maxTempPercent;
             }
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("setTempBasalAbsolute: Calculated percent rate: " + percentRate);
 
             // If extended in progress
             if (activeExtended != null && useExtendedBoluses) {
-                if (L.isEnabled(L.PUMP))
+                if (L.isEnabled(LTag.PUMP))
                     log.debug("setTempBasalAbsolute: Stopping extended bolus (doLowTemp || doHighTemp)");
                 result = cancelExtendedBolus();
                 if (!result.success) {
@@ -240,7 +241,7 @@ public class DanaRPlugin extends AbstractDanaRPlugin {
             // Check if some temp is already in progress
             if (activeTemp != null) {
                 // Correct basal already set ?
-                if (L.isEnabled(L.PUMP))
+                if (L.isEnabled(LTag.PUMP))
                     log.debug("setTempBasalAbsolute: currently running: " + activeTemp.toString());
                 if (activeTemp.percentRate == percentRate && activeTemp.getPlannedRemainingMinutes() > 4) {
                     if (enforceNew) {
@@ -252,21 +253,21 @@ public class DanaRPlugin extends AbstractDanaRPlugin {
                         result.duration = activeTemp.getPlannedRemainingMinutes();
                         result.isPercent = true;
                         result.isTempCancel = false;
-                        if (L.isEnabled(L.PUMP))
+                        if (L.isEnabled(LTag.PUMP))
                             log.debug("setTempBasalAbsolute: Correct temp basal already set (doLowTemp || doHighTemp)");
                         return result;
                     }
                 }
             }
             // Convert duration from minutes to hours
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("setTempBasalAbsolute: Setting temp basal " + percentRate + "% for " + durationInMinutes + " mins (doLowTemp || doHighTemp)");
             return setTempBasalPercent(percentRate, durationInMinutes, profile, false);
         }
         if (doExtendedTemp) {
             // Check if some temp is already in progress
             if (activeTemp != null) {
-                if (L.isEnabled(L.PUMP))
+                if (L.isEnabled(LTag.PUMP))
                     log.debug("setTempBasalAbsolute: Stopping temp basal (doExtendedTemp)");
                 result = cancelRealTempBasal();
                 // Check for proper result
@@ -285,7 +286,7 @@ public class DanaRPlugin extends AbstractDanaRPlugin {
             extendedRateToSet = Round.roundTo(extendedRateToSet, pumpDescription.extendedBolusStep * 2); // *2 because of halfhours
 
             // What is current rate of extended bolusing in u/h?
-            if (L.isEnabled(L.PUMP)) {
+            if (L.isEnabled(LTag.PUMP)) {
                 log.debug("setTempBasalAbsolute: Extended bolus in progress: " + (activeExtended != null) + " rate: " + pump.extendedBolusAbsoluteRate + "U/h duration remaining: " + pump.extendedBolusRemainingMinutes + "min");
                 log.debug("setTempBasalAbsolute: Rate to set: " + extendedRateToSet + "U/h");
             }
@@ -299,21 +300,21 @@ public class DanaRPlugin extends AbstractDanaRPlugin {
                 result.duration = pump.extendedBolusRemainingMinutes;
                 result.isPercent = false;
                 result.isTempCancel = false;
-                if (L.isEnabled(L.PUMP))
+                if (L.isEnabled(LTag.PUMP))
                     log.debug("setTempBasalAbsolute: Correct extended already set");
                 return result;
             }
 
             // Now set new extended, no need to to stop previous (if running) because it's replaced
             Double extendedAmount = extendedRateToSet / 2 * durationInHalfHours;
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("setTempBasalAbsolute: Setting extended: " + extendedAmount + "U  halfhours: " + durationInHalfHours);
             result = setExtendedBolus(extendedAmount, durationInMinutes);
             if (!result.success) {
                 log.error("setTempBasalAbsolute: Failed to set extended bolus");
                 return result;
             }
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("setTempBasalAbsolute: Extended bolus set ok");
             result.absolute = result.absolute + getBaseBasalRate();
             return result;
@@ -357,7 +358,7 @@ public class DanaRPlugin extends AbstractDanaRPlugin {
             result.success = true;
             result.isTempCancel = true;
             result.comment = MainApp.gs(R.string.virtualpump_resultok);
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("cancelRealTempBasal: OK");
             return result;
         } else {
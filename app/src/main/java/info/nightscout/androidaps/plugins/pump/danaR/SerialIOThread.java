@@ -11,6 +11,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.comm.MessageBase;
 import info.nightscout.androidaps.plugins.pump.danaR.comm.MessageHashTableBase;
 import info.nightscout.androidaps.plugins.pump.danaR.services.AbstractSerialIOThread;
@@ -73,7 +74,7 @@ public class SerialIOThread extends AbstractSerialIOThread {
                         message = hashTable.findMessage(command);
                     }
 
-                    if (L.isEnabled(L.PUMPBTCOMM))
+                    if (L.isEnabled(LTag.PUMPBTCOMM))
                         log.debug("<<<<< " + message.getMessageName() + " " + MessageBase.toHexString(extractedBuff));
 
                     // process the message content
@@ -149,7 +150,7 @@ public class SerialIOThread extends AbstractSerialIOThread {
         processedMessage = message;
 
         byte[] messageBytes = message.getRawMessageBytes();
-        if (L.isEnabled(L.PUMPBTCOMM))
+        if (L.isEnabled(LTag.PUMPBTCOMM))
             log.debug(">>>>> " + message.getMessageName() + " " + MessageBase.toHexString(messageBytes));
 
         try {
@@ -169,11 +170,11 @@ public class SerialIOThread extends AbstractSerialIOThread {
         SystemClock.sleep(200);
         if (!message.isReceived()) {
             message.handleMessageNotReceived();
-            if (L.isEnabled(L.PUMPBTCOMM))
+            if (L.isEnabled(LTag.PUMPBTCOMM))
                 log.error("Reply not received " + message.getMessageName());
             if (message.getCommand() == 0xF0F1) {
                 DanaRPump.getInstance().isNewPump = false;
-                if (L.isEnabled(L.PUMPCOMM))
+                if (L.isEnabled(LTag.PUMPCOMM))
                     log.debug("Old firmware detected");
             }
         }
@@ -185,28 +186,28 @@ public class SerialIOThread extends AbstractSerialIOThread {
         try {
             mInputStream.close();
         } catch (Exception e) {
-            if (L.isEnabled(L.PUMPBTCOMM))
+            if (L.isEnabled(LTag.PUMPBTCOMM))
                 log.debug(e.getMessage());
         }
         try {
             mOutputStream.close();
         } catch (Exception e) {
-            if (L.isEnabled(L.PUMPBTCOMM))
+            if (L.isEnabled(LTag.PUMPBTCOMM))
                 log.debug(e.getMessage());
         }
         try {
             mRfCommSocket.close();
         } catch (Exception e) {
-            if (L.isEnabled(L.PUMPBTCOMM))
+            if (L.isEnabled(LTag.PUMPBTCOMM))
                 log.debug(e.getMessage());
         }
         try {
             System.runFinalization();
         } catch (Exception e) {
-            if (L.isEnabled(L.PUMPBTCOMM))
+            if (L.isEnabled(LTag.PUMPBTCOMM))
                 log.debug(e.getMessage());
         }
-        if (L.isEnabled(L.PUMPBTCOMM))
+        if (L.isEnabled(LTag.PUMPBTCOMM))
             log.debug("Disconnected: " + reason);
     }
 
@@ -30,6 +30,7 @@ import info.nightscout.androidaps.db.DanaRHistoryRecord;
 import info.nightscout.androidaps.events.EventPumpStatusChanged;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
 import info.nightscout.androidaps.plugins.configBuilder.ProfileFunctions;
@@ -93,7 +94,7 @@ public class DanaRHistoryActivity extends NoSplashActivity {
                 .toObservable(EventDanaRSyncStatus.class)
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe(event -> {
-                    if (L.isEnabled(L.PUMP))
+                    if (L.isEnabled(LTag.PUMP))
                         log.debug("EventDanaRSyncStatus: " + event.getMessage());
                     statusView.setText(event.getMessage());
                 }, FabricPrivacy::logException)
@@ -14,6 +14,7 @@ import info.nightscout.androidaps.data.Profile;
 import info.nightscout.androidaps.db.CareportalEvent;
 import info.nightscout.androidaps.db.DanaRHistoryRecord;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.configBuilder.ProfileFunctions;
 import info.nightscout.androidaps.plugins.pump.danaR.comm.RecordTypes;
@@ -51,7 +52,7 @@ public class DanaRNSHistorySync {
             long records = historyRecords.size();
             long processing = 0;
             long uploaded = 0;
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("Database contains " + records + " records");
             EventDanaRSyncStatus ev = new EventDanaRSyncStatus("");
             for (DanaRHistoryRecord record : historyRecords) {
@@ -65,7 +66,7 @@ public class DanaRNSHistorySync {
                         if ((what & SYNC_BOLUS) == 0) break;
                         switch (record.bolusType) {
                             case "S":
-                                if (L.isEnabled(L.PUMP))
+                                if (L.isEnabled(LTag.PUMP))
                                     log.debug("Syncing standard bolus record " + record.recordValue + "U " + DateUtil.toISOString(record.recordDate));
                                 nsrec.put(DANARSIGNATURE, record.bytes);
                                 nsrec.put("eventType", "Meal Bolus");
@@ -78,7 +79,7 @@ public class DanaRNSHistorySync {
                                 break;
                             case "E":
                                 if (record.recordDuration > 0) {
-                                    if (L.isEnabled(L.PUMP))
+                                    if (L.isEnabled(LTag.PUMP))
                                         log.debug("Syncing extended bolus record " + record.recordValue + "U " + DateUtil.toISOString(record.recordDate));
                                     nsrec.put(DANARSIGNATURE, record.bytes);
                                     nsrec.put("eventType", CareportalEvent.COMBOBOLUS);
@@ -95,12 +96,12 @@ public class DanaRNSHistorySync {
                                     uploaded++;
                                     ev.setMessage(ev.getMessage() + MainApp.gs(R.string.danar_ebolus));
                                 } else {
-                                    if (L.isEnabled(L.PUMP))
+                                    if (L.isEnabled(LTag.PUMP))
                                         log.debug("NOT Syncing extended bolus record " + record.recordValue + "U " + DateUtil.toISOString(record.recordDate) + " zero duration");
                                 }
                                 break;
                             case "DS":
-                                if (L.isEnabled(L.PUMP))
+                                if (L.isEnabled(LTag.PUMP))
                                     log.debug("Syncing dual(S) bolus record " + record.recordValue + "U " + DateUtil.toISOString(record.recordDate));
                                 nsrec.put(DANARSIGNATURE, record.bytes);
                                 nsrec.put("eventType", CareportalEvent.COMBOBOLUS);
@@ -114,7 +115,7 @@ public class DanaRNSHistorySync {
                                 ev.setMessage(ev.getMessage() + MainApp.gs(R.string.danar_dsbolus));
                                 break;
                             case "DE":
-                                if (L.isEnabled(L.PUMP))
+                                if (L.isEnabled(LTag.PUMP))
                                     log.debug("Syncing dual(E) bolus record " + record.recordValue + "U " + DateUtil.toISOString(record.recordDate));
                                 nsrec.put(DANARSIGNATURE, record.bytes);
                                 nsrec.put("eventType", CareportalEvent.COMBOBOLUS);
@@ -137,7 +138,7 @@ public class DanaRNSHistorySync {
                         break;
                     case RecordTypes.RECORD_TYPE_ERROR:
                         if ((what & SYNC_ERROR) == 0) break;
-                        if (L.isEnabled(L.PUMP))
+                        if (L.isEnabled(LTag.PUMP))
                             log.debug("Syncing error record " + DateUtil.toISOString(record.recordDate));
                         nsrec.put(DANARSIGNATURE, record.bytes);
                         nsrec.put("eventType", "Note");
@@ -150,7 +151,7 @@ public class DanaRNSHistorySync {
                         break;
                     case RecordTypes.RECORD_TYPE_REFILL:
                         if ((what & SYNC_REFILL) == 0) break;
-                        if (L.isEnabled(L.PUMP))
+                        if (L.isEnabled(LTag.PUMP))
                             log.debug("Syncing refill record " + record.recordValue + " " + DateUtil.toISOString(record.recordDate));
                         nsrec.put(DANARSIGNATURE, record.bytes);
                         nsrec.put("eventType", "Insulin Change");
@@ -163,7 +164,7 @@ public class DanaRNSHistorySync {
                         break;
                     case RecordTypes.RECORD_TYPE_BASALHOUR:
                         if ((what & SYNC_BASALHOURS) == 0) break;
-                        if (L.isEnabled(L.PUMP))
+                        if (L.isEnabled(LTag.PUMP))
                             log.debug("Syncing basal hour record " + record.recordValue + " " + DateUtil.toISOString(record.recordDate));
                         nsrec.put(DANARSIGNATURE, record.bytes);
                         nsrec.put("eventType", CareportalEvent.TEMPBASAL);
@@ -180,7 +181,7 @@ public class DanaRNSHistorySync {
                         break;
                     case RecordTypes.RECORD_TYPE_GLUCOSE:
                         if ((what & SYNC_GLUCOSE) == 0) break;
-                        if (L.isEnabled(L.PUMP))
+                        if (L.isEnabled(LTag.PUMP))
                             log.debug("Syncing glucose record " + record.recordValue + " " + DateUtil.toISOString(record.recordDate));
                         nsrec.put(DANARSIGNATURE, record.bytes);
                         nsrec.put("eventType", "BG Check");
@@ -194,7 +195,7 @@ public class DanaRNSHistorySync {
                         break;
                     case RecordTypes.RECORD_TYPE_CARBO:
                         if ((what & SYNC_CARBO) == 0) break;
-                        if (L.isEnabled(L.PUMP))
+                        if (L.isEnabled(LTag.PUMP))
                             log.debug("Syncing carbo record " + record.recordValue + "g " + DateUtil.toISOString(record.recordDate));
                         nsrec.put(DANARSIGNATURE, record.bytes);
                         nsrec.put("eventType", "Meal Bolus");
@@ -207,7 +208,7 @@ public class DanaRNSHistorySync {
                         break;
                     case RecordTypes.RECORD_TYPE_ALARM:
                         if ((what & SYNC_ALARM) == 0) break;
-                        if (L.isEnabled(L.PUMP))
+                        if (L.isEnabled(LTag.PUMP))
                             log.debug("Syncing alarm record " + record.recordAlarm + " " + DateUtil.toISOString(record.recordDate));
                         nsrec.put(DANARSIGNATURE, record.bytes);
                         nsrec.put("eventType", "Note");
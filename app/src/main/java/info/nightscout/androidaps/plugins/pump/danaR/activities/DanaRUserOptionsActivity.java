@@ -18,6 +18,7 @@ import info.nightscout.androidaps.activities.NoSplashActivity;
 import info.nightscout.androidaps.events.EventInitializationChanged;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPlugin;
@@ -94,7 +95,7 @@ public class DanaRUserOptionsActivity extends NoSplashActivity {
 
         DanaRPump pump = DanaRPump.getInstance();
         //used for debugging
-        if (L.isEnabled(L.PUMP))
+        if (L.isEnabled(LTag.PUMP))
             log.debug("UserOptionsLoaded:" + (System.currentTimeMillis() - pump.lastConnection) / 1000 + " s ago"
                     + "\ntimeDisplayType:" + pump.timeDisplayType
                     + "\nbuttonScroll:" + pump.buttonScrollOnOff
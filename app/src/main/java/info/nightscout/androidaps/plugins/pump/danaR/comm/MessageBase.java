@@ -13,6 +13,7 @@ import java.util.Date;
 import java.util.GregorianCalendar;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.utils.CRC;
 
 /*
@@ -95,7 +96,7 @@ public class MessageBase {
     }
 
     public void handleMessage(byte[] bytes) {
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             if (bytes.length > 6) {
                 int command = (bytes[5] & 0xFF) | ((bytes[4] << 8) & 0xFF00);
                 log.debug("UNPROCESSED MSG: " + getMessageName() + " Command: " + String.format("%04X", command) + " Data: " + toHexString(bytes));
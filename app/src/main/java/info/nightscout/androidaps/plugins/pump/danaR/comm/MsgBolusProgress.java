@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.general.overview.events.EventOverviewBolusProgress;
 import info.nightscout.androidaps.plugins.treatments.Treatment;
@@ -28,7 +29,7 @@ public class MsgBolusProgress extends MessageBase {
         this.amount = amount;
         this.t = t;
         lastReceive = System.currentTimeMillis();
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message: amount: " + amount + " treatment: " + t.toString());
     }
 
@@ -43,7 +44,7 @@ public class MsgBolusProgress extends MessageBase {
         bolusingEvent.setT(t);
         bolusingEvent.setPercent(Math.min((int) (done / amount * 100), 100));
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Bolus remaining: " + progress + " delivered: " + done);
         }
 
@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.interfaces.Constraint;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 
 public class MsgBolusStart extends MessageBase {
     private static Logger log = LoggerFactory.getLogger(L.PUMPCOMM);
@@ -24,7 +25,7 @@ public class MsgBolusStart extends MessageBase {
 
         AddParamInt((int) (amount * 100));
 
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Bolus start : " + amount);
     }
 
@@ -33,10 +34,10 @@ public class MsgBolusStart extends MessageBase {
         errorCode = intFromBuff(bytes, 0, 1);
         if (errorCode != 2) {
             failed = true;
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("Messsage response: " + errorCode + " FAILED!!");
         } else {
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("Messsage response: " + errorCode + " OK");
         }
     }
@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.general.overview.events.EventOverviewBolusProgress;
 import info.nightscout.androidaps.plugins.treatments.Treatment;
@@ -28,13 +29,13 @@ public class MsgBolusStop extends MessageBase {
         this.t = t;
         this.amount = amount;
         forced = false;
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Bolus stop: amount: " + amount + " treatment: " + t.toString());
     }
 
     @Override
     public void handleMessage(byte[] bytes) {
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Messsage received");
         EventOverviewBolusProgress bolusingEvent = EventOverviewBolusProgress.INSTANCE;
         stopped = true;
@@ -5,6 +5,7 @@ import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPlugin;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 
@@ -16,7 +17,7 @@ public class MsgCheckValue extends MessageBase {
 
     public MsgCheckValue() {
         SetCommand(0xF0F1);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -25,7 +26,7 @@ public class MsgCheckValue extends MessageBase {
         DanaRPump pump = DanaRPump.getInstance();
 
         pump.isNewPump = true;
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New firmware confirmed");
 
         pump.model = intFromBuff(bytes, 0, 1);
@@ -36,7 +37,7 @@ public class MsgCheckValue extends MessageBase {
             log.debug("Wrong model selected");
         }
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Model: " + String.format("%02X ", pump.model));
             log.debug("Protocol: " + String.format("%02X ", pump.protocol));
             log.debug("Product Code: " + String.format("%02X ", pump.productCode));
@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.general.overview.events.EventOverviewBolusProgress;
 import info.nightscout.androidaps.plugins.general.nsclient.NSUpload;
@@ -15,7 +16,7 @@ public class MsgError extends MessageBase {
 
     public MsgError() {
         SetCommand(0x0601);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -51,7 +52,7 @@ public class MsgError extends MessageBase {
             RxBus.INSTANCE.send(bolusingEvent);
             failed=true;
         }
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Error detected: " + errorString);
         NSUpload.uploadError(errorString);
     }
@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.db.DanaRHistoryRecord;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.pump.danaR.events.EventDanaRSyncStatus;
 import info.nightscout.androidaps.utils.DateUtil;
@@ -15,7 +16,7 @@ public class MsgHistoryAll extends MessageBase {
 
     public MsgHistoryAll() {
         SetCommand(0x41F2);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 
 public class MsgHistoryAllDone extends MessageBase {
     private static Logger log = LoggerFactory.getLogger(L.PUMPCOMM);
@@ -12,14 +13,14 @@ public class MsgHistoryAllDone extends MessageBase {
     public MsgHistoryAllDone() {
         SetCommand(0x41F1);
         received = false;
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
     @Override
     public void handleMessage(byte[] bytes) {
         received = true;
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("History all done received");
     }
 }
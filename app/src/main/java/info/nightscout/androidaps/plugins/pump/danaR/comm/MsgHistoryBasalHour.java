@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 
 /**
  * Created by mike on 20.07.2016.
@@ -12,7 +13,7 @@ public class MsgHistoryBasalHour extends MsgHistoryAll {
     private static Logger log = LoggerFactory.getLogger(L.PUMPCOMM);
     public MsgHistoryBasalHour() {
         SetCommand(0x310A);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
     // Handle message taken from MsgHistoryAll
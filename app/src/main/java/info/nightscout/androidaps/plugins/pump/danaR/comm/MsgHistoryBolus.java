@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 
 /**
  * Created by mike on 20.07.2016.
@@ -13,7 +14,7 @@ public class MsgHistoryBolus extends MsgHistoryAll {
 
     public MsgHistoryBolus() {
         SetCommand(0x3101);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
     // Handle message taken from MsgHistoryAll
@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 
 /**
  * Created by mike on 20.07.2016.
@@ -15,14 +16,14 @@ public class MsgHistoryNewDone extends MessageBase {
     public MsgHistoryNewDone() {
         SetCommand(0x42F1);
         received = false;
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
     @Override
     public void handleMessage(byte[] bytes) {
         received = true;
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("History new done received");
     }
 }
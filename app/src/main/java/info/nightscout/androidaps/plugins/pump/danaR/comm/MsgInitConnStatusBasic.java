@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 
 public class MsgInitConnStatusBasic extends MessageBase {
@@ -11,7 +12,7 @@ public class MsgInitConnStatusBasic extends MessageBase {
 
     public MsgInitConnStatusBasic() {
         SetCommand(0x0303);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -41,7 +42,7 @@ public class MsgInitConnStatusBasic extends MessageBase {
             boolean deliveryStepBolus = (bolusConfig & DanaRPump.DELIVERY_STEP_BOLUS) != 0;
             boolean deliveryBasal = (bolusConfig & DanaRPump.DELIVERY_BASAL) != 0;
             boolean deliveryExtBolus = (bolusConfig & DanaRPump.DELIVERY_EXT_BOLUS) != 0;
-            if (L.isEnabled(L.PUMPCOMM)) {
+            if (L.isEnabled(LTag.PUMPCOMM)) {
                 log.debug("Delivery prime: " + deliveryPrime);
                 log.debug("Delivery step bolus: " + deliveryStepBolus);
                 log.debug("Delivery basal: " + deliveryBasal);
@@ -51,7 +52,7 @@ public class MsgInitConnStatusBasic extends MessageBase {
             log.error("Unhadled exception", e);
         }
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Pump suspended: " + pump.pumpSuspended);
             log.debug("Calculator enabled: " + pump.calculatorEnabled);
             log.debug("Daily total units: " + pump.dailyTotalUnits);
@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.general.overview.events.EventDismissNotification;
 import info.nightscout.androidaps.plugins.general.overview.events.EventNewNotification;
@@ -20,7 +21,7 @@ public class MsgInitConnStatusBolus extends MessageBase {
 
     public MsgInitConnStatusBolus() {
         SetCommand(0x0302);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -38,7 +39,7 @@ public class MsgInitConnStatusBolus extends MessageBase {
         pump.maxBolus = intFromBuff(bytes, 2, 2) / 100d;
         //int bolusRate = intFromBuff(bytes, 4, 8);
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Is Extended bolus enabled: " + pump.isExtendedBolusEnabled);
             log.debug("Bolus increment: " + pump.bolusStep);
             log.debug("Bolus max: " + pump.maxBolus);
@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
 import info.nightscout.androidaps.plugins.general.overview.events.EventDismissNotification;
@@ -21,7 +22,7 @@ public class MsgInitConnStatusOption extends MessageBase {
 
     public MsgInitConnStatusOption() {
         SetCommand(0x0304);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -38,7 +39,7 @@ public class MsgInitConnStatusOption extends MessageBase {
         //int none = intFromBuff(bytes, 8, 1);
         if (bytes.length >= 21) {
             DanaRPump.getInstance().password = intFromBuff(bytes, 9, 2) ^ 0x3463;
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("Pump password: " + DanaRPump.getInstance().password);
         } else {
             failed = true;
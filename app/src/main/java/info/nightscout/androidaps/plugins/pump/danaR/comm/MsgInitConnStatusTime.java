@@ -8,6 +8,7 @@ import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.events.EventRebuildTabs;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
 import info.nightscout.androidaps.plugins.general.overview.events.EventNewNotification;
@@ -22,7 +23,7 @@ public class MsgInitConnStatusTime extends MessageBase {
 
     public MsgInitConnStatusTime() {
         SetCommand(0x0301);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -58,7 +59,7 @@ public class MsgInitConnStatusTime extends MessageBase {
         long time = dateTimeSecFromBuff(bytes, 0);
         int versionCode = intFromBuff(bytes, 6, 1);
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Pump time: " + DateUtil.dateAndTimeFullString(time));
             log.debug("Version code: " + versionCode);
         }
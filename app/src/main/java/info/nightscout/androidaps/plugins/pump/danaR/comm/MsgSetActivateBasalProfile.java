@@ -4,13 +4,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 
 public class MsgSetActivateBasalProfile extends MessageBase {
     private static Logger log = LoggerFactory.getLogger(L.PUMPCOMM);
 
     public MsgSetActivateBasalProfile() {
         SetCommand(0x330C);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -18,7 +19,7 @@ public class MsgSetActivateBasalProfile extends MessageBase {
     public MsgSetActivateBasalProfile(byte index) {
         this();
         AddParamByte(index);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Activate basal profile: " + index);
     }
 
@@ -27,10 +28,10 @@ public class MsgSetActivateBasalProfile extends MessageBase {
         int result = intFromBuff(bytes, 0, 1);
         if (result != 1) {
             failed = true;
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("Activate basal profile result: " + result + " FAILED!!!");
         } else {
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("Activate basal profile result: " + result);
         }
     }
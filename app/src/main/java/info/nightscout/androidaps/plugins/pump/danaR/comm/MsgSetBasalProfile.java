@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.general.overview.events.EventNewNotification;
 import info.nightscout.androidaps.plugins.general.overview.notifications.Notification;
@@ -15,7 +16,7 @@ public class MsgSetBasalProfile extends MessageBase {
 
     public MsgSetBasalProfile() {
         SetCommand(0x3306);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -26,7 +27,7 @@ public class MsgSetBasalProfile extends MessageBase {
         for (Integer i = 0; i < 24; i++) {
             AddParamInt((int) (values[i] * 100));
         }
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Set basal profile: " + index);
     }
 
@@ -35,12 +36,12 @@ public class MsgSetBasalProfile extends MessageBase {
         int result = intFromBuff(bytes, 0, 1);
         if (result != 1) {
             failed = true;
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("Set basal profile result: " + result + " FAILED!!!");
             Notification reportFail = new Notification(Notification.PROFILE_SET_FAILED, MainApp.gs(R.string.profile_set_failed), Notification.URGENT);
             RxBus.INSTANCE.send(new EventNewNotification(reportFail));
         } else {
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("Set basal profile result: " + result);
             Notification reportOK = new Notification(Notification.PROFILE_SET_OK, MainApp.gs(R.string.profile_set_ok), Notification.INFO, 60);
             RxBus.INSTANCE.send(new EventNewNotification(reportOK));
@@ -6,13 +6,14 @@ import org.slf4j.LoggerFactory;
 import java.util.Calendar;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 
 public class MsgSetCarbsEntry extends MessageBase {
     private static Logger log = LoggerFactory.getLogger(L.PUMPCOMM);
 
     public MsgSetCarbsEntry() {
         SetCommand(0x0402);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -29,7 +30,7 @@ public class MsgSetCarbsEntry extends MessageBase {
         AddParamByte((byte) (calendar.get(Calendar.SECOND)));
         AddParamByte((byte) 0x43); //??
         AddParamInt(amount);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Set carb entry: " + amount + " date " + calendar.getTime().toString());
     }
 
@@ -38,10 +39,10 @@ public class MsgSetCarbsEntry extends MessageBase {
         int result = intFromBuff(bytes, 0, 1);
         if (result != 1) {
             failed = true;
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("Set carb entry result: " + result + " FAILED!!!");
         } else {
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("Set carb entry result: " + result);
         }
     }
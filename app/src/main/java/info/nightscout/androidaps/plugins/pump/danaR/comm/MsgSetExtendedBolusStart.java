@@ -6,13 +6,14 @@ import org.slf4j.LoggerFactory;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.interfaces.Constraint;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 
 public class MsgSetExtendedBolusStart extends MessageBase {
     private static Logger log = LoggerFactory.getLogger(L.PUMPCOMM);
 
     public MsgSetExtendedBolusStart() {
         SetCommand(0x0407);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -30,7 +31,7 @@ public class MsgSetExtendedBolusStart extends MessageBase {
             AddParamInt(0);
         }
         AddParamByte(halfhours);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Set extended bolus start: " + (((int) (amount * 100)) / 100d) + "U halfhours: " + (int) halfhours);
     }
 
@@ -39,10 +40,10 @@ public class MsgSetExtendedBolusStart extends MessageBase {
         int result = intFromBuff(bytes, 0, 1);
         if (result != 1) {
             failed = true;
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("Set extended bolus start result: " + result + " FAILED!!!");
         } else {
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("Set extended bolus start result: " + result);
         }
     }
@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 
 public class MsgSetTempBasalStart extends MessageBase {
     private static Logger log = LoggerFactory.getLogger(L.PUMPCOMM);
@@ -24,7 +25,7 @@ public class MsgSetTempBasalStart extends MessageBase {
         AddParamByte((byte) (percent & 255));
         AddParamByte((byte) (durationInHours & 255));
 
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Temp basal start percent: " + percent + " duration hours: " + durationInHours);
     }
 
@@ -32,10 +33,10 @@ public class MsgSetTempBasalStart extends MessageBase {
         int result = intFromBuff(bytes, 0, 1);
         if (result != 1) {
             failed = true;
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("Set temp basal start result: " + result + " FAILED!!!");
         } else {
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("Set temp basal start result: " + result);
         }
     }
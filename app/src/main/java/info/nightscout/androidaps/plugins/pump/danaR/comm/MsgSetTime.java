@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import java.util.Date;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.utils.DateUtil;
 
 /**
@@ -20,7 +21,7 @@ public class MsgSetTime extends MessageBase {
         SetCommand(0x330a);
         this.time = time;
         AddParamDateTime(time);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message: time:" + DateUtil.dateAndTimeString(time));
     }
 
@@ -30,7 +31,7 @@ public class MsgSetTime extends MessageBase {
             failed = true;
         }
 
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Result of setting time: " + time + " is " + result);
     }
 }
@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 
 /**
@@ -14,14 +15,14 @@ public class MsgSettingActiveProfile extends MessageBase {
 
     public MsgSettingActiveProfile() {
         SetCommand(0x320C);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
     public void handleMessage(byte[] bytes) {
         DanaRPump.getInstance().activeProfile = intFromBuff(bytes, 0, 1);
 
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Active profile number: " + DanaRPump.getInstance().activeProfile);
     }
 }
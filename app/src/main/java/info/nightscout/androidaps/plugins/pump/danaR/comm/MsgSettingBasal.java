@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import java.util.Locale;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPlugin;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 
@@ -17,7 +18,7 @@ public class MsgSettingBasal extends MessageBase {
 
     public MsgSettingBasal() {
         SetCommand(0x3202);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -31,7 +32,7 @@ public class MsgSettingBasal extends MessageBase {
             pump.pumpProfiles[pump.activeProfile][index] = basal / 100d;
         }
 
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             for (int index = 0; index < 24; index++) {
                 log.debug("Basal " + String.format(Locale.ENGLISH, "%02d", index) + "h: " + pump.pumpProfiles[pump.activeProfile][index]);
             }
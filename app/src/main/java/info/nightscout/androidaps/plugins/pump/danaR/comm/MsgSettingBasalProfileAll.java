@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import java.util.Locale;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 
 
@@ -20,7 +21,7 @@ public class MsgSettingBasalProfileAll extends MessageBase {
 
     public MsgSettingBasalProfileAll() {
         SetCommand(0x3206);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -45,14 +46,14 @@ public class MsgSettingBasalProfileAll extends MessageBase {
                 for (int index = 0; index < 24; index++) {
                     int basal = intFromBuff(bytes, 59 * profile + 2 * index + 1, 2);
                     if (basal < 10) basal = 0;
-                    if (L.isEnabled(L.PUMPCOMM))
+                    if (L.isEnabled(LTag.PUMPCOMM))
                         log.debug("position " + position + " index " + index);
                     pump.pumpProfiles[position][index] = basal / 100d;
                 }
             }
         }
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             if (pump.basal48Enable) {
                 for (int profile = 0; profile < 4; profile++) {
                     for (int index = 0; index < 48; index++) {
@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 
 /**
@@ -14,7 +15,7 @@ public class MsgSettingGlucose extends MessageBase {
 
     public MsgSettingGlucose() {
         SetCommand(0x3209);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -23,7 +24,7 @@ public class MsgSettingGlucose extends MessageBase {
         pump.units = intFromBuff(bytes, 0, 1);
         pump.easyBasalMode = intFromBuff(bytes, 1, 1);
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Pump units: " + (pump.units == DanaRPump.UNITS_MGDL ? "MGDL" : "MMOL"));
             log.debug("Easy basal mode: " + pump.easyBasalMode);
         }
@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 
 
@@ -15,7 +16,7 @@ public class MsgSettingMaxValues extends MessageBase {
 
     public MsgSettingMaxValues() {
         SetCommand(0x3205);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -25,7 +26,7 @@ public class MsgSettingMaxValues extends MessageBase {
         pump.maxBasal = intFromBuff(bytes, 2, 2) / 100d;
         pump.maxDailyTotalUnits = intFromBuff(bytes, 4, 2) / 100;
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Max bolus: " + pump.maxBolus);
             log.debug("Max basal: " + pump.maxBasal);
             log.debug("Total daily max units: " + pump.maxDailyTotalUnits);
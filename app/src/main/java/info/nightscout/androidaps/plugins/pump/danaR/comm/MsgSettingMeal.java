@@ -7,6 +7,7 @@ import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.general.overview.events.EventDismissNotification;
 import info.nightscout.androidaps.plugins.general.overview.events.EventNewNotification;
@@ -23,7 +24,7 @@ public class MsgSettingMeal extends MessageBase {
 
     public MsgSettingMeal() {
         SetCommand(0x3203);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -36,7 +37,7 @@ public class MsgSettingMeal extends MessageBase {
         int blockTime = intFromBuff(bytes, 4, 1);
         pump.isConfigUD = intFromBuff(bytes, 5, 1) == 1;
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Basal step: " + pump.basalStep);
             log.debug("Bolus step: " + pump.bolusStep);
             log.debug("Bolus enabled: " + bolusEnabled);
@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 
 /**
@@ -14,7 +15,7 @@ public class MsgSettingProfileRatios extends MessageBase {
 
     public MsgSettingProfileRatios() {
         SetCommand(0x3204);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -34,7 +35,7 @@ public class MsgSettingProfileRatios extends MessageBase {
             pump.currentAIDR = intFromBuff(bytes, 8, 1);
         }
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Pump units (saved): " + (pump.units == DanaRPump.UNITS_MGDL ? "MGDL" : "MMOL"));
             log.debug("Current pump CIR: " + pump.currentCIR);
             log.debug("Current pump CF: " + pump.currentCF);
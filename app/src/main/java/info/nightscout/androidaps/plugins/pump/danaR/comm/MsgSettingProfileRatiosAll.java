@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 
 /**
@@ -14,7 +15,7 @@ public class MsgSettingProfileRatiosAll extends MessageBase {
 
     public MsgSettingProfileRatiosAll() {
         SetCommand(0x320D);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -40,7 +41,7 @@ public class MsgSettingProfileRatiosAll extends MessageBase {
             pump.nightCF = intFromBuff(bytes, 14, 2) / 100d;
         }
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Pump units: " + (pump.units == DanaRPump.UNITS_MGDL ? "MGDL" : "MMOL"));
             log.debug("Current pump morning CIR: " + pump.morningCIR);
             log.debug("Current pump morning CF: " + pump.morningCF);
@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import java.util.Date;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 import info.nightscout.androidaps.utils.DateUtil;
 
@@ -14,7 +15,7 @@ public class MsgSettingPumpTime extends MessageBase {
 
     public MsgSettingPumpTime() {
         SetCommand(0x320A);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -29,7 +30,7 @@ public class MsgSettingPumpTime extends MessageBase {
                         intFromBuff(bytes, 0, 1)
                 ).getTime();
 
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Pump time: " + DateUtil.dateAndTimeFullString(time) + " Phone time: " + new Date());
 
         DanaRPump.getInstance().pumpTime = time;
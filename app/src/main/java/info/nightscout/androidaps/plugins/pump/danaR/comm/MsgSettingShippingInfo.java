@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 
 /**
@@ -14,7 +15,7 @@ public class MsgSettingShippingInfo extends MessageBase {
 
     public MsgSettingShippingInfo() {
         SetCommand(0x3207);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -23,7 +24,7 @@ public class MsgSettingShippingInfo extends MessageBase {
         pump.serialNumber = stringFromBuff(bytes, 0, 10);
         pump.shippingDate = dateFromBuff(bytes, 10);
         pump.shippingCountry = asciiStringFromBuff(bytes, 13, 3);
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Serial number: " + pump.serialNumber);
             log.debug("Shipping date: " + pump.shippingDate);
             log.debug("Shipping country: " + pump.shippingCountry);
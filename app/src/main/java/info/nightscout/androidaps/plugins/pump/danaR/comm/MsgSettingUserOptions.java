@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import java.util.Arrays;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 
 /**
@@ -18,7 +19,7 @@ public class MsgSettingUserOptions extends MessageBase {
 
     public MsgSettingUserOptions() {
         SetCommand(0x320B);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -45,7 +46,7 @@ public class MsgSettingUserOptions extends MessageBase {
         int selectableLanguage5 = bytes[14];
         */
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
 
             log.debug("timeDisplayType: " + pump.timeDisplayType);
             log.debug("Button scroll: " + pump.buttonScrollOnOff);
@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 
 public class MsgStatus extends MessageBase {
@@ -11,7 +12,7 @@ public class MsgStatus extends MessageBase {
 
     public MsgStatus() {
         SetCommand(0x020B);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -28,7 +29,7 @@ public class MsgStatus extends MessageBase {
         }
         pump.iob = intFromBuff(bytes, 15, 2) / 100d;
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Daily total: " + pump.dailyTotalUnits);
             log.debug("Is extended bolus running: " + pump.isExtendedInProgress);
             log.debug("Extended bolus min: " + pump.extendedBolusMinutes);
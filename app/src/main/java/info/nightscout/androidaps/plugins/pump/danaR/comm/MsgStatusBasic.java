@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 
 
@@ -12,7 +13,7 @@ public class MsgStatusBasic extends MessageBase {
 
     public MsgStatusBasic() {
         SetCommand(0x020A);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -32,7 +33,7 @@ public class MsgStatusBasic extends MessageBase {
         //pump.isTempBasalInProgress = intFromBuff(bytes, 15, 1) == 1;
         pump.batteryRemaining = intFromBuff(bytes, 20, 1);
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Pump suspended: " + pump.pumpSuspended);
             log.debug("Calculator enabled: " + pump.calculatorEnabled);
             log.debug("Daily total units: " + pump.dailyTotalUnits);
@@ -9,6 +9,7 @@ import info.nightscout.androidaps.db.ExtendedBolus;
 import info.nightscout.androidaps.db.Source;
 import info.nightscout.androidaps.interfaces.TreatmentsInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 import info.nightscout.androidaps.plugins.treatments.TreatmentsPlugin;
 import info.nightscout.androidaps.utils.DateUtil;
@@ -18,7 +19,7 @@ public class MsgStatusBolusExtended extends MessageBase {
 
     public MsgStatusBolusExtended() {
         SetCommand(0x0207);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -48,7 +49,7 @@ public class MsgStatusBolusExtended extends MessageBase {
         pump.extendedBolusRemainingMinutes = extendedBolusRemainingMinutes;
         updateExtendedBolusInDB();
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Is extended bolus running: " + isExtendedInProgress);
             log.debug("Extended bolus min: " + extendedBolusMinutes);
             log.debug("Extended bolus amount: " + extendedBolusAmount);
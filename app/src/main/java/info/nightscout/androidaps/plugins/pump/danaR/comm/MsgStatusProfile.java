@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 
 /**
@@ -14,7 +15,7 @@ public class MsgStatusProfile extends MessageBase {
 
     public MsgStatusProfile() {
         SetCommand(0x0204);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -32,7 +33,7 @@ public class MsgStatusProfile extends MessageBase {
             pump.currentTarget = intFromBuff(bytes, 6, 2) / 100d;
         }
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Pump units (saved): " + (pump.units == DanaRPump.UNITS_MGDL ? "MGDL" : "MMOL"));
             log.debug("Current pump CIR: " + pump.currentCIR);
             log.debug("Current pump CF: " + pump.currentCF);
@@ -8,6 +8,7 @@ import org.slf4j.LoggerFactory;
 import info.nightscout.androidaps.db.Source;
 import info.nightscout.androidaps.db.TemporaryBasal;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 import info.nightscout.androidaps.plugins.treatments.TreatmentsPlugin;
 
@@ -16,7 +17,7 @@ public class MsgStatusTempBasal extends MessageBase {
 
     public MsgStatusTempBasal() {
         SetCommand(0x0205);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -42,7 +43,7 @@ public class MsgStatusTempBasal extends MessageBase {
 
         updateTempBasalInDB();
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Is temp basal running: " + isTempBasalInProgress);
             log.debug("Is APS temp basal running: " + isAPSTempBasalInProgress);
             log.debug("Current temp basal percent: " + tempBasalPercent);
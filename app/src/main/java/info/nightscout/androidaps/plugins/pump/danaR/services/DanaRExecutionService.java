@@ -20,6 +20,7 @@ import info.nightscout.androidaps.events.EventProfileNeedsUpdate;
 import info.nightscout.androidaps.events.EventPumpStatusChanged;
 import info.nightscout.androidaps.interfaces.PumpInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
 import info.nightscout.androidaps.plugins.configBuilder.ProfileFunctions;
@@ -94,7 +95,7 @@ public class DanaRExecutionService extends AbstractDanaRExecutionService {
                 .toObservable(EventAppExit.class)
                 .observeOn(Schedulers.io())
                 .subscribe(event -> {
-                    if (L.isEnabled(L.PUMP))
+                    if (L.isEnabled(LTag.PUMP))
                         log.debug("EventAppExit received");
 
                     if (mSerialIOThread != null)
@@ -215,13 +216,13 @@ public class DanaRExecutionService extends AbstractDanaRExecutionService {
                     return;
                 }
                 long timeDiff = (danaRPump.pumpTime - System.currentTimeMillis()) / 1000L;
-                if (L.isEnabled(L.PUMP))
+                if (L.isEnabled(LTag.PUMP))
                     log.debug("Pump time difference: " + timeDiff + " seconds");
                 if (Math.abs(timeDiff) > 10) {
                     mSerialIOThread.sendMessage(new MsgSetTime(new Date()));
                     mSerialIOThread.sendMessage(new MsgSettingPumpTime());
                     timeDiff = (danaRPump.pumpTime - System.currentTimeMillis()) / 1000L;
-                    if (L.isEnabled(L.PUMP))
+                    if (L.isEnabled(LTag.PUMP))
                         log.debug("Pump time difference: " + timeDiff + " seconds");
                 }
                 danaRPump.lastSettingsRead = now;
@@ -231,7 +232,7 @@ public class DanaRExecutionService extends AbstractDanaRExecutionService {
             RxBus.INSTANCE.send(new EventInitializationChanged());
             NSUpload.uploadDeviceStatus();
             if (danaRPump.dailyTotalUnits > danaRPump.maxDailyTotalUnits * Constants.dailyLimitWarning) {
-                if (L.isEnabled(L.PUMP))
+                if (L.isEnabled(LTag.PUMP))
                     log.debug("Approaching daily limit: " + danaRPump.dailyTotalUnits + "/" + danaRPump.maxDailyTotalUnits);
                 if (System.currentTimeMillis() > lastApproachingDailyLimit + 30 * 60 * 1000) {
                     Notification reportFail = new Notification(Notification.APPROACHING_DAILY_LIMIT, MainApp.gs(R.string.approachingdailylimit), Notification.URGENT);
@@ -325,7 +326,7 @@ public class DanaRExecutionService extends AbstractDanaRExecutionService {
                 if ((System.currentTimeMillis() - progress.lastReceive) > 15 * 1000L) { // if i didn't receive status for more than 15 sec expecting broken comm
                     stop.stopped = true;
                     stop.forced = true;
-                    if (L.isEnabled(L.PUMP))
+                    if (L.isEnabled(LTag.PUMP))
                         log.debug("Communication stopped");
                 }
             }
@@ -369,10 +370,10 @@ public class DanaRExecutionService extends AbstractDanaRExecutionService {
                         public void run() {
                             if (danaRPump.lastBolusTime > System.currentTimeMillis() - 60 * 1000L) { // last bolus max 1 min old
                                 t.insulin = danaRPump.lastBolusAmount;
-                                if (L.isEnabled(L.PUMP))
+                                if (L.isEnabled(LTag.PUMP))
                                     log.debug("Used bolus amount from history: " + danaRPump.lastBolusAmount);
                             } else {
-                                if (L.isEnabled(L.PUMP))
+                                if (L.isEnabled(LTag.PUMP))
                                     log.debug("Bolus amount in history too old: " + DateUtil.dateAndTimeFullString(danaRPump.lastBolusTime));
                             }
                             synchronized (o) {
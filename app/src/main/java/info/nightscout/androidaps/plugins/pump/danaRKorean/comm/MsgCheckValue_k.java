@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 import info.nightscout.androidaps.plugins.pump.danaR.comm.MessageBase;
 import info.nightscout.androidaps.plugins.pump.danaRKorean.DanaRKoreanPlugin;
@@ -16,7 +17,7 @@ public class MsgCheckValue_k extends MessageBase {
 
     public MsgCheckValue_k() {
         SetCommand(0xF0F1);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -25,7 +26,7 @@ public class MsgCheckValue_k extends MessageBase {
         DanaRPump pump = DanaRPump.getInstance();
 
         pump.isNewPump = true;
-        if (L.isEnabled(L.PUMP))
+        if (L.isEnabled(LTag.PUMP))
             log.debug("New firmware confirmed");
 
         pump.model = intFromBuff(bytes, 0, 1);
@@ -36,7 +37,7 @@ public class MsgCheckValue_k extends MessageBase {
             log.error("Wrong model selected");
         }
 
-        if (L.isEnabled(L.PUMP)) {
+        if (L.isEnabled(LTag.PUMP)) {
             log.debug("Model: " + String.format("%02X ", pump.model));
             log.debug("Protocol: " + String.format("%02X ", pump.protocol));
             log.debug("Product Code: " + String.format("%02X ", pump.productCode));
@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.general.overview.events.EventDismissNotification;
 import info.nightscout.androidaps.plugins.general.overview.events.EventNewNotification;
@@ -18,7 +19,7 @@ public class MsgInitConnStatusBasic_k extends MessageBase {
 
     public MsgInitConnStatusBasic_k() {
         SetCommand(0x0303);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -33,7 +34,7 @@ public class MsgInitConnStatusBasic_k extends MessageBase {
         pump.isEasyModeEnabled = intFromBuff(bytes, 2, 1) == 1;
         int easyUIMode = intFromBuff(bytes, 3, 1);
         pump.password = intFromBuff(bytes, 4, 2) ^ 0x3463;
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("isStatusSuspendOn: " + pump.pumpSuspended);
             log.debug("isUtilityEnable: " + isUtilityEnable);
             log.debug("Is EasyUI Enabled: " + pump.isEasyModeEnabled);
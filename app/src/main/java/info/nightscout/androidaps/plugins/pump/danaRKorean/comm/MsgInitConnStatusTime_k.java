@@ -8,6 +8,7 @@ import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.events.EventRebuildTabs;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
 import info.nightscout.androidaps.plugins.general.overview.events.EventNewNotification;
@@ -23,7 +24,7 @@ public class MsgInitConnStatusTime_k extends MessageBase {
 
     public MsgInitConnStatusTime_k() {
         SetCommand(0x0301);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -60,7 +61,7 @@ public class MsgInitConnStatusTime_k extends MessageBase {
         int versionCode3 = intFromBuff(bytes, 8, 1);
         int versionCode4 = intFromBuff(bytes, 9, 1);
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Pump time: " + DateUtil.dateAndTimeFullString(time));
             log.debug("Version code1: " + versionCode1);
             log.debug("Version code2: " + versionCode2);
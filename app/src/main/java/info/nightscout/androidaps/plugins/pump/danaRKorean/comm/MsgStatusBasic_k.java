@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 import info.nightscout.androidaps.plugins.pump.danaR.comm.MessageBase;
 
@@ -13,7 +14,7 @@ public class MsgStatusBasic_k extends MessageBase {
 
     public MsgStatusBasic_k() {
         SetCommand(0x020A);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -31,7 +32,7 @@ public class MsgStatusBasic_k extends MessageBase {
         pump.currentBasal = currentBasal;
         pump.batteryRemaining = batteryRemaining;
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Daily total units: " + dailyTotalUnits);
             log.debug("Max daily total units: " + maxDailyTotalUnits);
             log.debug("Reservoir remaining units: " + reservoirRemainingUnits);
@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 import info.nightscout.androidaps.plugins.pump.danaR.comm.MessageBase;
 
@@ -12,7 +13,7 @@ public class MsgStatus_k extends MessageBase {
 
     public MsgStatus_k() {
         SetCommand(0x020B);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -29,7 +30,7 @@ public class MsgStatus_k extends MessageBase {
 //        }
         pump.iob = intFromBuff(bytes, 15, 2) / 100d;
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Daily total: " + pump.dailyTotalUnits);
             log.debug("Is extended bolus running: " + pump.isExtendedInProgress);
             log.debug("Extended bolus min: " + pump.extendedBolusMinutes);
@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 
 public class DanaRS_Packet_APS_Basal_Set_Temporary_Basal extends DanaRS_Packet {
     private Logger log = LoggerFactory.getLogger(L.PUMPCOMM);
@@ -25,7 +26,7 @@ public class DanaRS_Packet_APS_Basal_Set_Temporary_Basal extends DanaRS_Packet {
     public DanaRS_Packet_APS_Basal_Set_Temporary_Basal(int percent) {
         this();
         setParams(percent);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message: percent: " + percent);
     }
 
@@ -37,11 +38,11 @@ public class DanaRS_Packet_APS_Basal_Set_Temporary_Basal extends DanaRS_Packet {
         temporaryBasalRatio = percent;
         if (percent < 100) {
             temporaryBasalDuration = PARAM30MIN;
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("APS Temp basal start percent: " + percent + " duration 30 min");
         } else {
             temporaryBasalDuration = PARAM15MIN;
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("APS Temp basal start percent: " + percent + " duration 15 min");
         }
     }
@@ -59,11 +60,11 @@ public class DanaRS_Packet_APS_Basal_Set_Temporary_Basal extends DanaRS_Packet {
         temporaryBasalRatio = percent;
         if (thirtyMinutes && percent <= 200) { // 30 min is allowed up to 200%
             temporaryBasalDuration = PARAM30MIN;
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("APS Temp basal start percent: " + percent + " duration 30 min");
         } else {
             temporaryBasalDuration = PARAM15MIN;
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("APS Temp basal start percent: " + percent + " duration 15 min");
         }
     }
@@ -82,11 +83,11 @@ public class DanaRS_Packet_APS_Basal_Set_Temporary_Basal extends DanaRS_Packet {
         int result = byteArrayToInt(getBytes(data, DATA_START, 1));
         if (result != 0) {
             failed = true;
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("Set APS temp basal start result: " + result + " FAILED!!!");
         } else {
             failed = false;
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("Set APS temp basal start result: " + result);
         }
     }
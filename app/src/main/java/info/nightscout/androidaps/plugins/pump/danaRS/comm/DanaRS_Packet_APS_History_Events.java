@@ -17,6 +17,7 @@ import info.nightscout.androidaps.db.Source;
 import info.nightscout.androidaps.db.TemporaryBasal;
 import info.nightscout.androidaps.events.EventPumpStatusChanged;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.pump.common.bolusInfo.DetailedBolusInfoStorage;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
@@ -62,7 +63,7 @@ public class DanaRS_Packet_APS_History_Events extends DanaRS_Packet {
         hour = cal.get(Calendar.HOUR_OF_DAY);
         min = cal.get(Calendar.MINUTE);
         sec = cal.get(Calendar.SECOND);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Loading event history from: " + new Date(cal.getTimeInMillis()).toLocaleString());
     }
 
@@ -85,7 +86,7 @@ public class DanaRS_Packet_APS_History_Events extends DanaRS_Packet {
         // Last record
         if (recordCode == (byte) 0xFF) {
             done = true;
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("Last record received");
             return;
         }
@@ -102,7 +103,7 @@ public class DanaRS_Packet_APS_History_Events extends DanaRS_Packet {
 
         switch (recordCode) {
             case DanaRPump.TEMPSTART:
-                if (L.isEnabled(L.PUMPCOMM))
+                if (L.isEnabled(LTag.PUMPCOMM))
                     log.debug("EVENT TEMPSTART (" + recordCode + ") " + DateUtil.dateAndTimeFullString(datetime) + " (" + datetime + ")" + " Ratio: " + param1 + "% Duration: " + param2 + "min");
                 temporaryBasal.percentRate = param1;
                 temporaryBasal.durationInMinutes = param2;
@@ -110,13 +111,13 @@ public class DanaRS_Packet_APS_History_Events extends DanaRS_Packet {
                 status = "TEMPSTART " + DateUtil.timeString(datetime);
                 break;
             case DanaRPump.TEMPSTOP:
-                if (L.isEnabled(L.PUMPCOMM))
+                if (L.isEnabled(LTag.PUMPCOMM))
                     log.debug("EVENT TEMPSTOP (" + recordCode + ") " + DateUtil.dateAndTimeFullString(datetime));
                 TreatmentsPlugin.getPlugin().addToHistoryTempBasal(temporaryBasal);
                 status = "TEMPSTOP " + DateUtil.timeString(datetime);
                 break;
             case DanaRPump.EXTENDEDSTART:
-                if (L.isEnabled(L.PUMPCOMM))
+                if (L.isEnabled(LTag.PUMPCOMM))
                     log.debug("EVENT EXTENDEDSTART (" + recordCode + ") " + DateUtil.dateAndTimeFullString(datetime) + " (" + datetime + ")" + " Amount: " + (param1 / 100d) + "U Duration: " + param2 + "min");
                 extendedBolus.insulin = param1 / 100d;
                 extendedBolus.durationInMinutes = param2;
@@ -124,7 +125,7 @@ public class DanaRS_Packet_APS_History_Events extends DanaRS_Packet {
                 status = "EXTENDEDSTART " + DateUtil.timeString(datetime);
                 break;
             case DanaRPump.EXTENDEDSTOP:
-                if (L.isEnabled(L.PUMPCOMM))
+                if (L.isEnabled(LTag.PUMPCOMM))
                     log.debug("EVENT EXTENDEDSTOP (" + recordCode + ") " + DateUtil.dateAndTimeFullString(datetime) + " (" + datetime + ")" + " Delivered: " + (param1 / 100d) + "U RealDuration: " + param2 + "min");
                 TreatmentsPlugin.getPlugin().addToHistoryExtendedBolus(extendedBolus);
                 status = "EXTENDEDSTOP " + DateUtil.timeString(datetime);
@@ -140,7 +141,7 @@ public class DanaRS_Packet_APS_History_Events extends DanaRS_Packet {
 
                 detailedBolusInfo.insulin = param1 / 100d;
                 boolean newRecord = TreatmentsPlugin.getPlugin().addToHistoryTreatment(detailedBolusInfo, false);
-                if (L.isEnabled(L.PUMPCOMM))
+                if (L.isEnabled(LTag.PUMPCOMM))
                     log.debug((newRecord ? "**NEW** " : "") + "EVENT BOLUS (" + recordCode + ") " + DateUtil.dateAndTimeFullString(datetime) + " (" + datetime + ")" + " Bolus: " + (param1 / 100d) + "U Duration: " + param2 + "min");
                 status = "BOLUS " + DateUtil.timeString(datetime);
                 break;
@@ -155,12 +156,12 @@ public class DanaRS_Packet_APS_History_Events extends DanaRS_Packet {
 
                 detailedBolusInfo.insulin = param1 / 100d;
                 newRecord = TreatmentsPlugin.getPlugin().addToHistoryTreatment(detailedBolusInfo, false);
-                if (L.isEnabled(L.PUMPCOMM))
+                if (L.isEnabled(LTag.PUMPCOMM))
                     log.debug((newRecord ? "**NEW** " : "") + "EVENT DUALBOLUS (" + recordCode + ") " + DateUtil.dateAndTimeFullString(datetime) + " (" + datetime + ")" + " Bolus: " + (param1 / 100d) + "U Duration: " + param2 + "min");
                 status = "DUALBOLUS " + DateUtil.timeString(datetime);
                 break;
             case DanaRPump.DUALEXTENDEDSTART:
-                if (L.isEnabled(L.PUMPCOMM))
+                if (L.isEnabled(LTag.PUMPCOMM))
                     log.debug("EVENT DUALEXTENDEDSTART (" + recordCode + ") " + DateUtil.dateAndTimeFullString(datetime) + " (" + datetime + ")" + " Amount: " + (param1 / 100d) + "U Duration: " + param2 + "min");
                 extendedBolus.insulin = param1 / 100d;
                 extendedBolus.durationInMinutes = param2;
@@ -168,33 +169,33 @@ public class DanaRS_Packet_APS_History_Events extends DanaRS_Packet {
                 status = "DUALEXTENDEDSTART " + DateUtil.timeString(datetime);
                 break;
             case DanaRPump.DUALEXTENDEDSTOP:
-                if (L.isEnabled(L.PUMPCOMM))
+                if (L.isEnabled(LTag.PUMPCOMM))
                     log.debug("EVENT DUALEXTENDEDSTOP (" + recordCode + ") " + DateUtil.dateAndTimeFullString(datetime) + " (" + datetime + ")" + " Delivered: " + (param1 / 100d) + "U RealDuration: " + param2 + "min");
                 TreatmentsPlugin.getPlugin().addToHistoryExtendedBolus(extendedBolus);
                 status = "DUALEXTENDEDSTOP " + DateUtil.timeString(datetime);
                 break;
             case DanaRPump.SUSPENDON:
-                if (L.isEnabled(L.PUMPCOMM))
+                if (L.isEnabled(LTag.PUMPCOMM))
                     log.debug("EVENT SUSPENDON (" + recordCode + ") " + DateUtil.dateAndTimeFullString(datetime) + " (" + datetime + ")");
                 status = "SUSPENDON " + DateUtil.timeString(datetime);
                 break;
             case DanaRPump.SUSPENDOFF:
-                if (L.isEnabled(L.PUMPCOMM))
+                if (L.isEnabled(LTag.PUMPCOMM))
                     log.debug("EVENT SUSPENDOFF (" + recordCode + ") " + DateUtil.dateAndTimeFullString(datetime) + " (" + datetime + ")");
                 status = "SUSPENDOFF " + DateUtil.timeString(datetime);
                 break;
             case DanaRPump.REFILL:
-                if (L.isEnabled(L.PUMPCOMM))
+                if (L.isEnabled(LTag.PUMPCOMM))
                     log.debug("EVENT REFILL (" + recordCode + ") " + DateUtil.dateAndTimeFullString(datetime) + " (" + datetime + ")" + " Amount: " + param1 / 100d + "U");
                 status = "REFILL " + DateUtil.timeString(datetime);
                 break;
             case DanaRPump.PRIME:
-                if (L.isEnabled(L.PUMPCOMM))
+                if (L.isEnabled(LTag.PUMPCOMM))
                     log.debug("EVENT PRIME (" + recordCode + ") " + DateUtil.dateAndTimeFullString(datetime) + " (" + datetime + ")" + " Amount: " + param1 / 100d + "U");
                 status = "PRIME " + DateUtil.timeString(datetime);
                 break;
             case DanaRPump.PROFILECHANGE:
-                if (L.isEnabled(L.PUMPCOMM))
+                if (L.isEnabled(LTag.PUMPCOMM))
                     log.debug("EVENT PROFILECHANGE (" + recordCode + ") " + DateUtil.dateAndTimeFullString(datetime) + " (" + datetime + ")" + " No: " + param1 + " CurrentRate: " + (param2 / 100d) + "U/h");
                 status = "PROFILECHANGE " + DateUtil.timeString(datetime);
                 break;
@@ -205,17 +206,17 @@ public class DanaRS_Packet_APS_History_Events extends DanaRS_Packet {
                 emptyCarbsInfo.source = Source.PUMP;
                 emptyCarbsInfo.pumpId = datetime;
                 newRecord = TreatmentsPlugin.getPlugin().addToHistoryTreatment(emptyCarbsInfo, false);
-                if (L.isEnabled(L.PUMPCOMM))
+                if (L.isEnabled(LTag.PUMPCOMM))
                     log.debug((newRecord ? "**NEW** " : "") + "EVENT CARBS (" + recordCode + ") " + DateUtil.dateAndTimeFullString(datetime) + " (" + datetime + ")" + " Carbs: " + param1 + "g");
                 status = "CARBS " + DateUtil.timeString(datetime);
                 break;
             case DanaRPump.PRIMECANNULA:
-                if (L.isEnabled(L.PUMPCOMM))
+                if (L.isEnabled(LTag.PUMPCOMM))
                     log.debug("EVENT PRIMECANNULA(" + recordCode + ") " + DateUtil.dateAndTimeFullString(datetime) + " (" + datetime + ")" + " Amount: " + param1 / 100d + "U");
                 status = "PRIMECANNULA " + DateUtil.timeString(datetime);
                 break;
             default:
-                if (L.isEnabled(L.PUMPCOMM))
+                if (L.isEnabled(LTag.PUMPCOMM))
                     log.debug("Event: " + recordCode + " " + DateUtil.dateAndTimeFullString(datetime) + " (" + datetime + ")" + " Param1: " + param1 + " Param2: " + param2);
                 status = "UNKNOWN " + DateUtil.timeString(datetime);
                 break;
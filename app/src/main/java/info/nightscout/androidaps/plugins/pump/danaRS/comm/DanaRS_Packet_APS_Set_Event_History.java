@@ -9,6 +9,7 @@ import java.util.Calendar;
 import java.util.GregorianCalendar;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 import info.nightscout.androidaps.utils.DateUtil;
 
@@ -34,7 +35,7 @@ public class DanaRS_Packet_APS_Set_Event_History extends DanaRS_Packet {
         this.param2 = param2;
         if ((type == DanaRPump.CARBS || type == DanaRPump.BOLUS) && param1 <= 0)
             this.param1 = 0;
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Set history entry: " + DateUtil.dateAndTimeString(time) + " type: " + type + " param1: " + param1 + " param2: " + param2);
     }
 
@@ -69,10 +70,10 @@ public class DanaRS_Packet_APS_Set_Event_History extends DanaRS_Packet {
         int result = intFromBuff(data, 0, 1);
         if (result != 0) {
             failed = true;
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.error("Set history entry result: " + result + " FAILED!!!");
         } else {
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("Set history entry result: " + result);
         }
     }
@@ -11,6 +11,7 @@ import java.util.Locale;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.general.overview.events.EventDismissNotification;
 import info.nightscout.androidaps.plugins.general.overview.events.EventNewNotification;
@@ -24,7 +25,7 @@ public class DanaRS_Packet_Basal_Get_Basal_Rate extends DanaRS_Packet {
     public DanaRS_Packet_Basal_Get_Basal_Rate() {
         super();
         opCode = BleCommandUtil.DANAR_PACKET__OPCODE_BASAL__GET_BASAL_RATE;
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Requesting basal rates");
         }
     }
@@ -48,7 +49,7 @@ public class DanaRS_Packet_Basal_Get_Basal_Rate extends DanaRS_Packet {
 			dataSize = 2;
 			pump.pumpProfiles[pump.activeProfile][i] = byteArrayToInt(getBytes(data, dataIndex, dataSize)) / 100d;
 		}
-		if (L.isEnabled(L.PUMPCOMM)) {
+		if (L.isEnabled(LTag.PUMPCOMM)) {
 			log.debug("Max basal: " + pump.maxBasal + " U");
 			log.debug("Basal step: " + pump.basalStep + " U");
 			for (int index = 0; index < 24; index++)
@@ -8,6 +8,7 @@ import org.slf4j.LoggerFactory;
 import java.util.Locale;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 
 public class DanaRS_Packet_Basal_Get_Profile_Basal_Rate extends DanaRS_Packet {
@@ -26,7 +27,7 @@ public class DanaRS_Packet_Basal_Get_Profile_Basal_Rate extends DanaRS_Packet {
     public DanaRS_Packet_Basal_Get_Profile_Basal_Rate(int profileNumber) {
         this();
         this.profileNumber = profileNumber;
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Requesting basal rates for profile " + profileNumber);
         }
     }
@@ -51,7 +52,7 @@ public class DanaRS_Packet_Basal_Get_Profile_Basal_Rate extends DanaRS_Packet {
             dataIndex += dataSize;
             dataSize = 2;
         }
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             for (int index = 0; index < 24; index++)
                 log.debug("Basal " + String.format(Locale.ENGLISH, "%02d", index) + "h: " + pump.pumpProfiles[profileNumber][index]);
         }
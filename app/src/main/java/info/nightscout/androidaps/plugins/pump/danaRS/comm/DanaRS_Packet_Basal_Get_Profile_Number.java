@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 
 public class DanaRS_Packet_Basal_Get_Profile_Number extends DanaRS_Packet {
@@ -14,7 +15,7 @@ public class DanaRS_Packet_Basal_Get_Profile_Number extends DanaRS_Packet {
     public DanaRS_Packet_Basal_Get_Profile_Number() {
         super();
         opCode = BleCommandUtil.DANAR_PACKET__OPCODE_BASAL__GET_PROFILE_NUMBER;
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Requesting active profile");
         }
     }
@@ -26,7 +27,7 @@ public class DanaRS_Packet_Basal_Get_Profile_Number extends DanaRS_Packet {
         int dataIndex = DATA_START;
         int dataSize = 1;
         pump.activeProfile = byteArrayToInt(getBytes(data, dataIndex, dataSize));
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Active profile: " + pump.activeProfile);
         }
     }
@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 
 import com.cozmo.danar.util.BleCommandUtil;
 
@@ -20,7 +21,7 @@ public class DanaRS_Packet_Basal_Set_Basal_Rate extends DanaRS_Packet {
     public DanaRS_Packet_Basal_Set_Basal_Rate(double[] profileBasalRate) {
         this();
         this.profileBasalRate = profileBasalRate;
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Setting new basal rates");
         }
     }
@@ -41,7 +42,7 @@ public class DanaRS_Packet_Basal_Set_Basal_Rate extends DanaRS_Packet {
         int result = intFromBuff(data, 0, 1);
         if(result != 0)
             failed = true;
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             if (result == 0)
                 log.debug("Result OK");
             else
@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 
 public class DanaRS_Packet_Basal_Set_Suspend_On extends DanaRS_Packet {
     private Logger log = LoggerFactory.getLogger(L.PUMPCOMM);
@@ -13,7 +14,7 @@ public class DanaRS_Packet_Basal_Set_Suspend_On extends DanaRS_Packet {
     public DanaRS_Packet_Basal_Set_Suspend_On() {
         super();
         opCode = BleCommandUtil.DANAR_PACKET__OPCODE_BASAL__SET_SUSPEND_ON;
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Turning on suspend");
         }
     }
@@ -23,7 +24,7 @@ public class DanaRS_Packet_Basal_Set_Suspend_On extends DanaRS_Packet {
         int result = intFromBuff(data, 0, 1);
         if(result != 0)
             failed = true;
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             if (result == 0)
                 log.debug("Result OK");
             else
@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 
 public class DanaRS_Packet_Basal_Set_Temporary_Basal extends DanaRS_Packet {
     private Logger log = LoggerFactory.getLogger(L.PUMPCOMM);
@@ -22,7 +23,7 @@ public class DanaRS_Packet_Basal_Set_Temporary_Basal extends DanaRS_Packet {
         this();
         this.temporaryBasalRatio = temporaryBasalRatio;
         this.temporaryBasalDuration = temporaryBasalDuration;
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Setting temporary basal of " + temporaryBasalRatio + "% for " + temporaryBasalDuration + " hours");
         }
     }
@@ -40,7 +41,7 @@ public class DanaRS_Packet_Basal_Set_Temporary_Basal extends DanaRS_Packet {
         int result = intFromBuff(data, 0, 1);
         if (result != 0)
             failed = true;
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             if (result == 0)
                 log.debug("Result OK");
             else
@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 
 public class DanaRS_Packet_Bolus_Get_Calculation_Information extends DanaRS_Packet {
@@ -14,7 +15,7 @@ public class DanaRS_Packet_Bolus_Get_Calculation_Information extends DanaRS_Pack
     public DanaRS_Packet_Bolus_Get_Calculation_Information() {
         super();
         opCode = BleCommandUtil.DANAR_PACKET__OPCODE_BOLUS__GET_CALCULATION_INFORMATION;
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -61,7 +62,7 @@ public class DanaRS_Packet_Bolus_Get_Calculation_Information extends DanaRS_Pack
         }
         if (error != 0)
             failed = true;
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Result: " + error);
             log.debug("Pump units: " + (pump.units == DanaRPump.UNITS_MGDL ? "MGDL" : "MMOL"));
             log.debug("Current BG: " + currentBG);
@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 
 public class DanaRS_Packet_Bolus_Get_Carbohydrate_Calculation_Information extends DanaRS_Packet {
@@ -14,7 +15,7 @@ public class DanaRS_Packet_Bolus_Get_Carbohydrate_Calculation_Information extend
     public DanaRS_Packet_Bolus_Get_Carbohydrate_Calculation_Information() {
         super();
         opCode = BleCommandUtil.DANAR_PACKET__OPCODE_BOLUS__GET_CARBOHYDRATE_CALCULATION_INFORMATION;
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -35,7 +36,7 @@ public class DanaRS_Packet_Bolus_Get_Carbohydrate_Calculation_Information extend
         pump.currentCIR = byteArrayToInt(getBytes(data, dataIndex, dataSize));
         if (error != 0)
             failed = true;
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Result: " + error);
             log.debug("Carbs: " + carbs);
             log.debug("Current CIR: " + pump.currentCIR);
@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 
 public class DanaRS_Packet_Bolus_Get_Dual_Bolus extends DanaRS_Packet {
@@ -14,7 +15,7 @@ public class DanaRS_Packet_Bolus_Get_Dual_Bolus extends DanaRS_Packet {
     public DanaRS_Packet_Bolus_Get_Dual_Bolus() {
         super();
         opCode = BleCommandUtil.DANAR_PACKET__OPCODE_BOLUS__GET_DUAL_BOLUS;
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -43,7 +44,7 @@ public class DanaRS_Packet_Bolus_Get_Dual_Bolus extends DanaRS_Packet {
         double bolusIncrement = byteArrayToInt(getBytes(data, dataIndex, dataSize)) / 100d;
         if (error != 0)
             failed = true;
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Result: " + error);
             log.debug("Bolus step: " + pump.bolusStep + " U");
             log.debug("Extended bolus running: " + pump.extendedBolusAbsoluteRate + " U/h");
@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 
 public class DanaRS_Packet_Bolus_Set_Bolus_Option extends DanaRS_Packet {
     private Logger log = LoggerFactory.getLogger(L.PUMPCOMM);
@@ -76,7 +77,7 @@ public class DanaRS_Packet_Bolus_Set_Bolus_Option extends DanaRS_Packet {
         this.missedBolus04EndHour = missedBolus04EndHour;
         this.missedBolus04EndMin = missedBolus04EndMin;
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Setting bolus options");
         }
     }
@@ -115,7 +116,7 @@ public class DanaRS_Packet_Bolus_Set_Bolus_Option extends DanaRS_Packet {
         int result = intFromBuff(data, 0, 1);
         if ( result != 0)
             failed = true;
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             if (result == 0)
                 log.debug("Result OK");
             else
@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 
 import com.cozmo.danar.util.BleCommandUtil;
 
@@ -13,7 +14,7 @@ public class DanaRS_Packet_Etc_Keep_Connection extends DanaRS_Packet {
     public DanaRS_Packet_Etc_Keep_Connection() {
         super();
         opCode = BleCommandUtil.DANAR_PACKET__OPCODE_ETC__KEEP_CONNECTION;
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -24,7 +25,7 @@ public class DanaRS_Packet_Etc_Keep_Connection extends DanaRS_Packet {
         int error = byteArrayToInt(getBytes(data, dataIndex, dataSize));
         if (error!=0)
             failed=true;
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Result: " + error);
         }
     }
@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 
 import com.cozmo.danar.util.BleCommandUtil;
 
@@ -36,7 +37,7 @@ public class DanaRS_Packet_Etc_Set_History_Save extends DanaRS_Packet {
         this.historySecond = historySecond;
         this.historyCode = historyCode;
         this.historyValue = historyValue;
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -63,7 +64,7 @@ public class DanaRS_Packet_Etc_Set_History_Save extends DanaRS_Packet {
         int error = byteArrayToInt(getBytes(data, dataIndex, dataSize));
         if (error != 0)
             failed = true;
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Result: " + error);
         }
     }
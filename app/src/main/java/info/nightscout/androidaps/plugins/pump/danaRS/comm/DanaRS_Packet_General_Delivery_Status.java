@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 
 public class DanaRS_Packet_General_Delivery_Status extends DanaRS_Packet {
     private Logger log = LoggerFactory.getLogger(L.PUMPCOMM);
@@ -13,7 +14,7 @@ public class DanaRS_Packet_General_Delivery_Status extends DanaRS_Packet {
     public DanaRS_Packet_General_Delivery_Status() {
         super();
         opCode = BleCommandUtil.DANAR_PACKET__OPCODE_REVIEW__DELIVERY_STATUS;
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -24,7 +25,7 @@ public class DanaRS_Packet_General_Delivery_Status extends DanaRS_Packet {
         int status = byteArrayToInt(getBytes(data, dataIndex, dataSize));
         if (status != 0)
             failed = true;
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Status: " + status);
         }
     }
@@ -8,6 +8,7 @@ import org.slf4j.LoggerFactory;
 import java.util.Date;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 
 public class DanaRS_Packet_General_Get_More_Information extends DanaRS_Packet {
@@ -16,7 +17,7 @@ public class DanaRS_Packet_General_Get_More_Information extends DanaRS_Packet {
     public DanaRS_Packet_General_Get_More_Information() {
         super();
         opCode = BleCommandUtil.DANAR_PACKET__OPCODE_REVIEW__GET_MORE_INFORMATION;
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -63,7 +64,7 @@ public class DanaRS_Packet_General_Get_More_Information extends DanaRS_Packet {
         // On DanaRS DailyUnits can't be more than 160
         if(pump.dailyTotalUnits > 160)
             failed = true;
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Daily total units: " + pump.dailyTotalUnits + " U");
             log.debug("Is extended in progress: " + pump.isExtendedInProgress);
             log.debug("Extended bolus remaining minutes: " + pump.extendedBolusRemainingMinutes);
@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 
 public class DanaRS_Packet_General_Get_Password extends DanaRS_Packet {
@@ -14,7 +15,7 @@ public class DanaRS_Packet_General_Get_Password extends DanaRS_Packet {
     public DanaRS_Packet_General_Get_Password() {
         super();
         opCode = BleCommandUtil.DANAR_PACKET__OPCODE_REVIEW__GET_PASSWORD;
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -30,7 +31,7 @@ public class DanaRS_Packet_General_Get_Password extends DanaRS_Packet {
         int pass = ((data[DATA_START + 1] & 0x000000FF) << 8) + (data[DATA_START + 0] & 0x000000FF);
         pass = pass ^ 3463;
         pump.rs_password = Integer.toHexString(pass);
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Pump password: " + pump.rs_password);
         }
     }
@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 import info.nightscout.androidaps.utils.DateUtil;
 
@@ -15,7 +16,7 @@ public class DanaRS_Packet_General_Get_Shipping_Information extends DanaRS_Packe
     public DanaRS_Packet_General_Get_Shipping_Information() {
         super();
         opCode = BleCommandUtil.DANAR_PACKET__OPCODE_REVIEW__GET_SHIPPING_INFORMATION;
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -39,7 +40,7 @@ public class DanaRS_Packet_General_Get_Shipping_Information extends DanaRS_Packe
         dataSize = 3;
         pump.shippingCountry = asciiStringFromBuff(data, dataIndex, dataSize);
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Serial number: " + pump.serialNumber);
             log.debug("Shipping date: " + DateUtil.dateAndTimeString(pump.shippingDate));
             log.debug("Shipping country: " + pump.shippingCountry);
@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 
 public class DanaRS_Packet_General_Get_Today_Delivery_Total extends DanaRS_Packet {
@@ -14,7 +15,7 @@ public class DanaRS_Packet_General_Get_Today_Delivery_Total extends DanaRS_Packe
     public DanaRS_Packet_General_Get_Today_Delivery_Total() {
         super();
         opCode = BleCommandUtil.DANAR_PACKET__OPCODE_REVIEW__GET_TODAY_DELIVERY_TOTAL;
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -38,7 +39,7 @@ public class DanaRS_Packet_General_Get_Today_Delivery_Total extends DanaRS_Packe
         dataSize = 2;
         pump.dailyTotalBolusUnits = byteArrayToInt(getBytes(data, dataIndex, dataSize)) / 100d;
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Daily total: " + pump.dailyTotalUnits + " U");
             log.debug("Daily total bolus: " + pump.dailyTotalBolusUnits + " U");
             log.debug("Daily total basal: " + pump.dailyTotalBasalUnits + " U");
@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 
 public class DanaRS_Packet_General_Initial_Screen_Information extends DanaRS_Packet {
@@ -15,7 +16,7 @@ public class DanaRS_Packet_General_Initial_Screen_Information extends DanaRS_Pac
         super();
         type = BleCommandUtil.DANAR_PACKET__TYPE_RESPONSE;
         opCode = BleCommandUtil.DANAR_PACKET__OPCODE_REVIEW__INITIAL_SCREEN_INFORMATION;
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -68,7 +69,7 @@ public class DanaRS_Packet_General_Initial_Screen_Information extends DanaRS_Pac
         dataSize = 2;
         pump.iob = byteArrayToInt(getBytes(data, dataIndex, dataSize)) / 100d;
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Pump suspended: " + pump.pumpSuspended);
             log.debug("Temp basal in progress: " + pump.isTempBasalInProgress);
             log.debug("Extended in progress: " + pump.isExtendedInProgress);
@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 
 public class DanaRS_Packet_General_Set_History_Upload_Mode extends DanaRS_Packet {
     private Logger log = LoggerFactory.getLogger(L.PUMPCOMM);
@@ -20,7 +21,7 @@ public class DanaRS_Packet_General_Set_History_Upload_Mode extends DanaRS_Packet
     public DanaRS_Packet_General_Set_History_Upload_Mode(int mode) {
         this();
         this.mode = mode;
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message: mode: " + mode);
     }
 
@@ -37,7 +38,7 @@ public class DanaRS_Packet_General_Set_History_Upload_Mode extends DanaRS_Packet
         int result = intFromBuff(data, 0, 1);
         if (result != 0)
             failed = true;
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             if (result == 0)
                 log.debug("Result OK");
             else
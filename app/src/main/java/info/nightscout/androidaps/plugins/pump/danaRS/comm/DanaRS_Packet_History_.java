@@ -10,6 +10,7 @@ import java.util.GregorianCalendar;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.db.DanaRHistoryRecord;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.pump.danaR.comm.RecordTypes;
 import info.nightscout.androidaps.plugins.pump.danaR.events.EventDanaRSyncStatus;
@@ -47,7 +48,7 @@ public abstract class DanaRS_Packet_History_ extends DanaRS_Packet {
         hour = cal.get(Calendar.HOUR_OF_DAY);
         min = cal.get(Calendar.MINUTE);
         sec = cal.get(Calendar.SECOND);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Loading event history from: " + new Date(cal.getTimeInMillis()).toLocaleString());
     }
 
@@ -72,7 +73,7 @@ public abstract class DanaRS_Packet_History_ extends DanaRS_Packet {
             int dataSize = 1;
             error = byteArrayToInt(getBytes(data, dataIndex, dataSize));
             done = true;
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("History end. Code: " + error + " Success: " + (error == 0x00));
         } else if (data.length == 5) {
             int dataIndex = DATA_START;
@@ -83,7 +84,7 @@ public abstract class DanaRS_Packet_History_ extends DanaRS_Packet {
             dataIndex += dataSize;
             dataSize = 2;
             totalCount = byteArrayToInt(getBytes(data, dataIndex, dataSize));
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("History end. Code: " + error + " Success: " + (error == 0x00) + " Toatal count: " + totalCount);
         } else {
             int recordCode = byteArrayToInt(getBytes(data, DATA_START, 1));
@@ -106,7 +107,7 @@ public abstract class DanaRS_Packet_History_ extends DanaRS_Packet {
 
             int value = ((data[DATA_START + 8] & 0xFF) << 8) + (data[DATA_START + 9] & 0xFF);
 
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("History packet: " + recordCode + " Date: " + datetimewihtsec.toLocaleString() + " Code: " + historyCode + " Value: " + value);
 
 
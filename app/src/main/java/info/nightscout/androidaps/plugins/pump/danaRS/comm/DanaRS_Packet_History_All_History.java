@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 
 public class DanaRS_Packet_History_All_History extends DanaRS_Packet_History_ {
     private Logger log = LoggerFactory.getLogger(L.PUMPCOMM);
@@ -18,7 +19,7 @@ public class DanaRS_Packet_History_All_History extends DanaRS_Packet_History_ {
     public DanaRS_Packet_History_All_History(long from) {
         super(from);
         opCode = BleCommandUtil.DANAR_PACKET__OPCODE_REVIEW__ALL_HISTORY;
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -8,6 +8,7 @@ import org.slf4j.LoggerFactory;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.general.nsclient.NSUpload;
 
 public class DanaRS_Packet_Notify_Alarm extends DanaRS_Packet {
@@ -19,7 +20,7 @@ public class DanaRS_Packet_Notify_Alarm extends DanaRS_Packet {
         super();
         type = BleCommandUtil.DANAR_PACKET__TYPE_NOTIFY;
         opCode = BleCommandUtil.DANAR_PACKET__OPCODE_NOTIFY__ALARM;
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -80,7 +81,7 @@ public class DanaRS_Packet_Notify_Alarm extends DanaRS_Packet {
         if(errorString == "") {
             failed = true;
 
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("Error detected: " + errorString);
             return;
         }
@@ -8,6 +8,7 @@ import org.slf4j.LoggerFactory;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.general.overview.events.EventOverviewBolusProgress;
 import info.nightscout.androidaps.plugins.treatments.Treatment;
@@ -30,7 +31,7 @@ public class DanaRS_Packet_Notify_Delivery_Complete extends DanaRS_Packet {
         this.amount = amount;
         this.t = t;
         done = false;
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message: amount: " + amount + " treatment: " + t.toString());
     }
 
@@ -48,7 +49,7 @@ public class DanaRS_Packet_Notify_Delivery_Complete extends DanaRS_Packet {
             RxBus.INSTANCE.send(bolusingEvent);
         }
 
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Delivered insulin: " + deliveredInsulin);
     }
 
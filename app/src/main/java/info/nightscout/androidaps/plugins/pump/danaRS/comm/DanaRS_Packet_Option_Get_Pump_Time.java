@@ -8,6 +8,7 @@ import org.slf4j.LoggerFactory;
 import java.util.Date;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 
 public class DanaRS_Packet_Option_Get_Pump_Time extends DanaRS_Packet {
@@ -16,7 +17,7 @@ public class DanaRS_Packet_Option_Get_Pump_Time extends DanaRS_Packet {
     public DanaRS_Packet_Option_Get_Pump_Time() {
         super();
         opCode = BleCommandUtil.DANAR_PACKET__OPCODE_OPTION__GET_PUMP_TIME;
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Requesting pump time");
         }
     }
@@ -53,7 +54,7 @@ public class DanaRS_Packet_Option_Get_Pump_Time extends DanaRS_Packet {
         if ( year == month && month == day && day == hour && hour == min && min == sec && sec == 1)
             failed = true;
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Pump time " + time.toLocaleString());
         }
     }
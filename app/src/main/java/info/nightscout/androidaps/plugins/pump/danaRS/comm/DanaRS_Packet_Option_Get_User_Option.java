@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 
 public class DanaRS_Packet_Option_Get_User_Option extends DanaRS_Packet {
@@ -15,7 +16,7 @@ public class DanaRS_Packet_Option_Get_User_Option extends DanaRS_Packet {
     public DanaRS_Packet_Option_Get_User_Option() {
         super();
         opCode = BleCommandUtil.DANAR_PACKET__OPCODE_OPTION__GET_USER_OPTION;
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Requesting user settings");
         }
     }
@@ -90,7 +91,7 @@ public class DanaRS_Packet_Option_Get_User_Option extends DanaRS_Packet {
         // Pump's screen on time can't be less than 5
         failed = pump.lcdOnTimeSec < 5 ? true : false;
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("timeDisplayType: " + pump.timeDisplayType);
             log.debug("buttonScrollOnOff: " + pump.buttonScrollOnOff);
             log.debug("beepAndAlarm: " + pump.beepAndAlarm);
@@ -8,6 +8,7 @@ import org.slf4j.LoggerFactory;
 import java.util.Date;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 
 public class DanaRS_Packet_Option_Set_Pump_Time extends DanaRS_Packet {
     private Logger log = LoggerFactory.getLogger(L.PUMPCOMM);
@@ -22,7 +23,7 @@ public class DanaRS_Packet_Option_Set_Pump_Time extends DanaRS_Packet {
     public DanaRS_Packet_Option_Set_Pump_Time(Date date) {
         this();
         this.date = date;
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Setting pump time " + date.toLocaleString());
         }
     }
@@ -45,7 +46,7 @@ public class DanaRS_Packet_Option_Set_Pump_Time extends DanaRS_Packet {
         int dataSize = 1;
         error = byteArrayToInt(getBytes(data, dataIndex, dataSize));
         failed = error != 0;
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             if (error == 0)
                 log.debug("Result OK");
             else
@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 
 public class DanaRS_Packet_Option_Set_User_Option extends DanaRS_Packet {
@@ -16,7 +17,7 @@ public class DanaRS_Packet_Option_Set_User_Option extends DanaRS_Packet {
     public DanaRS_Packet_Option_Set_User_Option() {
         super();
         opCode = BleCommandUtil.DANAR_PACKET__OPCODE_OPTION__SET_USER_OPTION;
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Setting user settings");
         }
     }
@@ -24,7 +25,7 @@ public class DanaRS_Packet_Option_Set_User_Option extends DanaRS_Packet {
     @Override
     public byte[] getRequestParams() {
         DanaRPump pump = DanaRPump.getInstance();
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("UserOptions:" + (System.currentTimeMillis() - pump.lastConnection) / 1000 + " s ago"
                     + "\ntimeDisplayType:" + pump.timeDisplayType
                     + "\nbuttonScroll:" + pump.buttonScrollOnOff
@@ -56,7 +57,7 @@ public class DanaRS_Packet_Option_Set_User_Option extends DanaRS_Packet {
         int dataSize = 1;
         error = byteArrayToInt(getBytes(data, dataIndex, dataSize));
         failed = error != 0;
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             if (error == 0)
                 log.debug("Result OK");
             else
@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 
 public class DanaRS_Packet_Review_Bolus_Avg extends DanaRS_Packet {
     private Logger log = LoggerFactory.getLogger(L.PUMPCOMM);
@@ -13,7 +14,7 @@ public class DanaRS_Packet_Review_Bolus_Avg extends DanaRS_Packet {
     public DanaRS_Packet_Review_Bolus_Avg() {
         super();
         opCode = BleCommandUtil.DANAR_PACKET__OPCODE_REVIEW__BOLUS_AVG;
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -42,7 +43,7 @@ public class DanaRS_Packet_Review_Bolus_Avg extends DanaRS_Packet {
         if ( bolusAvg03 == bolusAvg07 && bolusAvg07 == bolusAvg14 && bolusAvg14 == bolusAvg21 && bolusAvg21 == bolusAvg28 && bolusAvg28 == required )
             failed = true;
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Bolus average 3d: " + bolusAvg03 + " U");
             log.debug("Bolus average 7d: " + bolusAvg07 + " U");
             log.debug("Bolus average 14d: " + bolusAvg14 + " U");
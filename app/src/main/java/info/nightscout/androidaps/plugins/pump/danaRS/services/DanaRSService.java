@@ -22,6 +22,7 @@ import info.nightscout.androidaps.events.EventProfileNeedsUpdate;
 import info.nightscout.androidaps.events.EventPumpStatusChanged;
 import info.nightscout.androidaps.interfaces.PumpInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
 import info.nightscout.androidaps.plugins.configBuilder.ProfileFunctions;
@@ -108,7 +109,7 @@ public class DanaRSService extends Service {
                 .toObservable(EventAppExit.class)
                 .observeOn(Schedulers.io())
                 .subscribe(event -> {
-                    if (L.isEnabled(L.PUMP)) log.debug("EventAppExit received");
+                    if (L.isEnabled(LTag.PUMP)) log.debug("EventAppExit received");
                     stopSelf();
                 }, FabricPrivacy::logException)
         );
@@ -181,11 +182,11 @@ public class DanaRSService extends Service {
                 RxBus.INSTANCE.send(new EventInitializationChanged());
                 return;
             }
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("Pump time difference: " + timeDiff + " seconds");
             if (Math.abs(timeDiff) > 3) {
                 if (Math.abs(timeDiff) > 60 * 60 * 1.5) {
-                    if (L.isEnabled(L.PUMPCOMM))
+                    if (L.isEnabled(LTag.PUMPCOMM))
                         log.debug("Pump time difference: " + timeDiff + " seconds - large difference");
                     //If time-diff is very large, warn user until we can synchronize history readings properly
                     Intent i = new Intent(MainApp.instance(), ErrorHelperActivity.class);
@@ -206,7 +207,7 @@ public class DanaRSService extends Service {
                     bleComm.sendMessage(new DanaRS_Packet_Option_Set_Pump_Time(new Date(DateUtil.now() + T.secs(10).msecs())));
                     bleComm.sendMessage(new DanaRS_Packet_Option_Get_Pump_Time());
                     timeDiff = (danaRPump.pumpTime - System.currentTimeMillis()) / 1000L;
-                    if (L.isEnabled(L.PUMPCOMM))
+                    if (L.isEnabled(LTag.PUMPCOMM))
                         log.debug("Pump time difference: " + timeDiff + " seconds");
                 }
             }
@@ -231,7 +232,7 @@ public class DanaRSService extends Service {
             RxBus.INSTANCE.send(new EventInitializationChanged());
             NSUpload.uploadDeviceStatus();
             if (danaRPump.dailyTotalUnits > danaRPump.maxDailyTotalUnits * Constants.dailyLimitWarning) {
-                if (L.isEnabled(L.PUMPCOMM))
+                if (L.isEnabled(LTag.PUMPCOMM))
                     log.debug("Approaching daily limit: " + danaRPump.dailyTotalUnits + "/" + danaRPump.maxDailyTotalUnits);
                 if (System.currentTimeMillis() > lastApproachingDailyLimit + 30 * 60 * 1000) {
                     Notification reportFail = new Notification(Notification.APPROACHING_DAILY_LIMIT, MainApp.gs(R.string.approachingdailylimit), Notification.URGENT);
@@ -243,7 +244,7 @@ public class DanaRSService extends Service {
         } catch (Exception e) {
             log.error("Unhandled exception", e);
         }
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Pump status loaded");
     }
 
@@ -260,11 +261,11 @@ public class DanaRSService extends Service {
         DanaRS_Packet_APS_History_Events msg;
         if (lastHistoryFetched == 0) {
             msg = new DanaRS_Packet_APS_History_Events(0);
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("Loading complete event history");
         } else {
             msg = new DanaRS_Packet_APS_History_Events(lastHistoryFetched);
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("Loading event history from: " + DateUtil.dateAndTimeFullString(lastHistoryFetched));
         }
         bleComm.sendMessage(msg);
@@ -275,7 +276,7 @@ public class DanaRSService extends Service {
             lastHistoryFetched = DanaRS_Packet_APS_History_Events.lastEventTimeLoaded - T.mins(1).msecs();
         else
             lastHistoryFetched = 0;
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Events loaded");
         DanaRPump.getInstance().lastConnection = System.currentTimeMillis();
         return new PumpEnactResult().success(true);
@@ -323,7 +324,7 @@ public class DanaRSService extends Service {
                 if ((System.currentTimeMillis() - progress.lastReceive) > 15 * 1000L) { // if i didn't receive status for more than 20 sec expecting broken comm
                     stop.stopped = true;
                     stop.forced = true;
-                    if (L.isEnabled(L.PUMPCOMM))
+                    if (L.isEnabled(LTag.PUMPCOMM))
                         log.debug("Communication stopped");
                 }
             }
@@ -369,7 +370,7 @@ public class DanaRSService extends Service {
     }
 
     public void bolusStop() {
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("bolusStop >>>>> @ " + (bolusingTreatment == null ? "" : bolusingTreatment.insulin));
         DanaRS_Packet_Bolus_Set_Step_Bolus_Stop stop = new DanaRS_Packet_Bolus_Set_Step_Bolus_Stop();
         stop.forced = true;
@@ -8,6 +8,7 @@ import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.events.EventRebuildTabs;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
 import info.nightscout.androidaps.plugins.general.overview.events.EventNewNotification;
@@ -26,7 +27,7 @@ public class MsgCheckValue_v2 extends MessageBase {
 
     public MsgCheckValue_v2() {
         SetCommand(0xF0F1);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -35,7 +36,7 @@ public class MsgCheckValue_v2 extends MessageBase {
         DanaRPump pump = DanaRPump.getInstance();
 
         pump.isNewPump = true;
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New firmware confirmed");
 
         pump.model = intFromBuff(bytes, 0, 1);
@@ -88,7 +89,7 @@ public class MsgCheckValue_v2 extends MessageBase {
             ConfigBuilderPlugin.getPlugin().getCommandQueue().readStatus("PumpDriverChange", null); // force new connection
             return;
         }
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Model: " + String.format("%02X ", pump.model));
             log.debug("Protocol: " + String.format("%02X ", pump.protocol));
             log.debug("Product Code: " + String.format("%02X ", pump.productCode));
@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.comm.MessageBase;
 
 public class MsgSetAPSTempBasalStart_v2 extends MessageBase {
@@ -19,7 +20,7 @@ public class MsgSetAPSTempBasalStart_v2 extends MessageBase {
     public MsgSetAPSTempBasalStart_v2(int percent) {
         this();
         setParams(percent);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message: percent: " + percent);
     }
 
@@ -31,11 +32,11 @@ public class MsgSetAPSTempBasalStart_v2 extends MessageBase {
         AddParamInt(percent);
         if (percent < 100) {
             AddParamByte((byte) PARAM30MIN);
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("APS Temp basal start percent: " + percent + " duration 30 min");
         } else {
             AddParamByte((byte) PARAM15MIN);
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("APS Temp basal start percent: " + percent + " duration 15 min");
         }
     }
@@ -53,11 +54,11 @@ public class MsgSetAPSTempBasalStart_v2 extends MessageBase {
         AddParamInt(percent);
         if (thirtyMinutes && percent <= 200) { // 30 min is allowed up to 200%
             AddParamByte((byte) PARAM30MIN);
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("APS Temp basal start percent: " + percent + " duration 30 min");
         } else {
             AddParamByte((byte) PARAM15MIN);
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("APS Temp basal start percent: " + percent + " duration 15 min");
         }
     }
@@ -66,11 +67,11 @@ public class MsgSetAPSTempBasalStart_v2 extends MessageBase {
         int result = intFromBuff(bytes, 0, 1);
         if (result != 1) {
             failed = true;
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("Set APS temp basal start result: " + result + " FAILED!!!");
         } else {
             failed = false;
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("Set APS temp basal start result: " + result);
         }
     }
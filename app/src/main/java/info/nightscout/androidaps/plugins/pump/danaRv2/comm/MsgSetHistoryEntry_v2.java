@@ -7,6 +7,7 @@ import java.util.Date;
 import java.util.GregorianCalendar;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.comm.MessageBase;
 
 public class MsgSetHistoryEntry_v2 extends MessageBase {
@@ -25,7 +26,7 @@ public class MsgSetHistoryEntry_v2 extends MessageBase {
         AddParamDateTime(gtime);
         AddParamInt(param1);
         AddParamInt(param2);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Set history entry: type: " + type + " date: " + new Date(time).toString() + " param1: " + param1 + " param2: " + param2);
     }
 
@@ -34,10 +35,10 @@ public class MsgSetHistoryEntry_v2 extends MessageBase {
         int result = intFromBuff(bytes, 0, 1);
         if (result != 1) {
             failed = true;
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("Set history entry result: " + result + " FAILED!!!");
         } else {
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("Set history entry result: " + result);
         }
     }
@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 import info.nightscout.androidaps.plugins.pump.danaR.comm.MessageBase;
 
@@ -12,7 +13,7 @@ public class MsgStatusAPS_v2 extends MessageBase {
 
     public MsgStatusAPS_v2() {
         SetCommand(0xE001);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -23,7 +24,7 @@ public class MsgStatusAPS_v2 extends MessageBase {
         DanaRPump pump = DanaRPump.getInstance();
         pump.iob = iob;
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Delivered so far: " + deliveredSoFar);
             log.debug("Current pump IOB: " + iob);
         }
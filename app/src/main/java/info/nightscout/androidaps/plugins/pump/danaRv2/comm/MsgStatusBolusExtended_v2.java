@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 import info.nightscout.androidaps.plugins.pump.danaR.comm.MessageBase;
 
@@ -14,7 +15,7 @@ public class MsgStatusBolusExtended_v2 extends MessageBase {
 
     public MsgStatusBolusExtended_v2() {
         SetCommand(0x0207);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -43,7 +44,7 @@ public class MsgStatusBolusExtended_v2 extends MessageBase {
         pump.extendedBolusStart = extendedBolusStart;
         pump.extendedBolusRemainingMinutes = extendedBolusRemainingMinutes;
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Is extended bolus running: " + isExtendedInProgress);
             log.debug("Extended bolus min: " + extendedBolusMinutes);
             log.debug("Extended bolus amount: " + extendedBolusAmount);
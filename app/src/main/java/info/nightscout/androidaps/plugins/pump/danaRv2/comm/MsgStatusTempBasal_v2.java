@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.danaR.DanaRPump;
 import info.nightscout.androidaps.plugins.pump.danaR.comm.MessageBase;
 import info.nightscout.androidaps.utils.DateUtil;
@@ -15,7 +16,7 @@ public class MsgStatusTempBasal_v2 extends MessageBase {
 
     public MsgStatusTempBasal_v2() {
         SetCommand(0x0205);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("New message");
     }
 
@@ -39,7 +40,7 @@ public class MsgStatusTempBasal_v2 extends MessageBase {
         pump.tempBasalTotalSec = tempBasalTotalSec;
         pump.tempBasalStart = tempBasalStart;
 
-        if (L.isEnabled(L.PUMPCOMM)) {
+        if (L.isEnabled(LTag.PUMPCOMM)) {
             log.debug("Is temp basal running: " + isTempBasalInProgress);
             log.debug("Is APS temp basal running: " + isAPSTempBasalInProgress);
             log.debug("Current temp basal percent: " + tempBasalPercent);
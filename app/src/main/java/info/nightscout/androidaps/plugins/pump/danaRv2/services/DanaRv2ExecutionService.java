@@ -21,6 +21,7 @@ import info.nightscout.androidaps.events.EventProfileNeedsUpdate;
 import info.nightscout.androidaps.events.EventPumpStatusChanged;
 import info.nightscout.androidaps.interfaces.PumpInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
 import info.nightscout.androidaps.plugins.configBuilder.ProfileFunctions;
@@ -110,7 +111,7 @@ public class DanaRv2ExecutionService extends AbstractDanaRExecutionService {
                 .toObservable(EventAppExit.class)
                 .observeOn(Schedulers.io())
                 .subscribe(event -> {
-                    if (L.isEnabled(L.PUMP))
+                    if (L.isEnabled(LTag.PUMP))
                         log.debug("EventAppExit received");
 
                     if (mSerialIOThread != null)
@@ -211,11 +212,11 @@ public class DanaRv2ExecutionService extends AbstractDanaRExecutionService {
                 return;
             }
             long timeDiff = (danaRPump.pumpTime - System.currentTimeMillis()) / 1000L;
-            if (L.isEnabled(L.PUMP))
+            if (L.isEnabled(LTag.PUMP))
                 log.debug("Pump time difference: " + timeDiff + " seconds");
             if (Math.abs(timeDiff) > 3) {
                 if (Math.abs(timeDiff) > 60 * 60 * 1.5) {
-                    if (L.isEnabled(L.PUMP))
+                    if (L.isEnabled(LTag.PUMP))
                         log.debug("Pump time difference: " + timeDiff + " seconds - large difference");
                     //If time-diff is very large, warn user until we can synchronize history readings properly
                     Intent i = new Intent(MainApp.instance(), ErrorHelperActivity.class);
@@ -236,7 +237,7 @@ public class DanaRv2ExecutionService extends AbstractDanaRExecutionService {
                     mSerialIOThread.sendMessage(new MsgSetTime(new Date(DateUtil.now() + T.secs(10).msecs())));
                     mSerialIOThread.sendMessage(new MsgSettingPumpTime());
                     timeDiff = (danaRPump.pumpTime - System.currentTimeMillis()) / 1000L;
-                    if (L.isEnabled(L.PUMP))
+                    if (L.isEnabled(LTag.PUMP))
                         log.debug("Pump time difference: " + timeDiff + " seconds");
                 }
             }
@@ -264,7 +265,7 @@ public class DanaRv2ExecutionService extends AbstractDanaRExecutionService {
             RxBus.INSTANCE.send(new EventInitializationChanged());
             NSUpload.uploadDeviceStatus();
             if (danaRPump.dailyTotalUnits > danaRPump.maxDailyTotalUnits * Constants.dailyLimitWarning) {
-                if (L.isEnabled(L.PUMP))
+                if (L.isEnabled(LTag.PUMP))
                     log.debug("Approaching daily limit: " + danaRPump.dailyTotalUnits + "/" + danaRPump.maxDailyTotalUnits);
                 if (System.currentTimeMillis() > lastApproachingDailyLimit + 30 * 60 * 1000) {
                     Notification reportFail = new Notification(Notification.APPROACHING_DAILY_LIMIT, MainApp.gs(R.string.approachingdailylimit), Notification.URGENT);
@@ -443,7 +444,7 @@ public class DanaRv2ExecutionService extends AbstractDanaRExecutionService {
     }
 
     public void bolusStop() {
-        if (L.isEnabled(L.PUMP))
+        if (L.isEnabled(LTag.PUMP))
             log.debug("bolusStop >>>>> @ " + (mBolusingTreatment == null ? "" : mBolusingTreatment.insulin));
         MsgBolusStop stop = new MsgBolusStop();
         stop.forced = true;
@@ -482,7 +483,7 @@ public class DanaRv2ExecutionService extends AbstractDanaRExecutionService {
             return new PumpEnactResult().success(false);
         SystemClock.sleep(300);
         MsgHistoryEvents_v2 msg = new MsgHistoryEvents_v2(lastHistoryFetched);
-        if (L.isEnabled(L.PUMP))
+        if (L.isEnabled(LTag.PUMP))
             log.debug("Loading event history from: " + DateUtil.dateAndTimeFullString(lastHistoryFetched));
 
         mSerialIOThread.sendMessage(msg);
@@ -82,6 +82,7 @@ import info.nightscout.androidaps.plugins.pump.insight.utils.PairingDataStorage;
 import info.nightscout.androidaps.plugins.pump.insight.utils.crypto.Cryptograph;
 import info.nightscout.androidaps.plugins.pump.insight.utils.crypto.DerivedKeys;
 import info.nightscout.androidaps.plugins.pump.insight.utils.crypto.KeyPair;
+import info.nightscout.androidaps.plugins.pump.insight.utils.crypto.SatlCipher;
 import info.nightscout.androidaps.utils.SP;
 
 public class InsightConnectionService extends Service implements ConnectionEstablisher.Callback, InputStreamReader.Callback, OutputStreamWriter.Callback {
@@ -112,6 +113,8 @@ public class InsightConnectionService extends Service implements ConnectionEstab
     private ByteBuf buffer = new ByteBuf(BUFFER_SIZE);
     private String verificationString;
     private KeyPair keyPair;
+    private SatlCipher incomingCipher;
+    private SatlCipher outgoingCipher;
     private byte[] randomBytes;
     private MessageQueue messageQueue = new MessageQueue();
     private List<info.nightscout.androidaps.plugins.pump.insight.app_layer.Service> activatedServices = new ArrayList<>();
@@ -455,7 +458,7 @@ public class InsightConnectionService extends Service implements ConnectionEstab
         this.buffer.putBytes(buffer, bytesRead);
         try {
             while (SatlMessage.hasCompletePacket(this.buffer)) {
-                SatlMessage satlMessage = SatlMessage.deserialize(this.buffer, pairingDataStorage.getLastNonceReceived(), pairingDataStorage.getIncomingKey());
+                SatlMessage satlMessage = SatlMessage.deserialize(this.buffer, pairingDataStorage.getLastNonceReceived(), getIncomingCipher());
                 if (pairingDataStorage.getIncomingKey() != null
                         && pairingDataStorage.getLastNonceReceived() != null
                         && !pairingDataStorage.getLastNonceReceived().isSmallerThan(satlMessage.getNonce())) {
@@ -467,6 +470,21 @@ public class InsightConnectionService extends Service implements ConnectionEstab
         }
     }
 
+    // keyed once per key instead of per message, rebuilt after pairing or reset
+    private SatlCipher getIncomingCipher() {
+        byte[] key = pairingDataStorage.getIncomingKey();
+        if (key == null) return null;
+        if (incomingCipher == null || !incomingCipher.hasKey(key)) incomingCipher = new SatlCipher(key);
+        return incomingCipher;
+    }
+
+    private SatlCipher getOutgoingCipher() {
+        byte[] key = pairingDataStorage.getOutgoingKey();
+        if (key == null) return null;
+        if (outgoingCipher == null || !outgoingCipher.hasKey(key)) outgoingCipher = new SatlCipher(key);
+        return outgoingCipher;
+    }
+
     private byte[] prepareSatlMessage(SatlMessage satlMessage) {
         satlMessage.setCommID(pairingDataStorage.getCommId());
         Nonce nonce = pairingDataStorage.getLastNonceSent();
@@ -475,7 +493,7 @@ public class InsightConnectionService extends Service implements ConnectionEstab
             pairingDataStorage.setLastNonceSent(nonce);
             satlMessage.setNonce(nonce);
         }
-        ByteBuf serialized = satlMessage.serialize(satlMessage.getClass(), pairingDataStorage.getOutgoingKey());
+        ByteBuf serialized = satlMessage.serialize(satlMessage.getClass(), getOutgoingCipher());
         if (timeoutTimer != null) timeoutTimer.interrupt();
         timeoutTimer = DelayedActionThread.runDelayed("TimeoutTimer", RESPONSE_TIMEOUT, () -> {
             timeoutTimer = null;
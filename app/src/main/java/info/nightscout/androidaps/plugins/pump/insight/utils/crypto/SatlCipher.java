@@ -0,0 +1,100 @@
+package info.nightscout.androidaps.plugins.pump.insight.utils.crypto;
+
+import org.spongycastle.crypto.engines.TwofishEngine;
+import org.spongycastle.crypto.params.KeyParameter;
+
+import java.util.Arrays;
+
+/**
+ * Twofish CCM (13 byte nonce, 8 byte tag) of SATL data messages with one derived key
+ * <p>
+ * Key schedule runs once per key instead of once per message and blocks are processed
+ * in place, so encrypting or checking a message doesn't allocate.
+ * Not thread safe, InsightConnectionService uses it under its own lock.
+ */
+public class SatlCipher {
+
+    public static final int NONCE_SIZE = 13;
+    public static final int TAG_SIZE = 8;
+    private static final int BLOCK_SIZE = 16;
+
+    private final byte[] key;
+    private final TwofishEngine engine = new TwofishEngine();
+    private final byte[] counter = new byte[BLOCK_SIZE];
+    private final byte[] keyStream = new byte[BLOCK_SIZE];
+    private final byte[] mac = new byte[BLOCK_SIZE];
+    private final byte[] tag = new byte[TAG_SIZE];
+    private int macPosition;
+
+    public SatlCipher(byte[] key) {
+        this.key = key.clone();
+        engine.init(true, new KeyParameter(key));
+    }
+
+    public boolean hasKey(byte[] key) {
+        return Arrays.equals(this.key, key);
+    }
+
+    /**
+     * CTR mode, same call encrypts and decrypts, input and output may be the same array
+     */
+    public void processCTR(byte[] nonce, int nonceOffset, byte[] input, int inputOffset, int length, byte[] output, int outputOffset) {
+        for (int block = 0; block * BLOCK_SIZE < length; block++) {
+            encryptPrimitive((byte) 0x01, nonce, nonceOffset, block + 1, keyStream);
+            int position = block * BLOCK_SIZE;
+            int count = Math.min(BLOCK_SIZE, length - position);
+            for (int i = 0; i < count; i++)
+                output[outputOffset + position + i] = (byte) (input[inputOffset + position + i] ^ keyStream[i]);
+        }
+    }
+
+    /**
+     * CBC-MAC of length prefixed header and plain payload, encrypted with counter 0
+     */
+    public void produceTag(byte[] nonce, int nonceOffset, byte[] header, int headerOffset, int headerLength,
+                           byte[] payload, int payloadOffset, int payloadLength, byte[] output, int outputOffset) {
+        encryptPrimitive((byte) 0x59, nonce, nonceOffset, payloadLength, mac);
+        macPosition = 0;
+        macUpdate((byte) (headerLength >> 8));
+        macUpdate((byte) headerLength);
+        for (int i = 0; i < headerLength; i++) macUpdate(header[headerOffset + i]);
+        macPad();
+        for (int i = 0; i < payloadLength; i++) macUpdate(payload[payloadOffset + i]);
+        macPad();
+        encryptPrimitive((byte) 0x01, nonce, nonceOffset, 0, keyStream);
+        for (int i = 0; i < TAG_SIZE; i++)
+            output[outputOffset + i] = (byte) (mac[i] ^ keyStream[i]);
+    }
+
+    public boolean verifyTag(byte[] nonce, int nonceOffset, byte[] header, int headerOffset, int headerLength,
+                             byte[] payload, int payloadOffset, int payloadLength, byte[] trailer, int trailerOffset) {
+        produceTag(nonce, nonceOffset, header, headerOffset, headerLength, payload, payloadOffset, payloadLength, tag, 0);
+        int difference = 0;
+        for (int i = 0; i < TAG_SIZE; i++) difference |= tag[i] ^ trailer[trailerOffset + i];
+        return difference == 0;
+    }
+
+    private void encryptPrimitive(byte headerByte, byte[] nonce, int nonceOffset, int number, byte[] output) {
+        counter[0] = headerByte;
+        System.arraycopy(nonce, nonceOffset, counter, 1, NONCE_SIZE);
+        counter[14] = (byte) (number >> 8);
+        counter[15] = (byte) number;
+        engine.processBlock(counter, 0, output, 0);
+    }
+
+    private void macUpdate(byte b) {
+        mac[macPosition++] ^= b;
+        if (macPosition == BLOCK_SIZE) {
+            engine.processBlock(mac, 0, mac, 0);
+            macPosition = 0;
+        }
+    }
+
+    // zero padding of CCM doesn't change xor state, only finishes the block
+    private void macPad() {
+        if (macPosition != 0) {
+            engine.processBlock(mac, 0, mac, 0);
+            macPosition = 0;
+        }
+    }
+}
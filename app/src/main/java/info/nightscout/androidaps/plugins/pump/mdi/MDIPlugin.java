@@ -19,6 +19,7 @@ import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.interfaces.PumpDescription;
 import info.nightscout.androidaps.interfaces.PumpInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.common.ManufacturerType;
 import info.nightscout.androidaps.plugins.general.actions.defs.CustomAction;
 import info.nightscout.androidaps.plugins.general.actions.defs.CustomActionType;
@@ -170,7 +171,7 @@ public class MDIPlugin extends PluginBase implements PumpInterface {
         PumpEnactResult result = new PumpEnactResult();
         result.success = false;
         result.comment = MainApp.gs(R.string.pumperror);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Setting temp basal absolute: " + result);
         return result;
     }
@@ -180,7 +181,7 @@ public class MDIPlugin extends PluginBase implements PumpInterface {
         PumpEnactResult result = new PumpEnactResult();
         result.success = false;
         result.comment = MainApp.gs(R.string.pumperror);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Settings temp basal percent: " + result);
         return result;
     }
@@ -190,7 +191,7 @@ public class MDIPlugin extends PluginBase implements PumpInterface {
         PumpEnactResult result = new PumpEnactResult();
         result.success = false;
         result.comment = MainApp.gs(R.string.pumperror);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Setting extended bolus: " + result);
         return result;
     }
@@ -200,7 +201,7 @@ public class MDIPlugin extends PluginBase implements PumpInterface {
         PumpEnactResult result = new PumpEnactResult();
         result.success = false;
         result.comment = MainApp.gs(R.string.pumperror);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Cancel temp basal: " + result);
         return result;
     }
@@ -210,7 +211,7 @@ public class MDIPlugin extends PluginBase implements PumpInterface {
         PumpEnactResult result = new PumpEnactResult();
         result.success = false;
         result.comment = MainApp.gs(R.string.pumperror);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Canceling extended bolus: " + result);
         return result;
     }
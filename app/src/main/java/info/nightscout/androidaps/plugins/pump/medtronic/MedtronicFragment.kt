@@ -14,6 +14,7 @@ import info.nightscout.androidaps.events.EventExtendedBolusChange
 import info.nightscout.androidaps.events.EventPumpStatusChanged
 import info.nightscout.androidaps.events.EventTempBasalChange
 import info.nightscout.androidaps.logging.L
+import info.nightscout.androidaps.logging.LTag
 import info.nightscout.androidaps.plugins.bus.RxBus
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.RileyLinkUtil
@@ -112,7 +113,7 @@ class MedtronicFragment : Fragment() {
                 .toObservable(EventMedtronicDeviceStatusChange::class.java)
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe({
-                    if (L.isEnabled(L.PUMP))
+                    if (L.isEnabled(LTag.PUMP))
                         log.info("onStatusEvent(EventMedtronicDeviceStatusChange): {}", it)
                     setDeviceStatus()
                 }, { FabricPrivacy.logException(it) })
@@ -132,7 +133,7 @@ class MedtronicFragment : Fragment() {
                 .toObservable(EventMedtronicPumpConfigurationChanged::class.java)
                 .observeOn(AndroidSchedulers.mainThread())
                 .subscribe({
-                    if (L.isEnabled(L.PUMP))
+                    if (L.isEnabled(LTag.PUMP))
                         log.debug("EventMedtronicPumpConfigurationChanged triggered")
                     MedtronicUtil.getPumpStatus().verifyConfiguration()
                     updateGUI()
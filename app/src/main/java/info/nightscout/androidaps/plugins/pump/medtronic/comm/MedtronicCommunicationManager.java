@@ -13,6 +13,7 @@ import java.util.List;
 import java.util.Map;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.RileyLinkCommunicationManager;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.RileyLinkConst;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.ble.RFSpy;
@@ -959,7 +960,7 @@ public class MedtronicCommunicationManager extends RileyLinkCommunicationManager
 
 
     private boolean isLogEnabled() {
-        return L.isEnabled(L.PUMPCOMM);
+        return L.isEnabled(LTag.PUMPCOMM);
     }
 
 
@@ -8,6 +8,7 @@ import java.util.Collections;
 import java.util.List;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.common.utils.DateTimeUtil;
 
 /**
@@ -193,7 +194,7 @@ public class PumpHistoryResult {
 
 
     private boolean isLogEnabled() {
-        return L.isEnabled(L.PUMPCOMM);
+        return L.isEnabled(LTag.PUMPCOMM);
     }
 
 
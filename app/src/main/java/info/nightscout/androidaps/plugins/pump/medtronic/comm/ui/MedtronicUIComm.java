@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.RileyLinkConst;
 import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.RileyLinkUtil;
 import info.nightscout.androidaps.plugins.pump.medtronic.comm.MedtronicCommunicationManager;
@@ -103,7 +104,7 @@ public class MedtronicUIComm {
     }
 
     private boolean isLogEnabled() {
-        return L.isEnabled(L.PUMP);
+        return L.isEnabled(LTag.PUMP);
     }
 
 }
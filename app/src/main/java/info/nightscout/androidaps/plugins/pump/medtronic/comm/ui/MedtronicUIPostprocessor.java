@@ -9,6 +9,7 @@ import java.util.Date;
 import java.util.Map;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.medtronic.data.dto.BasalProfile;
 import info.nightscout.androidaps.plugins.pump.medtronic.data.dto.BatteryStatusDTO;
 import info.nightscout.androidaps.plugins.pump.medtronic.data.dto.ClockDTO;
@@ -247,7 +248,7 @@ public class MedtronicUIPostprocessor {
     }
 
     private boolean isLogEnabled() {
-        return L.isEnabled(L.PUMP);
+        return L.isEnabled(LTag.PUMP);
     }
 
 }
@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.pump.medtronic.comm.MedtronicCommunicationManager;
 import info.nightscout.androidaps.plugins.pump.medtronic.comm.history.pump.PumpHistoryEntry;
@@ -217,7 +218,7 @@ public class MedtronicUITask {
 
 
     private boolean isLogEnabled() {
-        return L.isEnabled(L.PUMP);
+        return L.isEnabled(LTag.PUMP);
     }
 
 
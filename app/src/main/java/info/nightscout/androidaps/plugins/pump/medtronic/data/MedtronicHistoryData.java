@@ -30,6 +30,7 @@ import info.nightscout.androidaps.db.Source;
 import info.nightscout.androidaps.db.TDD;
 import info.nightscout.androidaps.db.TemporaryBasal;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.general.nsclient.NSUpload;
 import info.nightscout.androidaps.plugins.pump.common.bolusInfo.DetailedBolusInfoStorage;
 import info.nightscout.androidaps.plugins.pump.common.utils.DateTimeUtil;
@@ -1537,7 +1538,7 @@ public class MedtronicHistoryData {
     }
 
     private static boolean isLogEnabled() {
-        return (L.isEnabled(L.PUMP));
+        return (L.isEnabled(LTag.PUMP));
     }
 
 }
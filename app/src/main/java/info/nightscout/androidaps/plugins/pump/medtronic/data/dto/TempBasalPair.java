@@ -10,6 +10,7 @@ import java.util.List;
 import java.util.Locale;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.pump.common.utils.ByteUtil;
 import info.nightscout.androidaps.plugins.pump.medtronic.util.MedtronicUtil;
 
@@ -62,7 +63,7 @@ public class TempBasalPair {
 
     public TempBasalPair(byte[] response) {
 
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             LOG.debug("Received TempBasal response: " + ByteUtil.getHex(response));
 
         isPercent = response[0] == 1;
@@ -26,6 +26,7 @@ import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.interfaces.PumpDescription;
 import info.nightscout.androidaps.interfaces.PumpInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.common.ManufacturerType;
 import info.nightscout.androidaps.plugins.configBuilder.ProfileFunctions;
@@ -283,7 +284,7 @@ public class VirtualPumpPlugin extends PluginBase implements PumpInterface {
         bolusingEvent.setPercent(100);
         RxBus.INSTANCE.send(bolusingEvent);
         SystemClock.sleep(1000);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Delivering treatment insulin: " + detailedBolusInfo.insulin + "U carbs: " + detailedBolusInfo.carbs + "g " + result);
         RxBus.INSTANCE.send(new EventVirtualPumpUpdateGui());
         lastDataTime = System.currentTimeMillis();
@@ -311,7 +312,7 @@ public class VirtualPumpPlugin extends PluginBase implements PumpInterface {
         result.duration = durationInMinutes;
         result.comment = MainApp.gs(R.string.virtualpump_resultok);
         TreatmentsPlugin.getPlugin().addToHistoryTempBasal(tempBasal);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Setting temp basal absolute: " + result);
         RxBus.INSTANCE.send(new EventVirtualPumpUpdateGui());
         lastDataTime = System.currentTimeMillis();
@@ -334,7 +335,7 @@ public class VirtualPumpPlugin extends PluginBase implements PumpInterface {
         result.duration = durationInMinutes;
         result.comment = MainApp.gs(R.string.virtualpump_resultok);
         TreatmentsPlugin.getPlugin().addToHistoryTempBasal(tempBasal);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Settings temp basal percent: " + result);
         RxBus.INSTANCE.send(new EventVirtualPumpUpdateGui());
         lastDataTime = System.currentTimeMillis();
@@ -359,7 +360,7 @@ public class VirtualPumpPlugin extends PluginBase implements PumpInterface {
         result.duration = durationInMinutes;
         result.comment = MainApp.gs(R.string.virtualpump_resultok);
         TreatmentsPlugin.getPlugin().addToHistoryExtendedBolus(extendedBolus);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Setting extended bolus: " + result);
         RxBus.INSTANCE.send(new EventVirtualPumpUpdateGui());
         lastDataTime = System.currentTimeMillis();
@@ -377,7 +378,7 @@ public class VirtualPumpPlugin extends PluginBase implements PumpInterface {
             TemporaryBasal tempStop = new TemporaryBasal().date(System.currentTimeMillis()).source(Source.USER);
             TreatmentsPlugin.getPlugin().addToHistoryTempBasal(tempStop);
             //tempBasal = null;
-            if (L.isEnabled(L.PUMPCOMM))
+            if (L.isEnabled(LTag.PUMPCOMM))
                 log.debug("Canceling temp basal: " + result);
             RxBus.INSTANCE.send(new EventVirtualPumpUpdateGui());
         }
@@ -397,7 +398,7 @@ public class VirtualPumpPlugin extends PluginBase implements PumpInterface {
         result.enacted = true;
         result.isTempCancel = true;
         result.comment = MainApp.gs(R.string.virtualpump_resultok);
-        if (L.isEnabled(L.PUMPCOMM))
+        if (L.isEnabled(LTag.PUMPCOMM))
             log.debug("Canceling extended bolus: " + result);
         RxBus.INSTANCE.send(new EventVirtualPumpUpdateGui());
         lastDataTime = System.currentTimeMillis();
@@ -487,13 +488,13 @@ public class VirtualPumpPlugin extends PluginBase implements PumpInterface {
 
         PumpType pumpTypeNew = PumpType.getByDescription(pumptype);
 
-        if (L.isEnabled(L.PUMP))
+        if (L.isEnabled(LTag.PUMP))
             log.debug("Pump in configuration: {}, PumpType object: {}", pumptype, pumpTypeNew);
 
         if (pumpType == pumpTypeNew)
             return;
 
-        if (L.isEnabled(L.PUMP))
+        if (L.isEnabled(LTag.PUMP))
             log.debug("New pump configuration found ({}), changing from previous ({})", pumpTypeNew, pumpType);
 
         pumpDescription.setPumpDescription(pumpTypeNew);
@@ -1,5 +1,7 @@
 package info.nightscout.androidaps.plugins.sensitivity;
 
+import androidx.collection.LongSparseArray;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -8,6 +10,8 @@ import info.nightscout.androidaps.interfaces.PluginBase;
 import info.nightscout.androidaps.interfaces.PluginDescription;
 import info.nightscout.androidaps.interfaces.SensitivityInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
+import info.nightscout.androidaps.plugins.iob.iobCobCalculator.AutosensData;
 import info.nightscout.androidaps.plugins.iob.iobCobCalculator.AutosensResult;
 import info.nightscout.androidaps.plugins.iob.iobCobCalculator.IobCobCalculatorPlugin;
 import info.nightscout.androidaps.utils.Round;
@@ -23,7 +27,7 @@ public abstract class AbstractSensitivityPlugin extends PluginBase implements Se
     }
 
     @Override
-    public abstract AutosensResult detectSensitivity(IobCobCalculatorPlugin plugin, long fromTime, long toTime);
+    public abstract AutosensResult detectSensitivity(IobCobCalculatorPlugin plugin, LongSparseArray<AutosensData> autosensDataTable, long fromTime, long toTime);
 
     AutosensResult fillResult(double ratio, double carbsAbsorbed, String pastSensitivity,
                               String ratioLimit, String sensResult, int deviationsArraySize) {
@@ -53,7 +57,7 @@ public abstract class AbstractSensitivityPlugin extends PluginBase implements Se
 
         if (ratio != rawRatio) {
             ratioLimit += "Ratio limited from " + rawRatio + " to " + ratio;
-            if (L.isEnabled(L.AUTOSENS))
+            if (L.isEnabled(LTag.AUTOSENS))
                 log.debug(ratioLimit);
         }
 
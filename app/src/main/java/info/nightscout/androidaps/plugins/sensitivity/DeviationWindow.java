@@ -0,0 +1,224 @@
+package info.nightscout.androidaps.plugins.sensitivity;
+
+import androidx.collection.LongSparseArray;
+
+import java.util.Arrays;
+import java.util.List;
+
+import info.nightscout.androidaps.data.Profile;
+import info.nightscout.androidaps.db.CareportalEvent;
+import info.nightscout.androidaps.db.ProfileSwitch;
+import info.nightscout.androidaps.plugins.iob.iobCobCalculator.AutosensData;
+
+/**
+ * Non-meal deviations used by detectSensitivity(), oldest first
+ * <p>
+ * Autosens thread calls detectSensitivity() for every new record with the same fromTime.
+ * Records processed by previous call are kept here and only newer records are added.
+ * Deviations are kept sorted in OrderStatistics so percentiles don't need sorting.
+ * Not thread safe, callers synchronize on instance
+ */
+
+class DeviationWindow {
+    private final boolean useExtraDeviations;
+    private int capacity;
+    private long maxAge;
+
+    // FIFO of deviations
+    private long[] times = new long[128];
+    private double[] values = new double[128];
+    private int head = 0;
+    private int size = 0;
+    private final OrderStatistics sorted = new OrderStatistics();
+    private StringBuilder pastSensitivity = new StringBuilder();
+
+    // what is already processed
+    private boolean valid = false;
+    private long fromTime;
+    private long eventsSignature;
+    private int processed; // records from fromTime
+    private AutosensData lastProcessed;
+    private int records;
+
+    /**
+     * @param useExtraDeviations add AutosensData.extraDeviation too (oref1)
+     */
+    DeviationWindow(boolean useExtraDeviations) {
+        this.useExtraDeviations = useExtraDeviations;
+    }
+
+    /**
+     * Brings window to state of processing all records from fromTime to toTime
+     *
+     * @param capacity max number of deviations, one oldest is removed after every record exceeding it
+     * @param maxAge   only deviations newer than toTime - maxAge are used, 0 for no limit
+     */
+    void update(LongSparseArray<AutosensData> autosensDataTable, long fromTime, long toTime,
+                List<CareportalEvent> siteChanges, List<ProfileSwitch> profileSwitches,
+                int capacity, long maxAge) {
+        int first = indexOfFirstNotOlder(autosensDataTable, fromTime);
+        long signature = eventsSignature(siteChanges, profileSwitches);
+        boolean canContinue = valid && this.fromTime == fromTime && eventsSignature == signature
+                && this.capacity == capacity && this.maxAge == maxAge
+                && (processed == 0 || first + processed - 1 < autosensDataTable.size()
+                && autosensDataTable.valueAt(first + processed - 1) == lastProcessed
+                && lastProcessed.time <= toTime);
+        if (!canContinue) {
+            clear();
+            this.fromTime = fromTime;
+            this.eventsSignature = signature;
+            this.capacity = capacity;
+            this.maxAge = maxAge;
+            processed = 0;
+            lastProcessed = null;
+            pastSensitivity = new StringBuilder();
+            valid = true;
+        }
+
+        for (int index = first + processed; index < autosensDataTable.size(); index++) {
+            AutosensData autosensData = autosensDataTable.valueAt(index);
+            if (autosensData.time > toTime)
+                break;
+
+            // reset deviations after site change
+            if (CareportalEvent.isEvent5minBack(siteChanges, autosensData.time)) {
+                clear();
+                pastSensitivity.append("(SITECHANGE)");
+            }
+
+            // reset deviations after profile switch
+            if (ProfileSwitch.isEvent5minBack(profileSwitches, autosensData.time, true)) {
+                clear();
+                pastSensitivity.append("(PROFILESWITCH)");
+            }
+
+            double deviation = autosensData.deviation;
+
+            //set positive deviations to zero if bg < 80
+            if (autosensData.bg < 80 && deviation > 0)
+                deviation = 0;
+
+            if (autosensData.validDeviation)
+                add(autosensData.time, deviation);
+
+            if (useExtraDeviations)
+                for (int i = 0; i < autosensData.extraDeviation.size(); i++)
+                    add(autosensData.time, autosensData.extraDeviation.get(i));
+            if (size > capacity)
+                removeOldest();
+
+            pastSensitivity.append(autosensData.pastSensitivity);
+            int secondsFromMidnight = Profile.secondsFromMidnight(autosensData.time);
+            if (secondsFromMidnight % 3600 < 2.5 * 60 || secondsFromMidnight % 3600 > 57.5 * 60) {
+                pastSensitivity.append("(").append(Math.round(secondsFromMidnight / 3600d)).append(")");
+            }
+            processed++;
+            lastProcessed = autosensData;
+        }
+        records = autosensDataTable.size();
+
+        // deviations are in time order, drop too old ones from beginning
+        if (maxAge > 0)
+            while (size > 0 && times[head] <= toTime - maxAge)
+                removeOldest();
+    }
+
+    int size() {
+        return size;
+    }
+
+    // number of records in autosensDataTable at last update
+    int records() {
+        return records;
+    }
+
+    String pastSensitivity() {
+        return pastSensitivity.toString();
+    }
+
+    /**
+     * Percentile of deviations with additional zero deviations
+     */
+    double percentile(double p, int zeroPadding) {
+        for (int i = 0; i < zeroPadding; i++)
+            sorted.add(0d);
+        double result = sorted.percentile(p);
+        for (int i = 0; i < zeroPadding; i++)
+            sorted.remove(0d);
+        return result;
+    }
+
+    double percentile(double p) {
+        return sorted.percentile(p);
+    }
+
+    /**
+     * Fraction of deviations lower than zero, where percentile() crosses zero
+     */
+    double negativeFraction() {
+        return sorted.size() > 0 ? (double) sorted.countLess(0) / sorted.size() : 0;
+    }
+
+    // sorted, for logging
+    double[] toSortedArray() {
+        return sorted.toArray();
+    }
+
+    private void add(long time, double value) {
+        if (size == times.length) {
+            long[] newTimes = new long[size * 2];
+            double[] newValues = new double[size * 2];
+            for (int i = 0; i < size; i++) {
+                newTimes[i] = times[(head + i) % times.length];
+                newValues[i] = values[(head + i) % values.length];
+            }
+            times = newTimes;
+            values = newValues;
+            head = 0;
+        }
+        int tail = (head + size) % times.length;
+        times[tail] = time;
+        values[tail] = value;
+        size++;
+        sorted.add(value);
+    }
+
+    private void removeOldest() {
+        sorted.remove(values[head]);
+        head = (head + 1) % times.length;
+        size--;
+    }
+
+    private void clear() {
+        head = 0;
+        size = 0;
+        sorted.clear();
+    }
+
+    private static int indexOfFirstNotOlder(LongSparseArray<AutosensData> autosensDataTable, long time) {
+        int low = 0;
+        int high = autosensDataTable.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (autosensDataTable.keyAt(mid) < time)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    private static long eventsSignature(List<CareportalEvent> siteChanges, List<ProfileSwitch> profileSwitches) {
+        long signature = siteChanges.size() * 31L + profileSwitches.size();
+        for (CareportalEvent event : siteChanges)
+            signature = signature * 31 + event.date;
+        for (ProfileSwitch event : profileSwitches)
+            signature = signature * 31 + event.date * 7 + event.durationInMinutes;
+        return signature;
+    }
+
+    @Override
+    public String toString() {
+        return "DeviationWindow{size=" + size + ", deviations=" + Arrays.toString(toSortedArray()) + "}";
+    }
+}
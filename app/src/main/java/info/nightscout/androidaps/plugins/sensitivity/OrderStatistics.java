@@ -0,0 +1,203 @@
+package info.nightscout.androidaps.plugins.sensitivity;
+
+import java.util.Arrays;
+
+/**
+ * Multiset of doubles with O(log n) insert, remove, k-th smallest and rank queries
+ * <p>
+ * Treap held in primitive arrays, node 0 is empty node. Not thread safe
+ */
+
+final class OrderStatistics {
+    private double[] keys = new double[64];
+    private int[] priorities = new int[64];
+    private int[] left = new int[64];
+    private int[] right = new int[64];
+    private int[] counts = new int[64];
+
+    private int root = 0;
+    private int used = 1;
+    private int free = 0; // chained by left
+    private int seed = 0x2545F491;
+
+    // result of split()
+    private int splitLeft;
+    private int splitRight;
+
+    int size() {
+        return counts[root];
+    }
+
+    void clear() {
+        root = 0;
+        used = 1;
+        free = 0;
+    }
+
+    void add(double value) {
+        int node = allocate(value);
+        split(root, value, true);
+        root = merge(merge(splitLeft, node), splitRight);
+    }
+
+    /**
+     * Removes one occurrence of value
+     *
+     * @return false if value is not present
+     */
+    boolean remove(double value) {
+        split(root, value, false);
+        int less = splitLeft;
+        split(splitRight, value, true);
+        int equal = splitLeft;
+        int greater = splitRight;
+        boolean found = equal != 0;
+        if (found) {
+            int removed = equal;
+            equal = merge(left[removed], right[removed]);
+            left[removed] = free;
+            free = removed;
+        }
+        root = merge(less, merge(equal, greater));
+        return found;
+    }
+
+    /**
+     * @param k zero based index in ascending order
+     */
+    double get(int k) {
+        if (k < 0 || k >= size()) throw new IndexOutOfBoundsException("Index: " + k + " size: " + size());
+        int node = root;
+        while (true) {
+            int leftCount = counts[left[node]];
+            if (k < leftCount) {
+                node = left[node];
+            } else if (k == leftCount) {
+                return keys[node];
+            } else {
+                k -= leftCount + 1;
+                node = right[node];
+            }
+        }
+    }
+
+    // number of values lower than value
+    int countLess(double value) {
+        int count = 0;
+        int node = root;
+        while (node != 0) {
+            if (keys[node] < value) {
+                count += counts[left[node]] + 1;
+                node = right[node];
+            } else {
+                node = left[node];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Same as IobCobCalculatorPlugin.percentile() of sorted array
+     * "Linear interpolation between closest ranks" method
+     */
+    double percentile(double p) {
+        int size = size();
+        if (size == 0) return 0;
+        if (p <= 0) return get(0);
+        if (p >= 1) return get(size - 1);
+
+        double index = size * p,
+                lower = Math.floor(index),
+                upper = lower + 1,
+                weight = index % 1;
+
+        if (upper >= size) return get((int) lower);
+        return get((int) lower) * (1 - weight) + get((int) upper) * weight;
+    }
+
+    // ascending, for logging
+    double[] toArray() {
+        double[] result = new double[size()];
+        int[] stack = new int[64];
+        int depth = 0;
+        int index = 0;
+        int node = root;
+        while (node != 0 || depth > 0) {
+            while (node != 0) {
+                if (depth == stack.length) stack = Arrays.copyOf(stack, depth * 2);
+                stack[depth++] = node;
+                node = left[node];
+            }
+            node = stack[--depth];
+            result[index++] = keys[node];
+            node = right[node];
+        }
+        return result;
+    }
+
+    private int allocate(double value) {
+        int node;
+        if (free != 0) {
+            node = free;
+            free = left[node];
+        } else {
+            if (used == keys.length) {
+                int capacity = used * 2;
+                keys = Arrays.copyOf(keys, capacity);
+                priorities = Arrays.copyOf(priorities, capacity);
+                left = Arrays.copyOf(left, capacity);
+                right = Arrays.copyOf(right, capacity);
+                counts = Arrays.copyOf(counts, capacity);
+            }
+            node = used++;
+        }
+        // xorshift
+        seed ^= seed << 13;
+        seed ^= seed >>> 17;
+        seed ^= seed << 5;
+        keys[node] = value;
+        priorities[node] = seed;
+        left[node] = 0;
+        right[node] = 0;
+        counts[node] = 1;
+        return node;
+    }
+
+    private void update(int node) {
+        counts[node] = counts[left[node]] + counts[right[node]] + 1;
+    }
+
+    // splits to values lower (or equal if inclusive) than value and the rest
+    private void split(int node, double value, boolean inclusive) {
+        if (node == 0) {
+            splitLeft = 0;
+            splitRight = 0;
+            return;
+        }
+        if (keys[node] < value || inclusive && keys[node] == value) {
+            split(right[node], value, inclusive);
+            right[node] = splitLeft;
+            update(node);
+            splitLeft = node;
+        } else {
+            split(left[node], value, inclusive);
+            left[node] = splitRight;
+            update(node);
+            splitRight = node;
+        }
+    }
+
+    // all values in a must be lower or equal to values in b
+    private int merge(int a, int b) {
+        if (a == 0) return b;
+        if (b == 0) return a;
+        if (priorities[a] > priorities[b]) {
+            right[a] = merge(right[a], b);
+            update(a);
+            return a;
+        }
+        left[b] = merge(a, left[b]);
+        update(b);
+        return b;
+    }
+}
@@ -5,7 +5,6 @@ import androidx.collection.LongSparseArray;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
@@ -18,6 +17,7 @@ import info.nightscout.androidaps.db.ProfileSwitch;
 import info.nightscout.androidaps.interfaces.PluginDescription;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.configBuilder.ProfileFunctions;
 import info.nightscout.androidaps.plugins.iob.iobCobCalculator.AutosensData;
 import info.nightscout.androidaps.plugins.iob.iobCobCalculator.AutosensResult;
@@ -50,10 +50,11 @@ public class SensitivityAAPSPlugin extends AbstractSensitivityPlugin {
         );
     }
 
-    @Override
-    public AutosensResult detectSensitivity(IobCobCalculatorPlugin iobCobCalculatorPlugin, long fromTime, long toTime) {
-        LongSparseArray<AutosensData> autosensDataTable = iobCobCalculatorPlugin.getAutosensDataTable();
+    // deviations of previous call, continued by next one
+    private final DeviationWindow deviationWindow = new DeviationWindow(false);
 
+    @Override
+    public AutosensResult detectSensitivity(IobCobCalculatorPlugin iobCobCalculatorPlugin, LongSparseArray<AutosensData> autosensDataTable, long fromTime, long toTime) {
         String age = SP.getString(R.string.key_age, "");
         int defaultHours = 24;
         if (age.equals(MainApp.gs(R.string.key_adult))) defaultHours = 24;
@@ -69,15 +70,15 @@ public class SensitivityAAPSPlugin extends AbstractSensitivityPlugin {
         }
 
         if (autosensDataTable == null || autosensDataTable.size() < 4) {
-            if (L.isEnabled(L.AUTOSENS))
-                log.debug("No autosens data available. lastDataTime=" + iobCobCalculatorPlugin.lastDataTime());
+            if (L.isEnabled(LTag.AUTOSENS))
+                log.debug("No autosens data available. lastDataTime=" + IobCobCalculatorPlugin.lastDataTime(autosensDataTable));
             return new AutosensResult();
         }
 
-        AutosensData current = iobCobCalculatorPlugin.getAutosensData(toTime); // this is running inside lock already
+        AutosensData current = iobCobCalculatorPlugin.getAutosensData(autosensDataTable, toTime); // this is running inside lock already
         if (current == null) {
-            if (L.isEnabled(L.AUTOSENS))
-                log.debug("No autosens data available. toTime: " + DateUtil.dateAndTimeString(toTime) + " lastDataTime: " + iobCobCalculatorPlugin.lastDataTime());
+            if (L.isEnabled(LTag.AUTOSENS))
+                log.debug("No autosens data available. toTime: " + DateUtil.dateAndTimeString(toTime) + " lastDataTime: " + IobCobCalculatorPlugin.lastDataTime(autosensDataTable));
             return new AutosensResult();
         }
 
@@ -85,69 +86,27 @@ public class SensitivityAAPSPlugin extends AbstractSensitivityPlugin {
         List<CareportalEvent> siteChanges = MainApp.getDbHelper().getCareportalEventsFromTime(fromTime, CareportalEvent.SITECHANGE, true);
         List<ProfileSwitch> profileSwitches = MainApp.getDbHelper().getProfileSwitchEventsFromTime(fromTime, true);
 
-        List<Double> deviationsArray = new ArrayList<>();
-        String pastSensitivity = "";
-        int index = 0;
-        while (index < autosensDataTable.size()) {
-            AutosensData autosensData = autosensDataTable.valueAt(index);
-
-            if (autosensData.time < fromTime) {
-                index++;
-                continue;
-            }
-
-            if (autosensData.time > toTime) {
-                index++;
-                continue;
-            }
-
-            // reset deviations after site change
-            if (CareportalEvent.isEvent5minBack(siteChanges, autosensData.time)) {
-                deviationsArray.clear();
-                pastSensitivity += "(SITECHANGE)";
-            }
-
-            // reset deviations after profile switch
-            if (ProfileSwitch.isEvent5minBack(profileSwitches, autosensData.time, true)) {
-                deviationsArray.clear();
-                pastSensitivity += "(PROFILESWITCH)";
-            }
-
-            double deviation = autosensData.deviation;
-
-            //set positive deviations to zero if bg < 80
-            if (autosensData.bg < 80 && deviation > 0)
-                deviation = 0;
-
-            if (autosensData.validDeviation)
-                if (autosensData.time > toTime - hoursForDetection * 60 * 60 * 1000L)
-                    deviationsArray.add(deviation);
-            if (deviationsArray.size() > hoursForDetection * 60 / 5)
-                deviationsArray.remove(0);
-
-
-            pastSensitivity += autosensData.pastSensitivity;
-            int secondsFromMidnight = Profile.secondsFromMidnight(autosensData.time);
-            if (secondsFromMidnight % 3600 < 2.5 * 60 || secondsFromMidnight % 3600 > 57.5 * 60) {
-                pastSensitivity += "(" + Math.round(secondsFromMidnight / 3600d) + ")";
-            }
-            index++;
-        }
-
-        Double[] deviations = new Double[deviationsArray.size()];
-        deviations = deviationsArray.toArray(deviations);
-
         double sens = profile.getIsf();
 
         String ratioLimit = "";
         String sensResult = "";
+        String pastSensitivity;
+        int deviationsSize;
+        double percentile;
+
+        synchronized (deviationWindow) {
+            deviationWindow.update(autosensDataTable, fromTime, toTime, siteChanges, profileSwitches,
+                    hoursForDetection * 60 / 5, hoursForDetection * 60 * 60 * 1000L);
+            pastSensitivity = deviationWindow.pastSensitivity();
+            deviationsSize = deviationWindow.size();
+
+            if (L.isEnabled(LTag.AUTOSENS)) {
+                log.debug("Records: " + deviationWindow.records() + "   " + pastSensitivity);
+                log.debug("Sensitivity to: deviations " + Arrays.toString(deviationWindow.toSortedArray()));
+            }
 
-        if (L.isEnabled(L.AUTOSENS))
-            log.debug("Records: " + index + "   " + pastSensitivity);
-
-        Arrays.sort(deviations);
-
-        double percentile = IobCobCalculatorPlugin.percentile(deviations, 0.50);
+            percentile = deviationWindow.percentile(0.50);
+        }
         double basalOff = percentile * (60 / 5) / Profile.toMgdl(sens, profile.getUnits());
         double ratio = 1 + (basalOff / profile.getMaxDailyBasal());
 
@@ -159,17 +118,16 @@ public class SensitivityAAPSPlugin extends AbstractSensitivityPlugin {
             sensResult = "Sensitivity normal";
         }
 
-        if (L.isEnabled(L.AUTOSENS))
+        if (L.isEnabled(LTag.AUTOSENS))
             log.debug(sensResult);
 
         AutosensResult output = fillResult(ratio, current.cob, pastSensitivity, ratioLimit,
-                sensResult, deviationsArray.size());
+                sensResult, deviationsSize);
 
-        if (L.isEnabled(L.AUTOSENS)) {
+        if (L.isEnabled(LTag.AUTOSENS)) {
             log.debug("Sensitivity to: {}, percentile: {} ratio: {} mealCOB: ",
                     new Date(toTime).toLocaleString(),
                     percentile, output.ratio, ratio, current.cob);
-            log.debug("Sensitivity to: deviations " + Arrays.toString(deviations));
         }
 
         return output;
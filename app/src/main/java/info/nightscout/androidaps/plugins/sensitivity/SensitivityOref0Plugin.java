@@ -5,8 +5,6 @@ import androidx.collection.LongSparseArray;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -18,6 +16,7 @@ import info.nightscout.androidaps.db.ProfileSwitch;
 import info.nightscout.androidaps.interfaces.PluginDescription;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.configBuilder.ProfileFunctions;
 import info.nightscout.androidaps.plugins.iob.iobCobCalculator.AutosensData;
 import info.nightscout.androidaps.plugins.iob.iobCobCalculator.AutosensResult;
@@ -49,10 +48,11 @@ public class SensitivityOref0Plugin extends AbstractSensitivityPlugin {
         );
     }
 
-    @Override
-    public AutosensResult detectSensitivity(IobCobCalculatorPlugin iobCobCalculatorPlugin, long fromTime, long toTime) {
-        LongSparseArray<AutosensData> autosensDataTable = iobCobCalculatorPlugin.getAutosensDataTable();
+    // deviations of previous call, continued by next one
+    private final DeviationWindow deviationWindow = new DeviationWindow(false);
 
+    @Override
+    public AutosensResult detectSensitivity(IobCobCalculatorPlugin iobCobCalculatorPlugin, LongSparseArray<AutosensData> autosensDataTable, long fromTime, long toTime) {
         int hoursForDetection = 24;
 
         long now = System.currentTimeMillis();
@@ -64,15 +64,15 @@ public class SensitivityOref0Plugin extends AbstractSensitivityPlugin {
         }
 
         if (autosensDataTable == null || autosensDataTable.size() < 4) {
-            if (L.isEnabled(L.AUTOSENS))
-                log.debug("No autosens data available. lastDataTime=" + iobCobCalculatorPlugin.lastDataTime());
+            if (L.isEnabled(LTag.AUTOSENS))
+                log.debug("No autosens data available. lastDataTime=" + IobCobCalculatorPlugin.lastDataTime(autosensDataTable));
             return new AutosensResult();
         }
 
-        AutosensData current = iobCobCalculatorPlugin.getAutosensData(toTime); // this is running inside lock already
+        AutosensData current = iobCobCalculatorPlugin.getAutosensData(autosensDataTable, toTime); // this is running inside lock already
         if (current == null) {
-            if (L.isEnabled(L.AUTOSENS))
-                log.debug("No autosens data available. toTime: " + DateUtil.dateAndTimeString(toTime) + " lastDataTime: " + iobCobCalculatorPlugin.lastDataTime());
+            if (L.isEnabled(LTag.AUTOSENS))
+                log.debug("No autosens data available. toTime: " + DateUtil.dateAndTimeString(toTime) + " lastDataTime: " + IobCobCalculatorPlugin.lastDataTime(autosensDataTable));
             return new AutosensResult();
         }
 
@@ -80,76 +80,30 @@ public class SensitivityOref0Plugin extends AbstractSensitivityPlugin {
         List<CareportalEvent> siteChanges = MainApp.getDbHelper().getCareportalEventsFromTime(fromTime, CareportalEvent.SITECHANGE, true);
         List<ProfileSwitch> profileSwitches = MainApp.getDbHelper().getProfileSwitchEventsFromTime(fromTime, true);
 
-        List<Double> deviationsArray = new ArrayList<>();
-        String pastSensitivity = "";
-        int index = 0;
-        while (index < autosensDataTable.size()) {
-            AutosensData autosensData = autosensDataTable.valueAt(index);
-
-            if (autosensData.time < fromTime) {
-                index++;
-                continue;
-            }
-
-            if (autosensData.time > toTime) {
-                index++;
-                continue;
-            }
-
-            // reset deviations after site change
-            if (CareportalEvent.isEvent5minBack(siteChanges, autosensData.time)) {
-                deviationsArray.clear();
-                pastSensitivity += "(SITECHANGE)";
-            }
-
-            // reset deviations after profile switch
-            if (ProfileSwitch.isEvent5minBack(profileSwitches, autosensData.time, true)) {
-                deviationsArray.clear();
-                pastSensitivity += "(PROFILESWITCH)";
-            }
-
-            double deviation = autosensData.deviation;
-
-            //set positive deviations to zero if bg < 80
-            if (autosensData.bg < 80 && deviation > 0)
-                deviation = 0;
-
-            if (autosensData.validDeviation)
-                if (autosensData.time > toTime - hoursForDetection * 60 * 60 * 1000L)
-                    deviationsArray.add(deviation);
-            if (deviationsArray.size() > hoursForDetection * 60 / 5)
-                deviationsArray.remove(0);
-
-            pastSensitivity += autosensData.pastSensitivity;
-            int secondsFromMidnight = Profile.secondsFromMidnight(autosensData.time);
-            if (secondsFromMidnight % 3600 < 2.5 * 60 || secondsFromMidnight % 3600 > 57.5 * 60) {
-                pastSensitivity += "(" + Math.round(secondsFromMidnight / 3600d) + ")";
-            }
-            index++;
-        }
-
-        Double[] deviations = new Double[deviationsArray.size()];
-        deviations = deviationsArray.toArray(deviations);
-
         double sens = profile.getIsf();
 
         double ratio = 1;
         String ratioLimit = "";
         String sensResult = "";
-
-        if (L.isEnabled(L.AUTOSENS))
-            log.debug("Records: " + index + "   " + pastSensitivity);
-
-        Arrays.sort(deviations);
-
-        for (double i = 0.9; i > 0.1; i = i - 0.02) {
-            if (IobCobCalculatorPlugin.percentile(deviations, (i + 0.02)) >= 0 && IobCobCalculatorPlugin.percentile(deviations, i) < 0) {
-                if (L.isEnabled(L.AUTOSENS))
-                    log.debug(Math.round(100 * i) + "% of non-meal deviations negative (target 45%-50%)");
+        String pastSensitivity;
+        int deviationsSize;
+        double pSensitive;
+        double pResistant;
+
+        synchronized (deviationWindow) {
+            deviationWindow.update(autosensDataTable, fromTime, toTime, siteChanges, profileSwitches,
+                    hoursForDetection * 60 / 5, hoursForDetection * 60 * 60 * 1000L);
+            pastSensitivity = deviationWindow.pastSensitivity();
+            deviationsSize = deviationWindow.size();
+
+            if (L.isEnabled(LTag.AUTOSENS)) {
+                log.debug("Records: " + deviationWindow.records() + "   " + pastSensitivity);
+                // where percentiles cross zero
+                log.debug(Math.round(100 * deviationWindow.negativeFraction()) + "% of non-meal deviations negative (target 45%-50%)");
             }
+            pSensitive = deviationWindow.percentile(0.50);
+            pResistant = deviationWindow.percentile(0.45);
         }
-        double pSensitive = IobCobCalculatorPlugin.percentile(deviations, 0.50);
-        double pResistant = IobCobCalculatorPlugin.percentile(deviations, 0.45);
 
         double basalOff = 0;
 
@@ -163,15 +117,15 @@ public class SensitivityOref0Plugin extends AbstractSensitivityPlugin {
             sensResult = "Sensitivity normal";
         }
 
-        if (L.isEnabled(L.AUTOSENS))
+        if (L.isEnabled(LTag.AUTOSENS))
             log.debug(sensResult);
 
         ratio = 1 + (basalOff / profile.getMaxDailyBasal());
 
         AutosensResult output = fillResult(ratio, current.cob, pastSensitivity, ratioLimit,
-                sensResult, deviationsArray.size());
+                sensResult, deviationsSize);
 
-        if (L.isEnabled(L.AUTOSENS))
+        if (L.isEnabled(LTag.AUTOSENS))
             log.debug("Sensitivity to: {} ratio: {} mealCOB: {}",
                     new Date(toTime).toLocaleString(), output.ratio, current.cob);
 
@@ -16,6 +16,7 @@ import info.nightscout.androidaps.db.ProfileSwitch;
 import info.nightscout.androidaps.interfaces.PluginDescription;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.configBuilder.ProfileFunctions;
 import info.nightscout.androidaps.plugins.iob.iobCobCalculator.AutosensData;
 import info.nightscout.androidaps.plugins.iob.iobCobCalculator.AutosensResult;
@@ -49,9 +50,7 @@ public class SensitivityWeightedAveragePlugin extends AbstractSensitivityPlugin
     }
 
     @Override
-    public AutosensResult detectSensitivity(IobCobCalculatorPlugin iobCobCalculatorPlugin, long fromTime, long toTime) {
-        LongSparseArray<AutosensData> autosensDataTable = iobCobCalculatorPlugin.getAutosensDataTable();
-
+    public AutosensResult detectSensitivity(IobCobCalculatorPlugin iobCobCalculatorPlugin, LongSparseArray<AutosensData> autosensDataTable, long fromTime, long toTime) {
         String age = SP.getString(R.string.key_age, "");
         int defaultHours = 24;
         if (age.equals(MainApp.gs(R.string.key_adult))) defaultHours = 24;
@@ -60,22 +59,22 @@ public class SensitivityWeightedAveragePlugin extends AbstractSensitivityPlugin
         int hoursForDetection = SP.getInt(R.string.key_openapsama_autosens_period, defaultHours);
 
         if (autosensDataTable == null || autosensDataTable.size() < 4) {
-            if (L.isEnabled(L.AUTOSENS))
-                log.debug("No autosens data available. lastDataTime=" + iobCobCalculatorPlugin.lastDataTime());
+            if (L.isEnabled(LTag.AUTOSENS))
+                log.debug("No autosens data available. lastDataTime=" + IobCobCalculatorPlugin.lastDataTime(autosensDataTable));
             return new AutosensResult();
         }
 
-        AutosensData current = iobCobCalculatorPlugin.getAutosensData(toTime); // this is running inside lock already
+        AutosensData current = iobCobCalculatorPlugin.getAutosensData(autosensDataTable, toTime); // this is running inside lock already
         if (current == null) {
-            if (L.isEnabled(L.AUTOSENS))
-                log.debug("No autosens data available. toTime: " + DateUtil.dateAndTimeString(toTime) + " lastDataTime: " + iobCobCalculatorPlugin.lastDataTime());
+            if (L.isEnabled(LTag.AUTOSENS))
+                log.debug("No autosens data available. toTime: " + DateUtil.dateAndTimeString(toTime) + " lastDataTime: " + IobCobCalculatorPlugin.lastDataTime(autosensDataTable));
             return new AutosensResult();
         }
 
 
         Profile profile = ProfileFunctions.getInstance().getProfile();
         if (profile == null) {
-            if (L.isEnabled(L.AUTOSENS))
+            if (L.isEnabled(LTag.AUTOSENS))
                 log.debug("No profile available");
             return new AutosensResult();
         }
@@ -140,11 +139,11 @@ public class SensitivityWeightedAveragePlugin extends AbstractSensitivityPlugin
         }
 
         if (data.size() == 0) {
-            if (L.isEnabled(L.AUTOSENS))
+            if (L.isEnabled(LTag.AUTOSENS))
                 log.debug("Data size: " + data.size() + " fromTime: " + DateUtil.dateAndTimeString(fromTime) + " toTime: " + DateUtil.dateAndTimeString(toTime));
             return new AutosensResult();
         } else {
-            if (L.isEnabled(L.AUTOSENS))
+            if (L.isEnabled(LTag.AUTOSENS))
                 log.debug("Data size: " + data.size() + " fromTime: " + DateUtil.dateAndTimeString(fromTime) + " toTime: " + DateUtil.dateAndTimeString(toTime));
         }
 
@@ -169,7 +168,7 @@ public class SensitivityWeightedAveragePlugin extends AbstractSensitivityPlugin
         String ratioLimit = "";
         String sensResult;
 
-        if (L.isEnabled(L.AUTOSENS))
+        if (L.isEnabled(LTag.AUTOSENS))
             log.debug("Records: " + index + "   " + pastSensitivity);
 
         double average = weightedsum / weights;
@@ -184,13 +183,13 @@ public class SensitivityWeightedAveragePlugin extends AbstractSensitivityPlugin
             sensResult = "Sensitivity normal";
         }
 
-        if (L.isEnabled(L.AUTOSENS))
+        if (L.isEnabled(LTag.AUTOSENS))
             log.debug(sensResult);
 
         AutosensResult output = fillResult(ratio, current.cob, pastSensitivity, ratioLimit,
                 sensResult, data.size());
 
-        if (L.isEnabled(L.AUTOSENS))
+        if (L.isEnabled(LTag.AUTOSENS))
             log.debug("Sensitivity to: {}  weightedaverage: {} ratio: {} mealCOB: {}", new Date(toTime).toLocaleString(),
                     average, output.ratio, current.cob);
 
@@ -63,6 +63,7 @@ object SourceDexcomPlugin : PluginBase(PluginDescription()
         try {
             val sensorType = intent.getStringExtra("sensorType") ?: ""
             val glucoseValues = intent.getBundleExtra("glucoseValues")
+            val bgReadings = ArrayList<BgReading>()
             for (i in 0 until glucoseValues.size()) {
                 val glucoseValue = glucoseValues.getBundle(i.toString())
                 val bgReading = BgReading()
@@ -70,13 +71,16 @@ object SourceDexcomPlugin : PluginBase(PluginDescription()
                 bgReading.direction = glucoseValue.getString("trendArrow")
                 bgReading.date = glucoseValue.getLong("timestamp") * 1000
                 bgReading.raw = 0.0
-                if (MainApp.getDbHelper().createIfNotExists(bgReading, "Dexcom$sensorType")) {
-                    if (SP.getBoolean(R.string.key_dexcomg5_nsupload, false)) {
-                        NSUpload.uploadBg(bgReading, "AndroidAPS-Dexcom$sensorType")
-                    }
-                    if (SP.getBoolean(R.string.key_dexcomg5_xdripupload, false)) {
-                        NSUpload.sendToXdrip(bgReading)
-                    }
+                bgReadings.add(bgReading)
+            }
+            val created = ArrayList<BgReading>()
+            MainApp.getDbHelper().createIfNotExists(bgReadings, "Dexcom$sensorType", created)
+            for (bgReading in created) {
+                if (SP.getBoolean(R.string.key_dexcomg5_nsupload, false)) {
+                    NSUpload.uploadBg(bgReading, "AndroidAPS-Dexcom$sensorType")
+                }
+                if (SP.getBoolean(R.string.key_dexcomg5_xdripupload, false)) {
+                    NSUpload.sendToXdrip(bgReading)
                 }
             }
             val meters = intent.getBundleExtra("meters")
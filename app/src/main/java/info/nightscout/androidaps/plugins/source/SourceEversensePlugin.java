@@ -8,7 +8,9 @@ import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 import info.nightscout.androidaps.Constants;
 import info.nightscout.androidaps.MainApp;
@@ -20,6 +22,7 @@ import info.nightscout.androidaps.interfaces.PluginBase;
 import info.nightscout.androidaps.interfaces.PluginDescription;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.general.nsclient.NSUpload;
 import info.nightscout.androidaps.utils.DateUtil;
 import info.nightscout.androidaps.utils.SP;
@@ -63,7 +66,7 @@ public class SourceEversensePlugin extends PluginBase implements BgSourceInterfa
         Bundle bundle = intent.getExtras();
         if (bundle == null) return;
 
-        if (L.isEnabled(L.BGSOURCE)) {
+        if (L.isEnabled(LTag.BGSOURCE)) {
             if (bundle.containsKey("currentCalibrationPhase"))
                 log.debug("currentCalibrationPhase: " + bundle.getString("currentCalibrationPhase"));
             if (bundle.containsKey("placementModeInProgress"))
@@ -101,22 +104,27 @@ public class SourceEversensePlugin extends PluginBase implements BgSourceInterfa
             int[] glucoseRecordNumbers = bundle.getIntArray("glucoseRecordNumbers");
             long[] glucoseTimestamps = bundle.getLongArray("glucoseTimestamps");
 
-            if (L.isEnabled(L.BGSOURCE)) {
+            if (L.isEnabled(LTag.BGSOURCE)) {
                 log.debug("glucoseLevels", Arrays.toString(glucoseLevels));
                 log.debug("glucoseRecordNumbers", Arrays.toString(glucoseRecordNumbers));
                 log.debug("glucoseTimestamps", Arrays.toString(glucoseTimestamps));
             }
 
+            List<BgReading> bgReadings = new ArrayList<>();
             for (int i = 0; i < glucoseLevels.length; i++) {
                 BgReading bgReading = new BgReading();
                 bgReading.value = glucoseLevels[i];
                 bgReading.date = glucoseTimestamps[i];
                 bgReading.raw = 0;
-                boolean isNew = MainApp.getDbHelper().createIfNotExists(bgReading, "Eversense");
-                if (isNew && SP.getBoolean(R.string.key_dexcomg5_nsupload, false)) {
+                bgReadings.add(bgReading);
+            }
+            List<BgReading> created = new ArrayList<>();
+            MainApp.getDbHelper().createIfNotExists(bgReadings, "Eversense", created);
+            for (BgReading bgReading : created) {
+                if (SP.getBoolean(R.string.key_dexcomg5_nsupload, false)) {
                     NSUpload.uploadBg(bgReading, "AndroidAPS-Eversense");
                 }
-                if (isNew && SP.getBoolean(R.string.key_dexcomg5_xdripupload, false)) {
+                if (SP.getBoolean(R.string.key_dexcomg5_xdripupload, false)) {
                     NSUpload.sendToXdrip(bgReading);
                 }
             }
@@ -127,7 +135,7 @@ public class SourceEversensePlugin extends PluginBase implements BgSourceInterfa
             long[] calibrationTimestamps = bundle.getLongArray("calibrationTimestamps");
             long[] calibrationRecordNumbers = bundle.getLongArray("calibrationRecordNumbers");
 
-            if (L.isEnabled(L.BGSOURCE)) {
+            if (L.isEnabled(LTag.BGSOURCE)) {
                 log.debug("calibrationGlucoseLevels", Arrays.toString(calibrationGlucoseLevels));
                 log.debug("calibrationTimestamps", Arrays.toString(calibrationTimestamps));
                 log.debug("calibrationRecordNumbers", Arrays.toString(calibrationRecordNumbers));
@@ -15,6 +15,7 @@ import info.nightscout.androidaps.interfaces.PluginDescription;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.logging.BundleLogger;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 
 /**
  * Created by mike on 05.08.2016.
@@ -52,7 +53,7 @@ public class SourceGlimpPlugin extends PluginBase implements BgSourceInterface {
         Bundle bundle = intent.getExtras();
         if (bundle == null) return;
 
-        if (L.isEnabled(L.BGSOURCE))
+        if (L.isEnabled(LTag.BGSOURCE))
             log.debug("Received Glimp Data: " + BundleLogger.log(bundle));
 
         BgReading bgReading = new BgReading();
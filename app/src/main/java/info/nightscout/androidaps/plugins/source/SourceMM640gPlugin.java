@@ -9,6 +9,9 @@ import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.db.BgReading;
@@ -17,6 +20,7 @@ import info.nightscout.androidaps.interfaces.PluginBase;
 import info.nightscout.androidaps.interfaces.PluginDescription;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 
 /**
  * Created by mike on 05.08.2016.
@@ -59,12 +63,13 @@ public class SourceMM640gPlugin extends PluginBase implements BgSourceInterface
 
         if (collection.equals("entries")) {
             final String data = bundle.getString("data");
-            if (L.isEnabled(L.BGSOURCE))
+            if (L.isEnabled(LTag.BGSOURCE))
                 log.debug("Received MM640g Data: ", data);
 
             if ((data != null) && (data.length() > 0)) {
                 try {
                     final JSONArray json_array = new JSONArray(data);
+                    List<BgReading> bgReadings = new ArrayList<>();
                     for (int i = 0; i < json_array.length(); i++) {
                         final JSONObject json_object = json_array.getJSONObject(i);
                         final String type = json_object.getString("type");
@@ -77,13 +82,14 @@ public class SourceMM640gPlugin extends PluginBase implements BgSourceInterface
                                 bgReading.date = json_object.getLong("date");
                                 bgReading.raw = json_object.getDouble("sgv");
 
-                                MainApp.getDbHelper().createIfNotExists(bgReading, "MM640g");
+                                bgReadings.add(bgReading);
                                 break;
                             default:
-                                if (L.isEnabled(L.BGSOURCE))
+                                if (L.isEnabled(LTag.BGSOURCE))
                                     log.debug("Unknown entries type: " + type);
                         }
                     }
+                    MainApp.getDbHelper().createIfNotExists(bgReadings, "MM640g", null);
                 } catch (JSONException e) {
                     log.error("Exception: ", e);
                 }
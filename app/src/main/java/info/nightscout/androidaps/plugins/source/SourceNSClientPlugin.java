@@ -8,6 +8,9 @@ import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.db.BgReading;
@@ -16,8 +19,8 @@ import info.nightscout.androidaps.interfaces.PluginBase;
 import info.nightscout.androidaps.interfaces.PluginDescription;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.general.nsclient.data.NSSgv;
-import info.nightscout.androidaps.utils.JsonHelper;
 import info.nightscout.androidaps.utils.SP;
 
 /**
@@ -59,39 +62,55 @@ public class SourceNSClientPlugin extends PluginBase implements BgSourceInterfac
 
         Bundle bundles = intent.getExtras();
 
+        List<NSSgv> sgvs = new ArrayList<>();
         try {
             if (bundles.containsKey("sgv")) {
                 String sgvstring = bundles.getString("sgv");
-                if (L.isEnabled(L.BGSOURCE))
+                if (L.isEnabled(LTag.BGSOURCE))
                     log.debug("Received NS Data: " + sgvstring);
 
-                JSONObject sgvJson = new JSONObject(sgvstring);
-                storeSgv(sgvJson);
+                sgvs.add(new NSSgv(new JSONObject(sgvstring)));
             }
 
             if (bundles.containsKey("sgvs")) {
                 String sgvstring = bundles.getString("sgvs");
-                if (L.isEnabled(L.BGSOURCE))
+                if (L.isEnabled(LTag.BGSOURCE))
                     log.debug("Received NS Data: " + sgvstring);
                 JSONArray jsonArray = new JSONArray(sgvstring);
-                for (int i = 0; i < jsonArray.length(); i++) {
-                    JSONObject sgvJson = jsonArray.getJSONObject(i);
-                    storeSgv(sgvJson);
-                }
+                for (int i = 0; i < jsonArray.length(); i++)
+                    sgvs.add(new NSSgv(jsonArray.getJSONObject(i)));
             }
         } catch (Exception e) {
             log.error("Unhandled exception", e);
         }
+        storeSgvs(sgvs);
+    }
 
-        // Objectives 0
-        SP.putBoolean(R.string.key_ObjectivesbgIsAvailableInNS, true);
+    /**
+     * Sgvs already parsed by NSClientService, no broadcast involved
+     */
+    public void handleNewSgvs(List<NSSgv> sgvs) {
+        if (!isEnabled(PluginType.BGSOURCE) && !SP.getBoolean(R.string.key_ns_autobackfill, true))
+            return;
+
+        if (L.isEnabled(LTag.BGSOURCE))
+            log.debug("Received NS Data: " + sgvs.size() + " sgvs");
+        storeSgvs(sgvs);
     }
 
-    private void storeSgv(JSONObject sgvJson) {
-        NSSgv nsSgv = new NSSgv(sgvJson);
-        BgReading bgReading = new BgReading(nsSgv);
-        MainApp.getDbHelper().createIfNotExists(bgReading, "NS");
-        SourceNSClientPlugin.getPlugin().detectSource(JsonHelper.safeGetString(sgvJson, "device", "none"), JsonHelper.safeGetLong(sgvJson, "mills"));
+    private void storeSgvs(List<NSSgv> sgvs) {
+        List<BgReading> bgReadings = new ArrayList<>(sgvs.size());
+        for (NSSgv nsSgv : sgvs) {
+            bgReadings.add(new BgReading(nsSgv));
+            String device = nsSgv.getDevice();
+            Long mills = nsSgv.getMills();
+            detectSource(device != null ? device : "none", mills != null ? mills : 0);
+        }
+        // whole reconnect backfill in one transaction
+        MainApp.getDbHelper().createIfNotExists(bgReadings, "NS", null);
+
+        // Objectives 0
+        SP.putBoolean(R.string.key_ObjectivesbgIsAvailableInNS, true);
     }
 
     public void detectSource(String source, long timeStamp) {
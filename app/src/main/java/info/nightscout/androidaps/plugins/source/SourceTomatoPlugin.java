@@ -14,6 +14,7 @@ import info.nightscout.androidaps.interfaces.PluginBase;
 import info.nightscout.androidaps.interfaces.PluginDescription;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.general.nsclient.NSUpload;
 import info.nightscout.androidaps.utils.SP;
 
@@ -57,7 +58,7 @@ public class SourceTomatoPlugin extends PluginBase implements BgSourceInterface
 
         BgReading bgReading = new BgReading();
 
-        if (L.isEnabled(L.BGSOURCE))
+        if (L.isEnabled(LTag.BGSOURCE))
             log.debug("Received Tomato Data");
 
         bgReading.value = bundle.getDouble("com.fanqies.tomatofn.Extras.BgEstimate");
@@ -9,6 +9,7 @@ import org.slf4j.LoggerFactory;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.services.Intents;
 import info.nightscout.androidaps.db.BgReading;
 import info.nightscout.androidaps.interfaces.BgSourceInterface;
@@ -55,7 +56,7 @@ public class SourceXdripPlugin extends PluginBase implements BgSourceInterface {
         Bundle bundle = intent.getExtras();
         if (bundle == null) return;
 
-        if (L.isEnabled(L.BGSOURCE))
+        if (L.isEnabled(LTag.BGSOURCE))
             log.debug("Received xDrip data: " + BundleLogger.log(intent.getExtras()));
 
         BgReading bgReading = new BgReading();
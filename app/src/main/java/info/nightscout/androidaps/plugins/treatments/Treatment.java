@@ -9,6 +9,7 @@ import com.j256.ormlite.table.DatabaseTable;
 import org.json.JSONException;
 import org.json.JSONObject;
 
+import java.util.Arrays;
 import java.util.Date;
 import java.util.Objects;
 
@@ -279,6 +280,17 @@ public class Treatment implements DataPointWithLabelInterface, DbObjectBase {
         return insulinInterface.iobCalcForTreatment(this, time, dia);
     }
 
+    public void iobCalc(long[] times, double dia, double[] iobContrib, double[] activityContrib) {
+        if (!isValid) {
+            Arrays.fill(iobContrib, 0d);
+            Arrays.fill(activityContrib, 0d);
+            return;
+        }
+
+        InsulinInterface insulinInterface = ConfigBuilderPlugin.getPlugin().getActiveInsulin();
+        insulinInterface.iobCalcForTreatment(this, times, dia, iobContrib, activityContrib);
+    }
+
     @Override
     public long getDate() {
         return this.date;
@@ -37,6 +37,7 @@ import info.nightscout.androidaps.events.EventNsTreatment;
 import info.nightscout.androidaps.events.EventReloadTreatmentData;
 import info.nightscout.androidaps.events.EventTreatmentChange;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.iob.iobCobCalculator.events.EventNewHistoryData;
 import info.nightscout.androidaps.plugins.pump.medtronic.data.MedtronicHistoryData;
@@ -109,7 +110,7 @@ public class TreatmentService extends OrmLiteBaseService<DatabaseHelper> {
     public void onCreate() {
         super.onCreate();
         try {
-            if (L.isEnabled(L.DATATREATMENTS))
+            if (L.isEnabled(LTag.DATATREATMENTS))
                 log.info("onCreate");
             TableUtils.createTableIfNotExists(this.getConnectionSource(), Treatment.class);
         } catch (SQLException e) {
@@ -136,7 +137,7 @@ public class TreatmentService extends OrmLiteBaseService<DatabaseHelper> {
                 e.printStackTrace();
             }
         } else {
-            if (L.isEnabled(L.DATATREATMENTS))
+            if (L.isEnabled(LTag.DATATREATMENTS))
                 log.info("onUpgrade");
 //            this.resetFood();
         }
@@ -183,11 +184,11 @@ public class TreatmentService extends OrmLiteBaseService<DatabaseHelper> {
 
         class PostRunnable implements Runnable {
             public void run() {
-                if (L.isEnabled(L.DATATREATMENTS))
+                if (L.isEnabled(LTag.DATATREATMENTS))
                     log.debug("Firing EventReloadTreatmentData");
                 RxBus.INSTANCE.send(event);
                 if (DatabaseHelper.earliestDataChange != null) {
-                    if (L.isEnabled(L.DATATREATMENTS))
+                    if (L.isEnabled(LTag.DATATREATMENTS))
                         log.debug("Firing EventNewHistoryData");
                     RxBus.INSTANCE.send(new EventNewHistoryData(DatabaseHelper.earliestDataChange));
                 }
@@ -280,7 +281,7 @@ public class TreatmentService extends OrmLiteBaseService<DatabaseHelper> {
                     boolean sameSource = existingTreatment.source == treatment.source;
                     if (!equalRePumpHistory) {
                         // another treatment exists. Update it with the treatment coming from the pump
-                        if (L.isEnabled(L.DATATREATMENTS))
+                        if (L.isEnabled(LTag.DATATREATMENTS))
                             log.debug("Pump record already found in database: " + existingTreatment.toString() + " wanting to add " + treatment.toString());
                         long oldDate = existingTreatment.date;
 
@@ -305,7 +306,7 @@ public class TreatmentService extends OrmLiteBaseService<DatabaseHelper> {
                     boolean equalRePumpHistory = existingTreatment.equalsRePumpHistory(treatment);
                     boolean sameSource = existingTreatment.source == treatment.source;
                     long oldDate = existingTreatment.date;
-                    if (L.isEnabled(L.DATATREATMENTS))
+                    if (L.isEnabled(LTag.DATATREATMENTS))
                         log.debug("Pump record already found in database: " + existingTreatment.toString() + " wanting to add " + treatment.toString());
 
                     //preserve carbs
@@ -322,7 +323,7 @@ public class TreatmentService extends OrmLiteBaseService<DatabaseHelper> {
                     return new UpdateReturn(equalRePumpHistory || sameSource, false);
                 }
                 getDao().create(treatment);
-                if (L.isEnabled(L.DATATREATMENTS))
+                if (L.isEnabled(LTag.DATATREATMENTS))
                     log.debug("New record from: " + Source.getString(treatment.source) + " " + treatment.toString());
                 DatabaseHelper.updateEarliestDataChange(treatment.date);
                 scheduleTreatmentChange(treatment);
@@ -337,7 +338,7 @@ public class TreatmentService extends OrmLiteBaseService<DatabaseHelper> {
                         getDao().delete(old); // need to delete/create because date may change too
                         old.copyFrom(treatment);
                         getDao().create(old);
-                        if (L.isEnabled(L.DATATREATMENTS))
+                        if (L.isEnabled(LTag.DATATREATMENTS))
                             log.debug("Updating record by date from: " + Source.getString(treatment.source) + " " + old.toString());
                         if (historyChange) {
                             DatabaseHelper.updateEarliestDataChange(oldDate);
@@ -346,7 +347,7 @@ public class TreatmentService extends OrmLiteBaseService<DatabaseHelper> {
                         scheduleTreatmentChange(treatment);
                         return new UpdateReturn(true, true);
                     }
-                    if (L.isEnabled(L.DATATREATMENTS))
+                    if (L.isEnabled(LTag.DATATREATMENTS))
                         log.debug("Equal record by date from: " + Source.getString(treatment.source) + " " + old.toString());
                     return new UpdateReturn(true, false);
                 }
@@ -360,7 +361,7 @@ public class TreatmentService extends OrmLiteBaseService<DatabaseHelper> {
                             getDao().delete(old); // need to delete/create because date may change too
                             old.copyFrom(treatment);
                             getDao().create(old);
-                            if (L.isEnabled(L.DATATREATMENTS))
+                            if (L.isEnabled(LTag.DATATREATMENTS))
                                 log.debug("Updating record by _id from: " + Source.getString(treatment.source) + " " + old.toString());
                             if (historyChange) {
                                 DatabaseHelper.updateEarliestDataChange(oldDate);
@@ -369,13 +370,13 @@ public class TreatmentService extends OrmLiteBaseService<DatabaseHelper> {
                             scheduleTreatmentChange(treatment);
                             return new UpdateReturn(true, true);
                         }
-                        if (L.isEnabled(L.DATATREATMENTS))
+                        if (L.isEnabled(LTag.DATATREATMENTS))
                             log.debug("Equal record by _id from: " + Source.getString(treatment.source) + " " + old.toString());
                         return new UpdateReturn(true, false);
                     }
                 }
                 getDao().create(treatment);
-                if (L.isEnabled(L.DATATREATMENTS))
+                if (L.isEnabled(LTag.DATATREATMENTS))
                     log.debug("New record from: " + Source.getString(treatment.source) + " " + treatment.toString());
                 DatabaseHelper.updateEarliestDataChange(treatment.date);
                 scheduleTreatmentChange(treatment);
@@ -383,7 +384,7 @@ public class TreatmentService extends OrmLiteBaseService<DatabaseHelper> {
             }
             if (treatment.source == Source.USER) {
                 getDao().create(treatment);
-                if (L.isEnabled(L.DATATREATMENTS))
+                if (L.isEnabled(LTag.DATATREATMENTS))
                     log.debug("New record from: " + Source.getString(treatment.source) + " " + treatment.toString());
                 DatabaseHelper.updateEarliestDataChange(treatment.date);
                 scheduleTreatmentChange(treatment);
@@ -411,7 +412,7 @@ public class TreatmentService extends OrmLiteBaseService<DatabaseHelper> {
 
             if (existingTreatment == null) {
                 getDao().create(treatment);
-                if (L.isEnabled(L.DATATREATMENTS))
+                if (L.isEnabled(LTag.DATATREATMENTS))
                     log.debug("New record from: " + Source.getString(treatment.source) + " " + treatment.toString());
                 DatabaseHelper.updateEarliestDataChange(treatment.date);
                 scheduleTreatmentChange(treatment);
@@ -624,7 +625,7 @@ public class TreatmentService extends OrmLiteBaseService<DatabaseHelper> {
     private void deleteByNSId(String _id) {
         Treatment stored = findByNSId(_id);
         if (stored != null) {
-            if (L.isEnabled(L.DATATREATMENTS))
+            if (L.isEnabled(LTag.DATATREATMENTS))
                 log.debug("Removing Treatment record from database: " + stored.toString());
             delete(stored);
             DatabaseHelper.updateEarliestDataChange(stored.date);
@@ -722,6 +723,26 @@ public class TreatmentService extends OrmLiteBaseService<DatabaseHelper> {
         return new ArrayList<>();
     }
 
+    /**
+     * Page ordered by date, date is primary key so last date is cursor for next page
+     *
+     * @param after exclusive
+     * @param to    inclusive
+     */
+    public List<Treatment> getTreatmentDataPage(long after, long to, long limit) {
+        try {
+            QueryBuilder<Treatment, Long> queryBuilder = getDao().queryBuilder();
+            queryBuilder.orderBy("date", true);
+            queryBuilder.limit(limit);
+            Where where = queryBuilder.where();
+            where.gt("date", after).and().le("date", to);
+            return queryBuilder.query();
+        } catch (SQLException e) {
+            log.error("Unhandled exception", e);
+        }
+        return new ArrayList<>();
+    }
+
     @Nullable
     @Override
     public IBinder onBind(Intent intent) {
@@ -41,6 +41,7 @@ import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.interfaces.PumpInterface;
 import info.nightscout.androidaps.interfaces.TreatmentsInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
 import info.nightscout.androidaps.plugins.configBuilder.ProfileFunctions;
@@ -57,6 +58,7 @@ import info.nightscout.androidaps.plugins.sensitivity.SensitivityAAPSPlugin;
 import info.nightscout.androidaps.plugins.sensitivity.SensitivityWeightedAveragePlugin;
 import info.nightscout.androidaps.utils.DateUtil;
 import info.nightscout.androidaps.utils.FabricPrivacy;
+import info.nightscout.androidaps.utils.HardLimits;
 import info.nightscout.androidaps.utils.SP;
 import info.nightscout.androidaps.utils.T;
 import io.reactivex.disposables.CompositeDisposable;
@@ -84,7 +86,8 @@ public class TreatmentsPlugin extends PluginBase implements TreatmentsInterface
     private IobTotal lastTempBasalsCalculation;
 
     private final ArrayList<Treatment> treatments = new ArrayList<>();
-    private final Intervals<TemporaryBasal> tempBasals = new NonOverlappingIntervals<>();
+    private long[] treatmentDates = new long[0]; // dates of treatments, newest at index 0
+    private final NonOverlappingIntervals<TemporaryBasal> tempBasals = new NonOverlappingIntervals<>();
     private final Intervals<ExtendedBolus> extendedBoluses = new NonOverlappingIntervals<>();
     private final Intervals<TempTarget> tempTargets = new OverlappingIntervals<>();
     private final ProfileIntervals<ProfileSwitch> profiles = new ProfileIntervals<>();
@@ -113,7 +116,7 @@ public class TreatmentsPlugin extends PluginBase implements TreatmentsInterface
                 .toObservable(EventReloadTreatmentData.class)
                 .observeOn(Schedulers.io())
                 .subscribe(event -> {
-                            if (L.isEnabled(L.DATATREATMENTS))
+                            if (L.isEnabled(LTag.DATATREATMENTS))
                                 log.debug("EventReloadTreatmentData");
                             initializeTreatmentData();
                             initializeExtendedBolusData();
@@ -138,7 +141,7 @@ public class TreatmentsPlugin extends PluginBase implements TreatmentsInterface
                 .toObservable(EventReloadTempBasalData.class)
                 .observeOn(Schedulers.io())
                 .subscribe(event -> {
-                            if (L.isEnabled(L.DATATREATMENTS))
+                            if (L.isEnabled(LTag.DATATREATMENTS))
                                 log.debug("EventReloadTempBasalData");
                             initializeTempBasalData();
                             updateTotalIOBTempBasals();
@@ -158,7 +161,7 @@ public class TreatmentsPlugin extends PluginBase implements TreatmentsInterface
     }
 
     private void initializeTreatmentData() {
-        if (L.isEnabled(L.DATATREATMENTS))
+        if (L.isEnabled(LTag.DATATREATMENTS))
             log.debug("initializeTreatmentData");
         double dia = Constants.defaultDIA;
         if (ConfigBuilderPlugin.getPlugin() != null && ProfileFunctions.getInstance().getProfile() != null)
@@ -167,11 +170,41 @@ public class TreatmentsPlugin extends PluginBase implements TreatmentsInterface
         synchronized (treatments) {
             treatments.clear();
             treatments.addAll(getService().getTreatmentDataFromTime(fromMills, false));
+            treatmentDates = new long[treatments.size()];
+            for (int i = 0; i < treatmentDates.length; i++)
+                treatmentDates[i] = treatments.get(i).date;
         }
     }
 
+    /**
+     * Must be called synchronized on treatments
+     *
+     * @return index of the newest treatment not after time
+     */
+    private int indexOfTreatmentAtOrBefore(long time) {
+        int lo = 0;
+        int hi = treatmentDates.length;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (treatmentDates[mid] <= time)
+                hi = mid;
+            else
+                lo = mid + 1;
+        }
+        return lo;
+    }
+
+    // temp basals ending before this can't contribute to IOB at time
+    private long tempBasalsWindowStart(long time) {
+        double dia = HardLimits.MAXDIA;
+        Profile profile = ProfileFunctions.getInstance().getProfile();
+        if (profile != null)
+            dia = Math.max(dia, profile.getDia());
+        return time - (long) (dia * T.hours(1).msecs());
+    }
+
     private void initializeTempBasalData() {
-        if (L.isEnabled(L.DATATREATMENTS))
+        if (L.isEnabled(LTag.DATATREATMENTS))
             log.debug("initializeTempBasalData");
         double dia = Constants.defaultDIA;
         if (ConfigBuilderPlugin.getPlugin() != null && ProfileFunctions.getInstance().getProfile() != null)
@@ -185,7 +218,7 @@ public class TreatmentsPlugin extends PluginBase implements TreatmentsInterface
     }
 
     private void initializeExtendedBolusData() {
-        if (L.isEnabled(L.DATATREATMENTS))
+        if (L.isEnabled(LTag.DATATREATMENTS))
             log.debug("initializeExtendedBolusData");
         double dia = Constants.defaultDIA;
         if (ConfigBuilderPlugin.getPlugin() != null && ProfileFunctions.getInstance().getProfile() != null)
@@ -199,20 +232,23 @@ public class TreatmentsPlugin extends PluginBase implements TreatmentsInterface
     }
 
     private void initializeTempTargetData() {
-        if (L.isEnabled(L.DATATREATMENTS))
+        if (L.isEnabled(LTag.DATATREATMENTS))
             log.debug("initializeTempTargetData");
         synchronized (tempTargets) {
             long fromMills = System.currentTimeMillis() - 60 * 60 * 1000L * 24;
             tempTargets.reset().add(MainApp.getDbHelper().getTemptargetsDataFromTime(fromMills, false));
         }
+        // target line is sampled from temp targets
+        IobCobCalculatorPlugin.getPlugin().getGraphDataCache().clearTargets();
     }
 
     private void initializeProfileSwitchData() {
-        if (L.isEnabled(L.DATATREATMENTS))
+        if (L.isEnabled(LTag.DATATREATMENTS))
             log.debug("initializeProfileSwitchData");
         synchronized (profiles) {
             profiles.reset().add(MainApp.getDbHelper().getProfileSwitchData(false));
         }
+        ProfileFunctions.getInstance().invalidateProfileCache("initializeProfileSwitchData");
     }
 
     @Override
@@ -237,26 +273,31 @@ public class TreatmentsPlugin extends PluginBase implements TreatmentsInterface
             return total;
 
         double dia = profile.getDia();
+        double snoozeDivisor = SP.getDouble(R.string.key_openapsama_bolussnooze_dia_divisor, 2.0);
+
+        // older treatments have neither IOB nor bolus snooze (insulin DIA is never shorter than profile DIA)
+        long fromTime = 0;
+        if (snoozeDivisor > 0)
+            fromTime = time - (long) (Math.max(dia, insulinInterface.getDia()) * T.hours(1).msecs() / Math.min(snoozeDivisor, 1)) - T.mins(1).msecs();
 
         synchronized (treatments) {
-            for (Integer pos = 0; pos < treatments.size(); pos++) {
+            for (int pos = indexOfTreatmentAtOrBefore(time); pos < treatments.size(); pos++) {
                 Treatment t = treatments.get(pos);
+                if (t.date < fromTime) break;
                 if (!t.isValid) continue;
-                if (t.date > time) continue;
                 Iob tIOB = t.iobCalc(time, dia);
                 total.iob += tIOB.iobContrib;
                 total.activity += tIOB.activityContrib;
-                if (t.insulin > 0 && t.date > total.lastBolusTime)
-                    total.lastBolusTime = t.date;
                 if (!t.isSMB) {
                     // instead of dividing the DIA that only worked on the bilinear curves,
                     // multiply the time the treatment is seen active.
                     long timeSinceTreatment = time - t.date;
-                    long snoozeTime = t.date + (long) (timeSinceTreatment * SP.getDouble(R.string.key_openapsama_bolussnooze_dia_divisor, 2.0));
+                    long snoozeTime = t.date + (long) (timeSinceTreatment * snoozeDivisor);
                     Iob bIOB = t.iobCalc(snoozeTime, dia);
                     total.bolussnooze += bIOB.iobContrib;
                 }
             }
+            total.lastBolusTime = lastBolusTimeAtOrBefore(time);
         }
 
         if (!pumpInterface.isFakingTempsByExtendedBoluses())
@@ -271,6 +312,91 @@ public class TreatmentsPlugin extends PluginBase implements TreatmentsInterface
         return total;
     }
 
+    @Override
+    public IobTotal[] getCalculationToTimesTreatments(long[] times) {
+        IobTotal[] totals = new IobTotal[times.length];
+        for (int i = 0; i < times.length; i++)
+            totals[i] = new IobTotal(times[i]);
+        if (times.length == 0)
+            return totals;
+
+        Profile profile = ProfileFunctions.getInstance().getProfile();
+        if (profile == null)
+            return totals;
+
+        InsulinInterface insulinInterface = ConfigBuilderPlugin.getPlugin().getActiveInsulin();
+        if (insulinInterface == null)
+            return totals;
+
+        PumpInterface pumpInterface = ConfigBuilderPlugin.getPlugin().getActivePump();
+        if (pumpInterface == null)
+            return totals;
+
+        double dia = profile.getDia();
+        double snoozeDivisor = SP.getDouble(R.string.key_openapsama_bolussnooze_dia_divisor, 2.0);
+
+        long minTime = times[0];
+        long maxTime = times[0];
+        for (long time : times) {
+            minTime = Math.min(minTime, time);
+            maxTime = Math.max(maxTime, time);
+        }
+        long fromTime = 0;
+        if (snoozeDivisor > 0)
+            fromTime = minTime - (long) (Math.max(dia, insulinInterface.getDia()) * T.hours(1).msecs() / Math.min(snoozeDivisor, 1)) - T.mins(1).msecs();
+
+        double[] iob = new double[times.length];
+        double[] activity = new double[times.length];
+        long[] snoozeTimes = new long[times.length];
+        double[] snoozeIob = new double[times.length];
+        double[] snoozeActivity = new double[times.length];
+
+        synchronized (treatments) {
+            for (int pos = indexOfTreatmentAtOrBefore(maxTime); pos < treatments.size(); pos++) {
+                Treatment t = treatments.get(pos);
+                if (t.date < fromTime) break;
+                if (!t.isValid) continue;
+                t.iobCalc(times, dia, iob, activity);
+                if (!t.isSMB) {
+                    for (int i = 0; i < times.length; i++)
+                        snoozeTimes[i] = t.date + (long) ((times[i] - t.date) * snoozeDivisor);
+                    t.iobCalc(snoozeTimes, dia, snoozeIob, snoozeActivity);
+                }
+                for (int i = 0; i < times.length; i++) {
+                    if (t.date > times[i]) continue;
+                    totals[i].iob += iob[i];
+                    totals[i].activity += activity[i];
+                    if (!t.isSMB)
+                        totals[i].bolussnooze += snoozeIob[i];
+                }
+            }
+            for (int i = 0; i < times.length; i++)
+                totals[i].lastBolusTime = lastBolusTimeAtOrBefore(times[i]);
+        }
+
+        if (!pumpInterface.isFakingTempsByExtendedBoluses())
+            synchronized (extendedBoluses) {
+                for (int pos = 0; pos < extendedBoluses.size(); pos++) {
+                    ExtendedBolus e = extendedBoluses.get(pos);
+                    for (int i = 0; i < times.length; i++) {
+                        if (e.date > times[i]) continue;
+                        totals[i].plus(e.iobCalc(times[i]));
+                    }
+                }
+            }
+        return totals;
+    }
+
+    // must be called synchronized on treatments
+    private long lastBolusTimeAtOrBefore(long time) {
+        for (int pos = indexOfTreatmentAtOrBefore(time); pos < treatments.size(); pos++) {
+            Treatment t = treatments.get(pos);
+            if (t.isValid && t.insulin > 0)
+                return t.date;
+        }
+        return 0;
+    }
+
     @Override
     public void updateTotalIOBTreatments() {
         lastTreatmentCalculation = getCalculationToTimeTreatments(System.currentTimeMillis());
@@ -368,11 +494,13 @@ public class TreatmentsPlugin extends PluginBase implements TreatmentsInterface
     public List<Treatment> getTreatments5MinBackFromHistory(long time) {
         List<Treatment> in5minback = new ArrayList<>();
         synchronized (treatments) {
-            for (Integer pos = 0; pos < treatments.size(); pos++) {
+            for (int pos = indexOfTreatmentAtOrBefore(time); pos < treatments.size(); pos++) {
                 Treatment t = treatments.get(pos);
+                if (t.date <= time - 5 * 60 * 1000)
+                    break;
                 if (!t.isValid)
                     continue;
-                if (t.date <= time && t.date > time - 5 * 60 * 1000 && t.carbs > 0)
+                if (t.carbs > 0)
                     in5minback.add(t);
             }
             return in5minback;
@@ -391,7 +519,7 @@ public class TreatmentsPlugin extends PluginBase implements TreatmentsInterface
                     last = t.date;
             }
         }
-        if (L.isEnabled(L.DATATREATMENTS))
+        if (L.isEnabled(LTag.DATATREATMENTS))
             log.debug("Last bolus time: " + new Date(last).toLocaleString());
         return last;
     }
@@ -407,7 +535,7 @@ public class TreatmentsPlugin extends PluginBase implements TreatmentsInterface
                     last = t.date;
             }
         }
-        if (L.isEnabled(L.DATATREATMENTS))
+        if (L.isEnabled(LTag.DATATREATMENTS))
             log.debug("Last manual bolus time: " + new Date(last).toLocaleString());
         return last;
     }
@@ -452,9 +580,9 @@ public class TreatmentsPlugin extends PluginBase implements TreatmentsInterface
             return total;
 
         synchronized (tempBasals) {
-            for (Integer pos = 0; pos < tempBasals.size(); pos++) {
+            for (int pos = tempBasals.indexOfFirstEndingAfter(tempBasalsWindowStart(time)); pos < tempBasals.size(); pos++) {
                 TemporaryBasal t = tempBasals.get(pos);
-                if (t.date > time) continue;
+                if (t.date > time) break;
                 IobTotal calc;
                 Profile profile = ProfileFunctions.getInstance().getProfile(t.date);
                 if (profile == null) continue;
@@ -508,9 +636,9 @@ public class TreatmentsPlugin extends PluginBase implements TreatmentsInterface
             return total;
 
         synchronized (tempBasals) {
-            for (int pos = 0; pos < tempBasals.size(); pos++) {
+            for (int pos = tempBasals.indexOfFirstEndingAfter(tempBasalsWindowStart(time)); pos < tempBasals.size(); pos++) {
                 TemporaryBasal t = tempBasals.get(pos);
-                if (t.date > time) continue;
+                if (t.date > time) break;
                 IobTotal calc;
                 Profile profile = ProfileFunctions.getInstance().getProfile(t.date);
                 if (profile == null) continue;
@@ -556,6 +684,67 @@ public class TreatmentsPlugin extends PluginBase implements TreatmentsInterface
         return total;
     }
 
+    @Override
+    public IobTotal[] getCalculationToTimesTempBasals(long[] times) {
+        return getCalculationToTimesTempBasals(times, false, 0);
+    }
+
+    public IobTotal[] getCalculationToTimesTempBasals(long[] times, boolean truncate, long truncateTime) {
+        return getCalculationToTimesTempBasals(times, truncate, truncateTime, null, false, 0, false);
+    }
+
+    public IobTotal[] getCalculationToTimesTempBasals(long[] times, long truncateTime, AutosensResult lastAutosensResult, boolean exercise_mode, int half_basal_exercise_target, boolean isTempTarget) {
+        return getCalculationToTimesTempBasals(times, true, truncateTime, lastAutosensResult, exercise_mode, half_basal_exercise_target, isTempTarget);
+    }
+
+    private IobTotal[] getCalculationToTimesTempBasals(long[] times, boolean truncate, long truncateTime, @Nullable AutosensResult lastAutosensResult, boolean exercise_mode, int half_basal_exercise_target, boolean isTempTarget) {
+        IobTotal[] totals = new IobTotal[times.length];
+
+        // temps faked by extended boluses are calculated time by time
+        if (ConfigBuilderPlugin.getPlugin().getActivePump().isFakingTempsByExtendedBoluses()) {
+            for (int i = 0; i < times.length; i++) {
+                if (lastAutosensResult == null)
+                    totals[i] = getCalculationToTimeTempBasals(times[i], truncate, truncateTime);
+                else
+                    totals[i] = getCalculationToTimeTempBasals(times[i], truncateTime, lastAutosensResult, exercise_mode, half_basal_exercise_target, isTempTarget);
+            }
+            return totals;
+        }
+
+        for (int i = 0; i < times.length; i++)
+            totals[i] = new IobTotal(times[i]);
+        if (times.length == 0)
+            return totals;
+
+        InsulinInterface insulinInterface = ConfigBuilderPlugin.getPlugin().getActiveInsulin();
+        if (insulinInterface == null)
+            return totals;
+
+        long minTime = times[0];
+        long maxTime = times[0];
+        for (long time : times) {
+            minTime = Math.min(minTime, time);
+            maxTime = Math.max(maxTime, time);
+        }
+
+        synchronized (tempBasals) {
+            for (int pos = tempBasals.indexOfFirstEndingAfter(tempBasalsWindowStart(minTime)); pos < tempBasals.size(); pos++) {
+                TemporaryBasal t = tempBasals.get(pos);
+                if (t.date > maxTime) break;
+                Profile profile = ProfileFunctions.getInstance().getProfile(t.date);
+                if (profile == null) continue;
+                if (truncate && t.end() > truncateTime) {
+                    TemporaryBasal dummyTemp = new TemporaryBasal();
+                    dummyTemp.copyFrom(t);
+                    dummyTemp.cutEndTo(truncateTime);
+                    t = dummyTemp;
+                }
+                t.iobCalc(times, totals, profile, lastAutosensResult, exercise_mode, half_basal_exercise_target, isTempTarget);
+            }
+        }
+        return totals;
+    }
+
     @Override
     public void updateTotalIOBTempBasals() {
         lastTempBasalsCalculation = getCalculationToTimeTempBasals(DateUtil.now());
@@ -23,6 +23,7 @@ import java.util.List;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.data.Iob;
+import info.nightscout.androidaps.data.IobTotal;
 import info.nightscout.androidaps.data.Profile;
 import info.nightscout.androidaps.db.Source;
 import info.nightscout.androidaps.events.EventTreatmentChange;
@@ -38,6 +39,7 @@ import info.nightscout.androidaps.plugins.treatments.dialogs.WizardInfoDialog;
 import info.nightscout.androidaps.utils.DateUtil;
 import info.nightscout.androidaps.utils.DecimalFormatter;
 import info.nightscout.androidaps.utils.FabricPrivacy;
+import info.nightscout.androidaps.utils.GuiRefresh;
 import info.nightscout.androidaps.utils.SP;
 import io.reactivex.android.schedulers.AndroidSchedulers;
 import io.reactivex.disposables.CompositeDisposable;
@@ -46,6 +48,14 @@ import static info.nightscout.androidaps.utils.DateUtil.now;
 
 public class TreatmentsBolusFragment extends Fragment implements View.OnClickListener {
     private CompositeDisposable disposable = new CompositeDisposable();
+    private final GuiRefresh<GuiData> guiRefresh = new GuiRefresh<>("TreatmentsBolus", GuiRefresh.FRAME, from -> prepareGui(), (data, from) -> updateGui(data));
+
+    // loaded on worker thread
+    private static class GuiData {
+        List<Treatment> treatments;
+        IobTotal lastCalculation;
+        boolean futureTreatments;
+    }
 
     RecyclerView recyclerView;
     LinearLayoutManager llm;
@@ -165,7 +175,7 @@ public class TreatmentsBolusFragment extends Fragment implements View.OnClickLis
                                     }
                                     TreatmentsPlugin.getPlugin().getService().delete(treatment);
                                 }
-                                updateGui();
+                                guiRefresh.request("delete");
                             }
                         });
                         builder.setNegativeButton(MainApp.gs(R.string.cancel), null);
@@ -250,7 +260,7 @@ public class TreatmentsBolusFragment extends Fragment implements View.OnClickLis
                         }
                         TreatmentsPlugin.getPlugin().getService().delete(treatment);
                     }
-                    updateGui();
+                    guiRefresh.request("deleteFuture");
                 });
                 builder.setNegativeButton(MainApp.gs(R.string.cancel), null);
                 builder.show();
@@ -264,29 +274,38 @@ public class TreatmentsBolusFragment extends Fragment implements View.OnClickLis
         disposable.add(RxBus.INSTANCE
                 .toObservable(EventTreatmentChange.class)
                 .observeOn(AndroidSchedulers.mainThread())
-                .subscribe(event -> updateGui(), FabricPrivacy::logException)
+                .subscribe(event -> guiRefresh.request("EventTreatmentChange"), FabricPrivacy::logException)
         );
         disposable.add(RxBus.INSTANCE
                 .toObservable(EventAutosensCalculationFinished.class)
                 .observeOn(AndroidSchedulers.mainThread())
-                .subscribe(event -> updateGui(), FabricPrivacy::logException)
+                .subscribe(event -> guiRefresh.request("EventAutosensCalculationFinished"), FabricPrivacy::logException)
         );
-        updateGui();
+        guiRefresh.resume();
     }
 
     @Override
     public synchronized void onPause() {
         super.onPause();
         disposable.clear();
+        guiRefresh.pause();
+    }
+
+    private GuiData prepareGui() {
+        GuiData data = new GuiData();
+        data.treatments = TreatmentsPlugin.getPlugin().getTreatmentsFromHistory();
+        data.lastCalculation = TreatmentsPlugin.getPlugin().getLastCalculationTreatments();
+        data.futureTreatments = !TreatmentsPlugin.getPlugin().getService().getTreatmentDataFromTime(now() + 1000, true).isEmpty();
+        return data;
     }
 
-    private void updateGui() {
-        recyclerView.swapAdapter(new RecyclerViewAdapter(TreatmentsPlugin.getPlugin().getTreatmentsFromHistory()), false);
-        if (TreatmentsPlugin.getPlugin().getLastCalculationTreatments() != null) {
-            iobTotal.setText(DecimalFormatter.to2Decimal(TreatmentsPlugin.getPlugin().getLastCalculationTreatments().iob) + " " + MainApp.gs(R.string.insulin_unit_shortname));
-            activityTotal.setText(DecimalFormatter.to3Decimal(TreatmentsPlugin.getPlugin().getLastCalculationTreatments().activity) + " " + MainApp.gs(R.string.insulin_unit_shortname));
+    private void updateGui(GuiData data) {
+        recyclerView.swapAdapter(new RecyclerViewAdapter(data.treatments), false);
+        if (data.lastCalculation != null) {
+            iobTotal.setText(DecimalFormatter.to2Decimal(data.lastCalculation.iob) + " " + MainApp.gs(R.string.insulin_unit_shortname));
+            activityTotal.setText(DecimalFormatter.to3Decimal(data.lastCalculation.activity) + " " + MainApp.gs(R.string.insulin_unit_shortname));
         }
-        if (!TreatmentsPlugin.getPlugin().getService().getTreatmentDataFromTime(now() + 1000, true).isEmpty()) {
+        if (data.futureTreatments) {
             deleteFutureTreatments.setVisibility(View.VISIBLE);
         } else {
             deleteFutureTreatments.setVisibility(View.GONE);
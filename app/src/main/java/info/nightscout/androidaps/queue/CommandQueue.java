@@ -22,6 +22,7 @@ import info.nightscout.androidaps.events.EventBolusRequested;
 import info.nightscout.androidaps.interfaces.Constraint;
 import info.nightscout.androidaps.interfaces.PumpInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
 import info.nightscout.androidaps.plugins.configBuilder.ProfileFunctions;
@@ -49,6 +50,7 @@ import info.nightscout.androidaps.queue.commands.CommandStartPump;
 import info.nightscout.androidaps.queue.commands.CommandStopPump;
 import info.nightscout.androidaps.queue.commands.CommandTempBasalAbsolute;
 import info.nightscout.androidaps.queue.commands.CommandTempBasalPercent;
+import info.nightscout.androidaps.utils.Profiler;
 
 /**
  * Created by mike on 08.11.2017.
@@ -121,16 +123,18 @@ public class CommandQueue {
 
     private synchronized void inject(Command command) {
         // inject as a first command
-        if (L.isEnabled(L.PUMPQUEUE))
+        if (L.isEnabled(LTag.PUMPQUEUE))
             log.debug("Adding as first: " + command.getClass().getSimpleName() + " - " + command.status());
+        command.queued = Profiler.start();
         synchronized (queue) {
             queue.addFirst(command);
         }
     }
 
     private synchronized void add(Command command) {
-        if (L.isEnabled(L.PUMPQUEUE))
+        if (L.isEnabled(LTag.PUMPQUEUE))
             log.debug("Adding: " + command.getClass().getSimpleName() + " - " + command.status());
+        command.queued = Profiler.start();
         synchronized (queue) {
             queue.add(command);
         }
@@ -167,24 +171,26 @@ public class CommandQueue {
     // After new command added to the queue
     // start thread again if not already running
     protected synchronized void notifyAboutNewCommand() {
+        long start = Profiler.start();
         while (thread != null && thread.getState() != Thread.State.TERMINATED && thread.waitingForDisconnect) {
-            if (L.isEnabled(L.PUMPQUEUE))
+            if (L.isEnabled(LTag.PUMPQUEUE))
                 log.debug("Waiting for previous thread finish");
             SystemClock.sleep(500);
         }
         if (thread == null || thread.getState() == Thread.State.TERMINATED) {
             thread = new QueueThread(this);
             thread.start();
-            if (L.isEnabled(L.PUMPQUEUE))
+            if (L.isEnabled(LTag.PUMPQUEUE))
                 log.debug("Starting new thread");
         } else {
-            if (L.isEnabled(L.PUMPQUEUE))
+            if (L.isEnabled(LTag.PUMPQUEUE))
                 log.debug("Thread is already running");
         }
+        Profiler.trace(Profiler.Stage.QUEUE_ENQUEUE, start);
     }
 
     public void independentConnect(String reason, Callback callback) {
-        if (L.isEnabled(L.PUMPQUEUE))
+        if (L.isEnabled(LTag.PUMPQUEUE))
             log.debug("Starting new queue");
         CommandQueue tempCommandQueue = new CommandQueue();
         tempCommandQueue.readStatus(reason, callback);
@@ -208,12 +214,12 @@ public class CommandQueue {
 
         if (type == Command.CommandType.SMB_BOLUS) {
             if (isRunning(Command.CommandType.BOLUS) || isRunning(Command.CommandType.SMB_BOLUS) || bolusInQueue()) {
-                if (L.isEnabled(L.PUMPQUEUE))
+                if (L.isEnabled(LTag.PUMPQUEUE))
                     log.debug("Rejecting SMB since a bolus is queue/running");
                 return false;
             }
             if (detailedBolusInfo.lastKnownBolusTime < TreatmentsPlugin.getPlugin().getLastBolusTime()) {
-                if (L.isEnabled(L.PUMPQUEUE))
+                if (L.isEnabled(LTag.PUMPQUEUE))
                     log.debug("Rejecting bolus, another bolus was issued since request time");
                 return false;
             }
@@ -386,7 +392,7 @@ public class CommandQueue {
     // returns true if command is queued
     public boolean setProfile(Profile profile, Callback callback) {
         if (isThisProfileSet(profile)) {
-            if (L.isEnabled(L.PUMPQUEUE))
+            if (L.isEnabled(LTag.PUMPQUEUE))
                 log.debug("Correct profile already set");
             if (callback != null)
                 callback.result(new PumpEnactResult().success(true).enacted(false)).run();
@@ -431,7 +437,7 @@ public class CommandQueue {
     // returns true if command is queued
     public boolean readStatus(String reason, Callback callback) {
         if (isLastScheduled(Command.CommandType.READSTATUS)) {
-            if (L.isEnabled(L.PUMPQUEUE))
+            if (L.isEnabled(LTag.PUMPQUEUE))
                 log.debug("READSTATUS " + reason + " ignored as duplicated");
             if (callback != null)
                 callback.result(executingNowError()).run();
@@ -565,7 +571,7 @@ public class CommandQueue {
         if (activePump != null && current != null) {
             boolean result = activePump.isThisProfileSet(profile);
             if (!result) {
-                if (L.isEnabled(L.PUMPQUEUE)) {
+                if (L.isEnabled(LTag.PUMPQUEUE)) {
                     log.debug("Current profile: " + current.toString());
                     log.debug("New profile: " + profile.toString());
                 }
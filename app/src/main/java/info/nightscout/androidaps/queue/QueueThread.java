@@ -14,10 +14,12 @@ import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.events.EventPumpStatusChanged;
 import info.nightscout.androidaps.interfaces.PumpInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
 import info.nightscout.androidaps.plugins.general.overview.events.EventDismissBolusProgressIfRunning;
 import info.nightscout.androidaps.queue.events.EventQueueChanged;
+import info.nightscout.androidaps.utils.Profiler;
 import info.nightscout.androidaps.utils.SP;
 import info.nightscout.androidaps.utils.T;
 
@@ -59,7 +61,7 @@ public class QueueThread extends Thread {
             while (true) {
                 PumpInterface pump = ConfigBuilderPlugin.getPlugin().getActivePump();
                 if (pump == null) {
-                    if (L.isEnabled(L.PUMPQUEUE))
+                    if (L.isEnabled(LTag.PUMPQUEUE))
                         log.debug("pump == null");
                     RxBus.INSTANCE.send(new EventPumpStatusChanged(MainApp.gs(R.string.pumpNotInitialized)));
                     SystemClock.sleep(1000);
@@ -70,7 +72,7 @@ public class QueueThread extends Thread {
                 if (!pump.isConnected() && secondsElapsed > Constants.PUMP_MAX_CONNECTION_TIME_IN_SECONDS) {
                     RxBus.INSTANCE.send(new EventDismissBolusProgressIfRunning(null));
                     RxBus.INSTANCE.send(new EventPumpStatusChanged(MainApp.gs(R.string.connectiontimedout)));
-                    if (L.isEnabled(L.PUMPQUEUE))
+                    if (L.isEnabled(LTag.PUMPQUEUE))
                         log.debug("timed out");
                     pump.stopConnecting();
 
@@ -79,7 +81,7 @@ public class QueueThread extends Thread {
                     long last_watchdog = SP.getLong(R.string.key_btwatchdog_lastbark, 0L);
                     watchdog = watchdog && System.currentTimeMillis() - last_watchdog > (Constants.MIN_WATCHDOG_INTERVAL_IN_SECONDS * 1000);
                     if (watchdog) {
-                        if (L.isEnabled(L.PUMPQUEUE))
+                        if (L.isEnabled(LTag.PUMPQUEUE))
                             log.debug("BT watchdog - toggeling the phonest bluetooth");
                         //write time
                         SP.putLong(R.string.key_btwatchdog_lastbark, System.currentTimeMillis());
@@ -99,7 +101,7 @@ public class QueueThread extends Thread {
                         pump.connect("watchdog");
                     } else {
                         queue.clear();
-                        if (L.isEnabled(L.PUMPQUEUE))
+                        if (L.isEnabled(LTag.PUMPQUEUE))
                             log.debug("no connection possible");
                         RxBus.INSTANCE.send(new EventPumpStatusChanged(EventPumpStatusChanged.Status.DISCONNECTING));
                         pump.disconnect("Queue empty");
@@ -109,7 +111,7 @@ public class QueueThread extends Thread {
                 }
 
                 if (pump.isHandshakeInProgress()) {
-                    if (L.isEnabled(L.PUMPQUEUE))
+                    if (L.isEnabled(LTag.PUMPQUEUE))
                         log.debug("handshaking " + secondsElapsed);
                     RxBus.INSTANCE.send(new EventPumpStatusChanged(EventPumpStatusChanged.Status.HANDSHAKING, (int) secondsElapsed));
                     SystemClock.sleep(100);
@@ -117,7 +119,7 @@ public class QueueThread extends Thread {
                 }
 
                 if (pump.isConnecting()) {
-                    if (L.isEnabled(L.PUMPQUEUE))
+                    if (L.isEnabled(LTag.PUMPQUEUE))
                         log.debug("connecting " + secondsElapsed);
                     RxBus.INSTANCE.send(new EventPumpStatusChanged(EventPumpStatusChanged.Status.CONNECTING, (int) secondsElapsed));
                     SystemClock.sleep(1000);
@@ -125,7 +127,7 @@ public class QueueThread extends Thread {
                 }
 
                 if (!pump.isConnected()) {
-                    if (L.isEnabled(L.PUMPQUEUE))
+                    if (L.isEnabled(LTag.PUMPQUEUE))
                         log.debug("connect");
                     RxBus.INSTANCE.send(new EventPumpStatusChanged(EventPumpStatusChanged.Status.CONNECTING, (int) secondsElapsed));
                     pump.connect("Connection needed");
@@ -136,17 +138,20 @@ public class QueueThread extends Thread {
                 if (queue.performing() == null) {
                     if (!connectLogged) {
                         connectLogged = true;
-                        if (L.isEnabled(L.PUMPQUEUE))
+                        if (L.isEnabled(LTag.PUMPQUEUE))
                             log.debug("connection time " + secondsElapsed + "s");
                     }
                     // Pickup 1st command and set performing variable
                     if (queue.size() > 0) {
                         queue.pickup();
                         if (queue.performing() != null) {
-                            if (L.isEnabled(L.PUMPQUEUE))
+                            if (L.isEnabled(LTag.PUMPQUEUE))
                                 log.debug("performing " + queue.performing().status());
                             RxBus.INSTANCE.send(new EventQueueChanged());
+                            Profiler.trace(Profiler.Stage.QUEUE_WAIT, queue.performing().queued);
+                            long start = Profiler.start();
                             queue.performing().execute();
+                            Profiler.trace(Profiler.Stage.PUMP_COMMAND, start);
                             queue.resetPerforming();
                             RxBus.INSTANCE.send(new EventQueueChanged());
                             lastCommandTime = System.currentTimeMillis();
@@ -160,16 +165,16 @@ public class QueueThread extends Thread {
                     long secondsFromLastCommand = (System.currentTimeMillis() - lastCommandTime) / 1000;
                     if (secondsFromLastCommand >= 5) {
                         waitingForDisconnect = true;
-                        if (L.isEnabled(L.PUMPQUEUE))
+                        if (L.isEnabled(LTag.PUMPQUEUE))
                             log.debug("queue empty. disconnect");
                         RxBus.INSTANCE.send(new EventPumpStatusChanged(EventPumpStatusChanged.Status.DISCONNECTING));
                         pump.disconnect("Queue empty");
                         RxBus.INSTANCE.send(new EventPumpStatusChanged(EventPumpStatusChanged.Status.DISCONNECTED));
-                        if (L.isEnabled(L.PUMPQUEUE))
+                        if (L.isEnabled(LTag.PUMPQUEUE))
                             log.debug("disconnected");
                         return;
                     } else {
-                        if (L.isEnabled(L.PUMPQUEUE))
+                        if (L.isEnabled(LTag.PUMPQUEUE))
                             log.debug("waiting for disconnect");
                         SystemClock.sleep(1000);
                     }
@@ -178,7 +183,7 @@ public class QueueThread extends Thread {
         } finally {
             if (mWakeLock != null && mWakeLock.isHeld())
                 mWakeLock.release();
-            if (L.isEnabled(L.PUMPQUEUE))
+            if (L.isEnabled(LTag.PUMPQUEUE))
                 log.debug("thread end");
         }
     }
@@ -7,6 +7,7 @@ import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.data.PumpEnactResult;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.queue.Callback;
 
 /**
@@ -33,6 +34,7 @@ public abstract class Command {
 
     public CommandType commandType;
     protected Callback callback;
+    public long queued; // Profiler.start() when added to queue
 
     public abstract void execute();
 
@@ -42,7 +44,7 @@ public abstract class Command {
         PumpEnactResult result = new PumpEnactResult();
         result.success = false;
         result.comment = MainApp.gs(R.string.connectiontimedout);
-        if (L.isEnabled(L.PUMPQUEUE))
+        if (L.isEnabled(LTag.PUMPQUEUE))
             log.debug("Result cancel");
         if (callback != null)
             callback.result(result).run();
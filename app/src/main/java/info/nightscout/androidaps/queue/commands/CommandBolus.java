@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import info.nightscout.androidaps.data.DetailedBolusInfo;
 import info.nightscout.androidaps.data.PumpEnactResult;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
 import info.nightscout.androidaps.plugins.general.overview.dialogs.BolusProgressDialog;
@@ -34,7 +35,7 @@ public class CommandBolus extends Command {
 
         BolusProgressDialog.bolusEnded = true;
         RxBus.INSTANCE.send(new EventDismissBolusProgressIfRunning(r));
-        if (L.isEnabled(L.PUMPQUEUE))
+        if (L.isEnabled(LTag.PUMPQUEUE))
             log.debug("Result success: " + r.success + " enacted: " + r.enacted);
 
         if (callback != null)
@@ -5,6 +5,7 @@ import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.data.PumpEnactResult;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
 import info.nightscout.androidaps.queue.Callback;
 
@@ -26,7 +27,7 @@ public class CommandCancelTempBasal extends Command {
     @Override
     public void execute() {
         PumpEnactResult r = ConfigBuilderPlugin.getPlugin().getActivePump().cancelTempBasal(enforceNew);
-        if (L.isEnabled(L.PUMPQUEUE))
+        if (L.isEnabled(LTag.PUMPQUEUE))
             log.debug("Result success: " + r.success + " enacted: " + r.enacted);
         if (callback != null)
             callback.result(r).run();
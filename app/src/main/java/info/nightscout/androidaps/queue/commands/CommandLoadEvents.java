@@ -7,6 +7,7 @@ import info.nightscout.androidaps.data.PumpEnactResult;
 import info.nightscout.androidaps.interfaces.DanaRInterface;
 import info.nightscout.androidaps.interfaces.PumpInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
 import info.nightscout.androidaps.queue.Callback;
 
@@ -28,7 +29,7 @@ public class CommandLoadEvents extends Command {
         if (pump instanceof DanaRInterface) {
             DanaRInterface danaPump = (DanaRInterface) pump;
             PumpEnactResult r = danaPump.loadEvents();
-            if (L.isEnabled(L.PUMPQUEUE))
+            if (L.isEnabled(LTag.PUMPQUEUE))
                 log.debug("Result success: " + r.success + " enacted: " + r.enacted);
             if (callback != null)
                 callback.result(r).run();
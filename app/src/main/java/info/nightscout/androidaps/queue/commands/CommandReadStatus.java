@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import info.nightscout.androidaps.data.PumpEnactResult;
 import info.nightscout.androidaps.interfaces.PumpInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
 import info.nightscout.androidaps.queue.Callback;
 import info.nightscout.androidaps.utils.LocalAlertUtils;
@@ -30,7 +31,7 @@ public class CommandReadStatus extends Command {
     public void execute() {
         ConfigBuilderPlugin.getPlugin().getActivePump().getPumpStatus();
         LocalAlertUtils.notifyPumpStatusRead();
-        if (L.isEnabled(L.PUMPQUEUE))
+        if (L.isEnabled(LTag.PUMPQUEUE))
             log.debug("CommandReadStatus executed. Reason: " + reason);
         final PumpInterface pump = ConfigBuilderPlugin.getPlugin().getActivePump();
         PumpEnactResult result = new PumpEnactResult().success(false);
@@ -6,6 +6,7 @@ import org.slf4j.LoggerFactory;
 import info.nightscout.androidaps.data.DetailedBolusInfo;
 import info.nightscout.androidaps.data.PumpEnactResult;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
 import info.nightscout.androidaps.plugins.treatments.TreatmentsPlugin;
 import info.nightscout.androidaps.queue.Callback;
@@ -33,18 +34,18 @@ public class CommandSMBBolus extends Command {
         PumpEnactResult r;
         long lastBolusTime = TreatmentsPlugin.getPlugin().getLastBolusTime();
         if (lastBolusTime != 0 && lastBolusTime + T.mins(3).msecs() > DateUtil.now()) {
-            if (L.isEnabled(L.PUMPQUEUE))
+            if (L.isEnabled(LTag.PUMPQUEUE))
                 log.debug("SMB requsted but still in 3 min interval");
             r = new PumpEnactResult().enacted(false).success(false).comment("SMB requsted but still in 3 min interval");
         } else if (detailedBolusInfo.deliverAt != 0 && detailedBolusInfo.deliverAt + T.mins(1).msecs() > System.currentTimeMillis()) {
             r = ConfigBuilderPlugin.getPlugin().getActivePump().deliverTreatment(detailedBolusInfo);
         } else {
             r = new PumpEnactResult().enacted(false).success(false).comment("SMB request too old");
-            if (L.isEnabled(L.PUMPQUEUE))
+            if (L.isEnabled(LTag.PUMPQUEUE))
                 log.debug("SMB bolus canceled. delivetAt: " + DateUtil.dateAndTimeString(detailedBolusInfo.deliverAt));
         }
 
-        if (L.isEnabled(L.PUMPQUEUE))
+        if (L.isEnabled(LTag.PUMPQUEUE))
             log.debug("Result success: " + r.success + " enacted: " + r.enacted);
 
         if (callback != null)
@@ -11,6 +11,7 @@ import info.nightscout.androidaps.db.ProfileSwitch;
 import info.nightscout.androidaps.db.Source;
 import info.nightscout.androidaps.interfaces.PluginType;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
 import info.nightscout.androidaps.plugins.general.smsCommunicator.SmsCommunicatorPlugin;
 import info.nightscout.androidaps.plugins.treatments.TreatmentsPlugin;
@@ -34,7 +35,7 @@ public class CommandSetProfile extends Command {
     @Override
     public void execute() {
         if (ConfigBuilderPlugin.getPlugin().getCommandQueue().isThisProfileSet(profile)) {
-            if (L.isEnabled(L.PUMPQUEUE))
+            if (L.isEnabled(LTag.PUMPQUEUE))
                 log.debug("Correct profile already set. profile: " + profile.toString());
             if (callback != null)
                 callback.result(new PumpEnactResult().success(true).enacted(false)).run();
@@ -42,7 +43,7 @@ public class CommandSetProfile extends Command {
         }
 
         PumpEnactResult r = ConfigBuilderPlugin.getPlugin().getActivePump().setNewBasalProfile(profile);
-        if (L.isEnabled(L.PUMPQUEUE))
+        if (L.isEnabled(LTag.PUMPQUEUE))
             log.debug("Result success: " + r.success + " enacted: " + r.enacted + " profile: " + profile.toString());
         if (callback != null)
             callback.result(r).run();
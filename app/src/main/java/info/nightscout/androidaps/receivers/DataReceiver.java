@@ -8,6 +8,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.services.DataService;
 
 public class DataReceiver extends WakefulBroadcastReceiver {
@@ -15,7 +16,7 @@ public class DataReceiver extends WakefulBroadcastReceiver {
 
     @Override
     public void onReceive(Context context, Intent intent) {
-        if (L.isEnabled(L.DATASERVICE))
+        if (L.isEnabled(LTag.DATASERVICE))
             log.debug("onReceive " + intent);
         startWakefulService(context, new Intent(context, DataService.class)
                 .setAction(intent.getAction())
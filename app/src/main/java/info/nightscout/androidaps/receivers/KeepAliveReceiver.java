@@ -16,6 +16,7 @@ import info.nightscout.androidaps.data.Profile;
 import info.nightscout.androidaps.events.EventProfileNeedsUpdate;
 import info.nightscout.androidaps.interfaces.PumpInterface;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
 import info.nightscout.androidaps.plugins.configBuilder.ProfileFunctions;
@@ -52,7 +53,7 @@ public class KeepAliveReceiver extends BroadcastReceiver {
         LocalAlertUtils.checkStaleBGAlert();
         checkPump();
 
-        if (L.isEnabled(L.CORE))
+        if (L.isEnabled(LTag.CORE))
             log.debug("KeepAlive received");
         wl.release();
     }
@@ -65,7 +66,7 @@ public class KeepAliveReceiver extends BroadcastReceiver {
             boolean isStatusOutdated = lastConnection + STATUS_UPDATE_FREQUENCY < System.currentTimeMillis();
             boolean isBasalOutdated = Math.abs(profile.getBasal() - pump.getBaseBasalRate()) > pump.getPumpDescription().basalStep;
 
-            if (L.isEnabled(L.CORE))
+            if (L.isEnabled(LTag.CORE))
                 log.debug("Last connection: " + DateUtil.dateAndTimeString(lastConnection));
             // sometimes keepalive broadcast stops
             // as as workaround test if readStatus was requested before an alarm is generated
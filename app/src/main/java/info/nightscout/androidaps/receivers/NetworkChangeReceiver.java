@@ -16,6 +16,7 @@ import org.slf4j.LoggerFactory;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.events.EventNetworkChange;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 
 public class NetworkChangeReceiver extends BroadcastReceiver {
@@ -55,7 +56,7 @@ public class NetworkChangeReceiver extends BroadcastReceiver {
                     if (wifiInfo.getSupplicantState() == SupplicantState.COMPLETED) {
                         event.setSsid(wifiInfo.getSSID());
                     }
-                    if (L.isEnabled(L.CORE))
+                    if (L.isEnabled(LTag.CORE))
                         log.debug("NETCHANGE: Wifi connected. SSID: " + event.connectedSsid());
                 }
             }
@@ -63,11 +64,11 @@ public class NetworkChangeReceiver extends BroadcastReceiver {
             if (activeNetwork.getType() == ConnectivityManager.TYPE_MOBILE) {
                 event.setMobileConnected(true);
                 event.setRoaming(activeNetwork.isRoaming());
-                if (L.isEnabled(L.CORE))
+                if (L.isEnabled(LTag.CORE))
                     log.debug("NETCHANGE: Mobile connected. Roaming: " + event.getRoaming());
             }
         } else {
-            if (L.isEnabled(L.CORE))
+            if (L.isEnabled(LTag.CORE))
                 log.debug("NETCHANGE: Disconnected.");
         }
 
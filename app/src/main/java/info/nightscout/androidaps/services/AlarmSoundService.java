@@ -17,6 +17,7 @@ import java.io.IOException;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.general.persistentNotification.PersistentNotificationPlugin;
 
 public class AlarmSoundService extends Service {
@@ -36,7 +37,7 @@ public class AlarmSoundService extends Service {
     @Override
     public void onCreate() {
         super.onCreate();
-        if (L.isEnabled(L.CORE))
+        if (L.isEnabled(LTag.CORE))
             log.debug("onCreate");
         Notification notification = PersistentNotificationPlugin.getPlugin().getLastNotification();
         startForeground(PersistentNotificationPlugin.ONGOING_NOTIFICATION_ID, notification);
@@ -47,7 +48,7 @@ public class AlarmSoundService extends Service {
         startForeground(PersistentNotificationPlugin.ONGOING_NOTIFICATION_ID, notification);
         if (player != null && player.isPlaying())
             player.stop();
-        if (L.isEnabled(L.CORE))
+        if (L.isEnabled(LTag.CORE))
             log.debug("onStartCommand");
         if (intent != null && intent.hasExtra("soundid"))
             resourceId = intent.getIntExtra("soundid", R.raw.error);
@@ -79,7 +80,7 @@ public class AlarmSoundService extends Service {
             player.release();
         }
 
-        if (L.isEnabled(L.CORE))
+        if (L.isEnabled(LTag.CORE))
             log.debug("onDestroy");
     }
 }
@@ -18,6 +18,7 @@ import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.events.EventAppExit;
 import info.nightscout.androidaps.events.EventLocationChange;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.plugins.general.persistentNotification.PersistentNotificationPlugin;
 import info.nightscout.androidaps.utils.FabricPrivacy;
@@ -41,14 +42,14 @@ public class LocationService extends Service {
     private class LocationListener implements android.location.LocationListener {
 
         LocationListener(String provider) {
-            if (L.isEnabled(L.LOCATION))
+            if (L.isEnabled(LTag.LOCATION))
                 log.debug("LocationListener " + provider);
             mLastLocation = new Location(provider);
         }
 
         @Override
         public void onLocationChanged(Location location) {
-            if (L.isEnabled(L.LOCATION))
+            if (L.isEnabled(LTag.LOCATION))
                 log.debug("onLocationChanged: " + location);
             mLastLocation.set(location);
             RxBus.INSTANCE.send(new EventLocationChange(location));
@@ -56,19 +57,19 @@ public class LocationService extends Service {
 
         @Override
         public void onProviderDisabled(String provider) {
-            if (L.isEnabled(L.LOCATION))
+            if (L.isEnabled(LTag.LOCATION))
                 log.debug("onProviderDisabled: " + provider);
         }
 
         @Override
         public void onProviderEnabled(String provider) {
-            if (L.isEnabled(L.LOCATION))
+            if (L.isEnabled(LTag.LOCATION))
                 log.debug("onProviderEnabled: " + provider);
         }
 
         @Override
         public void onStatusChanged(String provider, int status, Bundle extras) {
-            if (L.isEnabled(L.LOCATION))
+            if (L.isEnabled(LTag.LOCATION))
                 log.debug("onStatusChanged: " + provider);
         }
     }
@@ -83,7 +84,7 @@ public class LocationService extends Service {
     @Override
     public int onStartCommand(Intent intent, int flags, int startId) {
         super.onStartCommand(intent, flags, startId);
-        if (L.isEnabled(L.LOCATION))
+        if (L.isEnabled(LTag.LOCATION))
             log.debug("onStartCommand");
         startForeground(PersistentNotificationPlugin.ONGOING_NOTIFICATION_ID, PersistentNotificationPlugin.getPlugin().getLastNotification());
         return START_STICKY;
@@ -94,7 +95,7 @@ public class LocationService extends Service {
         super.onCreate();
         startForeground(PersistentNotificationPlugin.ONGOING_NOTIFICATION_ID, PersistentNotificationPlugin.getPlugin().getLastNotification());
 
-        if (L.isEnabled(L.LOCATION))
+        if (L.isEnabled(LTag.LOCATION))
             log.debug("onCreate");
 
         initializeLocationManager();
@@ -130,7 +131,7 @@ public class LocationService extends Service {
                 .toObservable(EventAppExit.class)
                 .observeOn(Schedulers.io())
                 .subscribe(event -> {
-                    if (L.isEnabled(L.CORE)) log.debug("EventAppExit received");
+                    if (L.isEnabled(LTag.CORE)) log.debug("EventAppExit received");
                     stopSelf();
                 }, FabricPrivacy::logException)
         );
@@ -138,7 +139,7 @@ public class LocationService extends Service {
 
     @Override
     public void onDestroy() {
-        if (L.isEnabled(L.LOCATION))
+        if (L.isEnabled(LTag.LOCATION))
             log.debug("onDestroy");
         super.onDestroy();
         if (mLocationManager != null) {
@@ -155,7 +156,7 @@ public class LocationService extends Service {
     }
 
     private void initializeLocationManager() {
-        if (L.isEnabled(L.LOCATION))
+        if (L.isEnabled(LTag.LOCATION))
             log.debug("initializeLocationManager - Provider: " + SP.getString(R.string.key_location, "NONE"));
         if (mLocationManager == null) {
             mLocationManager = (LocationManager) getApplicationContext().getSystemService(Context.LOCATION_SERVICE);
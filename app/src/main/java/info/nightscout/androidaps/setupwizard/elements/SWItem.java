@@ -14,6 +14,7 @@ import java.util.concurrent.TimeUnit;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.events.EventPreferenceChange;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.bus.RxBus;
 import info.nightscout.androidaps.setupwizard.events.EventSWUpdate;
 import info.nightscout.androidaps.utils.SP;
@@ -96,7 +97,7 @@ public class SWItem {
     private void scheduleChange(int updateDelay) {
         class PostRunnable implements Runnable {
             public void run() {
-                if (L.isEnabled(L.CORE))
+                if (L.isEnabled(LTag.CORE))
                     log.debug("Firing EventPreferenceChange");
                 RxBus.INSTANCE.send(new EventPreferenceChange(preferenceId));
                 RxBus.INSTANCE.send(new EventSWUpdate(false));
@@ -13,6 +13,7 @@ import java.util.List;
 import info.nightscout.androidaps.BuildConfig;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
 import info.nightscout.androidaps.plugins.constraints.signatureVerifier.SignatureVerifierPlugin;
 
@@ -49,7 +50,7 @@ public class FabricPrivacy {
             final Crashlytics crashlytics = Crashlytics.getInstance();
             crashlytics.core.logException(throwable);
         } catch (NullPointerException | IllegalStateException e) {
-            if (L.isEnabled(L.CORE))
+            if (L.isEnabled(LTag.CORE))
                 log.debug("Ignoring opted out non-initialized log: " + throwable);
         }
     }
@@ -60,7 +61,7 @@ public class FabricPrivacy {
             final Crashlytics crashlytics = Crashlytics.getInstance();
             crashlytics.core.log(msg);
         } catch (NullPointerException | IllegalStateException e) {
-            if (L.isEnabled(L.CORE))
+            if (L.isEnabled(LTag.CORE))
                 log.debug("Ignoring opted out non-initialized log: " + msg);
         }
     }
@@ -71,7 +72,7 @@ public class FabricPrivacy {
             final Crashlytics crashlytics = Crashlytics.getInstance();
             crashlytics.core.log(priority, tag, msg);
         } catch (NullPointerException | IllegalStateException e) {
-            if (L.isEnabled(L.CORE))
+            if (L.isEnabled(LTag.CORE))
                 log.debug("Ignoring opted out non-initialized log: " + msg);
         }
     }
@@ -86,11 +87,11 @@ public class FabricPrivacy {
             if (fabricEnabled()) {
                 MainApp.getFirebaseAnalytics().logEvent(FirebaseAnalytics.Event.SELECT_CONTENT, event);
             } else {
-                if (L.isEnabled(L.CORE))
+                if (L.isEnabled(LTag.CORE))
                     log.debug("Ignoring recently opted-out event: " + event.toString());
             }
         } catch (NullPointerException | IllegalStateException e) {
-            if (L.isEnabled(L.CORE))
+            if (L.isEnabled(LTag.CORE))
                 log.debug("Ignoring opted-out non-initialized event: " + event.toString());
         }
     }
@@ -101,11 +102,11 @@ public class FabricPrivacy {
             if (fabricEnabled()) {
                 MainApp.getFirebaseAnalytics().logEvent(event, new Bundle());
             } else {
-                if (L.isEnabled(L.CORE))
+                if (L.isEnabled(LTag.CORE))
                     log.debug("Ignoring recently opted-out event: " + event);
             }
         } catch (NullPointerException | IllegalStateException e) {
-            if (L.isEnabled(L.CORE))
+            if (L.isEnabled(LTag.CORE))
                 log.debug("Ignoring opted-out non-initialized event: " + event);
         }
     }
@@ -0,0 +1,207 @@
+package info.nightscout.androidaps.utils;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import info.nightscout.androidaps.logging.L;
+
+/**
+ * Coalesced GUI refresh of one fragment
+ * <p>
+ * Data is prepared on worker thread shared by all fragments and bound to views on main thread.
+ * Long preparations (graphs) get their own worker so they don't delay refresh of other fragments.
+ * Requests coming while refresh is waiting are merged to it, requests coming while it's running
+ * are merged to one following refresh. Requests of paused fragment are dropped, resume refreshes.
+ * Counts and durations are collected per name and exported with logs.
+ */
+public class GuiRefresh<T> {
+    private static final Logger log = LoggerFactory.getLogger(L.CORE);
+
+    // one frame
+    public static final long FRAME = 16;
+
+    public interface Preparer<T> {
+        // worker thread
+        T prepare(String from);
+    }
+
+    public interface Binder<T> {
+        // main thread
+        void bind(T data, String from);
+    }
+
+    static class Statistics {
+        final AtomicLong requests = new AtomicLong();
+        final AtomicLong refreshes = new AtomicLong();
+        final LatencyHistogram prepare = new LatencyHistogram();
+        final LatencyHistogram bind = new LatencyHistogram();
+    }
+
+    private static final ScheduledExecutorService sharedWorker = Executors.newSingleThreadScheduledExecutor();
+    private static final ScheduledExecutorService longWorker = Executors.newSingleThreadScheduledExecutor();
+    private static Handler mainHandler = null;
+    private static final Map<String, Statistics> statistics = new ConcurrentHashMap<>();
+
+    private final long delay;
+    private final Preparer<T> preparer;
+    private final Binder<T> binder;
+    private final ScheduledExecutorService worker;
+    private final Executor mainThread;
+    final Statistics stats;
+
+    // guarded by this
+    private boolean resumed = false;
+    private boolean scheduled = false;
+    private boolean running = false;
+    private boolean dirty = false;
+    private String from = "";
+
+    public GuiRefresh(String name, long delay, Preparer<T> preparer, Binder<T> binder) {
+        this(name, delay, preparer, binder, sharedWorker, GuiRefresh::postToMainThread);
+    }
+
+    GuiRefresh(String name, long delay, Preparer<T> preparer, Binder<T> binder, ScheduledExecutorService worker, Executor mainThread) {
+        this.delay = delay;
+        this.preparer = preparer;
+        this.binder = binder;
+        this.worker = worker;
+        this.mainThread = mainThread;
+        // fragments are recreated, statistics stay
+        synchronized (statistics) {
+            Statistics existing = statistics.get(name);
+            if (existing == null) {
+                existing = new Statistics();
+                statistics.put(name, existing);
+            }
+            this.stats = existing;
+        }
+    }
+
+    /**
+     * Refresh without preparation step, bind runs once per frame at most
+     */
+    public static GuiRefresh<Void> bindOnly(String name, Runnable bind) {
+        return new GuiRefresh<>(name, FRAME, null, (data, from) -> bind.run());
+    }
+
+    /**
+     * Refresh with long preparation, prepared on separate worker
+     */
+    public static <T> GuiRefresh<T> longPreparation(String name, long delay, Preparer<T> preparer, Binder<T> binder) {
+        return new GuiRefresh<>(name, delay, preparer, binder, longWorker, GuiRefresh::postToMainThread);
+    }
+
+    private static synchronized void postToMainThread(Runnable runnable) {
+        if (mainHandler == null)
+            mainHandler = new Handler(Looper.getMainLooper());
+        mainHandler.post(runnable);
+    }
+
+    public void request(String from) {
+        stats.requests.incrementAndGet();
+        synchronized (this) {
+            this.from = from;
+            if (!resumed || scheduled)
+                return;
+            if (running) {
+                dirty = true;
+                return;
+            }
+            scheduled = true;
+        }
+        worker.schedule(this::prepare, delay, TimeUnit.MILLISECONDS);
+    }
+
+    // call from onResume()
+    public void resume() {
+        synchronized (this) {
+            resumed = true;
+        }
+        request("onResume");
+    }
+
+    // call from onPause()
+    public synchronized void pause() {
+        resumed = false;
+        dirty = false;
+    }
+
+    private void prepare() {
+        String from;
+        synchronized (this) {
+            scheduled = false;
+            if (!resumed)
+                return;
+            running = true;
+            from = this.from;
+        }
+        T data = null;
+        long start = System.nanoTime();
+        try {
+            if (preparer != null)
+                data = preparer.prepare(from);
+        } catch (Exception e) {
+            log.error("Unhandled exception", e);
+            finish();
+            return;
+        }
+        stats.prepare.record((System.nanoTime() - start) / 1000);
+        final T prepared = data;
+        mainThread.execute(() -> bind(prepared, from));
+    }
+
+    private void bind(T data, String from) {
+        try {
+            boolean bind;
+            synchronized (this) {
+                bind = resumed;
+            }
+            if (bind) {
+                long start = System.nanoTime();
+                binder.bind(data, from);
+                stats.bind.record((System.nanoTime() - start) / 1000);
+                stats.refreshes.incrementAndGet();
+            }
+        } finally {
+            finish();
+        }
+    }
+
+    private void finish() {
+        synchronized (this) {
+            running = false;
+            if (!dirty || !resumed)
+                return;
+            dirty = false;
+            scheduled = true;
+        }
+        worker.schedule(this::prepare, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Text report of requests, refreshes and durations per fragment
+     */
+    public static String export() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Statistics> entry : new TreeMap<>(statistics).entrySet()) {
+            Statistics s = entry.getValue();
+            sb.append(entry.getKey()).append(": requests=").append(s.requests.get())
+                    .append(" refreshes=").append(s.refreshes.get()).append("\n")
+                    .append("  prepare: ").append(s.prepare.toString()).append("\n")
+                    .append("  bind: ").append(s.bind.toString()).append("\n");
+        }
+        return sb.toString();
+    }
+}
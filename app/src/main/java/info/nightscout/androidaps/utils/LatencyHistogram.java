@@ -0,0 +1,103 @@
+package info.nightscout.androidaps.utils;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock free histogram of durations in microseconds
+ * <p>
+ * Log-linear buckets (as in HdrHistogram): values below 16us are exact, above that
+ * every power of 2 is split to 8 buckets, so percentiles are within 12.5%
+ */
+
+public class LatencyHistogram {
+    private static final int LINEAR = 16;
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // up to 2^44 us, more than 200 days
+    private static final int MAX_EXPONENT = 44;
+    static final int BUCKETS = LINEAR + (MAX_EXPONENT - 4 + 1) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long micros) {
+        if (micros < 0) micros = 0;
+        counts.incrementAndGet(bucketOf(micros));
+        count.incrementAndGet();
+        sum.addAndGet(micros);
+        long currentMax;
+        while (micros > (currentMax = max.get()))
+            if (max.compareAndSet(currentMax, micros))
+                break;
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long n = count.get();
+        return n > 0 ? (double) sum.get() / n : 0;
+    }
+
+    /**
+     * @param p percentile 0..1
+     * @return value of bucket where percentile is reached (middle of bucket), never above max
+     */
+    public long getPercentile(double p) {
+        long n = count.get();
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(p * n));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts.get(bucket);
+            if (seen >= rank)
+                return Math.min(middleOf(bucket), getMax());
+        }
+        return getMax();
+    }
+
+    public void reset() {
+        for (int bucket = 0; bucket < BUCKETS; bucket++)
+            counts.set(bucket, 0);
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    static int bucketOf(long micros) {
+        if (micros < LINEAR) return (int) micros;
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > MAX_EXPONENT) return BUCKETS - 1;
+        int subBucket = (int) (micros >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return LINEAR + (exponent - 4) * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowerBoundOf(int bucket) {
+        if (bucket < LINEAR) return bucket;
+        int exponent = (bucket - LINEAR) / SUB_BUCKETS + 4;
+        int subBucket = (bucket - LINEAR) % SUB_BUCKETS;
+        return (1L << exponent) + ((long) subBucket << (exponent - SUB_BUCKET_BITS));
+    }
+
+    private static long middleOf(int bucket) {
+        if (bucket < LINEAR) return bucket;
+        int exponent = (bucket - LINEAR) / SUB_BUCKETS + 4;
+        return lowerBoundOf(bucket) + (1L << (exponent - SUB_BUCKET_BITS - 1));
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ENGLISH, "count=%d mean=%.1fms p50=%.1fms p90=%.1fms p99=%.1fms max=%.1fms",
+                getCount(), getMean() / 1000d, getPercentile(0.5) / 1000d, getPercentile(0.9) / 1000d,
+                getPercentile(0.99) / 1000d, getMax() / 1000d);
+    }
+}
@@ -12,6 +12,9 @@ public class MidnightTime {
 
     private static final int THRESHOLD = 100000;
 
+    // midnight and next midnight of last calculated day, read without locking
+    private static volatile long[] lastDay = {0, 0};
+
     public static long calc() {
         Calendar c = Calendar.getInstance();
         c.set(Calendar.HOUR_OF_DAY, 0);
@@ -22,6 +25,9 @@ public class MidnightTime {
     }
 
     public static long calc(long time) {
+        long[] day = lastDay;
+        if (time >= day[0] && time < day[1])
+            return day[0];
         Long m;
         synchronized (times) {
             m = times.get(time);
@@ -39,11 +45,15 @@ public class MidnightTime {
             times.append(time, m);
             ++misses;
             if (times.size() > THRESHOLD) resetCache();
+            c.add(Calendar.DAY_OF_MONTH, 1);
+            c.set(Calendar.HOUR_OF_DAY, 0);
+            lastDay = new long[]{m, c.getTimeInMillis()};
         }
         return m;
     }
 
     static void resetCache() {
+        lastDay = new long[]{0, 0};
         hits = 0;
         misses = 0;
         times.clear();
@@ -2,15 +2,134 @@ package info.nightscout.androidaps.utils;
 
 import org.slf4j.Logger;
 
+import java.util.concurrent.atomic.AtomicLong;
+
+import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.logging.LTag;
+
 /**
  * Created by mike on 29.01.2017.
+ * <p>
+ * Loop cycle tracing: duration of every stage goes to latency histogram of the stage
+ * and to ring buffer of recent spans. Recording is lock free, export is in MaintenancePlugin
  */
 
 public class Profiler {
     public Profiler(){}
 
+    public enum Stage {
+        BG_STORE("BG stored to database"),
+        NEW_BG_EVENT("BG stored to EventNewBG"),
+        AUTOSENS_THREAD("Autosens calculation thread"),
+        SENSITIVITY("detectSensitivity()"),
+        AUTOSENS_WAIT("APS waiting for autosens data"),
+        MEAL_DATA("getMealData()"),
+        IOB_ARRAY("calculateIobArrayInDia()"),
+        APS_CONSTRAINTS("APS constraint checks"),
+        APS_DATA("APS data gathering"),
+        DETERMINE_BASAL("determine-basal script"),
+        LOOP_CONSTRAINTS("Loop constraint checks"),
+        LOOP("Loop invoke"),
+        CYCLE("BG stored to loop result"),
+        QUEUE_ENQUEUE("Command enqueue and queue thread start"),
+        QUEUE_WAIT("Command waiting in queue"),
+        PUMP_COMMAND("Pump command execution");
+
+        public final String description;
+        final LatencyHistogram histogram = new LatencyHistogram();
+
+        Stage(String description) {
+            this.description = description;
+        }
+    }
+
+    private static final int RING_SIZE = 1024; // power of 2
+    private static final AtomicLong ringIndex = new AtomicLong();
+    // slots may be read while written, only used for export
+    private static final long[] ringTime = new long[RING_SIZE];
+    private static final long[] ringDuration = new long[RING_SIZE];
+    private static final long[] ringCycle = new long[RING_SIZE];
+    private static final Stage[] ringStage = new Stage[RING_SIZE];
+
+    private static final AtomicLong cycle = new AtomicLong();
+    private static final AtomicLong cycleStart = new AtomicLong();
+
     static public void log(Logger log, String function, long start) {
         long msec = System.currentTimeMillis() - start;
         log.debug(">>> " + function + " <<< executed in " + msec + " miliseconds");
     }
+
+    /**
+     * @return start of span for trace()
+     */
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * Records span of stage started at start
+     *
+     * @return duration in nanoseconds
+     */
+    public static long trace(Stage stage, long start) {
+        long duration = System.nanoTime() - start;
+        stage.histogram.record(duration / 1000);
+        int slot = (int) (ringIndex.getAndIncrement() & (RING_SIZE - 1));
+        ringTime[slot] = System.currentTimeMillis();
+        ringDuration[slot] = duration;
+        ringCycle[slot] = cycle.get();
+        ringStage[slot] = stage;
+        return duration;
+    }
+
+    /**
+     * Records span and logs it if logging of category is enabled
+     */
+    public static void trace(Stage stage, long start, Logger log, LTag category) {
+        long duration = trace(stage, start);
+        if (L.isEnabled(category))
+            log.debug(">>> " + stage.description + " <<< executed in " + duration / 1000000 + " miliseconds");
+    }
+
+    /**
+     * New BG starts new loop cycle
+     */
+    public static void startCycle(long start) {
+        cycle.incrementAndGet();
+        cycleStart.set(start);
+    }
+
+    /**
+     * Loop result of current cycle is known. Only first call after new BG is recorded
+     */
+    public static void endCycle() {
+        long start = cycleStart.getAndSet(0);
+        if (start != 0)
+            trace(Stage.CYCLE, start);
+    }
+
+    public static void reset() {
+        for (Stage stage : Stage.values())
+            stage.histogram.reset();
+    }
+
+    /**
+     * Text report of all stages and recent spans
+     */
+    public static String export() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Loop cycles: ").append(cycle.get()).append("\n\n");
+        for (Stage stage : Stage.values())
+            sb.append(stage.name()).append(" (").append(stage.description).append("): ").append(stage.histogram.toString()).append("\n");
+        sb.append("\nRecent spans (time, cycle, stage, ms):\n");
+        long end = ringIndex.get();
+        for (long i = Math.max(0, end - RING_SIZE); i < end; i++) {
+            int slot = (int) (i & (RING_SIZE - 1));
+            Stage stage = ringStage[slot];
+            if (stage == null) continue;
+            sb.append(DateUtil.toISOString(ringTime[slot])).append(" ").append(ringCycle[slot]).append(" ")
+                    .append(stage.name()).append(" ").append(ringDuration[slot] / 1000000d).append("\n");
+        }
+        return sb.toString();
+    }
 }
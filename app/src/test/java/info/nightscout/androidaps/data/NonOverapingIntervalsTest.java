@@ -46,6 +46,21 @@ public class NonOverapingIntervalsTest {
         Assert.assertEquals(null, list.getValueByInterval(startDate + T.hours(10).msecs() + 1));
     }
 
+    @Test
+    public void indexOfFirstEndingAfterTest() {
+        list.reset();
+        Assert.assertEquals(0, list.indexOfFirstEndingAfter(startDate));
+        // 0-3h, 3-4h, end at 5h
+        list.add(new TemporaryBasal().date(startDate).duration((int) T.hours(10).mins()).absolute(1));
+        list.add(new TemporaryBasal().date(startDate + T.hours(5).msecs()).duration(0));
+        list.add(new TemporaryBasal().date(startDate + T.hours(3).msecs()).duration((int) T.hours(1).mins()).absolute(2));
+        Assert.assertEquals(0, list.indexOfFirstEndingAfter(startDate - T.hours(1).msecs()));
+        Assert.assertEquals(0, list.indexOfFirstEndingAfter(startDate + T.hours(3).msecs() - 1));
+        Assert.assertEquals(1, list.indexOfFirstEndingAfter(startDate + T.hours(3).msecs()));
+        Assert.assertEquals(2, list.indexOfFirstEndingAfter(startDate + T.hours(4).msecs()));
+        Assert.assertEquals(3, list.indexOfFirstEndingAfter(startDate + T.hours(5).msecs()));
+    }
+
     @Test
     public void testCopyConstructor() {
         list.reset();
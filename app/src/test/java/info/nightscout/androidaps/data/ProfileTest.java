@@ -37,6 +37,7 @@ public class ProfileTest {
     String notAllignedBasalValidProfile = "{\"dia\":\"3\",\"carbratio\":[{\"time\":\"00:00\",\"value\":\"30\"}],\"carbs_hr\":\"20\",\"delay\":\"20\",\"sens\":[{\"time\":\"00:00\",\"value\":\"100\"}],\"timezone\":\"UTC\",\"basal\":[{\"time\":\"00:30\",\"value\":\"0.1\"}],\"target_low\":[{\"time\":\"00:00\",\"value\":\"4\"}],\"target_high\":[{\"time\":\"00:00\",\"value\":\"5\"}],\"startDate\":\"1970-01-01T00:00:00.000Z\",\"units\":\"mmol\"}";
     String notStartingAtZeroValidProfile = "{\"dia\":\"3\",\"carbratio\":[{\"time\":\"00:30\",\"value\":\"30\"}],\"carbs_hr\":\"20\",\"delay\":\"20\",\"sens\":[{\"time\":\"00:00\",\"value\":\"100\"}],\"timezone\":\"UTC\",\"basal\":[{\"time\":\"00:00\",\"value\":\"0.1\"}],\"target_low\":[{\"time\":\"00:00\",\"value\":\"4\"}],\"target_high\":[{\"time\":\"00:00\",\"value\":\"5\"}],\"startDate\":\"1970-01-01T00:00:00.000Z\",\"units\":\"mmol\"}";
     String noUnitsValidProfile = "{\"dia\":\"3\",\"carbratio\":[{\"time\":\"00:00\",\"value\":\"30\"}],\"carbs_hr\":\"20\",\"delay\":\"20\",\"sens\":[{\"time\":\"00:00\",\"value\":\"100\"}],\"timezone\":\"UTC\",\"basal\":[{\"time\":\"00:00\",\"value\":\"0.1\"}],\"target_low\":[{\"time\":\"00:00\",\"value\":\"4\"}],\"target_high\":[{\"time\":\"00:00\",\"value\":\"5\"}],\"startDate\":\"1970-01-01T00:00:00.000Z\"}";
+    String scheduleProfile = "{\"dia\":\"5\",\"carbratio\":[{\"time\":\"00:00\",\"value\":\"30\"}],\"carbs_hr\":\"20\",\"delay\":\"20\",\"sens\":[{\"time\":\"00:00\",\"value\":\"100\"},{\"time\":\"05:15\",\"value\":\"80\"},{\"time\":\"17:00\",\"value\":\"110\"}],\"timezone\":\"UTC\",\"basal\":[{\"time\":\"00:00\",\"value\":\"0.8\"},{\"time\":\"01:30\",\"value\":\"1.1\"},{\"time\":\"06:00\",\"value\":\"1.35\"},{\"time\":\"12:45\",\"value\":\"0.9\"},{\"time\":\"22:00\",\"value\":\"0.7\"}],\"target_low\":[{\"time\":\"00:00\",\"value\":\"100\"}],\"target_high\":[{\"time\":\"00:00\",\"value\":\"120\"}],\"startDate\":\"1970-01-01T00:00:00.000Z\",\"units\":\"mg/dl\"}";
     String wrongProfile = "{\"dia\":\"3\",\"carbs_hr\":\"20\",\"delay\":\"20\",\"sens\":[{\"time\":\"00:00\",\"value\":\"100\"}],\"timezone\":\"UTC\",\"basal\":[{\"time\":\"00:00\",\"value\":\"0.1\"}],\"target_low\":[{\"time\":\"00:00\",\"value\":\"4\"}],\"target_high\":[{\"time\":\"00:00\",\"value\":\"5\"}],\"startDate\":\"1970-01-01T00:00:00.000Z\",\"units\":\"mmol\"}";
 
     //String profileStore = "{\"defaultProfile\":\"Default\",\"store\":{\"Default\":" + validProfile + "}}";
@@ -139,6 +140,40 @@ public class ProfileTest {
         //Assert.assertEquals(true, ((AAPSMocker.MockedBus) MainApp.bus()).notificationSent);
     }
 
+    /**
+     * Lookup tables must give same values as linear search over profile values.
+     * Every minute of 30 days is evaluated
+     */
+    @Test
+    public void scheduleLookupTest() throws Exception {
+        Profile p = new Profile(new JSONObject(scheduleProfile), 150, 2);
+        Profile.ProfileValue[] basals = p.getBasalValues();
+        Profile.ProfileValue[] isfs = p.getIsfs();
+
+        long start = 1560000000000L;
+        long end = start + 30 * 24 * 60 * 60 * 1000L;
+        Calendar c = Calendar.getInstance();
+        for (long time = start; time < end; time += 60 * 1000L) {
+            c.setTimeInMillis(time);
+            c.set(Calendar.HOUR_OF_DAY, 0);
+            c.set(Calendar.MINUTE, 0);
+            c.set(Calendar.SECOND, 0);
+            c.set(Calendar.MILLISECOND, 0);
+            int seconds = (int) ((time - c.getTimeInMillis()) / 1000);
+            Assert.assertEquals(linearSearch(basals, seconds), p.getBasal(time), 0d);
+            Assert.assertEquals(linearSearch(isfs, seconds), p.getIsf(time), 0d);
+        }
+    }
+
+    private static double linearSearch(Profile.ProfileValue[] values, int timeAsSeconds) {
+        double last = values[0].value;
+        for (Profile.ProfileValue value : values) {
+            if (timeAsSeconds < value.timeAsSeconds) break;
+            last = value.value;
+        }
+        return last;
+    }
+
     @Before
     public void prepareMock() throws Exception {
         AAPSMocker.mockMainApp();
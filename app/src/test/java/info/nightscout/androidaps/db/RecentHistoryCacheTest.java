@@ -0,0 +1,122 @@
+package info.nightscout.androidaps.db;
+
+import org.junit.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import info.nightscout.androidaps.utils.T;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RecentHistoryCacheTest {
+
+    private final long now = 1560000000000L;
+    private final List<BgReading> table = new ArrayList<>();
+    private int loads = 0;
+
+    private final RecentHistoryCache.BgReadings cache = new RecentHistoryCache.BgReadings(from -> {
+        loads++;
+        List<BgReading> result = new ArrayList<>();
+        for (BgReading bgReading : table)
+            if (bgReading.date >= from)
+                result.add(copy(bgReading));
+        return result;
+    });
+
+    @Test
+    public void queryIsSameAsTableTest() throws SQLException {
+        Random random = new Random(1);
+        for (int i = 0; i < 2000; i++)
+            table.add(bg(now - T.mins(5 * i).msecs(), 30 + random.nextInt(300)));
+        long from = now - T.hours(24).msecs();
+
+        assertSameRecords(reference(from, Long.MAX_VALUE, true), cache.query(from, Long.MAX_VALUE, true, cache.valid, now));
+        assertEquals(1, loads);
+
+        // write-through
+        for (int i = 0; i < 500; i++) {
+            int action = random.nextInt(3);
+            long date = now - T.mins(random.nextInt(24 * 60)).msecs();
+            if (action == 0) {
+                BgReading bgReading = bg(date, 30 + random.nextInt(300));
+                table.removeIf(r -> r.date == date);
+                table.add(bgReading);
+                cache.put(bgReading);
+            } else if (action == 1) {
+                table.removeIf(r -> r.date == date);
+                cache.remove(date);
+            } else {
+                long end = date + T.mins(random.nextInt(600)).msecs();
+                assertSameRecords(reference(from, end, false), cache.query(from, end, false, cache.valid, now));
+                assertSameRecords(reference(date, end, true), cache.query(date, end, true, cache.valid, now));
+            }
+        }
+        assertEquals(1, loads);
+        // before window goes to SQL
+        assertNull(cache.query(now - T.days(4).msecs(), Long.MAX_VALUE, true, null, now));
+        cache.invalidate();
+        cache.query(from, Long.MAX_VALUE, true, null, now);
+        assertEquals(2, loads);
+    }
+
+    @Test
+    public void returnedRecordsAreCopiesTest() throws SQLException {
+        table.add(bg(now, 100));
+        BgReading first = cache.query(now - 1, Long.MAX_VALUE, true, null, now).get(0);
+        first.value = 200;
+        assertEquals(100, cache.query(now - 1, Long.MAX_VALUE, true, null, now).get(0).value, 0d);
+        assertTrue(first != cache.query(now - 1, Long.MAX_VALUE, true, null, now).get(0));
+    }
+
+    @Test
+    public void reversedRangeIsEmptyTest() throws SQLException {
+        for (int i = 0; i < 10; i++)
+            table.add(bg(now - T.mins(5 * i).msecs(), 120));
+        assertEquals(0, cache.query(now, now - T.mins(20).msecs(), true, null, now).size());
+        assertEquals(0, cache.query(now - T.mins(10).msecs(), now - T.mins(30).msecs(), false, cache.valid, now).size());
+        assertEquals(reference(now - T.mins(10).msecs(), now - T.mins(10).msecs(), true).size(),
+                cache.query(now - T.mins(10).msecs(), now - T.mins(10).msecs(), true, cache.valid, now).size());
+    }
+
+    // SQL of getBgreadingsDataFromTime()
+    private List<String> reference(long from, long to, boolean ascending) {
+        List<BgReading> result = new ArrayList<>();
+        for (BgReading bgReading : table)
+            if (bgReading.date >= from && bgReading.date <= to && bgReading.value >= 39 && bgReading.isValid)
+                result.add(bgReading);
+        result.sort((a, b) -> ascending ? Long.compare(a.date, b.date) : Long.compare(b.date, a.date));
+        return strings(result);
+    }
+
+    private void assertSameRecords(List<String> expected, List<BgReading> actual) {
+        assertEquals(expected, strings(actual));
+    }
+
+    private static List<String> strings(List<BgReading> list) {
+        List<String> result = new ArrayList<>();
+        for (BgReading bgReading : list)
+            result.add(bgReading.date + " " + bgReading.value + " " + bgReading.direction + " " + bgReading._id);
+        return result;
+    }
+
+    private static BgReading bg(long date, double value) {
+        BgReading bgReading = new BgReading();
+        bgReading.date = date;
+        bgReading.value = value;
+        bgReading.direction = "Flat";
+        bgReading._id = "id" + date;
+        bgReading.isValid = value != 100;
+        return bgReading;
+    }
+
+    private static BgReading copy(BgReading other) {
+        BgReading bgReading = bg(other.date, other.value);
+        bgReading.isValid = other.isValid;
+        return bgReading;
+    }
+}
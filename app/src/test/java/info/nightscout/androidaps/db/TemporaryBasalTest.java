@@ -0,0 +1,106 @@
+package info.nightscout.androidaps.db;
+
+import org.json.JSONObject;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import info.AAPSMocker;
+import info.nightscout.androidaps.Constants;
+import info.nightscout.androidaps.MainApp;
+import info.nightscout.androidaps.data.IobTotal;
+import info.nightscout.androidaps.data.Profile;
+import info.nightscout.androidaps.interfaces.PumpInterface;
+import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
+import info.nightscout.androidaps.plugins.configBuilder.ProfileFunctions;
+import info.nightscout.androidaps.plugins.insulin.InsulinOrefRapidActingPlugin;
+import info.nightscout.androidaps.plugins.iob.iobCobCalculator.AutosensResult;
+import info.nightscout.androidaps.plugins.pump.virtual.VirtualPumpPlugin;
+import info.nightscout.androidaps.utils.FabricPrivacy;
+import info.nightscout.androidaps.utils.T;
+
+import static org.mockito.Mockito.when;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({MainApp.class, ConfigBuilderPlugin.class, ProfileFunctions.class, VirtualPumpPlugin.class, FabricPrivacy.class, L.class})
+public class TemporaryBasalTest {
+
+    private final String profileJson = "{\"dia\":\"6\",\"carbratio\":[{\"time\":\"00:00\",\"value\":\"30\"}],\"carbs_hr\":\"20\",\"delay\":\"20\",\"sens\":[{\"time\":\"00:00\",\"value\":\"100\"}],\"timezone\":\"UTC\",\"basal\":[{\"time\":\"00:00\",\"value\":\"0.8\"},{\"time\":\"01:00\",\"value\":\"1.3\"},{\"time\":\"02:00\",\"value\":\"0.95\"}],\"target_low\":[{\"time\":\"00:00\",\"value\":\"110\"}],\"target_high\":[{\"time\":\"00:00\",\"value\":\"130\"}],\"startDate\":\"1970-01-01T00:00:00.000Z\",\"units\":\"mg/dl\"}";
+    private PumpInterface pump = new VirtualPumpPlugin();
+    private Profile profile;
+
+    private final long start = 1560000000000L - 1560000000000L % T.hours(24).msecs() + T.mins(7).msecs() + 1234;
+
+    @Before
+    public void prepareMock() throws Exception {
+        AAPSMocker.mockMainApp();
+        AAPSMocker.mockConfigBuilder();
+        AAPSMocker.mockStrings();
+        AAPSMocker.mockL();
+
+        when(ConfigBuilderPlugin.getPlugin().getActivePump()).thenReturn(pump);
+        profile = new Profile(new JSONObject(profileJson), Constants.MGDL);
+
+        PowerMockito.mockStatic(ProfileFunctions.class);
+        ProfileFunctions profileFunctions = PowerMockito.mock(ProfileFunctions.class);
+        when(ProfileFunctions.getInstance()).thenReturn(profileFunctions);
+        when(profileFunctions.getProfile()).thenReturn(profile);
+        when(ConfigBuilderPlugin.getPlugin().getActiveInsulin()).thenReturn(InsulinOrefRapidActingPlugin.getPlugin());
+    }
+
+    @Test
+    public void iobCalcForTimesTest() {
+        long[] times = new long[120];
+        for (int i = 0; i < times.length; i++)
+            times[i] = start - T.mins(30).msecs() + i * T.mins(5).msecs();
+
+        TemporaryBasal[] temps = {
+                new TemporaryBasal().date(start).duration(30).absolute(2.1),
+                new TemporaryBasal().date(start + T.mins(13).msecs()).duration(97).percent(40),
+                new TemporaryBasal().date(start + T.mins(3).msecs()).duration(240).percent(160),
+                new TemporaryBasal().date(start).duration(47).absolute(0)
+        };
+
+        AutosensResult autosensResult = new AutosensResult();
+        autosensResult.ratio = 0.83;
+
+        for (TemporaryBasal temp : temps) {
+            IobTotal[] totals = newTotals(times);
+            temp.iobCalc(times, totals, profile, null, false, 0, false);
+            IobTotal[] totalsAutosens = newTotals(times);
+            temp.iobCalc(times, totalsAutosens, profile, autosensResult, true, 160, true);
+
+            for (int i = 0; i < times.length; i++) {
+                IobTotal expected = new IobTotal(times[i]);
+                if (temp.date <= times[i])
+                    expected.plus(temp.iobCalc(times[i], profile));
+                assertSame(expected, totals[i]);
+
+                IobTotal expectedAutosens = new IobTotal(times[i]);
+                if (temp.date <= times[i])
+                    expectedAutosens.plus(temp.iobCalc(times[i], profile, autosensResult, true, 160, true));
+                assertSame(expectedAutosens, totalsAutosens[i]);
+            }
+        }
+    }
+
+    private IobTotal[] newTotals(long[] times) {
+        IobTotal[] totals = new IobTotal[times.length];
+        for (int i = 0; i < times.length; i++)
+            totals[i] = new IobTotal(times[i]);
+        return totals;
+    }
+
+    private void assertSame(IobTotal expected, IobTotal actual) {
+        Assert.assertEquals(expected.basaliob, actual.basaliob, 1e-12);
+        Assert.assertEquals(expected.activity, actual.activity, 1e-12);
+        Assert.assertEquals(expected.netbasalinsulin, actual.netbasalinsulin, 1e-12);
+        Assert.assertEquals(expected.hightempinsulin, actual.hightempinsulin, 1e-12);
+        Assert.assertEquals(expected.netInsulin, actual.netInsulin, 1e-12);
+    }
+}
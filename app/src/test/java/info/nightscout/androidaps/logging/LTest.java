@@ -0,0 +1,46 @@
+package info.nightscout.androidaps.logging;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import info.AAPSMocker;
+import info.nightscout.androidaps.utils.SP;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({SP.class})
+public class LTest {
+
+    @Test
+    public void everyTagHasElementAndLoggerNameTest() throws Exception {
+        assertEquals(LTag.values().length, L.getLogElements().size());
+        for (LTag tag : LTag.values()) {
+            assertEquals(tag.name(), L.getLogElements().get(tag.ordinal()).name);
+            assertEquals(tag.name(), L.class.getField(tag.name()).get(null));
+        }
+    }
+
+    @Test
+    public void isEnabledFollowsSettingTest() {
+        for (L.LogElement element : L.getLogElements()) {
+            element.setEnabled(true);
+            assertTrue(L.isEnabled(element.tag));
+            element.setEnabled(false);
+            assertFalse(L.isEnabled(element.tag));
+        }
+        L.resetToDefaults();
+        assertTrue(L.isEnabled(LTag.APS));
+        assertFalse(L.isEnabled(LTag.AUTOSENS));
+    }
+
+    @Before
+    public void prepareMock() {
+        AAPSMocker.mockSP();
+    }
+}
@@ -0,0 +1,140 @@
+package info.nightscout.androidaps.logging;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RingBufferAppenderTest {
+
+    private LoggerContext context;
+    private Logger logger;
+    private ListAppender<ILoggingEvent> output;
+
+    @Test
+    public void eventsAreDeliveredInOrderTest() {
+        RingBufferAppender appender = start(16);
+        for (int i = 0; i < 1000; i++)
+            logger.debug("Message {}", i);
+        appender.stop();
+        assertEquals(1000 - appender.getDropped(), output.list.size());
+        int previous = -1;
+        for (ILoggingEvent event : output.list) {
+            int i = (Integer) event.getArgumentArray()[0];
+            assertTrue(i > previous);
+            previous = i;
+        }
+        // caller data is taken on logging thread
+        assertEquals(RingBufferAppenderTest.class.getName(), output.list.get(0).getCallerData()[0].getClassName());
+    }
+
+    @Test
+    public void concurrentProducersTest() throws InterruptedException {
+        RingBufferAppender appender = start(1 << 16);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 5000; i++)
+                    logger.debug("Message {}", i);
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+        appender.stop();
+        assertEquals(0, appender.getDropped());
+        assertEquals(20000, output.list.size());
+    }
+
+    @Test
+    public void warningsAreNeverDroppedTest() {
+        RingBufferAppender appender = start(2);
+        for (int i = 0; i < 1000; i++) {
+            logger.debug("Debug {}", i);
+            logger.warn("Warning {}", i);
+        }
+        appender.stop();
+        int warnings = 0;
+        for (ILoggingEvent event : output.list)
+            if (event.getLevel() == Level.WARN)
+                warnings++;
+        assertEquals(1000, warnings);
+        assertEquals(2000 - appender.getDropped(), output.list.size());
+    }
+
+    @Test
+    public void warningsOfFullBufferKeepOrderTest() {
+        RingBufferAppender appender = start(2);
+        for (int i = 0; i < 1000; i++)
+            logger.warn("Warning {}", i);
+        appender.stop();
+        assertEquals(1000, output.list.size());
+        for (int i = 0; i < 1000; i++)
+            assertEquals(i, output.list.get(i).getArgumentArray()[0]);
+    }
+
+    @Test
+    public void idleWorkerIsParkedUntilNextEventTest() throws InterruptedException {
+        RingBufferAppender appender = start(16);
+        logger.debug("First");
+        Thread worker = waitForWaitingWorker();
+        logger.debug("Second");
+        // woken up by event, not by timeout
+        for (int i = 0; i < 100 && output.list.size() < 2; i++)
+            Thread.sleep(10);
+        assertEquals(2, output.list.size());
+        assertEquals(Thread.State.WAITING, waitForWaitingWorker().getState());
+        assertTrue(worker.isAlive());
+        appender.stop();
+        worker.join(1000);
+        assertFalse(worker.isAlive());
+    }
+
+    private Thread waitForWaitingWorker() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            for (Thread thread : Thread.getAllStackTraces().keySet())
+                if (thread.getName().equals("RingBufferAppender") && thread.getState() == Thread.State.WAITING)
+                    return thread;
+            Thread.sleep(10);
+        }
+        throw new AssertionError("Worker is not parked");
+    }
+
+    private RingBufferAppender start(int capacity) {
+        RingBufferAppender appender = new RingBufferAppender();
+        appender.setContext(context);
+        appender.setCapacity(capacity);
+        appender.addAppender(output);
+        appender.start();
+        logger.addAppender(appender);
+        return appender;
+    }
+
+    @Before
+    public void prepare() {
+        context = new LoggerContext();
+        logger = context.getLogger("test");
+        logger.setLevel(Level.DEBUG);
+        output = new ListAppender<>();
+        output.setContext(context);
+        output.start();
+    }
+
+    @After
+    public void cleanup() {
+        context.stop();
+    }
+}
@@ -0,0 +1,475 @@
+package info.nightscout.androidaps.plugins.aps.openAPSSMB;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mozilla.javascript.Context;
+import org.mozilla.javascript.Function;
+import org.mozilla.javascript.NativeJSON;
+import org.mozilla.javascript.NativeObject;
+import org.mozilla.javascript.Scriptable;
+import org.mozilla.javascript.Undefined;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+import org.skyscreamer.jsonassert.JSONAssert;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Random;
+
+import info.AAPSMocker;
+import info.nightscout.androidaps.data.IobTotal;
+import info.nightscout.androidaps.data.MealData;
+import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.plugins.aps.loop.ScriptReader;
+import info.nightscout.androidaps.plugins.aps.openAPSMA.LoggerCallback;
+import info.nightscout.androidaps.plugins.iob.iobCobCalculator.GlucoseStatus;
+
+/**
+ * Differential test of DetermineBasalSMB against determine-basal.js
+ * Every case is run through both engines and result JSON and script debug must be identical
+ */
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({L.class})
+public class DetermineBasalSMBTest {
+
+    private static class FileScriptReader extends ScriptReader {
+        FileScriptReader() {
+            super(null);
+        }
+
+        @Override
+        public byte[] readFile(String fileName) throws IOException {
+            return Files.readAllBytes(Paths.get("src/main/assets", fileName));
+        }
+    }
+
+    private static class Result {
+        JSONObject json;
+        String scriptDebug;
+    }
+
+    @Before
+    public void prepareMock() {
+        AAPSMocker.mockL();
+    }
+
+    // synthetic inputs of randomCase() shape, not recorded from a loop, kept fixed as regression set
+    @Test
+    public void fixedInputsTest() throws Exception {
+        String fixed = new String(Files.readAllBytes(Paths.get("src/test/res/openapssmb/determinebasal_fixed.json")), StandardCharsets.UTF_8);
+        JSONArray cases = new JSONArray(fixed);
+        Assert.assertTrue(cases.length() > 0);
+        for (int i = 0; i < cases.length(); i++)
+            assertSameResult("fixed " + i, cases.getJSONObject(i));
+    }
+
+    @Test
+    public void randomInputsTest() throws Exception {
+        Random random = new Random(1);
+        for (int i = 0; i < 300; i++)
+            assertSameResult("random " + i, randomCase(random));
+    }
+
+    @Test
+    public void highTemptargetRaisesSensitivityTest() throws Exception {
+        for (String flag : new String[]{"high_temptarget_raises_sensitivity", "exercise_mode"})
+            for (double target : new double[]{105, 110, 111, 120, 140, 160, 200})
+                for (double glucose : new double[]{90, 145, 220}) {
+                    JSONObject data = handWrittenCase(1571412300000L);
+                    data.getJSONObject("glucoseStatus").put("glucose", glucose);
+                    data.getJSONObject("profile").put(flag, true);
+                    setTempTarget(data, target);
+                    Result result = assertSameResult(flag + " " + target + " " + glucose, data);
+                    // only targets above 110 change sensitivity
+                    Assert.assertEquals(flag + " " + target, target > 110, result.scriptDebug.contains("Sensitivity ratio set to"));
+                }
+    }
+
+    @Test
+    public void lowTemptargetLowersSensitivityTest() throws Exception {
+        for (double autosensMax : new double[]{1.2, 1.5})
+            for (double target : new double[]{72, 80, 90, 99, 100})
+                for (double glucose : new double[]{70, 110, 180}) {
+                    JSONObject data = handWrittenCase(1571439600000L);
+                    data.getJSONObject("glucoseStatus").put("glucose", glucose);
+                    JSONObject profile = data.getJSONObject("profile");
+                    profile.put("low_temptarget_lowers_sensitivity", true);
+                    profile.put("enableSMB_with_COB", false);
+                    profile.put("enableSMB_with_temptarget", true);
+                    profile.put("autosens_max", autosensMax);
+                    setTempTarget(data, target);
+                    Result result = assertSameResult(autosensMax + " " + target + " " + glucose, data);
+                    Assert.assertEquals(target + "", target < 100, result.scriptDebug.contains("Sensitivity ratio set to"));
+                    Assert.assertEquals(target + "", target < 100, result.scriptDebug.contains("SMB enabled for temptarget"));
+                }
+        // 80 mg/dL would give 1.5, limited to autosens_max
+        JSONObject data = handWrittenCase(1571439600000L);
+        data.getJSONObject("profile").put("low_temptarget_lowers_sensitivity", true);
+        setTempTarget(data, 80);
+        Assert.assertTrue(assertSameResult("limited", data).scriptDebug.contains("Sensitivity ratio set to 1.2 based on temp target of 80"));
+    }
+
+    @Test
+    public void sensitivityFlagsWithoutTemptargetTest() throws Exception {
+        for (double ratio : new double[]{0.7, 0.85, 1, 1.15, 1.2}) {
+            JSONObject data = handWrittenCase(1571468400000L);
+            JSONObject profile = data.getJSONObject("profile");
+            profile.put("high_temptarget_raises_sensitivity", true);
+            profile.put("low_temptarget_lowers_sensitivity", true);
+            profile.put("resistance_lowers_target", true);
+            profile.put("min_bg", 90d);
+            profile.put("max_bg", 130d);
+            profile.put("target_bg", 110d);
+            data.getJSONObject("autosensData").put("ratio", ratio);
+            Result result = assertSameResult("ratio " + ratio, data);
+            Assert.assertTrue(result.scriptDebug.contains("Autosens ratio: " + DetermineBasalSMB.jsNumber(ratio)));
+        }
+    }
+
+    @Test
+    public void a52RiskEnableTest() throws Exception {
+        // every way to enable SMB, AAPS doesn't provide Bolus Wizard carbs so A52 must not change anything
+        String[] reasons = {"enableSMB_with_COB", "enableSMB_after_carbs", "enableSMB_with_temptarget", "enableSMB_always"};
+        for (String reason : reasons)
+            for (double glucose : new double[]{100, 160, 250}) {
+                JSONObject[] cases = new JSONObject[2];
+                for (int a52 = 0; a52 < 2; a52++) {
+                    JSONObject data = handWrittenCase(1571497200000L);
+                    data.getJSONObject("glucoseStatus").put("glucose", glucose);
+                    JSONObject profile = data.getJSONObject("profile");
+                    profile.put("A52_risk_enable", a52 == 1);
+                    profile.put("enableSMB_with_COB", false);
+                    profile.put(reason, true);
+                    if (reason.equals("enableSMB_with_temptarget"))
+                        setTempTarget(data, 90);
+                    cases[a52] = data;
+                }
+                Result without = assertSameResult(reason + " " + glucose, cases[0]);
+                Result with = assertSameResult("A52 " + reason + " " + glucose, cases[1]);
+                Assert.assertTrue(with.scriptDebug.contains("SMB enabled"));
+                Assert.assertEquals(without.scriptDebug, with.scriptDebug);
+                JSONAssert.assertEquals(without.json.toString(), with.json.toString(), true);
+            }
+    }
+
+    @Test
+    public void jsNumberTest() {
+        Assert.assertEquals("0", DetermineBasalSMB.jsNumber(-0d));
+        Assert.assertEquals("120", DetermineBasalSMB.jsNumber(120d));
+        Assert.assertEquals("0.30000000000000004", DetermineBasalSMB.jsNumber(0.1 + 0.2));
+        Assert.assertEquals("0.0001", DetermineBasalSMB.jsNumber(0.0001));
+        Assert.assertEquals("NaN", DetermineBasalSMB.jsNumber(Double.NaN));
+        Assert.assertEquals("1.00", DetermineBasalSMB.toFixed(1.005, 2)); // 1.005 is 1.00499999999999989...
+        Assert.assertEquals("-2.50", DetermineBasalSMB.toFixed(-2.5, 2));
+        Assert.assertEquals(-2d, DetermineBasalSMB.round(-2.5), 0d);
+        Assert.assertEquals(1.01, DetermineBasalSMB.round(1.005, 2), 0d);
+    }
+
+    private Result assertSameResult(String name, JSONObject data) throws Exception {
+        Result js = runJS(data);
+        Result java = runJava(data);
+
+        // new Date() of the JS is not under control
+        js.json.remove("deliverAt");
+        java.json.remove("deliverAt");
+        JSONAssert.assertEquals(name, js.json.toString(), java.json.toString(), true);
+        Assert.assertEquals(name, js.scriptDebug, java.scriptDebug);
+        return js;
+    }
+
+    private Result runJava(JSONObject data) throws Exception {
+        JSONObject glucose = data.getJSONObject("glucoseStatus");
+        GlucoseStatus glucoseStatus = new GlucoseStatus();
+        glucoseStatus.glucose = glucose.getDouble("glucose");
+        glucoseStatus.delta = glucose.getDouble("delta");
+        glucoseStatus.short_avgdelta = glucose.getDouble("short_avgdelta");
+        glucoseStatus.long_avgdelta = glucose.getDouble("long_avgdelta");
+        glucoseStatus.date = glucose.getLong("date");
+
+        JSONObject temp = data.getJSONObject("currentTemp");
+        DetermineBasalSMB.CurrentTemp currentTemp = new DetermineBasalSMB.CurrentTemp(temp.getInt("duration"), temp.getDouble("rate"),
+                temp.has("minutesrunning") ? temp.getInt("minutesrunning") : null);
+
+        JSONArray iobData = data.getJSONArray("iobData");
+        IobTotal[] iobArray = new IobTotal[iobData.length()];
+        for (int i = 0; i < iobArray.length; i++) {
+            iobArray[i] = toIobTotal(iobData.getJSONObject(i));
+            iobArray[i].iobWithZeroTemp = toIobTotal(iobData.getJSONObject(i).getJSONObject("iobWithZeroTemp"));
+        }
+
+        JSONObject meal = data.getJSONObject("mealData");
+        MealData mealData = new MealData();
+        mealData.carbs = meal.getDouble("carbs");
+        mealData.boluses = meal.getDouble("boluses");
+        mealData.mealCOB = meal.getDouble("mealCOB");
+        mealData.slopeFromMaxDeviation = meal.getDouble("slopeFromMaxDeviation");
+        mealData.slopeFromMinDeviation = meal.getDouble("slopeFromMinDeviation");
+        mealData.lastBolusTime = meal.getLong("lastBolusTime");
+        mealData.lastCarbTime = meal.getLong("lastCarbTime");
+
+        DetermineBasalSMB determineBasalSMB = new DetermineBasalSMB(data.getLong("now"));
+        Result result = new Result();
+        result.json = determineBasalSMB.determineBasal(glucoseStatus, currentTemp, iobArray, data.getJSONObject("profile"),
+                data.getJSONObject("autosensData").getDouble("ratio"), mealData, data.getBoolean("microBolusAllowed"));
+        result.scriptDebug = determineBasalSMB.getScriptDebug();
+        return result;
+    }
+
+    private IobTotal toIobTotal(JSONObject json) throws Exception {
+        IobTotal iobTotal = new IobTotal(0);
+        iobTotal.iob = json.getDouble("iob");
+        iobTotal.basaliob = json.getDouble("basaliob");
+        iobTotal.bolussnooze = json.getDouble("bolussnooze");
+        iobTotal.activity = json.getDouble("activity");
+        iobTotal.lastBolusTime = json.getLong("lastBolusTime");
+        return iobTotal;
+    }
+
+    private Result runJS(JSONObject data) throws Exception {
+        Context rhino = Context.enter();
+        rhino.setOptimizationLevel(-1);
+        try {
+            Scriptable scope = DetermineBasalAdapterSMBJS.scriptEngine.newScope(rhino, new FileScriptReader());
+            scope.put("console2", scope, rhino.newObject(scope, "LoggerCallback", null));
+            // make new Date() return the same time as used by DetermineBasalSMB
+            // (shared scope is sealed so Date is shadowed in invocation scope)
+            Object fixedDate = rhino.evaluateString(scope, "(function(RealDate) { return function(time) { return arguments.length ? new RealDate(time) : new RealDate(" + data.getLong("now") + "); }; })(Date)", "Date", 0, null);
+            scope.put("Date", scope, fixedDate);
+
+            Function determineBasal = (Function) scope.get("determine_basal", scope);
+            Object[] params = new Object[]{
+                    parse(data.getJSONObject("glucoseStatus").toString(), rhino, scope),
+                    parse(data.getJSONObject("currentTemp").toString(), rhino, scope),
+                    parse(data.getJSONArray("iobData").toString(), rhino, scope),
+                    parse(data.getJSONObject("profile").toString(), rhino, scope),
+                    parse(data.getJSONObject("autosensData").toString(), rhino, scope),
+                    parse(data.getJSONObject("mealData").toString(), rhino, scope),
+                    scope.get("tempBasalFunctions", scope),
+                    data.getBoolean("microBolusAllowed"),
+                    Undefined.instance
+            };
+            NativeObject jsResult = (NativeObject) determineBasal.call(rhino, scope, scope, params);
+            Result result = new Result();
+            result.scriptDebug = LoggerCallback.getScriptDebug();
+            result.json = new JSONObject(NativeJSON.stringify(rhino, scope, jsResult, null, null).toString());
+            return result;
+        } finally {
+            Context.exit();
+        }
+    }
+
+    private Object parse(String json, Context rhino, Scriptable scope) {
+        return NativeJSON.parse(rhino, scope, json, (context, scriptable, scriptable1, objects) -> objects[1]);
+    }
+
+    private static void setTempTarget(JSONObject data, double target) throws Exception {
+        JSONObject profile = data.getJSONObject("profile");
+        profile.put("temptargetSet", true);
+        profile.put("min_bg", target);
+        profile.put("max_bg", target);
+        profile.put("target_bg", target);
+    }
+
+    // hand written loop state an hour after a meal, branches are switched on by the tests
+    private JSONObject handWrittenCase(long now) throws Exception {
+        JSONObject glucose = new JSONObject();
+        glucose.put("glucose", 145d);
+        glucose.put("delta", 3d);
+        glucose.put("short_avgdelta", 2.5);
+        glucose.put("long_avgdelta", 1.8);
+        glucose.put("date", now - 120000L);
+
+        JSONObject currentTemp = new JSONObject();
+        currentTemp.put("temp", "absolute");
+        currentTemp.put("duration", 20);
+        currentTemp.put("rate", 0.8);
+        currentTemp.put("minutesrunning", 10);
+
+        JSONArray iobData = new JSONArray();
+        long lastBolusTime = now - 95 * 60000L;
+        for (int i = 0; i < 48; i++) {
+            JSONObject iobTick = new JSONObject();
+            iobTick.put("iob", Math.round(1.2 * Math.pow(0.95, i) * 1000) / 1000d);
+            iobTick.put("basaliob", Math.round(0.3 * Math.pow(0.95, i) * 1000) / 1000d);
+            iobTick.put("bolussnooze", 0d);
+            iobTick.put("activity", Math.round(0.012 * (1 - i / 60d) * 10000) / 10000d);
+            iobTick.put("lastBolusTime", lastBolusTime);
+            JSONObject zeroTemp = new JSONObject();
+            zeroTemp.put("iob", Math.round((iobTick.getDouble("iob") - 0.02 * i) * 1000) / 1000d);
+            zeroTemp.put("basaliob", 0d);
+            zeroTemp.put("bolussnooze", 0d);
+            zeroTemp.put("activity", Math.round((0.01 - 0.0002 * i) * 10000) / 10000d);
+            zeroTemp.put("lastBolusTime", lastBolusTime);
+            iobTick.put("iobWithZeroTemp", zeroTemp);
+            iobData.put(iobTick);
+        }
+
+        JSONObject profile = new JSONObject();
+        profile.put("max_iob", 3d);
+        profile.put("type", "current");
+        profile.put("max_daily_basal", 1.1);
+        profile.put("max_basal", 3d);
+        profile.put("min_bg", 100d);
+        profile.put("max_bg", 100d);
+        profile.put("target_bg", 100d);
+        profile.put("carb_ratio", 10d);
+        profile.put("sens", 50d);
+        profile.put("max_daily_safety_multiplier", 3);
+        profile.put("current_basal_safety_multiplier", 4d);
+        profile.put("high_temptarget_raises_sensitivity", false);
+        profile.put("low_temptarget_lowers_sensitivity", false);
+        profile.put("sensitivity_raises_target", true);
+        profile.put("resistance_lowers_target", false);
+        profile.put("adv_target_adjustments", false);
+        profile.put("exercise_mode", false);
+        profile.put("half_basal_exercise_target", 160);
+        profile.put("maxCOB", 120);
+        profile.put("skip_neutral_temps", false);
+        profile.put("remainingCarbsCap", 90);
+        profile.put("enableUAM", true);
+        profile.put("A52_risk_enable", false);
+        profile.put("enableSMB_with_COB", true);
+        profile.put("enableSMB_with_temptarget", false);
+        profile.put("allowSMB_with_high_temptarget", false);
+        profile.put("enableSMB_always", false);
+        profile.put("enableSMB_after_carbs", false);
+        profile.put("maxSMBBasalMinutes", 30);
+        profile.put("carbsReqThreshold", 1);
+        profile.put("current_basal", 0.9);
+        profile.put("temptargetSet", false);
+        profile.put("autosens_max", 1.2);
+
+        JSONObject meal = new JSONObject();
+        meal.put("carbs", 40d);
+        meal.put("boluses", 4d);
+        meal.put("mealCOB", 25d);
+        meal.put("slopeFromMaxDeviation", -0.5);
+        meal.put("slopeFromMinDeviation", 0.8);
+        meal.put("lastBolusTime", lastBolusTime);
+        meal.put("lastCarbTime", now - 60 * 60000L);
+
+        JSONObject data = new JSONObject();
+        data.put("now", now);
+        data.put("glucoseStatus", glucose);
+        data.put("currentTemp", currentTemp);
+        data.put("iobData", iobData);
+        data.put("profile", profile);
+        data.put("mealData", meal);
+        data.put("autosensData", new JSONObject().put("ratio", 1d));
+        data.put("microBolusAllowed", true);
+        return data;
+    }
+
+    // random but reasonably shaped inputs
+    private JSONObject randomCase(Random r) throws Exception {
+        long now = 1571400000000L;
+
+        JSONObject glucose = new JSONObject();
+        glucose.put("glucose", r.nextInt(20) == 0 ? 38 : round(r, 40, 350, 0));
+        glucose.put("delta", round(r, -15, 15, 2));
+        glucose.put("short_avgdelta", round(r, -12, 12, 2));
+        glucose.put("long_avgdelta", round(r, -10, 10, 2));
+        glucose.put("date", now - (r.nextInt(20) == 0 ? 20 * 60000 : r.nextInt(300000)));
+
+        int[] durations = {0, 0, 10, 20, 25, 29, 30, 60, 120, 240};
+        int duration = durations[r.nextInt(durations.length)];
+        JSONObject currentTemp = new JSONObject();
+        currentTemp.put("temp", "absolute");
+        currentTemp.put("duration", duration);
+        currentTemp.put("rate", duration == 0 || r.nextInt(5) == 0 ? 0d : round(r, 0, 3, 2));
+        if (duration > 0) currentTemp.put("minutesrunning", r.nextInt(60));
+
+        JSONArray iobData = new JSONArray();
+        double iob = round(r, -1.5, 5, 3);
+        double activity = round(r, -0.01, 0.05, 4);
+        double ztActivity = round(r, -0.01, 0.04, 4);
+        long lastBolusTime = now - 6000L * r.nextInt(2000);
+        for (int i = 0; i < 48; i++) {
+            JSONObject iobTick = new JSONObject();
+            iobTick.put("iob", Math.round(iob * Math.pow(0.95, i) * 1000) / 1000d);
+            iobTick.put("basaliob", round(r, -1, 1, 3));
+            iobTick.put("bolussnooze", 0d);
+            iobTick.put("activity", Math.round(activity * (1 - i / 60d) * 10000) / 10000d);
+            iobTick.put("lastBolusTime", lastBolusTime);
+            JSONObject zeroTemp = new JSONObject();
+            zeroTemp.put("iob", iobTick.getDouble("iob") - 0.01 * i);
+            zeroTemp.put("basaliob", 0d);
+            zeroTemp.put("bolussnooze", 0d);
+            zeroTemp.put("activity", Math.round((ztActivity - 0.0003 * i) * 10000) / 10000d);
+            zeroTemp.put("lastBolusTime", lastBolusTime);
+            iobTick.put("iobWithZeroTemp", zeroTemp);
+            iobData.put(iobTick);
+        }
+
+        boolean tempTarget = r.nextInt(4) == 0;
+        double minBg = tempTarget ? round(r, 72, 180, 0) : round(r, 72, 140, 0);
+        double maxBg = tempTarget || r.nextBoolean() ? minBg : minBg + round(r, 0, 40, 0);
+        JSONObject profile = new JSONObject();
+        profile.put("max_iob", round(r, 0, 6, 1));
+        profile.put("type", "current");
+        profile.put("max_daily_basal", round(r, 0.5, 2, 2));
+        profile.put("max_basal", round(r, 1, 4, 2));
+        profile.put("min_bg", minBg);
+        profile.put("max_bg", maxBg);
+        profile.put("target_bg", (minBg + maxBg) / 2);
+        profile.put("carb_ratio", round(r, 4, 20, 1));
+        profile.put("sens", round(r, 25, 120, 1));
+        profile.put("max_daily_safety_multiplier", 3);
+        profile.put("current_basal_safety_multiplier", 4d);
+        profile.put("high_temptarget_raises_sensitivity", false);
+        profile.put("low_temptarget_lowers_sensitivity", false);
+        profile.put("sensitivity_raises_target", true);
+        profile.put("resistance_lowers_target", r.nextBoolean());
+        profile.put("adv_target_adjustments", r.nextBoolean());
+        profile.put("exercise_mode", r.nextInt(5) == 0);
+        profile.put("half_basal_exercise_target", 160);
+        profile.put("maxCOB", 120);
+        profile.put("skip_neutral_temps", r.nextBoolean());
+        profile.put("remainingCarbsCap", 90);
+        profile.put("enableUAM", r.nextBoolean());
+        profile.put("A52_risk_enable", false);
+        profile.put("enableSMB_with_COB", r.nextBoolean());
+        profile.put("enableSMB_with_temptarget", r.nextBoolean());
+        profile.put("allowSMB_with_high_temptarget", r.nextBoolean());
+        profile.put("enableSMB_always", r.nextInt(3) == 0);
+        profile.put("enableSMB_after_carbs", r.nextBoolean());
+        profile.put("maxSMBBasalMinutes", 15 + r.nextInt(106));
+        profile.put("carbsReqThreshold", 1);
+        profile.put("current_basal", round(r, 0.2, 2.5, 2));
+        profile.put("temptargetSet", tempTarget);
+        profile.put("autosens_max", 1.2);
+        if (r.nextInt(3) == 0) profile.put("out_units", "mmol/L");
+
+        JSONObject meal = new JSONObject();
+        double carbs = r.nextInt(3) > 0 ? round(r, 5, 150, 0) : 0;
+        meal.put("carbs", carbs);
+        meal.put("boluses", round(r, 0, 10, 2));
+        meal.put("mealCOB", carbs == 0 || r.nextInt(5) == 0 ? 0d : round(r, 0, carbs, 1));
+        meal.put("slopeFromMaxDeviation", round(r, -3, 1, 3));
+        meal.put("slopeFromMinDeviation", round(r, -1, 3, 3));
+        meal.put("lastBolusTime", lastBolusTime);
+        meal.put("lastCarbTime", carbs == 0 ? 0 : now - 60000L * r.nextInt(360));
+
+        JSONObject data = new JSONObject();
+        data.put("now", now);
+        data.put("glucoseStatus", glucose);
+        data.put("currentTemp", currentTemp);
+        data.put("iobData", iobData);
+        data.put("profile", profile);
+        data.put("mealData", meal);
+        data.put("autosensData", new JSONObject().put("ratio", round(r, 0.7, 1.2, 2)));
+        data.put("microBolusAllowed", r.nextInt(4) > 0);
+        return data;
+    }
+
+    private static double round(Random r, double from, double to, int digits) {
+        double scale = Math.pow(10, digits);
+        return Math.round((from + r.nextDouble() * (to - from)) * scale) / scale;
+    }
+}
@@ -0,0 +1,53 @@
+package info.nightscout.androidaps.plugins.bus;
+
+import org.junit.Test;
+
+import info.nightscout.androidaps.events.EventLoop;
+import info.nightscout.androidaps.events.EventNewBG;
+import info.nightscout.androidaps.events.EventRefreshOverview;
+import info.nightscout.androidaps.events.EventTempBasalChange;
+import io.reactivex.observers.TestObserver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RxBusTest {
+
+    @Test
+    public void typedDispatchTest() throws InterruptedException {
+        TestObserver<EventNewBG> newBG = RxBus.INSTANCE.toObservable(EventNewBG.class).test();
+        TestObserver<EventLoop> loop = RxBus.INSTANCE.toObservable(EventLoop.class).test();
+        Thread.sleep(100); // subscription is done on io thread
+
+        RxBus.INSTANCE.send(new EventNewBG(null));
+        RxBus.INSTANCE.send(new EventTempBasalChange());
+
+        // not conflated events are delivered synchronously
+        newBG.assertValueCount(1);
+        // subscribers of supertype get subclasses
+        loop.assertValueCount(2);
+        newBG.dispose();
+        loop.dispose();
+    }
+
+    @Test
+    public void conflatedEventsTest() throws InterruptedException {
+        TestObserver<EventRefreshOverview> refresh = RxBus.INSTANCE.toObservable(EventRefreshOverview.class).test();
+        Thread.sleep(100);
+
+        for (int i = 0; i < 1000; i++)
+            RxBus.INSTANCE.send(new EventRefreshOverview("test " + i));
+        Thread.sleep(200);
+
+        int count = refresh.valueCount();
+        assertTrue(count >= 2 && count < 100);
+        // first one is immediate, last one is never lost
+        assertEquals("test 0", refresh.values().get(0).getFrom());
+        assertEquals("test 999", refresh.values().get(count - 1).getFrom());
+        refresh.dispose();
+
+        String statistics = RxBus.INSTANCE.statistics();
+        assertTrue(statistics.contains("EventRefreshOverview: sent="));
+        assertTrue(statistics.contains(" conflated"));
+    }
+}
@@ -0,0 +1,86 @@
+package info.nightscout.androidaps.plugins.configBuilder;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import info.AAPSMocker;
+import info.nightscout.androidaps.Constants;
+import info.nightscout.androidaps.MainApp;
+import info.nightscout.androidaps.data.Profile;
+import info.nightscout.androidaps.data.ProfileIntervals;
+import info.nightscout.androidaps.db.ProfileSwitch;
+import info.nightscout.androidaps.plugins.treatments.TreatmentService;
+import info.nightscout.androidaps.plugins.treatments.TreatmentsPlugin;
+import info.nightscout.androidaps.utils.DateUtil;
+import info.nightscout.androidaps.utils.T;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({MainApp.class, ConfigBuilderPlugin.class, TreatmentsPlugin.class, TreatmentService.class})
+public class ProfileTimelineTest {
+    private final long startDate = DateUtil.now();
+
+    @Test
+    public void sameAsProfileIntervalsTest() throws Exception {
+        ProfileIntervals<ProfileSwitch> list = new ProfileIntervals<>();
+        list.add(createSwitch(startDate, 0));
+        list.add(createSwitch(startDate + T.hours(5).msecs(), (int) T.hours(2).mins()));
+        list.add(createSwitch(startDate + T.hours(6).msecs(), (int) T.hours(3).mins()));
+        list.add(createSwitch(startDate + T.hours(12).msecs(), 0));
+        list.add(createSwitch(startDate + T.hours(20).msecs(), 30));
+        list.add(createSwitch(startDate + T.hours(20).msecs() + T.mins(30).msecs(), 30));
+
+        ProfileTimeline timeline = new ProfileTimeline(1, list, null);
+        for (long time = startDate - T.hours(1).msecs(); time < startDate + T.hours(24).msecs(); time += T.secs(37).msecs()) {
+            Profile expected = ProfileTimeline.resolve((ProfileSwitch) list.getValueToTime(time), null);
+            assertSame(expected, timeline.getProfile(time));
+            // profile doesn't change until returned end
+            long end = timeline.getEnd(time);
+            assertSame(expected, ProfileTimeline.resolve((ProfileSwitch) list.getValueToTime(end - 1), null));
+        }
+        // exact borders
+        assertSame(list.get(1).getProfileObject(), timeline.getProfile(startDate + T.hours(5).msecs()));
+        assertSame(list.get(1).getProfileObject(), timeline.getProfile(startDate + T.hours(6).msecs() - 1));
+        assertSame(list.get(2).getProfileObject(), timeline.getProfile(startDate + T.hours(6).msecs()));
+        assertEquals(startDate + T.hours(6).msecs(), timeline.getEnd(startDate + T.hours(5).msecs()));
+        assertEquals(Long.MAX_VALUE, timeline.getEnd(startDate + T.hours(23).msecs()));
+    }
+
+    @Test
+    public void emptyAndOpenStartTest() throws Exception {
+        ProfileTimeline empty = new ProfileTimeline(1, new ProfileIntervals<>(), null);
+        assertNull(empty.getProfile(startDate));
+        assertEquals(Long.MAX_VALUE, empty.getEnd(startDate));
+
+        // only limited switch, nothing before and after it
+        ProfileIntervals<ProfileSwitch> list = new ProfileIntervals<>();
+        list.add(createSwitch(startDate, 60));
+        ProfileTimeline timeline = new ProfileTimeline(2, list, null);
+        assertEquals(2, timeline.version);
+        assertNull(timeline.getProfile(startDate - 1));
+        assertEquals(startDate, timeline.getEnd(startDate - 1));
+        assertSame(list.get(0).getProfileObject(), timeline.getProfile(startDate + T.mins(60).msecs()));
+        assertNull(timeline.getProfile(startDate + T.mins(60).msecs() + 1));
+    }
+
+    private ProfileSwitch createSwitch(long date, int duration) throws Exception {
+        Profile profile = new Profile(AAPSMocker.getValidProfile().getData(), Constants.MGDL);
+        ProfileSwitch profileSwitch = new ProfileSwitch().date(date).duration(duration).profileName("p" + date).profile(profile);
+        profileSwitch.profileJson = profile.getData().toString();
+        return profileSwitch;
+    }
+
+    @Before
+    public void prepareMock() {
+        AAPSMocker.mockMainApp();
+        AAPSMocker.mockStrings();
+        AAPSMocker.mockConfigBuilder();
+        AAPSMocker.mockTreatmentPlugin();
+    }
+}
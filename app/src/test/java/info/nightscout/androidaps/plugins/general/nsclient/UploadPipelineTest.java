@@ -0,0 +1,219 @@
+package info.nightscout.androidaps.plugins.general.nsclient;
+
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import info.nightscout.androidaps.db.DbRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class UploadPipelineTest {
+
+    private static class MemoryStore implements UploadPipeline.Store {
+        final Map<String, DbRequest> rows = new LinkedHashMap<>();
+        int deleteCalls = 0;
+
+        synchronized void add(DbRequest dbr) {
+            rows.put(dbr.nsClientID, dbr);
+        }
+
+        @Override
+        public synchronized List<DbRequest> load(int limit, Set<String> skip) {
+            List<DbRequest> result = new ArrayList<>();
+            for (DbRequest dbr : rows.values()) {
+                if (result.size() == limit) break;
+                if (!skip.contains(dbr.nsClientID)) result.add(dbr);
+            }
+            return result;
+        }
+
+        @Override
+        public synchronized void delete(List<String> nsClientIds) {
+            deleteCalls++;
+            for (String id : nsClientIds)
+                rows.remove(id);
+        }
+
+        @Override
+        public synchronized long size() {
+            return rows.size();
+        }
+    }
+
+    private static class RecordingSender implements UploadPipeline.Sender {
+        final List<DbRequest> sent = new ArrayList<>();
+        boolean connected = true;
+
+        @Override
+        public boolean send(DbRequest dbr) {
+            if (!connected) return false;
+            sent.add(dbr);
+            return true;
+        }
+    }
+
+    private int counter = 0;
+
+    private DbRequest add() throws Exception {
+        String id = "c" + counter++;
+        return new DbRequest("dbAdd", "treatments", id, new JSONObject().put("NSCLIENT_ID", id));
+    }
+
+    private DbRequest update(String _id, String key, Object value) throws Exception {
+        return new DbRequest("dbUpdate", "treatments", "c" + counter++, _id, new JSONObject().put(key, value));
+    }
+
+    private DbRequest remove(String _id) {
+        return new DbRequest("dbRemove", "treatments", "c" + counter++, _id);
+    }
+
+    private DbRequest unset(String _id, String key) throws Exception {
+        return new DbRequest("dbUpdateUnset", "treatments", "c" + counter++, _id, new JSONObject().put(key, 1));
+    }
+
+    @Test
+    public void updatesOfSameIdAreCoalesced() throws Exception {
+        MemoryStore store = new MemoryStore();
+        store.add(update("a", "notes", "first"));
+        store.add(add());
+        store.add(update("a", "notes", "second"));
+        store.add(update("a", "duration", 30));
+        store.add(update("b", "notes", "x"));
+        store.add(remove("b"));
+        RecordingSender sender = new RecordingSender();
+        UploadPipeline pipeline = new UploadPipeline(sender, store, 10, 60000);
+
+        assertEquals(3, pipeline.pump(0));
+        DbRequest merged = sender.sent.get(0);
+        assertEquals("dbUpdate", merged.action);
+        JSONObject data = new JSONObject(merged.data);
+        assertEquals("second", data.getString("notes"));
+        assertEquals(30, data.getInt("duration"));
+        assertEquals("dbAdd", sender.sent.get(1).action);
+        assertEquals("dbRemove", sender.sent.get(2).action);
+
+        assertTrue(pipeline.acked("dbUpdate", "a"));
+        assertTrue(pipeline.acked("dbAdd", sender.sent.get(1).nsClientID));
+        assertTrue(pipeline.acked("dbRemove", "b"));
+        assertFalse(pipeline.acked("dbRemove", "b"));
+        pipeline.pump(1);
+        // all 6 rows in one delete
+        assertEquals(0, store.size());
+        assertEquals(1, store.deleteCalls);
+        assertTrue(pipeline.statistics(2).contains("coalesced=3"));
+    }
+
+    @Test
+    public void windowLimitsRequestsInFlight() throws Exception {
+        MemoryStore store = new MemoryStore();
+        for (int i = 0; i < 500; i++)
+            store.add(add());
+        RecordingSender sender = new RecordingSender();
+        UploadPipeline pipeline = new UploadPipeline(sender, store, 10, 60000);
+
+        assertEquals(10, pipeline.pump(0));
+        assertEquals(0, pipeline.pump(0));
+        for (int i = 0; i < 3; i++)
+            pipeline.acked("dbAdd", sender.sent.get(i).nsClientID);
+        assertEquals(3, pipeline.pump(0));
+        assertEquals(10, pipeline.inFlight());
+
+        sender.connected = false;
+        pipeline.reset();
+        assertEquals(0, pipeline.pump(0));
+        // acked rows were deleted, unacked are sent again after reconnect
+        sender.connected = true;
+        assertEquals(497, store.size());
+        assertEquals(10, pipeline.pump(0));
+        assertEquals(sender.sent.get(3).nsClientID, sender.sent.get(13).nsClientID);
+    }
+
+    @Test
+    public void orderOfSameIdIsKept() throws Exception {
+        MemoryStore store = new MemoryStore();
+        store.add(update("a", "notes", "x"));
+        store.add(unset("a", "notes"));
+        store.add(update("a", "notes", "y"));
+        store.add(add());
+        RecordingSender sender = new RecordingSender();
+        UploadPipeline pipeline = new UploadPipeline(sender, store, 10, 60000);
+
+        assertEquals(2, pipeline.pump(0));
+        assertEquals("dbUpdate", sender.sent.get(0).action);
+        assertEquals("dbAdd", sender.sent.get(1).action);
+        pipeline.acked("dbUpdate", "a");
+        assertEquals(1, pipeline.pump(0));
+        assertEquals("dbUpdateUnset", sender.sent.get(2).action);
+        pipeline.acked("dbUpdateUnset", "a");
+        assertEquals(1, pipeline.pump(0));
+        assertEquals("y", new JSONObject(sender.sent.get(3).data).getString("notes"));
+    }
+
+    @Test
+    public void unackedRequestIsSentAgainAfterTimeout() throws Exception {
+        MemoryStore store = new MemoryStore();
+        store.add(add());
+        RecordingSender sender = new RecordingSender();
+        UploadPipeline pipeline = new UploadPipeline(sender, store, 10, 60000);
+
+        assertEquals(1, pipeline.pump(0));
+        assertEquals(0, pipeline.pump(30000));
+        assertEquals(1, pipeline.pump(60001));
+        assertTrue(pipeline.statistics(60001).contains("timeouts=1"));
+    }
+
+    // acks every message from other thread after latency, as socket.io does
+    private static class StandInServer implements UploadPipeline.Sender {
+        final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+        final Map<String, Integer> received = new ConcurrentHashMap<>();
+        UploadPipeline pipeline;
+        CountDownLatch done;
+
+        @Override
+        public boolean send(DbRequest dbr) {
+            received.merge(dbr.nsClientID, 1, Integer::sum);
+            executor.schedule(() -> {
+                pipeline.acked(dbr.action, dbr.action.equals("dbAdd") ? dbr.nsClientID : dbr._id);
+                done.countDown();
+                pipeline.pump(System.currentTimeMillis());
+            }, 2, TimeUnit.MILLISECONDS);
+            return true;
+        }
+    }
+
+    @Test
+    public void backlogIsUploadedThroughStandInServer() throws Exception {
+        MemoryStore store = new MemoryStore();
+        int count = 2000;
+        for (int i = 0; i < count; i++)
+            store.add(add());
+        StandInServer server = new StandInServer();
+        server.done = new CountDownLatch(count);
+        server.pipeline = new UploadPipeline(server, store, 20, 60000);
+
+        server.pipeline.pump(System.currentTimeMillis());
+        assertTrue(server.done.await(30, TimeUnit.SECONDS));
+        server.pipeline.pump(System.currentTimeMillis());
+        server.executor.shutdown();
+
+        assertEquals(count, server.received.size());
+        for (int times : server.received.values())
+            assertEquals(1, times);
+        assertEquals(0, store.size());
+        // deleted in batches, not row by row
+        assertTrue(store.deleteCalls <= count / UploadPipeline.DELETE_BATCH + 1);
+    }
+}
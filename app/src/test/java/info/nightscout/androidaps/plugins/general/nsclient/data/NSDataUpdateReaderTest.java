@@ -0,0 +1,133 @@
+package info.nightscout.androidaps.plugins.general.nsclient.data;
+
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class NSDataUpdateReaderTest {
+
+    private static final String PAYLOAD = "{\"status\":{\"versionNum\":1203},"
+            + "\"profiles\":[{\"defaultProfile\":\"a\"},{\"defaultProfile\":\"b\"}],"
+            + "\"treatments\":[{\"_id\":\"t1\",\"eventType\":\"Meal Bolus\",\"insulin\":1.5,\"carbs\":20,\"mills\":1560000000000,\"notes\":null}],"
+            + "\"sgvs\":[{\"_id\":\"s1\",\"mgdl\":120,\"mills\":1560000000000,\"device\":\"xDrip\"},{\"_id\":\"s2\",\"mgdl\":125,\"mills\":1560000300000}],"
+            + "\"unknown\":[1,2,3],"
+            + "\"delta\":true}";
+
+    private static class CollectingSink implements NSDataUpdateReader.Sink {
+        boolean delta = false;
+        JSONObject status;
+        JSONObject profile;
+        List<JSONObject> treatments = new ArrayList<>();
+        List<JSONObject> sgvs = new ArrayList<>();
+        int records = 0;
+        int maxBatch = 0;
+
+        void count(List<JSONObject> batch) {
+            records += batch.size();
+            maxBatch = Math.max(maxBatch, batch.size());
+        }
+
+        @Override
+        public void onDelta() {
+            delta = true;
+        }
+
+        @Override
+        public void onStatus(JSONObject status) {
+            this.status = status;
+        }
+
+        @Override
+        public void onProfile(JSONObject profile) {
+            this.profile = profile;
+        }
+
+        @Override
+        public void onTreatments(List<JSONObject> batch) {
+            count(batch);
+            treatments.addAll(batch);
+        }
+
+        @Override
+        public void onDeviceStatuses(List<JSONObject> batch) {
+            count(batch);
+        }
+
+        @Override
+        public void onFoods(List<JSONObject> batch) {
+            count(batch);
+        }
+
+        @Override
+        public void onMbgs(List<JSONObject> batch) {
+            count(batch);
+        }
+
+        @Override
+        public void onCals(List<JSONObject> batch) {
+            count(batch);
+        }
+
+        @Override
+        public void onSgvs(List<JSONObject> batch) {
+            count(batch);
+            sgvs.addAll(batch);
+        }
+    }
+
+    @Test
+    public void parsedPayloadIsProcessed() throws Exception {
+        CollectingSink sink = new CollectingSink();
+        NSDataUpdateReader.read(new JSONObject(PAYLOAD), sink);
+
+        assertTrue(sink.delta);
+        assertEquals(1203, sink.status.getInt("versionNum"));
+        assertEquals("b", sink.profile.getString("defaultProfile"));
+        assertEquals(1, sink.treatments.size());
+        assertEquals(2, sink.sgvs.size());
+        JSONObject treatment = sink.treatments.get(0);
+        assertEquals(1.5, treatment.getDouble("insulin"), 0.0001);
+        assertEquals(1560000000000L, treatment.getLong("mills"));
+        assertEquals("s2", sink.sgvs.get(1).getString("_id"));
+    }
+
+    @Test
+    public void recordsArePassedInBoundedBatches() throws Exception {
+        JSONArray sgvs = new JSONArray();
+        for (int i = 0; i < 250; i++)
+            sgvs.put(new JSONObject().put("_id", "s" + i).put("mgdl", 100).put("mills", 1560000000000L + i * 300000L));
+        // non object entries are skipped
+        sgvs.put(5);
+        JSONObject data = new JSONObject().put("sgvs", sgvs);
+        final List<Integer> batches = new ArrayList<>();
+        CollectingSink sink = new CollectingSink() {
+            @Override
+            public void onSgvs(List<JSONObject> batch) {
+                super.onSgvs(batch);
+                batches.add(batch.size());
+            }
+        };
+        NSDataUpdateReader.read(data, sink);
+
+        assertEquals(250, sink.records);
+        assertEquals(NSDataUpdateReader.BATCH, sink.maxBatch);
+        assertEquals(3, batches.size());
+        assertEquals(50, (int) batches.get(2));
+        assertEquals("s249", sink.sgvs.get(249).getString("_id"));
+    }
+
+    @Test
+    public void parsedPayloadSectionsAreReleased() throws Exception {
+        JSONObject data = new JSONObject(PAYLOAD);
+        NSDataUpdateReader.read(data, new CollectingSink());
+        assertTrue(!data.has("sgvs") && !data.has("treatments"));
+        assertNotNull(data.opt("status"));
+    }
+}
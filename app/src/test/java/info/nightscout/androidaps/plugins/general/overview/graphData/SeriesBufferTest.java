@@ -0,0 +1,127 @@
+package info.nightscout.androidaps.plugins.general.overview.graphData;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SeriesBufferTest {
+    private static final long STEP = 60 * 1000L;
+    private static final long START = 1560000000000L;
+
+    private List<Long> sampled = new ArrayList<>();
+    private double offset = 0;
+
+    private boolean sample(long time, double[] values) {
+        sampled.add(time);
+        values[0] = (time - START) / STEP + offset;
+        values[1] = -values[0];
+        // no profile
+        return time != START + 3 * STEP;
+    }
+
+    private long time(int minutes) {
+        return START + minutes * STEP;
+    }
+
+    @Test
+    public void onlyNewSamplesAreCalculated() {
+        SeriesBuffer buffer = new SeriesBuffer(STEP, 2);
+
+        buffer.update(time(0), time(10), time(10), this::sample);
+        assertEquals(10, buffer.size());
+        assertEquals(10, sampled.size());
+        assertEquals(time(9), buffer.time(9));
+        assertEquals(9d, buffer.get(9, 0), 0.01d);
+        assertEquals(-9d, buffer.get(9, 1), 0.01d);
+        assertFalse(buffer.isAvailable(3));
+        assertTrue(buffer.isAvailable(4));
+
+        // one minute later
+        sampled.clear();
+        buffer.update(time(0), time(11), time(11), this::sample);
+        assertEquals(11, buffer.size());
+        assertEquals(1, sampled.size());
+        assertEquals(time(10), (long) sampled.get(0));
+    }
+
+    @Test
+    public void samplesAfterCacheUntilAreRecalculated() {
+        SeriesBuffer buffer = new SeriesBuffer(STEP, 2);
+
+        buffer.update(time(0), time(10), time(5), this::sample);
+        sampled.clear();
+        offset = 100;
+        buffer.update(time(0), time(10), time(5), this::sample);
+        assertEquals(5, sampled.size());
+        assertEquals(time(5), (long) sampled.get(0));
+        assertEquals(4d, buffer.get(4, 0), 0.01d);
+        assertEquals(105d, buffer.get(5, 0), 0.01d);
+
+        // shorter range uses cached part only
+        sampled.clear();
+        buffer.update(time(0), time(3), time(5), this::sample);
+        assertEquals(3, buffer.size());
+        assertEquals(0, sampled.size());
+    }
+
+    @Test
+    public void invalidateRecalculatesFromTime() {
+        SeriesBuffer buffer = new SeriesBuffer(STEP, 2);
+        buffer.update(time(0), time(10), time(10), this::sample);
+
+        sampled.clear();
+        offset = 100;
+        buffer.invalidate(time(7) + 1);
+        buffer.update(time(0), time(10), time(10), this::sample);
+        assertEquals(3, sampled.size());
+        assertEquals(time(7), (long) sampled.get(0));
+        assertEquals(6d, buffer.get(6, 0), 0.01d);
+        assertEquals(107d, buffer.get(7, 0), 0.01d);
+
+        sampled.clear();
+        buffer.clear();
+        buffer.update(time(0), time(10), time(10), this::sample);
+        assertEquals(10, sampled.size());
+    }
+
+    @Test
+    public void movingStartDropsOldSamples() {
+        SeriesBuffer buffer = new SeriesBuffer(STEP, 2);
+        buffer.update(time(0), time(100), time(100), this::sample);
+
+        // next hour of graph
+        sampled.clear();
+        buffer.update(time(60), time(130), time(130), this::sample);
+        assertEquals(70, buffer.size());
+        assertEquals(30, sampled.size());
+        assertEquals(time(60), buffer.time(0));
+        assertEquals(60d, buffer.get(0, 0), 0.01d);
+        assertEquals(-99d, buffer.get(39, 1), 0.01d);
+        assertEquals(129d, buffer.get(69, 0), 0.01d);
+
+        // not aligned to previous samples, everything is recalculated
+        sampled.clear();
+        buffer.update(time(60) + 1000, time(130), time(130), this::sample);
+        assertEquals(70, sampled.size());
+
+        // longer range
+        sampled.clear();
+        buffer.update(time(0), time(130), time(130), this::sample);
+        assertEquals(130, sampled.size());
+    }
+
+    @Test
+    public void stride() {
+        SeriesBuffer buffer = new SeriesBuffer(STEP, 2);
+        buffer.update(time(0), time(1440), time(1440), this::sample);
+        assertEquals(1, buffer.stride(0));
+        assertEquals(1, buffer.stride(1440));
+        assertEquals(2, buffer.stride(720));
+        assertEquals(1, buffer.stride(2000));
+    }
+}
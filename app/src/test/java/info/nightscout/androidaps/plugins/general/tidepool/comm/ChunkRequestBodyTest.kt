@@ -0,0 +1,170 @@
+package info.nightscout.androidaps.plugins.general.tidepool.comm
+
+import com.google.gson.stream.JsonReader
+import info.nightscout.androidaps.db.BgReading
+import info.nightscout.androidaps.plugins.general.tidepool.elements.BaseElement
+import info.nightscout.androidaps.plugins.general.tidepool.elements.SensorGlucoseElement
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import java.io.BufferedInputStream
+import java.io.ByteArrayInputStream
+import java.io.ByteArrayOutputStream
+import java.io.DataInputStream
+import java.io.IOException
+import java.io.InputStream
+import java.io.InputStreamReader
+import java.net.InetAddress
+import java.net.ServerSocket
+import java.net.Socket
+import java.util.*
+import java.util.zip.GZIPInputStream
+import kotlin.concurrent.thread
+
+class ChunkRequestBodyTest {
+
+    private val start = 1560000000000L
+
+    // local stand-in for Tidepool upload endpoint, one request per connection
+    private val server = ServerSocket(0, 0, InetAddress.getByName("127.0.0.1"))
+    @Volatile
+    private var receivedRecords = 0
+    @Volatile
+    private var receivedValueSum = 0L
+    @Volatile
+    private var headers = TreeMap<String, String>(String.CASE_INSENSITIVE_ORDER)
+
+    @Before
+    fun startServer() {
+        thread(isDaemon = true) {
+            while (!server.isClosed) {
+                try {
+                    server.accept().use { handle(it) }
+                } catch (e: IOException) {
+                    // closed
+                }
+            }
+        }
+    }
+
+    @After
+    fun stopServer() {
+        server.close()
+    }
+
+    private fun handle(socket: Socket) {
+        val input = BufferedInputStream(socket.getInputStream())
+        headers = TreeMap(String.CASE_INSENSITIVE_ORDER)
+        readLine(input)
+        while (true) {
+            val line = readLine(input)
+            if (line.isEmpty()) break
+            headers[line.substringBefore(":").trim()] = line.substringAfter(":").trim()
+        }
+        val compressed = ByteArrayOutputStream()
+        if (headers["transfer-encoding"] == "chunked") {
+            while (true) {
+                val size = Integer.parseInt(readLine(input).substringBefore(";").trim(), 16)
+                val chunk = ByteArray(size)
+                DataInputStream(input).readFully(chunk)
+                readLine(input)
+                if (size == 0) break
+                compressed.write(chunk)
+            }
+        } else {
+            val chunk = ByteArray(headers["content-length"]?.toInt() ?: 0)
+            DataInputStream(input).readFully(chunk)
+            compressed.write(chunk)
+        }
+        receivedRecords = 0
+        receivedValueSum = 0
+        val reader = JsonReader(InputStreamReader(GZIPInputStream(ByteArrayInputStream(compressed.toByteArray())), Charsets.UTF_8))
+        reader.beginArray()
+        while (reader.hasNext()) {
+            reader.beginObject()
+            while (reader.hasNext()) {
+                if (reader.nextName() == "value") receivedValueSum += reader.nextInt()
+                else reader.skipValue()
+            }
+            reader.endObject()
+            receivedRecords++
+        }
+        reader.endArray()
+        val output = socket.getOutputStream()
+        output.write("HTTP/1.1 200 OK\r\nContent-Type: application/json\r\nContent-Length: 2\r\nConnection: close\r\n\r\n{}".toByteArray())
+        output.flush()
+    }
+
+    private fun readLine(input: InputStream): String {
+        val line = StringBuilder()
+        while (true) {
+            val c = input.read()
+            if (c == -1 || c == '\n'.toInt()) break
+            if (c != '\r'.toInt()) line.append(c.toChar())
+        }
+        return line.toString()
+    }
+
+    // 5 min cgm readings generated on demand
+    private fun readings(days: Int): Sequence<BaseElement> = (0 until days * 288).asSequence().map {
+        val bgReading = BgReading()
+        bgReading.date = start + it * 5 * 60 * 1000L
+        bgReading.value = 100.0 + it % 50
+        SensorGlucoseElement(bgReading)
+    }
+
+    private fun upload(body: ChunkRequestBody) {
+        val request = Request.Builder()
+                .url("http://127.0.0.1:" + server.localPort + "/v1/datasets/test/data")
+                .header("Content-Encoding", "gzip")
+                .post(body)
+                .build()
+        OkHttpClient().newCall(request).execute().use { assertEquals(200, it.code()) }
+    }
+
+    @Test
+    fun largeChunkIsStreamedCompressed() {
+        val days = 7
+        val body = ChunkRequestBody { readings(days) }
+        assertFalse(body.empty)
+
+        upload(body)
+
+        val count = days * 288
+        assertEquals(count, receivedRecords)
+        assertEquals(count, body.records)
+        assertEquals(count, body.types["cbg"])
+        // 100..149 repeating
+        assertEquals((0 until count).map { 100L + it % 50 }.sum(), receivedValueSum)
+        assertEquals("gzip", headers["content-encoding"])
+        // size is not known in advance, body is sent chunked
+        assertNull(headers["content-length"])
+        assertTrue(body.compressedBytes * 4 < body.bytes)
+        assertTrue(TidepoolUploader.statistics(body, 2000).startsWith("$count records {cbg=$count}"))
+    }
+
+    @Test
+    fun bodyCanBeWrittenAgain() {
+        val body = ChunkRequestBody { readings(1) }
+        upload(body)
+        val bytes = body.bytes
+        upload(body)
+        assertEquals(288, receivedRecords)
+        assertEquals(288, body.records)
+        assertEquals(bytes, body.bytes)
+    }
+
+    @Test
+    fun emptyChunk() {
+        val body = ChunkRequestBody { emptySequence() }
+        assertTrue(body.empty)
+        upload(body)
+        assertEquals(0, receivedRecords)
+    }
+}
@@ -0,0 +1,79 @@
+package info.nightscout.androidaps.plugins.general.wear.wearintegration;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BgPacketTest {
+
+    private BgPacket history(int count) {
+        BgPacket packet = new BgPacket(count, false);
+        long start = 1560000000000L;
+        for (int i = 0; i < count; i++)
+            packet.set(i, start + i * 5 * 60 * 1000L + i, 100.4 + i);
+        packet.session = 123456789012345L;
+        packet.sequence = 8;
+        packet.baseSequence = 7;
+        packet.high = BgPacket.toShort(180);
+        packet.low = BgPacket.toShort(72.6);
+        return packet;
+    }
+
+    @Test
+    public void roundTrip() {
+        BgPacket packet = history(66);
+        byte[] data = packet.encode();
+        // 5.5h of 5 min readings
+        assertTrue(data.length < 450);
+        assertFalse(BgPacket.isFull(data));
+
+        BgPacket decoded = BgPacket.decode(data);
+        assertEquals(packet.session, decoded.session);
+        assertEquals(8, decoded.sequence);
+        assertEquals(7, decoded.baseSequence);
+        assertFalse(decoded.full);
+        assertEquals(180, decoded.high);
+        assertEquals(73, decoded.low);
+        assertArrayEquals(packet.timestamps, decoded.timestamps);
+        assertArrayEquals(packet.values, decoded.values);
+        assertEquals(100, decoded.values[0]);
+        assertNull(decoded.colors);
+    }
+
+    @Test
+    public void predictionsWithColors() {
+        BgPacket packet = new BgPacket(3, true);
+        packet.set(0, 1000, 120);
+        packet.set(1, 500, 39.4);
+        packet.set(2, 2000, 600000);
+        packet.colors[0] = 0xFFFF00FF;
+        packet.colors[2] = 0x12345678;
+        packet.full = true;
+
+        BgPacket decoded = BgPacket.decode(packet.encode());
+        assertTrue(decoded.full);
+        // not ordered
+        assertArrayEquals(new long[]{1000, 500, 2000}, decoded.timestamps);
+        assertArrayEquals(new short[]{120, 39, Short.MAX_VALUE}, decoded.values);
+        assertArrayEquals(packet.colors, decoded.colors);
+    }
+
+    @Test
+    public void emptyAndInvalid() {
+        BgPacket empty = BgPacket.decode(new BgPacket(0, false).encode());
+        assertEquals(0, empty.size());
+
+        byte[] data = history(10).encode();
+        assertNull(BgPacket.decode(null));
+        assertNull(BgPacket.decode(new byte[]{1, 2, 3}));
+        byte[] truncated = new byte[data.length - 1];
+        System.arraycopy(data, 0, truncated, 0, truncated.length);
+        assertNull(BgPacket.decode(truncated));
+        data[0] = BgPacket.VERSION + 1;
+        assertNull(BgPacket.decode(data));
+    }
+}
@@ -0,0 +1,189 @@
+package info.nightscout.androidaps.plugins.insulin;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import info.nightscout.androidaps.data.Iob;
+import info.nightscout.androidaps.plugins.treatments.Treatment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class InsulinOrefKernelTest {
+
+    private static final int[] PEAKS = {35, 45, 55, 75, 120};
+    private static final double[] DIAS = {5, 6.5, 8, 9.3};
+
+    @Test
+    public void accuracyTest() {
+        for (int peak : PEAKS) {
+            for (double dia : DIAS) {
+                InsulinOrefKernel kernel = new InsulinOrefKernel(peak, dia);
+                for (double t = 0; t < kernel.td; t += 0.0137) {
+                    assertEquals(kernel.iobAnalytic(t), kernel.iob(t), 1e-8);
+                    assertEquals(kernel.activityAnalytic(t), kernel.activity(t), 1e-9);
+                }
+                // outside of table
+                assertEquals(kernel.iobAnalytic(-3.5), kernel.iob(-3.5), 0d);
+                assertEquals(kernel.iobAnalytic(kernel.td + 10), kernel.iob(kernel.td + 10), 0d);
+            }
+        }
+    }
+
+    @Test
+    public void iobCalcForTreatmentTest() {
+        TestInsulin insulin = new TestInsulin(75, 6);
+        long now = 1500000000000L;
+        Treatment treatment = new Treatment();
+        treatment.insulin = 3.2;
+        for (long t = now - 7 * 60 * 60 * 1000L; t <= now; t += 12345) {
+            treatment.date = t;
+            double minutes = (now - t) / 60000d;
+            Iob iob = insulin.iobCalcForTreatment(treatment, now, 0d);
+            if (minutes < 6 * 60) {
+                assertEquals(analyticIob(75, 6, minutes) * 3.2, iob.iobContrib, 1e-7);
+                assertEquals(analyticActivity(75, 6, minutes) * 3.2, iob.activityContrib, 1e-8);
+            } else {
+                assertEquals(0d, iob.iobContrib, 0d);
+                assertEquals(0d, iob.activityContrib, 0d);
+            }
+        }
+    }
+
+    @Test
+    public void iobCalcForTimesTest() {
+        TestInsulin insulin = new TestInsulin(55, 7);
+        long now = 1500000000000L;
+        Treatment treatment = new Treatment();
+        treatment.insulin = 1.7;
+        treatment.date = now;
+        long[] times = new long[200];
+        for (int i = 0; i < times.length; i++)
+            times[i] = now - 30 * 60 * 1000L + i * 3 * 60 * 1000L + 1111;
+        double[] iob = new double[times.length];
+        double[] activity = new double[times.length];
+        insulin.iobCalcForTreatment(treatment, times, 0d, iob, activity);
+        for (int i = 0; i < times.length; i++) {
+            if (times[i] < now) {
+                assertEquals(0d, iob[i], 0d);
+                assertEquals(0d, activity[i], 0d);
+            } else {
+                Iob expected = insulin.iobCalcForTreatment(treatment, times[i], 0d);
+                assertEquals(expected.iobContrib, iob[i], 0d);
+                assertEquals(expected.activityContrib, activity[i], 0d);
+            }
+        }
+    }
+
+    @Test
+    public void kernelIsRebuiltOnlyOnChangeTest() {
+        InsulinOrefKernel kernel = InsulinOrefBasePlugin.getKernel(55, 5);
+        assertSame(kernel, InsulinOrefBasePlugin.getKernel(55, 5));
+        InsulinOrefKernel other = InsulinOrefBasePlugin.getKernel(75, 5);
+        assertEquals(75, other.peak);
+        InsulinOrefKernel changed = InsulinOrefBasePlugin.getKernel(75, 5.5);
+        assertEquals(5.5, changed.dia, 0d);
+        assertSame(changed, InsulinOrefBasePlugin.getKernel(75, 5.5));
+    }
+
+    /**
+     * IOB of 24h history plus DIA (5 min temp basal slices and boluses) evaluated
+     * every 5 min over 24h as it's done for autosens table
+     */
+    @Test
+    public void autosensHistoryTest() {
+        int peak = 75;
+        double dia = 6;
+        long now = 1500000000000L;
+        long start = now - (long) ((24 + dia) * 60 * 60 * 1000);
+
+        List<Treatment> history = new ArrayList<>();
+        for (long t = start; t < now; t += 5 * 60 * 1000L) {
+            Treatment slice = new Treatment();
+            slice.date = t + 1234;
+            slice.insulin = 0.05;
+            history.add(slice);
+            if ((t / (5 * 60 * 1000L)) % 48 == 0) {
+                Treatment bolus = new Treatment();
+                bolus.date = t + 4321;
+                bolus.insulin = 2;
+                history.add(bolus);
+            }
+        }
+
+        TestInsulin insulin = new TestInsulin(peak, dia);
+
+        for (long time = now - 24 * 60 * 60 * 1000L; time <= now; time += 5 * 60 * 1000L) {
+            double analyticIob = 0;
+            double analyticActivity = 0;
+            double iobSum = 0;
+            double activitySum = 0;
+            for (Treatment treatment : history) {
+                if (treatment.date > time) continue;
+                double t = (time - treatment.date) / 60000d;
+                if (t < dia * 60) {
+                    analyticIob += treatment.insulin * analyticIob(peak, dia, t);
+                    analyticActivity += treatment.insulin * analyticActivity(peak, dia, t);
+                }
+                Iob iob = insulin.iobCalcForTreatment(treatment, time, dia);
+                iobSum += iob.iobContrib;
+                activitySum += iob.activityContrib;
+            }
+            assertEquals(analyticIob, iobSum, 1e-6);
+            assertEquals(analyticActivity, activitySum, 1e-7);
+        }
+    }
+
+    private static double analyticIob(int peak, double dia, double t) {
+        double td = dia * 60;
+        double tau = peak * (1 - peak / td) / (1 - 2 * peak / td);
+        double a = 2 * tau / td;
+        double S = 1 / (1 - a + (1 + a) * Math.exp(-td / tau));
+        return 1 - S * (1 - a) * ((Math.pow(t, 2) / (tau * td * (1 - a)) - t / tau - 1) * Math.exp(-t / tau) + 1);
+    }
+
+    private static double analyticActivity(int peak, double dia, double t) {
+        double td = dia * 60;
+        double tau = peak * (1 - peak / td) / (1 - 2 * peak / td);
+        double a = 2 * tau / td;
+        double S = 1 / (1 - a + (1 + a) * Math.exp(-td / tau));
+        return (S / Math.pow(tau, 2)) * t * (1 - t / td) * Math.exp(-t / tau);
+    }
+
+    private static class TestInsulin extends InsulinOrefBasePlugin {
+        private final int peak;
+        private final double dia;
+
+        TestInsulin(int peak, double dia) {
+            this.peak = peak;
+            this.dia = dia;
+        }
+
+        @Override
+        int getPeak() {
+            return peak;
+        }
+
+        @Override
+        public double getUserDefinedDia() {
+            return dia;
+        }
+
+        @Override
+        String commentStandardText() {
+            return null;
+        }
+
+        @Override
+        public int getId() {
+            return 0;
+        }
+
+        @Override
+        public String getFriendlyName() {
+            return null;
+        }
+    }
+}
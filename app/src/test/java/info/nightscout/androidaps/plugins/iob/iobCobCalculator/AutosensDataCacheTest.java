@@ -0,0 +1,225 @@
+package info.nightscout.androidaps.plugins.iob.iobCobCalculator;
+
+import android.content.Context;
+
+import androidx.collection.LongSparseArray;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import info.AAPSMocker;
+import info.nightscout.androidaps.MainApp;
+import info.nightscout.androidaps.data.IobTotal;
+import info.nightscout.androidaps.data.Profile;
+import info.nightscout.androidaps.db.BgReading;
+import info.nightscout.androidaps.events.EventNewBG;
+import info.nightscout.androidaps.logging.L;
+import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
+import info.nightscout.androidaps.plugins.configBuilder.ProfileFunctions;
+import info.nightscout.androidaps.plugins.treatments.Treatment;
+import info.nightscout.androidaps.plugins.treatments.TreatmentsPlugin;
+import info.nightscout.androidaps.utils.DateUtil;
+import info.nightscout.androidaps.utils.SP;
+import info.nightscout.androidaps.utils.T;
+
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.powermock.api.mockito.PowerMockito.mockStatic;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({MainApp.class, ConfigBuilderPlugin.class, ProfileFunctions.class, TreatmentsPlugin.class, SP.class, L.class, Context.class})
+public class AutosensDataCacheTest {
+
+    private static final int READINGS = 72; // 6h
+
+    private long end;
+    private Treatment meal;
+
+    // IOB and sensitivity are not under test, they are replaced by values depending on time only
+    private static class TestPlugin extends IobCobCalculatorPlugin {
+        final List<Long> calculated = new ArrayList<>();
+
+        @Override
+        public long calculateDetectionStart(long from, boolean limitDataToOldestAvailable) {
+            return from - T.hours(24).msecs();
+        }
+
+        @Override
+        public IobTotal calculateFromTreatmentsAndTemps(long time, Profile profile) {
+            calculated.add(time);
+            IobTotal iob = new IobTotal(time);
+            iob.activity = 0.0005 * (time / T.mins(5).msecs() % 7);
+            return iob;
+        }
+
+        @Override
+        AutosensResult detectSensitivity(LongSparseArray<AutosensData> autosensDataTable, long fromTime, long toTime) {
+            return new AutosensResult();
+        }
+    }
+
+    @Before
+    public void prepareMock() {
+        AAPSMocker.mockMainApp();
+        AAPSMocker.mockApplicationContext();
+        AAPSMocker.mockConfigBuilder();
+        AAPSMocker.mockSP();
+        AAPSMocker.mockProfileFunctions();
+        mockStatic(L.class); // logging disabled
+        when(SP.getDouble(anyInt(), anyDouble())).thenAnswer(invocation -> invocation.getArguments()[1]);
+        when(ProfileFunctions.getInstance().isProfileValid(anyString())).thenReturn(true);
+        when(ProfileFunctions.getInstance().getProfile(anyLong())).thenReturn(AAPSMocker.getValidProfile());
+
+        // readings at whole minutes, roundUpTime() doesn't move them
+        end = DateUtil.now() / T.mins(1).msecs() * T.mins(1).msecs() - T.hours(1).msecs();
+        meal = new Treatment();
+        meal.date = reading(READINGS - 30) - T.mins(1).msecs();
+        meal.carbs = 30;
+        TreatmentsPlugin treatmentsPlugin = AAPSMocker.mockTreatmentPlugin();
+        when(treatmentsPlugin.getTreatments5MinBackFromHistory(anyLong())).thenAnswer(invocation -> {
+            long time = (Long) invocation.getArguments()[0];
+            List<Treatment> result = new ArrayList<>();
+            if (meal.date > time - T.mins(5).msecs() && meal.date <= time)
+                result.add(meal);
+            return result;
+        });
+    }
+
+    @Test
+    public void tailStartIndexTest() {
+        BucketedBgSeries series = new BucketedBgSeries(10);
+        for (int i = 0; i < 10; i++)
+            series.add(T.mins(5 * (10 - i)).msecs(), 100);
+        LongSparseArray<AutosensData> table = new LongSparseArray<>();
+
+        // nothing calculated, start from oldest bucket having 3 older ones
+        Assert.assertEquals(6, IobCobCalculatorPlugin.tailStartIndex(series, table));
+
+        // older records calculated, continue after newest of them
+        for (int i = 6; i >= 3; i--)
+            table.put(series.getDate(i), new AutosensData());
+        Assert.assertEquals(2, IobCobCalculatorPlugin.tailStartIndex(series, table));
+
+        // everything calculated
+        for (int i = 2; i >= 0; i--)
+            table.put(series.getDate(i), new AutosensData());
+        Assert.assertEquals(-1, IobCobCalculatorPlugin.tailStartIndex(series, table));
+
+        // records of oldest 3 buckets are not taken into account
+        table.clear();
+        table.put(series.getDate(7), new AutosensData());
+        Assert.assertEquals(6, IobCobCalculatorPlugin.tailStartIndex(series, table));
+    }
+
+    @Test
+    public void newReadingIsCalculatedOnlyTest() {
+        TestPlugin full = new TestPlugin();
+        calculate(full, READINGS);
+
+        TestPlugin incremental = new TestPlugin();
+        calculate(incremental, READINGS - 1);
+        incremental.calculated.clear();
+        calculate(incremental, READINGS);
+
+        Assert.assertEquals(1, incremental.calculated.size());
+        Assert.assertEquals(IobCobCalculatorPlugin.roundUpTime(reading(READINGS - 1)), (long) incremental.calculated.get(0));
+        // COB of new record continues from previous one
+        Assert.assertTrue(incremental.getAutosensDataTable().get(reading(READINGS - 1)).cob > 0);
+        assertSameTable(full.getAutosensDataTable(), incremental.getAutosensDataTable());
+    }
+
+    @Test
+    public void invalidateCachedDataTest() {
+        TestPlugin full = new TestPlugin();
+        calculate(full, READINGS);
+
+        TestPlugin invalidated = new TestPlugin();
+        calculate(invalidated, READINGS);
+        // data changed between readings, 5 min back is invalidated too
+        invalidated.invalidateCachedData(reading(READINGS - 10) + T.mins(2).msecs());
+        invalidated.publishAutosensData();
+        LongSparseArray<AutosensData> table = invalidated.getAutosensDataTable();
+        Assert.assertEquals(full.getAutosensDataTable().size() - 10, table.size());
+        Assert.assertEquals(reading(READINGS - 11), table.keyAt(table.size() - 1));
+
+        // only removed records are calculated again, COB continues from records left in table
+        invalidated.calculated.clear();
+        calculate(invalidated, READINGS);
+        Assert.assertEquals(10, invalidated.calculated.size());
+        assertSameTable(full.getAutosensDataTable(), invalidated.getAutosensDataTable());
+    }
+
+    @Test
+    public void pruneCachedDataTest() {
+        TestPlugin plugin = new TestPlugin();
+        calculate(plugin, READINGS);
+        LongSparseArray<AutosensData> table = plugin.getAutosensDataTable();
+        // oldest 3 readings are not calculated
+        Assert.assertEquals(READINGS - 3, table.size());
+        Assert.assertEquals(reading(3), table.keyAt(0));
+
+        plugin.pruneCachedData(reading(20));
+        plugin.publishAutosensData();
+        table = plugin.getAutosensDataTable();
+        Assert.assertEquals(READINGS - 20, table.size());
+        Assert.assertEquals(reading(20), table.keyAt(0));
+    }
+
+    @Test
+    public void movingWindowTest() {
+        TestPlugin plugin = new TestPlugin();
+        calculate(plugin, READINGS);
+
+        // 5 new readings, 10 oldest are out of loaded data
+        plugin.calculated.clear();
+        calculate(plugin, 10, READINGS + 5);
+        LongSparseArray<AutosensData> table = plugin.getAutosensDataTable();
+        Assert.assertEquals(5, plugin.calculated.size());
+        Assert.assertEquals(READINGS + 5 - 10, table.size());
+        Assert.assertEquals(reading(10), table.keyAt(0));
+        Assert.assertEquals(reading(READINGS + 4), table.keyAt(table.size() - 1));
+    }
+
+    // date of reading with index, 0 is oldest
+    private long reading(int index) {
+        return end - T.mins(5).msecs() * (READINGS + 5 - 1 - index);
+    }
+
+    private void calculate(TestPlugin plugin, int count) {
+        calculate(plugin, 0, count);
+    }
+
+    // readings from (inclusive) to (exclusive) are available, thread is run synchronously
+    private void calculate(TestPlugin plugin, int from, int to) {
+        List<BgReading> bgReadings = new ArrayList<>();
+        for (int i = to - 1; i >= from; i--)
+            bgReadings.add(new BgReading().date(reading(i)).value(120 + 40 * Math.sin(i / 6d)));
+        plugin.setBgReadings(bgReadings);
+        plugin.createBucketedData();
+        plugin.createCalculationThread("test", reading(to - 1), false, false, new EventNewBG(null)).run();
+    }
+
+    private static void assertSameTable(LongSparseArray<AutosensData> expected, LongSparseArray<AutosensData> actual) {
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals(expected.keyAt(i), actual.keyAt(i));
+            AutosensData e = expected.valueAt(i);
+            AutosensData a = actual.valueAt(i);
+            Assert.assertEquals(e.toString(), a.toString());
+            Assert.assertEquals(e.cob, a.cob, 0.000001d);
+            Assert.assertEquals(e.deviation, a.deviation, 0.000001d);
+            Assert.assertEquals(e.slopeFromMaxDeviation, a.slopeFromMaxDeviation, 0.000001d);
+            Assert.assertEquals(e.slopeFromMinDeviation, a.slopeFromMinDeviation, 0.000001d);
+        }
+    }
+}
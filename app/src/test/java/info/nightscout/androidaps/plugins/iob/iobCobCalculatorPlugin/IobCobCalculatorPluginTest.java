@@ -17,6 +17,7 @@ import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.db.BgReading;
 import info.nightscout.androidaps.logging.L;
 import info.nightscout.androidaps.plugins.configBuilder.ConfigBuilderPlugin;
+import info.nightscout.androidaps.plugins.iob.iobCobCalculator.BucketedBgSeries;
 import info.nightscout.androidaps.plugins.iob.iobCobCalculator.IobCobCalculatorPlugin;
 import info.nightscout.androidaps.utils.DateUtil;
 import info.nightscout.androidaps.utils.SP;
@@ -375,6 +376,54 @@ public class IobCobCalculatorPluginTest {
         Assert.assertEquals(false, iobCobCalculatorPlugin.isAbout5minData());
     }
 
+    @Test
+    public void createBucketedDataShouldNotModifyBgReadingsTest() {
+        List<BgReading> bgReadingList = new ArrayList<>();
+        bgReadingList.add(new BgReading().date(T.mins(20).plus(T.secs(20)).msecs()).value(120));
+        bgReadingList.add(new BgReading().date(T.mins(20).msecs()).value(100));
+        bgReadingList.add(new BgReading().date(T.mins(15).msecs()).value(100));
+        bgReadingList.add(new BgReading().date(T.mins(10).msecs()).value(100));
+
+        iobCobCalculatorPlugin.setBgReadings(bgReadingList);
+        iobCobCalculatorPlugin.createBucketedData();
+
+        // readings are shared with GlucoseStatus etc.
+        Assert.assertEquals(true, iobCobCalculatorPlugin.isAbout5minData());
+        Assert.assertEquals(T.mins(20).plus(T.secs(20)).msecs(), bgReadingList.get(0).date);
+        Assert.assertEquals(120, bgReadingList.get(0).value, 0.01d);
+        Assert.assertNotSame(bgReadingList.get(0), iobCobCalculatorPlugin.getBucketedData().get(0));
+    }
+
+    @Test
+    public void bucketedSeriesTest() {
+        List<BgReading> bgReadingList = new ArrayList<>();
+        // 4 min data is recalculated to 5 min buckets
+        for (int i = 0; i < 60; i++)
+            bgReadingList.add(new BgReading().date(T.mins(300 - 4 * i).msecs()).value(100 + i));
+
+        iobCobCalculatorPlugin.setBgReadings(bgReadingList);
+        iobCobCalculatorPlugin.createBucketedData();
+        BucketedBgSeries series = iobCobCalculatorPlugin.getBucketedSeries();
+
+        Assert.assertEquals(T.mins(300).msecs(), series.getDate(0));
+        Assert.assertEquals(100, series.getValue(0), 0.01d);
+        for (int i = 1; i < series.size(); i++)
+            Assert.assertEquals(T.mins(5).msecs(), series.getDate(i - 1) - series.getDate(i));
+        Assert.assertEquals(T.mins(300 - 4 * 59).msecs(), series.getDate(series.size() - 1), T.mins(5).msecs());
+
+        // binary search must give the same result as linear scan
+        for (long time = T.mins(50).msecs(); time < T.mins(310).msecs(); time += T.secs(37).msecs()) {
+            Long expected = null;
+            for (int i = 0; i < series.size(); i++)
+                if (series.getDate(i) <= time) {
+                    expected = series.getDate(i);
+                    break;
+                }
+            Assert.assertEquals(expected, iobCobCalculatorPlugin.findPreviousTimeFromBucketedData(time));
+        }
+        Assert.assertEquals(series.size(), iobCobCalculatorPlugin.getBucketedData().size());
+    }
+
     @Test
     public void getBgReadingsTest() {
         List<BgReading> bgReadingList = new ArrayList<>();
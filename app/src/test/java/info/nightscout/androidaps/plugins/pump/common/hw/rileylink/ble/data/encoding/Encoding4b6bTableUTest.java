@@ -0,0 +1,110 @@
+package info.nightscout.androidaps.plugins.pump.common.hw.rileylink.ble.data.encoding;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import info.nightscout.androidaps.plugins.pump.common.hw.rileylink.ble.RileyLinkCommunicationException;
+import info.nightscout.androidaps.plugins.pump.common.utils.ByteUtil;
+
+public class Encoding4b6bTableUTest {
+
+    // radio frames of pump 128986 (with CRC) and parts of settings and history pages
+    private static final String[] recordedFrames = {
+            "A71289865D00BE",
+            "A7128986060015",
+            "A7128986150956",
+            "A71289868D00B0",
+            "A71289868D090337323200000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000000039",
+            "00030005010000C800A00101000100006401050014006401000000",
+            "1600 12EC 1447 1333 0014 F214 4713 0016 0114 F214 4713 3300 1CC9 1547 1300 1600 1CC9 1547 1333 4E31 D315 4713 0016 0131 D315 4713",
+            "0615 04F6 0040 6001 0506 3604 FE00 4060 0105 062F 181A 0040 20C1 0506 2F0C 4500 4020 C105 062F 0C56 0040 20C1 05"
+    };
+
+    private final Random random = new Random(2018);
+
+    private List<byte[]> frames() {
+        List<byte[]> frames = new ArrayList<>();
+        for (String frame : recordedFrames)
+            frames.add(ByteUtil.createByteArrayFromCompactString(frame.replace(" ", "")));
+        for (int length = 0; length < 300; length++) {
+            byte[] frame = new byte[length];
+            random.nextBytes(frame);
+            frames.add(frame);
+        }
+        return frames;
+    }
+
+
+    @Test
+    public void encodeSameAsOtherImplementations() {
+        Encoding4b6b table = new Encoding4b6bTable();
+        Encoding4b6b[] references = {new Encoding4b6bGeoff(), new Encoding4b6bGo(), new Encoding4b6bLoop()};
+
+        for (byte[] frame : frames()) {
+            byte[] encoded = table.encode4b6b(frame);
+            Assert.assertEquals(Encoding4b6bTable.encodedLength(frame.length), encoded.length);
+            for (Encoding4b6b reference : references)
+                Assert.assertArrayEquals(reference.getClass().getSimpleName() + " " + ByteUtil.getHex(frame),
+                        reference.encode4b6b(frame), encoded);
+        }
+    }
+
+
+    @Test
+    public void decodeSameAsGeoff() throws RileyLinkCommunicationException {
+        Encoding4b6b table = new Encoding4b6bTable();
+        Encoding4b6b geoff = new Encoding4b6bGeoff();
+
+        for (byte[] frame : frames()) {
+            byte[] encoded = geoff.encode4b6b(frame);
+            Assert.assertArrayEquals(frame, table.decode4b6b(encoded));
+            Assert.assertArrayEquals(geoff.decode4b6b(encoded), table.decode4b6b(encoded));
+        }
+    }
+
+
+    @Test
+    public void encodeWithOffset() {
+        Encoding4b6bTable table = new Encoding4b6bTable();
+        byte[] frame = ByteUtil.createByteArrayFromCompactString(recordedFrames[0]);
+        byte[] output = new byte[20];
+
+        int length = table.encode4b6b(frame, 2, 5, output, 3);
+
+        Assert.assertEquals(8, length);
+        Assert.assertArrayEquals(table.encode4b6b(ByteUtil.substring(frame, 2, 5)), ByteUtil.substring(output, 3, 8));
+        Assert.assertEquals(0, output[2]);
+        Assert.assertEquals(0, output[11]);
+    }
+
+
+    @Test
+    public void invalidCodesAreRejected() {
+        Encoding4b6b table = new Encoding4b6bTable();
+        byte[][] invalid = {
+                // 0x00 is no valid code
+                ByteUtil.createByteArrayFromCompactString("A96C00"),
+                // 4 bits left but not end marker
+                ByteUtil.createByteArrayFromCompactString("A96C726996A694D5552CE6"),
+                // 8 bits left
+                ByteUtil.createByteArrayFromCompactString("A96C7269")
+        };
+
+        for (byte[] encoded : invalid) {
+            try {
+                table.decode4b6b(encoded);
+                Assert.fail(ByteUtil.getHex(encoded));
+            } catch (RileyLinkCommunicationException ignored) {
+            }
+            try {
+                new Encoding4b6bGeoff().decode4b6b(encoded);
+                Assert.fail(ByteUtil.getHex(encoded));
+            } catch (RileyLinkCommunicationException ignored) {
+            }
+        }
+    }
+}
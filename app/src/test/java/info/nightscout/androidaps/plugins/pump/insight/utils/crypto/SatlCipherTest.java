@@ -0,0 +1,123 @@
+package info.nightscout.androidaps.plugins.pump.insight.utils.crypto;
+
+import org.junit.Test;
+import org.spongycastle.crypto.InvalidCipherTextException;
+import org.spongycastle.crypto.engines.TwofishEngine;
+import org.spongycastle.crypto.modes.CCMBlockCipher;
+import org.spongycastle.crypto.params.AEADParameters;
+import org.spongycastle.crypto.params.KeyParameter;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import info.nightscout.androidaps.plugins.pump.insight.exceptions.InvalidMacTrailerException;
+import info.nightscout.androidaps.plugins.pump.insight.satl.DataMessage;
+import info.nightscout.androidaps.plugins.pump.insight.satl.SatlMessage;
+import info.nightscout.androidaps.plugins.pump.insight.utils.ByteBuf;
+import info.nightscout.androidaps.plugins.pump.insight.utils.Nonce;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SatlCipherTest {
+
+    private final Random random = new Random(4711);
+
+    private byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    // SATL uses standard CCM, reference is keyed for every message as it was done before
+    private static byte[] referenceCCM(byte[] key, byte[] nonce, byte[] header, byte[] payload) throws InvalidCipherTextException {
+        CCMBlockCipher ccm = new CCMBlockCipher(new TwofishEngine());
+        ccm.init(true, new AEADParameters(new KeyParameter(key), SatlCipher.TAG_SIZE * 8, nonce, header));
+        return ccm.processPacket(payload, 0, payload.length);
+    }
+
+    @Test
+    public void sameAsReferenceCCM() throws InvalidCipherTextException {
+        byte[] key = randomBytes(16);
+        SatlCipher cipher = new SatlCipher(key);
+        for (int length : new int[]{0, 1, 15, 16, 17, 31, 32, 33, 100, 255}) {
+            byte[] nonce = randomBytes(SatlCipher.NONCE_SIZE);
+            byte[] header = randomBytes(21);
+            byte[] payload = randomBytes(length);
+            byte[] expected = referenceCCM(key, nonce, header, payload);
+
+            byte[] actual = new byte[length + SatlCipher.TAG_SIZE];
+            cipher.produceTag(nonce, 0, header, 0, header.length, payload, 0, length, actual, length);
+            cipher.processCTR(nonce, 0, payload, 0, length, actual, 0);
+            assertArrayEquals("length " + length, expected, actual);
+
+            // decrypt in place
+            byte[] decrypted = Arrays.copyOf(actual, length);
+            cipher.processCTR(nonce, 0, decrypted, 0, length, decrypted, 0);
+            assertArrayEquals(payload, decrypted);
+            assertTrue(cipher.verifyTag(nonce, 0, header, 0, header.length, decrypted, 0, length, actual, length));
+            header[3] ^= 1;
+            assertFalse(cipher.verifyTag(nonce, 0, header, 0, header.length, decrypted, 0, length, actual, length));
+        }
+    }
+
+    @Test
+    public void hasKey() {
+        byte[] key = randomBytes(16);
+        SatlCipher cipher = new SatlCipher(key);
+        assertTrue(cipher.hasKey(key.clone()));
+        key[0] ^= 1;
+        assertFalse(cipher.hasKey(key));
+        assertFalse(cipher.hasKey(null));
+    }
+
+    @Test
+    public void satlDataMessageRoundTrip() throws Exception {
+        byte[] key = randomBytes(16);
+        Nonce nonce = new Nonce();
+        nonce.increment();
+        DataMessage sent = new DataMessage();
+        sent.setData(ByteBuf.from(randomBytes(40)));
+        sent.setNonce(nonce);
+        sent.setCommID(1234);
+        byte[] packet = sent.serialize(DataMessage.class, new SatlCipher(key)).getBytes();
+
+        SatlMessage received = SatlMessage.deserialize(ByteBuf.from(packet), new Nonce(), new SatlCipher(key));
+        assertTrue(received instanceof DataMessage);
+        assertArrayEquals(sent.getData().getBytes(), ((DataMessage) received).getData().getBytes());
+        assertEquals(1234, received.getCommID());
+
+        // flipped bit in payload
+        packet[40] ^= 1;
+        try {
+            SatlMessage.deserialize(ByteBuf.from(packet), new Nonce(), new SatlCipher(key));
+            fail();
+        } catch (InvalidMacTrailerException ignored) {
+        }
+    }
+
+    /**
+     * One cipher used for traffic of one history read: status polls, commands and
+     * history frames of typical app layer sizes, every message same as keyed per message
+     */
+    @Test
+    public void sessionSameAsReferenceForTraffic() throws InvalidCipherTextException {
+        byte[] key = randomBytes(16);
+        SatlCipher cipher = new SatlCipher(key);
+        int[] sizes = {12, 12, 20, 36, 56, 90, 120, 180, 12, 24};
+        for (int i = 0; i < 200; i++) {
+            byte[] nonce = randomBytes(SatlCipher.NONCE_SIZE);
+            byte[] header = randomBytes(21);
+            byte[] payload = randomBytes(sizes[i % sizes.length]);
+            byte[] expected = referenceCCM(key, nonce, header, payload);
+
+            byte[] actual = new byte[payload.length + SatlCipher.TAG_SIZE];
+            cipher.produceTag(nonce, 0, header, 0, header.length, payload, 0, payload.length, actual, payload.length);
+            cipher.processCTR(nonce, 0, payload, 0, payload.length, actual, 0);
+            assertArrayEquals("message " + i, expected, actual);
+        }
+    }
+}
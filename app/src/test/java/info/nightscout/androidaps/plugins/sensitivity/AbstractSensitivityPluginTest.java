@@ -1,5 +1,7 @@
 package info.nightscout.androidaps.plugins.sensitivity;
 
+import androidx.collection.LongSparseArray;
+
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.powermock.core.classloader.annotations.PrepareForTest;
@@ -8,6 +10,7 @@ import org.powermock.modules.junit4.PowerMockRunner;
 import info.AAPSMocker;
 import info.nightscout.androidaps.MainApp;
 import info.nightscout.androidaps.interfaces.PluginDescription;
+import info.nightscout.androidaps.plugins.iob.iobCobCalculator.AutosensData;
 import info.nightscout.androidaps.plugins.iob.iobCobCalculator.AutosensResult;
 import info.nightscout.androidaps.plugins.iob.iobCobCalculator.IobCobCalculatorPlugin;
 import info.nightscout.androidaps.utils.SP;
@@ -29,7 +32,7 @@ public class AbstractSensitivityPluginTest {
         }
 
         @Override
-        public AutosensResult detectSensitivity(IobCobCalculatorPlugin plugin, long fromTime, long toTime) {
+        public AutosensResult detectSensitivity(IobCobCalculatorPlugin plugin, LongSparseArray<AutosensData> autosensDataTable, long fromTime, long toTime) {
             return null;
         }
     }
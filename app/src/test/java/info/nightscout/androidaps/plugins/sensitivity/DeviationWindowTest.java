@@ -0,0 +1,186 @@
+package info.nightscout.androidaps.plugins.sensitivity;
+
+import androidx.collection.LongSparseArray;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import info.AAPSMocker;
+import info.nightscout.androidaps.MainApp;
+import info.nightscout.androidaps.db.CareportalEvent;
+import info.nightscout.androidaps.db.ProfileSwitch;
+import info.nightscout.androidaps.plugins.iob.iobCobCalculator.AutosensData;
+import info.nightscout.androidaps.plugins.iob.iobCobCalculator.IobCobCalculatorPlugin;
+import info.nightscout.androidaps.utils.SP;
+import info.nightscout.androidaps.utils.T;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(PowerMockRunner.class)
+@PrepareForTest({MainApp.class, SP.class})
+public class DeviationWindowTest {
+
+    private final long startTime = 1500000000000L;
+    private final List<CareportalEvent> noSiteChanges = new ArrayList<>();
+    private final List<ProfileSwitch> noProfileSwitches = new ArrayList<>();
+
+    @Test
+    public void orderStatisticsTest() {
+        Random random = new Random(1);
+        OrderStatistics tree = new OrderStatistics();
+        List<Double> reference = new ArrayList<>();
+        for (int round = 0; round < 5000; round++) {
+            if (reference.size() > 0 && random.nextInt(3) == 0) {
+                Double value = reference.get(random.nextInt(reference.size()));
+                reference.remove(value);
+                assertTrue(tree.remove(value));
+            } else {
+                // few distinct values to have duplicates
+                double value = random.nextInt(40) - 20 + (random.nextBoolean() ? 0.5 : 0);
+                reference.add(value);
+                tree.add(value);
+            }
+            assertFalse(tree.remove(1000));
+            Collections.sort(reference);
+            assertEquals(reference.size(), tree.size());
+            Double[] sorted = reference.toArray(new Double[0]);
+            for (double p = 0; p <= 1; p += 0.05)
+                assertEquals(IobCobCalculatorPlugin.percentile(sorted, p), tree.percentile(p), 1e-9);
+            int less = 0;
+            while (less < sorted.length && sorted[less] < 0) less++;
+            assertEquals(less, tree.countLess(0));
+        }
+        double[] array = tree.toArray();
+        for (int i = 0; i < array.length; i++)
+            assertEquals(reference.get(i), array[i], 0d);
+        tree.clear();
+        assertEquals(0, tree.size());
+        assertEquals(0, tree.percentile(0.5), 0d);
+    }
+
+    @Test
+    public void incrementalUpdateIsSameAsFullCalculationTest() {
+        Random random = new Random(2);
+        LongSparseArray<AutosensData> table = new LongSparseArray<>();
+        for (int i = 0; i < 600; i++) {
+            AutosensData data = new AutosensData();
+            data.time = startTime + T.mins(5 * i).msecs();
+            data.bg = 60 + random.nextInt(150);
+            data.deviation = random.nextGaussian() * 5;
+            data.validDeviation = random.nextInt(5) != 0;
+            if (random.nextInt(10) == 0)
+                data.extraDeviation.add(random.nextGaussian() * 5);
+            table.put(data.time, data);
+        }
+
+        DeviationWindow incremental = new DeviationWindow(true);
+        DeviationWindow timeLimited = new DeviationWindow(false);
+        long fromTime = startTime + T.mins(30).msecs();
+        long maxAge = T.hours(4).msecs();
+        for (int i = 0; i < table.size(); i++) {
+            long toTime = table.keyAt(i);
+
+            incremental.update(table, fromTime, toTime, noSiteChanges, noProfileSwitches, 96, 0);
+            List<Double> expected = reference(table, fromTime, toTime, true, 96, 0);
+            assertEquals(expected.size(), incremental.size());
+            assertSame(expected, incremental);
+
+            timeLimited.update(table, fromTime, toTime, noSiteChanges, noProfileSwitches, 48, maxAge);
+            expected = reference(table, fromTime, toTime, false, 48, maxAge);
+            assertEquals(expected.size(), timeLimited.size());
+            assertSame(expected, timeLimited);
+
+            DeviationWindow full = new DeviationWindow(true);
+            full.update(table, fromTime, toTime, noSiteChanges, noProfileSwitches, 96, 0);
+            assertEquals(full.pastSensitivity(), incremental.pastSensitivity());
+        }
+
+        // recalculated data are detected
+        long toTime = table.keyAt(table.size() - 1);
+        AutosensData replaced = new AutosensData();
+        replaced.time = toTime;
+        replaced.deviation = 1000;
+        replaced.validDeviation = true;
+        replaced.bg = 100;
+        table.put(toTime, replaced);
+        incremental.update(table, fromTime, toTime, noSiteChanges, noProfileSwitches, 96, 0);
+        assertSame(reference(table, fromTime, toTime, true, 96, 0), incremental);
+    }
+
+    @Test
+    public void siteChangeResetsDeviationsTest() {
+        LongSparseArray<AutosensData> table = new LongSparseArray<>();
+        for (int i = 0; i < 20; i++) {
+            AutosensData data = new AutosensData();
+            data.time = startTime + T.mins(5 * i).msecs();
+            data.bg = 100;
+            data.deviation = i;
+            data.validDeviation = true;
+            table.put(data.time, data);
+        }
+        List<CareportalEvent> siteChanges = new ArrayList<>();
+        CareportalEvent siteChange = new CareportalEvent();
+        siteChange.date = startTime + T.mins(5 * 10).msecs();
+        siteChanges.add(siteChange);
+
+        DeviationWindow window = new DeviationWindow(false);
+        window.update(table, startTime, table.keyAt(19), siteChanges, noProfileSwitches, 96, 0);
+        assertEquals(10, window.size());
+        assertEquals(10, window.toSortedArray()[0], 0d);
+        assertTrue(window.pastSensitivity().contains("(SITECHANGE)"));
+        assertEquals(12.5, window.percentile(0.5, 5), 0d);
+        // padding is not kept
+        assertEquals(10, window.size());
+        assertEquals(0, window.negativeFraction(), 0d);
+    }
+
+    private void assertSame(List<Double> expected, DeviationWindow window) {
+        Double[] sorted = expected.toArray(new Double[0]);
+        Arrays.sort(sorted);
+        double[] actual = window.toSortedArray();
+        assertEquals(sorted.length, actual.length);
+        for (int i = 0; i < sorted.length; i++)
+            assertEquals(sorted[i], actual[i], 0d);
+        assertEquals(IobCobCalculatorPlugin.percentile(sorted, 0.5), window.percentile(0.5), 0d);
+        assertEquals(IobCobCalculatorPlugin.percentile(sorted, 0.45), window.percentile(0.45), 0d);
+    }
+
+    // previous detectSensitivity() loop
+    private List<Double> reference(LongSparseArray<AutosensData> table, long fromTime, long toTime, boolean extra, int capacity, long maxAge) {
+        List<Double> deviationsArray = new ArrayList<>();
+        for (int index = 0; index < table.size(); index++) {
+            AutosensData autosensData = table.valueAt(index);
+            if (autosensData.time < fromTime || autosensData.time > toTime)
+                continue;
+            double deviation = autosensData.deviation;
+            if (autosensData.bg < 80 && deviation > 0)
+                deviation = 0;
+            if (autosensData.validDeviation)
+                if (maxAge == 0 || autosensData.time > toTime - maxAge)
+                    deviationsArray.add(deviation);
+            if (extra)
+                deviationsArray.addAll(autosensData.extraDeviation);
+            if (deviationsArray.size() > capacity)
+                deviationsArray.remove(0);
+        }
+        return deviationsArray;
+    }
+
+    @Before
+    public void prepareMock() {
+        AAPSMocker.mockMainApp();
+        AAPSMocker.mockApplicationContext();
+        AAPSMocker.mockSP();
+    }
+}
@@ -0,0 +1,145 @@
+package info.nightscout.androidaps.utils;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class GuiRefreshTest {
+    private ScheduledExecutorService worker = Executors.newSingleThreadScheduledExecutor();
+    private List<String> bound = Collections.synchronizedList(new ArrayList<>());
+
+    @After
+    public void stopWorker() {
+        worker.shutdownNow();
+    }
+
+    // bind runs directly on worker instead of main thread
+    private GuiRefresh<String> refresh(String name, long delay, GuiRefresh.Preparer<String> preparer) {
+        return new GuiRefresh<>(name, delay, preparer, (data, from) -> bound.add(data), worker, Runnable::run);
+    }
+
+    private void waitForWorker() throws InterruptedException {
+        // queued tasks including scheduled follow-up refresh
+        for (int i = 0; i < 3; i++) {
+            CountDownLatch done = new CountDownLatch(1);
+            worker.schedule(done::countDown, 100, TimeUnit.MILLISECONDS);
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void pausedFragmentIsNotRefreshed() throws InterruptedException {
+        GuiRefresh<String> refresh = refresh("paused", 0, from -> "data " + from);
+        refresh.request("event");
+        waitForWorker();
+        assertEquals(0, bound.size());
+
+        refresh.resume();
+        waitForWorker();
+        assertEquals(1, bound.size());
+        assertEquals("data onResume", bound.get(0));
+
+        refresh.pause();
+        refresh.request("event");
+        waitForWorker();
+        assertEquals(1, bound.size());
+    }
+
+    @Test
+    public void requestsWhileWaitingAreMerged() throws InterruptedException {
+        GuiRefresh<String> refresh = refresh("waiting", 50, from -> from);
+        refresh.resume();
+        for (int i = 0; i < 100; i++)
+            refresh.request("event" + i);
+        waitForWorker();
+        assertEquals(1, bound.size());
+        // latest request wins
+        assertEquals("event99", bound.get(0));
+        assertEquals(101, refresh.stats.requests.get());
+        assertEquals(1, refresh.stats.refreshes.get());
+    }
+
+    @Test
+    public void requestsWhileRunningGiveOneMoreRefresh() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        GuiRefresh<String> refresh = refresh("running", 0, from -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+            }
+            return from;
+        });
+        refresh.resume();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 100; i++)
+            refresh.request("burst" + i);
+        release.countDown();
+        waitForWorker();
+        assertEquals(2, bound.size());
+        assertEquals("onResume", bound.get(0));
+        assertEquals("burst99", bound.get(1));
+        assertEquals(2, refresh.stats.prepare.getCount());
+        assertEquals(2, refresh.stats.bind.getCount());
+    }
+
+    @Test
+    public void pauseWhilePreparingSkipsBind() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        GuiRefresh<String> refresh = refresh("pause", 0, from -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException ignored) {
+            }
+            return from;
+        });
+        refresh.resume();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        refresh.request("event");
+        refresh.pause();
+        release.countDown();
+        waitForWorker();
+        assertEquals(0, bound.size());
+    }
+
+    @Test
+    public void failedPreparationDoesNotBlockNextRefresh() throws InterruptedException {
+        GuiRefresh<String> refresh = refresh("failing", 0, from -> {
+            if (from.equals("onResume"))
+                throw new IllegalStateException("no profile");
+            return from;
+        });
+        refresh.resume();
+        waitForWorker();
+        assertEquals(0, bound.size());
+        refresh.request("event");
+        waitForWorker();
+        assertEquals(1, bound.size());
+    }
+
+    @Test
+    public void statisticsArePerName() throws InterruptedException {
+        GuiRefresh<String> first = refresh("Statistics", 0, from -> from);
+        first.resume();
+        waitForWorker();
+        // recreated fragment
+        GuiRefresh<String> second = refresh("Statistics", 0, from -> from);
+        second.resume();
+        waitForWorker();
+        assertEquals(2, second.stats.refreshes.get());
+        assertTrue(GuiRefresh.export().contains("Statistics: requests=2 refreshes=2"));
+    }
+}
@@ -0,0 +1,85 @@
+package info.nightscout.androidaps.utils;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void bucketsTest() {
+        // exact for small values
+        for (long v = 0; v < 16; v++)
+            assertEquals(v, LatencyHistogram.lowerBoundOf(LatencyHistogram.bucketOf(v)));
+        // buckets are continuous and monotonic
+        int previous = LatencyHistogram.bucketOf(0);
+        for (long v = 1; v < 1000000; v++) {
+            int bucket = LatencyHistogram.bucketOf(v);
+            assertTrue(bucket == previous || bucket == previous + 1);
+            assertTrue(LatencyHistogram.lowerBoundOf(bucket) <= v);
+            if (bucket == previous + 1)
+                assertEquals(v, LatencyHistogram.lowerBoundOf(bucket));
+            previous = bucket;
+        }
+        assertEquals(LatencyHistogram.BUCKETS - 1, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void percentileTest() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentile(0.5));
+        for (long v = 1; v <= 10000; v++)
+            histogram.record(v);
+        assertEquals(10000, histogram.getCount());
+        assertEquals(10000, histogram.getMax());
+        assertEquals(5000.5, histogram.getMean(), 0.001);
+        assertEquals(5000, histogram.getPercentile(0.5), 5000 * 0.125);
+        assertEquals(9000, histogram.getPercentile(0.9), 9000 * 0.125);
+        assertEquals(9900, histogram.getPercentile(0.99), 9900 * 0.125);
+        assertEquals(10000, histogram.getPercentile(1));
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    public void concurrentRecordTest() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int seed = t;
+            Thread thread = new Thread(() -> {
+                Random random = new Random(seed);
+                for (int i = 0; i < 100000; i++)
+                    histogram.record(random.nextInt(1000000));
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads)
+            thread.join();
+        assertEquals(400000, histogram.getCount());
+        assertEquals(500000, histogram.getPercentile(0.5), 500000 * 0.125);
+    }
+
+    @Test
+    public void profilerExportTest() {
+        Profiler.reset();
+        long start = Profiler.start();
+        Profiler.startCycle(start);
+        Profiler.trace(Profiler.Stage.BG_STORE, start);
+        Profiler.endCycle();
+        // only first loop after new BG ends the cycle
+        Profiler.endCycle();
+        assertEquals(1, Profiler.Stage.BG_STORE.histogram.getCount());
+        assertEquals(1, Profiler.Stage.CYCLE.histogram.getCount());
+        String export = Profiler.export();
+        assertTrue(export.contains("BG_STORE (BG stored to database): count=1"));
+        assertTrue(export.contains(" CYCLE "));
+    }
+}
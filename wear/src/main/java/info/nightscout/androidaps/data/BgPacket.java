@@ -0,0 +1,120 @@
+package info.nightscout.androidaps.data;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Packed BG points sent to watch as one byte[] instead of DataMap per point
+ * <p>
+ * Same class is in phone app, keep both in sync and raise VERSION on format change.
+ * Packets are numbered. Delta packet contains only points newer than previous packet
+ * and is valid only if watch has applied packet baseSequence of the same session,
+ * otherwise watch requests full resend.
+ * <p>
+ * Layout: version, flags, session, sequence, baseSequence, high, low, count,
+ * first timestamp, count x int offset ms, count x short mg/dl, [count x int color]
+ */
+public class BgPacket {
+    public static final byte VERSION = 1;
+
+    private static final byte FLAG_FULL = 1;
+    private static final byte FLAG_COLORS = 2;
+    private static final int HEADER = 1 + 1 + 8 + 4 + 4 + 2 + 2 + 4 + 8;
+
+    public long session;
+    public int sequence;
+    public int baseSequence;
+    public boolean full;
+    public short high;
+    public short low;
+    public long[] timestamps;
+    public short[] values;
+    // optional, used for predictions
+    public int[] colors;
+
+    public BgPacket(int count, boolean withColors) {
+        timestamps = new long[count];
+        values = new short[count];
+        colors = withColors ? new int[count] : null;
+    }
+
+    public int size() {
+        return timestamps.length;
+    }
+
+    public void set(int index, long timestamp, double mgdl) {
+        timestamps[index] = timestamp;
+        values[index] = toShort(mgdl);
+    }
+
+    public static short toShort(double mgdl) {
+        return (short) Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, Math.round(mgdl)));
+    }
+
+    public byte[] encode() {
+        int count = size();
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER + count * (4 + 2 + (colors != null ? 4 : 0)));
+        buffer.put(VERSION);
+        buffer.put((byte) ((full ? FLAG_FULL : 0) | (colors != null ? FLAG_COLORS : 0)));
+        buffer.putLong(session);
+        buffer.putInt(sequence);
+        buffer.putInt(baseSequence);
+        buffer.putShort(high);
+        buffer.putShort(low);
+        buffer.putInt(count);
+        long first = count > 0 ? timestamps[0] : 0;
+        buffer.putLong(first);
+        for (long timestamp : timestamps)
+            buffer.putInt((int) (timestamp - first));
+        for (short value : values)
+            buffer.putShort(value);
+        if (colors != null)
+            for (int color : colors)
+                buffer.putInt(color);
+        return buffer.array();
+    }
+
+    public static boolean isFull(byte[] data) {
+        BgPacket packet = decode(data);
+        return packet != null && packet.full;
+    }
+
+    /**
+     * @return null if data is not valid packet of this version
+     */
+    public static BgPacket decode(byte[] data) {
+        if (data == null || data.length < HEADER || data[0] != VERSION)
+            return null;
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            buffer.get();
+            byte flags = buffer.get();
+            long session = buffer.getLong();
+            int sequence = buffer.getInt();
+            int baseSequence = buffer.getInt();
+            short high = buffer.getShort();
+            short low = buffer.getShort();
+            int count = buffer.getInt();
+            if (count < 0 || count > buffer.remaining())
+                return null;
+            BgPacket packet = new BgPacket(count, (flags & FLAG_COLORS) != 0);
+            packet.full = (flags & FLAG_FULL) != 0;
+            packet.session = session;
+            packet.sequence = sequence;
+            packet.baseSequence = baseSequence;
+            packet.high = high;
+            packet.low = low;
+            long first = buffer.getLong();
+            for (int i = 0; i < count; i++)
+                packet.timestamps[i] = first + buffer.getInt();
+            for (int i = 0; i < count; i++)
+                packet.values[i] = buffer.getShort();
+            if (packet.colors != null)
+                for (int i = 0; i < count; i++)
+                    packet.colors[i] = buffer.getInt();
+            return packet;
+        } catch (BufferUnderflowException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package info.nightscout.androidaps.data;
+
+import java.util.ArrayList;
+
+/**
+ * BG history of watch face updated from BgPacket
+ * <p>
+ * Points are kept in fixed arrays, old ones are dropped by moving start of the ring.
+ */
+public class BgRingBuffer {
+    // 5.5h of 1 min readings
+    static final int CAPACITY = 512;
+
+    private final long[] timestamps = new long[CAPACITY];
+    private final short[] values = new short[CAPACITY];
+    // oldest point
+    private int head = 0;
+    private int size = 0;
+
+    private long session = 0;
+    private int sequence = -1;
+    private double high = 0;
+    private double low = 0;
+
+    /**
+     * @return false if packet doesn't follow last applied one and full resend is needed
+     */
+    public synchronized boolean apply(byte[] data) {
+        BgPacket packet = BgPacket.decode(data);
+        if (packet == null)
+            return true; // different version, resend would not help
+        if (packet.full) {
+            head = 0;
+            size = 0;
+        } else if (packet.session != session || packet.baseSequence != sequence) {
+            return false;
+        }
+        session = packet.session;
+        sequence = packet.sequence;
+        high = packet.high;
+        low = packet.low;
+        for (int i = 0; i < packet.size(); i++)
+            add(packet.timestamps[i], packet.values[i]);
+        return true;
+    }
+
+    /**
+     * Points normally come in ascending order and are appended. Older point is inserted
+     * in place, point with already stored timestamp is ignored. When full, oldest point is dropped
+     */
+    private void add(long timestamp, short value) {
+        int position = size;
+        while (position > 0 && timestamps[index(position - 1)] > timestamp)
+            position--;
+        if (position > 0 && timestamps[index(position - 1)] == timestamp)
+            return;
+        if (size == CAPACITY) {
+            if (position == 0)
+                return; // older than everything kept
+            head = index(1);
+            size--;
+            position--;
+        }
+        for (int p = size; p > position; p--) {
+            timestamps[index(p)] = timestamps[index(p - 1)];
+            values[index(p)] = values[index(p - 1)];
+        }
+        int i = index(position);
+        timestamps[i] = timestamp;
+        values[i] = value;
+        size++;
+    }
+
+    public synchronized void prune(long olderThan) {
+        while (size > 0 && timestamps[head] < olderThan) {
+            head = index(1);
+            size--;
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized ArrayList<BgWatchData> toList() {
+        ArrayList<BgWatchData> list = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            list.add(new BgWatchData(values[index(i)], high, low, timestamps[index(i)], 0));
+        return list;
+    }
+
+    private int index(int position) {
+        return (head + position) % CAPACITY;
+    }
+}
@@ -42,6 +42,8 @@ import java.util.ArrayList;
 
 import info.nightscout.androidaps.R;
 import info.nightscout.androidaps.data.BasalWatchData;
+import info.nightscout.androidaps.data.BgPacket;
+import info.nightscout.androidaps.data.BgRingBuffer;
 import info.nightscout.androidaps.data.BgWatchData;
 import info.nightscout.androidaps.data.BolusWatchData;
 import info.nightscout.androidaps.data.ListenerService;
@@ -75,6 +77,7 @@ public class BIGChart extends WatchFace implements SharedPreferences.OnSharedPre
     public LineChartView chart;
     public long datetime;
     public ArrayList<BgWatchData> bgDataList = new ArrayList<>();
+    private BgRingBuffer bgHistory = new BgRingBuffer();
     public ArrayList<TempWatchData> tempWatchDataList = new ArrayList<>();
     public ArrayList<BasalWatchData> basalWatchDataList = new ArrayList<>();
     public ArrayList<BolusWatchData> bolusWatchDataList = new ArrayList<>();
@@ -421,14 +424,14 @@ public class BIGChart extends WatchFace implements SharedPreferences.OnSharedPre
                 bolusWatchDataList.add(bwd);
             }
         }
-        ArrayList<DataMap> predictions = dataMap.getDataMapArrayList("predictions");
-        if (boluses != null) {
-            predictionList = new ArrayList<>();
-            for (DataMap prediction : predictions) {
+        BgPacket predictions = BgPacket.decode(dataMap.getByteArray("predictionsPacked"));
+        if (predictions != null) {
+            predictionList = new ArrayList<>(predictions.size());
+            for (int i = 0; i < predictions.size(); i++) {
                 BgWatchData bwd = new BgWatchData();
-                bwd.timestamp = prediction.getLong("timestamp");
-                bwd.sgv = prediction.getDouble("sgv");
-                bwd.color = prediction.getInt("color");
+                bwd.timestamp = predictions.timestamps[i];
+                bwd.sgv = predictions.values[i];
+                bwd.color = predictions.colors != null ? predictions.colors[i] : 0;
                 predictionList.add(bwd);
             }
         }
@@ -642,6 +645,15 @@ public class BIGChart extends WatchFace implements SharedPreferences.OnSharedPre
 
     public void addToWatchSet(DataMap dataMap) {
 
+        byte[] history = dataMap.getByteArray("bgHistory");
+        if (history != null) {
+            if (!bgHistory.apply(history))
+                ListenerService.requestData(this); // missed delta
+            bgHistory.prune(System.currentTimeMillis() - (1000 * 60 * 60 * 5));
+            bgDataList = bgHistory.toList();
+            return;
+        }
+
         ArrayList<DataMap> entries = dataMap.getDataMapArrayList("entries");
         if (entries != null) {
             bgDataList = new ArrayList<BgWatchData>();
@@ -37,6 +37,8 @@ import java.util.ArrayList;
 import java.util.Date;
 
 import info.nightscout.androidaps.data.BasalWatchData;
+import info.nightscout.androidaps.data.BgPacket;
+import info.nightscout.androidaps.data.BgRingBuffer;
 import info.nightscout.androidaps.data.BgWatchData;
 import info.nightscout.androidaps.data.BolusWatchData;
 import info.nightscout.androidaps.data.ListenerService;
@@ -75,6 +77,7 @@ public  abstract class BaseWatchFace extends WatchFace implements SharedPreferen
     public BgGraphBuilder bgGraphBuilder;
     public LineChartView chart;
     public ArrayList<BgWatchData> bgDataList = new ArrayList<>();
+    private BgRingBuffer bgHistory = new BgRingBuffer();
     public ArrayList<TempWatchData> tempWatchDataList = new ArrayList<>();
     public ArrayList<BasalWatchData> basalWatchDataList = new ArrayList<>();
     public ArrayList<BolusWatchData> bolusWatchDataList = new ArrayList<>();
@@ -596,6 +599,15 @@ public  abstract class BaseWatchFace extends WatchFace implements SharedPreferen
 
     public void addToWatchSet(DataMap dataMap) {
 
+        byte[] history = dataMap.getByteArray("bgHistory");
+        if (history != null) {
+            if (!bgHistory.apply(history))
+                ListenerService.requestData(this); // missed delta
+            bgHistory.prune(System.currentTimeMillis() - (1000 * 60 * 60 * 5));
+            bgDataList = bgHistory.toList();
+            return;
+        }
+
         ArrayList<DataMap> entries = dataMap.getDataMapArrayList("entries");
         if (entries != null) {
             bgDataList = new ArrayList<BgWatchData>();
@@ -684,14 +696,14 @@ public  abstract class BaseWatchFace extends WatchFace implements SharedPreferen
                 bolusWatchDataList.add(bwd);
             }
         }
-        ArrayList<DataMap> predictions = dataMap.getDataMapArrayList("predictions");
-        if (boluses != null) {
-            predictionList = new ArrayList<>();
-            for (DataMap prediction : predictions) {
+        BgPacket predictions = BgPacket.decode(dataMap.getByteArray("predictionsPacked"));
+        if (predictions != null) {
+            predictionList = new ArrayList<>(predictions.size());
+            for (int i = 0; i < predictions.size(); i++) {
                 BgWatchData bwd = new BgWatchData();
-                bwd.timestamp = prediction.getLong("timestamp");
-                bwd.sgv = prediction.getDouble("sgv");
-                bwd.color = prediction.getInt("color");
+                bwd.timestamp = predictions.timestamps[i];
+                bwd.sgv = predictions.values[i];
+                bwd.color = predictions.colors != null ? predictions.colors[i] : 0;
                 predictionList.add(bwd);
             }
         }
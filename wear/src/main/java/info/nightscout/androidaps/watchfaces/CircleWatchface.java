@@ -37,7 +37,10 @@ import java.util.HashSet;
 import java.util.TreeSet;
 
 import info.nightscout.androidaps.R;
+import info.nightscout.androidaps.data.BgPacket;
+import info.nightscout.androidaps.data.BgRingBuffer;
 import info.nightscout.androidaps.data.BgWatchData;
+import info.nightscout.androidaps.data.ListenerService;
 import info.nightscout.androidaps.interaction.menus.MainMenuActivity;
 
 
@@ -77,6 +80,7 @@ public class CircleWatchface extends WatchFace implements SharedPreferences.OnSh
     private String delta = "";
     private String avgDelta = "";
     public TreeSet<BgWatchData> bgDataList = new TreeSet<>();
+    private BgRingBuffer bgHistory = new BgRingBuffer();
 
     private int specW;
     private int specH;
@@ -535,8 +539,8 @@ public class CircleWatchface extends WatchFace implements SharedPreferences.OnSh
 
 
                 //start animation?
-                // dataMap.getDataMapArrayList("entries") == null -> not on "resend data".
-                if (sharedPrefs.getBoolean("animation", false) && dataMap.getDataMapArrayList("entries") == null && (getSgvString().equals("100") || getSgvString().equals("5.5") || getSgvString().equals("5,5"))) {
+                // full history -> on "resend data".
+                if (sharedPrefs.getBoolean("animation", false) && !BgPacket.isFull(dataMap.getByteArray("bgHistory")) && dataMap.getDataMapArrayList("entries") == null && (getSgvString().equals("100") || getSgvString().equals("5.5") || getSgvString().equals("5,5"))) {
                     startAnimation();
                 }
 
@@ -567,6 +571,16 @@ public class CircleWatchface extends WatchFace implements SharedPreferences.OnSh
         }
 
         Log.d("CircleWatchface", "start addToWatchSet");
+        byte[] history = dataMap.getByteArray("bgHistory");
+        if (history != null) {
+            if (!bgHistory.apply(history))
+                ListenerService.requestData(this); // missed delta
+            bgHistory.prune(System.currentTimeMillis() - (1000 * 60 * 5 * holdInMemory()));
+            bgDataList.clear();
+            bgDataList.addAll(bgHistory.toList());
+            return;
+        }
+
         ArrayList<DataMap> entries = dataMap.getDataMapArrayList("entries");
         if (entries == null) {
             double sgv = dataMap.getDouble("sgvDouble");
@@ -0,0 +1,189 @@
+package info.nightscout.androidaps.data;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class BgRingBufferTest {
+
+    private static final long START = 1560000000000L;
+    private static final long MINUTE = 60 * 1000L;
+
+    @Test
+    public void fullPacketReplacesContentTest() {
+        BgRingBuffer buffer = new BgRingBuffer();
+        assertTrue(buffer.apply(packet(1, 1, 0, true, 0, 10)));
+        assertTrue(buffer.apply(packet(1, 2, 1, true, 100, 5)));
+
+        List<BgWatchData> list = buffer.toList();
+        assertEquals(5, list.size());
+        assertEquals(time(100), list.get(0).timestamp);
+        assertEquals(value(100), list.get(0).sgv, 0d);
+        assertEquals(180, list.get(0).high, 0d);
+        assertEquals(70, list.get(0).low, 0d);
+    }
+
+    @Test
+    public void wrapAroundTest() {
+        BgRingBuffer buffer = new BgRingBuffer();
+        assertTrue(buffer.apply(packet(1, 1, 0, true, 0, BgRingBuffer.CAPACITY - 10)));
+        // continues over end of arrays
+        int sequence = 1;
+        for (int first = BgRingBuffer.CAPACITY - 10; first < 3 * BgRingBuffer.CAPACITY; first += 7, sequence++)
+            assertTrue(buffer.apply(packet(1, sequence + 1, sequence, false, first, 7)));
+        int last = BgRingBuffer.CAPACITY - 10 + 7 * (sequence - 1) - 1;
+
+        assertEquals(BgRingBuffer.CAPACITY, buffer.size());
+        assertSequential(buffer.toList(), last - BgRingBuffer.CAPACITY + 1, last);
+    }
+
+    @Test
+    public void pruneTest() {
+        BgRingBuffer buffer = new BgRingBuffer();
+        buffer.apply(packet(1, 1, 0, true, 0, BgRingBuffer.CAPACITY));
+        buffer.apply(packet(1, 2, 1, false, BgRingBuffer.CAPACITY, 100));
+
+        // head is not at start of arrays now
+        buffer.prune(time(300));
+        assertEquals(BgRingBuffer.CAPACITY + 100 - 300, buffer.size());
+        assertSequential(buffer.toList(), 300, BgRingBuffer.CAPACITY + 99);
+
+        // nothing older
+        buffer.prune(time(300));
+        assertEquals(BgRingBuffer.CAPACITY + 100 - 300, buffer.size());
+
+        buffer.prune(time(10000));
+        assertEquals(0, buffer.size());
+        assertTrue(buffer.toList().isEmpty());
+
+        // buffer is usable after pruning all
+        assertTrue(buffer.apply(packet(1, 3, 2, false, 10000, 3)));
+        assertSequential(buffer.toList(), 10000, 10002);
+    }
+
+    @Test
+    public void gapDetectionTest() {
+        BgRingBuffer buffer = new BgRingBuffer();
+        // delta before any full packet
+        assertFalse(buffer.apply(packet(1, 2, 1, false, 0, 3)));
+        assertEquals(0, buffer.size());
+
+        assertTrue(buffer.apply(packet(1, 1, 0, true, 0, 3)));
+        // missed packet 2
+        assertFalse(buffer.apply(packet(1, 3, 2, false, 5, 3)));
+        // phone restarted, new session
+        assertFalse(buffer.apply(packet(2, 2, 1, false, 3, 3)));
+        assertSequential(buffer.toList(), 0, 2);
+
+        // sequence continues after rejected packets
+        assertTrue(buffer.apply(packet(1, 2, 1, false, 3, 3)));
+        assertSequential(buffer.toList(), 0, 5);
+
+        // full resend of new session is accepted
+        assertTrue(buffer.apply(packet(2, 1, 0, true, 0, 4)));
+        assertTrue(buffer.apply(packet(2, 2, 1, false, 4, 1)));
+        assertSequential(buffer.toList(), 0, 4);
+
+        // unknown version doesn't request resend and keeps data
+        byte[] data = packet(2, 3, 2, false, 5, 1);
+        data[0] = BgPacket.VERSION + 1;
+        assertTrue(buffer.apply(data));
+        assertSequential(buffer.toList(), 0, 4);
+    }
+
+    @Test
+    public void duplicatesAndOrderTest() {
+        BgRingBuffer buffer = new BgRingBuffer();
+        buffer.apply(packet(1, 1, 0, true, 10, 5));
+
+        // overlapping points are ignored, values are not changed
+        BgPacket overlap = new BgPacket(4, false);
+        overlap.session = 1;
+        overlap.sequence = 2;
+        overlap.baseSequence = 1;
+        for (int i = 0; i < 4; i++)
+            overlap.set(i, time(13 + i), 999);
+        assertTrue(buffer.apply(overlap.encode()));
+        List<BgWatchData> list = buffer.toList();
+        assertEquals(7, list.size());
+        assertEquals(value(14), list.get(4).sgv, 0d);
+        assertEquals(999, list.get(5).sgv, 0d);
+        assertEquals(time(16), list.get(6).timestamp);
+
+        // older points are inserted in place
+        BgPacket older = new BgPacket(3, false);
+        older.session = 1;
+        older.sequence = 3;
+        older.baseSequence = 2;
+        older.set(0, time(20), value(20));
+        older.set(1, time(5), value(5));
+        older.set(2, time(12) + MINUTE / 2, 555);
+        assertTrue(buffer.apply(older.encode()));
+        list = buffer.toList();
+        assertEquals(10, list.size());
+        for (int i = 1; i < list.size(); i++)
+            assertTrue(list.get(i - 1).timestamp < list.get(i).timestamp);
+        assertEquals(time(5), list.get(0).timestamp);
+        assertEquals(555, list.get(4).sgv, 0d);
+        assertEquals(time(20), list.get(9).timestamp);
+    }
+
+    @Test
+    public void olderPointInFullBufferTest() {
+        BgRingBuffer buffer = new BgRingBuffer();
+        buffer.apply(packet(1, 1, 0, true, 100, BgRingBuffer.CAPACITY));
+
+        // older than everything kept, dropped
+        buffer.apply(packet(1, 2, 1, false, 50, 1));
+        assertEquals(BgRingBuffer.CAPACITY, buffer.size());
+        assertSequential(buffer.toList(), 100, 100 + BgRingBuffer.CAPACITY - 1);
+
+        // inside of kept range, oldest point is dropped
+        BgPacket inside = new BgPacket(1, false);
+        inside.session = 1;
+        inside.sequence = 3;
+        inside.baseSequence = 2;
+        inside.set(0, time(200) + MINUTE / 2, 777);
+        buffer.apply(inside.encode());
+        List<BgWatchData> list = buffer.toList();
+        assertEquals(BgRingBuffer.CAPACITY, list.size());
+        assertEquals(time(101), list.get(0).timestamp);
+        assertEquals(time(200), list.get(99).timestamp);
+        assertEquals(777, list.get(100).sgv, 0d);
+        assertEquals(time(201), list.get(101).timestamp);
+    }
+
+    private static long time(int minute) {
+        return START + minute * MINUTE;
+    }
+
+    private static double value(int minute) {
+        return 100 + minute % 150;
+    }
+
+    // count points of 1 min readings starting at minute first
+    private static byte[] packet(long session, int sequence, int baseSequence, boolean full, int first, int count) {
+        BgPacket packet = new BgPacket(count, false);
+        packet.session = session;
+        packet.sequence = sequence;
+        packet.baseSequence = baseSequence;
+        packet.full = full;
+        packet.high = 180;
+        packet.low = 70;
+        for (int i = 0; i < count; i++)
+            packet.set(i, time(first + i), value(first + i));
+        return packet.encode();
+    }
+
+    private static void assertSequential(List<BgWatchData> list, int first, int last) {
+        assertEquals(last - first + 1, list.size());
+        for (int i = 0; i < list.size(); i++) {
+            assertEquals(time(first + i), list.get(i).timestamp);
+            assertEquals(value(first + i), list.get(i).sgv, 0d);
+        }
+    }
+}